@@ -0,0 +1,202 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+
+/**
+ * Generators for the benchmark object graphs and the per-type serialization payloads.
+ */
+public final class BenchmarkData
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+	
+	/**
+	 * Number of entities sharing one parent, giving the generated graphs a shallow tree shape.
+	 */
+	static final int FAN_OUT = 16;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	/**
+	 * Generates a list of {@code entityCount} {@link BenchmarkEntity} instances, where every
+	 * {@value #FAN_OUT} entities reference a common parent entity.
+	 * 
+	 * @param entityCount the number of entities to generate.
+	 * @param idOffset the id of the first generated entity.
+	 * 
+	 * @return the generated graph.
+	 */
+	public static ArrayList<BenchmarkEntity> graph(final int entityCount, final long idOffset)
+	{
+		final ArrayList<BenchmarkEntity> graph = new ArrayList<>(entityCount);
+		
+		BenchmarkEntity parent = null;
+		for(int i = 0; i < entityCount; i++)
+		{
+			final BenchmarkEntity entity = new BenchmarkEntity(idOffset + i, parent);
+			if(i % FAN_OUT == 0)
+			{
+				parent = entity;
+			}
+			graph.add(entity);
+		}
+		
+		return graph;
+	}
+	
+	/**
+	 * Generates {@code count} byte arrays of {@code size} bytes each, filled with varying values.
+	 * 
+	 * @param count the number of byte arrays to generate.
+	 * @param size the length of every byte array.
+	 * 
+	 * @return the generated byte arrays.
+	 */
+	public static byte[][] payloads(final int count, final int size)
+	{
+		final byte[][] payloads = new byte[count][size];
+		for(int i = 0; i < count; i++)
+		{
+			for(int j = 0; j < size; j++)
+			{
+				payloads[i][j] = (byte)(i + j);
+			}
+		}
+		
+		return payloads;
+	}
+	
+	/**
+	 * Generates a payload of {@code elementCount} elements for the passed {@link PayloadType}, meaning
+	 * a collection or array containing that many elements or a single instance of the corresponding size.
+	 * 
+	 * @param type the type of the payload to generate.
+	 * @param elementCount the number of elements of the payload.
+	 * 
+	 * @return the generated payload.
+	 */
+	public static Object payload(final PayloadType type, final int elementCount)
+	{
+		switch(type)
+		{
+			case PRIMITIVES:
+			{
+				final BenchmarkPrimitives[] array = new BenchmarkPrimitives[elementCount];
+				for(int i = 0; i < elementCount; i++)
+				{
+					array[i] = new BenchmarkPrimitives(i);
+				}
+				return array;
+			}
+			case STRING:
+			{
+				final StringBuilder sb = new StringBuilder(elementCount);
+				for(int i = 0; i < elementCount; i++)
+				{
+					sb.append((char)('a' + i % 26));
+				}
+				return sb.toString();
+			}
+			case BYTE_ARRAY:
+			{
+				final byte[] array = new byte[elementCount];
+				for(int i = 0; i < elementCount; i++)
+				{
+					array[i] = (byte)i;
+				}
+				return array;
+			}
+			case ARRAY_LIST:
+			{
+				final ArrayList<Long> list = new ArrayList<>(elementCount);
+				for(int i = 0; i < elementCount; i++)
+				{
+					list.add(Long.valueOf(i));
+				}
+				return list;
+			}
+			case HASH_MAP:
+			{
+				final HashMap<String, Integer> map = new HashMap<>(elementCount * 2);
+				for(int i = 0; i < elementCount; i++)
+				{
+					map.put("key" + i, Integer.valueOf(i));
+				}
+				return map;
+			}
+			case OBJECT_ARRAY:
+			{
+				final Object[] array = new Object[elementCount];
+				for(int i = 0; i < elementCount; i++)
+				{
+					array[i] = "element" + i;
+				}
+				return array;
+			}
+			default:
+			{
+				throw new IllegalArgumentException("Unknown payload type: " + type);
+			}
+		}
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	/**
+	 * Dummy constructor to prevent instantiation of this static-only utility class.
+	 * 
+	 * @throws UnsupportedOperationException when called
+	 */
+	private BenchmarkData()
+	{
+		// static only
+		throw new UnsupportedOperationException();
+	}
+	
+	
+	
+	/**
+	 * The payload types of the serialization benchmark, each one handled by a different type handler.
+	 */
+	public enum PayloadType
+	{
+		PRIMITIVES  ,
+		STRING      ,
+		BYTE_ARRAY  ,
+		ARRAY_LIST  ,
+		HASH_MAP    ,
+		OBJECT_ARRAY;
+	}
+	
+}
@@ -0,0 +1,76 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+/**
+ * Simple entity type used to build the benchmark object graphs: a mix of primitive values,
+ * a string, a primitive array and an optional reference to another entity.
+ */
+public class BenchmarkEntity
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	long            id     ;
+	String          name   ;
+	double          value  ;
+	int[]           values ;
+	BenchmarkEntity parent ;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	public BenchmarkEntity(final long id, final BenchmarkEntity parent)
+	{
+		super();
+		this.id     = id;
+		this.name   = "Entity #" + id;
+		this.value  = id * 0.5;
+		this.values = new int[]{(int)id, 1, 2, 3};
+		this.parent = parent;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	public long id()
+	{
+		return this.id;
+	}
+	
+	public BenchmarkEntity parent()
+	{
+		return this.parent;
+	}
+	
+	public void update(final double value)
+	{
+		this.value = value;
+	}
+	
+}
@@ -0,0 +1,60 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+/**
+ * Entity type with primitive fields only, handled by the generic reflective type handler.
+ */
+public class BenchmarkPrimitives
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	long    longValue   ;
+	int     intValue    ;
+	double  doubleValue ;
+	float   floatValue  ;
+	short   shortValue  ;
+	char    charValue   ;
+	byte    byteValue   ;
+	boolean booleanValue;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	public BenchmarkPrimitives(final int seed)
+	{
+		super();
+		this.longValue    = seed;
+		this.intValue     = seed;
+		this.doubleValue  = seed;
+		this.floatValue   = seed;
+		this.shortValue   = (short)seed;
+		this.charValue    = (char)seed;
+		this.byteValue    = (byte)seed;
+		this.booleanValue = (seed & 1) == 0;
+	}
+	
+}
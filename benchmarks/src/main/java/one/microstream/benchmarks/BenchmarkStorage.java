@@ -0,0 +1,135 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import one.microstream.afs.nio.types.NioFileSystem;
+import one.microstream.storage.embedded.types.EmbeddedStorage;
+import one.microstream.storage.embedded.types.EmbeddedStorageFoundation;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageConfiguration;
+import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageLiveFileProvider;
+
+
+/**
+ * Shared setup for the benchmarks: every benchmark trial works on its own storage in a temporary directory,
+ * accessed via a {@link NioFileSystem}, with a configurable channel count.
+ */
+public final class BenchmarkStorage
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static Path createDirectory(final String prefix)
+	{
+		try
+		{
+			return Files.createTempDirectory("microstream-benchmark-" + prefix + "-");
+		}
+		catch(final IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	public static StorageConfiguration.Builder<?> ConfigurationBuilder(
+		final Path directory   ,
+		final int  channelCount
+	)
+	{
+		final NioFileSystem           fileSystem   = NioFileSystem.New(directory.getFileSystem());
+		final StorageLiveFileProvider fileProvider = Storage.FileProviderBuilder(fileSystem)
+			.setDirectory(fileSystem.ensureDirectory(directory))
+			.createFileProvider()
+		;
+		
+		return Storage.ConfigurationBuilder()
+			.setStorageFileProvider(fileProvider)
+			.setChannelCountProvider(Storage.ChannelCountProvider(channelCount))
+		;
+	}
+	
+	public static EmbeddedStorageFoundation<?> Foundation(
+		final Path directory   ,
+		final int  channelCount
+	)
+	{
+		return EmbeddedStorage.Foundation(ConfigurationBuilder(directory, channelCount));
+	}
+	
+	/**
+	 * Creates a {@link StorageHousekeepingController} without a time budget, so that the work measured by
+	 * explicitly issued garbage collections and file checks is not done by the background housekeeping
+	 * in between. The storage-level garbage collection is enabled, so that it can be issued explicitly.
+	 * 
+	 * @return a {@link StorageHousekeepingController} without a time budget.
+	 */
+	public static StorageHousekeepingController HousekeepingControllerIdle()
+	{
+		return StorageHousekeepingController.New(1000, 0, true);
+	}
+	
+	public static void deleteDirectory(final Path directory)
+	{
+		if(directory == null || !Files.exists(directory))
+		{
+			return;
+		}
+		
+		try(final Stream<Path> paths = Files.walk(directory))
+		{
+			paths
+				.sorted(Comparator.reverseOrder())
+				.forEach(path -> path.toFile().delete())
+			;
+		}
+		catch(final IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	/**
+	 * Dummy constructor to prevent instantiation of this static-only utility class.
+	 * 
+	 * @throws UnsupportedOperationException when called
+	 */
+	private BenchmarkStorage()
+	{
+		// static only
+		throw new UnsupportedOperationException();
+	}
+	
+}
@@ -0,0 +1,152 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.benchmarks.BenchmarkData.PayloadType;
+import one.microstream.persistence.types.Storer;
+import one.microstream.reference.Lazy;
+import one.microstream.storage.embedded.types.EmbeddedStorageFoundation;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+import one.microstream.storage.types.StorageDataCompression;
+
+
+/**
+ * Measures storing and loading payloads without references, the only entity records that are compressed,
+ * with and without {@link StorageDataCompression}. Loading with a warm entity cache measures the
+ * decompression of the cached data alone, since the cached data of compressed records stays compressed.
+ * The payloads stay referenced for storing them again, so loading transfers and decompresses their data,
+ * but does not build new instances.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class CompressionBenchmark
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	@Param({"false", "true"})
+	public boolean compression;
+	
+	@Param({"BYTE_ARRAY", "STRING"})
+	public PayloadType payloadType;
+	
+	@Param({"1000"})
+	public int payloadCount;
+	
+	@Param({"4096"})
+	public int payloadSize;
+	
+	@Param({"true", "false"})
+	public boolean coldCache;
+	
+	private Path                    directory;
+	private EmbeddedStorageManager  storage  ;
+	private ArrayList<Object>       payloads ;
+	private Lazy<ArrayList<Object>> reference;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.directory = BenchmarkStorage.createDirectory("compression");
+		
+		final EmbeddedStorageFoundation<?> foundation = BenchmarkStorage.Foundation(this.directory, 1);
+		if(this.compression)
+		{
+			foundation.setDataCompression(StorageDataCompression.New());
+		}
+		
+		this.payloads = new ArrayList<>(this.payloadCount);
+		for(int i = 0; i < this.payloadCount; i++)
+		{
+			this.payloads.add(BenchmarkData.payload(this.payloadType, this.payloadSize));
+		}
+		
+		this.storage   = foundation.start();
+		this.reference = Lazy.Reference(this.payloads);
+		this.storage.setRoot(this.reference);
+		this.storage.storeRoot();
+	}
+	
+	@Setup(Level.Invocation)
+	public void clear()
+	{
+		// the stored payloads stay referenced by this instance, only the loaded ones are discarded
+		this.reference.clear();
+		if(this.coldCache)
+		{
+			// clears all cached entity data, forcing the next load to read from the data files
+			this.storage.issueFullCacheCheck((totalCacheSize, evaluationTime, entity) -> true);
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.storage.shutdown();
+		BenchmarkStorage.deleteDirectory(this.directory);
+	}
+	
+	@Benchmark
+	public ArrayList<Object> load()
+	{
+		return this.reference.get();
+	}
+	
+	@Benchmark
+	public Object store()
+	{
+		// eager storing writes and, if enabled, compresses every payload again
+		final Storer storer = this.storage.createEagerStorer();
+		storer.store(this.payloads);
+		
+		return storer.commit();
+	}
+	
+}
@@ -0,0 +1,126 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.persistence.binary.types.BinaryEntityFingerprints;
+import one.microstream.persistence.types.Storer;
+import one.microstream.storage.embedded.types.EmbeddedStorageFoundation;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+
+
+/**
+ * Measures the eager storing of a large, already persisted graph of which only a few entities have changed,
+ * with and without {@link BinaryEntityFingerprints} skipping the unchanged entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityFingerprintsBenchmark
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	@Param({"false", "true"})
+	public boolean fingerprints;
+	
+	@Param({"10000"})
+	public int graphSize;
+	
+	@Param({"0", "100"})
+	public int changedCount;
+	
+	private Path                       directory;
+	private EmbeddedStorageManager     storage  ;
+	private ArrayList<BenchmarkEntity> graph    ;
+	private double                     nextValue;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.directory = BenchmarkStorage.createDirectory("fingerprints");
+		
+		final EmbeddedStorageFoundation<?> foundation = BenchmarkStorage.Foundation(this.directory, 1);
+		if(this.fingerprints)
+		{
+			final BinaryEntityFingerprints entityFingerprints = BinaryEntityFingerprints.New();
+			foundation.onConnectionFoundation(f ->
+				f.setEntityFingerprints(entityFingerprints)
+			);
+		}
+		
+		this.storage = foundation.start();
+		this.graph   = BenchmarkData.graph(this.graphSize, 0);
+		this.storage.setRoot(this.graph);
+		this.storage.storeRoot();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.storage.shutdown();
+		BenchmarkStorage.deleteDirectory(this.directory);
+	}
+	
+	@Benchmark
+	public Object storeEagerly()
+	{
+		// the changed entities are spread over the whole graph
+		final int step = this.changedCount == 0 ? 0 : this.graphSize / this.changedCount;
+		for(int i = 0; i < this.changedCount; i++)
+		{
+			this.graph.get(i * step).update(++this.nextValue);
+		}
+		
+		final Storer storer = this.storage.createEagerStorer();
+		storer.store(this.graph);
+		
+		return storer.commit();
+	}
+	
+}
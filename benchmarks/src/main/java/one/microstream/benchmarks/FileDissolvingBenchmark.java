@@ -0,0 +1,131 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.storage.embedded.types.EmbeddedStorage;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+import one.microstream.storage.types.Storage;
+
+
+/**
+ * Measures a full file check, i.e. the dissolving of data files whose live data ratio dropped below the
+ * configured minimum. Before each invocation, a large part of the stored graph is replaced and garbage
+ * collected, leaving the old data files mostly filled with gaps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FileDissolvingBenchmark
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	@Param({"1", "4"})
+	public int channelCount;
+	
+	@Param({"100000"})
+	public int entityCount;
+	
+	@Param({"0.5"})
+	public double replacedRatio;
+	
+	private Path                       directory;
+	private EmbeddedStorageManager     storage  ;
+	private ArrayList<BenchmarkEntity> root     ;
+	private long                       nextId   ;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.directory = BenchmarkStorage.createDirectory("files");
+		this.storage   = EmbeddedStorage.Foundation(
+			BenchmarkStorage.ConfigurationBuilder(this.directory, this.channelCount)
+				.setHousekeepingController(BenchmarkStorage.HousekeepingControllerIdle())
+				// small files, so that every invocation dissolves a considerable number of them
+				.setDataFileEvaluator(Storage.DataFileEvaluator(64 * 1024, 1024 * 1024, 0.75))
+		).start();
+		
+		this.root   = BenchmarkData.graph(this.entityCount, 0);
+		this.nextId = this.entityCount;
+		this.storage.setRoot(this.root);
+		this.storage.storeRoot();
+	}
+	
+	@Setup(Level.Invocation)
+	public void createGaps()
+	{
+		final int replacedCount = (int)(this.entityCount * this.replacedRatio);
+		
+		final ArrayList<BenchmarkEntity> replacement = BenchmarkData.graph(replacedCount, this.nextId);
+		this.nextId += replacedCount;
+		
+		// replace evenly distributed entities, spreading the gaps over all files
+		final int step = Math.max(1, this.entityCount / replacedCount);
+		for(int i = 0; i < replacedCount; i++)
+		{
+			this.root.set(i * step % this.entityCount, replacement.get(i));
+		}
+		this.storage.store(this.root);
+		this.storage.issueFullGarbageCollection();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.storage.shutdown();
+		BenchmarkStorage.deleteDirectory(this.directory);
+	}
+	
+	@Benchmark
+	public void fileCheck()
+	{
+		this.storage.issueFullFileCheck();
+	}
+	
+}
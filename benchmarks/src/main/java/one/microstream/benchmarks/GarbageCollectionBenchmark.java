@@ -0,0 +1,123 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.storage.embedded.types.EmbeddedStorage;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+import one.microstream.storage.types.StorageEntityCache;
+
+
+/**
+ * Measures a full garbage collection of the {@link StorageEntityCache}, i.e. marking all live entities
+ * and sweeping the ones that became unreachable by replacing a part of the stored graph before each invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class GarbageCollectionBenchmark
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	@Param({"1", "4"})
+	public int channelCount;
+	
+	@Param({"100000"})
+	public int entityCount;
+	
+	@Param({"1000"})
+	public int garbageCount;
+	
+	private Path                       directory;
+	private EmbeddedStorageManager     storage  ;
+	private ArrayList<BenchmarkEntity> root     ;
+	private long                       nextId   ;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.directory = BenchmarkStorage.createDirectory("gc");
+		this.storage   = EmbeddedStorage.Foundation(
+			BenchmarkStorage.ConfigurationBuilder(this.directory, this.channelCount)
+				.setHousekeepingController(BenchmarkStorage.HousekeepingControllerIdle())
+		).start();
+		
+		this.root   = BenchmarkData.graph(this.entityCount, 0);
+		this.nextId = this.entityCount;
+		this.storage.setRoot(this.root);
+		this.storage.storeRoot();
+	}
+	
+	@Setup(Level.Invocation)
+	public void createGarbage()
+	{
+		final ArrayList<BenchmarkEntity> replacement = BenchmarkData.graph(this.garbageCount, this.nextId);
+		this.nextId += this.garbageCount;
+		
+		for(int i = 0; i < this.garbageCount; i++)
+		{
+			this.root.set(i, replacement.get(i));
+		}
+		this.storage.store(this.root);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.storage.shutdown();
+		BenchmarkStorage.deleteDirectory(this.directory);
+	}
+	
+	@Benchmark
+	public void garbageCollection()
+	{
+		this.storage.issueFullGarbageCollection();
+	}
+	
+}
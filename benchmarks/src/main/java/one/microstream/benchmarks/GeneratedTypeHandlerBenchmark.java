@@ -0,0 +1,185 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * MicroStream Benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.persistence.binary.jdk17.types.BinaryHandlerGeneratedType;
+import one.microstream.persistence.binary.jdk17.types.BinaryTypeHandlerCreatorGenerating;
+import one.microstream.persistence.types.Storer;
+import one.microstream.reference.Lazy;
+import one.microstream.storage.embedded.types.EmbeddedStorageFoundation;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+
+
+/**
+ * Compares the default reflective type handlers with the {@link BinaryHandlerGeneratedType}s created by
+ * {@link BinaryTypeHandlerCreatorGenerating}, which copy all fields of an entity in generated straight-line code.
+ * <p>
+ * {@link #serialize()} measures storing, like the {@link SerializationBenchmark}, {@link #load()} measures
+ * building all entities again from the cached entity data after the object registry has been cleared.
+ * Both only differ in the field copying between the handlers, everything else is the same for both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratedTypeHandlerBenchmark
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	@Param
+	public HandlerType handlerType;
+	
+	@Param
+	public EntityType entityType;
+	
+	@Param({"1000"})
+	public int entityCount;
+	
+	private Path                   directory;
+	private EmbeddedStorageManager storage  ;
+	private Lazy<Object>           reference;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.directory = BenchmarkStorage.createDirectory("generated-type-handler");
+		this.storage   = this.handlerType.configure(BenchmarkStorage.Foundation(this.directory, 1)).start();
+		this.reference = Lazy.Reference(this.entityType.create(this.entityCount));
+		this.storage.setRoot(this.reference);
+		this.storage.storeRoot();
+		
+		// loads the entity data into the entity cache, so that loading does not measure reading the data files.
+		this.load();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.storage.shutdown();
+		BenchmarkStorage.deleteDirectory(this.directory);
+	}
+	
+	@Benchmark
+	public Storer serialize()
+	{
+		final Storer storer = this.storage.createEagerStorer();
+		storer.store(this.reference.get());
+		storer.clear();
+		
+		return storer;
+	}
+	
+	@Benchmark
+	public Object load()
+	{
+		// without the previous instances in the registry, every entity is created and updated by its handler.
+		this.reference.clear();
+		this.storage.persistenceManager().objectRegistry().clear();
+		
+		return this.reference.get();
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// member types //
+	/////////////////
+	
+	public enum HandlerType
+	{
+		REFLECTIVE
+		{
+			@Override
+			EmbeddedStorageFoundation<?> configure(final EmbeddedStorageFoundation<?> foundation)
+			{
+				return foundation;
+			}
+		},
+		GENERATED
+		{
+			@Override
+			EmbeddedStorageFoundation<?> configure(final EmbeddedStorageFoundation<?> foundation)
+			{
+				return foundation.onConnectionFoundation(f ->
+					f.setTypeHandlerCreator(BinaryTypeHandlerCreatorGenerating.New(f))
+				);
+			}
+		};
+		
+		abstract EmbeddedStorageFoundation<?> configure(EmbeddedStorageFoundation<?> foundation);
+	}
+	
+	public enum EntityType
+	{
+		/**
+		 * Entities with primitive fields only.
+		 */
+		PRIMITIVES
+		{
+			@Override
+			Object create(final int entityCount)
+			{
+				return BenchmarkData.payload(BenchmarkData.PayloadType.PRIMITIVES, entityCount);
+			}
+		},
+		/**
+		 * Entities with primitive and reference fields.
+		 */
+		ENTITIES
+		{
+			@Override
+			Object create(final int entityCount)
+			{
+				return BenchmarkData.graph(entityCount, 0);
+			}
+		};
+		
+		abstract Object create(int entityCount);
+	}
+	
+}
@@ -0,0 +1,126 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.persistence.types.Storer;
+import one.microstream.storage.embedded.types.EmbeddedStorageFoundation;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+import one.microstream.storage.types.StorageTaskBroker;
+
+
+/**
+ * Measures the throughput of many threads committing small changes concurrently, each through its own
+ * {@link Storer}, once with every store being a task of its own and once with group commit
+ * (see {@link StorageTaskBroker#CreatorGroupCommitting()}).
+ * <p>
+ * The thread count can be changed with JMH's {@code -t} option.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class GroupCommitBenchmark
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	@Param({"1", "4"})
+	public int channelCount;
+	
+	@Param({"false", "true"})
+	public boolean groupCommit;
+	
+	@Param({"10000"})
+	public int graphSize;
+	
+	private Path                       directory;
+	private EmbeddedStorageManager     storage  ;
+	private ArrayList<BenchmarkEntity> graph    ;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.directory = BenchmarkStorage.createDirectory("group-commit");
+		
+		final EmbeddedStorageFoundation<?> foundation = BenchmarkStorage.Foundation(this.directory, this.channelCount);
+		if(this.groupCommit)
+		{
+			foundation.setTaskBrokerCreator(StorageTaskBroker.CreatorGroupCommitting());
+		}
+		
+		this.storage = foundation.start();
+		this.graph   = BenchmarkData.graph(this.graphSize, 0);
+		this.storage.setRoot(this.graph);
+		this.storage.storeRoot();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.storage.shutdown();
+		BenchmarkStorage.deleteDirectory(this.directory);
+	}
+	
+	@Benchmark
+	public Object commitSmallChange()
+	{
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final BenchmarkEntity   entity = this.graph.get(random.nextInt(this.graph.size()));
+		entity.update(random.nextDouble());
+		
+		// an own storer per commit, as PersistenceManager#store serializes all stores via its store mutex.
+		final Storer storer = this.storage.createStorer();
+		storer.store(entity);
+		
+		return storer.commit();
+	}
+	
+}
@@ -0,0 +1,116 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.reference.Lazy;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+
+
+/**
+ * Measures {@link Lazy#get()} of a cleared lazy reference, either with a cold entity cache, meaning the
+ * data has to be read from the data files, or with a warm entity cache, meaning the data is still cached
+ * by the storage and only has to be transferred and built.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class LazyLoadBenchmark
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	@Param({"1", "4"})
+	public int channelCount;
+	
+	@Param({"10000"})
+	public int entityCount;
+	
+	@Param({"true", "false"})
+	public boolean coldCache;
+	
+	private Path                             directory;
+	private EmbeddedStorageManager           storage  ;
+	private Lazy<ArrayList<BenchmarkEntity>> reference;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.directory = BenchmarkStorage.createDirectory("lazy");
+		this.storage   = BenchmarkStorage.Foundation(this.directory, this.channelCount).start();
+		this.reference = Lazy.Reference(BenchmarkData.graph(this.entityCount, 0));
+		this.storage.setRoot(this.reference);
+		this.storage.storeRoot();
+	}
+	
+	@Setup(Level.Invocation)
+	public void clear()
+	{
+		// a warm cache keeps the entity data loaded by the previous invocation
+		this.reference.clear();
+		if(this.coldCache)
+		{
+			// clears all cached entity data, forcing the next load to read from the data files
+			this.storage.issueFullCacheCheck((totalCacheSize, evaluationTime, entity) -> true);
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.storage.shutdown();
+		BenchmarkStorage.deleteDirectory(this.directory);
+	}
+	
+	@Benchmark
+	public ArrayList<BenchmarkEntity> get()
+	{
+		return this.reference.get();
+	}
+	
+}
@@ -0,0 +1,157 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+
+
+/**
+ * Measures the contention on the {@link PersistenceObjectRegistry} by many threads performing the lookups
+ * and registrations that concurrent storers and loaders perform, once for the default registry with a
+ * single monitor and once for the concurrent registry with independently locked segments.
+ * <p>
+ * The thread count can be changed with JMH's {@code -t} option.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ObjectRegistryBenchmark
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	@Param
+	public RegistryType registryType;
+	
+	@Param({"1000000"})
+	public int entryCount;
+	
+	private PersistenceObjectRegistry registry;
+	private Object[]                  objects ;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.registry = this.registryType.create();
+		this.objects  = new Object[this.entryCount];
+		for(int i = 0; i < this.objects.length; i++)
+		{
+			this.registry.registerObject(objectId(i), this.objects[i] = new Object());
+		}
+	}
+	
+	private static long objectId(final int index)
+	{
+		// the object id range of entities, so that the objectIds are distributed like in a real application.
+		return 1_000_000_000_000_000_000L + index;
+	}
+	
+	private int randomIndex()
+	{
+		return ThreadLocalRandom.current().nextInt(this.objects.length);
+	}
+	
+	/**
+	 * The storer path: is an object already known and if so, what is its objectId?
+	 */
+	@Benchmark
+	public long lookupObjectId()
+	{
+		return this.registry.lookupObjectId(this.objects[this.randomIndex()]);
+	}
+	
+	/**
+	 * The loader path: is an objectId's instance already known?
+	 */
+	@Benchmark
+	public Object lookupObject()
+	{
+		return this.registry.lookupObject(objectId(this.randomIndex()));
+	}
+	
+	/**
+	 * The loader path for building an instance: register it or get the already registered one.
+	 */
+	@Benchmark
+	public Object optionalRegisterObject()
+	{
+		final int index = this.randomIndex();
+		
+		return this.registry.optionalRegisterObject(objectId(index), this.objects[index]);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// member types //
+	/////////////////
+	
+	public enum RegistryType
+	{
+		DEFAULT
+		{
+			@Override
+			PersistenceObjectRegistry create()
+			{
+				return PersistenceObjectRegistry.New();
+			}
+		},
+		CONCURRENT
+		{
+			@Override
+			PersistenceObjectRegistry create()
+			{
+				return PersistenceObjectRegistry.NewConcurrent();
+			}
+		};
+		
+		abstract PersistenceObjectRegistry create();
+	}
+	
+}
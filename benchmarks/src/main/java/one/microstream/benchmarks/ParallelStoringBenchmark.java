@@ -0,0 +1,127 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.persistence.binary.types.BinaryStorer;
+import one.microstream.persistence.types.Storer;
+import one.microstream.storage.embedded.types.EmbeddedStorageFoundation;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+import one.microstream.storage.types.Storage;
+
+
+/**
+ * Measures serializing a large, already stored graph eagerly with and without a storing pool, without writing
+ * anything, like the {@link SerializationBenchmark}.
+ * <p>
+ * Every instance of the graph is already registered, so the workers of the pool mostly look up object ids
+ * concurrently, which is where a serialization of their registrations shows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelStoringBenchmark
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	/**
+	 * The parallelism of the storing pool, 0 for storing without a pool.
+	 */
+	@Param({"0", "4"})
+	public int parallelism;
+	
+	@Param({"50000"})
+	public int entityCount;
+	
+	private Path                   directory  ;
+	private ForkJoinPool           storingPool;
+	private EmbeddedStorageManager storage    ;
+	private Object                 graph      ;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.directory = BenchmarkStorage.createDirectory("parallel-storing");
+		
+		final EmbeddedStorageFoundation<?> foundation = BenchmarkStorage.Foundation(this.directory, 1);
+		if(this.parallelism > 0)
+		{
+			this.storingPool = new ForkJoinPool(this.parallelism);
+			foundation.onConnectionFoundation(f ->
+				f.setStorerCreator(BinaryStorer.Creator(Storage.ChannelCountProvider(1), false, this.storingPool))
+			);
+		}
+		
+		this.storage = foundation.start();
+		this.graph   = BenchmarkData.graph(this.entityCount, 0);
+		this.storage.setRoot(this.graph);
+		this.storage.storeRoot();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.storage.shutdown();
+		if(this.storingPool != null)
+		{
+			this.storingPool.shutdown();
+		}
+		BenchmarkStorage.deleteDirectory(this.directory);
+	}
+	
+	@Benchmark
+	public Storer serialize()
+	{
+		final Storer storer = this.storage.createEagerStorer();
+		storer.store(this.graph);
+		storer.clear();
+		
+		return storer;
+	}
+	
+}
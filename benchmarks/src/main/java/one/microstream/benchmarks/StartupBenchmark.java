@@ -0,0 +1,160 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.reference.Lazy;
+import one.microstream.storage.embedded.types.EmbeddedStorageFoundation;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+import one.microstream.storage.types.StorageEntityInitializer;
+import one.microstream.storage.types.StorageIndexCheckpointSetup;
+
+
+/**
+ * Measures the startup of a storage over a generated store, i.e. reading or rebuilding the entity index
+ * and loading the root, optionally using the index checkpoint written by the previous shutdown and
+ * several initialization threads per channel.
+ * <p>
+ * Every entity carries a payload of {@value #PAYLOAD_SIZE} bytes, so the larger store has about 4.5 GB.
+ * The generated entities are stored in lazily referenced batches that are cleared after storing them,
+ * so neither generating the store nor loading the root requires a heap of that size, only the entity index does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+	
+	static final int PAYLOAD_SIZE = 1024;
+	
+	static final int BATCH_SIZE = 100_000;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	@Param({"1", "4"})
+	public int channelCount;
+	
+	@Param({"1", "4"})
+	public int initializerThreadCount;
+	
+	@Param({"1000000", "4000000"})
+	public int entityCount;
+	
+	@Param({"false", "true"})
+	public boolean indexCheckpoint;
+	
+	private Path directory;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	private EmbeddedStorageFoundation<?> foundation()
+	{
+		// a new foundation for every start, a foundation instance is not meant to be started repeatedly
+		final EmbeddedStorageFoundation<?> foundation = BenchmarkStorage.Foundation(this.directory, this.channelCount);
+		foundation.setEntityInitializerCreator(StorageEntityInitializer.Creator(this.initializerThreadCount));
+		if(this.indexCheckpoint)
+		{
+			foundation.setIndexCheckpointSetup(StorageIndexCheckpointSetup.New());
+		}
+		
+		return foundation;
+	}
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.directory = BenchmarkStorage.createDirectory("startup");
+		
+		final EmbeddedStorageManager storage = this.foundation().start();
+		try
+		{
+			final ArrayList<Lazy<Object[]>> batches = new ArrayList<>();
+			storage.setRoot(batches);
+			storage.storeRoot();
+			
+			for(int stored = 0; stored < this.entityCount; stored += BATCH_SIZE)
+			{
+				final int            count = Math.min(BATCH_SIZE, this.entityCount - stored);
+				final Lazy<Object[]> batch = Lazy.Reference(new Object[]{
+					BenchmarkData.graph(count, stored),
+					BenchmarkData.payloads(count, PAYLOAD_SIZE)
+				});
+				batches.add(batch);
+				storage.store(batches);
+				
+				// from here on, the batch is only held by the storage.
+				batch.clear();
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		BenchmarkStorage.deleteDirectory(this.directory);
+	}
+	
+	@Benchmark
+	public Object startup()
+	{
+		final EmbeddedStorageManager storage = this.foundation().start();
+		final Object                 root    = storage.root();
+		storage.shutdown();
+		
+		return root;
+	}
+	
+}
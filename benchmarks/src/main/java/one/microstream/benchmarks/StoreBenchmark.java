@@ -0,0 +1,131 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.persistence.types.Storer;
+import one.microstream.storage.embedded.types.EmbeddedStorageFoundation;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+import one.microstream.storage.types.StorageDataCompression;
+
+
+/**
+ * Measures {@link EmbeddedStorageManager#store(Object)} of a small, newly created graph and the
+ * eager storing of a large, already persisted graph, which serializes and writes every entity again.
+ * Optionally with the stored data being compressed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreBenchmark
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	@Param({"1", "4"})
+	public int channelCount;
+	
+	@Param({"false", "true"})
+	public boolean compression;
+	
+	@Param({"10000"})
+	public int largeGraphSize;
+	
+	@Param({"10"})
+	public int smallGraphSize;
+	
+	private Path                       directory ;
+	private EmbeddedStorageManager     storage   ;
+	private ArrayList<BenchmarkEntity> largeGraph;
+	private long                       nextId    ;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.directory = BenchmarkStorage.createDirectory("store");
+		
+		final EmbeddedStorageFoundation<?> foundation = BenchmarkStorage.Foundation(this.directory, this.channelCount);
+		if(this.compression)
+		{
+			foundation.setDataCompression(StorageDataCompression.New());
+		}
+		
+		this.storage    = foundation.start();
+		this.largeGraph = BenchmarkData.graph(this.largeGraphSize, 0);
+		this.nextId     = this.largeGraphSize;
+		this.storage.setRoot(this.largeGraph);
+		this.storage.storeRoot();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.storage.shutdown();
+		BenchmarkStorage.deleteDirectory(this.directory);
+	}
+	
+	@Benchmark
+	public long storeSmallGraph()
+	{
+		final ArrayList<BenchmarkEntity> graph = BenchmarkData.graph(this.smallGraphSize, this.nextId);
+		this.nextId += this.smallGraphSize;
+		
+		return this.storage.store(graph);
+	}
+	
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public Object storeLargeGraph()
+	{
+		final Storer storer = this.storage.createEagerStorer();
+		storer.store(this.largeGraph);
+		
+		return storer.commit();
+	}
+	
+}
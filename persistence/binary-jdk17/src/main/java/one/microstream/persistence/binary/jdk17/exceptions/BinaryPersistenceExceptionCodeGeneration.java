@@ -0,0 +1,66 @@
+package one.microstream.persistence.binary.jdk17.exceptions;
+
+/*-
+ * #%L
+ * MicroStream Persistence JDK17
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.persistence.binary.exceptions.BinaryPersistenceException;
+
+/**
+ * Signals that no code can be generated for a type, e.g. because the generated code would exceed the limits
+ * of the class file format or of the JIT compiler, or because the runtime does not permit defining classes.
+ * Callers are expected to fall back to a non-generated implementation.
+ */
+public class BinaryPersistenceExceptionCodeGeneration extends BinaryPersistenceException
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	public BinaryPersistenceExceptionCodeGeneration()
+	{
+		this(null, null);
+	}
+
+	public BinaryPersistenceExceptionCodeGeneration(final String message)
+	{
+		this(message, null);
+	}
+
+	public BinaryPersistenceExceptionCodeGeneration(final Throwable cause)
+	{
+		this(null, cause);
+	}
+
+	public BinaryPersistenceExceptionCodeGeneration(final String message, final Throwable cause)
+	{
+		this(message, cause, true, true);
+	}
+
+	public BinaryPersistenceExceptionCodeGeneration(
+		final String    message           ,
+		final Throwable cause             ,
+		final boolean   enableSuppression ,
+		final boolean   writableStackTrace
+	)
+	{
+		super(message, cause, enableSuppression, writableStackTrace);
+	}
+
+}
@@ -0,0 +1,145 @@
+package one.microstream.persistence.binary.jdk17.types;
+
+/*-
+ * #%L
+ * MicroStream Persistence JDK17
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import java.lang.reflect.Field;
+
+import one.microstream.collections.types.XGettingEnum;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerReflective;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.BinaryValueCopier;
+import one.microstream.persistence.types.PersistenceEagerStoringFieldEvaluator;
+import one.microstream.persistence.types.PersistenceFieldLengthResolver;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.persistence.types.PersistenceTypeInstantiator;
+
+/**
+ * Variant of the generic reflective type handler that stores and loads all field values with a
+ * {@link BinaryValueCopier} generated specifically for the handled type (see {@link BinaryValueCopierGenerator})
+ * instead of iterating one value storer/setter per field.
+ * 
+ * @param <T> the handled type.
+ */
+public final class BinaryHandlerGeneratedType<T> extends AbstractBinaryHandlerReflective<T>
+{
+	public static <T> BinaryHandlerGeneratedType<T> New(
+		final Class<T>                               type                      ,
+		final String                                 typeName                  ,
+		final XGettingEnum<Field>                    persistableFields         ,
+		final XGettingEnum<Field>                    persisterFields           ,
+		final PersistenceFieldLengthResolver         lengthResolver            ,
+		final PersistenceEagerStoringFieldEvaluator  eagerStoringFieldEvaluator,
+		final PersistenceTypeInstantiator<Binary, T> instantiator              ,
+		final boolean                                switchByteOrder           ,
+		final BinaryValueCopierGenerator             copierGenerator
+	)
+	{
+		return new BinaryHandlerGeneratedType<>(
+			type                               ,
+			typeName                           ,
+			persistableFields                  ,
+			persisterFields                    ,
+			lengthResolver                     ,
+			notNull(eagerStoringFieldEvaluator),
+			notNull(instantiator)              ,
+			switchByteOrder                    ,
+			notNull(copierGenerator)
+		);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final PersistenceTypeInstantiator<Binary, T> instantiator;
+	private final BinaryValueCopier                      copier      ;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	protected BinaryHandlerGeneratedType(
+		final Class<T>                               type                      ,
+		final String                                 typeName                  ,
+		final XGettingEnum<Field>                    persistableFields         ,
+		final XGettingEnum<Field>                    persisterFields           ,
+		final PersistenceFieldLengthResolver         lengthResolver            ,
+		final PersistenceEagerStoringFieldEvaluator  eagerStoringFieldEvaluator,
+		final PersistenceTypeInstantiator<Binary, T> instantiator              ,
+		final boolean                                switchByteOrder           ,
+		final BinaryValueCopierGenerator             copierGenerator
+	)
+	{
+		super(type, typeName, persistableFields, persisterFields, lengthResolver, eagerStoringFieldEvaluator, switchByteOrder);
+		this.instantiator = instantiator;
+		this.copier       = copierGenerator.generateValueCopier(
+			type                                           ,
+			this.storingMembers()                          ,
+			objectFieldOffsets(type, this.storingMembers()),
+			eagerStoringFieldEvaluator                     ,
+			switchByteOrder
+		);
+	}
+
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final T                               instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		data.storeFixedSize(
+			handler                             ,
+			this.membersPersistedLengthMinimum(),
+			this.typeId()                       ,
+			objectId                            ,
+			instance                            ,
+			this.copier
+		);
+	}
+	
+	@Override
+	protected final void updateFixedSize(final Binary data, final T instance, final PersistenceLoadHandler handler)
+	{
+		data.updateFixedSize(instance, this.copier, handler);
+	}
+	
+	@Override
+	public final T create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return this.instantiator.instantiate(data);
+	}
+
+}
@@ -0,0 +1,199 @@
+package one.microstream.persistence.binary.jdk17.types;
+
+/*-
+ * #%L
+ * MicroStream Persistence JDK17
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import java.lang.reflect.Field;
+
+import one.microstream.collections.types.XGettingEnum;
+import one.microstream.persistence.binary.jdk17.exceptions.BinaryPersistenceExceptionCodeGeneration;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.BinaryPersistenceFoundation;
+import one.microstream.persistence.binary.types.BinaryTypeHandlerCreator;
+import one.microstream.persistence.types.PersistenceEagerStoringFieldEvaluator;
+import one.microstream.persistence.types.PersistenceFieldLengthResolver;
+import one.microstream.persistence.types.PersistenceTypeAnalyzer;
+import one.microstream.persistence.types.PersistenceTypeHandler;
+import one.microstream.persistence.types.PersistenceTypeHandlerManager;
+import one.microstream.persistence.types.PersistenceTypeInstantiatorProvider;
+import one.microstream.persistence.types.PersistenceTypeResolver;
+import one.microstream.reference.Referencing;
+
+/**
+ * {@link BinaryTypeHandlerCreator} that creates {@link BinaryHandlerGeneratedType} instances for generic
+ * (reflectively handled) types, i.e. type handlers with per-type generated field copying code.
+ * <p>
+ * If no code can be generated for a type, be it because of the JVM or because of the type's size,
+ * the type handler created by {@link #createFallbackTypeHandler(Class, XGettingEnum, XGettingEnum,
+ * BinaryPersistenceExceptionCodeGeneration)} is used instead. Any other failure of the generation is a bug and
+ * is not caught. All other kinds of types are handled exactly as by {@link BinaryTypeHandlerCreator.Default}.
+ * <p>
+ * Usage example:
+ * <pre>{@code
+ * EmbeddedStorage.Foundation(...)
+ *     .onConnectionFoundation(f -> f.setTypeHandlerCreator(BinaryTypeHandlerCreatorGenerating.New(f)))
+ *     .start();
+ * }</pre>
+ */
+public class BinaryTypeHandlerCreatorGenerating extends BinaryTypeHandlerCreator.Default
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static BinaryTypeHandlerCreatorGenerating New(final BinaryPersistenceFoundation<?> foundation)
+	{
+		return New(
+			foundation.getTypeAnalyzer()                ,
+			foundation.getTypeResolver()                ,
+			foundation.getFieldFixedLengthResolver()    ,
+			foundation.getReferenceFieldEagerEvaluator(),
+			foundation.getInstantiatorProvider()        ,
+			foundation::getTypeHandlerManager           ,
+			foundation.isByteOrderMismatch()            ,
+			BinaryValueCopierGenerator.New()
+		);
+	}
+	
+	public static BinaryTypeHandlerCreatorGenerating New(
+		final PersistenceTypeAnalyzer                            typeAnalyzer              ,
+		final PersistenceTypeResolver                            typeResolver              ,
+		final PersistenceFieldLengthResolver                     lengthResolver            ,
+		final PersistenceEagerStoringFieldEvaluator              eagerStoringFieldEvaluator,
+		final PersistenceTypeInstantiatorProvider<Binary>        instantiatorProvider      ,
+		final Referencing<PersistenceTypeHandlerManager<Binary>> typeHandlerManager        ,
+		final boolean                                            switchByteOrder           ,
+		final BinaryValueCopierGenerator                         copierGenerator
+	)
+	{
+		return new BinaryTypeHandlerCreatorGenerating(
+			notNull(typeAnalyzer)              ,
+			notNull(typeResolver)              ,
+			notNull(lengthResolver)            ,
+			notNull(eagerStoringFieldEvaluator),
+			notNull(instantiatorProvider)      ,
+			notNull(typeHandlerManager)        ,
+			switchByteOrder                    ,
+			notNull(copierGenerator)
+		);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final BinaryValueCopierGenerator copierGenerator;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	protected BinaryTypeHandlerCreatorGenerating(
+		final PersistenceTypeAnalyzer                            typeAnalyzer              ,
+		final PersistenceTypeResolver                            typeResolver              ,
+		final PersistenceFieldLengthResolver                     lengthResolver            ,
+		final PersistenceEagerStoringFieldEvaluator              eagerStoringFieldEvaluator,
+		final PersistenceTypeInstantiatorProvider<Binary>        instantiatorProvider      ,
+		final Referencing<PersistenceTypeHandlerManager<Binary>> typeHandlerManager        ,
+		final boolean                                            switchByteOrder           ,
+		final BinaryValueCopierGenerator                         copierGenerator
+	)
+	{
+		super(
+			typeAnalyzer              ,
+			typeResolver              ,
+			lengthResolver            ,
+			eagerStoringFieldEvaluator,
+			instantiatorProvider      ,
+			typeHandlerManager        ,
+			switchByteOrder
+		);
+		this.copierGenerator = copierGenerator;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Override
+	protected <T> PersistenceTypeHandler<Binary, T> internalCreateTypeHandlerGeneric(
+		final Class<T>            type             ,
+		final XGettingEnum<Field> persistableFields,
+		final XGettingEnum<Field> persisterFields
+	)
+	{
+		if(persistableFields.isEmpty())
+		{
+			return super.internalCreateTypeHandlerGeneric(type, persistableFields, persisterFields);
+		}
+		
+		try
+		{
+			return BinaryHandlerGeneratedType.New(
+				type                                                     ,
+				this.deriveTypeName(type)                                ,
+				persistableFields                                        ,
+				persisterFields                                          ,
+				this.lengthResolver()                                    ,
+				this.eagerStoringFieldEvaluator()                        ,
+				this.instantiatorProvider().provideTypeInstantiator(type),
+				this.isSwitchByteOrder()                                 ,
+				this.copierGenerator
+			);
+		}
+		catch(final BinaryPersistenceExceptionCodeGeneration e)
+		{
+			return this.createFallbackTypeHandler(type, persistableFields, persisterFields, e);
+		}
+	}
+	
+	/**
+	 * Creates the type handler for a type no code can be generated for, which is the default reflective
+	 * {@link one.microstream.persistence.binary.internal.BinaryHandlerGenericType}.
+	 * Subclasses can override this method to report the passed cause or to rethrow it if generated type handlers
+	 * are mandatory.
+	 * 
+	 * @param <T> the handled type.
+	 * @param type the type to create a type handler for.
+	 * @param persistableFields the persistable fields of the type.
+	 * @param persisterFields the persister fields of the type.
+	 * @param cause the reason why no code can be generated for the type.
+	 * 
+	 * @return the type handler to be used for the passed type.
+	 */
+	protected <T> PersistenceTypeHandler<Binary, T> createFallbackTypeHandler(
+		final Class<T>                                 type             ,
+		final XGettingEnum<Field>                      persistableFields,
+		final XGettingEnum<Field>                      persisterFields  ,
+		final BinaryPersistenceExceptionCodeGeneration cause
+	)
+	{
+		return super.internalCreateTypeHandlerGeneric(type, persistableFields, persisterFields);
+	}
+	
+}
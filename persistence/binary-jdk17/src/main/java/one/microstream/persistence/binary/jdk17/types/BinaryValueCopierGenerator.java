@@ -0,0 +1,732 @@
+package one.microstream.persistence.binary.jdk17.types;
+
+/*-
+ * #%L
+ * MicroStream Persistence JDK17
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.types.XGettingSequence;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.exceptions.BinaryPersistenceException;
+import one.microstream.persistence.binary.jdk17.exceptions.BinaryPersistenceExceptionCodeGeneration;
+import one.microstream.persistence.binary.types.BinaryValueCopier;
+import one.microstream.persistence.types.PersistenceEagerStoringFieldEvaluator;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.persistence.types.PersistenceTypeDefinitionMemberFieldReflective;
+
+/**
+ * Generates a {@link BinaryValueCopier} specific to one entity type as a hidden class at runtime.
+ * <p>
+ * The generated methods copy all fields in straight-line code with the memory offsets and binary offsets
+ * embedded as constants, so the JIT can inline the whole copying instead of dispatching one
+ * {@link one.microstream.persistence.binary.types.BinaryValueStorer} or
+ * {@link one.microstream.persistence.binary.types.BinaryValueSetter} per field.
+ * The memory access itself is still done via {@link XMemory}, so the semantics are exactly those of the
+ * reflective value functions.
+ */
+public interface BinaryValueCopierGenerator
+{
+	/**
+	 * Generates a copier for the passed members in their persistent order.
+	 * 
+	 * @param entityType the type declaring the members.
+	 * @param storingMembers the members in persistent order (all references first, then all primitives).
+	 * @param memoryOffsets the memory offsets of the members' fields, in the same order.
+	 * @param eagerEvaluator the evaluator to determine which reference fields are stored eagerly.
+	 * @param switchByteOrder whether the binary form has the reversed byte order.
+	 * 
+	 * @return a new copier instance.
+	 * 
+	 * @throws BinaryPersistenceExceptionCodeGeneration if no copier can be generated for the passed members
+	 *         or in the current runtime.
+	 */
+	public BinaryValueCopier generateValueCopier(
+		Class<?>                                                                   entityType     ,
+		XGettingSequence<? extends PersistenceTypeDefinitionMemberFieldReflective> storingMembers ,
+		long[]                                                                     memoryOffsets  ,
+		PersistenceEagerStoringFieldEvaluator                                      eagerEvaluator ,
+		boolean                                                                    switchByteOrder
+	)
+		throws BinaryPersistenceExceptionCodeGeneration;
+	
+	
+	
+	/**
+	 * The bytecode size limit above which HotSpot does not JIT-compile a method by default
+	 * (see {@code -XX:-DontCompileHugeMethods}). Generating larger methods would defeat the purpose.
+	 * 
+	 * @return the maximum bytecode length of a generated method.
+	 */
+	public static int maximumCodeLength()
+	{
+		return 8000;
+	}
+	
+	
+	public static BinaryValueCopierGenerator New()
+	{
+		return new BinaryValueCopierGenerator.Default(
+			MethodHandles.lookup()
+		);
+	}
+	
+	public final class Default implements BinaryValueCopierGenerator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		static final String
+			NAME_GENERATED      = internalName(BinaryValueCopierGenerator.class) + "$Generated",
+			NAME_OBJECT         = internalName(Object.class)                  ,
+			NAME_COPIER         = internalName(BinaryValueCopier.class)       ,
+			NAME_MEMORY         = internalName(XMemory.class)                 ,
+			NAME_STORE_HANDLER  = internalName(PersistenceStoreHandler.class) ,
+			NAME_LOAD_HANDLER   = internalName(PersistenceLoadHandler.class)  ,
+			DESC_OBJECT         = 'L' + NAME_OBJECT        + ';'              ,
+			DESC_STORE_HANDLER  = 'L' + NAME_STORE_HANDLER + ';'              ,
+			DESC_LOAD_HANDLER   = 'L' + NAME_LOAD_HANDLER  + ';'              ,
+			DESC_STORE_METHOD   = '(' + DESC_OBJECT + 'J' + DESC_STORE_HANDLER + ")V",
+			DESC_SETTER_METHOD  = "(J" + DESC_OBJECT + DESC_LOAD_HANDLER + ")V"
+		;
+		
+		static final int
+			CLASS_VERSION      = 52    ,
+			ACC_PUBLIC         = 0x0001,
+			ACC_FINAL          = 0x0010,
+			ACC_SUPER          = 0x0020,
+			MAX_STACK          =      8,
+			MAX_LOCALS         =      5
+		;
+		
+		static final int
+			ALOAD           = 0x19,
+			ALOAD_0         = 0x2A,
+			ALOAD_1         = 0x2B,
+			ALOAD_3         = 0x2D,
+			LLOAD_1         = 0x1F,
+			LLOAD_2         = 0x20,
+			LDC2_W          = 0x14,
+			LADD            = 0x61,
+			RETURN          = 0xB1,
+			INVOKESPECIAL   = 0xB7,
+			INVOKESTATIC    = 0xB8,
+			INVOKEINTERFACE = 0xB9
+		;
+		
+		// local variable slots of the two generated methods, slot 0 is "this" in both cases.
+		static final int
+			STORE_SLOT_SOURCE  = 1,
+			STORE_SLOT_ADDRESS = 2,
+			STORE_SLOT_HANDLER = 4,
+			SET_SLOT_ADDRESS   = 1,
+			SET_SLOT_TARGET    = 3,
+			SET_SLOT_HANDLER   = 4
+		;
+		
+		static String internalName(final Class<?> type)
+		{
+			return type.getName().replace('.', '/');
+		}
+		
+		static char descriptor(final Class<?> primitiveType)
+		{
+			if(primitiveType == byte.class)
+			{
+				return 'B';
+			}
+			if(primitiveType == boolean.class)
+			{
+				return 'Z';
+			}
+			if(primitiveType == short.class)
+			{
+				return 'S';
+			}
+			if(primitiveType == char.class)
+			{
+				return 'C';
+			}
+			if(primitiveType == int.class)
+			{
+				return 'I';
+			}
+			if(primitiveType == float.class)
+			{
+				return 'F';
+			}
+			if(primitiveType == long.class)
+			{
+				return 'J';
+			}
+			if(primitiveType == double.class)
+			{
+				return 'D';
+			}
+			
+			throw new BinaryPersistenceException("Not a primitive type: " + primitiveType);
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final MethodHandles.Lookup lookup;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(final MethodHandles.Lookup lookup)
+		{
+			super();
+			this.lookup = lookup;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public BinaryValueCopier generateValueCopier(
+			final Class<?>                                                                   entityType     ,
+			final XGettingSequence<? extends PersistenceTypeDefinitionMemberFieldReflective> storingMembers ,
+			final long[]                                                                     memoryOffsets  ,
+			final PersistenceEagerStoringFieldEvaluator                                      eagerEvaluator ,
+			final boolean                                                                    switchByteOrder
+		)
+			throws BinaryPersistenceExceptionCodeGeneration
+		{
+			notNull(entityType);
+			notNull(eagerEvaluator);
+			if(storingMembers.size() != memoryOffsets.length)
+			{
+				throw new BinaryPersistenceException(
+					"Member count " + storingMembers.size()
+					+ " does not match memory offset count " + memoryOffsets.length
+					+ " for " + entityType
+				);
+			}
+			
+			final ClassFileBuilder classFile = new ClassFileBuilder();
+			final CodeBuilder      storeCode = new CodeBuilder(classFile);
+			final CodeBuilder      setCode   = new CodeBuilder(classFile);
+
+			long binaryOffset = 0;
+			int  i            = 0;
+			for(final PersistenceTypeDefinitionMemberFieldReflective member : storingMembers)
+			{
+				final Class<?> type = member.type();
+				if(type.isPrimitive())
+				{
+					appendStorePrimitive(storeCode, type, memoryOffsets[i], binaryOffset, switchByteOrder);
+					appendSetPrimitive(setCode, type, memoryOffsets[i], binaryOffset, switchByteOrder);
+				}
+				else
+				{
+					final boolean isEager = eagerEvaluator.isEagerStoring(entityType, member.field());
+					appendStoreReference(storeCode, memoryOffsets[i], binaryOffset, isEager, switchByteOrder);
+					appendSetReference(setCode, memoryOffsets[i], binaryOffset, switchByteOrder);
+				}
+				binaryOffset += member.persistentMinimumLength();
+				i++;
+			}
+			storeCode.u1(RETURN);
+			setCode.u1(RETURN);
+			
+			if(storeCode.length() > maximumCodeLength() || setCode.length() > maximumCodeLength())
+			{
+				throw new BinaryPersistenceExceptionCodeGeneration(
+					"Generated code for " + entityType + " exceeds " + maximumCodeLength() + " bytes."
+				);
+			}
+			
+			final byte[] bytes = classFile.build(storeCode, setCode);
+			
+			return this.defineCopier(entityType, bytes);
+		}
+		
+		private BinaryValueCopier defineCopier(final Class<?> entityType, final byte[] classBytes)
+		{
+			final MethodHandles.Lookup hiddenLookup;
+			try
+			{
+				hiddenLookup = this.lookup.defineHiddenClass(classBytes, true);
+			}
+			catch(final IllegalAccessException | SecurityException e)
+			{
+				// the runtime does not permit defining the class. Anything else indicates faulty bytecode.
+				throw new BinaryPersistenceExceptionCodeGeneration(
+					"Could not define value copier for " + entityType, e
+				);
+			}
+			
+			try
+			{
+				return (BinaryValueCopier)hiddenLookup.findConstructor(
+					hiddenLookup.lookupClass(),
+					MethodType.methodType(void.class)
+				).invoke();
+			}
+			catch(final RuntimeException | Error e)
+			{
+				throw e;
+			}
+			catch(final Throwable t)
+			{
+				throw new BinaryPersistenceException("Could not instantiate value copier for " + entityType, t);
+			}
+		}
+		
+		private static void appendStorePrimitive(
+			final CodeBuilder code           ,
+			final Class<?>    type           ,
+			final long        memoryOffset   ,
+			final long        binaryOffset   ,
+			final boolean     switchByteOrder
+		)
+		{
+			// XMemory.set_T(address + binaryOffset, XMemory.get_T(source, memoryOffset));
+			code.loadAddress(STORE_SLOT_ADDRESS, binaryOffset);
+			code.u1(ALOAD_1);
+			code.ldc2(memoryOffset);
+			code.invokeStatic(NAME_MEMORY, "get_" + type.getName(), "(" + DESC_OBJECT + "J)" + descriptor(type));
+			appendBinaryValueStore(code, type, switchByteOrder);
+		}
+		
+		private static void appendStoreReference(
+			final CodeBuilder code           ,
+			final long        memoryOffset   ,
+			final long        binaryOffset   ,
+			final boolean     isEager        ,
+			final boolean     switchByteOrder
+		)
+		{
+			// XMemory.set_long(address + binaryOffset, handler.apply(XMemory.getObject(source, memoryOffset)));
+			code.loadAddress(STORE_SLOT_ADDRESS, binaryOffset);
+			code.u1(ALOAD).u1(STORE_SLOT_HANDLER);
+			code.u1(ALOAD_1);
+			code.ldc2(memoryOffset);
+			code.invokeStatic(NAME_MEMORY, "getObject", "(" + DESC_OBJECT + "J)" + DESC_OBJECT);
+			code.invokeInterface(NAME_STORE_HANDLER, isEager ? "applyEager" : "apply", "(" + DESC_OBJECT + ")J", 2);
+			appendBinaryValueStore(code, long.class, switchByteOrder);
+		}
+		
+		private static void appendSetPrimitive(
+			final CodeBuilder code           ,
+			final Class<?>    type           ,
+			final long        memoryOffset   ,
+			final long        binaryOffset   ,
+			final boolean     switchByteOrder
+		)
+		{
+			// XMemory.set_T(target, memoryOffset, XMemory.get_T(address + binaryOffset));
+			code.u1(ALOAD_3);
+			code.ldc2(memoryOffset);
+			code.loadAddress(SET_SLOT_ADDRESS, binaryOffset);
+			appendBinaryValueLoad(code, type, switchByteOrder);
+			code.invokeStatic(NAME_MEMORY, "set_" + type.getName(), "(" + DESC_OBJECT + "J" + descriptor(type) + ")V");
+		}
+		
+		private static void appendSetReference(
+			final CodeBuilder code           ,
+			final long        memoryOffset   ,
+			final long        binaryOffset   ,
+			final boolean     switchByteOrder
+		)
+		{
+			// XMemory.setObject(target, memoryOffset, handler.lookupObject(XMemory.get_long(address + binaryOffset)));
+			code.u1(ALOAD_3);
+			code.ldc2(memoryOffset);
+			code.u1(ALOAD).u1(SET_SLOT_HANDLER);
+			code.loadAddress(SET_SLOT_ADDRESS, binaryOffset);
+			appendBinaryValueLoad(code, long.class, switchByteOrder);
+			code.invokeInterface(NAME_LOAD_HANDLER, "lookupObject", "(J)" + DESC_OBJECT, 3);
+			code.invokeStatic(NAME_MEMORY, "setObject", "(" + DESC_OBJECT + "J" + DESC_OBJECT + ")V");
+		}
+		
+		/*
+		 * Consumes an address and a value of the passed type from the stack and writes the value to the address,
+		 * reversing the byte order in the same way as the reversed BinaryValueStorers do.
+		 */
+		private static void appendBinaryValueStore(
+			final CodeBuilder code           ,
+			final Class<?>    type           ,
+			final boolean     switchByteOrder
+		)
+		{
+			if(!switchByteOrder || type == byte.class || type == boolean.class)
+			{
+				code.invokeStatic(NAME_MEMORY, "set_" + type.getName(), "(J" + descriptor(type) + ")V");
+			}
+			else if(type == short.class)
+			{
+				code.invokeStatic(internalName(Short.class), "reverseBytes", "(S)S");
+				code.invokeStatic(NAME_MEMORY, "set_short", "(JS)V");
+			}
+			else if(type == char.class)
+			{
+				code.invokeStatic(internalName(Character.class), "reverseBytes", "(C)C");
+				code.invokeStatic(NAME_MEMORY, "set_char", "(JC)V");
+			}
+			else if(type == int.class)
+			{
+				code.invokeStatic(internalName(Integer.class), "reverseBytes", "(I)I");
+				code.invokeStatic(NAME_MEMORY, "set_int", "(JI)V");
+			}
+			else if(type == float.class)
+			{
+				code.invokeStatic(internalName(Float.class), "floatToRawIntBits", "(F)I");
+				code.invokeStatic(internalName(Integer.class), "reverseBytes", "(I)I");
+				code.invokeStatic(NAME_MEMORY, "set_int", "(JI)V");
+			}
+			else if(type == long.class)
+			{
+				code.invokeStatic(internalName(Long.class), "reverseBytes", "(J)J");
+				code.invokeStatic(NAME_MEMORY, "set_long", "(JJ)V");
+			}
+			else if(type == double.class)
+			{
+				code.invokeStatic(internalName(Double.class), "doubleToRawLongBits", "(D)J");
+				code.invokeStatic(internalName(Long.class), "reverseBytes", "(J)J");
+				code.invokeStatic(NAME_MEMORY, "set_long", "(JJ)V");
+			}
+			else
+			{
+				throw new BinaryPersistenceException("Not a primitive type: " + type);
+			}
+		}
+		
+		/*
+		 * Consumes an address from the stack and pushes the value of the passed type read from it,
+		 * reversing the byte order in the same way as the reversed BinaryValueSetters do.
+		 */
+		private static void appendBinaryValueLoad(
+			final CodeBuilder code           ,
+			final Class<?>    type           ,
+			final boolean     switchByteOrder
+		)
+		{
+			if(!switchByteOrder || type == byte.class || type == boolean.class)
+			{
+				code.invokeStatic(NAME_MEMORY, "get_" + type.getName(), "(J)" + descriptor(type));
+			}
+			else if(type == short.class)
+			{
+				code.invokeStatic(NAME_MEMORY, "get_short", "(J)S");
+				code.invokeStatic(internalName(Short.class), "reverseBytes", "(S)S");
+			}
+			else if(type == char.class)
+			{
+				code.invokeStatic(NAME_MEMORY, "get_char", "(J)C");
+				code.invokeStatic(internalName(Character.class), "reverseBytes", "(C)C");
+			}
+			else if(type == int.class)
+			{
+				code.invokeStatic(NAME_MEMORY, "get_int", "(J)I");
+				code.invokeStatic(internalName(Integer.class), "reverseBytes", "(I)I");
+			}
+			else if(type == float.class)
+			{
+				code.invokeStatic(NAME_MEMORY, "get_int", "(J)I");
+				code.invokeStatic(internalName(Integer.class), "reverseBytes", "(I)I");
+				code.invokeStatic(internalName(Float.class), "intBitsToFloat", "(I)F");
+			}
+			else if(type == long.class)
+			{
+				code.invokeStatic(NAME_MEMORY, "get_long", "(J)J");
+				code.invokeStatic(internalName(Long.class), "reverseBytes", "(J)J");
+			}
+			else if(type == double.class)
+			{
+				code.invokeStatic(NAME_MEMORY, "get_long", "(J)J");
+				code.invokeStatic(internalName(Long.class), "reverseBytes", "(J)J");
+				code.invokeStatic(internalName(Double.class), "longBitsToDouble", "(J)D");
+			}
+			else
+			{
+				throw new BinaryPersistenceException("Not a primitive type: " + type);
+			}
+		}
+		
+		
+		
+		/**
+		 * Growable big-endian byte buffer as required by the class file format.
+		 */
+		static class ByteSink
+		{
+			byte[] bytes = new byte[256];
+			int    size  ;
+			
+			final ByteSink u1(final int value)
+			{
+				if(this.size == this.bytes.length)
+				{
+					this.bytes = Arrays.copyOf(this.bytes, this.bytes.length * 2);
+				}
+				this.bytes[this.size++] = (byte)value;
+				return this;
+			}
+			
+			final ByteSink u2(final int value)
+			{
+				return this.u1(value >>> 8).u1(value);
+			}
+			
+			final ByteSink u4(final int value)
+			{
+				return this.u2(value >>> 16).u2(value);
+			}
+			
+			final ByteSink u8(final long value)
+			{
+				return this.u4((int)(value >>> 32)).u4((int)value);
+			}
+			
+			final ByteSink append(final byte[] bytes, final int length)
+			{
+				for(int i = 0; i < length; i++)
+				{
+					this.u1(bytes[i]);
+				}
+				return this;
+			}
+			
+			final ByteSink append(final ByteSink other)
+			{
+				return this.append(other.bytes, other.size);
+			}
+			
+			final int length()
+			{
+				return this.size;
+			}
+			
+		}
+		
+		/**
+		 * Bytecode of one method body. Only straight-line code without branches is supported,
+		 * which is why no stack map frames are needed.
+		 */
+		static final class CodeBuilder extends ByteSink
+		{
+			private final ClassFileBuilder classFile;
+			
+			CodeBuilder(final ClassFileBuilder classFile)
+			{
+				super();
+				this.classFile = classFile;
+			}
+			
+			final void ldc2(final long value)
+			{
+				this.u1(LDC2_W).u2(this.classFile.constantLong(value));
+			}
+			
+			final void loadAddress(final int slot, final long offset)
+			{
+				this.u1(slot == 1 ? LLOAD_1 : LLOAD_2);
+				if(offset != 0)
+				{
+					this.ldc2(offset);
+					this.u1(LADD);
+				}
+			}
+			
+			final void invokeStatic(final String owner, final String name, final String descriptor)
+			{
+				this.u1(INVOKESTATIC).u2(this.classFile.constantMethod(owner, name, descriptor, false));
+			}
+			
+			final void invokeSpecial(final String owner, final String name, final String descriptor)
+			{
+				this.u1(INVOKESPECIAL).u2(this.classFile.constantMethod(owner, name, descriptor, false));
+			}
+			
+			final void invokeInterface(
+				final String owner     ,
+				final String name      ,
+				final String descriptor,
+				final int    argSlots
+			)
+			{
+				this.u1(INVOKEINTERFACE)
+					.u2(this.classFile.constantMethod(owner, name, descriptor, true))
+					.u1(argSlots)
+					.u1(0)
+				;
+			}
+			
+		}
+		
+		/**
+		 * Minimal class file writer for a public final class implementing {@link BinaryValueCopier}.
+		 */
+		static final class ClassFileBuilder
+		{
+			private final ByteSink                     constants     = new ByteSink();
+			private final EqHashTable<String, Integer> constantIndex = EqHashTable.New();
+			private       int                          constantCount = 1;
+			
+			private int constant(final String key, final int tag, final int slots, final ByteSink content)
+			{
+				final Integer existing = this.constantIndex.get(key);
+				if(existing != null)
+				{
+					return existing;
+				}
+				
+				final int index = this.constantCount;
+				if(index + slots > 0xFFFF)
+				{
+					throw new BinaryPersistenceExceptionCodeGeneration("Constant pool overflow.");
+				}
+				this.constants.u1(tag).append(content);
+				this.constantCount += slots;
+				this.constantIndex.add(key, index);
+				
+				return index;
+			}
+			
+			final int constantUtf8(final String value)
+			{
+				final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				return this.constant("U:" + value, 1, 1, new ByteSink().u2(bytes.length).append(bytes, bytes.length));
+			}
+			
+			final int constantLong(final long value)
+			{
+				return this.constant("J:" + value, 5, 2, new ByteSink().u8(value));
+			}
+			
+			final int constantClass(final String internalName)
+			{
+				final int nameIndex = this.constantUtf8(internalName);
+				return this.constant("C:" + internalName, 7, 1, new ByteSink().u2(nameIndex));
+			}
+			
+			final int constantNameAndType(final String name, final String descriptor)
+			{
+				final int nameIndex = this.constantUtf8(name);
+				final int descIndex = this.constantUtf8(descriptor);
+				return this.constant(
+					"N:" + name + ':' + descriptor, 12, 1, new ByteSink().u2(nameIndex).u2(descIndex)
+				);
+			}
+			
+			final int constantMethod(
+				final String  owner      ,
+				final String  name       ,
+				final String  descriptor ,
+				final boolean isInterface
+			)
+			{
+				final int classIndex = this.constantClass(owner);
+				final int natIndex   = this.constantNameAndType(name, descriptor);
+				return this.constant(
+					(isInterface ? "I:" : "M:") + owner + '.' + name + descriptor,
+					isInterface ? 11 : 10,
+					1,
+					new ByteSink().u2(classIndex).u2(natIndex)
+				);
+			}
+			
+			final byte[] build(final CodeBuilder storeCode, final CodeBuilder setCode)
+			{
+				final CodeBuilder initCode = new CodeBuilder(this);
+				initCode.u1(ALOAD_0);
+				initCode.invokeSpecial(NAME_OBJECT, "<init>", "()V");
+				initCode.u1(RETURN);
+				
+				final int thisIndex      = this.constantClass(NAME_GENERATED);
+				final int superIndex     = this.constantClass(NAME_OBJECT);
+				final int interfaceIndex = this.constantClass(NAME_COPIER);
+				
+				final ByteSink methods = new ByteSink();
+				this.appendMethod(methods, "<init>"               , "()V"              , initCode , 1);
+				this.appendMethod(methods, "storeValuesFromMemory", DESC_STORE_METHOD  , storeCode, MAX_LOCALS);
+				this.appendMethod(methods, "setValuesToMemory"    , DESC_SETTER_METHOD , setCode  , MAX_LOCALS);
+				
+				final ByteSink classFile = new ByteSink()
+					.u4(0xCAFEBABE)
+					.u2(0)
+					.u2(CLASS_VERSION)
+					.u2(this.constantCount)
+					.append(this.constants)
+					.u2(ACC_PUBLIC | ACC_FINAL | ACC_SUPER)
+					.u2(thisIndex)
+					.u2(superIndex)
+					.u2(1).u2(interfaceIndex)
+					.u2(0) // fields
+					.u2(3).append(methods)
+					.u2(0) // class attributes
+				;
+				
+				return Arrays.copyOf(classFile.bytes, classFile.size);
+			}
+			
+			private void appendMethod(
+				final ByteSink    target    ,
+				final String      name      ,
+				final String      descriptor,
+				final CodeBuilder code      ,
+				final int         maxLocals
+			)
+			{
+				// all constants must be registered before the method bytes are written.
+				final int nameIndex = this.constantUtf8(name);
+				final int descIndex = this.constantUtf8(descriptor);
+				final int codeIndex = this.constantUtf8("Code");
+				
+				target
+					.u2(ACC_PUBLIC)
+					.u2(nameIndex)
+					.u2(descIndex)
+					.u2(1)
+					.u2(codeIndex)
+					.u4(2 + 2 + 4 + code.length() + 2 + 2)
+					.u2(MAX_STACK)
+					.u2(maxLocals)
+					.u4(code.length())
+					.append(code)
+					.u2(0) // exception table
+					.u2(0) // code attributes
+				;
+			}
+			
+		}
+		
+	}
+	
+}
@@ -21,6 +21,7 @@ module microstream.persistence.binary.jdk17
 {
 	exports one.microstream.persistence.binary.jdk17.types;
 	exports one.microstream.persistence.binary.jdk17.java.util;
+	exports one.microstream.persistence.binary.jdk17.exceptions;
 	
 	requires microstream.base;
 	requires microstream.persistence;
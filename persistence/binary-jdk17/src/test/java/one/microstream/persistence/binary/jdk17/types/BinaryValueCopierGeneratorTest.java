@@ -0,0 +1,728 @@
+package one.microstream.persistence.binary.jdk17.types;
+
+/*-
+ * #%L
+ * MicroStream Persistence JDK17
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.collections.BulkList;
+import one.microstream.collections.HashEnum;
+import one.microstream.collections.types.XGettingEnum;
+import one.microstream.collections.types.XGettingSequence;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.exceptions.BinaryPersistenceException;
+import one.microstream.persistence.binary.internal.BinaryHandlerGenericType;
+import one.microstream.persistence.binary.jdk17.exceptions.BinaryPersistenceExceptionCodeGeneration;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.BinaryPersistence;
+import one.microstream.persistence.binary.types.BinaryValueCopier;
+import one.microstream.persistence.binary.types.BinaryValueFunctions;
+import one.microstream.persistence.binary.types.BinaryValueSetter;
+import one.microstream.persistence.binary.types.BinaryValueStorer;
+import one.microstream.persistence.types.PersistenceEagerStoringFieldEvaluator;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.persistence.types.PersistenceTypeDefinitionMemberFieldReflective;
+import one.microstream.persistence.types.PersistenceTypeHandler;
+import one.microstream.persistence.types.PersistenceTypeInstantiator;
+import one.microstream.persistence.types.Persister;
+import one.microstream.reference.ObjectSwizzling;
+import one.microstream.storage.embedded.types.EmbeddedStorage;
+import one.microstream.storage.embedded.types.EmbeddedStorageConnectionFoundation;
+import one.microstream.storage.embedded.types.EmbeddedStorageFoundation;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+import one.microstream.storage.types.Storage;
+
+
+public class BinaryValueCopierGeneratorTest
+{
+	@TempDir
+	Path directory;
+
+	/**
+	 * Has a field of every kind a generic type handler copies: all primitives, value type references,
+	 * array references, references to other entities, a cyclic and a {@code null} reference.
+	 * The primitive values have distinct bytes, so any byte order error changes them.
+	 */
+	static final class AllKinds
+	{
+		byte        byteValue   ;
+		boolean     booleanValue;
+		short       shortValue  ;
+		char        charValue   ;
+		int         intValue    ;
+		float       floatValue  ;
+		long        longValue   ;
+		double      doubleValue ;
+		String      string      ;
+		Integer     boxed       ;
+		Object      nothing     ;
+		Object      shared      ;
+		AllKinds    self        ;
+		int[]       ints        ;
+		long[]      longs       ;
+		double[]    doubles     ;
+		String[]    strings     ;
+		Object[]    objects     ;
+		List<int[]> list        ;
+
+		transient int ignored;
+
+		static AllKinds New(final int seed)
+		{
+			final AllKinds instance = new AllKinds();
+			instance.byteValue    = (byte)(0x81 + seed);
+			instance.booleanValue = seed % 2 == 0;
+			instance.shortValue   = (short)(0x0102 + seed);
+			instance.charValue    = (char)(0x0304 + seed);
+			instance.intValue     = 0x05060708 + seed;
+			instance.floatValue   = Float.intBitsToFloat(0x3F0A0B0C + seed);
+			instance.longValue    = 0x0102030405060708L + seed;
+			instance.doubleValue  = Double.longBitsToDouble(0x3FF1121314151617L + seed);
+			instance.string       = "value " + seed;
+			instance.boxed        = seed;
+			instance.shared       = new int[]{seed};
+			instance.self         = instance;
+			instance.ints         = new int[]{seed, -seed, Integer.MAX_VALUE};
+			instance.longs        = new long[]{seed, Long.MIN_VALUE};
+			instance.doubles      = new double[]{seed, Double.NaN};
+			instance.strings      = new String[]{"a" + seed, null};
+			instance.objects      = new Object[]{instance.shared, instance.string};
+			instance.list         = new ArrayList<>(Arrays.asList(new int[]{seed}, (int[])instance.shared));
+			instance.ignored      = seed;
+
+			return instance;
+		}
+	}
+
+	static void assertEqualValues(final AllKinds expected, final AllKinds actual)
+	{
+		assertEquals(expected.byteValue   , actual.byteValue   );
+		assertEquals(expected.booleanValue, actual.booleanValue);
+		assertEquals(expected.shortValue  , actual.shortValue  );
+		assertEquals(expected.charValue   , actual.charValue   );
+		assertEquals(expected.intValue    , actual.intValue    );
+		assertEquals(
+			Float.floatToRawIntBits(expected.floatValue),
+			Float.floatToRawIntBits(actual.floatValue)
+		);
+		assertEquals(expected.longValue   , actual.longValue   );
+		assertEquals(
+			Double.doubleToRawLongBits(expected.doubleValue),
+			Double.doubleToRawLongBits(actual.doubleValue)
+		);
+		assertEquals(expected.string      , actual.string      );
+		assertEquals(expected.boxed       , actual.boxed       );
+		assertNull(actual.nothing);
+		assertArrayEquals((int[])expected.shared, (int[])actual.shared);
+		assertSame(actual, actual.self);
+		assertArrayEquals(expected.ints   , actual.ints   );
+		assertArrayEquals(expected.longs  , actual.longs  );
+		assertArrayEquals(expected.doubles, actual.doubles);
+		assertArrayEquals(expected.strings, actual.strings);
+		assertSame(actual.shared, actual.objects[0]);
+		assertEquals(expected.objects[1], actual.objects[1]);
+		assertEquals(expected.list.size(), actual.list.size());
+		assertArrayEquals(expected.list.get(0), actual.list.get(0));
+		assertSame(actual.shared, actual.list.get(1));
+	}
+
+	static XGettingEnum<Field> persistableFields(final Class<?> type)
+	{
+		final HashEnum<Field> fields = HashEnum.New();
+		for(final Field field : type.getDeclaredFields())
+		{
+			if(!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers()))
+			{
+				fields.add(field);
+			}
+		}
+
+		return fields;
+	}
+
+	/**
+	 * Resolves references to objectIds and back and records which references are stored eagerly.
+	 */
+	static final class References implements PersistenceStoreHandler<Binary>, PersistenceLoadHandler
+	{
+		final IdentityHashMap<Object, Long> objectIds   = new IdentityHashMap<>();
+		final ArrayList<Object>             objects     = new ArrayList<>();
+		final ArrayList<Object>             eagerStored = new ArrayList<>();
+
+		@Override
+		public <T> long apply(final T instance)
+		{
+			if(instance == null)
+			{
+				return 0;
+			}
+
+			return this.objectIds.computeIfAbsent(instance, i ->
+			{
+				this.objects.add(i);
+				return (long)this.objects.size();
+			});
+		}
+
+		@Override
+		public <T> long applyEager(final T instance)
+		{
+			this.eagerStored.add(instance);
+			return this.apply(instance);
+		}
+
+		@Override
+		public <T> long apply(final T instance, final PersistenceTypeHandler<Binary, T> localTypeHandler)
+		{
+			return this.apply(instance);
+		}
+
+		@Override
+		public <T> long applyEager(final T instance, final PersistenceTypeHandler<Binary, T> localTypeHandler)
+		{
+			return this.applyEager(instance);
+		}
+
+		@Override
+		public Object lookupObject(final long objectId)
+		{
+			return objectId == 0 ? null : this.objects.get((int)objectId - 1);
+		}
+
+		@Override
+		public ObjectSwizzling getObjectRetriever()
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Persister getPersister()
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void validateType(final Object object, final long objectId)
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void requireRoot(final Object rootInstance, final long rootObjectId)
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void registerCustomRootRefactoring(final Object rootInstance, final long customRootObjectId)
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void registerDefaultRootRefactoring(final Object rootInstance, final long defaultRootObjectId)
+		{
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * The reflective value functions and the generated copier for the same members of {@link AllKinds},
+	 * in the persistent order determined by the reflective type handler.
+	 */
+	static final class Copiers
+	{
+		final XGettingEnum<? extends PersistenceTypeDefinitionMemberFieldReflective> members;
+		final long[]                                                                  offsets;
+		final long                                                                    length ;
+		final BinaryValueStorer[]                                                     storers;
+		final BinaryValueSetter[]                                                     setters;
+		final BinaryValueCopier                                                       copier ;
+
+		Copiers(final boolean switchByteOrder, final PersistenceEagerStoringFieldEvaluator eagerEvaluator)
+		{
+			final BinaryHandlerGenericType<AllKinds> reflective = BinaryHandlerGenericType.New(
+				AllKinds.class                                ,
+				AllKinds.class.getName()                      ,
+				persistableFields(AllKinds.class)             ,
+				HashEnum.New()                                ,
+				BinaryPersistence.createFieldLengthResolver() ,
+				eagerEvaluator                                ,
+				PersistenceTypeInstantiator.New(AllKinds.class),
+				switchByteOrder
+			);
+			this.members = reflective.storingMembers();
+			this.length  = reflective.membersPersistedLengthMinimum();
+			this.storers = new BinaryValueStorer[this.members.intSize()];
+			this.setters = new BinaryValueSetter[this.members.intSize()];
+
+			final Field[] fields = new Field[this.members.intSize()];
+			int i = 0;
+			for(final PersistenceTypeDefinitionMemberFieldReflective member : this.members)
+			{
+				final boolean isEager = eagerEvaluator.isEagerStoring(AllKinds.class, member.field());
+				this.storers[i] = BinaryValueFunctions.getObjectValueStorer(member.type(), isEager, switchByteOrder);
+				this.setters[i] = BinaryValueFunctions.getObjectValueSetter(member.type(), switchByteOrder);
+				fields[i++]     = member.field();
+			}
+			this.offsets = XMemory.objectFieldOffsets(AllKinds.class, fields);
+			this.copier  = BinaryValueCopierGenerator.New().generateValueCopier(
+				AllKinds.class ,
+				this.members   ,
+				this.offsets   ,
+				eagerEvaluator ,
+				switchByteOrder
+			);
+		}
+
+		Copiers(final boolean switchByteOrder)
+		{
+			this(switchByteOrder, (t, f) -> false);
+		}
+
+		byte[] storeReflective(final AllKinds instance, final References references)
+		{
+			final long address = XMemory.allocate(this.length);
+			try
+			{
+				long valueAddress = address;
+				for(int i = 0; i < this.storers.length; i++)
+				{
+					valueAddress = this.storers[i].storeValueFromMemory(instance, this.offsets[i], valueAddress, references);
+				}
+				assertEquals(address + this.length, valueAddress);
+
+				return bytes(address, this.length);
+			}
+			finally
+			{
+				XMemory.free(address);
+			}
+		}
+
+		byte[] storeGenerated(final AllKinds instance, final References references)
+		{
+			final long address = XMemory.allocate(this.length);
+			try
+			{
+				this.copier.storeValuesFromMemory(instance, address, references);
+
+				return bytes(address, this.length);
+			}
+			finally
+			{
+				XMemory.free(address);
+			}
+		}
+
+		AllKinds setReflective(final byte[] bytes, final References references)
+		{
+			final AllKinds instance = new AllKinds();
+			final long     address  = allocate(bytes);
+			try
+			{
+				long valueAddress = address;
+				for(int i = 0; i < this.setters.length; i++)
+				{
+					valueAddress = this.setters[i].setValueToMemory(valueAddress, instance, this.offsets[i], references);
+				}
+			}
+			finally
+			{
+				XMemory.free(address);
+			}
+
+			return instance;
+		}
+
+		AllKinds setGenerated(final byte[] bytes, final References references)
+		{
+			final AllKinds instance = new AllKinds();
+			final long     address  = allocate(bytes);
+			try
+			{
+				this.copier.setValuesToMemory(address, instance, references);
+			}
+			finally
+			{
+				XMemory.free(address);
+			}
+
+			return instance;
+		}
+
+		static byte[] bytes(final long address, final long length)
+		{
+			final byte[] bytes = new byte[(int)length];
+			for(int i = 0; i < bytes.length; i++)
+			{
+				bytes[i] = XMemory.get_byte(address + i);
+			}
+
+			return bytes;
+		}
+
+		static long allocate(final byte[] bytes)
+		{
+			final long address = XMemory.allocate(bytes.length);
+			for(int i = 0; i < bytes.length; i++)
+			{
+				XMemory.set_byte(address + i, bytes[i]);
+			}
+
+			return address;
+		}
+	}
+
+	@Test
+	public void generatedCopierStoresTheSameBinaryFormAsTheReflectiveStorers()
+	{
+		for(final boolean switchByteOrder : new boolean[]{false, true})
+		{
+			final Copiers    copiers    = new Copiers(switchByteOrder);
+			final AllKinds   instance   = AllKinds.New(1);
+			final References references = new References();
+
+			assertArrayEquals(
+				copiers.storeReflective(instance, references),
+				copiers.storeGenerated(instance, references),
+				"switchByteOrder = " + switchByteOrder
+			);
+		}
+	}
+
+	@Test
+	public void generatedCopierSetsTheSameValuesAsTheReflectiveSetters()
+	{
+		for(final boolean switchByteOrder : new boolean[]{false, true})
+		{
+			final Copiers    copiers    = new Copiers(switchByteOrder);
+			final AllKinds   instance   = AllKinds.New(2);
+			final References references = new References();
+			final byte[]     bytes      = copiers.storeReflective(instance, references);
+
+			final AllKinds reflective = copiers.setReflective(bytes, references);
+			final AllKinds generated  = copiers.setGenerated(bytes, references);
+			assertSameFieldValues(copiers, instance  , reflective);
+			assertSameFieldValues(copiers, reflective, generated );
+			assertEquals(0, generated.ignored);
+		}
+	}
+
+	/*
+	 * The copiers resolve references via the passed References, so they are the very same instances.
+	 * Boxed primitives are equal if their bits are.
+	 */
+	private static void assertSameFieldValues(final Copiers copiers, final AllKinds expected, final AllKinds actual)
+	{
+		for(final PersistenceTypeDefinitionMemberFieldReflective member : copiers.members)
+		{
+			final Field field = member.field();
+			field.setAccessible(true);
+			try
+			{
+				if(member.type().isPrimitive())
+				{
+					assertEquals(field.get(expected), field.get(actual), member.name());
+				}
+				else
+				{
+					assertSame(field.get(expected), field.get(actual), member.name());
+				}
+			}
+			catch(final IllegalAccessException e)
+			{
+				throw new AssertionError(e);
+			}
+		}
+	}
+
+	@Test
+	public void switchedByteOrderReversesEveryValue()
+	{
+		final Copiers    nativeOrder   = new Copiers(false);
+		final Copiers    switchedOrder = new Copiers(true);
+		final AllKinds   instance      = AllKinds.New(3);
+		final References references    = new References();
+
+		final byte[] nativeBytes   = nativeOrder.storeGenerated(instance, references);
+		final byte[] switchedBytes = switchedOrder.storeGenerated(instance, references);
+
+		int offset = 0;
+		for(final PersistenceTypeDefinitionMemberFieldReflective member : nativeOrder.members)
+		{
+			final int length = (int)member.persistentMinimumLength();
+			for(int i = 0; i < length; i++)
+			{
+				assertEquals(nativeBytes[offset + i], switchedBytes[offset + length - 1 - i], member.name());
+			}
+			offset += length;
+		}
+		assertEquals(nativeBytes.length, offset);
+
+		// each variant reads back the values in its own byte order.
+		assertSameFieldValues(switchedOrder, instance, switchedOrder.setGenerated(switchedBytes, references));
+	}
+
+	@Test
+	public void eagerReferencesAreStoredEagerly()
+	{
+		final PersistenceEagerStoringFieldEvaluator eager = (t, f) -> f.getName().equals("shared");
+
+		final Copiers    copiers    = new Copiers(false, eager);
+		final AllKinds   instance   = AllKinds.New(4);
+		final References reflective = new References();
+		final References generated  = new References();
+		copiers.storeReflective(instance, reflective);
+		copiers.storeGenerated(instance, generated);
+
+		assertEquals(Arrays.asList(instance.shared), reflective.eagerStored);
+		assertEquals(reflective.eagerStored, generated.eagerStored);
+		assertEquals(reflective.objects, generated.objects);
+	}
+
+	@Test
+	public void oversizedCodeIsReportedAsCodeGenerationFailure()
+	{
+		final Copiers copiers = new Copiers(false);
+
+		// repeating the members yields a method far beyond the size the JIT compiles.
+		final BulkList<PersistenceTypeDefinitionMemberFieldReflective> members = BulkList.New();
+		final long[] offsets = new long[copiers.offsets.length * 100];
+		for(int r = 0; r < 100; r++)
+		{
+			members.addAll(copiers.members);
+			System.arraycopy(copiers.offsets, 0, offsets, r * copiers.offsets.length, copiers.offsets.length);
+		}
+
+		assertThrows(BinaryPersistenceExceptionCodeGeneration.class, () ->
+			BinaryValueCopierGenerator.New().generateValueCopier(AllKinds.class, members, offsets, (t, f) -> false, false)
+		);
+	}
+
+	@Test
+	public void inconsistentMembersAreRejected()
+	{
+		final Copiers copiers = new Copiers(false);
+
+		// a mismatch is a bug of the caller, not a failure to be handled by falling back to the reflective handler.
+		final BinaryPersistenceException e = assertThrows(BinaryPersistenceException.class, () ->
+			BinaryValueCopierGenerator.New().generateValueCopier(
+				AllKinds.class                                            ,
+				copiers.members                                           ,
+				Arrays.copyOf(copiers.offsets, copiers.offsets.length - 1),
+				(t, f) -> false                                           ,
+				false
+			)
+		);
+		assertFalse(e instanceof BinaryPersistenceExceptionCodeGeneration);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// storage //
+	////////////
+
+	/**
+	 * Always fails like a generator in a runtime that does not permit defining hidden classes.
+	 */
+	static final class FailingGenerator implements BinaryValueCopierGenerator
+	{
+		@Override
+		public BinaryValueCopier generateValueCopier(
+			final Class<?>                                                                   entityType     ,
+			final XGettingSequence<? extends PersistenceTypeDefinitionMemberFieldReflective> storingMembers ,
+			final long[]                                                                     memoryOffsets  ,
+			final PersistenceEagerStoringFieldEvaluator                                      eagerEvaluator ,
+			final boolean                                                                    switchByteOrder
+		)
+		{
+			throw new BinaryPersistenceExceptionCodeGeneration("Not permitted for " + entityType);
+		}
+	}
+
+	/**
+	 * Records the types it creates a fallback type handler for.
+	 */
+	static final class RecordingCreator extends BinaryTypeHandlerCreatorGenerating
+	{
+		final ArrayList<Class<?>> fallbackTypes = new ArrayList<>();
+
+		RecordingCreator(final EmbeddedStorageConnectionFoundation<?> f)
+		{
+			super(
+				f.getTypeAnalyzer()                ,
+				f.getTypeResolver()                ,
+				f.getFieldFixedLengthResolver()    ,
+				f.getReferenceFieldEagerEvaluator(),
+				f.getInstantiatorProvider()        ,
+				f::getTypeHandlerManager           ,
+				f.isByteOrderMismatch()            ,
+				new FailingGenerator()
+			);
+		}
+
+		@Override
+		protected <T> PersistenceTypeHandler<Binary, T> createFallbackTypeHandler(
+			final Class<T>                                 type             ,
+			final XGettingEnum<Field>                      persistableFields,
+			final XGettingEnum<Field>                      persisterFields  ,
+			final BinaryPersistenceExceptionCodeGeneration cause
+		)
+		{
+			assertTrue(cause.getMessage().contains(type.getName()));
+			this.fallbackTypes.add(type);
+
+			return super.createFallbackTypeHandler(type, persistableFields, persisterFields, cause);
+		}
+	}
+
+	private EmbeddedStorageFoundation<?> foundation()
+	{
+		return EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(this.directory))
+				.createConfiguration()
+		);
+	}
+
+	private EmbeddedStorageFoundation<?> foundation(final boolean generating)
+	{
+		final EmbeddedStorageFoundation<?> foundation = this.foundation();
+		if(generating)
+		{
+			foundation.onConnectionFoundation(f -> f.setTypeHandlerCreator(BinaryTypeHandlerCreatorGenerating.New(f)));
+		}
+
+		return foundation;
+	}
+
+	private static PersistenceTypeHandler<Binary, ?> typeHandler(
+		final EmbeddedStorageFoundation<?> foundation,
+		final Class<?>                     type
+	)
+	{
+		return foundation.getConnectionFoundation().getTypeHandlerManager().lookupTypeHandler(type);
+	}
+
+	private void store(final EmbeddedStorageFoundation<?> foundation, final List<AllKinds> values)
+	{
+		final EmbeddedStorageManager storage = foundation.start();
+		try
+		{
+			storage.setRoot(values);
+			storage.storeRoot();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+
+	private void load(final EmbeddedStorageFoundation<?> foundation, final List<AllKinds> expected)
+	{
+		final EmbeddedStorageManager storage = foundation.start();
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final List<AllKinds> values = (List<AllKinds>)storage.root();
+			assertEquals(expected.size(), values.size());
+			for(int i = 0; i < values.size(); i++)
+			{
+				assertEqualValues(expected.get(i), values.get(i));
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+
+	@Test
+	public void genericTypesGetGeneratedTypeHandlers()
+	{
+		final EmbeddedStorageFoundation<?> generating = this.foundation(true);
+		this.store(generating, Arrays.asList(AllKinds.New(0)));
+		assertTrue(typeHandler(generating, AllKinds.class) instanceof BinaryHandlerGeneratedType);
+
+		final EmbeddedStorageFoundation<?> reflective = this.foundation(false);
+		this.store(reflective, Arrays.asList(AllKinds.New(0)));
+		assertTrue(typeHandler(reflective, AllKinds.class) instanceof BinaryHandlerGenericType);
+	}
+
+	@Test
+	public void generatedAndReflectiveTypeHandlersReadEachOthersData()
+	{
+		final List<AllKinds> values = Arrays.asList(AllKinds.New(0), AllKinds.New(1), AllKinds.New(2));
+
+		for(final boolean storeGenerating : new boolean[]{false, true})
+		{
+			for(final boolean loadGenerating : new boolean[]{false, true})
+			{
+				this.store(this.foundation(storeGenerating), values);
+				this.load(this.foundation(loadGenerating), values);
+			}
+		}
+	}
+
+	@Test
+	public void typesWithoutGeneratedCodeGetTheFallbackTypeHandler()
+	{
+		final List<AllKinds> values = Arrays.asList(AllKinds.New(5));
+
+		final EmbeddedStorageFoundation<?> foundation = this.foundation();
+		final ArrayList<RecordingCreator>  creators   = new ArrayList<>();
+		foundation.onConnectionFoundation(f ->
+		{
+			final RecordingCreator creator = new RecordingCreator(f);
+			creators.add(creator);
+			f.setTypeHandlerCreator(creator);
+		});
+		this.store(foundation, values);
+
+		assertEquals(1, creators.size());
+		assertTrue(creators.get(0).fallbackTypes.contains(AllKinds.class), creators.get(0).fallbackTypes.toString());
+		assertTrue(typeHandler(foundation, AllKinds.class) instanceof BinaryHandlerGenericType);
+
+		// the fallback handler's data is the same as that of the generated one.
+		this.load(this.foundation(true), values);
+	}
+
+}
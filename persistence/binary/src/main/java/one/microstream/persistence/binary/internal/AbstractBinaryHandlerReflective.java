@@ -539,11 +539,16 @@ implements PersistenceTypeHandlerReflective<Binary, T>
 			throw new TypeCastException(this.type(), instance);
 		}
 
-		data.updateFixedSize(instance, this.setters, this.settingMemoryOffsets, handler);
+		this.updateFixedSize(data, instance, handler);
 		
 		this.setPersister(instance, handler);
 	}
 	
+	protected void updateFixedSize(final Binary data, final T instance, final PersistenceLoadHandler handler)
+	{
+		data.updateFixedSize(instance, this.setters, this.settingMemoryOffsets, handler);
+	}
+	
 	private void setPersister(final T instance, final PersistenceLoadHandler handler)
 	{
 		if(this.persisterFields == null)
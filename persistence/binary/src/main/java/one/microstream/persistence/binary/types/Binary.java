@@ -1225,6 +1225,19 @@ public abstract class Binary implements Chunk
 			address = storers[i].storeValueFromMemory(instance, memoryOffsets[i], address, handler);
 		}
 	}
+	
+	public final void storeFixedSize(
+		final PersistenceStoreHandler<Binary> handler      ,
+		final long                            contentLength,
+		final long                            typeId       ,
+		final long                            objectId     ,
+		final Object                          instance     ,
+		final BinaryValueCopier               copier
+	)
+	{
+		this.storeEntityHeader(contentLength, typeId, objectId);
+		copier.storeValuesFromMemory(instance, this.address, handler);
+	}
 
 	public final String[] buildStrings(final long stringsListOffset)
 	{
@@ -2074,6 +2087,15 @@ public abstract class Binary implements Chunk
 			address = setters[i].setValueToMemory(address, instance, memoryOffsets[i], handler);
 		}
 	}
+	
+	public final void updateFixedSize(
+		final Object                 instance,
+		final BinaryValueCopier      copier  ,
+		final PersistenceLoadHandler handler
+	)
+	{
+		copier.setValuesToMemory(this.loadItemEntityContentAddress(), instance, handler);
+	}
 
 		
 	/**
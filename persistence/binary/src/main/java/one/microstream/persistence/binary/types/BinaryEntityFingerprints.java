@@ -0,0 +1,464 @@
+package one.microstream.persistence.binary.types;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.positive;
+
+import one.microstream.hashing.XHashing;
+import one.microstream.math.XMath;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.exceptions.BinaryPersistenceException;
+
+
+/**
+ * Compact registry of fingerprints of the last stored binary form of entities, mapped by object id.
+ * A fingerprint is a 64-bit hash value, with 0 meaning "unknown".<br>
+ * It is used by {@link BinaryStorer} to drop entities whose binary form did not change since they have last been
+ * stored, which reduces the written data and the resulting file cleanup effort for eager or explicit stores
+ * of large, mostly unchanged graphs.<br>
+ * It is enabled by setting an instance via
+ * {@link BinaryPersistenceFoundation#setEntityFingerprints(BinaryEntityFingerprints)}, for an embedded storage
+ * inside of {@code EmbeddedStorageFoundation#onConnectionFoundation}.
+ * <p>
+ * A dropped entity is assumed to still exist in the storage in exactly the form the fingerprint was calculated
+ * of, so a fingerprint is only known as long as that is guaranteed:
+ * <ul>
+ * <li>Storers announce the fingerprints of a commit via {@link #prepareAll(long[], int)} before writing and
+ * complete it via {@link #putAll(long[], long[], int)} or {@link #discardAll(long[], int)}. While a commit of an
+ * object id is in flight, its fingerprint is unknown. If the commits of different storers overlap for an object id,
+ * the order in which the storage writes them is not known, so the fingerprint remains unknown afterwards.</li>
+ * <li>Entities deleted by the storage's garbage collection must be reported via {@link #remove(long)}.
+ * An embedded storage does that on its own for the instance set in its connection foundation.</li>
+ * <li>The number of fingerprints of completed commits is bounded by a maximum size. Once it is reached, all of
+ * them are evicted, so the according entities are simply stored again the next time.</li>
+ * </ul>
+ */
+public interface BinaryEntityFingerprints
+{
+	/**
+	 * Returns the fingerprint of the last stored binary form of the entity with the passed object id.
+	 * 
+	 * @param objectId the object id of the entity.
+	 * 
+	 * @return the fingerprint or 0 if it is unknown, including while a commit of the object id is in flight.
+	 */
+	public long lookup(long objectId);
+	
+	/**
+	 * Announces a commit of the passed object ids before its data is written.
+	 * 
+	 * @param objectIds the object ids of the entities to be written.
+	 * @param count the number of valid object ids.
+	 */
+	public void prepareAll(long[] objectIds, int count);
+	
+	/**
+	 * Completes a commit announced via {@link #prepareAll(long[], int)} after its data has been written.
+	 * 
+	 * @param objectIds the object ids of the written entities.
+	 * @param fingerprints the fingerprints of the written entities.
+	 * @param count the number of valid object ids and fingerprints.
+	 */
+	public void putAll(long[] objectIds, long[] fingerprints, int count);
+	
+	/**
+	 * Completes a commit announced via {@link #prepareAll(long[], int)} whose data could not be written.
+	 * The storage may or may not hold the data, so the fingerprints of the passed object ids become unknown.
+	 * 
+	 * @param objectIds the object ids of the entities that should have been written.
+	 * @param count the number of valid object ids.
+	 */
+	public void discardAll(long[] objectIds, int count);
+	
+	/**
+	 * Removes the fingerprint of an entity that has been deleted from the storage.
+	 * 
+	 * @param objectId the object id of the deleted entity.
+	 */
+	public void remove(long objectId);
+	
+	public long size();
+	
+	/**
+	 * Removes all fingerprints. Commits in flight are still completed properly.
+	 */
+	public void clear();
+	
+	
+	
+	/**
+	 * Calculates the fingerprint of the binary data in the passed memory range.
+	 * 
+	 * @param address the start address of the data.
+	 * @param length the length of the data in bytes.
+	 * 
+	 * @return the fingerprint of the data, never 0.
+	 */
+	public static long fingerprint(final long address, final long length)
+	{
+		final long bound = address + length;
+		
+		long hash = 0x9E3779B97F4A7C15L ^ length;
+		long a    = address;
+		for(; a + Long.BYTES <= bound; a += Long.BYTES)
+		{
+			hash = Long.rotateLeft(hash ^ Long.rotateLeft(XMemory.get_long(a) * 0xC2B2AE3D27D4EB4FL, 31), 27)
+				* 0x9E3779B97F4A7C15L + 0x52DCE729L
+			;
+		}
+		for(; a < bound; a++)
+		{
+			hash = (hash ^ (XMemory.get_byte(a) & 0xFF)) * 0x100000001B3L;
+		}
+		
+		// final avalanche to spread all bits, then 0 is reserved for "unknown"
+		hash = (hash ^ hash >>> 33) * 0xFF51AFD7ED558CCDL;
+		hash = (hash ^ hash >>> 33) * 0xC4CEB9FE1A85EC53L;
+		hash =  hash ^ hash >>> 33;
+		
+		return hash == 0 ? 1 : hash;
+	}
+	
+	
+	
+	public static BinaryEntityFingerprints New()
+	{
+		return new BinaryEntityFingerprints.Default(Default.defaultCapacity(), Default.defaultMaximumSize());
+	}
+	
+	public static BinaryEntityFingerprints New(final int initialCapacity)
+	{
+		return New(initialCapacity, Default.defaultMaximumSize());
+	}
+	
+	/**
+	 * Creates a new instance holding at most the passed number of fingerprints of completed commits.
+	 * 
+	 * @param initialCapacity the initial number of entries the instance can hold without growing.
+	 * @param maximumSize the number of fingerprints of completed commits at which all of them are evicted.
+	 * 
+	 * @return a new instance.
+	 */
+	public static BinaryEntityFingerprints New(final int initialCapacity, final int maximumSize)
+	{
+		return new BinaryEntityFingerprints.Default(
+			XHashing.padHashLength(initialCapacity),
+			positive(maximumSize)
+		);
+	}
+	
+	/**
+	 * Open addressing hash table of primitive arrays, requiring 20 bytes per entry plus the free slots,
+	 * instead of an entry instance per object id.
+	 */
+	public final class Default implements BinaryEntityFingerprints
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		static int defaultCapacity()
+		{
+			return 1024;
+		}
+		
+		static int defaultMaximumSize()
+		{
+			// about 20 MB for the entries plus the free slots.
+			return 1 << 20;
+		}
+		
+		// commits are counted in the upper bits, the lowest one marks overlapping commits.
+		private static final int COMMIT     = 2;
+		private static final int CONFLICTED = 1;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final int maximumSize;
+		
+		// object id 0 is the null id, which is never stored, so it can mark free slots.
+		private long[] objectIds   ;
+		private long[] fingerprints;
+		private int[]  commits     ;
+		private int    range       ;
+		private int    size        ;
+		private int    inFlight    ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(final int capacity, final int maximumSize)
+		{
+			super();
+			this.maximumSize = maximumSize;
+			this.initialize(capacity);
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		private void initialize(final int capacity)
+		{
+			this.objectIds    = new long[capacity];
+			this.fingerprints = new long[capacity];
+			this.commits      = new int[capacity];
+			this.range        = capacity - 1;
+			this.size         = 0;
+		}
+		
+		private static int hash(final long objectId)
+		{
+			// object ids are mostly sequential, so spreading them avoids long probing sequences.
+			return (int)(objectId * 0x9E3779B97F4A7C15L >>> 32);
+		}
+		
+		private int indexOf(final long objectId)
+		{
+			final long[] objectIds = this.objectIds;
+			for(int i = hash(objectId) & this.range; objectIds[i] != 0; i = i + 1 & this.range)
+			{
+				if(objectIds[i] == objectId)
+				{
+					return i;
+				}
+			}
+			
+			return -1;
+		}
+		
+		@Override
+		public final synchronized long lookup(final long objectId)
+		{
+			final int i = this.indexOf(objectId);
+			
+			return i < 0 || this.commits[i] != 0
+				? 0
+				: this.fingerprints[i]
+			;
+		}
+		
+		@Override
+		public final synchronized void prepareAll(final long[] objectIds, final int count)
+		{
+			for(int i = 0; i < count; i++)
+			{
+				this.prepare(objectIds[i]);
+			}
+		}
+		
+		private void prepare(final long objectId)
+		{
+			final int i = this.indexOf(objectId);
+			if(i >= 0 && this.commits[i] != 0)
+			{
+				// another commit in flight for the same object id means the write order is unknown.
+				this.commits[i] = this.commits[i] + COMMIT | CONFLICTED;
+				return;
+			}
+			
+			if(i >= 0)
+			{
+				this.commits[i] = COMMIT;
+				this.inFlight++;
+				return;
+			}
+			
+			// commits in flight are bounded by the storers, only the completed ones can accumulate.
+			if(this.size - this.inFlight >= this.maximumSize)
+			{
+				this.evictCompleted();
+			}
+			this.add(objectId, 0, COMMIT);
+			this.inFlight++;
+		}
+		
+		private void add(final long objectId, final long fingerprint, final int commits)
+		{
+			final long[] objectIds = this.objectIds;
+			int i = hash(objectId) & this.range;
+			while(objectIds[i] != 0)
+			{
+				i = i + 1 & this.range;
+			}
+			
+			objectIds[i]         = objectId   ;
+			this.fingerprints[i] = fingerprint;
+			this.commits[i]      = commits    ;
+			
+			// a load factor of 0.75 keeps probing sequences short.
+			if(++this.size > this.range - (this.range >>> 2))
+			{
+				this.rebuild(this.grownCapacity(), false);
+			}
+		}
+		
+		private int grownCapacity()
+		{
+			if(this.objectIds.length >= XMath.highestPowerOf2_int())
+			{
+				throw new BinaryPersistenceException(
+					"Entity fingerprints capacity exceeded: " + this.size + " entries in "
+					+ this.objectIds.length + " slots. Reduce the maximum size."
+				);
+			}
+			
+			return this.objectIds.length << 1;
+		}
+		
+		private void evictCompleted()
+		{
+			// the fingerprints of commits in flight are still required to complete them properly.
+			this.rebuild(this.objectIds.length, true);
+		}
+		
+		private void rebuild(final int capacity, final boolean inFlightOnly)
+		{
+			final long[] objectIds    = this.objectIds   ;
+			final long[] fingerprints = this.fingerprints;
+			final int[]  commits      = this.commits     ;
+			
+			this.initialize(capacity);
+			for(int i = 0; i < objectIds.length; i++)
+			{
+				if(objectIds[i] != 0 && (!inFlightOnly || commits[i] != 0))
+				{
+					this.add(objectIds[i], fingerprints[i], commits[i]);
+				}
+			}
+		}
+		
+		@Override
+		public final synchronized void putAll(final long[] objectIds, final long[] fingerprints, final int count)
+		{
+			for(int i = 0; i < count; i++)
+			{
+				this.complete(objectIds[i], fingerprints[i]);
+			}
+		}
+		
+		@Override
+		public final synchronized void discardAll(final long[] objectIds, final int count)
+		{
+			for(int i = 0; i < count; i++)
+			{
+				this.complete(objectIds[i], 0);
+			}
+		}
+		
+		private void complete(final long objectId, final long fingerprint)
+		{
+			final int i = this.indexOf(objectId);
+			if(i < 0 || this.commits[i] == 0)
+			{
+				// no commit has been announced for the object id, so nothing is known about its write order.
+				return;
+			}
+			
+			final int commits = this.commits[i] - COMMIT;
+			this.fingerprints[i] = (commits & CONFLICTED) != 0
+				? 0
+				: fingerprint
+			;
+			
+			// the conflict is resolved as soon as no more commits of the object id are in flight.
+			if(commits >= COMMIT)
+			{
+				this.commits[i] = commits;
+				return;
+			}
+			
+			this.commits[i] = 0;
+			this.inFlight--;
+			if(this.fingerprints[i] == 0)
+			{
+				this.removeAt(i);
+			}
+		}
+		
+		@Override
+		public final synchronized void remove(final long objectId)
+		{
+			final int i = this.indexOf(objectId);
+			if(i < 0)
+			{
+				return;
+			}
+			
+			if(this.commits[i] != 0)
+			{
+				// commits in flight may have been serialized before the deletion, so they cannot be trusted.
+				this.fingerprints[i] = 0;
+				this.commits[i] |= CONFLICTED;
+				return;
+			}
+			
+			this.removeAt(i);
+		}
+		
+		private void removeAt(final int index)
+		{
+			final long[] objectIds = this.objectIds;
+			
+			// backward shift deletion: entries of the probing sequence behind the gap are moved into it if allowed.
+			int gap = index;
+			for(int i = gap + 1 & this.range; objectIds[i] != 0; i = i + 1 & this.range)
+			{
+				final int home = hash(objectIds[i]) & this.range;
+				if((i - home & this.range) >= (i - gap & this.range))
+				{
+					objectIds[gap]         = objectIds[i]        ;
+					this.fingerprints[gap] = this.fingerprints[i];
+					this.commits[gap]      = this.commits[i]     ;
+					gap = i;
+				}
+			}
+			
+			objectIds[gap]         = 0;
+			this.fingerprints[gap] = 0;
+			this.commits[gap]      = 0;
+			this.size--;
+		}
+		
+		@Override
+		public final synchronized long size()
+		{
+			return this.size;
+		}
+		
+		@Override
+		public final synchronized void clear()
+		{
+			this.rebuild(defaultCapacity(), true);
+		}
+		
+	}
+	
+}
@@ -54,6 +54,14 @@ extends PersistenceFoundation<Binary, F>
 	public BinaryValueTranslatorMappingProvider getValueTranslatorMappingProvider();
 	
 	public BinaryValueTranslatorProvider getValueTranslatorProvider();
+	
+	/**
+	 * Returns the {@link BinaryEntityFingerprints} used by the created storers to skip unchanged entities
+	 * or {@literal null} if every handled entity is stored, which is the default.
+	 * 
+	 * @return the entity fingerprints or {@literal null}.
+	 */
+	public BinaryEntityFingerprints getEntityFingerprints();
 			
 	
 	
@@ -73,6 +81,19 @@ extends PersistenceFoundation<Binary, F>
 		BinaryValueTranslatorMappingProvider valueTranslatorMappingProvider
 	);
 	
+	/**
+	 * Sets the {@link BinaryEntityFingerprints} instance to be used by the created storers to skip entities
+	 * whose binary form did not change since they have last been stored. See {@link BinaryEntityFingerprints}
+	 * for how the fingerprints are kept consistent with the storage.
+	 * <p>
+	 * Only used if no storer creator is set explicitly via {@link #setStorerCreator(one.microstream.persistence.types.PersistenceStorer.Creator)}.
+	 * 
+	 * @param entityFingerprints the entity fingerprints or {@literal null} to store every handled entity.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setEntityFingerprints(BinaryEntityFingerprints entityFingerprints);
+	
 	@Override
 	public PersistenceManager<Binary> createPersistenceManager();
 
@@ -95,6 +116,7 @@ extends PersistenceFoundation<Binary, F>
 		private XEnum<BinaryValueTranslatorKeyBuilder> translatorKeyBuilders  ;
 		private BinaryValueTranslatorMappingProvider   valueTranslatorMapping ;
 		private BinaryValueTranslatorProvider          valueTranslatorProvider;
+		private BinaryEntityFingerprints               entityFingerprints     ;
 		
 		
 		
@@ -169,6 +191,13 @@ extends PersistenceFoundation<Binary, F>
 			return this.valueTranslatorProvider;
 		}
 		
+		@Override
+		public BinaryEntityFingerprints getEntityFingerprints()
+		{
+			// optional, so there is no default instance to be ensured.
+			return this.entityFingerprints;
+		}
+		
 		
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -203,6 +232,13 @@ extends PersistenceFoundation<Binary, F>
 			return this.$();
 		}
 		
+		@Override
+		public F setEntityFingerprints(final BinaryEntityFingerprints entityFingerprints)
+		{
+			this.entityFingerprints = entityFingerprints;
+			return this.$();
+		}
+		
 	
 
 		///////////////////////////////////////////////////////////////////////////
@@ -214,7 +250,9 @@ extends PersistenceFoundation<Binary, F>
 		{
 			return BinaryStorer.Creator(
 				() -> 1,
-				this.isByteOrderMismatch()
+				this.isByteOrderMismatch(),
+				null,
+				this.getEntityFingerprints()
 			);
 		}
 
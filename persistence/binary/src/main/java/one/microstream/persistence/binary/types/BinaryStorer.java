@@ -21,10 +21,19 @@ package one.microstream.persistence.binary.types;
  */
 
 import static java.lang.System.identityHashCode;
+import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import one.microstream.X;
+import one.microstream.collections.BulkList;
 import one.microstream.hashing.XHashing;
 import one.microstream.math.XMath;
+import one.microstream.persistence.exceptions.PersistenceException;
 import one.microstream.persistence.types.PersistenceAcceptor;
 import one.microstream.persistence.types.PersistenceEagerStoringFieldEvaluator;
 import one.microstream.persistence.types.PersistenceLocalObjectIdRegistry;
@@ -70,7 +79,12 @@ public interface BinaryStorer extends PersistenceStorer
 	 * therefore have not been stored yet, therefore require to be stored). It can be seen as a "lazy" or "on demand"
 	 * storer as opposed to{@link Eager}.<br>
 	 * For a more differentiated solution between the two simple, but extreme strategies,
-	 * see {@link PersistenceEagerStoringFieldEvaluator}.
+	 * see {@link PersistenceEagerStoringFieldEvaluator}.<br>
+	 * If a storing pool is defined, large graphs are serialized in parallel: as soon as enough discovered instances
+	 * are pending, workers of the pool help processing them, each one writing into its own chunks buffers.
+	 * Those are merged per channel when committing.<br>
+	 * If {@link BinaryEntityFingerprints} are defined, stored entities whose binary form is unchanged since they
+	 * have last been stored are dropped again and never reach the storage.
 	 * 
 	 * 
 	 */
@@ -86,6 +100,12 @@ public interface BinaryStorer extends PersistenceStorer
 			// why permanently occupy additional memory with fields and instances for constant values?
 			return 1024; // anything below 1024 doesn't pay of
 		}
+		
+		protected static int parallelStoringThreshold()
+		{
+			// a few pending instances are serialized faster than the helping workers are started.
+			return 1024;
+		}
 
 		
 
@@ -103,9 +123,24 @@ public interface BinaryStorer extends PersistenceStorer
 		private final BufferSizeProviderIncremental bufferSizeProvider;
 		private final int                           chunksHashRange   ;
 		
+		// parallel storing fields. No pool means sequential storing.
+		private final ForkJoinPool storingPool;
+		private final Object[]     registering; // striped by identity hash code, see #registeringLock
+		
+		// skip-unchanged fields. No fingerprints means every handled entity is stored.
+		private final BinaryEntityFingerprints fingerprints           ;
+		private       long[]                   pendingObjectIds       ;
+		private       long[]                   pendingFingerprints    ;
+		private       int                      pendingFingerprintCount;
+		
 		// cannot be final since every commit needs to pass an independant instance.
 		private ChunksBuffer[] chunks;
 		
+		// the chunks of helping workers are kept until they get merged into the actual chunks upon committing.
+		private final BulkList<ChunksBuffer[]> workerChunks     = BulkList.New();
+		private final BulkList<ChunksBuffer[]> freeWorkerChunks = BulkList.New();
+		private       ParallelStoring          parallelStoring ;
+		
 		/*
 		 * Concurrency / thread-safety concept:
 		 * - head is the internal mutex instance since it hints to the mutable state but is final and immutable itself.
@@ -145,7 +180,9 @@ public interface BinaryStorer extends PersistenceStorer
 			final PersistenceTarget<Binary>             target            ,
 			final BufferSizeProviderIncremental         bufferSizeProvider,
 			final int                                   channelCount      ,
-			final boolean                               switchByteOrder
+			final boolean                               switchByteOrder   ,
+			final ForkJoinPool                          storingPool       ,
+			final BinaryEntityFingerprints              fingerprints
 		)
 		{
 			super();
@@ -156,9 +193,28 @@ public interface BinaryStorer extends PersistenceStorer
 			this.bufferSizeProvider = notNull(bufferSizeProvider);
 			this.chunksHashRange    =         channelCount - 1   ;
 			this.switchByteOrder    =         switchByteOrder    ;
+			this.storingPool        =         storingPool        ;
+			this.fingerprints       =         fingerprints       ;
+			
+			this.registering = storingPool == null
+				? null
+				: createRegisteringLocks(storingPool.getParallelism())
+			;
 			
 			this.defaultInitialize();
 		}
+		
+		private static Object[] createRegisteringLocks(final int parallelism)
+		{
+			// enough locks to make collisions between the storing thread and the workers unlikely.
+			final Object[] locks = new Object[XHashing.padHashLength(16L * (parallelism + 1))];
+			for(int i = 0; i < locks.length; i++)
+			{
+				locks[i] = new Object();
+			}
+			
+			return locks;
+		}
 
 
 
@@ -213,6 +269,17 @@ public interface BinaryStorer extends PersistenceStorer
 			{
 				chunk.complete();
 			}
+			
+			// the chunks of helping workers are merged per channel to be passed to the storage like sequential ones.
+			for(final ChunksBuffer[] workerChunks : this.workerChunks)
+			{
+				for(int i = 0; i < workerChunks.length; i++)
+				{
+					this.chunks[i].append(workerChunks[i].complete());
+				}
+			}
+			this.workerChunks.clear();
+			this.freeWorkerChunks.clear();
 
 			// all chunks know the array internally, so passing one means passing all. And there is always at least one.
 			return this.chunks[0];
@@ -259,11 +326,17 @@ public interface BinaryStorer extends PersistenceStorer
 				// initializing/clearing item chain
 				(this.tail = this.head).next = null;
 				
-				this.synchCreateStoringChunksBuffers();
+				this.chunks = this.createStoringChunksBuffers();
+				this.workerChunks.clear();
+				this.freeWorkerChunks.clear();
+				
+				this.pendingObjectIds        = null;
+				this.pendingFingerprints     = null;
+				this.pendingFingerprintCount = 0;
 			}
 		}
 		
-		private void synchCreateStoringChunksBuffers()
+		private ChunksBuffer[] createStoringChunksBuffers()
 		{
 			/* Note:
 			 * May explicitly NOT clear (deallocate) the current (old/previous) chunks
@@ -273,7 +346,7 @@ public interface BinaryStorer extends PersistenceStorer
 			 * or ultimately by the garbage collector (or by some tailored additional logic)
 			 */
 			
-			final ChunksBuffer[] chunks = this.chunks = new ChunksBuffer[this.chunksHashRange + 1];
+			final ChunksBuffer[] chunks = new ChunksBuffer[this.chunksHashRange + 1];
 			for(int i = 0; i < chunks.length; i++)
 			{
 				chunks[i] = this.switchByteOrder
@@ -281,6 +354,36 @@ public interface BinaryStorer extends PersistenceStorer
 					: ChunksBuffer.New(chunks, this.bufferSizeProvider)
 				;
 			}
+			
+			return chunks;
+		}
+		
+		final ChunksBuffer[] acquireWorkerChunks()
+		{
+			synchronized(this.head)
+			{
+				if(!this.freeWorkerChunks.isEmpty())
+				{
+					return this.freeWorkerChunks.pop();
+				}
+				
+				final ChunksBuffer[] workerChunks = this.createStoringChunksBuffers();
+				this.workerChunks.add(workerChunks);
+				
+				return workerChunks;
+			}
+		}
+		
+		final void releaseWorkerChunks(final ChunksBuffer[] workerChunks)
+		{
+			synchronized(this.head)
+			{
+				// chunks of a former commit cycle are not reused.
+				if(this.workerChunks.containsId(workerChunks))
+				{
+					this.freeWorkerChunks.add(workerChunks);
+				}
+			}
 		}
 
 		@Override
@@ -335,7 +438,7 @@ public interface BinaryStorer extends PersistenceStorer
 				return objectIdLocal;
 			}
 			
-			return this.objectManager.ensureObjectId(instance, this, localTypeHandler);
+			return this.register(instance, localTypeHandler);
 		}
 		
 		@Override
@@ -389,7 +492,7 @@ public interface BinaryStorer extends PersistenceStorer
 				return objectIdLocal;
 			}
 			
-			return this.objectManager.ensureObjectIdGuaranteedRegister(instance, this, localTypeHandler);
+			return this.registerGuaranteed(instance, localTypeHandler);
 		}
 		
 		/**
@@ -416,24 +519,97 @@ public interface BinaryStorer extends PersistenceStorer
 			// initial registration. After that, storing adds via recursing the graph and processing items iteratively.
 			rootOid = this.registerGuaranteed(notNull(root));
 
+			this.storeItems(this.tail);
+
+			return rootOid;
+		}
+		
+		protected void storeItems(final Item first)
+		{
+			// a storer locked by the current thread (e.g. committing pending roots) cannot be helped by other threads.
+			if(this.storingPool != null && !Thread.holdsLock(this.head))
+			{
+				new ParallelStoring(this, first).execute();
+				return;
+			}
+			
 			// process and collect required instances uniquely in item chain (graph recursion transformed to iteration)
-			for(Item item = this.tail; item != null; item = item.next)
+			for(Item item = first; item != null; item = item.next)
 			{
 				// locks internally. May not lock the whole loop or other storers can't lookup concurrently.
 				this.storeItem(item);
 			}
-
-			return rootOid;
 		}
 		
 		protected final void storeItem(final Item item)
 		{
 //			XDebug.println("Storing     " + item.oid + ": " + XChars.systemString(item.instance) + " ("  + item.instance + ")");
+			final ChunksBuffer chunk;
 			synchronized(this.head)
 			{
-				item.typeHandler.store(this.synchLookupChunk(item.oid), item.instance, item.oid, this);
+				chunk = this.synchLookupChunk(item.oid);
+			}
+			
+			/*
+			 * The type handler registers the item's references, i.e. locks the object registry. Doing that under
+			 * the lock on head would reverse the lock order and deadlock with other storers' lookups.
+			 * The chunks are only written by the storing thread, so they need no lock.
+			 */
+			this.storeItem(chunk, item);
+		}
+		
+		final void storeItem(final ChunksBuffer chunk, final Item item)
+		{
+			item.typeHandler.store(chunk, item.instance, item.oid, this);
+			
+			if(this.fingerprints != null)
+			{
+				this.skipUnchanged(chunk, item.oid);
 			}
 		}
+		
+		private void skipUnchanged(final ChunksBuffer chunk, final long objectId)
+		{
+			// 0 means the handler did not store an entity for the object id, e.g. because it is a custom one.
+			final long fingerprint = chunk.lastEntityFingerprint(objectId);
+			if(fingerprint == 0)
+			{
+				return;
+			}
+			
+			if(this.fingerprints.lookup(objectId) == fingerprint)
+			{
+				// the referenced instances have been handled by the type handler, only the entity itself is dropped.
+				chunk.revertLastEntity();
+				return;
+			}
+			
+			synchronized(this.head)
+			{
+				this.synchAddPendingFingerprint(objectId, fingerprint);
+			}
+		}
+		
+		private void synchAddPendingFingerprint(final long objectId, final long fingerprint)
+		{
+			if(this.pendingObjectIds == null)
+			{
+				this.pendingObjectIds    = new long[defaultSlotSize()];
+				this.pendingFingerprints = new long[defaultSlotSize()];
+			}
+			else if(this.pendingFingerprintCount == this.pendingObjectIds.length)
+			{
+				final int    newLength    = X.checkArrayRange(this.pendingObjectIds.length * 2L);
+				final long[] objectIds    = this.pendingObjectIds   ;
+				final long[] fingerprints = this.pendingFingerprints;
+				System.arraycopy(objectIds   , 0, this.pendingObjectIds    = new long[newLength], 0, objectIds.length   );
+				System.arraycopy(fingerprints, 0, this.pendingFingerprints = new long[newLength], 0, fingerprints.length);
+			}
+			
+			this.pendingObjectIds   [this.pendingFingerprintCount] = objectId   ;
+			this.pendingFingerprints[this.pendingFingerprintCount] = fingerprint;
+			this.pendingFingerprintCount++;
+		}
 
 		@Override
 		public final long store(final Object root)
@@ -486,25 +662,19 @@ public interface BinaryStorer extends PersistenceStorer
 			// isEmpty locks internally
 			if(!this.isEmpty())
 			{
-				// must validate here, too, in case the WriteController disabled writing during the storer's existence.
-				this.target.validateIsStoringEnabled();
-				
-				final Binary writeData;
-				synchronized(this.head)
+				final Binary writeData = this.prepareCommit();
+				try
 				{
-					this.typeManager.checkForPendingRootInstances();
-					this.typeManager.checkForPendingRootsStoring(this);
-					writeData = this.synchComplete();
+					// very costly IO-operation does not need to occupy the lock
+					this.target.write(writeData);
 				}
-				
-				// very costly IO-operation does not need to occupy the lock
-				this.target.write(writeData);
-				
-				synchronized(this.head)
+				catch(final Throwable t)
 				{
-					this.typeManager.clearStorePendingRoots();
-					this.objectManager.mergeEntries(this);
+					this.discardCommit();
+					throw t;
 				}
+				
+				this.completeCommit();
 			}
 			this.clear();
 			
@@ -512,6 +682,103 @@ public interface BinaryStorer extends PersistenceStorer
 			return null;
 		}
 		
+		@Override
+		public final CompletableFuture<Long> commitAsync(final Executor executor)
+		{
+			notNull(executor);
+			
+			// size locks internally
+			final long size = this.size();
+			if(size == 0)
+			{
+				this.clear();
+				return CompletableFuture.completedFuture(size);
+			}
+			
+			final Binary                  writeData = this.prepareCommit();
+			final CompletableFuture<Void> written  ;
+			try
+			{
+				written = this.target.writeAsync(writeData);
+			}
+			catch(final Throwable t)
+			{
+				this.discardCommit();
+				throw t;
+			}
+			
+			// the entries may only be merged after the data has actually been written, just like in #commit.
+			return written.whenComplete((v, failure) ->
+			{
+				if(failure != null)
+				{
+					this.discardCommit();
+				}
+			}).thenApplyAsync(v ->
+			{
+				this.completeCommit();
+				this.clear();
+				
+				return size;
+			}, executor);
+		}
+		
+		private Binary prepareCommit()
+		{
+			// must validate here, too, in case the WriteController disabled writing during the storer's existence.
+			this.target.validateIsStoringEnabled();
+			
+			synchronized(this.head)
+			{
+				this.typeManager.checkForPendingRootInstances();
+				this.typeManager.checkForPendingRootsStoring(this);
+				final Binary writeData = this.synchComplete();
+				
+				// lookups of the fingerprints yield nothing until the written data is known to be in the storage.
+				if(this.pendingFingerprintCount > 0)
+				{
+					this.fingerprints.prepareAll(this.pendingObjectIds, this.pendingFingerprintCount);
+				}
+				
+				return writeData;
+			}
+		}
+		
+		private void completeCommit()
+		{
+			synchronized(this.head)
+			{
+				this.typeManager.clearStorePendingRoots();
+				
+				// fingerprints may only be updated after the data has actually been written.
+				if(this.pendingFingerprintCount > 0)
+				{
+					this.fingerprints.putAll(
+						this.pendingObjectIds       ,
+						this.pendingFingerprints    ,
+						this.pendingFingerprintCount
+					);
+				}
+			}
+			
+			/* Merging locks the object registry and then this storer's entries, like any other storer's lookup does.
+			 * Merging while holding the entries' lock would invert that order and can deadlock with concurrent storers.
+			 */
+			this.objectManager.mergeEntries(this);
+		}
+		
+		private void discardCommit()
+		{
+			synchronized(this.head)
+			{
+				// the storage may or may not hold the data of a failed write, so the fingerprints become unknown.
+				if(this.pendingFingerprintCount > 0)
+				{
+					this.fingerprints.discardAll(this.pendingObjectIds, this.pendingFingerprintCount);
+				}
+			}
+		}
+		
 		public final long lookupOid(final Object object)
 		{
 			synchronized(this.head)
@@ -581,6 +848,11 @@ public interface BinaryStorer extends PersistenceStorer
 				;
 				final Item item = this.synchRegisterObjectId(instance, typeHandler, objectId);
 				this.tail = this.tail.next = item;
+				
+				if(this.parallelStoring != null)
+				{
+					this.parallelStoring.synchRegisterItem();
+				}
 			}
 		}
 		
@@ -606,21 +878,79 @@ public interface BinaryStorer extends PersistenceStorer
 		}
 		
 		protected final long register(final Object instance)
+		{
+			return this.register(instance, null);
+		}
+		
+		protected final <T> long register(final T instance, final PersistenceTypeHandler<Binary, T> optionalHandler)
 		{
 			/* Note:
 			 * - ensureObjectId may never be called under a storer lock or a deadlock might happen!
 			 * - depending on implementation lazy or eager callback, the other variant is a no-op respectively
 			 */
-			return this.objectManager.ensureObjectId(instance, this, null);
+			if(this.parallelStoring == null)
+			{
+				return this.objectManager.ensureObjectId(instance, this, optionalHandler);
+			}
+			
+			synchronized(this.registeringLock(instance))
+			{
+				final long objectIdLocal;
+				if(Swizzling.isFoundId(objectIdLocal = this.lookupOid(instance)))
+				{
+					// registered by another worker in the meantime.
+					return objectIdLocal;
+				}
+				
+				return this.objectManager.ensureObjectId(instance, this, optionalHandler);
+			}
+		}
+		
+		/**
+		 * Parallel workers may encounter the same new instance at the same time. Since the object manager
+		 * does not check the requesting local registry itself, the local lookup and the registration have to
+		 * be atomic per instance. A single lock would serialize all registrations of the workers, including the
+		 * ones of instances that are already globally known and need no lock in the object manager at all.
+		 * So the lock is chosen by the instance's identity hash code: the same instance always gets the same lock,
+		 * different instances rarely do.<br>
+		 * A thread holds at most one of the locks at a time. Lock order is registering lock, object registry, head,
+		 * so no lock order inversion can occur.
+		 */
+		private Object registeringLock(final Object instance)
+		{
+			return this.registering[identityHashCode(instance) & this.registering.length - 1];
 		}
 		
 		protected final long registerGuaranteed(final Object instance)
+		{
+			return this.registerGuaranteed(instance, null);
+		}
+		
+		protected final <T> long registerGuaranteed(
+			final T                                 instance       ,
+			final PersistenceTypeHandler<Binary, T> optionalHandler
+		)
 		{
 			/* Note:
 			 * - ensureObjectId may never be called under a storer lock or a deadlock might happen!
 			 * - calls back to #register(long, Object), guaranteeing the registration
 			 */
-			return this.objectManager.ensureObjectIdGuaranteedRegister(instance, this, null);
+			if(this.parallelStoring == null)
+			{
+				return this.objectManager.ensureObjectIdGuaranteedRegister(instance, this, optionalHandler);
+			}
+			
+			// see #registeringLock
+			synchronized(this.registeringLock(instance))
+			{
+				final long objectIdLocal;
+				if(Swizzling.isFoundId(objectIdLocal = this.lookupOid(instance)))
+				{
+					return objectIdLocal;
+				}
+				
+				return this.objectManager.ensureObjectIdGuaranteedRegister(instance, this, optionalHandler);
+			}
 		}
 		
 		
@@ -757,7 +1087,9 @@ public interface BinaryStorer extends PersistenceStorer
 			final PersistenceTarget<Binary>             target            ,
 			final BufferSizeProviderIncremental         bufferSizeProvider,
 			final int                                   channelCount      ,
-			final boolean                               switchByteOrder
+			final boolean                               switchByteOrder   ,
+			final ForkJoinPool                          storingPool       ,
+			final BinaryEntityFingerprints              fingerprints
 		)
 		{
 			super(
@@ -767,7 +1099,9 @@ public interface BinaryStorer extends PersistenceStorer
 				target            ,
 				bufferSizeProvider,
 				channelCount      ,
-				switchByteOrder
+				switchByteOrder   ,
+				storingPool       ,
+				fingerprints
 			);
 		}
 		
@@ -807,6 +1141,206 @@ public interface BinaryStorer extends PersistenceStorer
 		
 	}
 
+	/**
+	 * Processing of the item chain of a {@link BinaryStorer.Default} by its calling thread and, as soon as enough
+	 * items are pending, by helping workers of the storer's pool. All state is guarded by the storer's head.
+	 */
+	static final class ParallelStoring
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		final Default           storer        ;
+		final Item              first         ;
+		final ForkJoinTask<?>[] helpers       ;
+		      Item              handedOut     ;
+		      long              pendingCount  ;
+		      int               busyCount     ;
+		      int               waitingCount  ;
+		      boolean           helpersStarted;
+		      Throwable         problem       ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		ParallelStoring(final Default storer, final Item first)
+		{
+			super();
+			this.storer       = storer;
+			this.first        = first ;
+			this.helpers      = new ForkJoinTask<?>[storer.storingPool.getParallelism()];
+			this.pendingCount = 1;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		final void execute()
+		{
+			synchronized(this.storer.head)
+			{
+				this.storer.parallelStoring = this;
+			}
+			try
+			{
+				// the calling thread works with the storer's actual chunks, helpers acquire their own.
+				this.work(this.storer.chunks);
+				
+				// no more items can be registered after the work is done, so the helpers are final, as well.
+				for(final ForkJoinTask<?> helper : this.helpers)
+				{
+					if(helper != null)
+					{
+						helper.join();
+					}
+				}
+			}
+			finally
+			{
+				synchronized(this.storer.head)
+				{
+					this.storer.parallelStoring = null;
+				}
+			}
+			
+			if(this.problem instanceof RuntimeException)
+			{
+				throw (RuntimeException)this.problem;
+			}
+			if(this.problem instanceof Error)
+			{
+				throw (Error)this.problem;
+			}
+			if(this.problem != null)
+			{
+				throw new PersistenceException(this.problem);
+			}
+		}
+		
+		final void synchRegisterItem()
+		{
+			this.pendingCount++;
+			
+			if(this.waitingCount > 0)
+			{
+				this.storer.head.notify();
+			}
+			if(!this.helpersStarted && this.pendingCount >= Default.parallelStoringThreshold())
+			{
+				this.synchStartHelpers();
+			}
+		}
+		
+		private void synchStartHelpers()
+		{
+			this.helpersStarted = true;
+			for(int i = 0; i < this.helpers.length; i++)
+			{
+				this.helpers[i] = this.storer.storingPool.submit(this::help);
+			}
+		}
+		
+		private void help()
+		{
+			final ChunksBuffer[] workerChunks = this.storer.acquireWorkerChunks();
+			try
+			{
+				this.work(workerChunks);
+			}
+			finally
+			{
+				this.storer.releaseWorkerChunks(workerChunks);
+			}
+		}
+		
+		private void work(final ChunksBuffer[] chunks)
+		{
+			for(Item item = this.next(false); item != null; item = this.next(true))
+			{
+				try
+				{
+					this.storer.storeItem(chunks[(int)(item.oid & this.storer.chunksHashRange)], item);
+				}
+				catch(final Throwable t)
+				{
+					this.fail(t);
+					return;
+				}
+			}
+		}
+		
+		private Item next(final boolean completedPrevious)
+		{
+			synchronized(this.storer.head)
+			{
+				if(completedPrevious)
+				{
+					this.busyCount--;
+				}
+				
+				while(this.problem == null)
+				{
+					final Item next = this.handedOut == null
+						? this.first
+						: this.handedOut.next
+					;
+					if(next != null)
+					{
+						this.handedOut = next;
+						this.pendingCount--;
+						this.busyCount++;
+						return next;
+					}
+					
+					// a busy worker might still register new items, otherwise the whole graph is done.
+					if(this.busyCount == 0)
+					{
+						break;
+					}
+					
+					this.waitingCount++;
+					try
+					{
+						this.storer.head.wait();
+					}
+					catch(final InterruptedException e)
+					{
+						this.problem = e;
+					}
+					finally
+					{
+						this.waitingCount--;
+					}
+				}
+				
+				this.storer.head.notifyAll();
+				
+				return null;
+			}
+		}
+		
+		private void fail(final Throwable problem)
+		{
+			synchronized(this.storer.head)
+			{
+				if(this.problem == null)
+				{
+					this.problem = problem;
+				}
+				this.busyCount--;
+				this.storer.head.notifyAll();
+			}
+		}
+		
+	}
+
 	static final class Item
 	{
 		final PersistenceTypeHandler<Binary, Object> typeHandler;
@@ -837,7 +1371,63 @@ public interface BinaryStorer extends PersistenceStorer
 	{
 		return new BinaryStorer.Creator.Default(
 			notNull(channelCountProvider),
-			        switchByteOrder
+			        switchByteOrder      ,
+			        null                 ,
+			        null
+		);
+	}
+	
+	/**
+	 * Creates a {@link BinaryStorer.Creator} whose storers serialize large graphs in parallel with the help of
+	 * the passed pool's workers, e.g. for commits of millions of new entities. Small graphs are still serialized
+	 * by the storing thread alone.
+	 * 
+	 * @param channelCountProvider the provider of the storage's channel count.
+	 * @param switchByteOrder whether the byte order has to be switched.
+	 * @param storingPool the pool whose workers help serializing large graphs.
+	 * 
+	 * @return a new {@link BinaryStorer.Creator} instance.
+	 */
+	public static BinaryStorer.Creator Creator(
+		final BinaryChannelCountProvider channelCountProvider,
+		final boolean                    switchByteOrder     ,
+		final ForkJoinPool               storingPool
+	)
+	{
+		return new BinaryStorer.Creator.Default(
+			notNull(channelCountProvider),
+			        switchByteOrder      ,
+			notNull(storingPool)         ,
+			        null
+		);
+	}
+	
+	/**
+	 * Creates a {@link BinaryStorer.Creator} whose storers optionally serialize large graphs in parallel
+	 * and optionally drop entities whose binary form did not change since they have last been stored.
+	 * The passed {@link BinaryEntityFingerprints} must be shared by all storers of a persistence context.
+	 * 
+	 * @param channelCountProvider the provider of the storage's channel count.
+	 * @param switchByteOrder whether the byte order has to be switched.
+	 * @param storingPool the pool whose workers help serializing large graphs or {@literal null}.
+	 * @param fingerprints the fingerprints of the last stored binary forms or {@literal null}.
+	 * 
+	 * @return a new {@link BinaryStorer.Creator} instance.
+	 * 
+	 * @see BinaryEntityFingerprints
+	 */
+	public static BinaryStorer.Creator Creator(
+		final BinaryChannelCountProvider channelCountProvider,
+		final boolean                    switchByteOrder     ,
+		final ForkJoinPool               storingPool         ,
+		final BinaryEntityFingerprints   fingerprints
+	)
+	{
+		return new BinaryStorer.Creator.Default(
+			notNull(channelCountProvider),
+			        switchByteOrder      ,
+			mayNull(storingPool)         ,
+			mayNull(fingerprints)
 		);
 	}
 		
@@ -884,6 +1474,8 @@ public interface BinaryStorer extends PersistenceStorer
 
 			private final BinaryChannelCountProvider channelCountProvider;
 			private final boolean                    switchByteOrder     ;
+			private final ForkJoinPool               storingPool         ;
+			private final BinaryEntityFingerprints   fingerprints        ;
 
 
 
@@ -895,10 +1487,22 @@ public interface BinaryStorer extends PersistenceStorer
 				final BinaryChannelCountProvider channelCountProvider,
 				final boolean                    switchByteOrder
 			)
+			{
+				this(channelCountProvider, switchByteOrder, null, null);
+			}
+			
+			protected Abstract(
+				final BinaryChannelCountProvider channelCountProvider,
+				final boolean                    switchByteOrder     ,
+				final ForkJoinPool               storingPool         ,
+				final BinaryEntityFingerprints   fingerprints
+			)
 			{
 				super();
 				this.channelCountProvider = channelCountProvider;
 				this.switchByteOrder      = switchByteOrder     ;
+				this.storingPool          = storingPool         ;
+				this.fingerprints         = fingerprints        ;
 			}
 
 			
@@ -916,6 +1520,16 @@ public interface BinaryStorer extends PersistenceStorer
 			{
 				return this.switchByteOrder;
 			}
+			
+			protected ForkJoinPool storingPool()
+			{
+				return this.storingPool;
+			}
+			
+			protected BinaryEntityFingerprints fingerprints()
+			{
+				return this.fingerprints;
+			}
 
 		}
 		
@@ -923,10 +1537,12 @@ public interface BinaryStorer extends PersistenceStorer
 		{
 			Default(
 				final BinaryChannelCountProvider channelCountProvider,
-				final boolean                    switchByteOrder
+				final boolean                    switchByteOrder     ,
+				final ForkJoinPool               storingPool         ,
+				final BinaryEntityFingerprints   fingerprints
 			)
 			{
-				super(channelCountProvider, switchByteOrder);
+				super(channelCountProvider, switchByteOrder, storingPool, fingerprints);
 			}
 
 			@Override
@@ -947,7 +1563,9 @@ public interface BinaryStorer extends PersistenceStorer
 					target                ,
 					bufferSizeProvider    ,
 					this.channelCount()   ,
-					this.switchByteOrder()
+					this.switchByteOrder(),
+					this.storingPool()    ,
+					this.fingerprints()
 				);
 				objectManager.registerLocalRegistry(storer);
 				
@@ -971,7 +1589,9 @@ public interface BinaryStorer extends PersistenceStorer
 					target                ,
 					bufferSizeProvider    ,
 					this.channelCount()   ,
-					this.switchByteOrder()
+					this.switchByteOrder(),
+					this.storingPool()    ,
+					this.fingerprints()
 				);
 				objectManager.registerLocalRegistry(storer);
 				
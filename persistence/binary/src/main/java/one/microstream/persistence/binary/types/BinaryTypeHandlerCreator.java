@@ -132,7 +132,7 @@ public interface BinaryTypeHandlerCreator extends PersistenceTypeHandlerCreator<
 		// constructors //
 		/////////////////
 
-		Default(
+		protected Default(
 			final PersistenceTypeAnalyzer                              typeAnalyzer              ,
 			final PersistenceTypeResolver                              typeResolver              ,
 			final PersistenceFieldLengthResolver                       lengthResolver            ,
@@ -154,6 +154,16 @@ public interface BinaryTypeHandlerCreator extends PersistenceTypeHandlerCreator<
 		// methods //
 		////////////
 		
+		protected final PersistenceTypeInstantiatorProvider<Binary> instantiatorProvider()
+		{
+			return this.instantiatorProvider;
+		}
+		
+		protected final boolean isSwitchByteOrder()
+		{
+			return this.switchByteOrder;
+		}
+		
 		@Override
 		protected <T> PersistenceTypeHandler<Binary, T> internalCreateTypeHandlerAbstractType(final Class<T> type)
 		{
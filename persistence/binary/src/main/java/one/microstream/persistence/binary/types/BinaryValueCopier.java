@@ -0,0 +1,59 @@
+package one.microstream.persistence.binary.types;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+
+/**
+ * Copies all field values of an instance of a fixed-length type at once between its memory and its binary
+ * (persisted) form, as an alternative to iterating one {@link BinaryValueStorer} or {@link BinaryValueSetter}
+ * per field.
+ */
+public interface BinaryValueCopier
+{
+	/**
+	 * Stores all values of {@code source} to the binary form starting at the absolute {@code targetAddress}.
+	 * 
+	 * @param source the instance to read the values from.
+	 * @param targetAddress the absolute memory address of the entity content.
+	 * @param handler the handler to resolve references to objectIds.
+	 */
+	public void storeValuesFromMemory(
+		Object                          source       ,
+		long                            targetAddress,
+		PersistenceStoreHandler<Binary> handler
+	);
+	
+	/**
+	 * Sets all values read from the binary form starting at the absolute {@code sourceAddress} to {@code target}.
+	 * 
+	 * @param sourceAddress the absolute memory address of the entity content.
+	 * @param target the instance to set the values to.
+	 * @param handler the handler to resolve objectIds to instance references.
+	 */
+	public void setValuesToMemory(
+		long                   sourceAddress,
+		Object                 target       ,
+		PersistenceLoadHandler handler
+	);
+	
+}
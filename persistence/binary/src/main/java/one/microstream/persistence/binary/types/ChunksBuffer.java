@@ -73,6 +73,10 @@ public class ChunksBuffer extends Binary implements MemoryRangeReader
 	private long         currentAddress           ;
 	private long         currentBound             ;
 	private long         totalLength              ;
+	
+	// the last stored entity's header address and object id, used to revert unchanged entities.
+	private long lastEntityAddress ;
+	private long lastEntityObjectId;
 
 
 
@@ -197,6 +201,7 @@ public class ChunksBuffer extends Binary implements MemoryRangeReader
 			buffers[i] = null;
 		}
 		this.setCurrent(buffers[this.currentBuffersIndex = 0]);
+		this.lastEntityAddress = 0L;
 	}
 
 	/**
@@ -233,6 +238,8 @@ public class ChunksBuffer extends Binary implements MemoryRangeReader
 		this.ensureFreeStoreCapacity(entityTotalLength);
 		
 		this.storeEntityHeaderToAddress(this.currentAddress, entityTotalLength, entityTypeId, entityObjectId);
+		this.lastEntityAddress  = this.currentAddress;
+		this.lastEntityObjectId = entityObjectId     ;
 				
 		// currentAddress is advanced to next entity, but this entity's content address has to be returned
 		this.address = (this.currentAddress += entityTotalLength) - entityContentLength;
@@ -266,6 +273,85 @@ public class ChunksBuffer extends Binary implements MemoryRangeReader
 		this.currentAddress            =   0L;
 		this.address                   =   0L;
 		this.currentBound              =   0L;
+		this.lastEntityAddress         =   0L;
+		this.lastEntityObjectId        =   0L;
+		
+		return this;
+	}
+	
+	/**
+	 * Calculates the {@link BinaryEntityFingerprints#fingerprint(long, long)} of the last stored entity if it is
+	 * the one with the passed object id.
+	 * 
+	 * @param objectId the object id of the entity that has just been stored.
+	 * 
+	 * @return the entity's fingerprint or 0 if the last stored entity is not the one with the passed object id.
+	 */
+	final long lastEntityFingerprint(final long objectId)
+	{
+		if(this.lastEntityAddress == 0 || this.lastEntityObjectId != objectId)
+		{
+			return 0;
+		}
+		
+		return BinaryEntityFingerprints.fingerprint(
+			this.lastEntityAddress,
+			this.currentAddress - this.lastEntityAddress
+		);
+	}
+	
+	/**
+	 * Removes the last stored entity again, e.g. because it is unchanged.
+	 */
+	final void revertLastEntity()
+	{
+		if(this.lastEntityAddress == 0)
+		{
+			throw new IllegalStateException("No entity to revert");
+		}
+		
+		this.currentAddress    = this.lastEntityAddress;
+		this.lastEntityAddress = 0L;
+	}
+	
+	/**
+	 * Appends the buffers of the passed completed instance to this completed instance, e.g. to merge the chunks
+	 * written by several threads for the same channel. The passed instance may not be used afterwards.
+	 * 
+	 * @param other the completed instance whose buffers shall be appended.
+	 * 
+	 * @return this.
+	 */
+	final ChunksBuffer append(final ChunksBuffer other)
+	{
+		if(this.currentBuffer != null || other.currentBuffer != null)
+		{
+			throw new IllegalStateException("Incomplete chunks");
+		}
+		
+		final ByteBuffer[] buffers = other.buffers;
+		final int     buffersCount = other.currentBuffersIndex + 1;
+		
+		for(int i = 0; i < buffersCount; i++)
+		{
+			if(!buffers[i].hasRemaining())
+			{
+				XMemory.deallocateDirectByteBuffer(buffers[i]);
+				continue;
+			}
+			
+			// replace an empty single buffer instead of enqueing behind it to avoid storing "dummy" chunks
+			if(this.currentBuffersIndex == 0 && !this.buffers[0].hasRemaining())
+			{
+				XMemory.deallocateDirectByteBuffer(this.buffers[0]);
+			}
+			else
+			{
+				this.incrementBuffersCount();
+			}
+			this.buffers[this.currentBuffersIndex] = buffers[i];
+		}
+		this.totalLength += other.totalLength;
 		
 		return this;
 	}
@@ -0,0 +1,191 @@
+package one.microstream.persistence.binary.types;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import one.microstream.exceptions.NumberRangeException;
+
+
+public class BinaryEntityFingerprintsTest
+{
+	private static void commit(final BinaryEntityFingerprints fingerprints, final long objectId, final long fingerprint)
+	{
+		fingerprints.prepareAll(new long[]{objectId}, 1);
+		fingerprints.putAll(new long[]{objectId}, new long[]{fingerprint}, 1);
+	}
+	
+	@Test
+	void fingerprintsAreKnownAfterTheirCommitCompleted()
+	{
+		final BinaryEntityFingerprints fingerprints = BinaryEntityFingerprints.New();
+		final long[]                   objectIds    = {1_000_000_000_000_000_001L, 1_000_000_000_000_000_002L};
+		
+		fingerprints.prepareAll(objectIds, objectIds.length);
+		assertEquals(0, fingerprints.lookup(objectIds[0]));
+		
+		fingerprints.putAll(objectIds, new long[]{11, 12}, objectIds.length);
+		assertEquals(11, fingerprints.lookup(objectIds[0]));
+		assertEquals(12, fingerprints.lookup(objectIds[1]));
+		assertEquals(2, fingerprints.size());
+		
+		// while the next commit is in flight, the storage may hold either form.
+		fingerprints.prepareAll(objectIds, 1);
+		assertEquals(0, fingerprints.lookup(objectIds[0]));
+		fingerprints.putAll(objectIds, new long[]{21}, 1);
+		assertEquals(21, fingerprints.lookup(objectIds[0]));
+	}
+	
+	@Test
+	void overlappingCommitsLeaveTheFingerprintUnknown()
+	{
+		final BinaryEntityFingerprints fingerprints = BinaryEntityFingerprints.New();
+		final long[]                   objectIds    = {1_000_000_000_000_000_001L};
+		
+		// the storage may write the second commit before the first one.
+		fingerprints.prepareAll(objectIds, 1);
+		fingerprints.prepareAll(objectIds, 1);
+		fingerprints.putAll(objectIds, new long[]{11}, 1);
+		assertEquals(0, fingerprints.lookup(objectIds[0]));
+		fingerprints.putAll(objectIds, new long[]{12}, 1);
+		assertEquals(0, fingerprints.lookup(objectIds[0]));
+		assertEquals(0, fingerprints.size());
+		
+		// the next commit not overlapping any other one is known again.
+		commit(fingerprints, objectIds[0], 13);
+		assertEquals(13, fingerprints.lookup(objectIds[0]));
+	}
+	
+	@Test
+	void discardedCommitsLeaveTheFingerprintUnknown()
+	{
+		final BinaryEntityFingerprints fingerprints = BinaryEntityFingerprints.New();
+		final long[]                   objectIds    = {1_000_000_000_000_000_001L};
+		commit(fingerprints, objectIds[0], 11);
+		
+		fingerprints.prepareAll(objectIds, 1);
+		fingerprints.discardAll(objectIds, 1);
+		
+		assertEquals(0, fingerprints.lookup(objectIds[0]));
+		assertEquals(0, fingerprints.size());
+	}
+	
+	@Test
+	void removedFingerprintsAreUnknown()
+	{
+		final BinaryEntityFingerprints fingerprints = BinaryEntityFingerprints.New();
+		final long[]                   objectIds    = {1_000_000_000_000_000_001L};
+		commit(fingerprints, objectIds[0], 11);
+		
+		fingerprints.remove(objectIds[0]);
+		assertEquals(0, fingerprints.lookup(objectIds[0]));
+		assertEquals(0, fingerprints.size());
+		
+		// a commit in flight during the deletion may have been serialized before it.
+		fingerprints.prepareAll(objectIds, 1);
+		fingerprints.remove(objectIds[0]);
+		fingerprints.putAll(objectIds, new long[]{12}, 1);
+		assertEquals(0, fingerprints.lookup(objectIds[0]));
+	}
+	
+	@Test
+	void clearingKeepsTheCommitsInFlight()
+	{
+		final BinaryEntityFingerprints fingerprints = BinaryEntityFingerprints.New();
+		final long[]                   objectIds    = {1_000_000_000_000_000_001L};
+		commit(fingerprints, 1_000_000_000_000_000_002L, 12);
+		
+		fingerprints.prepareAll(objectIds, 1);
+		fingerprints.clear();
+		assertEquals(1, fingerprints.size());
+		
+		fingerprints.putAll(objectIds, new long[]{11}, 1);
+		assertEquals(11, fingerprints.lookup(objectIds[0]));
+		assertEquals(0, fingerprints.lookup(1_000_000_000_000_000_002L));
+	}
+	
+	@Test
+	void completedFingerprintsAreEvictedAtTheMaximumSize()
+	{
+		final BinaryEntityFingerprints fingerprints = BinaryEntityFingerprints.New(16, 100);
+		final long[]                   inFlight     = {1_000_000_000_000_001_000L};
+		fingerprints.prepareAll(inFlight, 1);
+		
+		for(long objectId = 1_000_000_000_000_000_001L; objectId <= 1_000_000_000_000_000_100L; objectId++)
+		{
+			commit(fingerprints, objectId, objectId);
+		}
+		assertEquals(101, fingerprints.size());
+		assertEquals(1_000_000_000_000_000_100L, fingerprints.lookup(1_000_000_000_000_000_100L));
+		
+		commit(fingerprints, 1_000_000_000_000_000_101L, 101);
+		assertEquals(2, fingerprints.size());
+		assertEquals(0, fingerprints.lookup(1_000_000_000_000_000_100L));
+		assertEquals(101, fingerprints.lookup(1_000_000_000_000_000_101L));
+		
+		fingerprints.putAll(inFlight, new long[]{1000}, 1);
+		assertEquals(1000, fingerprints.lookup(inFlight[0]));
+	}
+	
+	@Test
+	void lookupsMatchAHashMapAfterRandomCommitsAndRemovals()
+	{
+		// few distinct object ids in a small table produce long probing sequences to be shifted on removal.
+		final BinaryEntityFingerprints fingerprints = BinaryEntityFingerprints.New(16);
+		final HashMap<Long, Long>      expected     = new HashMap<>();
+		final Random                   random       = new Random(42);
+		
+		for(int i = 0; i < 100_000; i++)
+		{
+			final long objectId = 1_000_000_000_000_000_000L + random.nextInt(500);
+			if(random.nextInt(3) == 0)
+			{
+				fingerprints.remove(objectId);
+				expected.remove(objectId);
+			}
+			else
+			{
+				final long fingerprint = 1 + random.nextInt(1000);
+				commit(fingerprints, objectId, fingerprint);
+				expected.put(objectId, fingerprint);
+			}
+		}
+		
+		assertEquals(expected.size(), fingerprints.size());
+		for(long objectId = 1_000_000_000_000_000_000L; objectId < 1_000_000_000_000_000_500L; objectId++)
+		{
+			assertEquals(expected.getOrDefault(objectId, 0L), fingerprints.lookup(objectId));
+		}
+	}
+	
+	@Test
+	void nonPositiveMaximumSizeIsRejected()
+	{
+		assertThrows(NumberRangeException.class, () -> BinaryEntityFingerprints.New(16, 0));
+	}
+	
+}
@@ -0,0 +1,844 @@
+package one.microstream.persistence.internal;
+
+/*-
+ * #%L
+ * microstream-persistence
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.KeyValue;
+import static one.microstream.X.notNull;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.types.XGettingTable;
+import one.microstream.hashing.HashStatisticsBucketBased;
+import one.microstream.hashing.XHashing;
+import one.microstream.math.XMath;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistency;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyObject;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyObjectId;
+import one.microstream.persistence.exceptions.PersistenceExceptionImproperObjectId;
+import one.microstream.persistence.exceptions.PersistenceExceptionInvalidObjectRegistryCapacity;
+import one.microstream.persistence.types.PersistenceAcceptor;
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+import one.microstream.reference.Swizzling;
+import one.microstream.typing.KeyValue;
+
+/**
+ * Low-footprint variant of {@link DefaultObjectRegistry} without any per-entry chaining instances.
+ * <p>
+ * The objectIds are kept in a flat primitive open addressing table, the registered objects in a parallel array
+ * at the same position, either directly or wrapped in a weak or soft reference, depending on the
+ * {@link ReferenceMode}. A third, int-based open addressing table maps the objects' identity hash codes to their
+ * positions. Orphan entries (whose referent has been garbage collected) stay in place until the tables are rebuilt,
+ * but their position is reused if their objectId is registered again.
+ * <p>
+ * The default {@link ReferenceMode#WEAK} keeps the semantics of {@link DefaultObjectRegistry}, so it can replace
+ * it without changing when registered objects are garbage collected. Its footprint benefit depends on the heap:
+ * the JDK reference instance per entry dominates the footprint, so with compressed oops (the JVM's default for
+ * heaps below 32 GB), it is about the same as that of {@link DefaultObjectRegistry}. Without them, it is about a
+ * fifth lower, and registries with a hundred million entries usually live in heaps beyond that size.
+ * <p>
+ * The other modes change when registered objects are garbage collected, so they must be chosen explicitly:
+ * {@link ReferenceMode#STRONG} needs less than a third of the footprint, but keeps every registered object alive.
+ * {@link ReferenceMode#SOFT} needs slightly more than {@link ReferenceMode#WEAK}, but keeps the registered objects
+ * until memory gets low, which {@link DefaultObjectRegistry} can not.
+ */
+public final class CompactObjectRegistry implements PersistenceObjectRegistry
+{
+	/* Notes on byte size per entry (+/- COOPS):
+	 * - The tables occupy 16/20 bytes per position (long objectId, object slot, int position). Since their length
+	 *   is a power of 2, that is 21/27 bytes per entry at the full default hash density of 0.75 and up to twice
+	 *   that right after a rebuild, compared to 8/16 bytes of hash tables per entry in DefaultObjectRegistry.
+	 * - STRONG requires nothing else: no instance per entry and no reference processing by the garbage collector.
+	 * - WEAK and SOFT additionally require the JDK reference instance with 32/48 (SOFT: 40/56) bytes instead of
+	 *   the 48/80 bytes of a DefaultObjectRegistry Entry. So without COOPS, which is the common case for
+	 *   registries big enough to matter, they save about a fifth, with COOPS, the total is roughly the same.
+	 * 
+	 * Higher hash densities lower the footprint further, but lengthen the probing sequences.
+	 */
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	public static final float defaultHashDensity()
+	{
+		return 0.75f;
+	}
+	
+	public static final ReferenceMode defaultReferenceMode()
+	{
+		/*
+		 * Same semantics as DefaultObjectRegistry. Keeping objects alive longer than the application does
+		 * has to be an explicit choice, no matter how much footprint it saves. See the type comment.
+		 */
+		return ReferenceMode.WEAK;
+	}
+	
+	
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	/**
+	 * For open addressing, the hash density is the maximum fill ratio of the tables, so it must be in ]0; 1[.
+	 * 
+	 * @param desiredHashDensity the hash density to be checked.
+	 * @return whether the hash density is valid.
+	 */
+	public static final boolean isValidHashDensity(final float desiredHashDensity)
+	{
+		// NaN fails both comparisons
+		return desiredHashDensity > 0 && desiredHashDensity < 1;
+	}
+
+	public static final float validateHashDensity(final float desiredHashDensity)
+	{
+		if(!isValidHashDensity(desiredHashDensity))
+		{
+			throw new IllegalArgumentException("Illegal open addressing hash density: " + desiredHashDensity);
+		}
+		
+		return desiredHashDensity;
+	}
+	
+	static final int oidHash(final long objectId)
+	{
+		// objectIds are sequential, so they are spread to avoid clustering of the probing sequences.
+		final long hash = (objectId ^ objectId >>> 33) * 0xFF51AFD7ED558CCDL;
+		
+		return (int)(hash ^ hash >>> 33);
+	}
+	
+	static final int refHash(final Object object)
+	{
+		return System.identityHashCode(object);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static constructors //
+	////////////////////////
+	
+	public static CompactObjectRegistry New()
+	{
+		return New(defaultReferenceMode());
+	}
+	
+	public static CompactObjectRegistry New(final ReferenceMode referenceMode)
+	{
+		return New(referenceMode, defaultHashDensity(), 1);
+	}
+
+	/**
+	 * Note on hashDensity: Reasonable values are within [0.5; 0.9].
+	 * 
+	 * @param referenceMode how the registered objects are referenced.
+	 * @param hashDensity the maximum fill ratio of the open addressing tables.
+	 * @param minimumCapacity
+	 */
+	public static CompactObjectRegistry New(
+		final ReferenceMode referenceMode  ,
+		final float         hashDensity    ,
+		final long          minimumCapacity
+	)
+	{
+		return new CompactObjectRegistry(
+			notNull(referenceMode),
+			validateHashDensity(hashDensity),
+			DefaultObjectRegistry.validateCapacity(minimumCapacity)
+		);
+	}
+	
+	
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final ReferenceMode referenceMode;
+	
+	private long[]   oids       ; // 0 marks a free position, as it is never a proper objectId.
+	private Object[] slots      ; // the objects at the position of their objectId, as defined by the reference mode.
+	private int[]    positions  ; // position + 1 per object identity hash code, 0 marks a free position.
+	private int      hashRange  ; // bit mask used for hashing, all tables always have the same length.
+	private float    hashDensity; // maximum fill ratio of the tables.
+	private long     capacity   ; // upper rebuild threshold.
+	private long     minCapacity; // minimum capacity
+	private long     size       ; // occupied objectId positions, including orphans.
+	private long     refSize    ; // occupied identity hash positions, including ones of reused orphan positions.
+	
+	// constants are only re-registered on clearing and truncating.
+	private final EqHashTable<Long, Object> constants = EqHashTable.New();
+
+	
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	CompactObjectRegistry(
+		final ReferenceMode referenceMode  ,
+		final float         hashDensity    ,
+		final long          minimumCapacity
+	)
+	{
+		super();
+		this.referenceMode = referenceMode  ;
+		this.hashDensity   = hashDensity    ;
+		this.minCapacity   = minimumCapacity;
+		this.internalReset(minimumCapacity);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	public final ReferenceMode referenceMode()
+	{
+		return this.referenceMode;
+	}
+
+	private int internalHashLength()
+	{
+		return this.hashRange + 1;
+	}
+	
+	private void internalReset(final long minimumCapacity)
+	{
+		this.setTables(this.calculateRequiredHashLength(minimumCapacity));
+		this.size    = 0;
+		this.refSize = 0;
+	}
+	
+	private int calculateRequiredHashLength(final long minimumCapacity)
+	{
+		// +1 guarantees at least one free position to terminate every probing sequence.
+		return XHashing.padHashLength((long)(minimumCapacity / this.hashDensity) + 1);
+	}
+	
+	private void setTables(final int hashLength)
+	{
+		this.oids      = new long[hashLength];
+		this.slots     = new Object[hashLength];
+		this.positions = new int[hashLength];
+		this.hashRange = hashLength - 1;
+		this.internalUpdateCapacity();
+	}
+	
+	private void internalUpdateCapacity()
+	{
+		this.capacity = (long)(this.internalHashLength() * this.hashDensity);
+	}
+		
+	@Override
+	public final synchronized CompactObjectRegistry Clone()
+	{
+		return CompactObjectRegistry.New(this.referenceMode, this.hashDensity, this.minCapacity);
+	}
+
+	@Override
+	public final synchronized int hashRange()
+	{
+		return this.oids.length;
+	}
+
+	@Override
+	public final synchronized float hashDensity()
+	{
+		return this.hashDensity;
+	}
+	
+	@Override
+	public final synchronized long minimumCapacity()
+	{
+		return this.minCapacity;
+	}
+
+	@Override
+	public final synchronized long capacity()
+	{
+		return this.capacity;
+	}
+
+	@Override
+	public final synchronized long size()
+	{
+		return this.size;
+	}
+
+	@Override
+	public final synchronized boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+	
+	@Override
+	public final synchronized boolean setHashDensity(final float hashDensity)
+	{
+		this.hashDensity = validateHashDensity(hashDensity);
+		
+		this.internalUpdateCapacity();
+		return this.ensureCapacity(Math.max(this.minCapacity, this.size));
+	}
+	
+	@Override
+	public final synchronized boolean setConfiguration(
+		final float hashDensity    ,
+		final long  minimumCapacity
+	)
+	{
+		// both values are checked before modifying any state
+		validateHashDensity(hashDensity);
+		DefaultObjectRegistry.validateCapacity(minimumCapacity);
+		
+		this.hashDensity = hashDensity;
+		this.minCapacity = minimumCapacity;
+		
+		this.internalUpdateCapacity();
+		return this.ensureCapacity(Math.max(minimumCapacity, this.size));
+	}
+	
+	@Override
+	public final synchronized boolean setMinimumCapacity(final long minimumCapacity)
+	{
+		this.minCapacity = DefaultObjectRegistry.validateCapacity(minimumCapacity);
+		
+		return this.ensureCapacity(minimumCapacity);
+	}
+	
+	@Override
+	public final synchronized boolean ensureCapacity(final long desiredCapacity)
+	{
+		DefaultObjectRegistry.validateCapacity(desiredCapacity);
+		final int requiredHashLength = this.calculateRequiredHashLength(desiredCapacity);
+		if(requiredHashLength > this.internalHashLength())
+		{
+			this.internalRebuild(requiredHashLength);
+			
+			return true;
+		}
+		
+		return false;
+	}
+	
+	private int oidPosition(final long objectId)
+	{
+		// returns either the objectId's position or the free position where it belongs.
+		final long[] oids  = this.oids     ;
+		final int    range = this.hashRange;
+		
+		int p = oidHash(objectId) & range;
+		while(oids[p] != 0 && oids[p] != objectId)
+		{
+			p = p + 1 & range;
+		}
+		
+		return p;
+	}
+
+	@Override
+	public final synchronized boolean containsObjectId(final long objectId)
+	{
+		return this.oids[this.oidPosition(objectId)] != 0;
+	}
+	
+	@Override
+	public final synchronized long lookupObjectId(final Object object)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+		
+		return this.internalLookupObjectId(object);
+	}
+	
+	private long internalLookupObjectId(final Object object)
+	{
+		final int[]    positions = this.positions;
+		final int      range     = this.hashRange;
+		final Object[] slots     = this.slots    ;
+		
+		for(int p = refHash(object) & range, s; (s = positions[p]) != 0; p = p + 1 & range)
+		{
+			// positions of reused orphans can be met under a foreign hash, but then they simply don't match.
+			if(this.referenceMode.get(slots[s - 1]) == object)
+			{
+				return this.oids[s - 1];
+			}
+		}
+		
+		return Swizzling.notFoundId();
+	}
+
+	@Override
+	public final synchronized Object lookupObject(final long objectId)
+	{
+		return this.internalLookupObject(objectId);
+	}
+	
+	private Object internalLookupObject(final long objectId)
+	{
+		final int p = this.oidPosition(objectId);
+		
+		return this.oids[p] == 0
+			? null
+			: this.referenceMode.get(this.slots[p])
+		;
+	}
+	
+	@Override
+	public final synchronized boolean isValid(final long objectId, final Object object)
+	{
+		// see DefaultObjectRegistry for the flag
+		return this.synchInternalValidate(objectId, object, false);
+	}
+	
+	@Override
+	public final synchronized void validate(final long objectId, final Object object)
+	{
+		this.synchInternalValidate(objectId, object, true);
+	}
+	
+	private boolean synchInternalValidate(final long objectId, final Object object, final boolean throwException)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+		
+		final long registeredObjectId = this.internalLookupObjectId(object);
+		if(registeredObjectId == objectId)
+		{
+			// already registered entry
+			return true;
+		}
+		
+		if(Swizzling.isNotFoundId(registeredObjectId))
+		{
+			final Object registeredObject = this.internalLookupObject(objectId);
+			if(registeredObject == null)
+			{
+				// consistently not registered object
+				return true;
+			}
+			
+			if(!throwException)
+			{
+				return false;
+			}
+			if(registeredObject == object)
+			{
+				throw new PersistenceExceptionConsistency("Inconsistent object registry for objectId " + objectId);
+			}
+			throw new PersistenceExceptionConsistencyObject(objectId, registeredObject, object);
+		}
+		
+		if(!throwException)
+		{
+			return false;
+		}
+		throw new PersistenceExceptionConsistencyObjectId(object, registeredObjectId, objectId);
+	}
+	
+	@Override
+	public final synchronized boolean registerObject(final long objectId, final Object object)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+		if(Swizzling.isNotProperId(objectId))
+		{
+			throw new PersistenceExceptionImproperObjectId();
+		}
+		
+		final int    p = this.oidPosition(objectId);
+		final Object registered;
+		if(this.oids[p] != 0 && (registered = this.referenceMode.get(this.slots[p])) != null)
+		{
+			if(registered == object)
+			{
+				return false;
+			}
+			throw new PersistenceExceptionConsistencyObject(objectId, registered, object);
+		}
+
+		this.internalPut(p, objectId, object);
+		return true;
+	}
+
+	@Override
+	public final synchronized Object optionalRegisterObject(final long objectId, final Object object)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+		if(Swizzling.isNotProperId(objectId))
+		{
+			throw new PersistenceExceptionImproperObjectId();
+		}
+		
+		final int    p = this.oidPosition(objectId);
+		final Object registered;
+		if(this.oids[p] != 0 && (registered = this.referenceMode.get(this.slots[p])) != null)
+		{
+			return registered;
+		}
+		
+		this.internalPut(p, objectId, object);
+		return object;
+	}
+	
+	private void internalPut(final int position, final long objectId, final Object object)
+	{
+		// either no entry yet or an orphan entry for that objectId. Validate before modifying any state.
+		final long registeredObjectId = this.internalLookupObjectId(object);
+		if(Swizzling.isFoundId(registeredObjectId))
+		{
+			throw new PersistenceExceptionConsistencyObjectId(object, registeredObjectId, objectId);
+		}
+		
+		if(this.oids[position] == 0)
+		{
+			this.oids[position] = objectId;
+			this.size++;
+		}
+		this.slots[position] = this.referenceMode.wrap(object);
+		this.internalPutPosition(position, object);
+		
+		if(this.size > this.capacity || this.refSize > this.capacity)
+		{
+			this.internalIncreaseStorage();
+		}
+	}
+	
+	private void internalPutPosition(final int position, final Object object)
+	{
+		final int[] positions = this.positions;
+		final int   range     = this.hashRange;
+		
+		int p = refHash(object) & range;
+		while(positions[p] != 0)
+		{
+			p = p + 1 & range;
+		}
+		positions[p] = position + 1;
+		this.refSize++;
+	}
+	
+	@Override
+	public final synchronized boolean registerConstant(final long objectId, final Object constant)
+	{
+		if(!this.registerObject(objectId, constant))
+		{
+			return false;
+		}
+		
+		this.constants.add(objectId, constant);
+		
+		return true;
+	}
+
+	@Override
+	public final synchronized <A extends PersistenceAcceptor> A iterateEntries(final A acceptor)
+	{
+		final long[]   oids  = this.oids ;
+		final Object[] slots = this.slots;
+		for(int p = 0; p < oids.length; p++)
+		{
+			if(oids[p] != 0)
+			{
+				acceptor.accept(oids[p], this.referenceMode.get(slots[p]));
+			}
+		}
+		
+		return acceptor;
+	}
+	
+	// rebuilding and consolidation //
+	
+	@Override
+	public final synchronized boolean consolidate()
+	{
+		// rebuilding discards all orphans, then the length is adjusted to the remaining entries.
+		this.internalRebuild(this.internalHashLength());
+		
+		return this.checkForDecrease();
+	}
+	
+	private boolean checkForDecrease()
+	{
+		final int requiredHashLength = this.calculateRequiredHashLength(Math.max(this.size, this.minCapacity));
+		if(requiredHashLength != this.internalHashLength())
+		{
+			this.internalRebuild(requiredHashLength);
+			
+			return true;
+		}
+		
+		return false;
+	}
+	
+	private void internalIncreaseStorage()
+	{
+		if(this.internalHashLength() >= XMath.highestPowerOf2_int())
+		{
+			throw new PersistenceExceptionInvalidObjectRegistryCapacity(this.size);
+		}
+		this.internalRebuild(this.internalHashLength() << 1);
+		
+		// orphans discarded by the rebuild might have made the increase unnecessary or even allow a decrease.
+		this.checkForDecrease();
+	}
+	
+	private void internalRebuild(final int hashLength)
+	{
+		final long[]   oldOids  = this.oids ;
+		final Object[] oldSlots = this.slots;
+		
+		this.setTables(hashLength);
+		this.size    = 0;
+		this.refSize = 0;
+		
+		for(int i = 0; i < oldOids.length; i++)
+		{
+			final Object object;
+			if(oldOids[i] == 0 || (object = this.referenceMode.get(oldSlots[i])) == null)
+			{
+				// free position or orphan entry
+				continue;
+			}
+			
+			// the existing reference instance is moved, no need to create a new one.
+			final int p = this.oidPosition(oldOids[i]);
+			this.oids[p]  = oldOids[i];
+			this.slots[p] = oldSlots[i];
+			this.size++;
+			this.internalPutPosition(p, object);
+		}
+	}
+	
+	// clearing //
+	
+	@Override
+	public final synchronized void clear()
+	{
+		this.internalClear();
+		this.internalReregisterConstants();
+	}
+	
+	@Override
+	public final synchronized void clearAll()
+	{
+		this.internalClear();
+	}
+	
+	private void internalClear()
+	{
+		final long[]   oids      = this.oids     ;
+		final Object[] slots     = this.slots    ;
+		final int[]    positions = this.positions;
+		
+		for(int i = 0; i < oids.length; i++)
+		{
+			oids[i]      = 0;
+			slots[i]     = null;
+			positions[i] = 0;
+		}
+		
+		this.size    = 0;
+		this.refSize = 0;
+	}
+
+	@Override
+	public final synchronized void truncate()
+	{
+		// reinitialize storage strucuture with at least enough capacity for the incoming constants.
+		this.internalReset(Math.max(this.constants.size(), this.minCapacity));
+		this.internalReregisterConstants();
+	}
+	
+	@Override
+	public final synchronized void truncateAll()
+	{
+		// hash table reset, no constants reregistering.
+		this.internalReset(this.minCapacity);
+	}
+	
+	private void internalReregisterConstants()
+	{
+		for(final KeyValue<Long, Object> e : this.constants)
+		{
+			// NOT registerConstant() at this point!
+			this.registerObject(e.key(), e.value());
+		}
+	}
+	
+	// HashStatistics //
+	
+	/**
+	 * Since there are no hash chains, the "bucket length" of an entry is the length of the probing sequence
+	 * required to find it.
+	 */
+	@Override
+	public final synchronized XGettingTable<String, HashStatisticsBucketBased> createHashStatistics()
+	{
+		return EqHashTable.New(
+			KeyValue("PerObjectIds", this.internalCreateHashStatisticsOids()),
+			KeyValue("PerObjects", this.internalCreateHashStatisticsRefs())
+		);
+	}
+	
+	private HashStatisticsBucketBased internalCreateHashStatisticsOids()
+	{
+		final EqHashTable<Long, Long> distributionTable = EqHashTable.New();
+		
+		final long[] oids = this.oids;
+		for(int p = 0; p < oids.length; p++)
+		{
+			if(oids[p] != 0)
+			{
+				DefaultObjectRegistry.registerDistribution(
+					distributionTable,
+					(long)(p - oidHash(oids[p]) & this.hashRange) + 1
+				);
+			}
+		}
+		
+		return this.createHashStatistics(distributionTable);
+	}
+
+	private HashStatisticsBucketBased internalCreateHashStatisticsRefs()
+	{
+		final EqHashTable<Long, Long> distributionTable = EqHashTable.New();
+		
+		final int[] positions = this.positions;
+		for(int p = 0; p < positions.length; p++)
+		{
+			final Object object;
+			if(positions[p] == 0 || (object = this.referenceMode.get(this.slots[positions[p] - 1])) == null)
+			{
+				continue;
+			}
+			DefaultObjectRegistry.registerDistribution(
+				distributionTable,
+				(long)(p - refHash(object) & this.hashRange) + 1
+			);
+		}
+		
+		return this.createHashStatistics(distributionTable);
+	}
+	
+	private HashStatisticsBucketBased createHashStatistics(final EqHashTable<Long, Long> distributionTable)
+	{
+		// an empty registry still has one "bucket" of length 0
+		distributionTable.add(0L, 0L);
+		DefaultObjectRegistry.complete(distributionTable);
+		
+		return HashStatisticsBucketBased.New(
+			this.oids.length               ,
+			this.size                      ,
+			this.hashDensity               ,
+			distributionTable.keys().last(),
+			distributionTable
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// member types //
+	/////////////////
+
+	/**
+	 * Defines how a {@link CompactObjectRegistry} references the registered objects.
+	 */
+	public enum ReferenceMode
+	{
+		/**
+		 * Registered objects are never garbage collected, the application has to clear the registry itself.
+		 * Intended for application-managed graphs that are held in memory as a whole, anyway.
+		 * The only mode that lowers the footprint significantly, see {@link CompactObjectRegistry}.
+		 */
+		STRONG
+		{
+			@Override
+			final Object wrap(final Object object)
+			{
+				return object;
+			}
+			
+			@Override
+			final Object get(final Object slot)
+			{
+				return slot;
+			}
+		},
+		
+		/**
+		 * Registered objects are only garbage collected if memory gets low.
+		 */
+		SOFT
+		{
+			@Override
+			final Object wrap(final Object object)
+			{
+				return new SoftReference<>(object);
+			}
+		},
+		
+		/**
+		 * Registered objects are garbage collected as soon as the application does not reference them anymore,
+		 * like with {@link DefaultObjectRegistry}. This is the default mode.
+		 * <p>
+		 * Gives no footprint benefit over {@link DefaultObjectRegistry} with compressed oops, but about a fifth
+		 * without, i.e. for heaps beyond 32 GB.
+		 */
+		WEAK
+		{
+			@Override
+			final Object wrap(final Object object)
+			{
+				return new WeakReference<>(object);
+			}
+		};
+		
+		abstract Object wrap(Object object);
+		
+		Object get(final Object slot)
+		{
+			return slot == null
+				? null
+				: ((Reference<?>)slot).get()
+			;
+		}
+		
+	}
+
+}
@@ -0,0 +1,1159 @@
+package one.microstream.persistence.internal;
+
+/*-
+ * #%L
+ * microstream-persistence
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.KeyValue;
+
+import java.lang.ref.WeakReference;
+
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.types.XGettingTable;
+import one.microstream.hashing.HashStatisticsBucketBased;
+import one.microstream.hashing.XHashing;
+import one.microstream.math.XMath;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistency;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyObject;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyObjectId;
+import one.microstream.persistence.exceptions.PersistenceExceptionImproperObjectId;
+import one.microstream.persistence.types.PersistenceAcceptor;
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+import one.microstream.reference.Swizzling;
+import one.microstream.typing.KeyValue;
+
+/**
+ * Concurrent variant of {@link DefaultObjectRegistry}.
+ * <p>
+ * Instead of one monitor guarding the whole registry, the entries are striped into a fixed number of
+ * independently locked segments. An entry is linked into the objectId hash chain of the segment selected by
+ * its objectId and into the object hash chain of the segment selected by its object's identity hash code.
+ * Lookups lock only the one segment they need, registering locks the (at most two) segments of the
+ * objectId and the object, always in the order of the segment index, so no deadlock can occur.
+ * Operations on the whole registry (iterating, consolidating, clearing, etc.) lock all segments.
+ * Consolidating, clearing and truncating additionally hold this instance's monitor, which is the lock
+ * {@link one.microstream.persistence.types.PersistenceObjectManager} coordinates assigning and merging
+ * objectIds with, so they are mutually exclusive with that logic just like for the single monitor registries.
+ * <p>
+ * Orphan entries (whose referent has been garbage collected) are unlinked from each of the two hash chains
+ * independently, either when they are encountered during registering or when a segment is rebuilt.
+ */
+public final class ConcurrentObjectRegistry implements PersistenceObjectRegistry
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	public static final int defaultSegmentCount()
+	{
+		// several segments per processor keep the probability of two threads hitting the same segment low.
+		return XHashing.padHashLength(Runtime.getRuntime().availableProcessors() * 4L);
+	}
+	
+	public static final int maximumSegmentCount()
+	{
+		// more segments would leave too few identity hash code bits for the segment-local hash tables.
+		return 1 << 12;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static final int validateSegmentCount(final int desiredSegmentCount)
+	{
+		return Math.min(XHashing.padHashLength(XMath.positive(desiredSegmentCount)), maximumSegmentCount());
+	}
+	
+	static final int hash(final Object object)
+	{
+		return System.identityHashCode(object);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static constructors //
+	////////////////////////
+	
+	public static ConcurrentObjectRegistry New()
+	{
+		return New(defaultSegmentCount());
+	}
+	
+	public static ConcurrentObjectRegistry New(final int segmentCount)
+	{
+		return New(segmentCount, DefaultObjectRegistry.defaultHashDensity(), 1);
+	}
+
+	/**
+	 * Note on hashDensity: Reasonable values are within [0.75; 2.00].
+	 * 
+	 * @param segmentCount the number of independently locked segments, padded to a power of 2.
+	 * @param hashDensity
+	 * @param minimumCapacity
+	 */
+	public static ConcurrentObjectRegistry New(
+		final int   segmentCount   ,
+		final float hashDensity    ,
+		final long  minimumCapacity
+	)
+	{
+		return new ConcurrentObjectRegistry(
+			validateSegmentCount(segmentCount),
+			DefaultObjectRegistry.validateHashDensity(hashDensity),
+			DefaultObjectRegistry.validateCapacity(minimumCapacity)
+		);
+	}
+	
+	
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final Segment[] segments    ;
+	private final int       segmentMask ; // selects the segment from the lowest bits of a hash value.
+	private final int       segmentShift; // shifts the segment bits out for the segment-local hash tables.
+	
+	// configuration values are only changed under the instance's monitor, but read by all segments.
+	private volatile float hashDensity;
+	private volatile long  minCapacity;
+	
+	// constants are guarded by the table itself, they are only re-registered on clearing and truncating.
+	private final EqHashTable<Long, Object> constants = EqHashTable.New();
+
+	
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	ConcurrentObjectRegistry(
+		final int   segmentCount   ,
+		final float hashDensity    ,
+		final long  minimumCapacity
+	)
+	{
+		super();
+		this.segments     = new Segment[segmentCount];
+		this.segmentMask  = segmentCount - 1;
+		this.segmentShift = Integer.numberOfTrailingZeros(segmentCount);
+		this.hashDensity  = hashDensity;
+		this.minCapacity  = minimumCapacity;
+		
+		final int hashLength = this.calculateSegmentHashLength(minimumCapacity);
+		for(int i = 0; i < segmentCount; i++)
+		{
+			this.segments[i] = new Segment(i, this.segmentShift, hashLength, hashDensity);
+		}
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	public final int segmentCount()
+	{
+		return this.segments.length;
+	}
+	
+	private int calculateSegmentHashLength(final long capacity)
+	{
+		return XHashing.padHashLength((long)(Math.max(capacity / this.segments.length, 1) / this.hashDensity));
+	}
+	
+	private Segment oidSegment(final long objectId)
+	{
+		return this.segments[(int)objectId & this.segmentMask];
+	}
+	
+	private Segment refSegment(final int refHash)
+	{
+		return this.segments[refHash & this.segmentMask];
+	}
+	
+	private static Segment lower(final Segment oidSegment, final Segment refSegment)
+	{
+		return oidSegment.index <= refSegment.index ? oidSegment : refSegment;
+	}
+	
+	private static Segment higher(final Segment oidSegment, final Segment refSegment)
+	{
+		return oidSegment.index <= refSegment.index ? refSegment : oidSegment;
+	}
+	
+	/**
+	 * Executes the passed logic while holding the locks of all segments, acquired in ascending index order.
+	 */
+	private void synchAllSegments(final Runnable logic)
+	{
+		this.synchAllSegments(0, logic);
+	}
+	
+	private void synchAllSegments(final int index, final Runnable logic)
+	{
+		if(index == this.segments.length)
+		{
+			logic.run();
+			return;
+		}
+		
+		synchronized(this.segments[index])
+		{
+			this.synchAllSegments(index + 1, logic);
+		}
+	}
+		
+	@Override
+	public final ConcurrentObjectRegistry Clone()
+	{
+		synchronized(this)
+		{
+			return ConcurrentObjectRegistry.New(this.segments.length, this.hashDensity, this.minCapacity);
+		}
+	}
+
+	@Override
+	public final int hashRange()
+	{
+		int hashRange = 0;
+		for(final Segment segment : this.segments)
+		{
+			synchronized(segment)
+			{
+				hashRange += segment.oidTable.length;
+			}
+		}
+		
+		return hashRange;
+	}
+
+	@Override
+	public final float hashDensity()
+	{
+		return this.hashDensity;
+	}
+	
+	@Override
+	public final long minimumCapacity()
+	{
+		return this.minCapacity;
+	}
+
+	@Override
+	public final long capacity()
+	{
+		long capacity = 0;
+		for(final Segment segment : this.segments)
+		{
+			synchronized(segment)
+			{
+				if((capacity += segment.oidCapacity) < 0)
+				{
+					return Long.MAX_VALUE;
+				}
+			}
+		}
+		
+		return capacity;
+	}
+
+	@Override
+	public final long size()
+	{
+		long size = 0;
+		for(final Segment segment : this.segments)
+		{
+			synchronized(segment)
+			{
+				size += segment.oidCount;
+			}
+		}
+		
+		return size;
+	}
+
+	@Override
+	public final boolean isEmpty()
+	{
+		for(final Segment segment : this.segments)
+		{
+			synchronized(segment)
+			{
+				if(segment.oidCount != 0)
+				{
+					return false;
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	@Override
+	public final synchronized boolean setHashDensity(final float hashDensity)
+	{
+		this.hashDensity = DefaultObjectRegistry.validateHashDensity(hashDensity);
+		
+		return this.updateSegments(this.minCapacity);
+	}
+	
+	@Override
+	public final synchronized boolean setConfiguration(
+		final float hashDensity    ,
+		final long  minimumCapacity
+	)
+	{
+		// both values are checked before modifying any state
+		DefaultObjectRegistry.validateHashDensity(hashDensity);
+		DefaultObjectRegistry.validateCapacity(minimumCapacity);
+		
+		this.hashDensity = hashDensity;
+		this.minCapacity = minimumCapacity;
+		
+		return this.updateSegments(minimumCapacity);
+	}
+	
+	@Override
+	public final synchronized boolean setMinimumCapacity(final long minimumCapacity)
+	{
+		this.minCapacity = DefaultObjectRegistry.validateCapacity(minimumCapacity);
+		
+		return this.updateSegments(minimumCapacity);
+	}
+	
+	private boolean updateSegments(final long desiredCapacity)
+	{
+		final int requiredHashLength = this.calculateSegmentHashLength(desiredCapacity);
+		
+		boolean rebuilt = false;
+		for(final Segment segment : this.segments)
+		{
+			synchronized(segment)
+			{
+				rebuilt |= segment.ensureHashLength(requiredHashLength, this.hashDensity);
+			}
+		}
+		
+		return rebuilt;
+	}
+	
+	@Override
+	public final boolean ensureCapacity(final long desiredCapacity)
+	{
+		DefaultObjectRegistry.validateCapacity(desiredCapacity);
+		final int requiredHashLength = this.calculateSegmentHashLength(desiredCapacity);
+		
+		boolean rebuilt = false;
+		for(final Segment segment : this.segments)
+		{
+			synchronized(segment)
+			{
+				rebuilt |= segment.ensureHashLength(requiredHashLength, this.hashDensity);
+			}
+		}
+		
+		return rebuilt;
+	}
+
+	@Override
+	public final boolean containsObjectId(final long objectId)
+	{
+		final Segment segment = this.oidSegment(objectId);
+		synchronized(segment)
+		{
+			return segment.lookupEntry(objectId) != null;
+		}
+	}
+	
+	@Override
+	public final long lookupObjectId(final Object object)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+		
+		final int     refHash = hash(object);
+		final Segment segment = this.refSegment(refHash);
+		synchronized(segment)
+		{
+			return segment.lookupObjectId(object, refHash);
+		}
+	}
+
+	@Override
+	public final Object lookupObject(final long objectId)
+	{
+		final Segment segment = this.oidSegment(objectId);
+		synchronized(segment)
+		{
+			return segment.lookupObject(objectId);
+		}
+	}
+	
+	@Override
+	public final boolean isValid(final long objectId, final Object object)
+	{
+		// see DefaultObjectRegistry for the flag
+		return this.internalValidate(objectId, object, false);
+	}
+	
+	@Override
+	public final void validate(final long objectId, final Object object)
+	{
+		this.internalValidate(objectId, object, true);
+	}
+	
+	private boolean internalValidate(final long objectId, final Object object, final boolean throwException)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+		
+		final int     refHash    = hash(object);
+		final Segment oidSegment = this.oidSegment(objectId);
+		final Segment refSegment = this.refSegment(refHash);
+		
+		synchronized(lower(oidSegment, refSegment))
+		{
+			synchronized(higher(oidSegment, refSegment))
+			{
+				return synchValidate(oidSegment, refSegment, objectId, object, refHash, throwException);
+			}
+		}
+	}
+	
+	private static boolean synchValidate(
+		final Segment oidSegment    ,
+		final Segment refSegment    ,
+		final long    objectId      ,
+		final Object  object        ,
+		final int     refHash       ,
+		final boolean throwException
+	)
+	{
+		final long registeredObjectId = refSegment.lookupObjectId(object, refHash);
+		if(registeredObjectId == objectId)
+		{
+			// already registered entry
+			return true;
+		}
+		
+		if(Swizzling.isNotFoundId(registeredObjectId))
+		{
+			final Object registeredObject = oidSegment.lookupObject(objectId);
+			if(registeredObject == null)
+			{
+				// consistently not registered object
+				return true;
+			}
+			
+			if(!throwException)
+			{
+				return false;
+			}
+			if(registeredObject == object)
+			{
+				throw new PersistenceExceptionConsistency("Inconsistent object registry for objectId " + objectId);
+			}
+			throw new PersistenceExceptionConsistencyObject(objectId, registeredObject, object);
+		}
+		
+		if(!throwException)
+		{
+			return false;
+		}
+		throw new PersistenceExceptionConsistencyObjectId(object, registeredObjectId, objectId);
+	}
+	
+	@Override
+	public final boolean registerObject(final long objectId, final Object object)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+		if(Swizzling.isNotProperId(objectId))
+		{
+			throw new PersistenceExceptionImproperObjectId();
+		}
+		
+		final int     refHash    = hash(object);
+		final Segment oidSegment = this.oidSegment(objectId);
+		final Segment refSegment = this.refSegment(refHash);
+		
+		synchronized(lower(oidSegment, refSegment))
+		{
+			synchronized(higher(oidSegment, refSegment))
+			{
+				if(synchAddGetCheck(oidSegment, refSegment, objectId, object, refHash) != null)
+				{
+					// either the same object or an exception, see below.
+					return false;
+				}
+				
+				synchPutNewEntry(oidSegment, refSegment, objectId, object, refHash);
+				return true;
+			}
+		}
+	}
+
+	@Override
+	public final Object optionalRegisterObject(final long objectId, final Object object)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+		if(Swizzling.isNotProperId(objectId))
+		{
+			throw new PersistenceExceptionImproperObjectId();
+		}
+		
+		final int     refHash    = hash(object);
+		final Segment oidSegment = this.oidSegment(objectId);
+		final Segment refSegment = this.refSegment(refHash);
+		
+		synchronized(lower(oidSegment, refSegment))
+		{
+			synchronized(higher(oidSegment, refSegment))
+			{
+				final Object alreadyRegistered;
+				if((alreadyRegistered = synchOptionalAddGetCheck(oidSegment, refSegment, objectId, object, refHash)) != null)
+				{
+					return alreadyRegistered;
+				}
+				
+				synchPutNewEntry(oidSegment, refSegment, objectId, object, refHash);
+				return object;
+			}
+		}
+	}
+	
+	private static Object synchAddGetCheck(
+		final Segment oidSegment,
+		final Segment refSegment,
+		final long    objectId  ,
+		final Object  object    ,
+		final int     refHash
+	)
+	{
+		final Object registered = synchOptionalAddGetCheck(oidSegment, refSegment, objectId, object, refHash);
+		if(registered == null || registered == object)
+		{
+			return registered;
+		}
+		
+		throw new PersistenceExceptionConsistencyObject(objectId, registered, object);
+	}
+	
+	private static Object synchOptionalAddGetCheck(
+		final Segment oidSegment,
+		final Segment refSegment,
+		final long    objectId  ,
+		final Object  object    ,
+		final int     refHash
+	)
+	{
+		final Entry entry = oidSegment.lookupEntry(objectId);
+		if(entry != null)
+		{
+			final Object registered;
+			if((registered = entry.get()) != null)
+			{
+				return registered;
+			}
+			
+			// orphan entry removal is always right, even in case of an error.
+			oidSegment.removeOidEntry(entry);
+		}
+		
+		// either no hash chain yet or no (live) entry for that objectId. Validate and signal need for registration.
+		refSegment.validateObjectNotYetRegistered(objectId, object, refHash);
+		
+		return null;
+	}
+	
+	private static void synchPutNewEntry(
+		final Segment oidSegment,
+		final Segment refSegment,
+		final long    objectId  ,
+		final Object  object    ,
+		final int     refHash
+	)
+	{
+		final Entry entry = new Entry(objectId, object, refHash);
+		oidSegment.putOidEntry(entry);
+		refSegment.putRefEntry(entry);
+	}
+	
+	@Override
+	public final boolean registerConstant(final long objectId, final Object constant)
+	{
+		if(!this.registerObject(objectId, constant))
+		{
+			return false;
+		}
+		
+		synchronized(this.constants)
+		{
+			this.constants.add(objectId, constant);
+		}
+		
+		return true;
+	}
+
+	@Override
+	public final <A extends PersistenceAcceptor> A iterateEntries(final A acceptor)
+	{
+		this.synchAllSegments(() ->
+		{
+			for(final Segment segment : this.segments)
+			{
+				segment.iterateEntries(acceptor);
+			}
+		});
+		
+		return acceptor;
+	}
+	
+	// rebuilding and consolidation //
+	
+	@Override
+	public final synchronized boolean consolidate()
+	{
+		final boolean[] rebuilt = {false};
+		this.synchAllSegments(() ->
+		{
+			final int minimumHashLength = this.calculateSegmentHashLength(this.minCapacity);
+			for(final Segment segment : this.segments)
+			{
+				rebuilt[0] |= segment.consolidate(minimumHashLength, this.hashDensity);
+			}
+		});
+		
+		return rebuilt[0];
+	}
+	
+	// clearing //
+	
+	@Override
+	public final synchronized void clear()
+	{
+		this.synchAllSegments(() ->
+		{
+			this.internalClear();
+			this.internalReregisterConstants();
+		});
+	}
+	
+	@Override
+	public final synchronized void clearAll()
+	{
+		this.synchAllSegments(this::internalClear);
+	}
+	
+	private void internalClear()
+	{
+		for(final Segment segment : this.segments)
+		{
+			segment.clear();
+		}
+	}
+
+	@Override
+	public final synchronized void truncate()
+	{
+		this.synchAllSegments(() ->
+		{
+			this.internalTruncate();
+			this.internalReregisterConstants();
+		});
+	}
+	
+	@Override
+	public final synchronized void truncateAll()
+	{
+		this.synchAllSegments(this::internalTruncate);
+	}
+	
+	private void internalTruncate()
+	{
+		final int hashLength = this.calculateSegmentHashLength(this.minCapacity);
+		for(final Segment segment : this.segments)
+		{
+			segment.reset(hashLength, this.hashDensity);
+		}
+	}
+	
+	private void internalReregisterConstants()
+	{
+		synchronized(this.constants)
+		{
+			for(final KeyValue<Long, Object> e : this.constants)
+			{
+				// NOT registerConstant() at this point! All segment locks are already held by the current thread.
+				this.registerObject(e.key(), e.value());
+			}
+		}
+	}
+	
+	// HashStatistics //
+	
+	@Override
+	public final XGettingTable<String, HashStatisticsBucketBased> createHashStatistics()
+	{
+		@SuppressWarnings("unchecked")
+		final XGettingTable<String, HashStatisticsBucketBased>[] statistics = new XGettingTable[1];
+		this.synchAllSegments(() ->
+			statistics[0] = EqHashTable.New(
+				KeyValue("PerObjectIds", this.internalCreateHashStatistics(true)),
+				KeyValue("PerObjects", this.internalCreateHashStatistics(false))
+			)
+		);
+		
+		return statistics[0];
+	}
+	
+	private HashStatisticsBucketBased internalCreateHashStatistics(final boolean perObjectIds)
+	{
+		final EqHashTable<Long, Long> distributionTable = EqHashTable.New();
+		
+		long hashLength = 0;
+		long size       = 0;
+		for(final Segment segment : this.segments)
+		{
+			final Entry[] table = perObjectIds ? segment.oidTable : segment.refTable;
+			for(int h = 0; h < table.length; h++)
+			{
+				DefaultObjectRegistry.registerDistribution(
+					distributionTable,
+					perObjectIds ? countOidChainLength(table[h]) : countRefChainLength(table[h])
+				);
+			}
+			hashLength += table.length;
+			size       += segment.oidCount;
+		}
+		DefaultObjectRegistry.complete(distributionTable);
+		
+		return HashStatisticsBucketBased.New(
+			hashLength                     ,
+			size                           ,
+			this.hashDensity               ,
+			distributionTable.keys().last(),
+			distributionTable
+		);
+	}
+	
+	private static Long countOidChainLength(final Entry firstEntry)
+	{
+		long count = 0;
+		for(Entry e = firstEntry; e != null; e = e.oidNext)
+		{
+			if(e.get() != null)
+			{
+				count++;
+			}
+		}
+		
+		return count;
+	}
+	
+	private static Long countRefChainLength(final Entry firstEntry)
+	{
+		long count = 0;
+		for(Entry e = firstEntry; e != null; e = e.refNext)
+		{
+			if(e.get() != null)
+			{
+				count++;
+			}
+		}
+		
+		return count;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// member types //
+	/////////////////
+
+	static final class Entry extends WeakReference<Object>
+	{
+		final long  objectId;
+		final int   refHash ;
+		      Entry oidNext ; // guarded by the segment selected by the objectId.
+		      Entry refNext ; // guarded by the segment selected by the refHash.
+		
+		Entry(final long objectId, final Object referent, final int refHash)
+		{
+			super(referent);
+			this.objectId = objectId;
+			this.refHash  = refHash ;
+		}
+		
+	}
+	
+	/**
+	 * One stripe of the registry with its own objectId and object hash tables. All methods require the
+	 * caller to hold the segment's monitor.
+	 */
+	static final class Segment
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		final int     index      ;
+		final int     shift      ; // shifts out the hash bits used to select the segment.
+		      Entry[] oidTable   ;
+		      Entry[] refTable   ;
+		      int     oidRange   ;
+		      int     refRange   ;
+		      long    oidCount   ;
+		      long    refCount   ;
+		      long    oidCapacity;
+		      long    refCapacity;
+		      float   hashDensity;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Segment(final int index, final int shift, final int hashLength, final float hashDensity)
+		{
+			super();
+			this.index = index;
+			this.shift = shift;
+			this.reset(hashLength, hashDensity);
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		final void reset(final int hashLength, final float hashDensity)
+		{
+			this.hashDensity = hashDensity;
+			this.setOidTable(new Entry[hashLength]);
+			this.setRefTable(new Entry[hashLength]);
+			this.oidCount = 0;
+			this.refCount = 0;
+		}
+		
+		final void clear()
+		{
+			final Entry[] oidTable = this.oidTable;
+			final Entry[] refTable = this.refTable;
+			
+			for(int i = 0; i < oidTable.length; i++)
+			{
+				oidTable[i] = null;
+			}
+			for(int i = 0; i < refTable.length; i++)
+			{
+				refTable[i] = null;
+			}
+			this.oidCount = 0;
+			this.refCount = 0;
+		}
+		
+		private static long capacity(final int hashLength, final float hashDensity)
+		{
+			return hashLength >= XMath.highestPowerOf2_int()
+				? Long.MAX_VALUE
+				: (long)(hashLength * hashDensity)
+			;
+		}
+		
+		private void setOidTable(final Entry[] oidTable)
+		{
+			this.oidTable    = oidTable;
+			this.oidRange    = oidTable.length - 1;
+			this.oidCapacity = capacity(oidTable.length, this.hashDensity);
+		}
+		
+		private void setRefTable(final Entry[] refTable)
+		{
+			this.refTable    = refTable;
+			this.refRange    = refTable.length - 1;
+			this.refCapacity = capacity(refTable.length, this.hashDensity);
+		}
+		
+		final void updateCapacity(final float hashDensity)
+		{
+			this.hashDensity = hashDensity;
+			this.oidCapacity = capacity(this.oidTable.length, hashDensity);
+			this.refCapacity = capacity(this.refTable.length, hashDensity);
+		}
+		
+		private int oidIndex(final long objectId, final int oidRange)
+		{
+			return (int)(objectId >>> this.shift) & oidRange;
+		}
+		
+		private int refIndex(final int refHash, final int refRange)
+		{
+			return refHash >>> this.shift & refRange;
+		}
+		
+		final Entry lookupEntry(final long objectId)
+		{
+			for(Entry e = this.oidTable[this.oidIndex(objectId, this.oidRange)]; e != null; e = e.oidNext)
+			{
+				if(e.objectId == objectId)
+				{
+					return e;
+				}
+			}
+			
+			return null;
+		}
+		
+		final Object lookupObject(final long objectId)
+		{
+			final Entry entry = this.lookupEntry(objectId);
+			
+			return entry == null
+				? null
+				: entry.get()
+			;
+		}
+		
+		final long lookupObjectId(final Object object, final int refHash)
+		{
+			for(Entry e = this.refTable[this.refIndex(refHash, this.refRange)]; e != null; e = e.refNext)
+			{
+				if(e.get() == object)
+				{
+					return e.objectId;
+				}
+			}
+			
+			return Swizzling.notFoundId();
+		}
+		
+		final void validateObjectNotYetRegistered(final long objectId, final Object object, final int refHash)
+		{
+			final int index = this.refIndex(refHash, this.refRange);
+			for(Entry e = this.refTable[index], last = null; e != null; e = e.refNext)
+			{
+				final Object registered = e.get();
+				if(registered == object)
+				{
+					throw new PersistenceExceptionConsistencyObjectId(object, e.objectId, objectId);
+				}
+				
+				if(registered != null)
+				{
+					last = e;
+					continue;
+				}
+				
+				// orphans are unlinked along the way since the ref chain is never cleaned up otherwise.
+				if(last == null)
+				{
+					this.refTable[index] = e.refNext;
+				}
+				else
+				{
+					last.refNext = e.refNext;
+				}
+				this.refCount--;
+			}
+		}
+		
+		final void putOidEntry(final Entry entry)
+		{
+			final int index = this.oidIndex(entry.objectId, this.oidRange);
+			entry.oidNext = this.oidTable[index];
+			this.oidTable[index] = entry;
+			
+			if(++this.oidCount > this.oidCapacity)
+			{
+				this.rebuildOidTable(this.oidTable.length << 1);
+			}
+		}
+		
+		final void putRefEntry(final Entry entry)
+		{
+			final int index = this.refIndex(entry.refHash, this.refRange);
+			entry.refNext = this.refTable[index];
+			this.refTable[index] = entry;
+			
+			if(++this.refCount > this.refCapacity)
+			{
+				this.rebuildRefTable(this.refTable.length << 1);
+			}
+		}
+		
+		final void removeOidEntry(final Entry entry)
+		{
+			final int index = this.oidIndex(entry.objectId, this.oidRange);
+			for(Entry e = this.oidTable[index], last = null; e != null; e = (last = e).oidNext)
+			{
+				if(e == entry)
+				{
+					if(last == null)
+					{
+						this.oidTable[index] = e.oidNext;
+					}
+					else
+					{
+						last.oidNext = e.oidNext;
+					}
+					this.oidCount--;
+					return;
+				}
+			}
+		}
+		
+		final boolean ensureHashLength(final int requiredHashLength, final float hashDensity)
+		{
+			this.updateCapacity(hashDensity);
+			
+			boolean rebuilt = false;
+			if(requiredHashLength > this.oidTable.length)
+			{
+				this.rebuildOidTable(requiredHashLength);
+				rebuilt = true;
+			}
+			if(requiredHashLength > this.refTable.length)
+			{
+				this.rebuildRefTable(requiredHashLength);
+				rebuilt = true;
+			}
+			
+			return rebuilt;
+		}
+		
+		final boolean consolidate(final int minimumHashLength, final float hashDensity)
+		{
+			this.updateCapacity(hashDensity);
+			
+			// rebuilding discards all orphans. The lengths are adjusted to the live entries afterwards.
+			this.rebuildOidTable(this.oidTable.length);
+			this.rebuildRefTable(this.refTable.length);
+			
+			final int requiredOidLength = Math.max(requiredHashLength(this.oidCount, hashDensity), minimumHashLength);
+			final int requiredRefLength = Math.max(requiredHashLength(this.refCount, hashDensity), minimumHashLength);
+			
+			boolean rebuilt = false;
+			if(requiredOidLength != this.oidTable.length)
+			{
+				this.rebuildOidTable(requiredOidLength);
+				rebuilt = true;
+			}
+			if(requiredRefLength != this.refTable.length)
+			{
+				this.rebuildRefTable(requiredRefLength);
+				rebuilt = true;
+			}
+			
+			return rebuilt;
+		}
+		
+		private static int requiredHashLength(final long count, final float hashDensity)
+		{
+			return XHashing.padHashLength((long)(count / hashDensity));
+		}
+		
+		private void rebuildOidTable(final int hashLength)
+		{
+			final Entry[] oldTable = this.oidTable;
+			final Entry[] newTable = new Entry[hashLength];
+			final int     newRange = hashLength - 1;
+			
+			long orphanCount = 0;
+			for(int i = 0; i < oldTable.length; i++)
+			{
+				for(Entry e = oldTable[i], next; e != null; e = next)
+				{
+					next = e.oidNext;
+					if(e.get() == null)
+					{
+						orphanCount++;
+						continue;
+					}
+					
+					final int index = this.oidIndex(e.objectId, newRange);
+					e.oidNext = newTable[index];
+					newTable[index] = e;
+				}
+			}
+			
+			this.oidCount -= orphanCount;
+			this.setOidTable(newTable);
+		}
+		
+		private void rebuildRefTable(final int hashLength)
+		{
+			final Entry[] oldTable = this.refTable;
+			final Entry[] newTable = new Entry[hashLength];
+			final int     newRange = hashLength - 1;
+			
+			long orphanCount = 0;
+			for(int i = 0; i < oldTable.length; i++)
+			{
+				for(Entry e = oldTable[i], next; e != null; e = next)
+				{
+					next = e.refNext;
+					if(e.get() == null)
+					{
+						orphanCount++;
+						continue;
+					}
+					
+					final int index = this.refIndex(e.refHash, newRange);
+					e.refNext = newTable[index];
+					newTable[index] = e;
+				}
+			}
+			
+			this.refCount -= orphanCount;
+			this.setRefTable(newTable);
+		}
+		
+		final void iterateEntries(final PersistenceAcceptor acceptor)
+		{
+			final Entry[] oidTable = this.oidTable;
+			for(int h = 0; h < oidTable.length; h++)
+			{
+				for(Entry e = oidTable[h]; e != null; e = e.oidNext)
+				{
+					acceptor.accept(e.objectId, e.get());
+				}
+			}
+		}
+		
+	}
+
+}
@@ -1054,7 +1054,7 @@ public final class DefaultObjectRegistry implements PersistenceObjectRegistry
 		return count;
 	}
 	
-	private static void registerDistribution(
+	static void registerDistribution(
 		final EqHashTable<Long, Long> distributionTable,
 		final Long                    bucketLength
 	)
@@ -1071,7 +1071,7 @@ public final class DefaultObjectRegistry implements PersistenceObjectRegistry
 		}
 	}
 	
-	private static void complete(final EqHashTable<Long, Long> distributionTable)
+	static void complete(final EqHashTable<Long, Long> distributionTable)
 	{
 		distributionTable.keys().sort(XSort::compare);
 		final Long highest = distributionTable.last().key();
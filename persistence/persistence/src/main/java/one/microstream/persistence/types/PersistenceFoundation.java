@@ -99,6 +99,8 @@ extends Cloneable<PersistenceFoundation<D, F>>, ByteOrderTargeting.Mutable<F>, P
 	public PersistenceSource<D> getPersistenceSource();
 	
 	public PersistenceObjectRegistry getObjectRegistry();
+	
+	public PersistenceObjectRegistry.Creator getObjectRegistryCreator();
 
 	public PersistenceObjectManager<D> getObjectManager();
 	
@@ -227,6 +229,20 @@ extends Cloneable<PersistenceFoundation<D, F>>, ByteOrderTargeting.Mutable<F>, P
 	
 	public F setObjectRegistry(PersistenceObjectRegistry objectRegistry);
 	
+	/**
+	 * Sets the logic to create the object registry if none is set explicitly via
+	 * {@link #setObjectRegistry(PersistenceObjectRegistry)}. The created registry gets the java constants
+	 * registered, so this is the way to switch to a different registry implementation, e.g.
+	 * {@link PersistenceObjectRegistry#CreatorConcurrent()} for many threads storing and loading concurrently or
+	 * {@link PersistenceObjectRegistry#CreatorCompact(one.microstream.persistence.internal.CompactObjectRegistry.ReferenceMode)}
+	 * with {@link one.microstream.persistence.internal.CompactObjectRegistry.ReferenceMode#STRONG} for a lower memory
+	 * footprint per registered object.
+	 * 
+	 * @param objectRegistryCreator the object registry creator.
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setObjectRegistryCreator(PersistenceObjectRegistry.Creator objectRegistryCreator);
+	
 	public F setTypeRegistry(PersistenceTypeRegistry typeRegistry);
 
 	public F setInstanceDispatcher(InstanceDispatcherLogic instanceDispatcher);
@@ -453,6 +469,7 @@ extends Cloneable<PersistenceFoundation<D, F>>, ByteOrderTargeting.Mutable<F>, P
 		private PersistenceTypeIdProvider                      tidProvider                     ;
 		private PersistenceTypeRegistry                        typeRegistry                    ;
 		private PersistenceObjectRegistry                      objectRegistry                  ;
+		private PersistenceObjectRegistry.Creator              objectRegistryCreator           ;
 		private PersistenceTypeHandlerManager<D>               typeHandlerManager              ;
 		private PersistenceContextDispatcher<D>                contextDispatcher               ;
 		private PersistenceStorer.Creator<D>                   storerCreator                   ;
@@ -694,6 +711,17 @@ extends Cloneable<PersistenceFoundation<D, F>>, ByteOrderTargeting.Mutable<F>, P
 			return this.objectRegistry;
 		}
 		
+		@Override
+		public PersistenceObjectRegistry.Creator getObjectRegistryCreator()
+		{
+			if(this.objectRegistryCreator == null)
+			{
+				this.objectRegistryCreator = this.dispatch(this.ensureObjectRegistryCreator());
+			}
+			
+			return this.objectRegistryCreator;
+		}
+		
 		@Override
 		public PersistenceTypeRegistry getTypeRegistry()
 		{
@@ -1519,6 +1547,15 @@ extends Cloneable<PersistenceFoundation<D, F>>, ByteOrderTargeting.Mutable<F>, P
 			return this.$();
 		}
 		
+		@Override
+		public F setObjectRegistryCreator(
+			final PersistenceObjectRegistry.Creator objectRegistryCreator
+		)
+		{
+			this.objectRegistryCreator = objectRegistryCreator;
+			return this.$();
+		}
+		
 		@Override
 		public F setTypeRegistry(final PersistenceTypeRegistry typeRegistry)
 		{
@@ -2027,11 +2064,16 @@ extends Cloneable<PersistenceFoundation<D, F>>, ByteOrderTargeting.Mutable<F>, P
 
 		protected PersistenceObjectRegistry ensureObjectRegistry()
 		{
-			final PersistenceObjectRegistry registry = PersistenceObjectRegistry.New();
+			final PersistenceObjectRegistry registry = this.getObjectRegistryCreator().createObjectRegistry();
 			Persistence.registerJavaConstants(registry);
 			
 			return registry;
 		}
+		
+		protected PersistenceObjectRegistry.Creator ensureObjectRegistryCreator()
+		{
+			return PersistenceObjectRegistry.Creator();
+		}
 
 		protected PersistenceTypeRegistry ensureTypeRegistry()
 		{
@@ -24,6 +24,8 @@ import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
 
 import java.nio.ByteOrder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 import one.microstream.X;
@@ -312,6 +314,23 @@ ByteOrderTargeting<PersistenceManager<D>>
 			return objectIds;
 		}
 		
+		@Override
+		public final CompletableFuture<Long> storeAsync(final Object instance, final Executor executor)
+		{
+			final long                    objectId;
+			final CompletableFuture<Long> commit  ;
+			final PersistenceStorer persister = this.createStorer();
+			
+			// only the collecting and handing off is done under the mutex, not the waiting for the writing.
+			synchronized(this.storeMutex)
+			{
+				objectId = persister.store(instance);
+				commit   = persister.commitAsync(executor);
+			}
+
+			return commit.thenApply(size -> objectId);
+		}
+		
 		@Override
 		public void storeAll(final Iterable<?> instances)
 		{
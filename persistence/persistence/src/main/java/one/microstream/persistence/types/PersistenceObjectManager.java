@@ -148,10 +148,8 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 		@Override
 		public long lookupObjectId(final Object object)
 		{
-			synchronized(this.objectRegistry)
-			{
-				return this.objectRegistry.lookupObjectId(object);
-			}
+			// the registry is thread-safe on its own, the global lock is only required for the ensuring logic.
+			return this.objectRegistry.lookupObjectId(object);
 		}
 
 		@Override
@@ -160,10 +158,7 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 //			XDebug.debugln(XChars.systemString(this) + " looking up \n" + objectId
 //				+ " -> " + XChars.systemString(this.objectRegistry.lookupObject(objectId))
 //			);
-			synchronized(this.objectRegistry)
-			{
-				return this.objectRegistry.lookupObject(objectId);
-			}
+			return this.objectRegistry.lookupObject(objectId);
 		}
 
 		@Override
@@ -186,7 +181,22 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 			 * 1.) check if already globally known.
 			 * 2.) check if already locally known in on of the other storers (= "local registries)"
 			 * 3.) otherwise, provide and assign a new ObjectId.
+			 * 
+			 * An object that is already globally known stays known, so that case can be handled without the lock.
+			 * This keeps storers of mostly already stored graphs from contending the lock, with a concurrent
+			 * registry implementation even from contending each other at all.
+			 * The only exception is clearing or truncating the registry. Every registry implementation does that
+			 * atomically while holding its monitor (and all of its segments), so the lookup sees the registry
+			 * either completely before or completely after it. In the former case, the object id is used exactly
+			 * as if the locked logic below had found it right before the clearing, which has never been prevented.
 			 */
+			final long globalObjectId = this.objectRegistry.lookupObjectId(object);
+			if(Swizzling.isProperId(globalObjectId))
+			{
+				objectIdRequestor.registerEagerOptional(globalObjectId, object, optionalHandler);
+				return globalObjectId;
+			}
+			
 			synchronized(this.objectRegistry)
 			{
 				long objectId;
@@ -235,6 +245,13 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 		)
 		{
 			// see #ensureObjectId for explaining comments
+			final long globalObjectId = this.objectRegistry.lookupObjectId(object);
+			if(Swizzling.isProperId(globalObjectId))
+			{
+				objectIdRequestor.registerGuaranteed(globalObjectId, object, optionalHandler);
+				return globalObjectId;
+			}
+			
 			synchronized(this.objectRegistry)
 			{
 				long objectId;
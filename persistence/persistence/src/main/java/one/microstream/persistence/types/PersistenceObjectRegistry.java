@@ -20,8 +20,12 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import static one.microstream.X.notNull;
+
 import one.microstream.collections.types.XGettingTable;
 import one.microstream.hashing.HashStatistics;
+import one.microstream.persistence.internal.CompactObjectRegistry;
+import one.microstream.persistence.internal.ConcurrentObjectRegistry;
 import one.microstream.persistence.internal.DefaultObjectRegistry;
 import one.microstream.util.Cloneable;
 
@@ -112,6 +116,9 @@ public interface PersistenceObjectRegistry extends PersistenceSwizzlingLookup, C
 	 * Clears all entries except those that are essential for a correctly executed program (e.g. constants). <br>
 	 * Clearing means to leave the current capacity as it is and just to actually clear its entries.
 	 * <p>
+	 * Clearing is atomic: concurrent lookups see either all entries or only the essential ones, never a partially
+	 * cleared registry or missing constants.
+	 * <p>
 	 * NOTE:<br>
 	 * This method is currently only intended to be used for testing since calling it can cause inconsistencies
 	 * if there still exist uncleared lazy references.
@@ -134,6 +141,8 @@ public interface PersistenceObjectRegistry extends PersistenceSwizzlingLookup, C
 	 * Truncating means to quickly empty the registry by reinitializing the internal storage structures with a
 	 * new and minimal capacity.
 	 * <p>
+	 * Truncating is atomic just like {@link #clear()}.
+	 * <p>
 	 * NOTE:<br>
 	 * This method is currently only intended to be used for testing since calling it can cause inconsistencies
 	 * if there still exist uncleared lazy references.
@@ -163,4 +172,64 @@ public interface PersistenceObjectRegistry extends PersistenceSwizzlingLookup, C
 		return DefaultObjectRegistry.New();
 	}
 	
+	/**
+	 * Creates a registry with independently locked segments, see {@link ConcurrentObjectRegistry}.
+	 * 
+	 * @return a new concurrent registry with the default segment count.
+	 */
+	public static ConcurrentObjectRegistry NewConcurrent()
+	{
+		return ConcurrentObjectRegistry.New();
+	}
+	
+	public static ConcurrentObjectRegistry NewConcurrent(final int segmentCount)
+	{
+		return ConcurrentObjectRegistry.New(segmentCount);
+	}
+	
+	/**
+	 * Creates a registry without per-entry chaining instances, see {@link CompactObjectRegistry}.
+	 * Note that only {@link CompactObjectRegistry.ReferenceMode#STRONG} lowers the footprint significantly,
+	 * {@link CompactObjectRegistry.ReferenceMode#WEAK} only does so for heaps without compressed oops.
+	 * 
+	 * @param referenceMode how the registered objects are referenced.
+	 * @return a new compact registry.
+	 */
+	public static CompactObjectRegistry NewCompact(final CompactObjectRegistry.ReferenceMode referenceMode)
+	{
+		return CompactObjectRegistry.New(referenceMode);
+	}
+	
+	public static PersistenceObjectRegistry.Creator Creator()
+	{
+		return DefaultObjectRegistry::New;
+	}
+	
+	public static PersistenceObjectRegistry.Creator CreatorConcurrent()
+	{
+		return ConcurrentObjectRegistry::New;
+	}
+	
+	public static PersistenceObjectRegistry.Creator CreatorConcurrent(final int segmentCount)
+	{
+		ConcurrentObjectRegistry.validateSegmentCount(segmentCount);
+		
+		return () -> ConcurrentObjectRegistry.New(segmentCount);
+	}
+	
+	public static PersistenceObjectRegistry.Creator CreatorCompact(
+		final CompactObjectRegistry.ReferenceMode referenceMode
+	)
+	{
+		notNull(referenceMode);
+		
+		return () -> CompactObjectRegistry.New(referenceMode);
+	}
+	
+	@FunctionalInterface
+	public interface Creator
+	{
+		public PersistenceObjectRegistry createObjectRegistry();
+	}
+	
 }
@@ -20,12 +20,34 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+
 import one.microstream.persistence.exceptions.PersistenceExceptionTransfer;
 
 public interface PersistenceTarget<D> extends PersistenceWriteController
 {
 	public void write(D data) throws PersistenceExceptionTransfer;
 	
+	/**
+	 * Hands off the passed data to be written without waiting for the writing to be completed.
+	 * The passed data may not be modified until the returned {@link CompletableFuture} is completed.
+	 * <p>
+	 * By default, the data is written synchronously by calling {@link #write(Object)} and an already
+	 * completed {@link CompletableFuture} is returned.
+	 * 
+	 * @param data the data to be written.
+	 * 
+	 * @return a {@link CompletableFuture} that is completed when the data has been written.
+	 * 
+	 * @throws PersistenceExceptionTransfer if the data could not be handed off.
+	 */
+	public default CompletableFuture<Void> writeAsync(final D data) throws PersistenceExceptionTransfer
+	{
+		this.write(data);
+		
+		return CompletableFuture.completedFuture(null);
+	}
+	
 	/**
 	 * Prepare to write to this target. E.g. open a defined file.
 	 * 
@@ -59,6 +59,26 @@ public interface PersistenceTypeDictionaryManager extends PersistenceTypeDiction
 		}
 	}
 
+	public static void validateUnchanged(
+		final PersistenceTypeDictionary                     dictionary     ,
+		final Iterable<? extends PersistenceTypeDefinition> typeDefinitions
+	)
+	{
+		for(final PersistenceTypeDefinition td : typeDefinitions)
+		{
+			PersistenceTypeDictionary.validateTypeId(td);
+
+			// Only the TypeId is the unique identifier. The type name only identifies the TypeLineage.
+			final PersistenceTypeDefinition registered = dictionary.lookupTypeById(td.typeId());
+
+			// Any type definition (e.g. a custom TypeHandler) must match the (exact) description in the dictionary.
+			if(registered == null || !PersistenceTypeDescription.equalDescription(registered, td))
+			{
+				throw new UnsupportedOperationException("Read-only TypeDictionary cannot change.");
+			}
+		}
+	}
+
 
 	
 	
@@ -430,20 +450,96 @@ public interface PersistenceTypeDictionaryManager extends PersistenceTypeDiction
 			final Iterable<? extends PersistenceTypeDefinition> typeDefinitions
 		)
 		{
-			final PersistenceTypeDictionaryView typeDictionary = this.ensureTypeDictionary();
-			for(final PersistenceTypeDefinition td : typeDefinitions)
-			{
-				PersistenceTypeDictionary.validateTypeId(td);
-				
-				// Only the TypeId is the unique identifier. The type name only identifies the TypeLineage.
-				final PersistenceTypeDefinition registered = typeDictionary.lookupTypeById(td.typeId());
+			validateUnchanged(this.ensureTypeDictionary(), typeDefinitions);
+			
+			// no change required (no exception)
+			return false;
+		}
 
-				// Any type definition (e.g. a custom TypeHandler) must match the (exact) description in the dictionary.
-				if(registered == null || !PersistenceTypeDescription.equalDescription(registered, td))
-				{
-					throw new UnsupportedOperationException("Read-only TypeDictionary cannot change.");
-				}
-			}
+		@Override
+		public final synchronized boolean registerRuntimeTypeDefinition(
+			final PersistenceTypeDefinition typeDefinition
+		)
+		{
+			return this.registerTypeDefinition(typeDefinition);
+		}
+
+		@Override
+		public final synchronized boolean registerRuntimeTypeDefinitions(
+			final Iterable<? extends PersistenceTypeDefinition> typeDefinitions
+		)
+		{
+			return this.registerTypeDefinitions(typeDefinitions);
+		}
+		
+	}
+	
+	
+	
+	/**
+	 * Creates a manager that rejects any change to the type dictionary, just like {@link #Immutable}, but works
+	 * on the provided dictionary itself instead of an immutable view on it. This allows the dictionary to be
+	 * updated from the outside, e.g. by a process following the type definitions written by another process.
+	 * 
+	 * @param typeDictionaryProvider the provider for the type dictionary to be used.
+	 * 
+	 * @return a new read-only type dictionary manager.
+	 */
+	public static PersistenceTypeDictionaryManager ReadOnly(
+		final PersistenceTypeDictionaryProvider typeDictionaryProvider
+	)
+	{
+		return new PersistenceTypeDictionaryManager.ReadOnly(
+			notNull(typeDictionaryProvider)
+		);
+	}
+	
+	public final class ReadOnly extends PersistenceTypeDictionaryManager.Abstract<PersistenceTypeDictionary>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final PersistenceTypeDictionaryProvider typeDictionaryProvider;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		ReadOnly(final PersistenceTypeDictionaryProvider typeDictionaryProvider)
+		{
+			super();
+			this.typeDictionaryProvider = typeDictionaryProvider;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		protected PersistenceTypeDictionary internalProvideTypeDictionary()
+		{
+			return this.typeDictionaryProvider.provideTypeDictionary();
+		}
+
+		@Override
+		public final synchronized boolean registerTypeDefinition(
+			final PersistenceTypeDefinition typeDefinition
+		)
+		{
+			return this.registerTypeDefinitions(X.Constant(typeDefinition));
+		}
+
+		@Override
+		public final synchronized boolean registerTypeDefinitions(
+			final Iterable<? extends PersistenceTypeDefinition> typeDefinitions
+		)
+		{
+			validateUnchanged(this.ensureTypeDictionary(), typeDefinitions);
 			
 			// no change required (no exception)
 			return false;
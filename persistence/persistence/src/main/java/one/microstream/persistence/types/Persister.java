@@ -20,6 +20,9 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import one.microstream.reference.ObjectSwizzling;
 
 public interface Persister extends ObjectSwizzling, PersistenceStoring
@@ -48,6 +51,41 @@ public interface Persister extends ObjectSwizzling, PersistenceStoring
 	@Override
 	public void storeAll(Iterable<?> instances);
 
+	/**
+	 * Stores the passed instance like {@link #store(Object)}, but only waits until its data has been collected
+	 * and handed off to be persisted, not until the persisting itself is completed.
+	 * 
+	 * @param instance the root instance of the subgraph of required instances to be stored.
+	 * @param executor the {@link Executor} to complete the returned {@link CompletableFuture}.
+	 * 
+	 * @return a {@link CompletableFuture} that is completed with the object id representing the passed instance
+	 *         when the data has been persisted or completed exceptionally if the persisting failed.
+	 * 
+	 * @see Storer#commitAsync(Executor)
+	 */
+	public default CompletableFuture<Long> storeAsync(final Object instance, final Executor executor)
+	{
+		final Storer storer   = this.createStorer();
+		final long   objectId = storer.store(instance);
+		
+		return storer.commitAsync(executor).thenApply(size -> objectId);
+	}
+	
+	/**
+	 * Calls {@link #storeAsync(Object, Executor)} with the {@link Storer#defaultAsyncExecutor()}.
+	 * 
+	 * @param instance the root instance of the subgraph of required instances to be stored.
+	 * 
+	 * @return a {@link CompletableFuture} that is completed with the object id representing the passed instance
+	 *         when the data has been persisted or completed exceptionally if the persisting failed.
+	 * 
+	 * @see #storeAsync(Object, Executor)
+	 */
+	public default CompletableFuture<Long> storeAsync(final Object instance)
+	{
+		return this.storeAsync(instance, Storer.defaultAsyncExecutor());
+	}
+
 	
 	/**
 	 * Creates a new {@link Storer} instance with lazy storing behavior. This means an entity instance encountered
@@ -20,6 +20,10 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * A type extending the simple {@link PersistenceStoring} to enable stateful store handling.
  * This can be used to do what is generally called "transactions": preprocess data to be stored and then store
@@ -42,6 +46,65 @@ public interface Storer extends PersistenceStoring
 	 */
 	public Object commit();
 
+	/**
+	 * Ends the data collection process and hands off all collected data to be persisted without waiting
+	 * for the persisting to be completed. This allows the calling thread to already prepare the next unit of work
+	 * while the data is being written.
+	 * <p>
+	 * The persisting itself is as atomic as with {@link #commit()}. This {@link Storer} instance may not be used
+	 * again until the returned {@link CompletableFuture} is completed.<br>
+	 * The returned {@link CompletableFuture} is completed by the passed {@link Executor}, so neither the completion
+	 * of this {@link Storer} nor any dependent action occupies the threads performing the persisting.
+	 * <p>
+	 * Just like with {@link #commit()}, the collected instances are only registered in the global object registry
+	 * after the data has been persisted. The executor does that right before completing the returned
+	 * {@link CompletableFuture}, so the registration is visible to every thread that observes the completion
+	 * (e.g. via {@link CompletableFuture#join()} or a dependent action). Until then, the instances are only known
+	 * to this {@link Storer}. Other {@link Storer}s still find them there and do not store them again,
+	 * but a plain lookup in the object registry does not find them yet.
+	 * <p>
+	 * By default, this simply calls {@link #commit()} and returns an already completed {@link CompletableFuture}.
+	 *
+	 * @param executor the {@link Executor} to complete the returned {@link CompletableFuture}.
+	 *
+	 * @return a {@link CompletableFuture} that is completed with the amount of committed instances (see
+	 *         {@link #size()}) when all collected data has been persisted or completed exceptionally if the
+	 *         persisting failed.
+	 */
+	public default CompletableFuture<Long> commitAsync(final Executor executor)
+	{
+		final long size = this.size();
+		this.commit();
+
+		return CompletableFuture.completedFuture(size);
+	}
+
+	/**
+	 * Calls {@link #commitAsync(Executor)} with the {@link #defaultAsyncExecutor()}.
+	 *
+	 * @return a {@link CompletableFuture} that is completed with the amount of committed instances when all
+	 *         collected data has been persisted or completed exceptionally if the persisting failed.
+	 *
+	 * @see #commitAsync(Executor)
+	 */
+	public default CompletableFuture<Long> commitAsync()
+	{
+		return this.commitAsync(Storer.defaultAsyncExecutor());
+	}
+
+	/**
+	 * The {@link Executor} completing asynchronous commits if none is specified:
+	 * {@link ForkJoinPool#commonPool()}, the one {@link CompletableFuture} uses for its asynchronous methods, too.
+	 * The completion only merges the committed instances into the object registry, so it does not occupy
+	 * the pool for long. Dependent actions that block or take long should be run on a dedicated {@link Executor}.
+	 *
+	 * @return the default {@link Executor} for {@link #commitAsync()}.
+	 */
+	public static Executor defaultAsyncExecutor()
+	{
+		return ForkJoinPool.commonPool();
+	}
+
 	/**
 	 * Clears all internal state regarding collected data and/or registered skips.
 	 */
@@ -0,0 +1,250 @@
+package one.microstream.persistence.internal;
+
+/*-
+ * #%L
+ * microstream-persistence
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyObject;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyObjectId;
+import one.microstream.persistence.internal.CompactObjectRegistry.ReferenceMode;
+import one.microstream.reference.Swizzling;
+
+
+public class CompactObjectRegistryTest
+{
+	static final int  ENTRY_COUNT = 10_000;
+	static final long FIRST_ID    = 1_000_000_000_000_000_000L;
+
+	/**
+	 * Runs the JVM garbage collection until a weakly referenced sentinel is collected.
+	 */
+	private static void collectJvmGarbage()
+	{
+		final WeakReference<Object> sentinel = new WeakReference<>(new Object());
+		while(sentinel.get() != null)
+		{
+			System.gc();
+		}
+	}
+
+	private static ArrayList<Object> register(final CompactObjectRegistry registry, final int count)
+	{
+		final ArrayList<Object> objects = new ArrayList<>(count);
+		for(int i = 0; i < count; i++)
+		{
+			final Object object = new int[]{i};
+			assertTrue(registry.registerObject(FIRST_ID + i, object));
+			objects.add(object);
+		}
+
+		return objects;
+	}
+
+	private static void assertRegistered(final CompactObjectRegistry registry, final ArrayList<Object> objects)
+	{
+		for(int i = 0; i < objects.size(); i++)
+		{
+			if(objects.get(i) == null)
+			{
+				continue;
+			}
+			assertTrue(registry.containsObjectId(FIRST_ID + i));
+			assertSame(objects.get(i), registry.lookupObject(FIRST_ID + i));
+			assertEquals(FIRST_ID + i, registry.lookupObjectId(objects.get(i)));
+		}
+	}
+
+	@Test
+	public void defaultModeHasTheSemanticsOfTheDefaultRegistry()
+	{
+		assertEquals(ReferenceMode.WEAK, CompactObjectRegistry.defaultReferenceMode());
+		assertEquals(ReferenceMode.WEAK, CompactObjectRegistry.New().referenceMode());
+	}
+
+	@Test
+	public void registeredObjectsAreFoundInEveryMode()
+	{
+		for(final ReferenceMode mode : ReferenceMode.values())
+		{
+			final CompactObjectRegistry registry = CompactObjectRegistry.New(mode);
+			final ArrayList<Object>     objects  = register(registry, ENTRY_COUNT);
+
+			assertEquals(ENTRY_COUNT, registry.size(), mode.name());
+			assertTrue(registry.capacity() >= ENTRY_COUNT, mode.name());
+			assertRegistered(registry, objects);
+
+			assertFalse(registry.containsObjectId(FIRST_ID - 1));
+			assertNull(registry.lookupObject(FIRST_ID - 1));
+			assertEquals(Swizzling.notFoundId(), registry.lookupObjectId(new Object()));
+		}
+	}
+
+	@Test
+	public void registeringIsConsistentInEveryMode()
+	{
+		for(final ReferenceMode mode : ReferenceMode.values())
+		{
+			final CompactObjectRegistry registry = CompactObjectRegistry.New(mode);
+			final ArrayList<Object>     objects  = register(registry, 10);
+			final Object                other    = new Object();
+
+			// the same entry again is no change, a different object for the same id or vice versa is rejected.
+			assertFalse(registry.registerObject(FIRST_ID, objects.get(0)));
+			assertThrows(PersistenceExceptionConsistencyObject.class, () -> registry.registerObject(FIRST_ID, other));
+			assertThrows(
+				PersistenceExceptionConsistencyObjectId.class,
+				() -> registry.registerObject(FIRST_ID - 1, objects.get(0))
+			);
+			assertSame(objects.get(1), registry.optionalRegisterObject(FIRST_ID + 1, other));
+			assertTrue(registry.isValid(FIRST_ID + 2, objects.get(2)));
+			assertFalse(registry.isValid(FIRST_ID + 2, other));
+			assertEquals(10, registry.size(), mode.name());
+		}
+	}
+
+	@Test
+	public void consolidationKeepsTheReferencedObjectsInEveryMode()
+	{
+		for(final ReferenceMode mode : ReferenceMode.values())
+		{
+			final CompactObjectRegistry registry = CompactObjectRegistry.New(mode);
+			final ArrayList<Object>     objects  = register(registry, ENTRY_COUNT);
+
+			registry.consolidate();
+			assertEquals(ENTRY_COUNT, registry.size(), mode.name());
+			assertRegistered(registry, objects);
+
+			final AtomicLong count = new AtomicLong();
+			registry.iterateEntries((objectId, object) ->
+			{
+				assertSame(objects.get((int)(objectId - FIRST_ID)), object);
+				count.incrementAndGet();
+			});
+			assertEquals(ENTRY_COUNT, count.get(), mode.name());
+		}
+	}
+
+	@Test
+	public void clearingKeepsOnlyTheConstantsInEveryMode()
+	{
+		for(final ReferenceMode mode : ReferenceMode.values())
+		{
+			final CompactObjectRegistry registry = CompactObjectRegistry.New(mode);
+			final Object                constant = new Object();
+			registry.registerConstant(1, constant);
+			final ArrayList<Object> objects = register(registry, ENTRY_COUNT);
+
+			registry.clear();
+			assertEquals(1, registry.size(), mode.name());
+			assertSame(constant, registry.lookupObject(1));
+			assertNull(registry.lookupObject(FIRST_ID));
+
+			registry.truncate();
+			assertSame(constant, registry.lookupObject(1));
+
+			// the former objects can be registered under new ids after clearing.
+			assertTrue(registry.registerObject(FIRST_ID - 1, objects.get(0)));
+
+			registry.clearAll();
+			assertTrue(registry.isEmpty(), mode.name());
+			assertNull(registry.lookupObject(1));
+		}
+	}
+
+	@Test
+	public void weaklyRegisteredObjectsAreReclaimed()
+	{
+		final CompactObjectRegistry registry = CompactObjectRegistry.New(ReferenceMode.WEAK);
+		final ArrayList<Object>     objects  = register(registry, ENTRY_COUNT);
+
+		// only every tenth object stays referenced by the application.
+		for(int i = 0; i < objects.size(); i++)
+		{
+			if(i % 10 != 0)
+			{
+				objects.set(i, null);
+			}
+		}
+		collectJvmGarbage();
+
+		assertNull(registry.lookupObject(FIRST_ID + 1));
+		assertRegistered(registry, objects);
+
+		// the orphans keep their positions until consolidation.
+		assertEquals(ENTRY_COUNT, registry.size());
+		final long capacity = registry.capacity();
+		assertTrue(registry.consolidate());
+		assertEquals(ENTRY_COUNT / 10, registry.size());
+		assertTrue(registry.capacity() < capacity);
+		assertRegistered(registry, objects);
+	}
+
+	@Test
+	public void orphanPositionsAreReused()
+	{
+		final CompactObjectRegistry registry = CompactObjectRegistry.New(ReferenceMode.WEAK);
+		final ArrayList<Object>     objects  = register(registry, 100);
+		objects.set(5, null);
+		collectJvmGarbage();
+		assertNull(registry.lookupObject(FIRST_ID + 5));
+
+		// a reloaded object gets the orphan's position.
+		final Object reloaded = new int[]{5};
+		assertTrue(registry.registerObject(FIRST_ID + 5, reloaded));
+		objects.set(5, reloaded);
+		assertEquals(100, registry.size());
+		assertRegistered(registry, objects);
+	}
+
+	@Test
+	public void softlyAndStronglyRegisteredObjectsAreRetained()
+	{
+		for(final ReferenceMode mode : new ReferenceMode[]{ReferenceMode.SOFT, ReferenceMode.STRONG})
+		{
+			final CompactObjectRegistry registry = CompactObjectRegistry.New(mode);
+			register(registry, ENTRY_COUNT);
+
+			// without memory shortage, soft references are not cleared by the JVM garbage collection.
+			collectJvmGarbage();
+			registry.consolidate();
+
+			assertEquals(ENTRY_COUNT, registry.size(), mode.name());
+			for(int i = 0; i < ENTRY_COUNT; i++)
+			{
+				final int[] object = (int[])registry.lookupObject(FIRST_ID + i);
+				assertEquals(i, object[0], mode.name());
+				assertEquals(FIRST_ID + i, registry.lookupObjectId(object));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,151 @@
+package one.microstream.persistence.internal;
+
+/*-
+ * #%L
+ * microstream-persistence
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import one.microstream.persistence.types.Persistence;
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+import one.microstream.reference.Swizzling;
+
+
+public class ConcurrentObjectRegistryTest
+{
+	static final int THREAD_COUNT   = 8   ;
+	static final int ENTRY_COUNT    = 1000;
+	static final int CONSTANT_COUNT = 10  ;
+	static final int CLEAR_COUNT    = 200 ;
+
+	@Test
+	void defaultRegistryClearingIsAtomicForLookups() throws InterruptedException
+	{
+		assertAtomicClearing(PersistenceObjectRegistry.New());
+	}
+
+	@Test
+	void concurrentRegistryClearingIsAtomicForLookups() throws InterruptedException
+	{
+		assertAtomicClearing(PersistenceObjectRegistry.NewConcurrent());
+	}
+
+	private static void assertAtomicClearing(final PersistenceObjectRegistry registry) throws InterruptedException
+	{
+		final Object[] constants = new Object[CONSTANT_COUNT];
+		for(int i = 0; i < CONSTANT_COUNT; i++)
+		{
+			registry.registerConstant(constantId(i), constants[i] = new Object());
+		}
+
+		final Object[] entries = new Object[ENTRY_COUNT];
+		for(int i = 0; i < ENTRY_COUNT; i++)
+		{
+			entries[i] = new Object();
+		}
+		registerEntries(registry, entries);
+
+		final AtomicReference<Throwable> problem  = new AtomicReference<>();
+		final ArrayList<Thread>          threads  = new ArrayList<>();
+		final AtomicBoolean              clearing = new AtomicBoolean(true);
+		for(int t = 0; t < THREAD_COUNT; t++)
+		{
+			threads.add(new Thread(() ->
+			{
+				try
+				{
+					for(int i = 0; clearing.get(); i = (i + 1) % ENTRY_COUNT)
+					{
+						// the constants are never missing, the other entries are either registered or not at all.
+						final int c = i % CONSTANT_COUNT;
+						assertEquals(constantId(c), registry.lookupObjectId(constants[c]));
+						assertSame(constants[c], registry.lookupObject(constantId(c)));
+
+						final long objectId = registry.lookupObjectId(entries[i]);
+						if(objectId != Swizzling.notFoundId())
+						{
+							assertEquals(entryId(i), objectId);
+						}
+						final Object entry = registry.lookupObject(entryId(i));
+						if(entry != null)
+						{
+							assertSame(entries[i], entry);
+						}
+					}
+				}
+				catch(final Throwable e)
+				{
+					problem.compareAndSet(null, e);
+				}
+			}));
+		}
+		for(final Thread thread : threads)
+		{
+			thread.start();
+		}
+
+		for(int i = 0; i < CLEAR_COUNT && problem.get() == null; i++)
+		{
+			if(i % 2 == 0)
+			{
+				registry.clear();
+			}
+			else
+			{
+				registry.truncate();
+			}
+			registerEntries(registry, entries);
+		}
+		clearing.set(false);
+
+		for(final Thread thread : threads)
+		{
+			thread.join();
+		}
+		assertNull(problem.get());
+		assertEquals(CONSTANT_COUNT + ENTRY_COUNT, registry.size());
+	}
+
+	private static void registerEntries(final PersistenceObjectRegistry registry, final Object[] entries)
+	{
+		for(int i = 0; i < entries.length; i++)
+		{
+			registry.registerObject(entryId(i), entries[i]);
+		}
+	}
+
+	private static long constantId(final int index)
+	{
+		return Persistence.defaultStartConstantId() + index;
+	}
+
+	private static long entryId(final int index)
+	{
+		return Persistence.defaultStartObjectId() + index;
+	}
+
+}
@@ -0,0 +1,338 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import one.microstream.persistence.types.PersistenceTypeDictionaryExporter;
+import one.microstream.storage.types.StorageChannelCountProvider;
+import one.microstream.storage.types.StorageConfiguration;
+import one.microstream.storage.types.StorageConnection;
+import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageHousekeepingLoad;
+import one.microstream.storage.types.StorageSnapshot;
+
+
+/**
+ * Tool to redistribute the entities of a storage to a different channel count, e.g. to use more channels after
+ * moving to a machine with more cores.<br>
+ * Since entities are assigned to channels by their object id, a changed {@link StorageChannelCountProvider}
+ * requires all data and transactions files to be rewritten for the new channel layout. This is done by
+ * re-partitioning the source's live entities directly into a new target storage:
+ * <ul>
+ * <li>A {@link StorageSnapshot} including the live entities of every data file is captured in the source,
+ * which only takes as long as collecting the entities' positions in every source channel.</li>
+ * <li>A reader thread per source channel assigns the captured entities to their target channels and every
+ * target channel copies its share of the entities from the source's live files, all in parallel, see
+ * {@link StorageConnection#importSnapshot(StorageSnapshot)}. The source continues working meanwhile.</li>
+ * <li>The source is shut down. Anything stored in it after capturing the snapshot is appended to its
+ * files and is transferred as well, see
+ * {@link StorageConnection#importAppendedData(StorageSnapshot, one.microstream.storage.types.StorageFileProvider)}.
+ * </li>
+ * </ul>
+ * Only live entities are copied, so no intermediate files are required and the target does not contain the
+ * garbage of the source's files.
+ * <p>
+ * A rebalancing can start from a stopped source via {@link #rebalance(EmbeddedStorageFoundation,
+ * EmbeddedStorageFoundation)} or from a running one via {@link #rebalanceRunning(EmbeddedStorageManager,
+ * EmbeddedStorageFoundation)}, where the source keeps serving requests until the bulk of the data is transferred.
+ * Either way, both storages are shut down afterwards and the target has to be started in place of the source.
+ * <p>
+ * The target is started with its storage-level garbage collection disabled, see
+ * {@link StorageHousekeepingController#isGarbageCollectionEnabled()}. It does not know which objects are held
+ * by the source's application and could delete entities that are only partly imported or referenced again by
+ * data stored after capturing the snapshot.
+ */
+public interface EmbeddedStorageChannelRebalancer
+{
+	/**
+	 * Transfers the data of the running source storage into the new, empty target storage defined by the passed
+	 * {@link EmbeddedStorageFoundation}, which is started for the import and shut down afterwards.<br>
+	 * The source storage keeps serving requests while the bulk of its data is transferred. Then it is shut down,
+	 * so that everything stored in it up to that point is transferred as well. Storing afterwards fails, the
+	 * target has to be started in place of the source.
+	 * 
+	 * @param source the running source storage, which is shut down by the rebalancing.
+	 * @param target the foundation defining the target storage, most notably its channel count.
+	 */
+	public void rebalanceRunning(
+		EmbeddedStorageManager       source,
+		EmbeddedStorageFoundation<?> target
+	);
+	
+	/**
+	 * Starts the source storage and transfers its data like {@link #rebalanceRunning(EmbeddedStorageManager,
+	 * EmbeddedStorageFoundation)}.
+	 * 
+	 * @param source the foundation defining the existing source storage.
+	 * @param target the foundation defining the target storage, most notably its channel count.
+	 */
+	public default void rebalance(
+		final EmbeddedStorageFoundation<?> source,
+		final EmbeddedStorageFoundation<?> target
+	)
+	{
+		final EmbeddedStorageManager sourceStorage = source.start();
+		try
+		{
+			this.rebalanceRunning(sourceStorage, target);
+		}
+		finally
+		{
+			// a failed rebalancing does not shut down the source
+			if(sourceStorage.isRunning())
+			{
+				sourceStorage.shutdown();
+			}
+		}
+	}
+	
+	
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link EmbeddedStorageChannelRebalancer} instance that performs
+	 * a full garbage collection on the source storage before transferring its data.
+	 * 
+	 * @return a new {@link EmbeddedStorageChannelRebalancer} instance.
+	 */
+	public static EmbeddedStorageChannelRebalancer New()
+	{
+		return New(true);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link EmbeddedStorageChannelRebalancer} instance.
+	 * 
+	 * @param performGarbageCollection whether a full garbage collection shall be performed on the source storage
+	 *        before transferring its data, so that only reachable entities are transferred.
+	 * 
+	 * @return a new {@link EmbeddedStorageChannelRebalancer} instance.
+	 */
+	public static EmbeddedStorageChannelRebalancer New(final boolean performGarbageCollection)
+	{
+		return new EmbeddedStorageChannelRebalancer.Default(
+			performGarbageCollection
+		);
+	}
+
+	public final class Default implements EmbeddedStorageChannelRebalancer
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final boolean performGarbageCollection;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final boolean performGarbageCollection)
+		{
+			super();
+			this.performGarbageCollection = performGarbageCollection;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public void rebalanceRunning(
+			final EmbeddedStorageManager       source,
+			final EmbeddedStorageFoundation<?> target
+		)
+		{
+			if(this.performGarbageCollection)
+			{
+				source.issueFullGarbageCollection();
+			}
+			
+			// the target must use the source's type ids, so the dictionary has to be present before starting it.
+			PersistenceTypeDictionaryExporter.New(target.getConnectionFoundation().getTypeDictionaryStorer())
+				.exportTypeDictionary(source.persistenceManager().typeDictionary())
+			;
+			
+			/*
+			 * Starting the empty target stores a new roots instance with the lowest assignable object id.
+			 * The source's roots instance can only have the same or a higher object id, so the new one is either
+			 * replaced by the imported roots instance or never selected as the root and collected as garbage.
+			 */
+			final EmbeddedStorageManager targetStorage = startWithoutGarbageCollection(target);
+			try
+			{
+				final StorageSnapshot snapshot = source.captureSnapshot(true);
+				try
+				{
+					// types registered in the source since the export are required to import the snapshot.
+					registerSourceTypes(source, target);
+					
+					// the import redistributes the entities to the target's channels by their object id.
+					targetStorage.importSnapshot(snapshot);
+				}
+				finally
+				{
+					snapshot.release();
+				}
+				
+				// from here on, nothing can be stored in the source anymore and its files stay as they are.
+				source.shutdown();
+				
+				// types registered in the source during the import are required to import the data appended meanwhile.
+				registerSourceTypes(source, target);
+				targetStorage.importAppendedData(snapshot, source.configuration().fileProvider());
+			}
+			finally
+			{
+				targetStorage.shutdown();
+			}
+		}
+		
+		private static void registerSourceTypes(
+			final EmbeddedStorageManager       source,
+			final EmbeddedStorageFoundation<?> target
+		)
+		{
+			// the dictionary is queried anew every time, so no outdated instance can be used.
+			target.getConnectionFoundation().getTypeDictionaryManager().registerTypeDefinitions(
+				source.persistenceManager().typeDictionary().allTypeDefinitions().values()
+			);
+		}
+		
+		private static EmbeddedStorageManager startWithoutGarbageCollection(final EmbeddedStorageFoundation<?> target)
+		{
+			final StorageConfiguration configuration = target.getConfiguration();
+			target.setConfiguration(StorageConfiguration.New(
+				configuration.channelCountProvider()                                 ,
+				new GarbageCollectionDisabled(configuration.housekeepingController()),
+				configuration.fileProvider()                                         ,
+				configuration.dataFileEvaluator()                                    ,
+				configuration.entityCacheEvaluator()                                 ,
+				configuration.backupSetup()
+			));
+			try
+			{
+				return target.start();
+			}
+			finally
+			{
+				// the garbage collection is determined when the storage is created, the foundation is left as it was.
+				target.setConfiguration(configuration);
+			}
+		}
+
+	}
+	
+	/**
+	 * Keeps all settings of the wrapped {@link StorageHousekeepingController}, but disables the garbage collection.
+	 */
+	final class GarbageCollectionDisabled implements StorageHousekeepingController
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageHousekeepingController delegate;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		GarbageCollectionDisabled(final StorageHousekeepingController delegate)
+		{
+			super();
+			this.delegate = delegate;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long housekeepingIntervalMs()
+		{
+			return this.delegate.housekeepingIntervalMs();
+		}
+
+		@Override
+		public final long housekeepingTimeBudgetNs()
+		{
+			return this.delegate.housekeepingTimeBudgetNs();
+		}
+
+		@Override
+		public final long garbageCollectionTimeBudgetNs()
+		{
+			return this.delegate.garbageCollectionTimeBudgetNs();
+		}
+
+		@Override
+		public final long liveCheckTimeBudgetNs()
+		{
+			return this.delegate.liveCheckTimeBudgetNs();
+		}
+
+		@Override
+		public final long fileCheckTimeBudgetNs()
+		{
+			return this.delegate.fileCheckTimeBudgetNs();
+		}
+
+		@Override
+		public final long housekeepingTimeBudgetNs(final StorageHousekeepingLoad load)
+		{
+			return this.delegate.housekeepingTimeBudgetNs(load);
+		}
+
+		@Override
+		public final long garbageCollectionTimeBudgetNs(final StorageHousekeepingLoad load)
+		{
+			return this.delegate.garbageCollectionTimeBudgetNs(load);
+		}
+
+		@Override
+		public final long liveCheckTimeBudgetNs(final StorageHousekeepingLoad load)
+		{
+			return this.delegate.liveCheckTimeBudgetNs(load);
+		}
+
+		@Override
+		public final long fileCheckTimeBudgetNs(final StorageHousekeepingLoad load)
+		{
+			return this.delegate.fileCheckTimeBudgetNs(load);
+		}
+
+		@Override
+		public final boolean isGarbageCollectionEnabled()
+		{
+			return false;
+		}
+
+	}
+
+}
@@ -194,7 +194,9 @@ extends BinaryPersistenceFoundation<F>
 		{
 			return BinaryStorer.Creator(
 				this.getStorageSystem().channelCountProvider(),
-				this.isByteOrderMismatch()
+				this.isByteOrderMismatch(),
+				null,
+				this.getEntityFingerprints()
 			);
 		}
 
@@ -23,15 +23,20 @@ package one.microstream.storage.embedded.types;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import one.microstream.collections.BulkList;
+import one.microstream.collections.HashEnum;
 import one.microstream.exceptions.MissingFoundationPartException;
 import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.BinaryEntityFingerprints;
 import one.microstream.persistence.types.Persistence;
 import one.microstream.persistence.types.PersistenceFoundation;
 import one.microstream.persistence.types.PersistenceObjectIdProvider;
 import one.microstream.persistence.types.PersistenceRefactoringMappingProvider;
 import one.microstream.persistence.types.PersistenceRootResolverProvider;
 import one.microstream.persistence.types.PersistenceRootsProvider;
+import one.microstream.persistence.types.PersistenceTypeDefinition;
 import one.microstream.persistence.types.PersistenceTypeDictionary;
+import one.microstream.persistence.types.PersistenceTypeDictionaryManager;
 import one.microstream.persistence.types.PersistenceTypeEvaluator;
 import one.microstream.persistence.types.PersistenceTypeHandler;
 import one.microstream.persistence.types.PersistenceTypeHandlerManager;
@@ -42,6 +47,7 @@ import one.microstream.storage.types.Databases;
 import one.microstream.storage.types.StorageChannelsCreator;
 import one.microstream.storage.types.StorageConfiguration;
 import one.microstream.storage.types.StorageDataChunkValidator;
+import one.microstream.storage.types.StorageEntityDeletionHandler;
 import one.microstream.storage.types.StorageFoundation;
 import one.microstream.storage.types.StorageLiveFileProvider;
 import one.microstream.storage.types.StorageManager;
@@ -53,6 +59,7 @@ import one.microstream.storage.types.StorageSystem;
 import one.microstream.storage.types.StorageTaskBroker;
 import one.microstream.storage.types.StorageTimestampProvider;
 import one.microstream.storage.types.StorageTypeDictionary;
+import one.microstream.storage.types.StorageTypeDictionaryUpdater;
 import one.microstream.storage.types.StorageWriteController;
 
 
@@ -735,6 +742,18 @@ public interface EmbeddedStorageFoundation<F extends EmbeddedStorageFoundation<?
 			};
 		}
 
+		@Override
+		protected StorageEntityDeletionHandler ensureEntityDeletionHandler()
+		{
+			// fingerprints assume their entities to exist, so entities deleted by the storage must be stored again.
+			final BinaryEntityFingerprints fingerprints = this.getConnectionFoundation().getEntityFingerprints();
+			
+			return fingerprints == null
+				? StorageEntityDeletionHandler.NoOp()
+				: fingerprints::remove
+			;
+		}
+
 		@Override
 		public F executeTypeHandlerRegistration(final PersistenceTypeHandlerRegistration<Binary> typeHandlerRegistration)
 		{
@@ -776,6 +795,11 @@ public interface EmbeddedStorageFoundation<F extends EmbeddedStorageFoundation<?
 			final Database database = this.ensureDatabase();
 
 			final EmbeddedStorageConnectionFoundation<?> ecf = this.getConnectionFoundation();
+			
+			if(this.getFollowerSetup().isEnabled())
+			{
+				initializeFollower(ecf, this.getWriteController());
+			}
 
 			// explicit root must be registered at the rootResolverProvider.
 			if(root != null)
@@ -810,6 +834,56 @@ public interface EmbeddedStorageFoundation<F extends EmbeddedStorageFoundation<?
 			return esm;
 		}
 
+		private static void initializeFollower(
+			final EmbeddedStorageConnectionFoundation<?> ecf            ,
+			final StorageWriteController                 writeController
+		)
+		{
+			// a follower may neither store entities nor type definitions, both are written by the followed process.
+			ecf.setWriteController(writeController);
+			ecf.setTypeDictionaryManager(PersistenceTypeDictionaryManager.ReadOnly(ecf.getTypeDictionaryProvider()));
+		}
+		
+		@Override
+		protected StorageTypeDictionaryUpdater ensureTypeDictionaryUpdater()
+		{
+			final EmbeddedStorageConnectionFoundation<?> ecf = this.getConnectionFoundation();
+			
+			return () ->
+				updateTypeDictionary(ecf)
+			;
+		}
+		
+		private static boolean updateTypeDictionary(final EmbeddedStorageConnectionFoundation<?> ecf)
+		{
+			final PersistenceTypeDictionary ptd    = ecf.getTypeDictionaryManager().provideTypeDictionary();
+			final PersistenceTypeDictionary loaded = ecf.getTypeDictionaryCompiler().compileTypeDictionary(
+				ecf.getTypeDictionaryLoader().loadTypeDictionary()
+			);
+			
+			// the followed process only ever adds type definitions, existing ones never change.
+			final BulkList<PersistenceTypeDefinition> newTypeDefinitions = BulkList.New();
+			final HashEnum<Long>                      newTypeIds         = HashEnum.New();
+			for(final PersistenceTypeDefinition typeDefinition : loaded.allTypeDefinitions().values())
+			{
+				if(ptd.lookupTypeById(typeDefinition.typeId()) == null)
+				{
+					newTypeDefinitions.add(typeDefinition);
+					newTypeIds.add(typeDefinition.typeId());
+				}
+			}
+			if(newTypeDefinitions.isEmpty())
+			{
+				return false;
+			}
+			
+			// registering in the persistence layer's dictionary registers them in the storage layer's, too.
+			ptd.registerTypeDefinitions(newTypeDefinitions);
+			ecf.getTypeHandlerManager().ensureTypeHandlersByTypeIds(newTypeIds);
+			
+			return true;
+		}
+
 		private static void initializeTypeDictionary(
 			final StorageSystem                         stm,
 			final EmbeddedStorageConnectionFoundation<?> ecf
@@ -51,11 +51,15 @@ import one.microstream.storage.types.StorageEntityCacheEvaluator;
 import one.microstream.storage.types.StorageEntityTypeExportFileProvider;
 import one.microstream.storage.types.StorageEntityTypeExportStatistics;
 import one.microstream.storage.types.StorageEntityTypeHandler;
+import one.microstream.storage.types.StorageFileProvider;
+import one.microstream.storage.types.StorageGarbageCollectionStatistics;
 import one.microstream.storage.types.StorageIdAnalysis;
 import one.microstream.storage.types.StorageKillable;
 import one.microstream.storage.types.StorageLiveFileProvider;
 import one.microstream.storage.types.StorageManager;
+import one.microstream.storage.types.StorageMetrics;
 import one.microstream.storage.types.StorageRawFileStatistics;
+import one.microstream.storage.types.StorageSnapshot;
 import one.microstream.storage.types.StorageSystem;
 import one.microstream.storage.types.StorageTypeDictionary;
 import one.microstream.typing.KeyValue;
@@ -372,6 +376,12 @@ public interface EmbeddedStorageManager extends StorageManager
 				}
 			}
 			
+			if(!this.connectionFoundation.getWriteController().isStoringEnabled())
+			{
+				// e.g. a follower, whose roots are only ever stored by the followed process.
+				return;
+			}
+			
 			// any other case than a perfectly synchronous loaded roots instance needs to store
 			initConnection.store(loadedRoots);
 		}
@@ -431,6 +441,12 @@ public interface EmbeddedStorageManager extends StorageManager
 			return this.storageSystem.typeDictionary();
 		}
 
+		@Override
+		public final StorageMetrics metrics()
+		{
+			return this.storageSystem.metrics();
+		}
+
 		@Override
 		public final StorageConnection createConnection()
 		{
@@ -461,6 +477,12 @@ public interface EmbeddedStorageManager extends StorageManager
 			return this.singletonConnection().issueGarbageCollection(nanoTimeBudget);
 		}
 
+		@Override
+		public final StorageGarbageCollectionStatistics issueParallelFullGarbageCollection(final int workerCount)
+		{
+			return this.singletonConnection().issueParallelFullGarbageCollection(workerCount);
+		}
+
 		@Override
 		public final void issueFullFileCheck()
 		{
@@ -509,6 +531,15 @@ public interface EmbeddedStorageManager extends StorageManager
 			this.singletonConnection().issueFullBackup(targetFileProvider, typeDictionaryExporter);
 		}
 		
+		@Override
+		public final void exportSnapshot(
+			final StorageLiveFileProvider           targetFileProvider    ,
+			final PersistenceTypeDictionaryExporter typeDictionaryExporter
+		)
+		{
+			this.singletonConnection().exportSnapshot(targetFileProvider, typeDictionaryExporter);
+		}
+		
 		@Override
 		public final StorageRawFileStatistics createStorageStatistics()
 		{
@@ -538,6 +569,24 @@ public interface EmbeddedStorageManager extends StorageManager
 		{
 			this.singletonConnection().importFiles(importFiles);
 		}
+
+		@Override
+		public final StorageSnapshot captureSnapshot(final boolean includeEntities)
+		{
+			return this.singletonConnection().captureSnapshot(includeEntities);
+		}
+
+		@Override
+		public final void importSnapshot(final StorageSnapshot snapshot)
+		{
+			this.singletonConnection().importSnapshot(snapshot);
+		}
+
+		@Override
+		public final void importAppendedData(final StorageSnapshot snapshot, final StorageFileProvider fileProvider)
+		{
+			this.singletonConnection().importAppendedData(snapshot, fileProvider);
+		}
 		
 
 		
@@ -0,0 +1,341 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.persistence.types.PersistenceTypeDictionaryExporter;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageConfiguration;
+import one.microstream.storage.types.StorageSnapshot;
+
+
+public class EmbeddedStorageChannelRebalancerTest
+{
+	@TempDir
+	Path directory;
+	
+	static class Item
+	{
+		final String name  ;
+		final int[]  values;
+		
+		Item(final int index)
+		{
+			super();
+			this.name   = "item" + index;
+			this.values = new int[]{index, -index, index * 2};
+		}
+		
+	}
+	
+	/**
+	 * Only stored once a rebalancing is running, so its type is not part of the source's initial dictionary.
+	 */
+	static final class TaggedItem extends Item
+	{
+		final String tag;
+		
+		TaggedItem(final int index)
+		{
+			super(index);
+			this.tag = "tag" + index;
+		}
+		
+	}
+	
+	private EmbeddedStorageFoundation<?> foundation(final String name, final int channelCount)
+	{
+		return EmbeddedStorage.Foundation(
+			configuration(this.directory.resolve(name))
+				.setChannelCountProvider(Storage.ChannelCountProvider(channelCount))
+				.createConfiguration()
+		);
+	}
+	
+	private static ArrayList<Item> createItems(final int count)
+	{
+		final ArrayList<Item> items = new ArrayList<>();
+		for(int i = 0; i < count; i++)
+		{
+			items.add(new Item(i));
+		}
+		
+		return items;
+	}
+	
+	private void createSource(final int channelCount, final int itemCount)
+	{
+		final EmbeddedStorageManager source = this.foundation("source", channelCount).start();
+		try
+		{
+			source.setRoot(createItems(itemCount));
+			source.storeRoot();
+		}
+		finally
+		{
+			source.shutdown();
+		}
+	}
+	
+	private void assertItems(final String name, final int channelCount, final int itemCount)
+	{
+		final EmbeddedStorageManager storage = this.foundation(name, channelCount).start();
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<Item> items = (ArrayList<Item>)storage.root();
+			assertEquals(itemCount, items.size());
+			for(int i = 0; i < itemCount; i++)
+			{
+				assertEquals("item" + i, items.get(i).name);
+				assertArrayEquals(new int[]{i, -i, i * 2}, items.get(i).values);
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+	private void assertChannelDirectories(final String name, final int channelCount)
+	{
+		for(int i = 0; i < channelCount; i++)
+		{
+			assertTrue(Files.isDirectory(this.directory.resolve(name).resolve("channel_" + i)));
+		}
+		assertTrue(Files.notExists(this.directory.resolve(name).resolve("channel_" + channelCount)));
+	}
+	
+	@Test
+	public void rebalancingToMoreChannels()
+	{
+		this.createSource(1, 5000);
+		
+		EmbeddedStorageChannelRebalancer.New().rebalance(
+			this.foundation("source", 1),
+			this.foundation("target", 4)
+		);
+		
+		this.assertChannelDirectories("target", 4);
+		this.assertItems("target", 4, 5000);
+	}
+	
+	@Test
+	public void rebalancingKeepsTheTargetFoundationsConfiguration()
+	{
+		this.createSource(1, 100);
+		
+		final EmbeddedStorageFoundation<?> target        = this.foundation("target", 2);
+		final StorageConfiguration         configuration = target.getConfiguration();
+		
+		// the target is started without garbage collection, but the foundation is left as it was.
+		EmbeddedStorageChannelRebalancer.New().rebalance(this.foundation("source", 1), target);
+		
+		assertSame(configuration, target.getConfiguration());
+		this.assertItems("target", 2, 100);
+	}
+	
+	@Test
+	public void rebalancingToLessChannels()
+	{
+		this.createSource(4, 5000);
+		
+		EmbeddedStorageChannelRebalancer.New(false).rebalance(
+			this.foundation("source", 4),
+			this.foundation("target", 2)
+		);
+		
+		this.assertChannelDirectories("target", 2);
+		this.assertItems("target", 2, 5000);
+	}
+	
+	@Test
+	public void runningRebalancingTransfersEverythingStoredBeforeTheSourceIsShutDown() throws Exception
+	{
+		this.createSource(2, 5000);
+		
+		final EmbeddedStorageManager source = this.foundation("source", 2).start();
+		@SuppressWarnings("unchecked")
+		final ArrayList<Item> items = (ArrayList<Item>)source.root();
+		
+		// stores new items until the rebalancing shuts down the source.
+		final AtomicInteger storedCount = new AtomicInteger(items.size());
+		final Thread writer = new Thread(() ->
+		{
+			try
+			{
+				while(true)
+				{
+					items.add(new Item(items.size()));
+					source.store(items);
+					storedCount.incrementAndGet();
+				}
+			}
+			catch(final RuntimeException e)
+			{
+				// storing fails as soon as the source is shut down
+			}
+		});
+		writer.start();
+		
+		try
+		{
+			EmbeddedStorageChannelRebalancer.New(false).rebalanceRunning(source, this.foundation("target", 8));
+		}
+		finally
+		{
+			// only running if the rebalancing failed
+			if(source.isRunning())
+			{
+				source.shutdown();
+			}
+			writer.join();
+		}
+		
+		// the item added by the failed store is not part of the source's data.
+		this.assertItems("target", 8, storedCount.get());
+	}
+	
+	@Test
+	public void typesRegisteredInTheRunningSourceDuringTheRebalancingAreTransferred() throws Exception
+	{
+		this.createSource(2, 5000);
+		
+		final Path                   targetDirectory = this.directory.resolve("target");
+		final EmbeddedStorageManager source          = this.foundation("source", 2).start();
+		@SuppressWarnings("unchecked")
+		final ArrayList<Item> items = (ArrayList<Item>)source.root();
+		
+		// stores new items until the rebalancing shuts down the source, tagged ones as soon as it started.
+		final AtomicInteger storedCount = new AtomicInteger(items.size());
+		final AtomicInteger taggedCount = new AtomicInteger();
+		final Thread writer = new Thread(() ->
+		{
+			try
+			{
+				while(true)
+				{
+					final boolean tagged = Files.exists(targetDirectory);
+					items.add(tagged ? new TaggedItem(items.size()) : new Item(items.size()));
+					source.store(items);
+					storedCount.incrementAndGet();
+					if(tagged)
+					{
+						taggedCount.incrementAndGet();
+					}
+				}
+			}
+			catch(final RuntimeException e)
+			{
+				// storing fails as soon as the source is shut down
+			}
+		});
+		writer.start();
+		
+		try
+		{
+			EmbeddedStorageChannelRebalancer.New(false).rebalanceRunning(source, this.foundation("target", 4));
+		}
+		finally
+		{
+			if(source.isRunning())
+			{
+				source.shutdown();
+			}
+			writer.join();
+		}
+		
+		assertTrue(taggedCount.get() > 0);
+		this.assertItems("target", 4, storedCount.get());
+		
+		final EmbeddedStorageManager target = this.foundation("target", 4).start();
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<Item> targetItems = (ArrayList<Item>)target.root();
+			for(int i = storedCount.get() - taggedCount.get(); i < storedCount.get(); i++)
+			{
+				assertEquals("tag" + i, ((TaggedItem)targetItems.get(i)).tag);
+			}
+		}
+		finally
+		{
+			target.shutdown();
+		}
+	}
+	
+	@Test
+	public void appendedDataIsImportedAfterTheSnapshot()
+	{
+		this.createSource(2, 1000);
+		
+		final EmbeddedStorageFoundation<?> targetFoundation = this.foundation("target", 8);
+		final EmbeddedStorageManager       source           = this.foundation("source", 2).start();
+		@SuppressWarnings("unchecked")
+		final ArrayList<Item> items = (ArrayList<Item>)source.root();
+		
+		PersistenceTypeDictionaryExporter.New(
+			targetFoundation.getConnectionFoundation().getTypeDictionaryStorer()
+		).exportTypeDictionary(source.persistenceManager().typeDictionary());
+		
+		final EmbeddedStorageManager target = targetFoundation.start();
+		try
+		{
+			final StorageSnapshot snapshot = source.captureSnapshot(true);
+			try
+			{
+				// stored after capturing, so only transferred by importing the appended data.
+				items.add(new Item(1000));
+				source.store(items);
+				
+				target.importSnapshot(snapshot);
+			}
+			finally
+			{
+				snapshot.release();
+			}
+			source.shutdown();
+			
+			target.importAppendedData(snapshot, source.configuration().fileProvider());
+		}
+		finally
+		{
+			target.shutdown();
+		}
+		
+		this.assertItems("target", 8, 1001);
+	}
+	
+}
@@ -0,0 +1,397 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.foundation;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.persistence.types.Storer;
+import one.microstream.reference.Swizzling;
+import one.microstream.storage.exceptions.StorageException;
+import one.microstream.storage.types.StorageFileWriter;
+import one.microstream.storage.types.StorageLiveDataFile;
+
+
+public class StorageAsyncCommitTest
+{
+	static final int THREAD_COUNT = 8 ;
+	static final int ROUND_COUNT  = 50;
+
+	@TempDir
+	Path directory;
+
+	private EmbeddedStorageManager start(final String name, final StorageFileWriter.Provider writerProvider)
+	{
+		final EmbeddedStorageFoundation<?> foundation = foundation(this.directory.resolve(name));
+		if(writerProvider != null)
+		{
+			foundation.setWriterProvider(writerProvider);
+		}
+
+		return foundation.start();
+	}
+
+	@Test
+	void asyncCommitIsCompletedByTheExecutor() throws Exception
+	{
+		final ExecutorService pool     = Executors.newSingleThreadExecutor();
+		final AtomicInteger   executed = new AtomicInteger();
+
+		final EmbeddedStorageManager storage = this.start("completion", null);
+		try
+		{
+			final ArrayList<int[]> list = new ArrayList<>();
+			storage.setRoot(list);
+			storage.storeRoot();
+
+			list.add(value(0, 0));
+			list.add(value(0, 1));
+			final Storer storer = storage.createStorer();
+			storer.store(list);
+			final long size = storer.size();
+
+			final CompletableFuture<Long> commit = storer.commitAsync(command ->
+			{
+				executed.incrementAndGet();
+				pool.execute(command);
+			});
+
+			assertEquals(size, commit.get(10, TimeUnit.SECONDS).longValue());
+			assertEquals(1, executed.get());
+
+			// the entries have been merged, so storing the list again yields the same object id.
+			final long objectId = storage.storeAsync(list, pool).get(10, TimeUnit.SECONDS);
+			assertEquals(objectId, storage.store(list));
+		}
+		finally
+		{
+			storage.shutdown();
+			pool.shutdown();
+		}
+
+		final EmbeddedStorageManager restarted = this.start("completion", null);
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<int[]> list = (ArrayList<int[]>)restarted.root();
+			assertEquals(2, list.size());
+			assertArrayEquals(value(0, 1), list.get(1));
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+
+	@Test
+	void asyncCommitWithoutExecutorIsCompletedByTheDefaultExecutor() throws Exception
+	{
+		assertSame(ForkJoinPool.commonPool(), Storer.defaultAsyncExecutor());
+
+		final EmbeddedStorageManager storage = this.start("default", null);
+		try
+		{
+			final ArrayList<int[]> list = new ArrayList<>();
+			storage.setRoot(list);
+			storage.storeRoot();
+
+			list.add(value(0, 0));
+			final Storer storer = storage.createStorer();
+			storer.store(list);
+			final long size = storer.size();
+			assertEquals(size, storer.commitAsync().get(10, TimeUnit.SECONDS).longValue());
+
+			list.add(value(0, 1));
+			final long objectId = storage.storeAsync(list).get(10, TimeUnit.SECONDS);
+			assertEquals(objectId, storage.store(list));
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		final EmbeddedStorageManager restarted = this.start("default", null);
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<int[]> list = (ArrayList<int[]>)restarted.root();
+			assertEquals(2, list.size());
+			assertArrayEquals(value(0, 1), list.get(1));
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+
+	@Test
+	void committedInstancesAreRegisteredWhenTheAsyncCommitIsCompleted() throws Exception
+	{
+		final ExecutorService pool     = Executors.newSingleThreadExecutor();
+		final AtomicBoolean   blocking = new AtomicBoolean();
+		final CountDownLatch  writing  = new CountDownLatch(1);
+		final CountDownLatch  released = new CountDownLatch(1);
+
+		final EmbeddedStorageManager storage = this.start("visibility", () -> new StorageFileWriter()
+		{
+			@Override
+			public long writeStore(
+				final StorageLiveDataFile            targetFile ,
+				final Iterable<? extends ByteBuffer> byteBuffers
+			)
+			{
+				if(blocking.get())
+				{
+					writing.countDown();
+					try
+					{
+						released.await();
+					}
+					catch(final InterruptedException e)
+					{
+						Thread.currentThread().interrupt();
+					}
+				}
+
+				return StorageFileWriter.super.writeStore(targetFile, byteBuffers);
+			}
+		});
+		try
+		{
+			final ArrayList<int[]> list = new ArrayList<>();
+			storage.setRoot(list);
+			storage.storeRoot();
+
+			final int[] added = value(0, 0);
+			list.add(added);
+			final Storer storer = storage.createStorer();
+			storer.store(list);
+
+			blocking.set(true);
+			final CompletableFuture<Long> commit = storer.commitAsync(pool);
+			assertTrue(writing.await(10, TimeUnit.SECONDS));
+
+			// while the data is being written, the new instance is only known to the storer.
+			assertFalse(commit.isDone());
+			assertEquals(
+				Swizzling.notFoundId(),
+				storage.persistenceManager().objectRegistry().lookupObjectId(added)
+			);
+
+			blocking.set(false);
+			released.countDown();
+
+			// once the commit is completed, the registration is visible to the observing thread.
+			final long addedId = commit.thenApply(size ->
+				storage.persistenceManager().objectRegistry().lookupObjectId(added)
+			).get(10, TimeUnit.SECONDS);
+			assertTrue(Swizzling.isFoundId(addedId));
+			assertEquals(addedId, storage.persistenceManager().objectRegistry().lookupObjectId(added));
+		}
+		finally
+		{
+			blocking.set(false);
+			released.countDown();
+			storage.shutdown();
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void failedAsyncCommitIsCompletedExceptionally() throws Exception
+	{
+		final ExecutorService pool    = Executors.newSingleThreadExecutor();
+		final AtomicBoolean   failing = new AtomicBoolean();
+
+		final EmbeddedStorageManager storage = this.start("failure", () -> new StorageFileWriter()
+		{
+			@Override
+			public long writeStore(
+				final StorageLiveDataFile            targetFile ,
+				final Iterable<? extends ByteBuffer> byteBuffers
+			)
+			{
+				if(failing.get())
+				{
+					throw new StorageException("Failing store");
+				}
+
+				return StorageFileWriter.super.writeStore(targetFile, byteBuffers);
+			}
+		});
+		try
+		{
+			final ArrayList<int[]> list = new ArrayList<>();
+			storage.setRoot(list);
+			storage.storeRoot();
+
+			failing.set(true);
+			list.add(value(0, 0));
+			final Storer storer = storage.createStorer();
+			storer.store(list);
+
+			final CompletableFuture<Long> commit = storer.commitAsync(pool);
+			try
+			{
+				commit.get(10, TimeUnit.SECONDS);
+			}
+			catch(final ExecutionException e)
+			{
+				assertTrue(e.getCause() instanceof StorageException);
+			}
+			assertTrue(commit.isCompletedExceptionally());
+		}
+		finally
+		{
+			failing.set(false);
+			storage.shutdown();
+			pool.shutdown();
+		}
+
+		final EmbeddedStorageManager restarted = this.start("failure", null);
+		try
+		{
+			// the failed store has been rolled back.
+			assertTrue(((ArrayList<?>)restarted.root()).isEmpty());
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+
+	@Test
+	void concurrentCommitsShareReferencedInstances() throws InterruptedException
+	{
+		final EmbeddedStorageManager storage = this.start("concurrent", null);
+		try
+		{
+			final ArrayList<ArrayList<Object>> lists = new ArrayList<>();
+			for(int t = 0; t < THREAD_COUNT; t++)
+			{
+				lists.add(new ArrayList<>());
+			}
+			storage.setRoot(lists);
+			storage.storeRoot();
+
+			final int[][] shared = new int[ROUND_COUNT][];
+			for(int r = 0; r < ROUND_COUNT; r++)
+			{
+				shared[r] = value(-1, r);
+			}
+
+			final CyclicBarrier              barrier = new CyclicBarrier(THREAD_COUNT);
+			final AtomicReference<Throwable> problem = new AtomicReference<>();
+			final ArrayList<Thread>          threads = new ArrayList<>();
+			for(int t = 0; t < THREAD_COUNT; t++)
+			{
+				final int               thread = t;
+				final ArrayList<Object> list   = lists.get(t);
+				threads.add(new Thread(() ->
+				{
+					try
+					{
+						for(int r = 0; r < ROUND_COUNT; r++)
+						{
+							barrier.await();
+
+							/* every round, all threads reference the same new instance, so the storers look up each
+							 * other's entries while committing and merging concurrently.
+							 */
+							list.add(shared[r]);
+							list.add(value(thread, r));
+
+							final Storer storer = storage.createStorer();
+							storer.store(list);
+							storer.commit();
+						}
+					}
+					catch(final Throwable e)
+					{
+						problem.compareAndSet(null, e);
+						barrier.reset();
+					}
+				}));
+			}
+			for(final Thread thread : threads)
+			{
+				thread.start();
+			}
+			for(final Thread thread : threads)
+			{
+				thread.join(TimeUnit.SECONDS.toMillis(60));
+				assertFalse(thread.isAlive(), "Deadlocked commit");
+			}
+			assertNull(problem.get());
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		final EmbeddedStorageManager restarted = this.start("concurrent", null);
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<ArrayList<Object>> lists = (ArrayList<ArrayList<Object>>)restarted.root();
+			for(int t = 0; t < THREAD_COUNT; t++)
+			{
+				final ArrayList<Object> list = lists.get(t);
+				assertEquals(2 * ROUND_COUNT, list.size());
+				for(int r = 0; r < ROUND_COUNT; r++)
+				{
+					assertArrayEquals(value(-1, r), (int[])list.get(2 * r));
+					assertSame(lists.get(0).get(2 * r), list.get(2 * r));
+					assertArrayEquals(value(t, r), (int[])list.get(2 * r + 1));
+				}
+			}
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,237 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.afs.nio.types.NioFileSystem;
+import one.microstream.persistence.types.Storer;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageBackupHandler;
+import one.microstream.storage.types.StorageBackupSetup;
+
+
+public class StorageBackupTest
+{
+	static final int CHANNEL_COUNT = 4  ;
+	static final int THREAD_COUNT  = 4  ;
+	static final int ROUND_COUNT   = 100;
+
+	@TempDir
+	Path directory;
+
+	private EmbeddedStorageManager start(final String name, final StorageBackupSetup backupSetup)
+	{
+		return EmbeddedStorage.Foundation(
+			configuration(this.directory.resolve(name))
+				.setChannelCountProvider(Storage.ChannelCountProvider(CHANNEL_COUNT))
+				.setBackupSetup(backupSetup)
+				.createConfiguration()
+		)
+		.start();
+	}
+
+	private StorageBackupSetup backupSetup(final int threadCount, final long bandwidthLimit)
+	{
+		return Storage.BackupSetup(
+			Storage.BackupFileProvider(NioFileSystem.New().ensureDirectory(this.directory.resolve("backup"))),
+			threadCount,
+			bandwidthLimit
+		);
+	}
+
+	/**
+	 * Stores values concurrently in many small commits, so every channel enqueues lots of backup items.
+	 */
+	private static void storeConcurrently(final EmbeddedStorageManager storage) throws InterruptedException
+	{
+		final ArrayList<ArrayList<int[]>> lists = new ArrayList<>();
+		for(int t = 0; t < THREAD_COUNT; t++)
+		{
+			lists.add(new ArrayList<>());
+		}
+		storage.setRoot(lists);
+		storage.storeRoot();
+
+		final AtomicReference<Throwable> problem = new AtomicReference<>();
+		final ArrayList<Thread>          threads = new ArrayList<>();
+		for(int t = 0; t < THREAD_COUNT; t++)
+		{
+			final int              thread = t;
+			final ArrayList<int[]> list   = lists.get(t);
+			threads.add(new Thread(() ->
+			{
+				try
+				{
+					for(int r = 0; r < ROUND_COUNT; r++)
+					{
+						list.add(value(thread, r));
+						final Storer storer = storage.createStorer();
+						storer.store(list);
+						storer.commit();
+					}
+				}
+				catch(final Throwable e)
+				{
+					problem.compareAndSet(null, e);
+				}
+			}));
+		}
+		for(final Thread thread : threads)
+		{
+			thread.start();
+		}
+		for(final Thread thread : threads)
+		{
+			thread.join();
+		}
+		assertNull(problem.get());
+	}
+
+	private static void assertValues(final EmbeddedStorageManager storage)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayList<ArrayList<int[]>> lists = (ArrayList<ArrayList<int[]>>)storage.root();
+		assertEquals(THREAD_COUNT, lists.size());
+		for(int t = 0; t < THREAD_COUNT; t++)
+		{
+			assertEquals(ROUND_COUNT, lists.get(t).size());
+			for(int r = 0; r < ROUND_COUNT; r++)
+			{
+				assertArrayEquals(value(t, r), lists.get(t).get(r));
+			}
+		}
+	}
+
+	private static long countBackupThreads()
+	{
+		return Thread.getAllStackTraces().keySet().stream()
+			.filter(Thread::isAlive)
+			.filter(thread -> thread.getName().contains(StorageBackupHandler.class.getSimpleName()))
+			.count()
+		;
+	}
+
+	private long backupDataLength() throws IOException
+	{
+		try(Stream<Path> files = Files.walk(this.directory.resolve("backup")))
+		{
+			return files
+				.filter(file -> file.getFileName().toString().endsWith(".dat"))
+				.mapToLong(file -> file.toFile().length())
+				.sum()
+			;
+		}
+	}
+
+	/**
+	 * Restarts a storage from the backup files, so the backup must be a complete and consistent copy.
+	 */
+	private void assertBackup()
+	{
+		final EmbeddedStorageManager backup = this.start("backup", null);
+		try
+		{
+			assertValues(backup);
+		}
+		finally
+		{
+			backup.shutdown();
+		}
+	}
+
+	@Test
+	void backupThreadsCopyTheChannelsInParallel() throws InterruptedException
+	{
+		final EmbeddedStorageManager storage = this.start("live", this.backupSetup(2, 0));
+		try
+		{
+			assertEquals(2, countBackupThreads());
+			storeConcurrently(storage);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		this.assertBackup();
+	}
+
+	@Test
+	void defaultBackupUsesOneThreadPerChannel() throws InterruptedException
+	{
+		final EmbeddedStorageManager storage = this.start("live", this.backupSetup(0, 0));
+		try
+		{
+			assertEquals(CHANNEL_COUNT, countBackupThreads());
+			storeConcurrently(storage);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		this.assertBackup();
+	}
+
+	@Test
+	void throttledBackupKeepsTheBandwidthLimit() throws InterruptedException, IOException
+	{
+		final long bandwidthLimit = 256 * 1024;
+
+		final long start = System.nanoTime();
+		final EmbeddedStorageManager storage = this.start("live", this.backupSetup(0, bandwidthLimit));
+		try
+		{
+			storeConcurrently(storage);
+		}
+		finally
+		{
+			// shutting down waits for the backup threads to copy all queued items.
+			storage.shutdown();
+		}
+		final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		// the first chunk is copied without waiting, all others have to wait for their time slot.
+		final long minimumMs = (this.backupDataLength() - bandwidthLimit / 4) * 1000 / bandwidthLimit;
+		assertTrue(minimumMs > 0);
+		assertTrue(elapsedMs >= minimumMs, elapsedMs + " < " + minimumMs);
+
+		this.assertBackup();
+	}
+
+}
@@ -0,0 +1,103 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.foundation;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.persistence.internal.CompactObjectRegistry;
+import one.microstream.persistence.internal.CompactObjectRegistry.ReferenceMode;
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+
+
+public class StorageCompactObjectRegistryTest
+{
+	static final int ENTRY_COUNT = 10_000;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void storageWorksWithEveryMode()
+	{
+		for(final ReferenceMode mode : ReferenceMode.values())
+		{
+			final Path directory = this.directory.resolve(mode.name());
+
+			EmbeddedStorageManager storage = foundation(directory)
+				.onConnectionFoundation(f -> f.setObjectRegistryCreator(PersistenceObjectRegistry.CreatorCompact(mode)))
+				.start()
+			;
+			try
+			{
+				assertTrue(storage.persistenceManager().objectRegistry() instanceof CompactObjectRegistry);
+				final ArrayList<int[]> values = new ArrayList<>();
+				for(int i = 0; i < ENTRY_COUNT; i++)
+				{
+					values.add(value(i));
+				}
+				storage.setRoot(values);
+				storage.storeRoot();
+
+				// storing again must find every instance in the registry instead of storing it as a new one.
+				final long rootId = storage.persistenceManager().objectRegistry().lookupObjectId(values);
+				assertEquals(rootId, storage.store(values));
+				assertEquals(
+					storage.persistenceManager().objectRegistry().lookupObjectId(values.get(0)),
+					storage.store(values.get(0))
+				);
+			}
+			finally
+			{
+				storage.shutdown();
+			}
+
+			storage = foundation(directory)
+				.onConnectionFoundation(f -> f.setObjectRegistryCreator(PersistenceObjectRegistry.CreatorCompact(mode)))
+				.start()
+			;
+			try
+			{
+				@SuppressWarnings("unchecked")
+				final ArrayList<int[]> values = (ArrayList<int[]>)storage.root();
+				assertEquals(ENTRY_COUNT, values.size(), mode.name());
+				for(int i = 0; i < ENTRY_COUNT; i++)
+				{
+					assertArrayEquals(value(i), values.get(i));
+				}
+			}
+			finally
+			{
+				storage.shutdown();
+			}
+		}
+	}
+
+}
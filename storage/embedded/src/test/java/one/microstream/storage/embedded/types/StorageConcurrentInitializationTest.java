@@ -0,0 +1,217 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.exceptions.NumberRangeException;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageEntityInitializer;
+import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageIndexCheckpointSetup;
+import one.microstream.storage.types.StorageRawFileStatistics;
+
+
+public class StorageConcurrentInitializationTest
+{
+	static final int VALUE_COUNT   = 2000;
+	static final int CHANNEL_COUNT = 2   ;
+	static final int UPDATE_ROUNDS = 3   ;
+
+	@TempDir
+	Path directory;
+
+	/*
+	 * Small data files, so every channel has a lot more files than initializer threads.
+	 * The housekeeping gets no time budget, so the data files remain as initialized between the startups.
+	 * Without an index checkpoint, every startup reads all data files.
+	 */
+	private EmbeddedStorageManager start(final int threadCount)
+	{
+		return EmbeddedStorage.Foundation(
+			configuration(this.directory)
+				.setChannelCountProvider(Storage.ChannelCountProvider(CHANNEL_COUNT))
+				.setDataFileEvaluator(Storage.DataFileEvaluator(1024, 8 * 1024))
+				.setHousekeepingController(StorageHousekeepingController.New(60_000, 0))
+				.createConfiguration()
+		)
+		.setEntityInitializerCreator(StorageEntityInitializer.Creator(threadCount))
+		.setIndexCheckpointSetup(StorageIndexCheckpointSetup.Disabled())
+		.start();
+	}
+
+	private static int[] value(final int index, final int round)
+	{
+		return new int[]{index, round};
+	}
+
+	/*
+	 * Every update round stores a new version of every other value into a later file,
+	 * the removed values remain in the data files as garbage.
+	 */
+	private void store()
+	{
+		final EmbeddedStorageManager storage = this.start(1);
+		try
+		{
+			final ArrayList<int[]> values = new ArrayList<>();
+			for(int i = 0; i < VALUE_COUNT; i++)
+			{
+				values.add(value(i, 0));
+			}
+			storage.setRoot(values);
+			storage.storeRoot();
+
+			for(int r = 1; r <= UPDATE_ROUNDS; r++)
+			{
+				for(int i = 0; i < VALUE_COUNT; i += 2)
+				{
+					values.get(i)[1] = r;
+					storage.store(values.get(i));
+				}
+			}
+
+			values.subList(VALUE_COUNT / 2, VALUE_COUNT).clear();
+			storage.storeRoot();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+
+	private static int expectedRound(final int index)
+	{
+		return index % 2 == 0 ? UPDATE_ROUNDS : 0;
+	}
+
+	private static void assertValues(final EmbeddedStorageManager storage)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayList<int[]> values = (ArrayList<int[]>)storage.root();
+		assertEquals(VALUE_COUNT / 2, values.size());
+		for(int i = 0; i < values.size(); i++)
+		{
+			assertArrayEquals(value(i, expectedRound(i)), values.get(i));
+		}
+	}
+
+	/**
+	 * @return the live data length of every data file, the result of the entity registration.
+	 */
+	private static Map<String, Long> liveDataLengths(final EmbeddedStorageManager storage)
+	{
+		final Map<String, Long> liveDataLengths = new TreeMap<>();
+		for(final StorageRawFileStatistics.ChannelStatistics channel
+			: storage.createStorageStatistics().channelStatistics().values()
+		)
+		{
+			for(final StorageRawFileStatistics.FileStatistics file : channel.files())
+			{
+				liveDataLengths.put(channel.channelIndex() + "/" + file.fileNumber(), file.liveDataLength());
+			}
+		}
+
+		return liveDataLengths;
+	}
+
+	private Map<String, Long> startAndAssert(final int threadCount)
+	{
+		final EmbeddedStorageManager storage = this.start(threadCount);
+		try
+		{
+			final Map<String, Long> liveDataLengths = liveDataLengths(storage);
+			assertValues(storage);
+
+			return liveDataLengths;
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+
+	@Test
+	public void concurrentInitializationLoadsTheLatestVersions()
+	{
+		this.store();
+
+		this.startAndAssert(4);
+	}
+
+	@Test
+	public void concurrentInitializationRegistersTheSameEntitiesAsTheSequentialOne()
+	{
+		this.store();
+
+		final Map<String, Long> sequential = this.startAndAssert(1);
+		assertTrue(sequential.size() > CHANNEL_COUNT * 4, sequential.size() + " files");
+
+		assertEquals(sequential, this.startAndAssert(2));
+		assertEquals(sequential, this.startAndAssert(4));
+		assertEquals(sequential, this.startAndAssert(1));
+	}
+
+	@Test
+	public void moreThreadsThanDataFilesAreTolerated()
+	{
+		final EmbeddedStorageManager storage = this.start(1);
+		try
+		{
+			storage.setRoot(value(1, 2));
+			storage.storeRoot();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		final EmbeddedStorageManager restarted = this.start(16);
+		try
+		{
+			assertArrayEquals(value(1, 2), (int[])restarted.root());
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+
+	@Test
+	public void invalidThreadCountIsRejected()
+	{
+		assertThrows(NumberRangeException.class, () -> StorageEntityInitializer.Creator(0));
+	}
+
+}
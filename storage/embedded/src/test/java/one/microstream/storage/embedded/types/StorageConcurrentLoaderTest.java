@@ -0,0 +1,201 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.collectJvmGarbage;
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.reference.Lazy;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageRequestAcceptor;
+
+
+public class StorageConcurrentLoaderTest
+{
+	@TempDir
+	Path directory;
+	
+	static final class Data
+	{
+		final ArrayList<Lazy<int[]>> values  = new ArrayList<>();
+		final ArrayList<int[]>       written = new ArrayList<>();
+	}
+	
+	private EmbeddedStorageManager start(final boolean concurrentLoading)
+	{
+		final EmbeddedStorageFoundation<?> foundation = EmbeddedStorage.Foundation(
+			configuration(this.directory)
+				.setChannelCountProvider(Storage.ChannelCountProvider(2))
+				.createConfiguration()
+		);
+		if(concurrentLoading)
+		{
+			foundation.setRequestAcceptorCreator(StorageRequestAcceptor.CreatorConcurrentLoading());
+		}
+		
+		return foundation.start();
+	}
+	
+	private void createData(final int count)
+	{
+		final EmbeddedStorageManager storage = this.start(false);
+		try
+		{
+			final Data data = new Data();
+			for(int i = 0; i < count; i++)
+			{
+				data.values.add(Lazy.Reference(value(i)));
+			}
+			storage.setRoot(data);
+			storage.storeRoot();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+	private static Thread start(final AtomicReference<Throwable> problem, final Runnable logic)
+	{
+		final Thread thread = new Thread(() ->
+		{
+			try
+			{
+				logic.run();
+			}
+			catch(final Throwable t)
+			{
+				problem.compareAndSet(null, t);
+			}
+		});
+		thread.start();
+		
+		return thread;
+	}
+	
+	@Test
+	public void loadsAreServedWhileStoring() throws InterruptedException
+	{
+		this.createData(1000);
+		
+		final EmbeddedStorageManager storage = this.start(true);
+		try
+		{
+			final Data                       data    = (Data)storage.root();
+			final AtomicReference<Throwable> problem = new AtomicReference<>();
+			final ArrayList<Thread>          threads = new ArrayList<>();
+			
+			threads.add(start(problem, () ->
+			{
+				for(int i = 0; i < 500; i++)
+				{
+					data.written.add(value(i));
+					storage.store(data.written);
+				}
+			}));
+			for(int t = 0; t < 4; t++)
+			{
+				threads.add(start(problem, () ->
+				{
+					for(int r = 0; r < 10; r++)
+					{
+						for(int i = 0; i < data.values.size(); i++)
+						{
+							final Lazy<int[]> lazy = data.values.get(i);
+							assertArrayEquals(value(i), lazy.get());
+							lazy.clear();
+						}
+					}
+				}));
+			}
+			for(final Thread thread : threads)
+			{
+				thread.join();
+			}
+			assertNull(problem.get());
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		final EmbeddedStorageManager restarted = this.start(false);
+		try
+		{
+			final Data data = (Data)restarted.root();
+			assertEquals(1000, data.values.size());
+			assertEquals(500, data.written.size());
+			for(int i = 0; i < 500; i++)
+			{
+				assertArrayEquals(value(i), data.written.get(i));
+			}
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+	
+	@Test
+	public void entitiesStoredInTheSameSessionAreLoadable()
+	{
+		this.createData(10);
+		
+		final EmbeddedStorageManager storage = this.start(true);
+		try
+		{
+			final Data data = (Data)storage.root();
+			for(int i = 10; i < 100; i++)
+			{
+				data.values.add(Lazy.Reference(value(i)));
+			}
+			storage.store(data.values);
+			
+			for(final Lazy<int[]> lazy : data.values)
+			{
+				lazy.clear();
+			}
+			collectJvmGarbage();
+			
+			for(int i = 0; i < 100; i++)
+			{
+				assertArrayEquals(value(i), data.values.get(i).get());
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+}
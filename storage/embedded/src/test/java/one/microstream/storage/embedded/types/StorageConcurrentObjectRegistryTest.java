@@ -0,0 +1,141 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.foundation;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+import one.microstream.persistence.types.Storer;
+
+
+public class StorageConcurrentObjectRegistryTest
+{
+	static final int THREAD_COUNT = 8 ;
+	static final int ROUND_COUNT  = 50;
+
+	@TempDir
+	Path directory;
+
+	private EmbeddedStorageManager start()
+	{
+		return foundation(this.directory)
+			.onConnectionFoundation(f ->
+				f.setObjectRegistryCreator(PersistenceObjectRegistry.CreatorConcurrent())
+			)
+			.start()
+		;
+	}
+
+	@Test
+	void concurrentStorersAndLoadersShareTheRegistry() throws InterruptedException
+	{
+		final EmbeddedStorageManager storage = this.start();
+		try
+		{
+			final ArrayList<ArrayList<int[]>> lists = new ArrayList<>();
+			for(int t = 0; t < THREAD_COUNT; t++)
+			{
+				lists.add(new ArrayList<>());
+			}
+			storage.setRoot(lists);
+			storage.storeRoot();
+
+			final CyclicBarrier              barrier = new CyclicBarrier(THREAD_COUNT);
+			final AtomicReference<Throwable> problem = new AtomicReference<>();
+			final ArrayList<Thread>          threads = new ArrayList<>();
+			for(int t = 0; t < THREAD_COUNT; t++)
+			{
+				final int              thread = t;
+				final ArrayList<int[]> list   = lists.get(t);
+				threads.add(new Thread(() ->
+				{
+					try
+					{
+						for(int r = 0; r < ROUND_COUNT; r++)
+						{
+							barrier.await();
+							list.add(value(thread, r));
+
+							final Storer storer = storage.createStorer();
+							final long   listId = storer.store(list);
+							storer.commit();
+
+							// the merged entries are looked up while the other storers register theirs.
+							assertSame(list, storage.persistenceManager().objectRegistry().lookupObject(listId));
+							assertEquals(listId, storage.persistenceManager().lookupObjectId(list));
+						}
+					}
+					catch(final Throwable e)
+					{
+						problem.compareAndSet(null, e);
+						barrier.reset();
+					}
+				}));
+			}
+			for(final Thread thread : threads)
+			{
+				thread.start();
+			}
+			for(final Thread thread : threads)
+			{
+				thread.join();
+			}
+			assertNull(problem.get());
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		final EmbeddedStorageManager restarted = this.start();
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<ArrayList<int[]>> lists = (ArrayList<ArrayList<int[]>>)restarted.root();
+			for(int t = 0; t < THREAD_COUNT; t++)
+			{
+				assertEquals(ROUND_COUNT, lists.get(t).size());
+				for(int r = 0; r < ROUND_COUNT; r++)
+				{
+					assertArrayEquals(value(t, r), lists.get(t).get(r));
+				}
+			}
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,230 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.foundation;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.storage.types.StorageDataCompression;
+
+
+public class StorageDataCompressionTest
+{
+	static final int ITEM_COUNT   = 200 ;
+	static final int VALUE_LENGTH = 1024;
+
+	@TempDir
+	Path directory;
+
+	private EmbeddedStorageManager start(final String name, final StorageDataCompression dataCompression)
+	{
+		return foundation(this.directory.resolve(name))
+			.setDataCompression(dataCompression)
+			.start()
+		;
+	}
+
+	/**
+	 * Large strings and primitive arrays are compressed, the list referencing them and the short strings are not.
+	 */
+	private static ArrayList<Object> createItems()
+	{
+		final ArrayList<Object> items = new ArrayList<>();
+		for(int i = 0; i < ITEM_COUNT; i++)
+		{
+			final int[] values = new int[VALUE_LENGTH];
+			Arrays.fill(values, i);
+			items.add(values);
+			items.add(text(i, VALUE_LENGTH));
+			items.add(text(i, 1));
+		}
+
+		return items;
+	}
+
+	private static String text(final int index, final int repetitions)
+	{
+		final StringBuilder sb = new StringBuilder();
+		for(int i = 0; i < repetitions; i++)
+		{
+			sb.append("item").append(index).append(';');
+		}
+
+		return sb.toString();
+	}
+
+	private void store(final String name, final StorageDataCompression dataCompression)
+	{
+		final EmbeddedStorageManager storage = this.start(name, dataCompression);
+		try
+		{
+			storage.setRoot(createItems());
+			storage.storeRoot();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+
+	private static void assertItems(final EmbeddedStorageManager storage)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayList<Object> items = (ArrayList<Object>)storage.root();
+		final ArrayList<Object> expected = createItems();
+		assertEquals(expected.size(), items.size());
+		for(int i = 0; i < expected.size(); i += 3)
+		{
+			assertArrayEquals((int[])expected.get(i), (int[])items.get(i));
+			assertEquals(expected.get(i + 1), items.get(i + 1));
+			assertEquals(expected.get(i + 2), items.get(i + 2));
+		}
+	}
+
+	private long dataFilesLength(final String name) throws IOException
+	{
+		try(Stream<Path> files = this.dataFiles(name))
+		{
+			return files.mapToLong(file -> file.toFile().length()).sum();
+		}
+	}
+
+	private Stream<Path> dataFiles(final String name) throws IOException
+	{
+		return Files.list(this.directory.resolve(name).resolve("channel_0"))
+			.filter(file -> file.getFileName().toString().endsWith(".dat"))
+		;
+	}
+
+	/**
+	 * Collects the raw type id values of all entity records in the data files of the passed storage.
+	 */
+	private ArrayList<Long> recordTypeIds(final String name) throws IOException
+	{
+		final ArrayList<Long> typeIds = new ArrayList<>();
+		try(Stream<Path> files = this.dataFiles(name))
+		{
+			for(final Path file : (Iterable<Path>)files::iterator)
+			{
+				final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.nativeOrder());
+				for(int position = 0; position < buffer.limit();)
+				{
+					final long length = buffer.getLong(position);
+					if(length < 0)
+					{
+						// gap, e.g. the remains of a rolled back store
+						position -= length;
+						continue;
+					}
+					typeIds.add(buffer.getLong(position + Long.BYTES));
+					position += length;
+				}
+			}
+		}
+
+		return typeIds;
+	}
+
+	@Test
+	void compressedDataIsSmallerAndStaysReadable() throws IOException
+	{
+		this.store("plain", StorageDataCompression.Disabled());
+		this.store("compressed", StorageDataCompression.New());
+
+		assertTrue(this.dataFilesLength("compressed") * 4 < this.dataFilesLength("plain"));
+
+		// compressed records stay readable with compression disabled, also after garbage collection and file check.
+		final EmbeddedStorageManager storage = this.start("compressed", StorageDataCompression.Disabled());
+		try
+		{
+			assertItems(storage);
+			storage.issueFullGarbageCollection();
+			storage.issueFullFileCheck();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		final EmbeddedStorageManager restarted = this.start("compressed", StorageDataCompression.Disabled());
+		try
+		{
+			assertItems(restarted);
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+
+	@Test
+	void compressedRecordsAreFlaggedInTheirTypeId() throws IOException
+	{
+		this.store("plain", StorageDataCompression.Disabled());
+		this.store("compressed", StorageDataCompression.New());
+
+		final long intArrayTypeId;
+		final long stringTypeId  ;
+		final EmbeddedStorageManager storage = this.start("compressed", StorageDataCompression.New());
+		try
+		{
+			intArrayTypeId = storage.typeDictionary().lookupTypeByName(int[].class.getName()).typeId();
+			stringTypeId   = storage.typeDictionary().lookupTypeByName(String.class.getName()).typeId();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		int compressedCount = 0;
+		for(final long typeId : this.recordTypeIds("compressed"))
+		{
+			if(typeId < 0)
+			{
+				// the highest bit marks a compressed record, the other bits are the actual type id.
+				final long actualTypeId = typeId & Long.MAX_VALUE;
+				assertTrue(actualTypeId == intArrayTypeId || actualTypeId == stringTypeId);
+				compressedCount++;
+			}
+		}
+		assertEquals(2 * ITEM_COUNT, compressedCount);
+
+		for(final long typeId : this.recordTypeIds("plain"))
+		{
+			assertTrue(typeId > 0);
+		}
+	}
+
+}
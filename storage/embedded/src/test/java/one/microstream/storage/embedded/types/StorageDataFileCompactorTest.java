@@ -0,0 +1,199 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.persistence.types.Storer;
+import one.microstream.storage.types.StorageDataFileCompactionSetup;
+import one.microstream.storage.types.StorageDataFileEvaluator;
+import one.microstream.storage.types.StorageHousekeepingController;
+
+
+public class StorageDataFileCompactorTest
+{
+	static final int VALUE_COUNT  = 500 ;
+	static final int VALUE_LENGTH = 1000;
+	
+	@TempDir
+	Path directory;
+	
+	private EmbeddedStorageManager start(final boolean compaction)
+	{
+		final EmbeddedStorageFoundation<?> foundation = EmbeddedStorage.Foundation(
+			configuration(this.directory)
+				// small files, so that the stored values are spread over many of them.
+				.setDataFileEvaluator(StorageDataFileEvaluator.New(64 * 1024, 256 * 1024, 0.75))
+				// no housekeeping during a test, so that files can only be dissolved by the compaction.
+				.setHousekeepingController(StorageHousekeepingController.New(60_000, 1_000_000))
+				.createConfiguration()
+		);
+		if(compaction)
+		{
+			foundation.setDataFileCompactionSetup(StorageDataFileCompactionSetup.New(1, 100_000_000, 10));
+		}
+		
+		return foundation.start();
+	}
+	
+	private long dataFilesLength() throws IOException
+	{
+		try(Stream<Path> files = Files.list(this.directory.resolve("channel_0")))
+		{
+			return files
+				.filter(file -> file.getFileName().toString().endsWith(".dat"))
+				.mapToLong(file -> file.toFile().length())
+				.sum()
+			;
+		}
+	}
+	
+	private static ArrayList<int[]> createValues()
+	{
+		final ArrayList<int[]> values = new ArrayList<>();
+		for(int i = 0; i < VALUE_COUNT; i++)
+		{
+			values.add(new int[VALUE_LENGTH]);
+		}
+		
+		return values;
+	}
+	
+	private static void overwrite(final EmbeddedStorageManager storage, final ArrayList<int[]> values, final int version)
+	{
+		for(final int[] value : values)
+		{
+			Arrays.fill(value, version);
+		}
+		
+		// every value is written again, leaving its former version as a gap in the older files.
+		final Storer storer = storage.createEagerStorer();
+		storer.store(values);
+		storer.commit();
+	}
+	
+	private void assertValues(final int version)
+	{
+		final EmbeddedStorageManager storage = this.start(false);
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<int[]> values = (ArrayList<int[]>)storage.root();
+			assertEquals(VALUE_COUNT, values.size());
+			
+			final int[] expected = new int[VALUE_LENGTH];
+			Arrays.fill(expected, version);
+			for(final int[] value : values)
+			{
+				assertArrayEquals(expected, value);
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+	@Test
+	public void filesAreCompactedToTheLiveData() throws IOException, InterruptedException
+	{
+		// four versions of every value are written, but only the latest one is live.
+		final long liveLength = (long)VALUE_COUNT * VALUE_LENGTH * Integer.BYTES;
+		
+		final EmbeddedStorageManager storage = this.start(true);
+		try
+		{
+			final ArrayList<int[]> values = createValues();
+			storage.setRoot(values);
+			storage.storeRoot();
+			for(int version = 1; version <= 3; version++)
+			{
+				overwrite(storage, values, version);
+			}
+			
+			for(int i = 0; i < 500 && this.dataFilesLength() > liveLength * 3 / 2; i++)
+			{
+				Thread.sleep(10);
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		assertTrue(this.dataFilesLength() <= liveLength * 3 / 2);
+		this.assertValues(3);
+	}
+	
+	@Test
+	public void compactionRunsConcurrentlyToStoring() throws InterruptedException
+	{
+		final EmbeddedStorageManager storage = this.start(true);
+		try
+		{
+			final ArrayList<int[]>           values  = createValues();
+			final AtomicReference<Throwable> problem = new AtomicReference<>();
+			storage.setRoot(values);
+			storage.storeRoot();
+			
+			final Thread writer = new Thread(() ->
+			{
+				try
+				{
+					for(int version = 1; version <= 20; version++)
+					{
+						overwrite(storage, values, version);
+					}
+				}
+				catch(final Throwable t)
+				{
+					problem.set(t);
+				}
+			});
+			writer.start();
+			writer.join();
+			assertNull(problem.get());
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		this.assertValues(20);
+	}
+	
+}
@@ -0,0 +1,226 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.collectJvmGarbage;
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.reference.Lazy;
+import one.microstream.storage.exceptions.StorageException;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageDataFileMapping;
+import one.microstream.storage.types.StorageFileWriter;
+import one.microstream.storage.types.StorageLiveDataFile;
+
+
+public class StorageDataFileMappingTest
+{
+	@TempDir
+	Path directory;
+	
+	private EmbeddedStorageManager start()
+	{
+		return this.start(1, new StorageFileWriter.Provider.Default());
+	}
+	
+	private EmbeddedStorageManager start(final int channelCount, final StorageFileWriter.Provider writerProvider)
+	{
+		return EmbeddedStorage.Foundation(
+			configuration(this.directory)
+				.setChannelCountProvider(Storage.ChannelCountProvider(channelCount))
+				.createConfiguration()
+			)
+			.setDataFileMapping(StorageDataFileMapping.Enabled())
+			.setWriterProvider(writerProvider)
+			.start()
+		;
+	}
+	
+	private static void add(final ArrayList<Lazy<int[]>> values, final int count)
+	{
+		for(int i = values.size(), end = values.size() + count; i < end; i++)
+		{
+			values.add(Lazy.Reference(value(i)));
+		}
+	}
+	
+	private static void assertLoadedFromFiles(final EmbeddedStorageManager storage, final ArrayList<Lazy<int[]>> values)
+	{
+		// instances no longer registered and entity data no longer cached can only be read from the data files.
+		for(final Lazy<int[]> value : values)
+		{
+			value.clear();
+		}
+		collectJvmGarbage();
+		storage.issueCacheCheck(Long.MAX_VALUE, (totalCacheSize, evaluationTime, entity) -> true);
+		
+		for(int i = 0; i < values.size(); i++)
+		{
+			assertArrayEquals(value(i), values.get(i).get());
+		}
+	}
+	
+	@Test
+	public void mappedReadsFollowTheGrowingHeadFile()
+	{
+		final EmbeddedStorageManager storage = this.start();
+		try
+		{
+			final ArrayList<Lazy<int[]>> values = new ArrayList<>();
+			add(values, 1000);
+			storage.setRoot(values);
+			storage.storeRoot();
+			assertLoadedFromFiles(storage, values);
+			
+			// the stored data lies beyond the current mapping of the head file.
+			add(values, 1000);
+			storage.store(values);
+			assertLoadedFromFiles(storage, values);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+	@Test
+	public void mappedReadsAfterRestart()
+	{
+		final EmbeddedStorageManager storage = this.start();
+		try
+		{
+			final ArrayList<Lazy<int[]>> values = new ArrayList<>();
+			add(values, 2000);
+			storage.setRoot(values);
+			storage.storeRoot();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		final EmbeddedStorageManager restarted = this.start();
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<Lazy<int[]>> values = (ArrayList<Lazy<int[]>>)restarted.root();
+			assertEquals(2000, values.size());
+			assertLoadedFromFiles(restarted, values);
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+	
+	@Test
+	public void mappedReadsAfterRolledBackStore()
+	{
+		final AtomicBoolean failing = new AtomicBoolean();
+		
+		/*
+		 * Only the channels completing a failed store roll back their writes, so the first channel writes the data
+		 * and the second one fails. The rollback truncates the first channel's mapped head file.
+		 */
+		final EmbeddedStorageManager storage = this.start(2, new StorageFileWriter.Provider()
+		{
+			@Override
+			public StorageFileWriter provideWriter()
+			{
+				return new StorageFileWriter.Default();
+			}
+			
+			@Override
+			public StorageFileWriter provideWriter(final int channelIndex)
+			{
+				return channelIndex == 0 ? this.provideWriter() : new StorageFileWriter()
+				{
+					@Override
+					public long writeStore(
+						final StorageLiveDataFile            targetFile ,
+						final Iterable<? extends ByteBuffer> byteBuffers
+					)
+					{
+						if(failing.get())
+						{
+							throw new StorageException("Failing store");
+						}
+						
+						return StorageFileWriter.super.writeStore(targetFile, byteBuffers);
+					}
+				};
+			}
+		});
+		try
+		{
+			final ArrayList<Lazy<int[]>> values = new ArrayList<>();
+			add(values, 1000);
+			storage.setRoot(values);
+			storage.storeRoot();
+			assertLoadedFromFiles(storage, values);
+			
+			final ArrayList<Lazy<int[]>> discarded = new ArrayList<>();
+			for(int i = 0; i < 1000; i++)
+			{
+				discarded.add(Lazy.Reference(new int[]{-i}));
+			}
+			failing.set(true);
+			assertThrows(RuntimeException.class, () -> storage.store(discarded));
+			failing.set(false);
+			
+			// the next store is written where the rolled back data was, mapped reads must see the new data.
+			add(values, 1000);
+			storage.store(values);
+			assertLoadedFromFiles(storage, values);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		final EmbeddedStorageManager restarted = this.start(2, new StorageFileWriter.Provider.Default());
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<Lazy<int[]>> values = (ArrayList<Lazy<int[]>>)restarted.root();
+			assertEquals(2000, values.size());
+			assertLoadedFromFiles(restarted, values);
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+	
+}
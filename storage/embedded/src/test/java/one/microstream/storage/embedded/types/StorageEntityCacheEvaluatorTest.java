@@ -0,0 +1,386 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.collectJvmGarbage;
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.afs.types.AWritableFile;
+import one.microstream.persistence.binary.types.MemoryRangeReader;
+import one.microstream.persistence.types.PersistenceObjectIdAcceptor;
+import one.microstream.reference.Lazy;
+import one.microstream.storage.types.StorageEntity;
+import one.microstream.storage.types.StorageEntityCacheEvaluator;
+import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageLiveDataFile;
+
+
+public class StorageEntityCacheEvaluatorTest
+{
+	static final long TIMEOUT_MS   = 60_000;
+	static final long CACHE_BUDGET = 1_000_000;
+	static final long HALF_LIFE_MS = StorageEntity.Default.ACCESS_FREQUENCY_HALF_LIFE_MS;
+	static final int  MAXIMUM      = StorageEntity.Default.ACCESS_FREQUENCY_MAXIMUM;
+
+	@TempDir
+	Path directory;
+
+	/**
+	 * Entity with a fixed read time and access frequency, only supporting the evaluation.
+	 */
+	static final class Entity implements StorageEntity
+	{
+		final long lastTouched    ;
+		final int  accessFrequency;
+
+		Entity(final long lastTouched, final int accessFrequency)
+		{
+			super();
+			this.lastTouched     = lastTouched    ;
+			this.accessFrequency = accessFrequency;
+		}
+
+		@Override
+		public long lastTouched()
+		{
+			return this.lastTouched;
+		}
+
+		@Override
+		public int accessFrequency(final long time)
+		{
+			return this.accessFrequency;
+		}
+
+		@Override
+		public long dataLength()
+		{
+			return 100;
+		}
+
+		@Override
+		public long cachedDataLength()
+		{
+			return 100;
+		}
+
+		@Override
+		public long typeId()
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long objectId()
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean hasReferences()
+		{
+			return false;
+		}
+
+		@Override
+		public long storagePosition()
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public StorageLiveDataFile storageFile()
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void copyCachedData(final MemoryRangeReader entityDataCollector)
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long clearCache()
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean iterateReferenceIds(final PersistenceObjectIdAcceptor referenceIdIterator)
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long exportTo(final AWritableFile file)
+		{
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private static StorageEntityCacheEvaluator.FrequencyAware evaluator()
+	{
+		return StorageEntityCacheEvaluator.FrequencyAware(TIMEOUT_MS, CACHE_BUDGET);
+	}
+
+	/**
+	 * @return the lowest access frequency an entity must have to stay cached at the passed total cache size.
+	 */
+	private static int keptFrequency(final StorageEntityCacheEvaluator evaluator, final long totalCacheSize)
+	{
+		final long time = System.currentTimeMillis();
+		for(int frequency = 0; frequency <= MAXIMUM; frequency++)
+		{
+			if(!evaluator.clearEntityCache(totalCacheSize, time, new Entity(time, frequency)))
+			{
+				return frequency;
+			}
+		}
+		return MAXIMUM + 1;
+	}
+
+	@Test
+	public void nothingIsClearedWithinTheBudget()
+	{
+		final StorageEntityCacheEvaluator.FrequencyAware evaluator = evaluator();
+		final long time = System.currentTimeMillis();
+
+		assertFalse(evaluator.clearEntityCache(0           , time, new Entity(time, 0)));
+		assertFalse(evaluator.clearEntityCache(CACHE_BUDGET, time, new Entity(time, 0)));
+		assertFalse(evaluator.clearEntityCache(CACHE_BUDGET, time, new Entity(time - TIMEOUT_MS + 1, 1)));
+		assertTrue(evaluator.initiallyCacheEntity(CACHE_BUDGET, time, new Entity(time, 0)));
+	}
+
+	@Test
+	public void timedOutEntitiesAreClearedRegardlessOfTheirFrequency()
+	{
+		final StorageEntityCacheEvaluator.FrequencyAware evaluator = evaluator();
+		final long time = System.currentTimeMillis();
+
+		assertTrue(evaluator.clearEntityCache(0, time, new Entity(time - TIMEOUT_MS, MAXIMUM)));
+	}
+
+	@Test
+	public void entitiesReadOnceAreClearedFirstBeyondTheBudget()
+	{
+		final StorageEntityCacheEvaluator.FrequencyAware evaluator = evaluator();
+		final long time = System.currentTimeMillis();
+
+		assertTrue(evaluator.clearEntityCache(CACHE_BUDGET + 1, time, new Entity(time, 0)));
+		assertTrue(evaluator.clearEntityCache(CACHE_BUDGET + 1, time, new Entity(time, 1)));
+		assertFalse(evaluator.clearEntityCache(CACHE_BUDGET + 1, time, new Entity(time, 2)));
+		assertFalse(evaluator.initiallyCacheEntity(CACHE_BUDGET + 1, time, new Entity(time, 1)));
+	}
+
+	@Test
+	public void requiredFrequencyRisesWithTheExcess()
+	{
+		final StorageEntityCacheEvaluator.FrequencyAware evaluator = evaluator();
+
+		assertEquals(0          , keptFrequency(evaluator, CACHE_BUDGET));
+		assertEquals(2          , keptFrequency(evaluator, CACHE_BUDGET + 1));
+		assertEquals(2 + 13 / 2 , keptFrequency(evaluator, CACHE_BUDGET + CACHE_BUDGET / 2));
+		assertEquals(MAXIMUM    , keptFrequency(evaluator, CACHE_BUDGET * 2));
+		assertEquals(MAXIMUM    , keptFrequency(evaluator, CACHE_BUDGET * 10));
+
+		int last = 0;
+		for(long excess = 0; excess <= CACHE_BUDGET; excess += CACHE_BUDGET / 100)
+		{
+			final int kept = keptFrequency(evaluator, CACHE_BUDGET + excess);
+			assertTrue(kept >= last, "required frequency decreased at excess " + excess);
+			last = kept;
+		}
+	}
+
+	@Test
+	public void lessFrequentlyReadEntitiesAreClearedBeforeMoreFrequentlyReadOnes()
+	{
+		final StorageEntityCacheEvaluator.FrequencyAware evaluator = evaluator();
+		final long time = System.currentTimeMillis();
+
+		// with a rising excess, the entities are cleared in the order of their frequency.
+		for(int frequency = 1; frequency < MAXIMUM; frequency++)
+		{
+			final Entity rarer    = new Entity(time, frequency    );
+			final Entity frequent = new Entity(time, frequency + 1);
+			for(long excess = 1; excess <= CACHE_BUDGET; excess += CACHE_BUDGET / 1000)
+			{
+				if(evaluator.clearEntityCache(CACHE_BUDGET + excess, time, frequent))
+				{
+					assertTrue(evaluator.clearEntityCache(CACHE_BUDGET + excess, time, rarer));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void frequentlyReadEntitiesStayCachedBeyondTheBudget()
+	{
+		final StorageEntityCacheEvaluator.FrequencyAware evaluator = evaluator();
+		final long time = System.currentTimeMillis();
+
+		// an entity read frequently in the last decay period outlasts a scan of the same age...
+		final Entity scanned = new Entity(time, 1);
+		final Entity hot     = new Entity(time, 8);
+		final long   excess  = CACHE_BUDGET / 4;
+		assertTrue(evaluator.clearEntityCache(CACHE_BUDGET + excess, time, scanned));
+		assertFalse(evaluator.clearEntityCache(CACHE_BUDGET + excess, time, hot));
+
+		// ...but not an unbounded excess.
+		assertTrue(evaluator.clearEntityCache(CACHE_BUDGET * 2, time, hot));
+	}
+
+	@Test
+	public void totalCacheSizeCombinesTheChannels()
+	{
+		final StorageEntityCacheEvaluator.FrequencyAware evaluator = evaluator();
+
+		assertEquals(100, evaluator.totalCacheSize(0, 100));
+		assertEquals(300, evaluator.totalCacheSize(1, 200));
+		assertEquals(250, evaluator.totalCacheSize(0, 50));
+		assertEquals(250, evaluator.totalCacheSize(1, 200));
+		assertEquals(50 , evaluator.totalCacheSize(1, 0));
+		assertEquals(50 , evaluator.totalCacheSize());
+	}
+
+	@Test
+	public void channelsExceedTheBudgetOnlyTogether()
+	{
+		final StorageEntityCacheEvaluator.FrequencyAware evaluator = evaluator();
+		final long time = System.currentTimeMillis();
+		final Entity readOnce = new Entity(time, 1);
+
+		assertFalse(evaluator.clearEntityCache(evaluator.totalCacheSize(0, CACHE_BUDGET / 2), time, readOnce));
+		assertFalse(evaluator.clearEntityCache(evaluator.totalCacheSize(1, CACHE_BUDGET / 2), time, readOnce));
+		assertTrue(evaluator.clearEntityCache(evaluator.totalCacheSize(2, 1), time, readOnce));
+	}
+
+	@Test
+	public void invalidParametersAreRejected()
+	{
+		assertThrows(IllegalArgumentException.class, () -> StorageEntityCacheEvaluator.FrequencyAware(0, CACHE_BUDGET));
+		assertThrows(IllegalArgumentException.class, () -> StorageEntityCacheEvaluator.FrequencyAware(TIMEOUT_MS, 0));
+	}
+
+	/**
+	 * Records the evaluated entities of the storage to inspect their access frequency, never clears any.
+	 */
+	static final class RecordingEvaluator implements StorageEntityCacheEvaluator
+	{
+		final ConcurrentHashMap<Long, StorageEntity> entities = new ConcurrentHashMap<>();
+
+		@Override
+		public boolean clearEntityCache(final long totalCacheSize, final long evaluationTime, final StorageEntity entity)
+		{
+			this.entities.put(entity.objectId(), entity);
+			return false;
+		}
+	}
+
+	@Test
+	public void accessFrequencyCountsTheLoadsAndDecays() throws InterruptedException
+	{
+		final RecordingEvaluator evaluator = new RecordingEvaluator();
+		final EmbeddedStorageManager storage = EmbeddedStorage.Foundation(
+			configuration(this.directory)
+				.setHousekeepingController(StorageHousekeepingController.New(10, 10_000_000))
+				.setEntityCacheEvaluator(evaluator)
+				.createConfiguration()
+		)
+		.start();
+
+		final List<Lazy<int[]>> values = new ArrayList<>();
+		final long[] objectIds;
+		try
+		{
+			for(int i = 0; i < 3; i++)
+			{
+				values.add(Lazy.Reference(value(i)));
+			}
+			storage.setRoot(values);
+			storage.storeRoot();
+
+			// loads the values 1, 3 and 20 times.
+			final int[] loads = {1, 3, 20};
+			for(int i = 0; i < values.size(); i++)
+			{
+				for(int l = 0; l < loads[i]; l++)
+				{
+					values.get(i).clear();
+					collectJvmGarbage();
+					assertArrayEquals(value(i), values.get(i).get());
+				}
+			}
+
+			objectIds = values.stream().mapToLong(v -> ((Lazy.Default<int[]>)v).objectId()).toArray();
+			for(final long objectId : objectIds)
+			{
+				while(!evaluator.entities.containsKey(objectId))
+				{
+					Thread.sleep(10);
+				}
+			}
+		}
+		finally
+		{
+			// no more touching of the entities by the storage.
+			storage.shutdown();
+		}
+
+		final long time = System.currentTimeMillis();
+		final int once     = evaluator.entities.get(objectIds[0]).accessFrequency(time);
+		final int some     = evaluator.entities.get(objectIds[1]).accessFrequency(time);
+		final int frequent = evaluator.entities.get(objectIds[2]).accessFrequency(time);
+
+		/*
+		 * A decay period can start during the loads and halve the preceding ones,
+		 * so the frequencies can only be checked for their order and bounds.
+		 */
+		assertTrue(once     <= 1);
+		assertTrue(some     >= 2 && some <= 3);
+		assertTrue(frequent >= 10 && frequent <= MAXIMUM, "frequency " + frequent);
+		assertTrue(once < some && some < frequent);
+
+		// every started decay period halves the frequency, retained by the entity after its data is cleared.
+		final StorageEntity entity = evaluator.entities.get(objectIds[2]);
+		assertEquals(frequent     , entity.accessFrequency(time));
+		assertEquals(frequent >> 1, entity.accessFrequency(time + HALF_LIFE_MS));
+		assertEquals(frequent >> 2, entity.accessFrequency(time + 2 * HALF_LIFE_MS));
+		assertEquals(0            , entity.accessFrequency(time + 4 * HALF_LIFE_MS));
+	}
+
+}
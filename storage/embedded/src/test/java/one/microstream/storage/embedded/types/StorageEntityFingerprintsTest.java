@@ -0,0 +1,181 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.persistence.binary.types.BinaryEntityFingerprints;
+import one.microstream.persistence.types.Storer;
+import one.microstream.storage.types.StorageHousekeepingController;
+
+
+public class StorageEntityFingerprintsTest
+{
+	@TempDir
+	Path directory;
+	
+	private EmbeddedStorageManager start(final BinaryEntityFingerprints fingerprints)
+	{
+		final EmbeddedStorageFoundation<?> foundation = EmbeddedStorage.Foundation(
+			configuration(this.directory)
+				// no housekeeping budget, so that the data files only change by storing and explicit collections
+				.setHousekeepingController(StorageHousekeepingController.New(1000, 0, true))
+				.createConfiguration()
+		);
+		foundation.onConnectionFoundation(f ->
+			f.setEntityFingerprints(fingerprints)
+		);
+		
+		return foundation.start();
+	}
+	
+	private static long totalDataLength(final EmbeddedStorageManager storage)
+	{
+		return storage.createStorageStatistics().totalDataLength();
+	}
+	
+	private static long liveDataLength(final EmbeddedStorageManager storage)
+	{
+		return storage.createStorageStatistics().liveDataLength();
+	}
+	
+	private static void storeEagerly(final EmbeddedStorageManager storage, final Object instance)
+	{
+		final Storer storer = storage.createEagerStorer();
+		storer.store(instance);
+		storer.commit();
+	}
+	
+	@Test
+	public void unchangedEntitiesAreSkipped()
+	{
+		final BinaryEntityFingerprints fingerprints = BinaryEntityFingerprints.New();
+		final ArrayList<int[]>         arrays       = new ArrayList<>();
+		for(int i = 0; i < 100; i++)
+		{
+			arrays.add(new int[]{i, i, i, i});
+		}
+		
+		final EmbeddedStorageManager storage = this.start(fingerprints);
+		try
+		{
+			storage.setRoot(arrays);
+			storage.storeRoot();
+			assertTrue(fingerprints.size() > arrays.size());
+			
+			final long length = totalDataLength(storage);
+			storeEagerly(storage, arrays);
+			
+			assertEquals(length, totalDataLength(storage));
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+	@Test
+	public void changedEntitiesAreStored()
+	{
+		final BinaryEntityFingerprints fingerprints = BinaryEntityFingerprints.New();
+		final ArrayList<int[]>         arrays       = new ArrayList<>();
+		for(int i = 0; i < 100; i++)
+		{
+			arrays.add(new int[]{i, i, i, i});
+		}
+		
+		final EmbeddedStorageManager storage = this.start(fingerprints);
+		try
+		{
+			storage.setRoot(arrays);
+			storage.storeRoot();
+			
+			final long length = totalDataLength(storage);
+			arrays.get(42)[0] = -1;
+			storeEagerly(storage, arrays);
+			
+			// only the changed array is written, not the list or the other arrays.
+			final long writtenLength = totalDataLength(storage) - length;
+			assertTrue(writtenLength > 0);
+			assertTrue(writtenLength < 2 * (length / arrays.size()));
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		final EmbeddedStorageManager restarted = this.start(BinaryEntityFingerprints.New());
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<int[]> loaded = (ArrayList<int[]>)restarted.root();
+			assertEquals(-1, loaded.get(42)[0]);
+			assertEquals(41, loaded.get(41)[0]);
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+	
+	@Test
+	public void entitiesDeletedByTheGarbageCollectionAreStoredAgain()
+	{
+		final BinaryEntityFingerprints fingerprints = BinaryEntityFingerprints.New();
+		final ArrayList<int[]>         arrays       = new ArrayList<>();
+		final int[]                    removed      = {-1, -2, -3};
+		arrays.add(new int[]{1, 2, 3});
+		arrays.add(removed);
+		
+		final EmbeddedStorageManager storage = this.start(fingerprints);
+		try
+		{
+			storage.setRoot(arrays);
+			storage.storeRoot();
+			final long length = liveDataLength(storage);
+			
+			// the instance is still used, but its entity is unreachable in the storage and gets deleted.
+			arrays.remove(removed);
+			storage.store(arrays);
+			storage.issueFullGarbageCollection();
+			assertTrue(liveDataLength(storage) < length);
+			
+			// the deleted entity's record is still in the data file, so only the live data shows if it got stored.
+			arrays.add(removed);
+			storeEagerly(storage, arrays);
+			assertEquals(length, liveDataLength(storage));
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+}
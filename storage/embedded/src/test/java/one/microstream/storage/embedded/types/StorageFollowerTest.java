@@ -0,0 +1,316 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.reference.Lazy;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageFollowerSetup;
+import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageRequestAcceptor;
+
+
+public class StorageFollowerTest
+{
+	static final long TIMEOUT_MS = 10_000;
+	
+	@TempDir
+	Path directory;
+	
+	private EmbeddedStorageFoundation<?> foundation()
+	{
+		return EmbeddedStorage.Foundation(
+			configuration(this.directory)
+				.setChannelCountProvider(Storage.ChannelCountProvider(2))
+				.createConfiguration()
+		);
+	}
+	
+	private EmbeddedStorageManager startFollower()
+	{
+		return this.startFollower(false);
+	}
+	
+	private EmbeddedStorageManager startFollower(final boolean concurrentLoading)
+	{
+		final EmbeddedStorageFoundation<?> foundation = this.foundation()
+			.setFollowerSetup(StorageFollowerSetup.New(10))
+			// a second storage instance for the same directory in the same process needs a name of its own.
+			.setDataBaseName("follower")
+		;
+		if(concurrentLoading)
+		{
+			foundation.setRequestAcceptorCreator(StorageRequestAcceptor.CreatorConcurrentLoading());
+		}
+		
+		return foundation.start();
+	}
+	
+	private static Object awaitObject(final EmbeddedStorageManager follower, final long objectId)
+		throws InterruptedException
+	{
+		final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		while(true)
+		{
+			try
+			{
+				final Object object = follower.persistenceManager().getObject(objectId);
+				if(object != null)
+				{
+					return object;
+				}
+			}
+			catch(final RuntimeException e)
+			{
+				// the follower has not followed the store yet.
+				if(System.currentTimeMillis() > deadline)
+				{
+					throw e;
+				}
+			}
+			if(System.currentTimeMillis() > deadline)
+			{
+				return null;
+			}
+			Thread.sleep(10);
+		}
+	}
+	
+	@Test
+	public void followerLoadsDataStoredAfterItsStart() throws InterruptedException
+	{
+		final EmbeddedStorageManager writer = this.foundation().start();
+		try
+		{
+			final ArrayList<int[]> values = new ArrayList<>();
+			writer.setRoot(values);
+			writer.storeRoot();
+			
+			final EmbeddedStorageManager follower = this.startFollower();
+			try
+			{
+				assertEquals(0, ((ArrayList<?>)follower.root()).size());
+				
+				for(int i = 0; i < 100; i++)
+				{
+					final int[] value = value(i);
+					values.add(value);
+					writer.store(values);
+					
+					assertArrayEquals(value, (int[])awaitObject(follower, writer.persistenceManager().lookupObjectId(value)));
+				}
+			}
+			finally
+			{
+				follower.shutdown();
+			}
+		}
+		finally
+		{
+			writer.shutdown();
+		}
+	}
+	
+	@Test
+	public void followerFollowsFilesDissolvedByTheWriter() throws InterruptedException
+	{
+		// tiny files and frequent housekeeping, so that the writer constantly dissolves and deletes files.
+		final EmbeddedStorageManager writer = EmbeddedStorage.Foundation(
+			configuration(this.directory)
+				.setChannelCountProvider(Storage.ChannelCountProvider(2))
+				.setDataFileEvaluator(Storage.DataFileEvaluator(1024, 8 * 1024, 0.7))
+				.setHousekeepingController(StorageHousekeepingController.New(10, 5_000_000))
+				.createConfiguration()
+			)
+			.start()
+		;
+		try
+		{
+			final ArrayList<int[]> values = new ArrayList<>();
+			for(int i = 0; i < 200; i++)
+			{
+				values.add(value(i));
+			}
+			// behind a lazy reference, so that the follower does not load the values when starting.
+			writer.setRoot(Lazy.Reference(values));
+			writer.storeRoot();
+			
+			final EmbeddedStorageManager follower = this.startFollower();
+			try
+			{
+				for(int version = 1; version <= 5; version++)
+				{
+					for(final int[] value : values)
+					{
+						value[2] = version;
+						writer.store(value);
+					}
+				}
+				
+				// stores are followed in order, so all preceding stores are followed once the marker is.
+				final int[] marker = {-1};
+				writer.store(marker);
+				assertArrayEquals(marker, (int[])awaitObject(follower, writer.persistenceManager().lookupObjectId(marker)));
+				
+				for(final int[] value : values)
+				{
+					assertArrayEquals(value, (int[])follower.persistenceManager().getObject(
+						writer.persistenceManager().lookupObjectId(value)
+					));
+				}
+			}
+			finally
+			{
+				follower.shutdown();
+			}
+		}
+		finally
+		{
+			writer.shutdown();
+		}
+	}
+	
+	@Test
+	public void followerLoadsConcurrentlyWhileFollowing() throws InterruptedException
+	{
+		final EmbeddedStorageManager writer = this.foundation().start();
+		try
+		{
+			final ArrayList<int[]> values = new ArrayList<>();
+			writer.setRoot(values);
+			writer.storeRoot();
+			
+			final EmbeddedStorageManager follower = this.startFollower(true);
+			try
+			{
+				// many new entities per store, so that the readers keep loading while the follower applies updates.
+				final int           storeCount     = 200;
+				final int           valuesPerStore = 50;
+				final long[]        objectIds      = new long[storeCount * valuesPerStore];
+				final AtomicInteger stored         = new AtomicInteger();
+				final Thread[]      readers        = new Thread[4];
+				final Throwable[]   problems       = new Throwable[readers.length];
+				for(int r = 0; r < readers.length; r++)
+				{
+					final int reader = r;
+					readers[r] = new Thread(() ->
+					{
+						try
+						{
+							for(int i = reader; i < objectIds.length; i += readers.length)
+							{
+								while(stored.get() <= i)
+								{
+									Thread.sleep(1);
+								}
+								assertArrayEquals(value(i), (int[])awaitObject(follower, objectIds[i]));
+							}
+						}
+						catch(final Throwable t)
+						{
+							problems[reader] = t;
+						}
+					});
+					readers[r].start();
+				}
+				
+				for(int store = 0; store < storeCount; store++)
+				{
+					final int first = values.size();
+					for(int i = 0; i < valuesPerStore; i++)
+					{
+						values.add(value(first + i));
+					}
+					writer.store(values);
+					for(int i = first; i < values.size(); i++)
+					{
+						objectIds[i] = writer.persistenceManager().lookupObjectId(values.get(i));
+					}
+					stored.set(values.size());
+				}
+				
+				for(final Thread reader : readers)
+				{
+					reader.join(TIMEOUT_MS * 3);
+					assertFalse(reader.isAlive(), "reader blocked");
+				}
+				for(final Throwable problem : problems)
+				{
+					if(problem != null)
+					{
+						throw new AssertionError(problem);
+					}
+				}
+			}
+			finally
+			{
+				follower.shutdown();
+			}
+		}
+		finally
+		{
+			writer.shutdown();
+		}
+	}
+	
+	@Test
+	public void followerRejectsStoring()
+	{
+		final EmbeddedStorageManager writer = this.foundation().start();
+		try
+		{
+			writer.setRoot(new ArrayList<int[]>());
+			writer.storeRoot();
+			
+			final EmbeddedStorageManager follower = this.startFollower();
+			try
+			{
+				@SuppressWarnings("unchecked")
+				final ArrayList<int[]> values = (ArrayList<int[]>)follower.root();
+				values.add(value(0));
+				assertThrows(RuntimeException.class, () -> follower.store(values));
+			}
+			finally
+			{
+				follower.shutdown();
+			}
+		}
+		finally
+		{
+			writer.shutdown();
+		}
+	}
+	
+}
@@ -0,0 +1,289 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageHousekeepingLoad;
+
+
+public class StorageHousekeepingControllerTest
+{
+	static final long   INTERVAL_MS     = 1000;
+	static final long   MINIMUM_NS      = 1_000_000;
+	static final long   MAXIMUM_NS      = 101_000_000;
+	static final double GARBAGE_RATIO   = 0.25;
+	static final long   CACHE_SIZE      = 1_000_000;
+
+	// the minimum share of the general budget a caught-up task gets while another one is behind.
+	static final double MINIMUM_SHARE   = 0.1;
+
+	static final class Load implements StorageHousekeepingLoad
+	{
+		long   intervalNs = 1_000_000_000, taskProcessingNs;
+		int    garbageCollectionBacklog, liveCheckBacklog, fileCheckBacklog;
+		double garbageRatio;
+		long   entityCacheSize;
+
+		Load busy(final double busyRatio)
+		{
+			this.taskProcessingNs = (long)(this.intervalNs * busyRatio);
+			return this;
+		}
+
+		Load backlogs(final int garbageCollection, final int liveCheck, final int fileCheck)
+		{
+			this.garbageCollectionBacklog = garbageCollection;
+			this.liveCheckBacklog         = liveCheck        ;
+			this.fileCheckBacklog         = fileCheck        ;
+			return this;
+		}
+
+		Load storageState(final double garbageRatio, final long entityCacheSize)
+		{
+			this.garbageRatio    = garbageRatio   ;
+			this.entityCacheSize = entityCacheSize;
+			return this;
+		}
+
+		@Override
+		public int channelIndex()
+		{
+			return 0;
+		}
+
+		@Override
+		public long intervalNs()
+		{
+			return this.intervalNs;
+		}
+
+		@Override
+		public long taskProcessingNs()
+		{
+			return this.taskProcessingNs;
+		}
+
+		@Override
+		public int garbageCollectionBacklog()
+		{
+			return this.garbageCollectionBacklog;
+		}
+
+		@Override
+		public int liveCheckBacklog()
+		{
+			return this.liveCheckBacklog;
+		}
+
+		@Override
+		public int fileCheckBacklog()
+		{
+			return this.fileCheckBacklog;
+		}
+
+		@Override
+		public double garbageRatio()
+		{
+			return this.garbageRatio;
+		}
+
+		@Override
+		public long entityCacheSize()
+		{
+			return this.entityCacheSize;
+		}
+	}
+
+	private static StorageHousekeepingController.Adaptive controller()
+	{
+		return StorageHousekeepingController.Adaptive(
+			INTERVAL_MS  ,
+			MINIMUM_NS   ,
+			MAXIMUM_NS   ,
+			false        ,
+			GARBAGE_RATIO,
+			CACHE_SIZE
+		);
+	}
+
+	private static void assertTaskBudgets(
+		final Load   load             ,
+		final double garbageCollection,
+		final double liveCheck        ,
+		final double fileCheck
+	)
+	{
+		final StorageHousekeepingController.Adaptive controller = controller();
+		final long budgetNs = controller.housekeepingTimeBudgetNs(load);
+
+		assertEquals((long)(budgetNs * garbageCollection), controller.garbageCollectionTimeBudgetNs(load), "gc");
+		assertEquals((long)(budgetNs * liveCheck        ), controller.liveCheckTimeBudgetNs(load)        , "live");
+		assertEquals((long)(budgetNs * fileCheck        ), controller.fileCheckTimeBudgetNs(load)        , "file");
+	}
+
+	private static double share(final double priority, final double totalPriority)
+	{
+		return MINIMUM_SHARE + (1.0 - MINIMUM_SHARE) * priority / totalPriority;
+	}
+
+	@Test
+	public void idleChannelGetsTheMaximumBudget()
+	{
+		assertEquals(MAXIMUM_NS, controller().housekeepingTimeBudgetNs(new Load().busy(0.0)));
+	}
+
+	@Test
+	public void busyChannelGetsTheMinimumBudget()
+	{
+		assertEquals(MINIMUM_NS, controller().housekeepingTimeBudgetNs(new Load().busy(1.0)));
+	}
+
+	@Test
+	public void budgetFollowsTheIdleShare()
+	{
+		assertEquals(
+			MINIMUM_NS + (MAXIMUM_NS - MINIMUM_NS) / 4,
+			controller().housekeepingTimeBudgetNs(new Load().busy(0.75))
+		);
+	}
+
+	@Test
+	public void saturatedBacklogGetsTheMaximumBudgetUnderFullLoad()
+	{
+		assertEquals(MAXIMUM_NS, controller().housekeepingTimeBudgetNs(new Load().busy(1.0).backlogs(0, 10, 0)));
+		assertEquals(MAXIMUM_NS, controller().housekeepingTimeBudgetNs(new Load().busy(1.0).backlogs(0, 0, 50)));
+	}
+
+	@Test
+	public void garbageRaisesTheBudgetUnderFullLoad()
+	{
+		final StorageHousekeepingController.Adaptive controller = controller();
+
+		assertEquals(
+			MINIMUM_NS + (MAXIMUM_NS - MINIMUM_NS) / 2,
+			controller.housekeepingTimeBudgetNs(new Load().busy(1.0).storageState(GARBAGE_RATIO / 2, 0))
+		);
+		assertEquals(
+			MAXIMUM_NS,
+			controller.housekeepingTimeBudgetNs(new Load().busy(1.0).storageState(0.9, 0))
+		);
+	}
+
+	@Test
+	public void entityCacheSizeRaisesTheBudgetUnderFullLoad()
+	{
+		final StorageHousekeepingController.Adaptive controller = controller();
+
+		assertEquals(
+			MINIMUM_NS + (MAXIMUM_NS - MINIMUM_NS) / 2,
+			controller.housekeepingTimeBudgetNs(new Load().busy(1.0).storageState(0.0, CACHE_SIZE / 2))
+		);
+		assertEquals(
+			MAXIMUM_NS,
+			controller.housekeepingTimeBudgetNs(new Load().busy(1.0).storageState(0.0, CACHE_SIZE * 2))
+		);
+	}
+
+	@Test
+	public void everyTaskGetsTheWholeBudgetIfNoneIsBehind()
+	{
+		assertTaskBudgets(new Load().busy(0.5), 1.0, 1.0, 1.0);
+	}
+
+	@Test
+	public void caughtUpTasksGetTheMinimumShareIfOneIsBehind()
+	{
+		final double minimum = share(0.0, 1.0);
+		final double full    = share(1.0, 1.0);
+
+		assertEquals(1.0, full, 0.0);
+		assertTaskBudgets(new Load().busy(0.5).backlogs(3, 0, 0), full   , minimum, minimum);
+		assertTaskBudgets(new Load().busy(0.5).backlogs(0, 3, 0), minimum, full   , minimum);
+		assertTaskBudgets(new Load().busy(0.5).backlogs(0, 0, 3), minimum, minimum, full   );
+	}
+
+	@Test
+	public void taskFurthestBehindGetsTheLargestShare()
+	{
+		final Load load = new Load().busy(0.5).backlogs(2, 6, 0);
+
+		// backlog priorities are 0.2 and 0.6
+		assertTaskBudgets(load, share(0.2, 0.8), share(0.6, 0.8), share(0.0, 0.8));
+
+		final StorageHousekeepingController.Adaptive controller = controller();
+		assertTrue(controller.liveCheckTimeBudgetNs(load) > controller.garbageCollectionTimeBudgetNs(load));
+		assertTrue(controller.garbageCollectionTimeBudgetNs(load) > controller.fileCheckTimeBudgetNs(load));
+	}
+
+	@Test
+	public void saturatedBacklogsShareEqually()
+	{
+		final double share = share(1.0, 2.0);
+
+		assertTaskBudgets(new Load().busy(0.5).backlogs(10, 0, 40), share, share(0.0, 2.0), share);
+	}
+
+	@Test
+	public void garbageRaisesTheFileCheckShare()
+	{
+		// garbage pressure 0.5, backlog priority 0.5
+		assertTaskBudgets(
+			new Load().busy(0.5).backlogs(5, 0, 0).storageState(GARBAGE_RATIO / 2, 0),
+			share(0.5, 1.0),
+			share(0.0, 1.0),
+			share(0.5, 1.0)
+		);
+	}
+
+	@Test
+	public void entityCacheSizeRaisesTheLiveCheckShare()
+	{
+		// cache pressure 1.0, backlog priority 0.5
+		assertTaskBudgets(
+			new Load().busy(0.5).backlogs(5, 0, 0).storageState(0.0, CACHE_SIZE * 2),
+			share(0.5, 1.5),
+			share(1.0, 1.5),
+			share(0.0, 1.5)
+		);
+	}
+
+	@Test
+	public void invalidPressureThresholdsAreRejected()
+	{
+		assertThrows(IllegalArgumentException.class, () ->
+			StorageHousekeepingController.Adaptive(INTERVAL_MS, MINIMUM_NS, MAXIMUM_NS, false, 0.0, CACHE_SIZE)
+		);
+		assertThrows(IllegalArgumentException.class, () ->
+			StorageHousekeepingController.Adaptive(INTERVAL_MS, MINIMUM_NS, MAXIMUM_NS, false, 1.5, CACHE_SIZE)
+		);
+		assertThrows(IllegalArgumentException.class, () ->
+			StorageHousekeepingController.Adaptive(INTERVAL_MS, MINIMUM_NS, MAXIMUM_NS, false, GARBAGE_RATIO, 0)
+		);
+	}
+
+}
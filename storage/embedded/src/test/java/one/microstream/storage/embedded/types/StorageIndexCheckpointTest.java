@@ -0,0 +1,247 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageDataFileEvaluator;
+import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageIndexCheckpointSetup;
+
+
+public class StorageIndexCheckpointTest
+{
+	@TempDir
+	Path directory;
+	
+	private EmbeddedStorageManager start(final boolean indexCheckpoint)
+	{
+		return this.start(
+			indexCheckpoint ? StorageIndexCheckpointSetup.New() : StorageIndexCheckpointSetup.Disabled(),
+			Storage.HousekeepingController(),
+			Storage.DataFileEvaluator()
+		);
+	}
+	
+	private EmbeddedStorageManager start(
+		final StorageIndexCheckpointSetup   indexCheckpointSetup  ,
+		final StorageHousekeepingController housekeepingController,
+		final StorageDataFileEvaluator      dataFileEvaluator
+	)
+	{
+		return EmbeddedStorage.Foundation(
+			configuration(this.directory)
+				.setChannelCountProvider(Storage.ChannelCountProvider(2))
+				.setHousekeepingController(housekeepingController)
+				.setDataFileEvaluator(dataFileEvaluator)
+				.createConfiguration()
+		)
+		.setIndexCheckpointSetup(indexCheckpointSetup)
+		.start();
+	}
+	
+	private Path checkpointFile(final int channelIndex)
+	{
+		return this.directory.resolve("channel_" + channelIndex).resolve("index_" + channelIndex + ".sfi");
+	}
+	
+	private Path temporaryCheckpointFile(final int channelIndex)
+	{
+		return this.directory.resolve("channel_" + channelIndex).resolve("index_" + channelIndex + ".sfit");
+	}
+	
+	private void store(final boolean indexCheckpoint, final int count)
+	{
+		final EmbeddedStorageManager storage = this.start(indexCheckpoint);
+		try
+		{
+			@SuppressWarnings("unchecked")
+			ArrayList<int[]> values = (ArrayList<int[]>)storage.root();
+			if(values == null)
+			{
+				storage.setRoot(values = new ArrayList<>());
+			}
+			for(int i = values.size(), end = values.size() + count; i < end; i++)
+			{
+				values.add(value(i));
+			}
+			storage.store(values);
+			storage.storeRoot();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+	private void assertValues(final boolean indexCheckpoint, final int count)
+	{
+		final EmbeddedStorageManager storage = this.start(indexCheckpoint);
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<int[]> values = (ArrayList<int[]>)storage.root();
+			assertEquals(count, values.size());
+			for(int i = 0; i < count; i++)
+			{
+				assertArrayEquals(value(i), values.get(i));
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+	@Test
+	public void checkpointIsWrittenOnShutdownAndUsedOnStartup()
+	{
+		this.store(true, 1000);
+		
+		assertTrue(Files.isRegularFile(this.checkpointFile(0)));
+		assertTrue(Files.isRegularFile(this.checkpointFile(1)));
+		this.assertValues(true, 1000);
+	}
+	
+	@Test
+	public void dataStoredAfterTheCheckpointIsRead()
+	{
+		this.store(true, 1000);
+		
+		// no checkpoint is written on this shutdown, the existing one only covers the first 1000 values.
+		this.store(false, 500);
+		
+		this.assertValues(true, 1500);
+	}
+	
+	@Test
+	public void incompleteCheckpointFallsBackToReadingTheDataFiles() throws IOException
+	{
+		this.store(true, 1000);
+		
+		try(FileChannel channel = FileChannel.open(this.checkpointFile(0), StandardOpenOption.WRITE))
+		{
+			channel.truncate(channel.size() / 2);
+		}
+		
+		this.assertValues(true, 1000);
+	}
+	
+	@Test
+	public void checkpointExceedingTheReadChunksIsUsed()
+	{
+		// each channel's checkpoint contains more entity records than a single read chunk.
+		this.store(true, 80_000);
+		
+		this.assertValues(true, 80_000);
+	}
+	
+	@Test
+	public void checkpointMovedBeforeReplacingIsCompleted() throws IOException
+	{
+		this.store(true, 1000);
+		
+		// as if writing was interrupted right after removing the previous checkpoint.
+		Files.move(this.checkpointFile(0), this.temporaryCheckpointFile(0));
+		
+		this.assertValues(true, 1000);
+		assertTrue(Files.isRegularFile(this.checkpointFile(0)));
+		assertFalse(Files.exists(this.temporaryCheckpointFile(0)));
+	}
+	
+	@Test
+	public void incompleteTemporaryCheckpointIsDiscarded() throws IOException
+	{
+		this.store(true, 1000);
+		
+		// as if writing was interrupted before the previous checkpoint was replaced.
+		Files.write(this.temporaryCheckpointFile(0), new byte[100]);
+		
+		this.assertValues(true, 1000);
+		assertFalse(Files.exists(this.temporaryCheckpointFile(0)));
+	}
+	
+	@Test
+	public void checkpointWrittenIncrementallyWhileStoringIsConsistent() throws Exception
+	{
+		this.store(false, 30_000);
+		
+		/*
+		 * A small time budget splits the checkpoint writing up into several housekeeping cycles.
+		 * The checkpoint's data file must not be dissolved meanwhile, otherwise the checkpoint is ignored.
+		 */
+		final EmbeddedStorageManager storage = this.start(
+			StorageIndexCheckpointSetup.New(1),
+			Storage.HousekeepingController(1, TimeUnit.MICROSECONDS.toNanos(200)),
+			Storage.DataFileEvaluator(1024, 64 * 1024 * 1024, 0.01, false)
+		);
+		final Path housekeepingCheckpoint = this.directory.resolve("housekeeping.sfi");
+		final int  count;
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<int[]> values = (ArrayList<int[]>)storage.root();
+			
+			// stores moving entities and appending new ones until a checkpoint has been written during housekeeping.
+			for(int i = 0; !Files.exists(this.checkpointFile(0)); i++)
+			{
+				assertTrue(i < 100_000, "no checkpoint written");
+				values.set(i % values.size(), value(i % values.size()));
+				storage.store(values.get(i % values.size()));
+				values.add(value(values.size()));
+				storage.store(values);
+				Thread.sleep(1);
+			}
+			Files.copy(this.checkpointFile(0), housekeepingCheckpoint);
+			count = values.size();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		// the checkpoint written on shutdown is replaced by the one written during housekeeping.
+		Files.copy(housekeepingCheckpoint, this.checkpointFile(0), StandardCopyOption.REPLACE_EXISTING);
+		Files.delete(this.checkpointFile(1));
+		
+		this.assertValues(true, count);
+	}
+	
+}
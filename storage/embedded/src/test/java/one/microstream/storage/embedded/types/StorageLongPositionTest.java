@@ -0,0 +1,338 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static one.microstream.storage.embedded.types.StorageTestFixture.foundation;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.afs.nio.types.NioFileSystem;
+import one.microstream.afs.types.AFile;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageEntityInitializer;
+import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageIndexCheckpoint;
+import one.microstream.storage.types.StorageIndexCheckpointSetup;
+
+
+public class StorageLongPositionTest
+{
+	static final int  VALUE_COUNT    = 1000;
+	static final long LARGE_POSITION = 3L * Integer.MAX_VALUE;
+
+	/*
+	 * Data files are read in segments if they exceed the segment length. A small one lets files of some
+	 * ten kilobytes take the path of data files exceeding the int range.
+	 */
+	static final int SEGMENT_LENGTH = 16 * 1024;
+	static final int ROUND_COUNT    = 4        ;
+
+	@TempDir
+	Path directory;
+
+	private EmbeddedStorageManager start()
+	{
+		return foundation(this.directory)
+			.setIndexCheckpointSetup(StorageIndexCheckpointSetup.New())
+			.start()
+		;
+	}
+
+	/*
+	 * The housekeeping gets no time budget, so the data files remain as stored between the startups.
+	 */
+	private EmbeddedStorageManager startSegmented(
+		final int                         threadCount         ,
+		final StorageIndexCheckpointSetup indexCheckpointSetup
+	)
+	{
+		return EmbeddedStorage.Foundation(
+			configuration(this.directory)
+				.setDataFileEvaluator(Storage.DataFileEvaluator(32 * 1024, 64 * 1024))
+				.setHousekeepingController(StorageHousekeepingController.New(60_000, 0))
+				.createConfiguration()
+		)
+		.setEntityInitializerCreator(StorageEntityInitializer.Creator(threadCount, SEGMENT_LENGTH))
+		.setIndexCheckpointSetup(indexCheckpointSetup)
+		.start();
+	}
+
+	/**
+	 * Stores all values in the passed rounds. Every round replaces all values, so every data file contains
+	 * outdated versions of entities whose current version is located in a later segment or file.
+	 */
+	private void storeRounds(final StorageIndexCheckpointSetup indexCheckpointSetup, final int firstRound)
+	{
+		final EmbeddedStorageManager storage = this.startSegmented(1, indexCheckpointSetup);
+		try
+		{
+			@SuppressWarnings("unchecked")
+			ArrayList<int[]> values = (ArrayList<int[]>)storage.root();
+			if(values == null)
+			{
+				storage.setRoot(values = new ArrayList<>());
+			}
+			for(int r = firstRound; r < firstRound + ROUND_COUNT; r++)
+			{
+				values.clear();
+				for(int i = 0; i < VALUE_COUNT; i++)
+				{
+					values.add(new int[]{i, r});
+				}
+				storage.store(values);
+				storage.storeRoot();
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+
+	private void assertRound(
+		final int                         threadCount         ,
+		final StorageIndexCheckpointSetup indexCheckpointSetup,
+		final int                         round
+	)
+	{
+		final EmbeddedStorageManager storage = this.startSegmented(threadCount, indexCheckpointSetup);
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<int[]> values = (ArrayList<int[]>)storage.root();
+			assertEquals(VALUE_COUNT, values.size());
+			for(int i = 0; i < VALUE_COUNT; i++)
+			{
+				assertArrayEquals(new int[]{i, round}, values.get(i));
+			}
+
+			// an entity registered from an outdated version would not be found in its data file anymore.
+			storage.issueFullFileCheck();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+
+	private void assertSegmentedDataFiles() throws IOException
+	{
+		try(Stream<Path> files = Files.list(this.directory.resolve("channel_0")))
+		{
+			// the head file may still be small, only the files exceeding a segment are relevant.
+			final long segmentedFileCount = files
+				.filter(file -> file.getFileName().toString().endsWith(".dat"))
+				.filter(file -> file.toFile().length() > SEGMENT_LENGTH)
+				.count()
+			;
+			assertTrue(segmentedFileCount > 1, segmentedFileCount + " data files exceeding a segment");
+		}
+	}
+
+	private Path checkpointFile()
+	{
+		return this.directory.resolve("channel_0").resolve("index_0.sfi");
+	}
+
+	private static StorageIndexCheckpoint readCheckpoint(final Path file)
+	{
+		final NioFileSystem fileSystem = NioFileSystem.New();
+		final AFile         afile      = fileSystem.ensureFilePath(fileSystem.resolveFileToPath(file));
+
+		return StorageIndexCheckpoint.Logic.read(afile);
+	}
+
+	@Test
+	void checkpointPositionsLocateTheEntitiesInTheDataFile() throws IOException
+	{
+		final EmbeddedStorageManager storage = this.start();
+		try
+		{
+			final ArrayList<int[]> values = new ArrayList<>();
+			for(int i = 0; i < VALUE_COUNT; i++)
+			{
+				values.add(value(i));
+			}
+			storage.setRoot(values);
+			storage.storeRoot();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		final StorageIndexCheckpoint checkpoint = readCheckpoint(this.checkpointFile());
+		assertNotNull(checkpoint);
+		try
+		{
+			final long       fileNumber = checkpoint.headFileNumber();
+			final Path       dataFile   = this.directory.resolve("channel_0").resolve("channel_0_" + fileNumber + ".dat");
+			final ByteBuffer data       = ByteBuffer.wrap(Files.readAllBytes(dataFile)).order(ByteOrder.nativeOrder());
+			assertEquals(data.limit(), checkpoint.fileLength(fileNumber));
+
+			final AtomicInteger count = new AtomicInteger();
+			checkpoint.iterateEntitiesReversed(fileNumber, (objectId, typeId, storagePosition, length) ->
+			{
+				// the entity header at the position: [length][typeId][objectId]
+				final int position = Math.toIntExact(storagePosition);
+				assertEquals(length  , data.getLong(position));
+				assertEquals(typeId  , data.getLong(position + Long.BYTES));
+				assertEquals(objectId, data.getLong(position + 2 * Long.BYTES));
+				count.incrementAndGet();
+			});
+			// the values, the list and the root entities.
+			assertTrue(count.get() > VALUE_COUNT);
+		}
+		finally
+		{
+			checkpoint.release();
+		}
+
+		final EmbeddedStorageManager restarted = this.start();
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<int[]> values = (ArrayList<int[]>)restarted.root();
+			assertEquals(VALUE_COUNT, values.size());
+			for(int i = 0; i < VALUE_COUNT; i++)
+			{
+				assertArrayEquals(value(i), values.get(i));
+			}
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+
+	@Test
+	void checkpointPositionsExceedingTheIntRangeAreRead() throws IOException
+	{
+		// a checkpoint of a single data file larger than 2 GB with one entity located beyond the int range.
+		final ByteBuffer buffer = ByteBuffer.allocate(24 + 32 + 24 + 24).order(ByteOrder.LITTLE_ENDIAN);
+		final long       magic  = StorageIndexCheckpoint.Logic.MAGIC;
+
+		// header: [magic][channel index][store timestamp]
+		buffer.putLong(magic).putLong(0).putLong(1);
+		// entity: [objectId][typeId][position][length][unused]
+		buffer.putLong(1_000_000_000_000_000_001L).putLong(1_000_001L).putLong(LARGE_POSITION).putInt(48).putInt(0);
+		// file: [file number][file length][entity count]
+		buffer.putLong(1).putLong(LARGE_POSITION + 48).putLong(1);
+		// footer: [file count][entity count][magic]
+		buffer.putLong(1).putLong(1).putLong(magic);
+
+		final Path file = this.directory.resolve("index_0.sfi");
+		Files.write(file, buffer.array());
+
+		final StorageIndexCheckpoint checkpoint = readCheckpoint(file);
+		assertNotNull(checkpoint);
+		try
+		{
+			assertEquals(LARGE_POSITION + 48, checkpoint.fileLength(1));
+
+			final long[] positions = new long[1];
+			checkpoint.iterateEntitiesReversed(1, (objectId, typeId, storagePosition, length) ->
+			{
+				assertEquals(1_000_000_000_000_000_001L, objectId);
+				assertEquals(48, length);
+				positions[0] = storagePosition;
+			});
+			assertEquals(LARGE_POSITION, positions[0]);
+		}
+		finally
+		{
+			checkpoint.release();
+		}
+	}
+
+	@Test
+	void sequentialInitializationRegistersTheLatestVersionsAcrossSegments() throws IOException
+	{
+		this.storeRounds(StorageIndexCheckpointSetup.Disabled(), 0);
+		this.assertSegmentedDataFiles();
+
+		this.assertRound(1, StorageIndexCheckpointSetup.Disabled(), ROUND_COUNT - 1);
+	}
+
+	@Test
+	void concurrentInitializationRegistersTheLatestVersionsAcrossSegments() throws IOException
+	{
+		this.storeRounds(StorageIndexCheckpointSetup.Disabled(), 0);
+		this.assertSegmentedDataFiles();
+
+		// several files exceeding a segment share the buffer of the registering thread.
+		this.assertRound(3, StorageIndexCheckpointSetup.Disabled(), ROUND_COUNT - 1);
+	}
+
+	@Test
+	void onlyTheDataAfterTheCheckpointIsReadInSegments() throws IOException
+	{
+		this.storeRounds(StorageIndexCheckpointSetup.New(), 0);
+
+		// no checkpoint is written on this shutdown, so the data of these rounds has to be read in segments.
+		this.storeRounds(StorageIndexCheckpointSetup.Disabled(), ROUND_COUNT);
+		this.assertSegmentedDataFiles();
+
+		this.assertRound(1, StorageIndexCheckpointSetup.New(), 2 * ROUND_COUNT - 1);
+		this.assertRound(3, StorageIndexCheckpointSetup.New(), 2 * ROUND_COUNT - 1);
+	}
+
+	@Test
+	void entityExceedingTheSegmentLengthIsRejected()
+	{
+		final EmbeddedStorageManager storage = this.startSegmented(1, StorageIndexCheckpointSetup.Disabled());
+		try
+		{
+			storage.setRoot(new int[SEGMENT_LENGTH]);
+			storage.storeRoot();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		assertThrows(RuntimeException.class, () -> this.startSegmented(1, StorageIndexCheckpointSetup.Disabled()));
+	}
+
+	@Test
+	void segmentLengthBelowTheEntityHeaderLengthIsRejected()
+	{
+		assertThrows(IllegalArgumentException.class, () -> StorageEntityInitializer.Creator(1, Long.BYTES));
+	}
+
+}
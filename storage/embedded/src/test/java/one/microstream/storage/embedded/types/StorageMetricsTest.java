@@ -0,0 +1,335 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.collectJvmGarbage;
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.function.ToLongFunction;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.reference.Lazy;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageChannelMetrics;
+import one.microstream.storage.types.StorageEntityCacheEvaluator;
+import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageMetrics;
+import one.microstream.storage.types.StorageMetricsHistogram;
+
+
+public class StorageMetricsTest
+{
+	static final int VALUE_COUNT   = 1000;
+	static final int CHANNEL_COUNT = 2   ;
+
+	@TempDir
+	Path directory;
+
+	private EmbeddedStorageManager start(
+		final StorageMetrics              metrics             ,
+		final StorageEntityCacheEvaluator entityCacheEvaluator
+	)
+	{
+		return EmbeddedStorage.Foundation(
+			configuration(this.directory)
+				.setChannelCountProvider(Storage.ChannelCountProvider(CHANNEL_COUNT))
+				.setHousekeepingController(StorageHousekeepingController.New(10, 10_000_000, true))
+				.setEntityCacheEvaluator(entityCacheEvaluator)
+				.createConfiguration()
+		)
+		.setMetrics(metrics)
+		.start();
+	}
+
+	private EmbeddedStorageManager start(final StorageMetrics metrics)
+	{
+		return this.start(metrics, StorageEntityCacheEvaluator.New());
+	}
+
+	private static ArrayList<Lazy<int[]>> storeValues(final EmbeddedStorageManager storage)
+	{
+		final ArrayList<Lazy<int[]>> values = new ArrayList<>();
+		for(int i = 0; i < VALUE_COUNT; i++)
+		{
+			values.add(Lazy.Reference(value(i)));
+		}
+		storage.setRoot(values);
+		storage.storeRoot();
+
+		return values;
+	}
+
+	private static void loadValues(final ArrayList<Lazy<int[]>> values)
+	{
+		values.forEach(v -> v.clear());
+		collectJvmGarbage();
+		for(int i = 0; i < values.size(); i++)
+		{
+			assertArrayEquals(value(i), values.get(i).get());
+		}
+	}
+
+	private static long sum(final StorageMetrics metrics, final ToLongFunction<StorageChannelMetrics> metric)
+	{
+		long sum = 0;
+		for(int i = 0; i < metrics.channelCount(); i++)
+		{
+			sum += metric.applyAsLong(metrics.channel(i));
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Waits until the channels have updated their gauges in housekeeping to satisfy the passed condition.
+	 */
+	private static void awaitGauges(final StorageMetrics metrics, final ToLongFunction<StorageChannelMetrics> condition)
+		throws InterruptedException
+	{
+		final long deadline = System.currentTimeMillis() + 10_000;
+		for(int i = 0; i < metrics.channelCount(); i++)
+		{
+			while(condition.applyAsLong(metrics.channel(i)) == 0)
+			{
+				assertTrue(System.currentTimeMillis() < deadline, "gauges not updated:\n" + metrics.channel(i));
+				Thread.sleep(10);
+			}
+		}
+	}
+
+	@Test
+	public void histogramPercentilesHaveBoundedRelativeError()
+	{
+		final StorageMetricsHistogram histogram = StorageMetricsHistogram.New();
+		for(long v = 1; v <= 100_000; v++)
+		{
+			histogram.record(v);
+		}
+		histogram.record(-5);
+
+		final StorageMetricsHistogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(100_001       , snapshot.getCount());
+		assertEquals(5_000_050_000L, snapshot.getSum());
+		assertEquals(100_000       , snapshot.getMaximum());
+		assertEquals(0             , snapshot.percentile(0.0));
+		assertEquals(100_000       , snapshot.percentile(100.0));
+
+		for(final double percentile : new double[]{10.0, 50.0, 90.0, 99.0, 99.9})
+		{
+			final long exact = (long)Math.ceil(percentile / 100.0 * 100_001) - 1;
+			final long value = snapshot.percentile(percentile);
+			assertTrue(value >= exact && value <= exact + exact / 8, percentile + "%: " + value + " vs. " + exact);
+		}
+	}
+
+	@Test
+	public void histogramCountsSmallValuesExactly()
+	{
+		final StorageMetricsHistogram histogram = StorageMetricsHistogram.New();
+		histogram.record(3);
+		histogram.record(3);
+		histogram.record(7);
+
+		final StorageMetricsHistogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(3, snapshot.getMedian());
+		assertEquals(7, snapshot.getPercentile99());
+		assertEquals(0, StorageMetricsHistogram.New().snapshot().getPercentile99());
+	}
+
+	@Test
+	public void storingAndLoadingIsRecorded() throws InterruptedException
+	{
+		final StorageMetrics metrics = StorageMetrics.New();
+		final EmbeddedStorageManager storage = this.start(metrics);
+		try
+		{
+			assertEquals(CHANNEL_COUNT, metrics.channelCount());
+			assertSame(metrics, storage.metrics());
+
+			final ArrayList<Lazy<int[]>> values = storeValues(storage);
+			assertTrue(sum(metrics, StorageChannelMetrics::bytesWritten) >= VALUE_COUNT * 3 * Integer.BYTES);
+
+			// stored data is not cached, so the first loading reads it from the data files...
+			final long hits = sum(metrics, StorageChannelMetrics::entityCacheHits);
+			loadValues(values);
+			assertTrue(sum(metrics, StorageChannelMetrics::entityCacheMisses) >= VALUE_COUNT);
+			assertTrue(sum(metrics, StorageChannelMetrics::bytesRead) >= VALUE_COUNT * 3 * Integer.BYTES);
+
+			// ...and the next one from the entity cache.
+			final long misses = sum(metrics, StorageChannelMetrics::entityCacheMisses);
+			loadValues(values);
+			assertTrue(sum(metrics, StorageChannelMetrics::entityCacheHits) >= hits + VALUE_COUNT);
+			assertEquals(misses, sum(metrics, StorageChannelMetrics::entityCacheMisses));
+
+			for(int i = 0; i < CHANNEL_COUNT; i++)
+			{
+				final StorageChannelMetrics channel = metrics.channel(i);
+				assertEquals(i, channel.channelIndex());
+				assertFalse(channel.taskProcessingTimes().isEmpty());
+				assertEquals(channel.taskProcessingTimes().keySet(), channel.taskWaitTimes().keySet());
+				assertTrue(channel.entityCacheHitRatio() > 0.0 && channel.entityCacheHitRatio() < 1.0);
+			}
+
+			awaitGauges(metrics, StorageChannelMetrics::entityCacheSize);
+			awaitGauges(metrics, StorageChannelMetrics::fileCount);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+
+	@Test
+	public void clearedCacheDataIsReadAgain() throws InterruptedException
+	{
+		// clears every entity's cached data as soon as possible.
+		final StorageMetrics metrics = StorageMetrics.New();
+		final EmbeddedStorageManager storage = this.start(metrics, StorageEntityCacheEvaluator.New(1, 1));
+		try
+		{
+			final ArrayList<Lazy<int[]>> values = storeValues(storage);
+			loadValues(values);
+
+			awaitGauges(metrics, c -> c.entityCacheSize() == 0 ? 1 : 0);
+			final long misses    = sum(metrics, StorageChannelMetrics::entityCacheMisses);
+			final long bytesRead = sum(metrics, StorageChannelMetrics::bytesRead);
+			loadValues(values);
+
+			assertTrue(sum(metrics, StorageChannelMetrics::entityCacheMisses) >= misses + VALUE_COUNT);
+			assertTrue(sum(metrics, StorageChannelMetrics::bytesRead) > bytesRead);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+
+	@Test
+	public void overwrittenDataIsRecordedAsGarbage() throws InterruptedException
+	{
+		final StorageMetrics metrics = StorageMetrics.New();
+		final EmbeddedStorageManager storage = this.start(metrics);
+		try
+		{
+			final ArrayList<Lazy<int[]>> values = storeValues(storage);
+			for(final Lazy<int[]> value : values)
+			{
+				value.get()[1]++;
+				storage.store(value.get());
+			}
+
+			awaitGauges(metrics, c -> c.fileTotalLength() > c.fileDataLength() ? 1 : 0);
+			for(int i = 0; i < CHANNEL_COUNT; i++)
+			{
+				final StorageChannelMetrics channel = metrics.channel(i);
+				assertTrue(channel.fileCount() >= 1);
+				assertTrue(channel.garbageRatio() > 0.0 && channel.garbageRatio() < 1.0, channel.toString());
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+
+	@Test
+	public void garbageCollectionIsRecorded() throws InterruptedException
+	{
+		final StorageMetrics metrics = StorageMetrics.New();
+		final EmbeddedStorageManager storage = this.start(metrics);
+		try
+		{
+			storeValues(storage);
+			storage.issueFullGarbageCollection();
+
+			awaitGauges(metrics, c -> c.garbageCollectionMarkTimes().getCount());
+			awaitGauges(metrics, c -> c.garbageCollectionSweepTimes().getCount());
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+
+	@Test
+	public void metricsAreExposedAsMXBeans() throws Exception
+	{
+		final StorageMetrics metrics = StorageMetrics.New();
+		final MBeanServer    server  = ManagementFactory.getPlatformMBeanServer();
+		final ObjectName     name    = new ObjectName(
+			"one.microstream.storage:type=StorageChannelMetrics,storage=\"metrics-test\",channel=1"
+		);
+
+		EmbeddedStorageManager storage = this.start(metrics);
+		try
+		{
+			metrics.registerMXBeans("metrics-test");
+			storeValues(storage);
+
+			assertTrue(server.isRegistered(name));
+			assertEquals(1, server.getAttribute(name, "ChannelIndex"));
+			assertEquals(metrics.channel(1).bytesWritten(), server.getAttribute(name, "BytesWritten"));
+
+			final CompositeData markTimes = (CompositeData)server.getAttribute(name, "GarbageCollectionMarkTimes");
+			assertTrue(markTimes.containsKey("percentile99"));
+			server.getAttribute(name, "TaskProcessingTimes");
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		// a restart creates fresh channel metrics and registers them under the same names.
+		final StorageChannelMetrics previous = metrics.channel(1);
+		storage = this.start(metrics);
+		try
+		{
+			assertNotSame(previous, metrics.channel(1));
+			assertTrue(server.isRegistered(name));
+			assertEquals(metrics.channel(1).bytesWritten(), server.getAttribute(name, "BytesWritten"));
+		}
+		finally
+		{
+			storage.shutdown();
+			metrics.unregisterMXBeans();
+		}
+
+		assertFalse(server.isRegistered(name));
+	}
+
+}
@@ -0,0 +1,238 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.reference.Lazy;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageEntityCacheEvaluator;
+import one.microstream.storage.types.StorageGarbageCollectionStatistics;
+import one.microstream.storage.types.StorageHousekeepingController;
+
+
+public class StorageParallelGarbageCollectionTest
+{
+	static final int GROUP_COUNT  = 10 ;
+	static final int VALUE_COUNT  = 100;
+	static final int WORKER_COUNT = 4  ;
+
+	@TempDir
+	Path directory;
+
+	private EmbeddedStorageManager start()
+	{
+		return this.start(true);
+	}
+
+	private EmbeddedStorageManager start(final boolean garbageCollectionEnabled)
+	{
+		/*
+		 * The incremental collection must not delete anything before the parallel one counts it. The first
+		 * housekeeping interval starts right away, so a zero budget limits every interval to a single housekeeping
+		 * task marking a single entity. The minimal cache threshold keeps the initialization from caching the
+		 * entities' data, so it has to be read from the files.
+		 */
+		return EmbeddedStorage.Foundation(
+			configuration(this.directory)
+				.setChannelCountProvider(Storage.ChannelCountProvider(2))
+				.setHousekeepingController(StorageHousekeepingController.New(60_000, 0, garbageCollectionEnabled))
+				.setEntityCacheEvaluator(StorageEntityCacheEvaluator.New(60_000, 1))
+				.createConfiguration()
+		)
+		.start();
+	}
+
+	/**
+	 * Stores groups of values behind lazy references and removes every other group from the root again.
+	 * The garbage collection is disabled meanwhile, so all removed groups are left to be collected.
+	 */
+	private void storeGroups()
+	{
+		final EmbeddedStorageManager storage = this.start(false);
+		try
+		{
+			final ArrayList<Lazy<ArrayList<int[]>>> groups = new ArrayList<>();
+			for(int g = 0; g < GROUP_COUNT; g++)
+			{
+				final ArrayList<int[]> values = new ArrayList<>();
+				for(int i = 0; i < VALUE_COUNT; i++)
+				{
+					values.add(value(g, i));
+				}
+				groups.add(Lazy.Reference(values));
+			}
+			storage.setRoot(groups);
+			storage.storeRoot();
+
+			for(int g = GROUP_COUNT; g --> 0;)
+			{
+				if(g % 2 == 1)
+				{
+					groups.remove(g);
+				}
+			}
+			storage.store(groups);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+
+	private static void assertGroups(final EmbeddedStorageManager storage)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayList<Lazy<ArrayList<int[]>>> groups = (ArrayList<Lazy<ArrayList<int[]>>>)storage.root();
+		assertEquals(GROUP_COUNT / 2, groups.size());
+		for(int g = 0; g < groups.size(); g++)
+		{
+			final ArrayList<int[]> values = groups.get(g).get();
+			assertEquals(VALUE_COUNT, values.size());
+			for(int i = 0; i < VALUE_COUNT; i++)
+			{
+				assertArrayEquals(value(2 * g, i), values.get(i));
+			}
+		}
+	}
+
+	@Test
+	void unreachableEntitiesAreDeleted()
+	{
+		this.storeGroups();
+
+		// after restarting, the lazily referenced groups are not loaded, so their references are read from the files.
+		final EmbeddedStorageManager storage = this.start();
+		try
+		{
+			final StorageGarbageCollectionStatistics statistics =
+				storage.issueParallelFullGarbageCollection(WORKER_COUNT)
+			;
+			assertNotNull(statistics);
+			assertEquals(WORKER_COUNT, statistics.workerCount());
+			assertTrue(statistics.readEntityCount() > 0);
+
+			// every removed group consists of the lazy reference, the list and its values.
+			assertEquals(GROUP_COUNT / 2 * (2 + VALUE_COUNT), statistics.deletedEntityCount());
+
+			assertGroups(storage);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		final EmbeddedStorageManager restarted = this.start();
+		try
+		{
+			assertGroups(restarted);
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+
+	@Test
+	void incrementalCollectionResumesAfterParallelCollection()
+	{
+		this.storeGroups();
+
+		final EmbeddedStorageManager storage = this.start();
+		try
+		{
+			assertGroups(storage);
+			storage.issueParallelFullGarbageCollection(WORKER_COUNT);
+
+			// the second collection finds nothing left to delete.
+			assertEquals(0, storage.issueParallelFullGarbageCollection(WORKER_COUNT).deletedEntityCount());
+
+			@SuppressWarnings("unchecked")
+			final ArrayList<Lazy<ArrayList<int[]>>> groups = (ArrayList<Lazy<ArrayList<int[]>>>)storage.root();
+			groups.get(0).get().clear();
+			storage.store(groups.get(0).get());
+
+			storage.issueFullGarbageCollection();
+			storage.issueFullFileCheck();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		final EmbeddedStorageManager restarted = this.start();
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<Lazy<ArrayList<int[]>>> groups = (ArrayList<Lazy<ArrayList<int[]>>>)restarted.root();
+			assertEquals(0, groups.get(0).get().size());
+			assertEquals(VALUE_COUNT, groups.get(1).get().size());
+			assertArrayEquals(value(2, 0), groups.get(1).get().get(0));
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+
+	@Test
+	void disabledCollectionDeletesNothing()
+	{
+		this.storeGroups();
+
+		final EmbeddedStorageManager storage = this.start(false);
+		try
+		{
+			assertNull(storage.issueParallelFullGarbageCollection(WORKER_COUNT));
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		// the removed groups are still contained, so a collection with the garbage collection enabled deletes them.
+		final EmbeddedStorageManager restarted = this.start();
+		try
+		{
+			assertEquals(
+				GROUP_COUNT / 2 * (2 + VALUE_COUNT),
+				restarted.issueParallelFullGarbageCollection(WORKER_COUNT).deletedEntityCount()
+			);
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+
+}
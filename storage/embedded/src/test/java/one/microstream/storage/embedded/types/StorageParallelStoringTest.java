@@ -0,0 +1,193 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.persistence.binary.types.BinaryStorer;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageChannelCountProvider;
+
+
+public class StorageParallelStoringTest
+{
+	static final int CHANNEL_COUNT = 2;
+	
+	// far above the count of pending items from which on the pool's workers help serializing.
+	static final int NODE_COUNT = 50_000;
+	
+	static final int SHARED_COUNT = 100;
+	
+	@TempDir
+	Path directory;
+	
+	private EmbeddedStorageFoundation<?> foundation()
+	{
+		return EmbeddedStorage.Foundation(
+			configuration(this.directory)
+				.setChannelCountProvider(Storage.ChannelCountProvider(CHANNEL_COUNT))
+				.createConfiguration()
+		);
+	}
+	
+	private EmbeddedStorageManager startParallel(final ForkJoinPool storingPool)
+	{
+		final StorageChannelCountProvider channelCountProvider = Storage.ChannelCountProvider(CHANNEL_COUNT);
+		
+		final EmbeddedStorageFoundation<?> foundation = this.foundation();
+		foundation.onConnectionFoundation(f ->
+			f.setStorerCreator(BinaryStorer.Creator(channelCountProvider, false, storingPool))
+		);
+		
+		return foundation.start();
+	}
+	
+	/**
+	 * Every node references a value of its own and one of a few shared values, which are new instances
+	 * met by several workers at the same time.
+	 */
+	private static ArrayList<Object[]> nodes(final int count)
+	{
+		final ArrayList<int[]> shared = new ArrayList<>();
+		for(int i = 0; i < SHARED_COUNT; i++)
+		{
+			shared.add(value(-i));
+		}
+		
+		final ArrayList<Object[]> nodes = new ArrayList<>();
+		for(int i = 0; i < count; i++)
+		{
+			nodes.add(new Object[]{value(i), shared.get(i % SHARED_COUNT)});
+		}
+		
+		return nodes;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void assertStoredNodes(final int count)
+	{
+		final EmbeddedStorageManager restarted = this.foundation().start();
+		try
+		{
+			final ArrayList<Object[]> nodes = (ArrayList<Object[]>)restarted.root();
+			assertEquals(count, nodes.size());
+			for(int i = 0; i < count; i++)
+			{
+				final Object[] node = nodes.get(i);
+				assertArrayEquals(value(i), (int[])node[0]);
+				assertArrayEquals(value(-(i % SHARED_COUNT)), (int[])node[1]);
+				// one object id per shared instance, no matter how many workers met it.
+				assertSame(nodes.get(i % SHARED_COUNT)[1], node[1]);
+			}
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+	
+	@Test
+	public void largeGraphIsLoadableAfterRestart()
+	{
+		final ForkJoinPool storingPool = new ForkJoinPool(4);
+		try
+		{
+			final EmbeddedStorageManager storage = this.startParallel(storingPool);
+			try
+			{
+				storage.setRoot(nodes(NODE_COUNT));
+				storage.storeRoot();
+			}
+			finally
+			{
+				storage.shutdown();
+			}
+		}
+		finally
+		{
+			storingPool.shutdown();
+		}
+		
+		this.assertStoredNodes(NODE_COUNT);
+	}
+	
+	@Test
+	public void concurrentStorersShareThePool() throws InterruptedException
+	{
+		final ForkJoinPool storingPool = new ForkJoinPool(4);
+		try
+		{
+			final EmbeddedStorageManager storage = this.startParallel(storingPool);
+			try
+			{
+				final ArrayList<Object[]> nodes = nodes(NODE_COUNT);
+				storage.setRoot(nodes);
+				storage.storeRoot();
+				
+				// replacing every value and storing the halves concurrently by two storers.
+				final Thread[] threads = new Thread[2];
+				for(int t = 0; t < threads.length; t++)
+				{
+					final int from = t * NODE_COUNT / threads.length;
+					final int to   = (t + 1) * NODE_COUNT / threads.length;
+					threads[t] = new Thread(() ->
+					{
+						final ArrayList<Object> stored = new ArrayList<>();
+						for(int i = from; i < to; i++)
+						{
+							final Object[] node = nodes.get(i);
+							node[0] = value(i);
+							stored.add(node);
+						}
+						storage.storeAll(stored);
+					});
+					threads[t].start();
+				}
+				for(final Thread thread : threads)
+				{
+					thread.join();
+				}
+			}
+			finally
+			{
+				storage.shutdown();
+			}
+		}
+		finally
+		{
+			storingPool.shutdown();
+		}
+		
+		this.assertStoredNodes(NODE_COUNT);
+	}
+	
+}
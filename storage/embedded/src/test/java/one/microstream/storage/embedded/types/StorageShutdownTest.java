@@ -0,0 +1,108 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageChannelThreadProvider;
+
+
+public class StorageShutdownTest
+{
+	@TempDir
+	Path directory;
+	
+	final List<Thread> channelThreads = new ArrayList<>();
+	
+	private EmbeddedStorageManager start()
+	{
+		final StorageChannelThreadProvider threadProvider = new StorageChannelThreadProvider.Default();
+		
+		return EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(this.directory))
+				.setChannelCountProvider(Storage.ChannelCountProvider(4))
+				.createConfiguration()
+			)
+			.setChannelThreadProvider((channel, nameProvider) ->
+			{
+				final Thread thread = threadProvider.provideChannelThread(channel, nameProvider);
+				synchronized(this.channelThreads)
+				{
+					this.channelThreads.add(thread);
+				}
+				return thread;
+			})
+			.start()
+		;
+	}
+	
+	@Test
+	public void shutdownReturnsAfterTheChannelThreadsTerminated()
+	{
+		final EmbeddedStorageManager storage = this.start();
+		storage.setRoot(new int[]{1, 2, 3});
+		storage.storeRoot();
+		storage.shutdown();
+		
+		assertEquals(4, this.channelThreads.size());
+		for(final Thread thread : this.channelThreads)
+		{
+			// the threads release their files right before they terminate, so they must not be alive anymore.
+			assertFalse(thread.isAlive(), thread.getName());
+		}
+		assertFalse(storage.isActive());
+	}
+	
+	@Test
+	public void storageCanBeRestartedRightAfterShutdown()
+	{
+		for(int i = 0; i < 10; i++)
+		{
+			final EmbeddedStorageManager storage = this.start();
+			try
+			{
+				if(i > 0)
+				{
+					assertArrayEquals(new int[]{i - 1}, (int[])storage.root());
+				}
+				storage.setRoot(new int[]{i});
+				storage.storeRoot();
+			}
+			finally
+			{
+				storage.shutdown();
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,275 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.afs.nio.types.NioFileSystem;
+import one.microstream.afs.types.ADirectory;
+import one.microstream.persistence.internal.PersistenceTypeDictionaryFileHandler;
+import one.microstream.persistence.types.PersistenceTypeDictionaryExporter;
+import one.microstream.storage.exceptions.StorageException;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageLiveFileProvider;
+import one.microstream.storage.types.StorageSnapshot;
+
+
+public class StorageSnapshotTest
+{
+	@TempDir
+	Path directory;
+	
+	private Path storageDirectory()
+	{
+		return this.directory.resolve("storage");
+	}
+	
+	private Path snapshotDirectory()
+	{
+		return this.directory.resolve("snapshot");
+	}
+	
+	private EmbeddedStorageFoundation<?> foundation(final Path directory)
+	{
+		return EmbeddedStorage.Foundation(
+			configuration(directory)
+				.setChannelCountProvider(Storage.ChannelCountProvider(2))
+				.createConfiguration()
+		);
+	}
+	
+	private EmbeddedStorageManager startChurning()
+	{
+		// tiny files and frequent housekeeping, so that the storage constantly dissolves and deletes files.
+		return EmbeddedStorage.Foundation(
+			configuration(this.storageDirectory())
+				.setChannelCountProvider(Storage.ChannelCountProvider(2))
+				.setDataFileEvaluator(Storage.DataFileEvaluator(1024, 8 * 1024, 0.7))
+				.setHousekeepingController(StorageHousekeepingController.New(10, 5_000_000))
+				.createConfiguration()
+			)
+			.start()
+		;
+	}
+	
+	private static ArrayList<int[]> values(final int count)
+	{
+		final ArrayList<int[]> values = new ArrayList<>();
+		for(int i = 0; i < count; i++)
+		{
+			values.add(value(i));
+		}
+		
+		return values;
+	}
+	
+	private void export(final EmbeddedStorageManager storage, final StorageSnapshot snapshot)
+	{
+		final ADirectory target = NioFileSystem.New().ensureDirectory(this.snapshotDirectory());
+		PersistenceTypeDictionaryExporter.New(PersistenceTypeDictionaryFileHandler.New(target))
+			.exportTypeDictionary(storage.typeDictionary())
+		;
+		snapshot.exportTo(StorageLiveFileProvider.New(target));
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void assertSnapshotContains(final ArrayList<int[]> expected)
+	{
+		final EmbeddedStorageManager restored = this.foundation(this.snapshotDirectory()).start();
+		try
+		{
+			final ArrayList<int[]> values = (ArrayList<int[]>)restored.root();
+			assertEquals(expected.size(), values.size());
+			for(int i = 0; i < expected.size(); i++)
+			{
+				assertArrayEquals(expected.get(i), values.get(i));
+			}
+		}
+		finally
+		{
+			restored.shutdown();
+		}
+	}
+	
+	@Test
+	public void snapshotContainsTheStateAtCapturing()
+	{
+		final EmbeddedStorageManager storage = this.foundation(this.storageDirectory()).start();
+		try
+		{
+			final ArrayList<int[]> values = values(100);
+			storage.setRoot(values);
+			storage.storeRoot();
+			
+			final StorageSnapshot snapshot = storage.captureSnapshot(false);
+			try
+			{
+				// stored after capturing, so neither part of the snapshot.
+				for(final int[] value : values)
+				{
+					value[2] = -1;
+					storage.store(value);
+				}
+				values.add(value(100));
+				storage.store(values);
+				
+				this.export(storage, snapshot);
+			}
+			finally
+			{
+				snapshot.release();
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		this.assertSnapshotContains(values(100));
+	}
+	
+	@Test
+	public void snapshotSurvivesDissolvedFiles() throws InterruptedException
+	{
+		final EmbeddedStorageManager storage = this.startChurning();
+		try
+		{
+			final ArrayList<int[]> values = values(200);
+			storage.setRoot(values);
+			storage.storeRoot();
+			
+			final StorageSnapshot snapshot = storage.captureSnapshot(false);
+			try
+			{
+				for(int version = 1; version <= 5; version++)
+				{
+					for(final int[] value : values)
+					{
+						value[2] = -version;
+						storage.store(value);
+					}
+				}
+				// give the housekeeping time to dissolve the files of the first versions.
+				Thread.sleep(500);
+				
+				this.export(storage, snapshot);
+			}
+			finally
+			{
+				snapshot.release();
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		this.assertSnapshotContains(values(200));
+	}
+	
+	@Test
+	public void snapshotExportedWhileStoringIsConsistent() throws InterruptedException
+	{
+		final EmbeddedStorageManager storage = this.foundation(this.storageDirectory()).start();
+		try
+		{
+			final ArrayList<int[]> values = new ArrayList<>();
+			storage.setRoot(values);
+			storage.storeRoot();
+			
+			final AtomicBoolean stop   = new AtomicBoolean();
+			final Thread        writer = new Thread(() ->
+			{
+				for(int i = 0; !stop.get(); i++)
+				{
+					values.add(value(i));
+					storage.store(values);
+				}
+			});
+			writer.start();
+			try
+			{
+				Thread.sleep(200);
+				storage.exportSnapshot(NioFileSystem.New().ensureDirectory(this.snapshotDirectory()));
+			}
+			finally
+			{
+				stop.set(true);
+				writer.join();
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		// any number of stores may be part of the snapshot, but each one completely.
+		final EmbeddedStorageManager restored = this.foundation(this.snapshotDirectory()).start();
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<int[]> values = (ArrayList<int[]>)restored.root();
+			for(int i = 0; i < values.size(); i++)
+			{
+				assertArrayEquals(value(i), values.get(i));
+			}
+		}
+		finally
+		{
+			restored.shutdown();
+		}
+	}
+	
+	@Test
+	public void releasedSnapshotCannotBeExported()
+	{
+		final EmbeddedStorageManager storage = this.foundation(this.storageDirectory()).start();
+		try
+		{
+			storage.setRoot(values(10));
+			storage.storeRoot();
+			
+			final StorageSnapshot snapshot = storage.captureSnapshot(false);
+			snapshot.release();
+			// idempotent
+			snapshot.release();
+			
+			assertThrows(StorageException.class, () -> this.export(storage, snapshot));
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+}
@@ -0,0 +1,92 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageConfiguration;
+
+
+/**
+ * Common setup and test data of the embedded storage tests.
+ */
+final class StorageTestFixture
+{
+	/**
+	 * @param directory the storage directory, usually a test's {@code @TempDir} or a sub directory of it.
+	 *
+	 * @return a configuration builder for a storage located in the passed directory, to be completed by the test.
+	 */
+	static StorageConfiguration.Builder<?> configuration(final Path directory)
+	{
+		return Storage.ConfigurationBuilder()
+			.setStorageFileProvider(Storage.FileProvider(directory))
+		;
+	}
+
+	/**
+	 * @param directory the storage directory, usually a test's {@code @TempDir} or a sub directory of it.
+	 *
+	 * @return a foundation for a storage with the default configuration located in the passed directory.
+	 */
+	static EmbeddedStorageFoundation<?> foundation(final Path directory)
+	{
+		return EmbeddedStorage.Foundation(configuration(directory).createConfiguration());
+	}
+
+	static int[] value(final int index)
+	{
+		return new int[]{index, index + 10, index + 20};
+	}
+
+	static int[] value(final int thread, final int round)
+	{
+		return new int[]{thread, round};
+	}
+
+	/**
+	 * Runs the JVM garbage collection until a weakly referenced sentinel is collected. The object registry only
+	 * references its instances weakly, so collected ones have to be loaded again.
+	 */
+	static void collectJvmGarbage()
+	{
+		final WeakReference<Object> sentinel = new WeakReference<>(new Object());
+		while(sentinel.get() != null)
+		{
+			System.gc();
+		}
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	private StorageTestFixture()
+	{
+		// static only
+		throw new UnsupportedOperationException();
+	}
+
+}
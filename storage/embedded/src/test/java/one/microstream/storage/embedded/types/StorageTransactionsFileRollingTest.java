@@ -0,0 +1,168 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.storage.embedded.types.StorageTestFixture.configuration;
+import static one.microstream.storage.embedded.types.StorageTestFixture.value;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageTransactionsFileRollingSetup;
+
+
+public class StorageTransactionsFileRollingTest
+{
+	static final long MAXIMUM_FILE_SIZE = 2048;
+	
+	@TempDir
+	Path directory;
+	
+	private EmbeddedStorageManager start()
+	{
+		return EmbeddedStorage.Foundation(
+			configuration(this.directory)
+				.setHousekeepingController(StorageHousekeepingController.New(10, 10_000_000))
+				.createConfiguration()
+			)
+			.setTransactionsFileRollingSetup(StorageTransactionsFileRollingSetup.New(MAXIMUM_FILE_SIZE))
+			.start()
+		;
+	}
+	
+	private Path transactionsFile()
+	{
+		return this.directory.resolve("channel_0").resolve("transactions_0.sft");
+	}
+	
+	private Path rollingFile()
+	{
+		return this.directory.resolve("channel_0").resolve("transactions_0.sftr");
+	}
+	
+	private void storeValues(final int count)
+	{
+		final EmbeddedStorageManager storage = this.start();
+		try
+		{
+			final ArrayList<int[]> values = new ArrayList<>();
+			storage.setRoot(values);
+			storage.storeRoot();
+			
+			// every store appends an entry to the transactions file.
+			for(int i = 0; i < count; i++)
+			{
+				values.add(value(i));
+				storage.store(values);
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+	private void assertValues(final int count)
+	{
+		final EmbeddedStorageManager storage = this.start();
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final ArrayList<int[]> values = (ArrayList<int[]>)storage.root();
+			assertEquals(count, values.size());
+			for(int i = 0; i < count; i++)
+			{
+				assertArrayEquals(value(i), values.get(i));
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+	@Test
+	public void transactionsFileIsRolled() throws InterruptedException
+	{
+		final EmbeddedStorageManager storage = this.start();
+		try
+		{
+			final ArrayList<int[]> values = new ArrayList<>();
+			storage.setRoot(values);
+			storage.storeRoot();
+			
+			long maximumSize = 0;
+			for(int i = 0; i < 500; i++)
+			{
+				values.add(value(i));
+				storage.store(values);
+				// the file is briefly missing while it is replaced by the rolled one, length() is 0 then.
+				maximumSize = Math.max(maximumSize, this.transactionsFile().toFile().length());
+				Thread.sleep(1);
+			}
+			
+			// 500 store entries alone exceed the maximum size many times over.
+			assertTrue(maximumSize < MAXIMUM_FILE_SIZE * 4);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		this.assertValues(500);
+	}
+	
+	@Test
+	public void rollingFileIsDiscardedIfTheTransactionsFileStillExists() throws IOException
+	{
+		this.storeValues(100);
+		
+		// rolling interrupted before the transactions file has been removed, the rolling file may be incomplete.
+		Files.write(this.rollingFile(), new byte[]{1, 2, 3});
+		
+		this.assertValues(100);
+		assertTrue(Files.notExists(this.rollingFile()));
+	}
+	
+	@Test
+	public void rollingFileReplacesARemovedTransactionsFile() throws IOException
+	{
+		this.storeValues(100);
+		
+		// rolling interrupted after the transactions file has been removed, the rolling file is complete.
+		Files.move(this.transactionsFile(), this.rollingFile());
+		
+		this.assertValues(100);
+		assertTrue(Files.exists(this.transactionsFile()));
+		assertTrue(Files.notExists(this.rollingFile()));
+	}
+	
+}
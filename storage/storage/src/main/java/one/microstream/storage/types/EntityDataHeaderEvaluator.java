@@ -87,9 +87,9 @@ public final class EntityDataHeaderEvaluator
 		{
 			return false;
 		}
-		final long length   = Binary.getEntityLengthRawValue(entityStartAddress)  ;
-		final long typeId   = Binary.getEntityTypeIdRawValue(entityStartAddress)  ;
-		final long objectId = Binary.getEntityObjectIdRawValue(entityStartAddress);
+		final long length   = Binary.getEntityLengthRawValue(entityStartAddress)   ;
+		final long typeId   = StorageDataCompression.entityTypeId(entityStartAddress);
+		final long objectId = Binary.getEntityObjectIdRawValue(entityStartAddress) ;
 		
 		if(!this.isValidHeader(length, typeId, objectId))
 		{
@@ -292,6 +292,36 @@ public final class Storage
 		return StorageHousekeepingController.New(housekeepingIntervalMs, housekeepingTimeBudgetNs);
 	}
 
+	/**
+	 * Creates a new {@link StorageHousekeepingController.Adaptive}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageHousekeepingController#Adaptive(long, long, long)}.
+	 *
+	 * @see Storage#HousekeepingControllerAdaptive(long, long, long)
+	 * @see StorageHousekeepingController#Adaptive()
+	 */
+	public static final StorageHousekeepingController.Adaptive HousekeepingControllerAdaptive()
+	{
+		return StorageHousekeepingController.Adaptive();
+	}
+
+	/**
+	 * Creates a new {@link StorageHousekeepingController.Adaptive}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageHousekeepingController#Adaptive(long, long, long)}.
+	 *
+	 * @see Storage#HousekeepingControllerAdaptive()
+	 * @see StorageHousekeepingController#Adaptive(long, long, long)
+	 */
+	public static final StorageHousekeepingController.Adaptive HousekeepingControllerAdaptive(
+		final long housekeepingIntervalMs,
+		final long minimumTimeBudgetNs   ,
+		final long maximumTimeBudgetNs
+	)
+	{
+		return StorageHousekeepingController.Adaptive(housekeepingIntervalMs, minimumTimeBudgetNs, maximumTimeBudgetNs);
+	}
+
 	/**
 	 * Creates a new {@link StorageEntityCacheEvaluator}.
 	 * <p>
@@ -339,6 +369,37 @@ public final class Storage
 		return StorageEntityCacheEvaluator.New(timeoutMs, threshold);
 	}
 
+	/**
+	 * Creates a new {@link StorageEntityCacheEvaluator.FrequencyAware}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageEntityCacheEvaluator#FrequencyAware(long, long)}.
+	 *
+	 * @see Storage#FrequencyAwareEntityCacheEvaluator(long, long)
+	 * @see StorageEntityCacheEvaluator#FrequencyAware(long)
+	 */
+	public static final StorageEntityCacheEvaluator.FrequencyAware FrequencyAwareEntityCacheEvaluator(
+		final long cacheBudget
+	)
+	{
+		return StorageEntityCacheEvaluator.FrequencyAware(cacheBudget);
+	}
+
+	/**
+	 * Creates a new {@link StorageEntityCacheEvaluator.FrequencyAware}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageEntityCacheEvaluator#FrequencyAware(long, long)}.
+	 *
+	 * @see Storage#FrequencyAwareEntityCacheEvaluator(long)
+	 * @see StorageEntityCacheEvaluator#FrequencyAware(long, long)
+	 */
+	public static final StorageEntityCacheEvaluator.FrequencyAware FrequencyAwareEntityCacheEvaluator(
+		final long timeoutMs  ,
+		final long cacheBudget
+	)
+	{
+		return StorageEntityCacheEvaluator.FrequencyAware(timeoutMs, cacheBudget);
+	}
+
 	/**
 	 * Creates a new {@link StorageChannelCountProvider}.
 	 * <p>
@@ -497,6 +558,23 @@ public final class Storage
 		return StorageBackupSetup.New(backupFileProvider);
 	}
 
+	/**
+	 * Creates a new {@link StorageBackupSetup}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageBackupSetup#New(StorageBackupFileProvider, int, long)}.
+	 *
+	 * @see StorageBackupSetup#New(StorageBackupFileProvider, int, long)
+	 * @see StorageBackupHandler
+	 */
+	public static final StorageBackupSetup BackupSetup(
+		final StorageBackupFileProvider backupFileProvider,
+		final int                       threadCount       ,
+		final long                      bandwidthLimit
+	)
+	{
+		return StorageBackupSetup.New(backupFileProvider, threadCount, bandwidthLimit);
+	}
+
 	/**
 	 * Creates a new {@link StorageLockFileSetup.Provider}.
 	 * <p>
@@ -39,6 +39,18 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 {
 	public StorageBackupSetup setup();
 	
+	/**
+	 * @return the number of threads that shall run this handler, each copying the backup items of other channels.
+	 */
+	public int threadCount();
+	
+	/**
+	 * @param channelIndex the index of the channel.
+	 * 
+	 * @return the number of bytes written to the channel's files but not yet copied to the backup.
+	 */
+	public long backupLag(int channelIndex);
+	
 	public void initialize(int channelIndex);
 	
 	public void synchronize(StorageInventory storageInventory);
@@ -117,9 +129,10 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 		private final StorageOperationController       operationController;
 		private final StorageWriteController           writeController    ;
 		private final StorageDataFileValidator.Creator validatorCreator   ;
+		private final Throttle                         throttle           ;
 		
 		private boolean running; // being "ordered" to run.
-		private boolean active ; // being actually active, e.g. executing the last loop before running check.
+		private int     active ; // number of threads being actually active, e.g. executing the last loop.
 		private boolean shutdown;// being "ordered" to stop the backup handler after completing current queued items
 		
 		
@@ -144,6 +157,10 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 			this.operationController = operationController;
 			this.writeController     = writeController    ;
 			this.validatorCreator    = validatorCreator   ;
+			this.throttle            = backupSetup.bandwidthLimit() == 0
+				? null
+				: new Throttle(backupSetup.bandwidthLimit())
+			;
 		}
 
 		
@@ -158,6 +175,24 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 			return this.backupSetup;
 		}
 		
+		@Override
+		public final int threadCount()
+		{
+			// the items of one channel are processed by one thread at a time, so more threads would only idle.
+			final int threadCount = this.backupSetup.threadCount();
+			
+			return threadCount == 0
+				? this.channelInventories.length
+				: Math.min(threadCount, this.channelInventories.length)
+			;
+		}
+		
+		@Override
+		public final long backupLag(final int channelIndex)
+		{
+			return this.itemQueue.pendingCopyLength(channelIndex);
+		}
+		
 		@Override
 		public final synchronized boolean isRunning()
 		{
@@ -167,7 +202,7 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 		@Override
 		public final synchronized boolean isActive()
 		{
-			return this.active;
+			return this.active > 0;
 		}
 		
 		/**
@@ -229,13 +264,27 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 			}
 		}
 		
+		private synchronized void incrementActive()
+		{
+			this.active++;
+		}
+		
+		private synchronized boolean decrementActive()
+		{
+			return --this.active == 0;
+		}
+		
+		/**
+		 * Processes the queued backup items until the handler is stopped. Executed by {@link #threadCount()}
+		 * threads in parallel, the last one to terminate closes all backup files.
+		 */
 		@Override
 		public void run()
 		{
 			// must be the method instead of the field to check the lock but don't conver the whole loop
+			this.incrementActive();
 			try
 			{
-				this.active = true;
 				
 				// can not / may not copy storage files if the storage is not running (has locked and opend files, etc.)
 				while(this.isRunning() && this.operationController.checkProcessingEnabled())
@@ -260,8 +309,10 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 			finally
 			{
 				// must close all open files on any aborting case (after stopping and before throwing an exception)
-				this.closeAllDataFiles();
-				this.active = false;
+				if(this.decrementActive())
+				{
+					this.closeAllDataFiles();
+				}
 			}
 			
 		}
@@ -494,7 +545,7 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 				
 				try
 				{
-					sourceFile.copyTo(backupTargetFile, sourcePosition, length);
+					this.copy(sourceFile, sourcePosition, length, backupTargetFile);
 					
 					// (16.06.2020 TM)TODO: nasty instanceof
 					if(backupTargetFile instanceof StorageBackupDataFile)
@@ -518,6 +569,37 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 			}
 		}
 		
+		private void copy(
+			final StorageChannelFile sourceFile      ,
+			final long               sourcePosition  ,
+			final long               length          ,
+			final StorageBackupFile  backupTargetFile
+		)
+		{
+			// a single transfer may copy less than requested and a throttled copy is split into small chunks anyway.
+			for(long copied = 0; copied < length;)
+			{
+				final long chunkLength = this.throttle == null
+					? length - copied
+					: Math.min(length - copied, this.throttle.chunkLength)
+				;
+				if(this.throttle != null)
+				{
+					this.throttle.acquire(chunkLength);
+				}
+				
+				final long transferred = sourceFile.copyTo(backupTargetFile, sourcePosition + copied, chunkLength);
+				if(transferred <= 0)
+				{
+					throw new StorageExceptionBackup(
+						"No progress copying " + (length - copied) + " bytes at position "
+						+ (sourcePosition + copied) + " of " + sourceFile.identifier()
+					);
+				}
+				copied += transferred;
+			}
+		}
+		
 		@Override
 		public void copyFilePart(
 			final StorageLiveChannelFile<?> sourceFile    ,
@@ -586,6 +668,85 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 		
 		
 		
+		/**
+		 * Limits the bandwidth used by all backup threads together by handing out time slots for copying chunks.
+		 */
+		static final class Throttle
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// constants //
+			//////////////
+			
+			static final long MINIMUM_CHUNK_LENGTH = 64 * 1024;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			final long bytesPerSecond;
+			final long chunkLength   ;
+			
+			private long nextSlotNs;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			Throttle(final long bytesPerSecond)
+			{
+				super();
+				this.bytesPerSecond = bytesPerSecond;
+				
+				// about 10 chunks per second keep the copying smooth without too many small transfers.
+				this.chunkLength = Math.max(bytesPerSecond / 10, MINIMUM_CHUNK_LENGTH);
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			final void acquire(final long length)
+			{
+				final long waitNs;
+				synchronized(this)
+				{
+					final long now = System.nanoTime();
+					
+					// unused time slots of an idle backup are not accumulated, so there are no bursts after idling.
+					if(this.nextSlotNs - now < 0)
+					{
+						this.nextSlotNs = now;
+					}
+					waitNs = this.nextSlotNs - now;
+					this.nextSlotNs += (long)(length * 1_000_000_000.0 / this.bytesPerSecond);
+				}
+				
+				if(waitNs <= 0)
+				{
+					return;
+				}
+				
+				try
+				{
+					Thread.sleep(waitNs / 1_000_000, (int)(waitNs % 1_000_000));
+				}
+				catch(final InterruptedException e)
+				{
+					// the interruption is handled by the backup thread's next wait for items.
+					Thread.currentThread().interrupt();
+				}
+			}
+			
+		}
+		
+		
+		
 		static final class ChannelInventory implements StorageHashChannelPart
 		{
 			///////////////////////////////////////////////////////////////////////////
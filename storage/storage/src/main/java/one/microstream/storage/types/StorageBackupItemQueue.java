@@ -20,11 +20,35 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import java.util.Arrays;
+
 public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, StorageFileUser
 {
+	/**
+	 * Processes the next item of a channel that is not currently processed by another thread. Directly following
+	 * copying items of the same file that describe adjacent ranges are coalesced and processed as one item.
+	 * May be called by several threads concurrently, the items of one channel are always processed in order.
+	 * 
+	 * @param handler the handler to process the item.
+	 * @param timeoutMs the maximum time to wait for an item.
+	 * 
+	 * @return whether an item has been processed or the handler is no longer running.
+	 * 
+	 * @throws InterruptedException if the waiting thread has been interrupted.
+	 */
 	public boolean processNextItem(StorageBackupHandler handler, long timeoutMs) throws InterruptedException;
 	
+	/**
+	 * @return whether there are neither queued items nor items currently being processed.
+	 */
 	public boolean isEmpty();
+	
+	/**
+	 * @param channelIndex the index of the channel.
+	 * 
+	 * @return the number of bytes written to the channel's files but not yet copied to the backup.
+	 */
+	public long pendingCopyLength(int channelIndex);
 		
 	public static StorageBackupItemQueue New()
 	{
@@ -37,8 +61,10 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 		// instance fields //
 		////////////////////
 		
-		private final Item head = new Item(null, 0, 0);
-		private       Item tail = this.head;
+		// guards all queue state, the channel count is not known before the first item is enqueued.
+		private final Object         lock     = new Object();
+		private       ChannelItems[] channels = new ChannelItems[0];
+		private       int            nextChannelIndex;
 		
 		
 		
@@ -60,7 +86,30 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 		@Override
 		public final boolean isEmpty()
 		{
-			return this.head.next == null;
+			synchronized(this.lock)
+			{
+				for(final ChannelItems channel : this.channels)
+				{
+					if(channel.head.next != null || channel.isProcessing)
+					{
+						return false;
+					}
+				}
+				
+				return true;
+			}
+		}
+		
+		@Override
+		public final long pendingCopyLength(final int channelIndex)
+		{
+			synchronized(this.lock)
+			{
+				return channelIndex < this.channels.length
+					? this.channels[channelIndex].pendingCopyLength
+					: 0
+				;
+			}
 		}
 		
 		@Override
@@ -92,6 +141,21 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 			this.internalEnqueueItem(file, 0, -1);
 		}
 		
+		private ChannelItems ensureChannel(final int channelIndex)
+		{
+			if(channelIndex >= this.channels.length)
+			{
+				final ChannelItems[] channels = Arrays.copyOf(this.channels, channelIndex + 1);
+				for(int i = this.channels.length; i < channels.length; i++)
+				{
+					channels[i] = new ChannelItems();
+				}
+				this.channels = channels;
+			}
+			
+			return this.channels[channelIndex];
+		}
+		
 		private void internalEnqueueItem(
 			final StorageLiveChannelFile<?> sourceFile    ,
 			final long                      sourcePosition,
@@ -101,11 +165,38 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 			sourceFile.registerUsage(this);
 			
 			// no try-catch with unregisterUsage required since the following code is too simple to fail.
-			synchronized(this.head)
+			synchronized(this.lock)
 			{
-				this.tail = this.tail.next = new Item(sourceFile, sourcePosition, length);
-				this.head.notifyAll();
+				final ChannelItems channel = this.ensureChannel(sourceFile.channelIndex());
+				channel.tail = channel.tail.next = new Item(sourceFile, sourcePosition, length);
+				if(length > 0)
+				{
+					channel.pendingCopyLength += length;
+				}
+				this.lock.notifyAll();
+			}
+		}
+		
+		private ChannelItems lockNextProcessableChannel()
+		{
+			final ChannelItems[] channels = this.channels;
+			for(int i = 0; i < channels.length; i++)
+			{
+				// round robin, so that no channel's backup can starve the others'.
+				final int channelIndex = (this.nextChannelIndex + i) % channels.length;
+				final ChannelItems channel = channels[channelIndex];
+				if(channel.isProcessing || channel.head.next == null)
+				{
+					continue;
+				}
+				
+				this.nextChannelIndex = channelIndex + 1;
+				channel.isProcessing = true;
+				
+				return channel;
 			}
+			
+			return null;
 		}
 
 		@Override
@@ -118,9 +209,14 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 			final long timeBudgetBound = System.currentTimeMillis() + timeoutMs;
 			final long waitInterval    = timeoutMs / 16;
 			
-			synchronized(this.head)
+			final ChannelItems channel;
+			final Item         first  ;
+			final Item         last   ;
+			final long         length ;
+			synchronized(this.lock)
 			{
-				while(this.head.next == null)
+				ChannelItems processableChannel;
+				while((processableChannel = this.lockNextProcessableChannel()) == null)
 				{
 					if(!handler.isRunning())
 					{
@@ -132,24 +228,71 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 						return false;
 					}
 					
-					this.head.wait(waitInterval);
+					this.lock.wait(waitInterval);
 				}
-				
-				final Item itemToBeProcessed = this.head.next;
-				
-				itemToBeProcessed.processBy(handler);
-				
-				// the backup thread can be the last active part of an already shutdown storage, so it has to clean up.
-				itemToBeProcessed.sourceFile.unregisterUsageClosing(this, null);
-				
-				if((this.head.next = itemToBeProcessed.next) == null)
+				channel = processableChannel;
+				first   = channel.head.next;
+				last    = first.coalescableTail();
+				length  = first.coalescedLength(last);
+			}
+
+			try
+			{
+				if(first.length < 0)
+				{
+					first.processBy(handler);
+				}
+				else
+				{
+					handler.copyFilePart(first.sourceFile, first.sourcePosition, length);
+				}
+			}
+			catch(final RuntimeException | Error e)
+			{
+				synchronized(this.lock)
+				{
+					// the items remain queued, so a restarted backup handler can still process them.
+					channel.isProcessing = false;
+					this.lock.notifyAll();
+				}
+				throw e;
+			}
+			
+			synchronized(this.lock)
+			{
+				if((channel.head.next = last.next) == null)
 				{
 					// queue has been processed completely, reset to initial state of appending directly to the head.
-					this.tail = this.head;
+					channel.tail = channel.head;
 				}
-				
-				return true;
+				if(length > 0)
+				{
+					channel.pendingCopyLength -= length;
+				}
+				channel.isProcessing = false;
+				this.lock.notifyAll();
 			}
+			
+			// the backup thread can be the last active part of an already shutdown storage, so it has to clean up.
+			for(Item item = first; item != last.next; item = item.next)
+			{
+				item.sourceFile.unregisterUsageClosing(this, null);
+			}
+			
+			return true;
+		}
+		
+		static final class ChannelItems
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			final Item    head = new Item(null, 0, 0);
+			      Item    tail = this.head;
+			      long    pendingCopyLength;
+			      boolean isProcessing;
+			
 		}
 		
 		static final class Item
@@ -188,6 +331,40 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 			// methods //
 			////////////
 			
+			/**
+			 * @return the last of the directly following copying items of the same file that each continue the
+			 *         previous item's range. This item itself if there are none or this is no copying item.
+			 */
+			final Item coalescableTail()
+			{
+				Item last = this;
+				if(this.length < 0)
+				{
+					return last;
+				}
+				
+				for(Item next; (next = last.next) != null; last = next)
+				{
+					if(next.sourceFile != this.sourceFile
+					|| next.length < 0
+					|| next.sourcePosition != last.sourcePosition + last.length
+					)
+					{
+						break;
+					}
+				}
+				
+				return last;
+			}
+			
+			final long coalescedLength(final Item last)
+			{
+				return this.length < 0
+					? this.length
+					: last.sourcePosition + last.length - this.sourcePosition
+				;
+			}
+			
 			public void processBy(final StorageBackupHandler handler)
 			{
 				// negative length used as a hack ("reduce file") to avoid the complexity of multiple Item classes
@@ -21,6 +21,7 @@ package one.microstream.storage.types;
  */
 
 import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.notNegative;
 
 import one.microstream.afs.types.ADirectory;
 import one.microstream.storage.types.StorageDataFileValidator.Creator;
@@ -29,6 +30,21 @@ public interface StorageBackupSetup
 {
 	public StorageBackupFileProvider backupFileProvider();
 	
+	/**
+	 * The number of threads copying the queued backup items in parallel. Items of the same channel are always
+	 * processed in order by one thread at a time, so more threads than channels are never used.
+	 * 
+	 * @return the number of backup threads or 0 for one thread per channel.
+	 */
+	public int threadCount();
+	
+	/**
+	 * The maximum number of bytes per second copied by all backup threads together.
+	 * 
+	 * @return the bandwidth limit in bytes per second or 0 for no limit.
+	 */
+	public long bandwidthLimit();
+	
 	public StorageFileWriter.Provider setupWriterProvider(
 		StorageFileWriter.Provider writerProvider
 	);
@@ -80,9 +96,33 @@ public interface StorageBackupSetup
 	 * @see StorageBackupHandler
 	 */
 	public static StorageBackupSetup New(final StorageBackupFileProvider backupFileProvider)
+	{
+		return New(backupFileProvider, 0, 0);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageBackupSetup} instance
+	 * using the passed {@link StorageLiveFileProvider}, backup thread count and bandwidth limit.
+	 * 
+	 * @param backupFileProvider the {@link StorageBackupFileProvider} to define where the backup files will be located.
+	 * @param threadCount the number of threads copying in parallel or 0 for one thread per channel.
+	 * @param bandwidthLimit the maximum number of bytes copied per second or 0 for no limit.
+	 * 
+	 * @return a new {@link StorageBackupSetup} instance.
+	 * 
+	 * @see StorageBackupSetup#threadCount()
+	 * @see StorageBackupSetup#bandwidthLimit()
+	 */
+	public static StorageBackupSetup New(
+		final StorageBackupFileProvider backupFileProvider,
+		final int                       threadCount       ,
+		final long                      bandwidthLimit
+	)
 	{
 		return new StorageBackupSetup.Default(
 			notNull(backupFileProvider) ,
+			notNegative(threadCount)    ,
+			notNegative(bandwidthLimit) ,
 			StorageBackupItemQueue.New()
 		);
 	}
@@ -94,6 +134,8 @@ public interface StorageBackupSetup
 		////////////////////
 		
 		private final StorageBackupFileProvider backupFileProvider;
+		private final int                       threadCount       ;
+		private final long                      bandwidthLimit    ;
 		private final StorageBackupItemQueue    itemQueue         ;
 		
 		
@@ -104,11 +146,15 @@ public interface StorageBackupSetup
 		
 		Default(
 			final StorageBackupFileProvider backupFileProvider,
+			final int                       threadCount       ,
+			final long                      bandwidthLimit    ,
 			final StorageBackupItemQueue    itemQueue
 		)
 		{
 			super();
 			this.backupFileProvider = backupFileProvider;
+			this.threadCount        = threadCount       ;
+			this.bandwidthLimit     = bandwidthLimit    ;
 			this.itemQueue          = itemQueue         ;
 		}
 		
@@ -124,6 +170,18 @@ public interface StorageBackupSetup
 			return this.backupFileProvider;
 		}
 		
+		@Override
+		public final int threadCount()
+		{
+			return this.threadCount;
+		}
+		
+		@Override
+		public final long bandwidthLimit()
+		{
+			return this.bandwidthLimit;
+		}
+		
 		@Override
 		public StorageFileWriter.Provider setupWriterProvider(
 			final StorageFileWriter.Provider writerProvider
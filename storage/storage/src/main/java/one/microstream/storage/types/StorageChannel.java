@@ -25,11 +25,13 @@ import static one.microstream.math.XMath.notNegative;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 
 import one.microstream.X;
 import one.microstream.afs.types.AWritableFile;
 import one.microstream.collections.BulkList;
+import one.microstream.collections.EqHashEnum;
 import one.microstream.functional.ThrowingProcedure;
 import one.microstream.functional._longProcedure;
 import one.microstream.persistence.binary.types.Chunk;
@@ -52,6 +54,22 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 	public ChunksBuffer collectLoadRoots(ChunksBuffer[] channelChunks);
 
 	public ChunksBuffer collectLoadByTids(ChunksBuffer[] channelChunks, PersistenceIdSet loadTids);
+	
+	/**
+	 * Same as {@link #collectLoadByOids(ChunksBuffer[], PersistenceIdSet)}, but callable by any thread
+	 * concurrently to the channel's own task processing.
+	 * 
+	 * @see StorageConcurrentLoader
+	 */
+	public ChunksBuffer collectLoadByOidsConcurrently(ChunksBuffer[] channelChunks, PersistenceIdSet loadOids);
+	
+	/**
+	 * Same as {@link #collectLoadByTids(ChunksBuffer[], PersistenceIdSet)}, but callable by any thread
+	 * concurrently to the channel's own task processing.
+	 * 
+	 * @see StorageConcurrentLoader
+	 */
+	public ChunksBuffer collectLoadByTidsConcurrently(ChunksBuffer[] channelChunks, PersistenceIdSet loadTids);
 
 	public KeyValue<ByteBuffer[], long[]> storeEntities(long timestamp, Chunk chunkData);
 
@@ -70,7 +88,55 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 
 	public boolean issuedEntityCacheCheck(long nanoTimeBudget, StorageEntityCacheEvaluator entityEvaluator);
 
+	public void issuedParallelGarbageCollection(StorageParallelGarbageCollector collector)
+		throws InterruptedException;
+	
+	/**
+	 * Performs one step of background data file compaction. Callable by any thread concurrently to the channel's
+	 * own task processing, see {@link StorageDataFileCompactor}.
+	 * 
+	 * @param maximumLength the number of bytes after which the step ends.
+	 * 
+	 * @return the number of transferred bytes, 0 if the step has been deferred because of a store in progress,
+	 *         or -1 if no data file needs compaction.
+	 */
+	public long compactDataFiles(long maximumLength);
+	
+	/**
+	 * Reads the entries appended to the followed transactions file since the last call. Callable by any thread
+	 * concurrently to the channel's own task processing, see {@link StorageFollower}.
+	 * 
+	 * @return the timestamp of the latest store entry read so far.
+	 */
+	public long readFollowedTransactions();
+	
+	/**
+	 * Reads the data of all read entries up to the first store entry newer than the passed timestamp.
+	 * Callable by any thread concurrently to the channel's own task processing, see {@link StorageFollower}.
+	 * 
+	 * @param storeTimestampLimit the latest store timestamp that is completed in all channels.
+	 * @param unknownTypeIds collects the ids of types that the read data refers to but that are not known yet.
+	 * 
+	 * @return whether there are prepared entries to be applied by {@link #applyFollowedEntries(long)}.
+	 */
+	public boolean prepareFollowedEntries(long storeTimestampLimit, EqHashEnum<Long> unknownTypeIds);
+	
+	public void discardFollowedEntries();
+	
+	public void applyFollowedEntries(long updateTimestamp) throws InterruptedException;
+
 	public void exportData(StorageLiveFileProvider fileProvider);
+	
+	/**
+	 * Captures the channel's part of a {@link StorageSnapshot}, see
+	 * {@link StorageFileManager#captureSnapshot(StorageFileUser, boolean)}.
+	 * 
+	 * @param fileUser the user keeping the captured files from being deleted until the snapshot is released.
+	 * @param includeEntities whether the live entities of every data file shall be captured as well.
+	 * 
+	 * @return the channel's part of the snapshot.
+	 */
+	public StorageSnapshot.ChannelSnapshot captureSnapshot(StorageFileUser fileUser, boolean includeEntities);
 
 	// (19.07.2014 TM)TODO: refactor storage typing to avoid classes in public API
 	public StorageEntityCache.Default prepareImportData();
@@ -103,6 +169,14 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 //	public void truncateData();
 
 	public void cleanupStore();
+	
+	/**
+	 * Writes the channel's index checkpoint if enabled. Failing to do so is logged, but not propagated, as a missing
+	 * checkpoint only causes a slower initialization.
+	 * 
+	 * @see StorageIndexCheckpointSetup
+	 */
+	public void writeIndexCheckpoint();
 
 
 	
@@ -124,9 +198,37 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		private final boolean                       switchByteOrder          ;
 		private final BufferSizeProviderIncremental loadingBufferSizeProvider;
 		private final StorageEventLogger            eventLogger              ;
+		private final StorageLoadGate               loadGate                 ;
+		private final StorageChannelMetrics.Default metrics                  ;
 
 		private final HousekeepingTask[] housekeepingTasks;
 		
+		/**
+		 * Tracks the channel's task processing time and housekeeping backlog for the housekeeping controller.
+		 * Only accessed by the channel thread.
+		 */
+		private final StorageHousekeepingLoad.Default housekeepingLoad;
+		
+		/**
+		 * Guards the entity cache and the file manager against concurrent loads and background compaction.
+		 * Held by the channel thread for everything except writing and committing a store.
+		 * {@code null} if no thread other than the channel thread accesses them, i.e. neither concurrent loading
+		 * nor background compaction are enabled.
+		 * @see StorageConcurrentLoader
+		 * @see StorageDataFileCompactor
+		 */
+		private final ReentrantLock entityLock;
+		
+		/**
+		 * The timestamp of the store currently being processed, used to identify it at the {@link StorageLoadGate}.
+		 */
+		private long storeTimestamp;
+		
+		/**
+		 * Set while a store is being written and committed outside of the entity lock. Guarded by the entity lock.
+		 */
+		private boolean isStoring;
+		
 		private int nextHouseKeepingIndex;
 
 		/**
@@ -160,7 +262,10 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			final boolean                       switchByteOrder          ,
 			final BufferSizeProviderIncremental loadingBufferSizeProvider,
 			final StorageFileManager.Default    fileManager              ,
-			final StorageEventLogger            eventLogger
+			final StorageEventLogger            eventLogger              ,
+			final StorageLoadGate               loadGate                 ,
+			final boolean                       concurrentEntityAccess   ,
+			final StorageChannelMetrics.Default metrics
 		)
 		{
 			super();
@@ -174,7 +279,11 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			this.housekeepingController    =     notNull(housekeepingController)   ;
 			this.loadingBufferSizeProvider =     notNull(loadingBufferSizeProvider);
 			this.eventLogger               =     notNull(eventLogger)              ;
+			this.loadGate                  =     notNull(loadGate)                 ;
+			this.metrics                   =     notNull(metrics)                  ;
 			this.switchByteOrder           =             switchByteOrder           ;
+			this.housekeepingLoad          = StorageHousekeepingLoad.New(hashIndex);
+			this.entityLock                = concurrentEntityAccess ? new ReentrantLock() : null;
 			
 			// depends on this.fileManager!
 			this.housekeepingTasks = this.defineHouseKeepingTasks();
@@ -186,12 +295,40 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		// declared methods //
 		/////////////////////
 		
+		private void lockEntities()
+		{
+			if(this.entityLock != null)
+			{
+				this.entityLock.lock();
+			}
+		}
+		
+		private void unlockEntities()
+		{
+			if(this.entityLock != null)
+			{
+				this.entityLock.unlock();
+			}
+		}
+		
 		private HousekeepingTask[] defineHouseKeepingTasks()
 		{
 			final BulkList<HousekeepingTask> tasks = BulkList.New();
 			tasks.add(this::houseKeepingCheckFileCleanup);
-			tasks.add(this::houseKeepingGarbageCollection);
+			if(!this.fileManager.isFollower())
+			{
+				// a follower only removes entities along with the files the followed process deleted.
+				tasks.add(this::houseKeepingGarbageCollection);
+			}
 			tasks.add(this::houseKeepingEntityCacheCheck);
+			if(this.fileManager.isIndexCheckpointIntervalEnabled())
+			{
+				tasks.add(this::houseKeepingIndexCheckpoint);
+			}
+			if(this.fileManager.isTransactionsFileRollingEnabled())
+			{
+				tasks.add(this::houseKeepingTransactionsFileRolling);
+			}
 			// (16.06.2020 TM)TODO: priv#49: housekeeping task that closes data files after a timeout.
 
 			return tasks.toArray(HousekeepingTask.class);
@@ -207,6 +344,12 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			return this.nextHouseKeepingIndex++;
 		}
 
+		private void updateMetrics()
+		{
+			this.entityCache.updateMetrics();
+			this.fileManager.updateMetrics();
+		}
+
 		private void houseKeeping()
 		{
 			final long currentNanotime;
@@ -216,7 +359,12 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				this.housekeepingIntervalBoundTimeNs = currentNanotime
 					+ Storage.millisecondsToNanoseconds(this.housekeepingController.housekeepingIntervalMs())
 				;
-				this.housekeepingIntervalBudgetNs = this.housekeepingController.housekeepingTimeBudgetNs();
+				this.housekeepingLoad.startInterval(currentNanotime);
+				this.updateMetrics();
+				this.housekeepingLoad.updateStorageState(this.metrics.garbageRatio(), this.metrics.entityCacheSize());
+				this.housekeepingIntervalBudgetNs = this.housekeepingController.housekeepingTimeBudgetNs(
+					this.housekeepingLoad
+				);
 //				DEBUGStorage.println(this.channelIndex + " resetting housekeeping budget at " + new java.text.DecimalFormat("00,000,000,000").format(currentNanotime) + " to " + new java.text.DecimalFormat("00,000,000,000").format(this.housekeepingIntervalBoundTimeNs));
 			}
 			else if(this.housekeepingIntervalBudgetNs <= 0)
@@ -266,6 +414,12 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		@Override
 		public boolean performIssuedGarbageCollection(final long nanoTimeBudget)
 		{
+			// a follower only removes entities along with the files the followed process deleted.
+			if(this.fileManager.isFollower())
+			{
+				return true;
+			}
+			
 			// turn budget into the budget bounding value for easier and faster checking
 			final long nanoTimeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
 
@@ -352,6 +506,85 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		{
 			return this.housekeepingBroker.performIssuedEntityCacheCheck(this, nanoTimeBudget, entityEvaluator);
 		}
+
+		@Override
+		public final void issuedParallelGarbageCollection(final StorageParallelGarbageCollector collector)
+			throws InterruptedException
+		{
+			if(this.fileManager.isFollower())
+			{
+				return;
+			}
+			
+			collector.collectGarbage(this.entityCache);
+		}
+		
+		@Override
+		public final long compactDataFiles(final long maximumLength)
+		{
+			this.lockEntities();
+			try
+			{
+				if(this.isStoring)
+				{
+					return 0;
+				}
+				
+				return this.fileManager.compactionStep(maximumLength);
+			}
+			finally
+			{
+				this.unlockEntities();
+			}
+		}
+		
+		@Override
+		public final long readFollowedTransactions()
+		{
+			return this.fileManager.followerReadTransactions();
+		}
+		
+		@Override
+		public final boolean prepareFollowedEntries(
+			final long           storeTimestampLimit,
+			final EqHashEnum<Long> unknownTypeIds
+		)
+		{
+			return this.fileManager.followerPrepareEntries(storeTimestampLimit, unknownTypeIds);
+		}
+		
+		@Override
+		public final void discardFollowedEntries()
+		{
+			this.fileManager.followerDiscardPreparedEntries();
+		}
+		
+		@Override
+		public final void applyFollowedEntries(final long updateTimestamp) throws InterruptedException
+		{
+			/*
+			 * Concurrent loads must either see the whole update in all channels or nothing of it.
+			 * The gate waits for the loads in progress, which may wait for the entity lock themselves,
+			 * so it must be closed before locking, just like for a store.
+			 */
+			this.loadGate.closeForStoreUpdate(updateTimestamp);
+			try
+			{
+				this.lockEntities();
+				try
+				{
+					this.fileManager.followerApplyPreparedEntries();
+				}
+				finally
+				{
+					this.unlockEntities();
+				}
+			}
+			finally
+			{
+				this.loadGate.completeStoreUpdate(updateTimestamp);
+			}
+		}
 		
 		private long calculateSpecificHousekeepingTimeBudget(final long nanoTimeBudget)
 		{
@@ -359,36 +592,94 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			return Math.min(nanoTimeBudget, this.housekeepingIntervalBudgetNs);
 		}
 
+		/*
+		 * Incomplete alone does not mean behind: the live check only completes with an empty cache and the
+		 * garbage collection can be waiting for other channels. Only using up the whole budget does.
+		 */
+		private static boolean isBehind(final boolean completed, final long startNs, final long nanoTimeBudget)
+		{
+			return !completed && System.nanoTime() - startNs >= nanoTimeBudget;
+		}
+
 		final boolean houseKeepingCheckFileCleanup()
 		{
-			if(!this.fileManager.isFileCleanupEnabled())
+			if(!this.fileManager.isHousekeepingFileCleanupEnabled())
 			{
 				return true;
 			}
 			
 			final long nanoTimeBudget = this.calculateSpecificHousekeepingTimeBudget(
-				this.housekeepingController.fileCheckTimeBudgetNs()
+				this.housekeepingController.fileCheckTimeBudgetNs(this.housekeepingLoad)
 			);
 			
-			return this.housekeepingBroker.performFileCleanupCheck(this, nanoTimeBudget);
+			final long    startNs   = System.nanoTime();
+			final boolean completed = this.housekeepingBroker.performFileCleanupCheck(this, nanoTimeBudget);
+			this.housekeepingLoad.updateFileCheckBacklog(isBehind(completed, startNs, nanoTimeBudget));
+			
+			return completed;
 		}
 
 		final boolean houseKeepingGarbageCollection()
 		{
 			final long nanoTimeBudget = this.calculateSpecificHousekeepingTimeBudget(
-				this.housekeepingController.garbageCollectionTimeBudgetNs()
+				this.housekeepingController.garbageCollectionTimeBudgetNs(this.housekeepingLoad)
 			);
 			
-			return this.housekeepingBroker.performGarbageCollection(this, nanoTimeBudget);
+			final long    startNs   = System.nanoTime();
+			final boolean completed = this.housekeepingBroker.performGarbageCollection(this, nanoTimeBudget);
+			this.housekeepingLoad.updateGarbageCollectionBacklog(isBehind(completed, startNs, nanoTimeBudget));
+			
+			return completed;
 		}
 
 		final boolean houseKeepingEntityCacheCheck()
 		{
 			final long nanoTimeBudget = this.calculateSpecificHousekeepingTimeBudget(
-				this.housekeepingController.liveCheckTimeBudgetNs()
+				this.housekeepingController.liveCheckTimeBudgetNs(this.housekeepingLoad)
+			);
+			
+			final long    startNs   = System.nanoTime();
+			final boolean completed = this.housekeepingBroker.performEntityCacheCheck(this, nanoTimeBudget);
+			this.housekeepingLoad.updateLiveCheckBacklog(isBehind(completed, startNs, nanoTimeBudget));
+			
+			return completed;
+		}
+
+		final boolean houseKeepingIndexCheckpoint()
+		{
+			// writing a checkpoint is file work, so it shares the file check's budget.
+			final long nanoTimeBudget = this.calculateSpecificHousekeepingTimeBudget(
+				this.housekeepingController.fileCheckTimeBudgetNs(this.housekeepingLoad)
 			);
 			
-			return this.housekeepingBroker.performEntityCacheCheck(this, nanoTimeBudget);
+			try
+			{
+				return this.fileManager.indexCheckpointCheck(XTime.calculateNanoTimeBudgetBound(nanoTimeBudget));
+			}
+			catch(final RuntimeException e)
+			{
+				// a failed checkpoint must not disable the channel. A partially written checkpoint is ignored on startup.
+				this.eventLogger.logDisruption(this, e);
+				return true;
+			}
+		}
+
+		final boolean houseKeepingTransactionsFileRolling()
+		{
+			try
+			{
+				return this.fileManager.transactionsFileRollingCheck();
+			}
+			catch(final RuntimeException e)
+			{
+				// a rolling that failed before replacing the transactions file must not disable the channel.
+				if(!this.fileManager.hasTransactionsFile())
+				{
+					throw e;
+				}
+				this.eventLogger.logDisruption(this, e);
+				return true;
+			}
 		}
 
 		private void work() throws InterruptedException
@@ -405,7 +696,15 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				if(currentTask != processedTask)
 				{
 //					DEBUGStorage.println(this.channelIndex + " processing " + currentTask);
-					currentTask.processBy(this);
+					final long taskStartNs = System.nanoTime();
+					this.processTask(currentTask);
+					final long taskProcessingNs = System.nanoTime() - taskStartNs;
+					this.housekeepingLoad.registerTaskProcessing(taskProcessingNs);
+					this.metrics.registerTask(
+						currentTask,
+						taskStartNs - currentTask.creationNanoTime(),
+						taskProcessingNs
+					);
 					processedTask = currentTask;
 				}
 
@@ -431,7 +730,15 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				 */
 				try
 				{
-					this.houseKeeping();
+					this.lockEntities();
+					try
+					{
+						this.houseKeeping();
+					}
+					finally
+					{
+						this.unlockEntities();
+					}
 				}
 				catch(final Throwable t)
 				{
@@ -460,6 +767,30 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			
 			this.eventLogger.logChannelStoppedWorking(this);
 		}
+		
+		private void processTask(final StorageTask task) throws InterruptedException
+		{
+			/*
+			 * Stores must not hold the entity lock while writing and waiting for the other channels.
+			 * They only lock for the actual entity cache update, see #postStoreUpdateEntityCache.
+			 * Follower updates must close the load gate before locking, see #applyFollowedEntries.
+			 */
+			if(task instanceof StorageRequestTaskStoreEntities || task instanceof StorageRequestTaskFollowerUpdate)
+			{
+				task.processBy(this);
+				return;
+			}
+			
+			this.lockEntities();
+			try
+			{
+				task.processBy(this);
+			}
+			finally
+			{
+				this.unlockEntities();
+			}
+		}
 
 
 
@@ -514,7 +845,15 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			{
 				try
 				{
-					this.reset();
+					this.lockEntities();
+					try
+					{
+						this.reset();
+					}
+					finally
+					{
+						this.unlockEntities();
+					}
 				}
 				catch(final Throwable t1)
 				{
@@ -540,10 +879,24 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		@Override
 		public KeyValue<ByteBuffer[], long[]> storeEntities(final long timestamp, final Chunk chunkData)
 		{
+			this.storeTimestamp = timestamp;
+			
+			// keeps background compaction away from the head file until the store is cleaned up.
+			this.lockEntities();
+			try
+			{
+				this.isStoring = true;
+			}
+			finally
+			{
+				this.unlockEntities();
+			}
+			
 			// reset even if there is no new data to account for (potential) new data in other channel
 			this.entityCache.registerPendingStoreUpdate();
 
-			final ByteBuffer[] buffers = chunkData.buffers();
+			// compressed chunks replace the passed ones for writing and updating the entity cache alike.
+			final ByteBuffer[] buffers = this.fileManager.compressChunks(chunkData.buffers());
 			
 			// (11.03.2019 TM)FIXME: priv#74: Pre-Write EntityValidator
 			
@@ -555,8 +908,19 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		public void postStoreUpdateEntityCache(final ByteBuffer[] chunks, final long[] chunksStoragePositions)
 			throws InterruptedException
 		{
-			// all chunks were written into the same file, so it is viable to pass the current file right here
-			this.entityCache.postStorePutEntities(chunks, chunksStoragePositions, this.fileManager.currentStorageFile());
+			// concurrent loads must either see the whole store in all channels or nothing of it.
+			this.loadGate.closeForStoreUpdate(this.storeTimestamp);
+			
+			this.lockEntities();
+			try
+			{
+				// all chunks were written into the same file, so it is viable to pass the current file right here
+				this.entityCache.postStorePutEntities(chunks, chunksStoragePositions, this.fileManager.currentStorageFile());
+			}
+			finally
+			{
+				this.unlockEntities();
+			}
 		}
 
 		@Override
@@ -617,12 +981,55 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			}
 			return chunks.complete();
 		}
+		
+		@Override
+		public final ChunksBuffer collectLoadByOidsConcurrently(
+			final ChunksBuffer[]   resultArray,
+			final PersistenceIdSet loadOids
+		)
+		{
+			this.lockEntities();
+			try
+			{
+				return this.collectLoadByOids(resultArray, loadOids);
+			}
+			finally
+			{
+				this.unlockEntities();
+			}
+		}
+		
+		@Override
+		public final ChunksBuffer collectLoadByTidsConcurrently(
+			final ChunksBuffer[]   resultArray,
+			final PersistenceIdSet loadTids
+		)
+		{
+			this.lockEntities();
+			try
+			{
+				return this.collectLoadByTids(resultArray, loadTids);
+			}
+			finally
+			{
+				this.unlockEntities();
+			}
+		}
 
 		@Override
 		public final void exportData(final StorageLiveFileProvider fileProvider)
 		{
 			this.fileManager.exportData(fileProvider);
 		}
+		
+		@Override
+		public final StorageSnapshot.ChannelSnapshot captureSnapshot(
+			final StorageFileUser fileUser       ,
+			final boolean         includeEntities
+		)
+		{
+			return this.fileManager.captureSnapshot(fileUser, includeEntities);
+		}
 
 		@Override
 		public StorageEntityCache.Default prepareImportData()
@@ -662,6 +1069,9 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			{
 				return X.KeyValue(0L, 0L);
 			}
+			
+			// entity data is written directly instead of copied for compressed entities, which requires the file.
+			file.ensureExists();
 
 			final long byteCount = entities.iterateEntities(
 				new ThrowingProcedure<StorageEntity.Default, IOException>()
@@ -696,6 +1106,9 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			{
 				return X.KeyValue(0L, 0L);
 			}
+			
+			// entity data is written directly instead of copied for compressed entities, which requires the file.
+			file.ensureExists();
 
 			final long byteCount = entities.iterateEntities(
 				new ThrowingProcedure<StorageEntity.Default, IOException>()
@@ -756,6 +1169,19 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			this.fileManager.reset();
 		}
 
+		@Override
+		public final void writeIndexCheckpoint()
+		{
+			try
+			{
+				this.fileManager.writeIndexCheckpoint();
+			}
+			catch(final RuntimeException e)
+			{
+				this.eventLogger.logDisruption(this, e);
+			}
+		}
+
 		@Override
 		public final void signalGarbageCollectionSweepCompleted()
 		{
@@ -765,7 +1191,26 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		@Override
 		public void cleanupStore()
 		{
-			this.entityCache.clearPendingStoreUpdate();
+			// a channel may only complete a store after concurrent loads have been shut out, even if it failed.
+			this.loadGate.closeForStoreUpdate(this.storeTimestamp);
+			try
+			{
+				this.lockEntities();
+				try
+				{
+					this.isStoring = false;
+					this.entityCache.clearPendingStoreUpdate();
+				}
+				finally
+				{
+					this.unlockEntities();
+				}
+			}
+			finally
+			{
+				this.fileManager.clearCompressedChunks();
+				this.loadGate.completeStoreUpdate(this.storeTimestamp);
+			}
 		}
 
 	}
@@ -0,0 +1,483 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import one.microstream.chars.VarString;
+
+/**
+ * Low overhead metrics of a single storage channel, recorded continuously while the storage is running.
+ * All durations are in nanoseconds, all lengths in bytes.
+ * <p>
+ * Counters and histograms are updated as the channel works, the gauges (cache size, mark queue size,
+ * file statistics and backup lag) are updated by the channel once per housekeeping interval.
+ * Other than {@link StorageConnection#createStorageStatistics()}, reading the metrics does not involve
+ * the channel at all and can be done by any thread at any time.
+ *
+ * @see StorageMetrics
+ */
+public interface StorageChannelMetrics
+{
+	public int channelIndex();
+
+	/**
+	 * @return the time tasks waited between their creation and the start of their processing by the channel,
+	 *         per task type.
+	 */
+	public Map<String, StorageMetricsHistogram.Snapshot> taskWaitTimes();
+
+	/**
+	 * @return the time the channel spent processing tasks, per task type.
+	 */
+	public Map<String, StorageMetricsHistogram.Snapshot> taskProcessingTimes();
+
+	/**
+	 * @return the number of entity data bytes written to the channel's data files by stores.
+	 */
+	public long bytesWritten();
+
+	/**
+	 * @return the number of entity data bytes read from the channel's data files.
+	 */
+	public long bytesRead();
+
+	public long entityCacheSize();
+
+	/**
+	 * @return the number of entity loads that could be served from the entity cache.
+	 */
+	public long entityCacheHits();
+
+	/**
+	 * @return the number of entity loads that required reading from the channel's data files.
+	 */
+	public long entityCacheMisses();
+
+	/**
+	 * @return the accumulated marking time per completed garbage collection marking phase.
+	 */
+	public StorageMetricsHistogram.Snapshot garbageCollectionMarkTimes();
+
+	public StorageMetricsHistogram.Snapshot garbageCollectionSweepTimes();
+
+	public long markQueueSize();
+
+	public long fileCount();
+
+	public long fileTotalLength();
+
+	public long fileDataLength();
+
+	/**
+	 * @return the number of bytes written to the channel's files but not yet copied by the backup,
+	 *         0 if there is no continuous backup.
+	 */
+	public long backupLag();
+
+	public default double entityCacheHitRatio()
+	{
+		final long hits     = this.entityCacheHits();
+		final long accesses = hits + this.entityCacheMisses();
+
+		return accesses == 0
+			? 0.0
+			: (double)hits / accesses
+		;
+	}
+
+	/**
+	 * @return the ratio (from 0.0 to 1.0) of the channel's total file length that is occupied by garbage.
+	 */
+	public default double garbageRatio()
+	{
+		final long totalLength = this.fileTotalLength();
+
+		return totalLength == 0
+			? 0.0
+			: 1.0 - (double)this.fileDataLength() / totalLength
+		;
+	}
+
+
+
+	public static StorageChannelMetrics.Default New(final int channelIndex)
+	{
+		return new StorageChannelMetrics.Default(channelIndex);
+	}
+
+	public final class Default implements StorageChannelMetrics, StorageChannelMetricsMXBean
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int channelIndex;
+
+		private final ConcurrentHashMap<Class<?>, TaskMetrics> taskMetrics = new ConcurrentHashMap<>();
+
+		// to avoid permanent lambda instantiation
+		private final Function<Class<?>, TaskMetrics> taskMetricsCreator = TaskMetrics::new;
+
+		private final LongAdder
+			bytesWritten      = new LongAdder(),
+			bytesRead         = new LongAdder(),
+			entityCacheHits   = new LongAdder(),
+			entityCacheMisses = new LongAdder()
+		;
+
+		private final StorageMetricsHistogram
+			markTimes  = StorageMetricsHistogram.New(),
+			sweepTimes = StorageMetricsHistogram.New()
+		;
+
+		// gauges, only written by the channel thread.
+		private volatile long entityCacheSize, markQueueSize, fileCount, fileTotalLength, fileDataLength, backupLag;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final int channelIndex)
+		{
+			super();
+			this.channelIndex = channelIndex;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public final void registerTask(final StorageTask task, final long waitNs, final long processingNs)
+		{
+			final TaskMetrics metrics = this.taskMetrics.computeIfAbsent(task.getClass(), this.taskMetricsCreator);
+			metrics.waitTimes.record(waitNs);
+			metrics.processingTimes.record(processingNs);
+		}
+
+		public final void registerBytesWritten(final long length)
+		{
+			this.bytesWritten.add(length);
+		}
+
+		public final void registerBytesRead(final long length)
+		{
+			this.bytesRead.add(length);
+		}
+
+		public final void registerEntityCacheAccess(final boolean hit)
+		{
+			(hit ? this.entityCacheHits : this.entityCacheMisses).increment();
+		}
+
+		public final void registerMarkTime(final long markNs)
+		{
+			this.markTimes.record(markNs);
+		}
+
+		public final void registerSweepTime(final long sweepNs)
+		{
+			this.sweepTimes.record(sweepNs);
+		}
+
+		public final void updateEntityCache(final long entityCacheSize, final long markQueueSize)
+		{
+			this.entityCacheSize = entityCacheSize;
+			this.markQueueSize   = markQueueSize  ;
+		}
+
+		public final void updateFiles(final long fileCount, final long fileTotalLength, final long fileDataLength)
+		{
+			this.fileCount       = fileCount      ;
+			this.fileTotalLength = fileTotalLength;
+			this.fileDataLength  = fileDataLength ;
+		}
+
+		public final void updateBackupLag(final long backupLag)
+		{
+			this.backupLag = backupLag;
+		}
+
+		private Map<String, StorageMetricsHistogram.Snapshot> snapshotTaskMetrics(
+			final Function<TaskMetrics, StorageMetricsHistogram> histogram
+		)
+		{
+			final Map<String, StorageMetricsHistogram.Snapshot> snapshots = new TreeMap<>();
+			for(final TaskMetrics metrics : this.taskMetrics.values())
+			{
+				snapshots.put(metrics.name, histogram.apply(metrics).snapshot());
+			}
+
+			return snapshots;
+		}
+
+		@Override
+		public final int channelIndex()
+		{
+			return this.channelIndex;
+		}
+
+		@Override
+		public final Map<String, StorageMetricsHistogram.Snapshot> taskWaitTimes()
+		{
+			return this.snapshotTaskMetrics(m -> m.waitTimes);
+		}
+
+		@Override
+		public final Map<String, StorageMetricsHistogram.Snapshot> taskProcessingTimes()
+		{
+			return this.snapshotTaskMetrics(m -> m.processingTimes);
+		}
+
+		@Override
+		public final long bytesWritten()
+		{
+			return this.bytesWritten.sum();
+		}
+
+		@Override
+		public final long bytesRead()
+		{
+			return this.bytesRead.sum();
+		}
+
+		@Override
+		public final long entityCacheSize()
+		{
+			return this.entityCacheSize;
+		}
+
+		@Override
+		public final long entityCacheHits()
+		{
+			return this.entityCacheHits.sum();
+		}
+
+		@Override
+		public final long entityCacheMisses()
+		{
+			return this.entityCacheMisses.sum();
+		}
+
+		@Override
+		public final StorageMetricsHistogram.Snapshot garbageCollectionMarkTimes()
+		{
+			return this.markTimes.snapshot();
+		}
+
+		@Override
+		public final StorageMetricsHistogram.Snapshot garbageCollectionSweepTimes()
+		{
+			return this.sweepTimes.snapshot();
+		}
+
+		@Override
+		public final long markQueueSize()
+		{
+			return this.markQueueSize;
+		}
+
+		@Override
+		public final long fileCount()
+		{
+			return this.fileCount;
+		}
+
+		@Override
+		public final long fileTotalLength()
+		{
+			return this.fileTotalLength;
+		}
+
+		@Override
+		public final long fileDataLength()
+		{
+			return this.fileDataLength;
+		}
+
+		@Override
+		public final long backupLag()
+		{
+			return this.backupLag;
+		}
+
+		// MXBean //
+
+		@Override
+		public final int getChannelIndex()
+		{
+			return this.channelIndex();
+		}
+
+		@Override
+		public final Map<String, StorageMetricsHistogram.Snapshot> getTaskWaitTimes()
+		{
+			return this.taskWaitTimes();
+		}
+
+		@Override
+		public final Map<String, StorageMetricsHistogram.Snapshot> getTaskProcessingTimes()
+		{
+			return this.taskProcessingTimes();
+		}
+
+		@Override
+		public final long getBytesWritten()
+		{
+			return this.bytesWritten();
+		}
+
+		@Override
+		public final long getBytesRead()
+		{
+			return this.bytesRead();
+		}
+
+		@Override
+		public final long getEntityCacheSize()
+		{
+			return this.entityCacheSize();
+		}
+
+		@Override
+		public final long getEntityCacheHits()
+		{
+			return this.entityCacheHits();
+		}
+
+		@Override
+		public final long getEntityCacheMisses()
+		{
+			return this.entityCacheMisses();
+		}
+
+		@Override
+		public final double getEntityCacheHitRatio()
+		{
+			return this.entityCacheHitRatio();
+		}
+
+		@Override
+		public final StorageMetricsHistogram.Snapshot getGarbageCollectionMarkTimes()
+		{
+			return this.garbageCollectionMarkTimes();
+		}
+
+		@Override
+		public final StorageMetricsHistogram.Snapshot getGarbageCollectionSweepTimes()
+		{
+			return this.garbageCollectionSweepTimes();
+		}
+
+		@Override
+		public final long getMarkQueueSize()
+		{
+			return this.markQueueSize();
+		}
+
+		@Override
+		public final long getFileCount()
+		{
+			return this.fileCount();
+		}
+
+		@Override
+		public final long getFileTotalLength()
+		{
+			return this.fileTotalLength();
+		}
+
+		@Override
+		public final long getFileDataLength()
+		{
+			return this.fileDataLength();
+		}
+
+		@Override
+		public final double getGarbageRatio()
+		{
+			return this.garbageRatio();
+		}
+
+		@Override
+		public final long getBackupLag()
+		{
+			return this.backupLag();
+		}
+
+		@Override
+		public String toString()
+		{
+			return VarString.New()
+				.add(this.getClass().getName()).add(" #").add(this.channelIndex).add(':').lf()
+				.blank().add("bytes written       ").tab().add('=').blank().add(this.bytesWritten()).lf()
+				.blank().add("bytes read          ").tab().add('=').blank().add(this.bytesRead()).lf()
+				.blank().add("entity cache size   ").tab().add('=').blank().add(this.entityCacheSize).lf()
+				.blank().add("entity cache hits   ").tab().add('=').blank().add(this.entityCacheHits()).lf()
+				.blank().add("entity cache misses ").tab().add('=').blank().add(this.entityCacheMisses()).lf()
+				.blank().add("gc mark times       ").tab().add('=').blank().add(this.markTimes.snapshot()).lf()
+				.blank().add("gc sweep times      ").tab().add('=').blank().add(this.sweepTimes.snapshot()).lf()
+				.blank().add("mark queue size     ").tab().add('=').blank().add(this.markQueueSize).lf()
+				.blank().add("file count          ").tab().add('=').blank().add(this.fileCount).lf()
+				.blank().add("garbage ratio       ").tab().add('=').blank().add(this.garbageRatio()).lf()
+				.blank().add("backup lag          ").tab().add('=').blank().add(this.backupLag)
+				.toString()
+			;
+		}
+
+
+
+		static final class TaskMetrics
+		{
+			final String                  name            ;
+			final StorageMetricsHistogram waitTimes       = StorageMetricsHistogram.New();
+			final StorageMetricsHistogram processingTimes = StorageMetricsHistogram.New();
+
+			TaskMetrics(final Class<?> taskType)
+			{
+				super();
+				this.name = taskTypeName(taskType);
+			}
+
+			// task implementations are typically nested "Default" classes, so the enclosing type is the telling name.
+			static String taskTypeName(final Class<?> taskType)
+			{
+				final Class<?> enclosingType = taskType.getEnclosingClass();
+
+				return enclosingType != null && "Default".equals(taskType.getSimpleName())
+					? enclosingType.getSimpleName()
+					: taskType.getSimpleName()
+				;
+			}
+
+		}
+
+	}
+
+}
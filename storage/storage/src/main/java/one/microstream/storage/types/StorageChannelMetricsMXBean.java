@@ -0,0 +1,67 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.Map;
+
+/**
+ * JMX view of the {@link StorageChannelMetrics} of a single storage channel.
+ * All durations are in nanoseconds, all lengths in bytes.
+ *
+ * @see StorageMetrics#registerMXBeans(String)
+ */
+public interface StorageChannelMetricsMXBean
+{
+	public int getChannelIndex();
+
+	public Map<String, StorageMetricsHistogram.Snapshot> getTaskWaitTimes();
+
+	public Map<String, StorageMetricsHistogram.Snapshot> getTaskProcessingTimes();
+
+	public long getBytesWritten();
+
+	public long getBytesRead();
+
+	public long getEntityCacheSize();
+
+	public long getEntityCacheHits();
+
+	public long getEntityCacheMisses();
+
+	public double getEntityCacheHitRatio();
+
+	public StorageMetricsHistogram.Snapshot getGarbageCollectionMarkTimes();
+
+	public StorageMetricsHistogram.Snapshot getGarbageCollectionSweepTimes();
+
+	public long getMarkQueueSize();
+
+	public long getFileCount();
+
+	public long getFileTotalLength();
+
+	public long getFileDataLength();
+
+	public double getGarbageRatio();
+
+	public long getBackupLag();
+
+}
@@ -71,10 +71,19 @@ public interface StorageChannelTask extends StorageTask
 		/////////////////////
 
 		private void checkForProblems()
+		{
+			final StorageException problem = this.createProblemException();
+			if(problem != null)
+			{
+				throw problem;
+			}
+		}
+
+		protected final StorageException createProblemException()
 		{
 			if(!this.hasProblems.get())
 			{
-				return;
+				return null;
 			}
 			// (30.05.2013 TM)FIXME: check why this is never reached when task fails?
 			// (15.06.2013 TM)NOTE: should be fixed by double check in waitOnCompletion()
@@ -83,9 +92,10 @@ public interface StorageChannelTask extends StorageTask
 			{
 				if(this.problems[i] != null)
 				{
-					throw new StorageException("Problem in channel " + i, this.problems[i]);
+					return new StorageException("Problem in channel " + i, this.problems[i]);
 				}
 			}
+			return null;
 		}
 
 
@@ -112,6 +122,14 @@ public interface StorageChannelTask extends StorageTask
 			// no-op in general implementation
 		}
 
+		/* called once, while holding the task's lock, when the last channel has reported completion.
+		 * Must not block as it is executed by that channel's thread.
+		 */
+		protected void completed()
+		{
+			// no-op in general implementation
+		}
+
 		protected final int channelCount()
 		{
 			// a little bit of a hack, but rarely used, so it's better off that way
@@ -128,6 +146,10 @@ public interface StorageChannelTask extends StorageTask
 		{
 			// may never get negative or something is seriously broken
 			this.remainingForCompletion--; // suffices as this method gets called by every manager thread exactely once.
+			if(this.remainingForCompletion == 0)
+			{
+				this.completed();
+			}
 			this.notifyAll();
 		}
 
@@ -60,6 +60,7 @@ public interface StorageChannelTaskShutdown extends StorageChannelTask
 		protected final Void internalProcessBy(final StorageChannel channel)
 		{
 			// may not deactivate here as some channel threads would die before all others notice the progress
+			channel.writeIndexCheckpoint();
 			return null;
 		}
 
@@ -42,11 +42,22 @@ public interface StorageChannelsCreator
 		StorageWriteController               writeController              ,
 		StorageFileWriter.Provider           writerProvider               ,
 		StorageGCZombieOidHandler            zombieOidHandler             ,
+		StorageEntityDeletionHandler         deletionHandler              ,
 		StorageRootOidSelector.Provider      rootOidSelectorProvider      ,
 		StorageObjectIdMarkQueue.Creator     oidMarkQueueCreator          ,
 		StorageEntityMarkMonitor.Creator     entityMarkMonitorCreator     ,
 		StorageBackupHandler                 backupHandler                ,
+		StorageDataFileMapping               dataFileMapping              ,
+		StorageIndexCheckpointSetup          indexCheckpointSetup         ,
+		StorageTransactionsFileRollingSetup  transactionsFileRollingSetup ,
+		StorageFollowerSetup                 followerSetup                ,
+		StorageEntityInitializer.Creator     entityInitializerCreator     ,
+		StorageDataFileCompactionSetup       compactionSetup              ,
+		StorageDataCompression               dataCompression              ,
+		StorageMetrics                       metrics                      ,
 		StorageEventLogger                   eventLogger                  ,
+		StorageLoadGate                      loadGate                     ,
+		boolean                              concurrentEntityAccess       ,
 		boolean                              switchByteOrder              ,
 		long                                 rootTypeId
 	);
@@ -76,11 +87,22 @@ public interface StorageChannelsCreator
 			final StorageWriteController               writeController              ,
 			final StorageFileWriter.Provider           writerProvider               ,
 			final StorageGCZombieOidHandler            zombieOidHandler             ,
+			final StorageEntityDeletionHandler         deletionHandler              ,
 			final StorageRootOidSelector.Provider      rootOidSelectorProvider      ,
 			final StorageObjectIdMarkQueue.Creator     oidMarkQueueCreator          ,
 			final StorageEntityMarkMonitor.Creator     entityMarkMonitorCreator     ,
 			final StorageBackupHandler                 backupHandler                ,
+			final StorageDataFileMapping               dataFileMapping              ,
+			final StorageIndexCheckpointSetup          indexCheckpointSetup         ,
+			final StorageTransactionsFileRollingSetup  transactionsFileRollingSetup ,
+			final StorageFollowerSetup                 followerSetup                ,
+			final StorageEntityInitializer.Creator     entityInitializerCreator     ,
+			final StorageDataFileCompactionSetup       compactionSetup              ,
+			final StorageDataCompression               dataCompression              ,
+			final StorageMetrics                       metrics                      ,
 			final StorageEventLogger                   eventLogger                  ,
+			final StorageLoadGate                      loadGate                     ,
+			final boolean                              concurrentEntityAccess       ,
 			final boolean                              switchByteOrder              ,
 			final long                                 rootTypeId
 		)
@@ -103,6 +125,8 @@ public interface StorageChannelsCreator
 				eventLogger
 			);
 			
+			final StorageChannelMetrics.Default[] channelMetrics = metrics.initializeChannels(channels.length);
+			
 			final BufferSizeProviderIncremental loadingBufferSizeProvider = BufferSizeProviderIncremental.New(loadingBufferSize);
 			final BufferSizeProvider readingDefaultBufferSizeProvider     = BufferSizeProvider.New(readingDefaultBufferSize);
 
@@ -116,12 +140,15 @@ public interface StorageChannelsCreator
 					typeDictionary                                   ,
 					markMonitor                                      ,
 					zombieOidHandler                                 ,
+					deletionHandler                                  ,
 					rootOidSelectorProvider.provideRootOidSelector(i),
 					rootTypeId                                       ,
 					markQueues[i]                                    ,
 					eventLogger                                      ,
+					channelMetrics[i]                                ,
 					markingWaitTimeMs                                ,
-					markBufferLength
+					markBufferLength                                 ,
+					housekeepingController.isGarbageCollectionEnabled()
 				);
 
 				// file manager to handle "file" IO (whatever "file" might be, might be a RDBMS binary table as well)
@@ -135,7 +162,15 @@ public interface StorageChannelsCreator
 					writeController                 ,
 					writerProvider.provideWriter(i) ,
 					readingDefaultBufferSizeProvider,
-					backupHandler
+					backupHandler                   ,
+					dataFileMapping                 ,
+					indexCheckpointSetup            ,
+					transactionsFileRollingSetup    ,
+					followerSetup                   ,
+					entityInitializerCreator        ,
+					compactionSetup                 ,
+					dataCompression                 ,
+					channelMetrics[i]
 				);
 
 				// required to resolve the initializer cyclic depedency
@@ -153,7 +188,10 @@ public interface StorageChannelsCreator
 					switchByteOrder          ,
 					loadingBufferSizeProvider,
 					fileManager              ,
-					eventLogger
+					eventLogger              ,
+					loadGate                 ,
+					concurrentEntityAccess   ,
+					channelMetrics[i]
 				);
 
 			}
@@ -0,0 +1,140 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import one.microstream.persistence.binary.types.ChunksBuffer;
+import one.microstream.persistence.types.PersistenceIdSet;
+import one.microstream.storage.exceptions.StorageException;
+
+/**
+ * Executes load requests directly in the calling (reader) thread instead of enqueuing them as tasks into the
+ * task chain that is processed by all channels in lockstep. This way, a load does not have to wait for
+ * preceding stores to be written and committed.
+ * <p>
+ * Consistency is guaranteed by locking each channel's entity state for the time the entities are collected
+ * from it and by the {@link StorageLoadGate} that prevents a load from seeing a store applied
+ * only partially across the channels.
+ */
+public interface StorageConcurrentLoader
+{
+	public ChunksBuffer loadByOids(PersistenceIdSet[] loadOids) throws InterruptedException;
+
+	public ChunksBuffer loadByTids(PersistenceIdSet loadTids) throws InterruptedException;
+
+
+
+	public static StorageConcurrentLoader New(
+		final StorageChannel[] channels,
+		final StorageLoadGate  loadGate
+	)
+	{
+		return new StorageConcurrentLoader.Default(
+			notNull(channels).clone(),
+			notNull(loadGate)
+		);
+	}
+
+	public final class Default implements StorageConcurrentLoader
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageChannel[] channels;
+		private final StorageLoadGate  loadGate;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final StorageChannel[] channels,
+			final StorageLoadGate  loadGate
+		)
+		{
+			super();
+			this.channels = channels;
+			this.loadGate = loadGate;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final ChunksBuffer loadByOids(final PersistenceIdSet[] loadOids) throws InterruptedException
+		{
+			if(loadOids.length != this.channels.length)
+			{
+				throw new StorageException(
+					"Invalid channel count: " + loadOids.length + " != " + this.channels.length
+				);
+			}
+
+			final ChunksBuffer[] result = new ChunksBuffer[this.channels.length];
+
+			this.loadGate.enterLoad();
+			try
+			{
+				for(int i = 0; i < this.channels.length; i++)
+				{
+					result[i] = this.channels[i].collectLoadByOidsConcurrently(result, loadOids[i]);
+				}
+			}
+			finally
+			{
+				this.loadGate.exitLoad();
+			}
+
+			// all channel result instances share the result array and there is always at least one channel
+			return result[0];
+		}
+
+		@Override
+		public final ChunksBuffer loadByTids(final PersistenceIdSet loadTids) throws InterruptedException
+		{
+			final ChunksBuffer[] result = new ChunksBuffer[this.channels.length];
+
+			this.loadGate.enterLoad();
+			try
+			{
+				for(int i = 0; i < this.channels.length; i++)
+				{
+					result[i] = this.channels[i].collectLoadByTidsConcurrently(result, loadTids);
+				}
+			}
+			finally
+			{
+				this.loadGate.exitLoad();
+			}
+
+			return result[0];
+		}
+
+	}
+
+}
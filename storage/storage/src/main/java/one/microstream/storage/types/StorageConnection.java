@@ -22,6 +22,8 @@ package one.microstream.storage.types;
 
 import static one.microstream.X.notNull;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 
 import one.microstream.afs.types.ADirectory;
@@ -34,7 +36,9 @@ import one.microstream.persistence.types.PersistenceTypeDictionaryExporter;
 import one.microstream.persistence.types.Persister;
 import one.microstream.persistence.types.Storer;
 import one.microstream.persistence.types.Unpersistable;
+import one.microstream.storage.exceptions.StorageException;
 import one.microstream.storage.exceptions.StorageExceptionBackupFullBackupTargetNotEmpty;
+import one.microstream.storage.exceptions.StorageExceptionImportFailed;
 
 
 /**
@@ -96,6 +100,38 @@ public interface StorageConnection extends Persister
 	 */
 	public boolean issueGarbageCollection(long nanoTimeBudget);
 
+	/**
+	 * Issues a full garbage collection that halts all channels and marks and sweeps with the
+	 * {@link StorageParallelGarbageCollector.Defaults#defaultWorkerCount() default} number of worker threads.
+	 * 
+	 * @return the phase timings and entity counts of the collection or {@code null} if none has been performed.
+	 * 
+	 * @see #issueParallelFullGarbageCollection(int)
+	 */
+	public default StorageGarbageCollectionStatistics issueParallelFullGarbageCollection()
+	{
+		return this.issueParallelFullGarbageCollection(
+			StorageParallelGarbageCollector.Defaults.defaultWorkerCount()
+		);
+	}
+
+	/**
+	 * Issues a full garbage collection that halts all channels until it is completed. Unlike
+	 * {@link #issueFullGarbageCollection()}, which proceeds in small increments on each channel's thread,
+	 * marking and sweeping are done by a dedicated pool of worker threads that can be larger than the
+	 * channel count. Any incremental garbage collection progress is discarded.
+	 * <p>
+	 * This is meant for large databases and maintenance windows where halting the storage for a short
+	 * time is preferable to a long-running incremental collection.
+	 * 
+	 * @param workerCount the number of worker threads to mark and sweep with.
+	 * 
+	 * @return the phase timings and entity counts of the collection or {@code null} if none has been performed.
+	 * 
+	 * @see #issueFullGarbageCollection()
+	 */
+	public StorageGarbageCollectionStatistics issueParallelFullGarbageCollection(int workerCount);
+
 	/**
 	 * Issues a full storage file check to be executed. Depending on the size of the database,
 	 * the available cache, used hardware, etc., this can take any amount of time.
@@ -265,6 +301,49 @@ public interface StorageConnection extends Persister
 		PersistenceTypeDictionaryExporter typeDictionaryExporter
 	);
 
+	/**
+	 * Exports a consistent snapshot of the whole storage into the passed directory without blocking the storage.
+	 * 
+	 * if the target is existing and not empty an {@link StorageExceptionBackupFullBackupTargetNotEmpty} exception
+	 * will be thrown
+	 * 
+	 * @param targetDirectory the directory to write the snapshot data into
+	 * 
+	 * @see #exportSnapshot(StorageLiveFileProvider, PersistenceTypeDictionaryExporter)
+	 */
+	public default void exportSnapshot(final ADirectory targetDirectory)
+	{
+		if(targetDirectory.exists() && !targetDirectory.isEmpty())
+		{
+			throw new StorageExceptionBackupFullBackupTargetNotEmpty(targetDirectory);
+		}
+		
+		this.exportSnapshot(
+			StorageLiveFileProvider.New(targetDirectory),
+			PersistenceTypeDictionaryExporter.New(
+				PersistenceTypeDictionaryFileHandler.New(targetDirectory)
+			)
+		);
+	}
+	
+	/**
+	 * Exports a consistent snapshot of the whole storage like {@link #issueFullBackup(StorageLiveFileProvider,
+	 * PersistenceTypeDictionaryExporter)}, but without blocking the storage while copying.<br>
+	 * Only capturing the current files and their lengths is executed as a task by all channels, which takes
+	 * about as long as {@link #createStorageStatistics()}. The captured files are then copied by the calling thread
+	 * while the storage continues to process stores, loads and housekeeping. Until the copying is completed,
+	 * the captured files are not deleted and the transactions files are not rolled.
+	 * 
+	 * @param targetFileProvider file provider for the snapshot files
+	 * @param typeDictionaryExporter the exporter to write the type dictionary
+	 * 
+	 * @see StorageSnapshot
+	 */
+	public void exportSnapshot(
+		StorageLiveFileProvider           targetFileProvider    ,
+		PersistenceTypeDictionaryExporter typeDictionaryExporter
+	);
+
 	/**
 	 * Creates a {@link StorageRawFileStatistics} instance, (obviously) containing raw file statistics about
 	 * every channel in the storage.
@@ -355,6 +434,40 @@ public interface StorageConnection extends Persister
 	 * @param importFiles the files whose native binary content shall be imported.
 	 */
 	public void importFiles(XGettingEnum<AFile> importFiles);
+	
+	/**
+	 * Captures a {@link StorageSnapshot} of the storage, which only takes as long as registering the files in
+	 * every channel. The captured files are kept until the returned snapshot is released, so the caller is
+	 * responsible for calling {@link StorageSnapshot#release()}.
+	 * 
+	 * @param includeEntities whether the live entities of every data file shall be captured as well,
+	 *        which is required to import the snapshot via {@link #importSnapshot(StorageSnapshot)}.
+	 * 
+	 * @return the captured snapshot.
+	 */
+	public StorageSnapshot captureSnapshot(boolean includeEntities);
+	
+	/**
+	 * Imports the live entities captured by the passed {@link StorageSnapshot} of another storage, which may have
+	 * a different channel count. A reader thread per channel of the other storage reads the captured entities
+	 * and every channel of this storage copies its share of them from the other storage's files, all in parallel.
+	 * The other storage continues working meanwhile.<br>
+	 * Existing entities are replaced like with {@link #importFiles(XGettingEnum)}, the type dictionary must
+	 * contain all types of the imported entities with the same type ids.
+	 * 
+	 * @param snapshot the snapshot of another storage, captured including entities and not released.
+	 */
+	public void importSnapshot(StorageSnapshot snapshot);
+	
+	/**
+	 * Imports all data that has been appended to the files of another storage after capturing the passed
+	 * {@link StorageSnapshot}, usually following {@link #importSnapshot(StorageSnapshot)} to transfer the changes
+	 * made during that import. The other storage must have been shut down.
+	 * 
+	 * @param snapshot the snapshot of the other storage.
+	 * @param fileProvider the file provider of the other storage.
+	 */
+	public void importAppendedData(StorageSnapshot snapshot, StorageFileProvider fileProvider);
 
 	/* (13.07.2015 TM)TODO: load by type somehow
 	 * Query by typeId already implemented. Question is how to best provide it to the user.
@@ -396,6 +509,24 @@ public interface StorageConnection extends Persister
 		this.persistenceManager().storeAll(instances);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public default CompletableFuture<Long> storeAsync(final Object instance, final Executor executor)
+	{
+		return this.persistenceManager().storeAsync(instance, executor);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public default CompletableFuture<Long> storeAsync(final Object instance)
+	{
+		return this.persistenceManager().storeAsync(instance);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -498,6 +629,20 @@ public interface StorageConnection extends Persister
 			}
 		}
 
+		@Override
+		public final StorageGarbageCollectionStatistics issueParallelFullGarbageCollection(final int workerCount)
+		{
+			try
+			{
+				return this.connectionRequestAcceptor.issueParallelGarbageCollection(workerCount);
+			}
+			catch(final InterruptedException e)
+			{
+				// thread interrupted, task aborted, return
+				return null;
+			}
+		}
+
 		@Override
 		public final boolean issueFileCheck(final long nanoTimeBudget)
 		{
@@ -541,6 +686,35 @@ public interface StorageConnection extends Persister
 			typeDictionaryExporter.exportTypeDictionary(this.persistenceManager().typeDictionary());
 		}
 
+		@Override
+		public final void exportSnapshot(
+			final StorageLiveFileProvider           targetFileProvider    ,
+			final PersistenceTypeDictionaryExporter typeDictionaryExporter
+		)
+		{
+			final StorageSnapshot snapshot;
+			try
+			{
+				snapshot = this.connectionRequestAcceptor.captureSnapshot();
+			}
+			catch(final InterruptedException e)
+			{
+				// thread interrupted, task aborted, return
+				return;
+			}
+			
+			try
+			{
+				// the dictionary contains at least every type of the captured data, later added types do no harm.
+				typeDictionaryExporter.exportTypeDictionary(this.persistenceManager().typeDictionary());
+				snapshot.exportTo(targetFileProvider);
+			}
+			finally
+			{
+				snapshot.release();
+			}
+		}
+
 		@Override
 		public StorageRawFileStatistics createStorageStatistics()
 		{
@@ -600,6 +774,48 @@ public interface StorageConnection extends Persister
 			}
 		}
 
+		@Override
+		public StorageSnapshot captureSnapshot(final boolean includeEntities)
+		{
+			try
+			{
+				return this.connectionRequestAcceptor.captureSnapshot(includeEntities);
+			}
+			catch(final InterruptedException e)
+			{
+				// the caller would have to release a snapshot captured anyway, so returning null is no option.
+				throw new StorageException("Interrupted while capturing a snapshot.", e);
+			}
+		}
+
+		@Override
+		public void importSnapshot(final StorageSnapshot snapshot)
+		{
+			try
+			{
+				this.connectionRequestAcceptor.importSnapshot(snapshot);
+			}
+			catch(final InterruptedException e)
+			{
+				// an incomplete import must not go unnoticed, the imported data is usually used right after.
+				throw new StorageExceptionImportFailed("Interrupted while importing.", e);
+			}
+		}
+
+		@Override
+		public void importAppendedData(final StorageSnapshot snapshot, final StorageFileProvider fileProvider)
+		{
+			try
+			{
+				this.connectionRequestAcceptor.importAppendedData(snapshot, fileProvider);
+			}
+			catch(final InterruptedException e)
+			{
+				// an incomplete import must not go unnoticed, the imported data is usually used right after.
+				throw new StorageExceptionImportFailed("Interrupted while importing.", e);
+			}
+		}
+
 	}
 
 }
@@ -0,0 +1,416 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
+
+import java.util.Arrays;
+
+import one.microstream.X;
+import one.microstream.collections.BulkList;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.storage.exceptions.StorageExceptionConsistency;
+
+/**
+ * Defines if and how the content of entity records is compressed when being written into the data files.
+ * <p>
+ * Compression is applied per entity record of a store's chunk, so loading an entity only requires
+ * to decompress the record of that entity. Only entities of types without references (e.g. strings and
+ * primitive arrays, typically the bulk of the stored bytes) with at least the minimum length are compressed, and
+ * only if compressing reduces their length noticeably. As the storage never has to interpret the content of such
+ * entities, e.g. for garbage collection, compressed records are handled like any other record by the file cleanup,
+ * backups and the initialization. Cached entity data stays compressed as well and is only decompressed when it is
+ * copied to a loading client or exported.
+ * <p>
+ * A compressed record is marked by the highest bit of its type id. Its content consists of the decompressed
+ * content length (4 bytes), the id of the used {@link StorageDataCompressionCodec} (4 bytes)
+ * and the compressed content.<br>
+ * Disabling compression does not affect already compressed records. They stay readable as long as their codec
+ * is registered.
+ */
+public interface StorageDataCompression
+{
+	public boolean isEnabled();
+
+	/**
+	 * @return the codec used to compress written entity records or {@code null} if compression is disabled.
+	 */
+	public StorageDataCompressionCodec codec();
+
+	/**
+	 * @return the minimum total length of an entity record to be compressed.
+	 */
+	public long minimumEntityLength();
+
+	/**
+	 * @param id the codec id.
+	 *
+	 * @return the registered codec with the passed id or {@code null} if there is none.
+	 */
+	public StorageDataCompressionCodec lookupCodec(int id);
+
+	/**
+	 * Writes a compressed copy of the uncompressed entity record at the passed address to the passed target address,
+	 * if compressing it yields a record that is noticeably shorter and not shorter than {@code minimumLength}.
+	 *
+	 * @param entityAddress the address of the uncompressed entity record.
+	 * @param minimumLength the minimum valid length of a record of the entity's type.
+	 * @param targetAddress the address to write the compressed record to. Must have at least the capacity
+	 *        of the uncompressed record's length.
+	 *
+	 * @return the length of the written compressed record or 0 if nothing has been written.
+	 */
+	public long compressEntity(long entityAddress, long minimumLength, long targetAddress);
+
+	/**
+	 * Writes the decompressed copy of the compressed entity record at the passed address to the passed target address.
+	 *
+	 * @param entityAddress the address of the compressed entity record.
+	 * @param targetAddress the address to write the decompressed record to. Must have at least the capacity
+	 *        of {@link #decompressedEntityLength(long)}.
+	 */
+	public void decompressEntity(long entityAddress, long targetAddress);
+
+
+
+	public static boolean isCompressedEntity(final long entityAddress)
+	{
+		return (Binary.getEntityTypeIdRawValue(entityAddress) & Default.COMPRESSED_FLAG) != 0;
+	}
+
+	/**
+	 * @param entityAddress the address of an entity record.
+	 *
+	 * @return the entity's type id, regardless of the record being compressed or not.
+	 */
+	public static long entityTypeId(final long entityAddress)
+	{
+		return Binary.getEntityTypeIdRawValue(entityAddress) & ~Default.COMPRESSED_FLAG;
+	}
+
+	/**
+	 * @param entityAddress the address of a compressed entity record.
+	 *
+	 * @return the total length of the decompressed entity record.
+	 */
+	public static long decompressedEntityLength(final long entityAddress)
+	{
+		return Binary.entityHeaderLength()
+			+ XMemory.get_int(Binary.toEntityContentOffset(entityAddress) + Default.OFFSET_CONTENT_LENGTH)
+		;
+	}
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataCompression} instance that does not compress
+	 * written entity records, but still reads records compressed by the default codec.
+	 *
+	 * @return a new {@link StorageDataCompression} instance.
+	 */
+	public static StorageDataCompression Disabled()
+	{
+		return new StorageDataCompression.Default(
+			null,
+			Long.MAX_VALUE,
+			codecs(StorageDataCompressionCodec.Deflating())
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataCompression} instance
+	 * using {@link StorageDataCompressionCodec#Deflating()} and the default minimum entity length,
+	 * see {@link StorageDataCompression.Defaults}.
+	 *
+	 * @return a new {@link StorageDataCompression} instance.
+	 */
+	public static StorageDataCompression New()
+	{
+		return New(StorageDataCompressionCodec.Deflating());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataCompression} instance
+	 * using the default minimum entity length, see {@link StorageDataCompression.Defaults}.
+	 *
+	 * @param codec the codec to compress written entity records.
+	 *
+	 * @return a new {@link StorageDataCompression} instance.
+	 */
+	public static StorageDataCompression New(final StorageDataCompressionCodec codec)
+	{
+		return New(codec, Defaults.defaultMinimumEntityLength());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataCompression} instance.
+	 * <p>
+	 * The passed codecs and {@link StorageDataCompressionCodec#Deflating()} are registered for reading, so
+	 * switching to another codec must register the prior one to keep its records readable.
+	 *
+	 * @param codec the codec to compress written entity records.
+	 * @param minimumEntityLength the minimum total length of an entity record to be compressed.
+	 * @param additionalCodecs codecs of already compressed entity records.
+	 *
+	 * @return a new {@link StorageDataCompression} instance.
+	 */
+	public static StorageDataCompression New(
+		final StorageDataCompressionCodec    codec              ,
+		final long                           minimumEntityLength,
+		final StorageDataCompressionCodec... additionalCodecs
+	)
+	{
+		final BulkList<StorageDataCompressionCodec> codecs = BulkList.New(notNull(codec));
+		codecs.addAll(additionalCodecs);
+		codecs.add(StorageDataCompressionCodec.Deflating());
+
+		return new StorageDataCompression.Default(
+			codec,
+			Math.max(positive(minimumEntityLength), Default.MINIMUM_COMPRESSED_LENGTH),
+			codecs(codecs.toArray(StorageDataCompressionCodec.class))
+		);
+	}
+
+	/**
+	 * Creates an array of the passed codecs indexed by their ids. The first codec of every id takes precedence.
+	 */
+	static StorageDataCompressionCodec[] codecs(final StorageDataCompressionCodec... codecs)
+	{
+		int maximumId = 0;
+		for(final StorageDataCompressionCodec codec : codecs)
+		{
+			if(codec.id() < 0)
+			{
+				throw new IllegalArgumentException("Invalid codec id: " + codec.id());
+			}
+			maximumId = Math.max(maximumId, codec.id());
+		}
+
+		final StorageDataCompressionCodec[] codecsById = new StorageDataCompressionCodec[maximumId + 1];
+		for(final StorageDataCompressionCodec codec : codecs)
+		{
+			if(codecsById[codec.id()] == null)
+			{
+				codecsById[codec.id()] = codec;
+			}
+		}
+
+		return codecsById;
+	}
+
+	public interface Defaults
+	{
+		/**
+		 * @return 512 bytes.
+		 */
+		public static long defaultMinimumEntityLength()
+		{
+			return 512;
+		}
+
+	}
+
+	public final class Default implements StorageDataCompression
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		static final long COMPRESSED_FLAG       = Long.MIN_VALUE;
+		static final long OFFSET_CONTENT_LENGTH = 0;
+		static final long OFFSET_CODEC_ID       = OFFSET_CONTENT_LENGTH + Integer.BYTES;
+		static final long OFFSET_DATA           = OFFSET_CODEC_ID       + Integer.BYTES;
+
+		// smaller records can hardly profit from compression, considering the entity header and OFFSET_DATA.
+		static final long MINIMUM_COMPRESSED_LENGTH = 128;
+
+		// compressing must save at least 1/8th of the content to be worth the decompression when loading.
+		static final int MINIMUM_SAVING_SHIFT = 3;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+
+		private static void setEntityHeader(
+			final long address ,
+			final long length  ,
+			final long typeId  ,
+			final long objectId
+		)
+		{
+			// same layout as Binary's entity header: length, type id, object id.
+			XMemory.set_long(address                  , length  );
+			XMemory.set_long(address + Long.BYTES     , typeId  );
+			XMemory.set_long(address + Long.BYTES * 2 , objectId);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageDataCompressionCodec   codec              ;
+		private final long                          minimumEntityLength;
+		private final StorageDataCompressionCodec[] codecsById         ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final StorageDataCompressionCodec   codec              ,
+			final long                          minimumEntityLength,
+			final StorageDataCompressionCodec[] codecsById
+		)
+		{
+			super();
+			this.codec               = codec              ;
+			this.minimumEntityLength = minimumEntityLength;
+			this.codecsById          = codecsById         ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final boolean isEnabled()
+		{
+			return this.codec != null;
+		}
+
+		@Override
+		public final StorageDataCompressionCodec codec()
+		{
+			return this.codec;
+		}
+
+		@Override
+		public final long minimumEntityLength()
+		{
+			return this.minimumEntityLength;
+		}
+
+		@Override
+		public final StorageDataCompressionCodec lookupCodec(final int id)
+		{
+			return id >= 0 && id < this.codecsById.length
+				? this.codecsById[id]
+				: null
+			;
+		}
+
+		@Override
+		public final long compressEntity(
+			final long entityAddress,
+			final long minimumLength,
+			final long targetAddress
+		)
+		{
+			final int  contentLength  = X.checkArrayRange(
+				Binary.getEntityLengthRawValue(entityAddress) - Binary.entityHeaderLength()
+			);
+			final long targetOverhead = Binary.entityHeaderLength() + OFFSET_DATA;
+			final int  targetCapacity = contentLength
+				- (int)OFFSET_DATA
+				- (contentLength >>> MINIMUM_SAVING_SHIFT)
+			;
+			if(targetCapacity <= 0)
+			{
+				return 0;
+			}
+
+			final byte[] content = new byte[contentLength];
+			XMemory.copyRangeToArray(Binary.toEntityContentOffset(entityAddress), content);
+
+			final byte[] compressed       = new byte[targetCapacity];
+			final int    compressedLength = this.codec.compress(content, contentLength, compressed, targetCapacity);
+			if(compressedLength < 0 || targetOverhead + compressedLength < minimumLength)
+			{
+				return 0;
+			}
+
+			final long compressedEntityLength = targetOverhead + compressedLength;
+			final long targetContentAddress   = Binary.toEntityContentOffset(targetAddress);
+			setEntityHeader(
+				targetAddress,
+				compressedEntityLength,
+				Binary.getEntityTypeIdRawValue(entityAddress) | COMPRESSED_FLAG,
+				Binary.getEntityObjectIdRawValue(entityAddress)
+			);
+			XMemory.set_int(targetContentAddress + OFFSET_CONTENT_LENGTH, contentLength);
+			XMemory.set_int(targetContentAddress + OFFSET_CODEC_ID, this.codec.id());
+			XMemory.copyArrayToAddress(
+				compressedLength == targetCapacity
+					? compressed
+					: Arrays.copyOf(compressed, compressedLength),
+				targetContentAddress + OFFSET_DATA
+			);
+
+			return compressedEntityLength;
+		}
+
+		@Override
+		public final void decompressEntity(final long entityAddress, final long targetAddress)
+		{
+			final long contentAddress   = Binary.toEntityContentOffset(entityAddress);
+			final int  contentLength    = XMemory.get_int(contentAddress + OFFSET_CONTENT_LENGTH);
+			final int  codecId          = XMemory.get_int(contentAddress + OFFSET_CODEC_ID);
+			final int  compressedLength = X.checkArrayRange(
+				Binary.getEntityLengthRawValue(entityAddress) - Binary.entityHeaderLength() - OFFSET_DATA
+			);
+
+			final StorageDataCompressionCodec codec = this.lookupCodec(codecId);
+			if(codec == null)
+			{
+				throw new StorageExceptionConsistency(
+					"No compression codec with id " + codecId + " registered to decompress entity "
+					+ Binary.getEntityObjectIdRawValue(entityAddress) + "."
+				);
+			}
+
+			final byte[] compressed = new byte[compressedLength];
+			XMemory.copyRangeToArray(contentAddress + OFFSET_DATA, compressed);
+			final byte[] content = new byte[contentLength];
+			codec.decompress(compressed, compressedLength, content, contentLength);
+
+			setEntityHeader(
+				targetAddress,
+				Binary.entityTotalLength(contentLength),
+				entityTypeId(entityAddress),
+				Binary.getEntityObjectIdRawValue(entityAddress)
+			);
+			XMemory.copyArrayToAddress(content, Binary.toEntityContentOffset(targetAddress));
+		}
+
+	}
+
+}
@@ -0,0 +1,203 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import one.microstream.storage.exceptions.StorageExceptionConsistency;
+
+/**
+ * Function type that compresses and decompresses the content of single entity records,
+ * see {@link StorageDataCompression}.
+ * <p>
+ * Every codec is identified by an id that is written into every record it compressed. A codec must therefore
+ * stay registered in the {@link StorageDataCompression} as long as data compressed by it exists, even if
+ * it is no longer used for writing. The ids 0 to 99 are reserved for codecs provided by this library,
+ * custom codecs (e.g. wrapping a fast LZ4 or Snappy implementation) must use other ids.
+ */
+public interface StorageDataCompressionCodec
+{
+	public int id();
+
+	/**
+	 * Compresses the first {@code sourceLength} bytes of {@code source} into {@code target}.
+	 *
+	 * @param source the data to be compressed.
+	 * @param sourceLength the number of bytes to be compressed.
+	 * @param target the array to receive the compressed data.
+	 * @param targetCapacity the maximum number of bytes to be written into {@code target}.
+	 *
+	 * @return the number of compressed bytes or -1 if the compressed data would exceed {@code targetCapacity}.
+	 */
+	public int compress(byte[] source, int sourceLength, byte[] target, int targetCapacity);
+
+	/**
+	 * Decompresses the first {@code sourceLength} bytes of {@code source} into exactely
+	 * {@code targetLength} bytes of {@code target}.
+	 *
+	 * @param source the compressed data.
+	 * @param sourceLength the number of compressed bytes.
+	 * @param target the array to receive the decompressed data.
+	 * @param targetLength the number of decompressed bytes.
+	 */
+	public void decompress(byte[] source, int sourceLength, byte[] target, int targetLength);
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataCompressionCodec} instance
+	 * based on the JDK's {@link Deflater} using {@link Deflater#BEST_SPEED}.
+	 *
+	 * @return a new {@link StorageDataCompressionCodec} instance.
+	 */
+	public static StorageDataCompressionCodec.Deflating Deflating()
+	{
+		return Deflating(Deflater.BEST_SPEED);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataCompressionCodec} instance
+	 * based on the JDK's {@link Deflater}.
+	 * <p>
+	 * The compression level only affects writing, so it can be changed at any time.
+	 *
+	 * @param level the compression level from 0 to 9, see {@link Deflater#setLevel(int)}.
+	 *
+	 * @return a new {@link StorageDataCompressionCodec} instance.
+	 */
+	public static StorageDataCompressionCodec.Deflating Deflating(final int level)
+	{
+		if(level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)
+		{
+			throw new IllegalArgumentException("Invalid compression level: " + level);
+		}
+
+		return new StorageDataCompressionCodec.Deflating(level);
+	}
+
+	public final class Deflating implements StorageDataCompressionCodec
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		public static final int ID = 1;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int level;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Deflating(final int level)
+		{
+			super();
+			this.level = level;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final int id()
+		{
+			return ID;
+		}
+
+		public final int level()
+		{
+			return this.level;
+		}
+
+		@Override
+		public final int compress(
+			final byte[] source        ,
+			final int    sourceLength  ,
+			final byte[] target        ,
+			final int    targetCapacity
+		)
+		{
+			// (de)compressors hold native memory, so they are released right away instead of by finalization.
+			final Deflater deflater = new Deflater(this.level);
+			try
+			{
+				deflater.setInput(source, 0, sourceLength);
+				deflater.finish();
+				final int length = deflater.deflate(target, 0, targetCapacity);
+
+				return deflater.finished()
+					? length
+					: -1
+				;
+			}
+			finally
+			{
+				deflater.end();
+			}
+		}
+
+		@Override
+		public final void decompress(
+			final byte[] source      ,
+			final int    sourceLength,
+			final byte[] target      ,
+			final int    targetLength
+		)
+		{
+			final Inflater inflater = new Inflater();
+			try
+			{
+				inflater.setInput(source, 0, sourceLength);
+				final int length = inflater.inflate(target, 0, targetLength);
+				if(length != targetLength || !inflater.finished())
+				{
+					throw new StorageExceptionConsistency(
+						"Inconsistent compressed data: decompressed " + length + " of " + targetLength + " bytes."
+					);
+				}
+			}
+			catch(final DataFormatException e)
+			{
+				throw new StorageExceptionConsistency("Invalid compressed data.", e);
+			}
+			finally
+			{
+				inflater.end();
+			}
+		}
+
+	}
+
+}
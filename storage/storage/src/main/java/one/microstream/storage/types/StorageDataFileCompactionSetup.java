@@ -0,0 +1,191 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.math.XMath.positive;
+
+/**
+ * Defines if and how data files are compacted in the background by dedicated threads
+ * (see {@link StorageDataFileCompactor}) instead of by the channels' housekeeping.
+ * <p>
+ * If enabled, the compactor threads dissolve the files that need dissolving (see
+ * {@link StorageDataFileEvaluator#needsDissolving(StorageLiveDataFile)}), emptiest first, by transferring their
+ * live entities to the head file. The amount of transferred bytes is throttled to the defined throughput.
+ */
+public interface StorageDataFileCompactionSetup
+{
+	public boolean isEnabled();
+
+	/**
+	 * @return the number of compactor threads. Every thread takes care of a fixed subset of the channels.
+	 */
+	public int threadCount();
+
+	/**
+	 * @return the maximum number of bytes per second all compactor threads together transfer.
+	 */
+	public long bytesPerSecond();
+
+	/**
+	 * @return the time in milliseconds a compactor thread waits before checking its channels again
+	 * after none of them had a file to compact.
+	 */
+	public long idleIntervalMs();
+
+
+
+	public static StorageDataFileCompactionSetup Disabled()
+	{
+		return new StorageDataFileCompactionSetup.Default(false, 1, Long.MAX_VALUE, Defaults.defaultIdleIntervalMs());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCompactionSetup} instance
+	 * using one thread and the default throughput, see {@link StorageDataFileCompactionSetup.Defaults}.
+	 *
+	 * @return a new {@link StorageDataFileCompactionSetup} instance.
+	 */
+	public static StorageDataFileCompactionSetup New()
+	{
+		return New(1, Defaults.defaultBytesPerSecond());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCompactionSetup} instance.
+	 *
+	 * @param threadCount the number of compactor threads. Values greater than the channel count are capped.
+	 * @param bytesPerSecond the maximum number of bytes per second all compactor threads together transfer.
+	 *
+	 * @return a new {@link StorageDataFileCompactionSetup} instance.
+	 */
+	public static StorageDataFileCompactionSetup New(final int threadCount, final long bytesPerSecond)
+	{
+		return New(threadCount, bytesPerSecond, Defaults.defaultIdleIntervalMs());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCompactionSetup} instance.
+	 *
+	 * @param threadCount the number of compactor threads. Values greater than the channel count are capped.
+	 * @param bytesPerSecond the maximum number of bytes per second all compactor threads together transfer.
+	 * @param idleIntervalMs the time in milliseconds to wait after no channel had a file to compact.
+	 *
+	 * @return a new {@link StorageDataFileCompactionSetup} instance.
+	 */
+	public static StorageDataFileCompactionSetup New(
+		final int  threadCount   ,
+		final long bytesPerSecond,
+		final long idleIntervalMs
+	)
+	{
+		return new StorageDataFileCompactionSetup.Default(
+			true                    ,
+			positive(threadCount)   ,
+			positive(bytesPerSecond),
+			positive(idleIntervalMs)
+		);
+	}
+
+	public interface Defaults
+	{
+		/**
+		 * @return 16 MB per second.
+		 */
+		public static long defaultBytesPerSecond()
+		{
+			return 16L * 1024 * 1024;
+		}
+
+		/**
+		 * @return 1000 ms.
+		 */
+		public static long defaultIdleIntervalMs()
+		{
+			return 1000;
+		}
+
+	}
+
+	public final class Default implements StorageDataFileCompactionSetup
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final boolean enabled       ;
+		private final int     threadCount   ;
+		private final long    bytesPerSecond;
+		private final long    idleIntervalMs;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final boolean enabled       ,
+			final int     threadCount   ,
+			final long    bytesPerSecond,
+			final long    idleIntervalMs
+		)
+		{
+			super();
+			this.enabled        = enabled       ;
+			this.threadCount    = threadCount   ;
+			this.bytesPerSecond = bytesPerSecond;
+			this.idleIntervalMs = idleIntervalMs;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final boolean isEnabled()
+		{
+			return this.enabled;
+		}
+
+		@Override
+		public final int threadCount()
+		{
+			return this.threadCount;
+		}
+
+		@Override
+		public final long bytesPerSecond()
+		{
+			return this.bytesPerSecond;
+		}
+
+		@Override
+		public final long idleIntervalMs()
+		{
+			return this.idleIntervalMs;
+		}
+
+	}
+
+}
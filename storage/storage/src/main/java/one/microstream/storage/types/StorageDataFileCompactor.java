@@ -0,0 +1,224 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compacts the data files of a fixed set of channels on its own thread, see {@link StorageDataFileCompactionSetup}.
+ * <p>
+ * Every step transfers a bounded amount of live entity data of one channel while holding that channel's entity lock.
+ * Afterwards, the compactor sleeps (holding no lock) long enough to keep the transferred bytes within its throughput.
+ */
+public interface StorageDataFileCompactor extends Runnable
+{
+	public StorageDataFileCompactor start();
+
+	public StorageDataFileCompactor stop();
+
+	public boolean isRunning();
+
+
+
+	public static StorageDataFileCompactor New(
+		final StorageChannel[]           channels           ,
+		final long                       bytesPerSecond     ,
+		final long                       idleIntervalMs     ,
+		final StorageOperationController operationController
+	)
+	{
+		return new StorageDataFileCompactor.Default(
+			notNull(channels)           ,
+			positive(bytesPerSecond)    ,
+			positive(idleIntervalMs)    ,
+			notNull(operationController)
+		);
+	}
+
+	public final class Default implements StorageDataFileCompactor
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		// a step should take roughly this fraction of a second of the throughput, but never less than the minimum.
+		private static final long STEP_FRACTION       =   20;
+		private static final long MINIMUM_STEP_LENGTH = 64 * 1024;
+
+		// waiting time if all channels with files to compact are storing at the moment.
+		private static final long DEFERRED_WAIT_MS    =    1;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageChannel[]           channels           ;
+		private final long                       bytesPerSecond     ;
+		private final long                       idleIntervalMs     ;
+		private final long                       stepLength         ;
+		private final StorageOperationController operationController;
+
+		private boolean isRunning       ;
+		private long    nextStepNanoTime;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final StorageChannel[]           channels           ,
+			final long                       bytesPerSecond     ,
+			final long                       idleIntervalMs     ,
+			final StorageOperationController operationController
+		)
+		{
+			super();
+			this.channels            = channels           ;
+			this.bytesPerSecond      = bytesPerSecond     ;
+			this.idleIntervalMs      = idleIntervalMs     ;
+			this.operationController = operationController;
+			this.stepLength          = Math.max(bytesPerSecond / STEP_FRACTION, MINIMUM_STEP_LENGTH);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final synchronized boolean isRunning()
+		{
+			return this.isRunning;
+		}
+
+		@Override
+		public final synchronized StorageDataFileCompactor.Default start()
+		{
+			this.isRunning = true;
+			return this;
+		}
+
+		@Override
+		public final synchronized StorageDataFileCompactor.Default stop()
+		{
+			this.isRunning = false;
+
+			// wake up a waiting compactor immediately
+			this.notifyAll();
+			return this;
+		}
+
+		private synchronized boolean checkIsRunning()
+		{
+			return this.isRunning && this.operationController.checkProcessingEnabled();
+		}
+
+		@Override
+		public final void run()
+		{
+			try
+			{
+				while(this.checkIsRunning())
+				{
+					final long waitTimeMs = this.compactChannels();
+					if(waitTimeMs > 0)
+					{
+						this.waitWhileRunning(TimeUnit.MILLISECONDS.toNanos(waitTimeMs));
+					}
+				}
+			}
+			catch(final InterruptedException e)
+			{
+				// interrupting a compactor thread means to stop it, nothing more.
+			}
+			catch(final Exception e)
+			{
+				this.operationController.registerDisruption(e);
+				throw e;
+			}
+		}
+
+		private long compactChannels() throws InterruptedException
+		{
+			boolean hasDeferredWork = false;
+			boolean hasCompacted    = false;
+			for(final StorageChannel channel : this.channels)
+			{
+				final long transferredLength = channel.compactDataFiles(this.stepLength);
+				if(transferredLength < 0)
+				{
+					// nothing to compact in that channel
+					continue;
+				}
+				if(transferredLength == 0)
+				{
+					// the channel is currently storing, the step is retried in the next round.
+					hasDeferredWork = true;
+					continue;
+				}
+
+				hasCompacted = true;
+				this.throttle(transferredLength);
+				if(!this.checkIsRunning())
+				{
+					break;
+				}
+			}
+
+			return hasCompacted
+				? 0
+				: hasDeferredWork
+					? DEFERRED_WAIT_MS
+					: this.idleIntervalMs
+			;
+		}
+
+		private void throttle(final long transferredLength) throws InterruptedException
+		{
+			final long now = System.nanoTime();
+			final long transferNanoTime = transferredLength * 1_000_000_000L / this.bytesPerSecond;
+
+			// budget not used while being idle does not accumulate to allow bursts.
+			this.nextStepNanoTime = Math.max(this.nextStepNanoTime, now) + transferNanoTime;
+			this.waitWhileRunning(this.nextStepNanoTime - now);
+		}
+
+		private synchronized void waitWhileRunning(final long nanoTime) throws InterruptedException
+		{
+			final long bound = System.nanoTime() + nanoTime;
+			for(long remaining = nanoTime; remaining > 0 && this.isRunning; remaining = bound - System.nanoTime())
+			{
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			}
+		}
+
+	}
+
+}
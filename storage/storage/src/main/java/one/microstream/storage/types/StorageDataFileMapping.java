@@ -0,0 +1,90 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+/**
+ * Defines how entity data is read from live data files when it is not present in the entity cache.
+ * <p>
+ * By default, entity data is read via the file's channel into a buffer and then copied into the entity cache.
+ * With mapped reading enabled, the committed content of every data file is mapped into memory (read-only)
+ * and entity data is copied directly from the mapped memory into the entity cache, meaning cache misses
+ * require no system call, but only a page cache lookup. Files are mapped in segments of 64 MB, so only the last
+ * segment of a file is remapped on demand as its committed content grows.
+ * <p>
+ * Mapped reading is only possible for files of the NIO file system. All other files, as well as entities spanning
+ * two segments, are read in the default way.
+ */
+public interface StorageDataFileMapping
+{
+	public boolean isMappedReadingEnabled();
+
+
+
+	public static StorageDataFileMapping Enabled()
+	{
+		return New(true);
+	}
+
+	public static StorageDataFileMapping Disabled()
+	{
+		return New(false);
+	}
+
+	public static StorageDataFileMapping New(final boolean mappedReadingEnabled)
+	{
+		return new StorageDataFileMapping.Default(mappedReadingEnabled);
+	}
+
+	public final class Default implements StorageDataFileMapping
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final boolean mappedReadingEnabled;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final boolean mappedReadingEnabled)
+		{
+			super();
+			this.mappedReadingEnabled = mappedReadingEnabled;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final boolean isMappedReadingEnabled()
+		{
+			return this.mappedReadingEnabled;
+		}
+
+	}
+
+}
@@ -76,6 +76,20 @@ public interface StorageEntity
 	 */
 	public long lastTouched();
 
+	/**
+	 * The approximate number of times this entity's data has recently been read, decayed to the passed time.
+	 * The count is increased on every load of the entity and halved for every full
+	 * {@value StorageEntity.Default#ACCESS_FREQUENCY_HALF_LIFE_MS} milliseconds period that has started since.
+	 * It is retained when the entity's data is cleared from the cache, so that a recently frequently read entity
+	 * can be recognized as such again when it is loaded anew. The value never exceeds
+	 * {@value StorageEntity.Default#ACCESS_FREQUENCY_MAXIMUM}.
+	 *
+	 * @param time a time value compatible to the value returned by {@link System#currentTimeMillis()}.
+	 *
+	 * @return the decayed access frequency.
+	 */
+	public int accessFrequency(long time);
+
 	public long storagePosition();
 
 	public StorageLiveDataFile storageFile();
@@ -113,6 +127,11 @@ public interface StorageEntity
 		private static final long TOUCHED_SHIFT_COUNT  = 8;
 		private static final long TOUCHED_START_OFFSET = System.currentTimeMillis();
 
+		// access frequency saturates at 4 bits and halves every 2^8 touch units (~65 seconds).
+		public static final int  ACCESS_FREQUENCY_MAXIMUM         = 15;
+		public static final long ACCESS_FREQUENCY_HALF_LIFE_MS    = 1L << 16;
+		private static final int ACCESS_FREQUENCY_HALF_LIFE_SHIFT = 8;
+
 		/*
 		 * GC state meaning:
 		 *
@@ -178,13 +197,14 @@ public interface StorageEntity
 
 		final long objectId       ;
 		long       cacheAddress   ; // oid or address to cached data or 0 for deleted flagging
-		int        storagePosition; // the absolute position in the storage file
+		long       storagePosition; // the absolute position in the storage file, may exceed the int value range
 		int        length         ; // the item's total length
 		int        lastTouched    ; // age timestamp for cache clearing evaluation. See methods and constants.
 		byte       gcState        ; // gc state
 		boolean    isDeleted      ;
 		boolean    onlyRefsCached ;
 		byte       referenceCount ; // could be combined with hasReferences to a short with ~10 bits free for ref count
+		byte       accessFrequency; // decaying load count for frequency-aware cache evaluation. See methods and constants.
 
 		// reference to the type meta data instance and the parent channel file
 		TypeInFile typeInFile     ;
@@ -441,6 +461,24 @@ public interface StorageEntity
 			this.clearSimpleReferencesLoaded();
 		}
 
+		/**
+		 * Iterates the reference ids from the cached data without loading, touching or otherwise
+		 * changing this entity. Only valid for a live entity with references.
+		 */
+		final void iterateCachedReferenceIds(final PersistenceObjectIdAcceptor referenceIdIterator)
+		{
+			this.typeInFile.type.iterateEntityReferenceIds(this, referenceIdIterator);
+		}
+
+		/**
+		 * Iterates the reference ids straight from the stored data, leaving the cached state of
+		 * this entity unchanged. Only valid for an entity with references.
+		 */
+		final void iterateStoredReferenceIds(final PersistenceObjectIdAcceptor referenceIdIterator)
+		{
+			this.typeInFile.file.iterateStoredReferenceIds(this, referenceIdIterator);
+		}
+
 		final void detachFromFile()
 		{
 			this.typeInFile.file.remove(this);
@@ -452,8 +490,8 @@ public interface StorageEntity
 		}
 
 		final void updateStorageInformation(
-			final int length         ,
-			final int storagePosition
+			final int  length         ,
+			final long storagePosition
 		)
 		{
 			this.storagePosition = storagePosition;
@@ -535,9 +573,44 @@ public interface StorageEntity
 			return this.objectId;
 		}
 
+		private static int touchTime(final long time)
+		{
+			return (int)(time - TOUCHED_START_OFFSET >>> TOUCHED_SHIFT_COUNT);
+		}
+
+		private int decayedAccessFrequency(final int touchTime)
+		{
+			// counting started decay periods instead of elapsed ones makes frequent touching not prevent decaying.
+			final int periods = (touchTime >>> ACCESS_FREQUENCY_HALF_LIFE_SHIFT)
+				- (this.lastTouched >>> ACCESS_FREQUENCY_HALF_LIFE_SHIFT)
+			;
+			if(periods <= 0)
+			{
+				// includes the initial "touched in eternity" state
+				return this.accessFrequency;
+			}
+
+			return periods >= Byte.SIZE ? 0 : this.accessFrequency >>> periods;
+		}
+
 		final void touch()
 		{
-			this.lastTouched = (int)(System.currentTimeMillis() - TOUCHED_START_OFFSET >>> TOUCHED_SHIFT_COUNT);
+			final int touchTime = touchTime(System.currentTimeMillis());
+			this.accessFrequency = (byte)this.decayedAccessFrequency(touchTime);
+			this.lastTouched     = touchTime;
+		}
+
+		final void touchAccessed()
+		{
+			final int touchTime = touchTime(System.currentTimeMillis());
+			this.accessFrequency = (byte)Math.min(this.decayedAccessFrequency(touchTime) + 1, ACCESS_FREQUENCY_MAXIMUM);
+			this.lastTouched     = touchTime;
+		}
+
+		@Override
+		public final int accessFrequency(final long time)
+		{
+			return this.decayedAccessFrequency(touchTime(time));
 		}
 
 		@Override
@@ -577,15 +650,22 @@ public interface StorageEntity
 		@Override
 		public final long exportTo(final AWritableFile file)
 		{
-			return this.typeInFile.file.copyTo(file, this.storagePosition, this.length);
+			return this.typeInFile.file.exportEntityData(this, file);
 		}
 
 		@Override
 		public final void copyCachedData(final MemoryRangeReader entityDataCollector)
 		{
+			this.typeInFile.file.registerEntityCacheAccess(this.isLive() && !this.hasOnlySimpleReferencesLoaded());
 			this.ensureCachedFullData();
-			this.touch();
+			this.touchAccessed();
 //			final byte[] buffer = DEBUGStorage.extractMemory(this.cacheAddress(), 32);
+			if(StorageDataCompression.isCompressedEntity(this.cacheAddress()))
+			{
+				// cached data stays compressed, only the copy for the client is decompressed.
+				this.typeInFile.file.copyDecompressedEntityData(this.cacheAddress(), entityDataCollector);
+				return;
+			}
 			entityDataCollector.readMemory(this.cacheAddress(), this.length);
 		}
 
@@ -26,8 +26,13 @@ import static one.microstream.math.XMath.notNegative;
 import static one.microstream.math.XMath.positive;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import one.microstream.X;
+import one.microstream.collections.BulkList;
 import one.microstream.collections.EqHashEnum;
 import one.microstream.functional.ThrowingProcedure;
 import one.microstream.math.XMath;
@@ -87,7 +92,9 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		 * and can disappear at any release.<br>
 		 * <b>Do not use this is production mode.</b>
 		 * 
-		 * @deprecated experimental, will be removed in a future release
+		 * @deprecated experimental, will be removed in a future release.
+		 *             Use {@link StorageHousekeepingController#isGarbageCollectionEnabled()} to enable the
+		 *             garbage collection for a single storage.
 		 */
 		@Deprecated
 		public static void setGarbageCollectionEnabled(final boolean enabled)
@@ -95,6 +102,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			experimentalGcEnabled = enabled;
 		}
 		
+		final boolean isGarbageCollectionEnabled()
+		{
+			return this.gcEnabled || experimentalGcEnabled;
+		}
+		
 		
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -108,13 +120,16 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		private final int                                channelHashShift    ;
 		private final long                               rootTypeId          ;
 		private final long                               markingWaitTimeMs   ;
+		private final boolean                            gcEnabled           ;
 		        final StorageEntityCacheEvaluator        entityCacheEvaluator;
 		private final StorageTypeDictionary              typeDictionary      ;
 		private final long[]                             markingOidBuffer    ;
 		private final StorageGCZombieOidHandler          zombieOidHandler    ;
+		private final StorageEntityDeletionHandler       deletionHandler     ;
 		private final StorageRootOidSelector             rootOidSelector     ;
 		private final RootEntityRootOidSelectionIterator rootEntityIterator  ;
 		private final StorageEventLogger                 eventLogger         ;
+		private final StorageChannelMetrics.Default      metrics             ;
 		private       StorageFileManager.Default         fileManager         ; // pseudo-final
 		
 		
@@ -135,6 +150,9 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		// Statistics for debugging / monitoring / checking to compare with other channels and with the markmonitor
 		private long sweepGeneration, lastSweepStart, lastSweepEnd;
 		
+		// time spent marking since the last sweep, see StorageChannelMetrics#garbageCollectionMarkTimes()
+		private long markingNs;
+		
 
 		// state 3.1: variable length content
         
@@ -157,18 +175,21 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		/////////////////
 
 		Default(
-			final int                         channelIndex       ,
-			final int                         channelCount       ,
-			final StorageEntityCacheEvaluator cacheEvaluator     ,
-			final StorageTypeDictionary       typeDictionary     ,
-			final StorageEntityMarkMonitor    markMonitor        ,
-			final StorageGCZombieOidHandler   zombieOidHandler   ,
-			final StorageRootOidSelector      rootOidSelector    ,
-			final long                        rootTypeId         ,
-			final StorageObjectIdMarkQueue    oidMarkQueue       ,
-			final StorageEventLogger          eventLogger        ,
-			final long                        markingWaitTimeMs  ,
-			final int                         markingBufferLength
+			final int                           channelIndex       ,
+			final int                           channelCount       ,
+			final StorageEntityCacheEvaluator   cacheEvaluator     ,
+			final StorageTypeDictionary         typeDictionary     ,
+			final StorageEntityMarkMonitor      markMonitor        ,
+			final StorageGCZombieOidHandler     zombieOidHandler   ,
+			final StorageEntityDeletionHandler  deletionHandler    ,
+			final StorageRootOidSelector        rootOidSelector    ,
+			final long                          rootTypeId         ,
+			final StorageObjectIdMarkQueue      oidMarkQueue       ,
+			final StorageEventLogger            eventLogger        ,
+			final StorageChannelMetrics.Default metrics            ,
+			final long                          markingWaitTimeMs  ,
+			final int                           markingBufferLength,
+			final boolean                       gcEnabled
 		)
 		{
 			super();
@@ -178,11 +199,14 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			this.typeDictionary       = notNull    (typeDictionary)   ;
 			this.markMonitor          = notNull    (markMonitor)      ;
 			this.zombieOidHandler     = notNull    (zombieOidHandler) ;
+			this.deletionHandler      = notNull    (deletionHandler)  ;
 			this.rootOidSelector      = notNull    (rootOidSelector)  ;
 			this.rootTypeId           =             rootTypeId        ;
 			this.oidMarkQueue         = notNull    (oidMarkQueue)     ;
 			this.eventLogger          =             eventLogger       ;
+			this.metrics              = notNull    (metrics)          ;
 			this.markingWaitTimeMs    = positive   (markingWaitTimeMs);
+			this.gcEnabled            =             gcEnabled         ;
 			
 			// derived values
 			
@@ -281,6 +305,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			this.resetLiveCursor();
 
 			this.usedCacheSize  = 0L;
+			this.markingNs      = 0L;
 
 			// create a new root type instance on every clear. Everything else is not worth the reset&register-hassle.
 			this.rootType       = this.getType(this.rootTypeId);
@@ -585,6 +610,71 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 
 			return StorageIdAnalysis.New(maxTid, maxOid, maxCid, occuringTypeIds);
 		}
+		
+		/**
+		 * Same as {@link #validateEntities()}, but validates the entities of different types concurrently
+		 * via the passed {@link ExecutorService}. Validation only reads the entities, so no locking is required
+		 * as long as the calling thread waits for the validation to complete.
+		 * 
+		 * @param executor the {@link ExecutorService} to be used.
+		 * 
+		 * @return the analysis of the entities' ids.
+		 */
+		final StorageIdAnalysis validateEntities(final ExecutorService executor)
+		{
+			final EqHashEnum<Long>                    occuringTypeIds = EqHashEnum.New();
+			final BulkList<Future<StorageIdAnalysis>> analyses        = BulkList.New();
+			for(StorageEntityType.Default type : this.tidHashTable)
+			{
+				for(; type != null; type = type.hashNext)
+				{
+					if(type.isEmpty())
+					{
+						continue;
+					}
+					occuringTypeIds.add(type.typeId);
+					analyses.add(executor.submit(type::validateEntities));
+				}
+			}
+			
+			long maxOid = 0, maxCid = 0;
+			for(final Future<StorageIdAnalysis> analysis : analyses)
+			{
+				final StorageIdAnalysis idAnalysis;
+				try
+				{
+					idAnalysis = analysis.get();
+				}
+				catch(final InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+					throw new StorageException("Interrupted while validating entities in channel #" + this.channelIndex, e);
+				}
+				catch(final ExecutionException e)
+				{
+					if(e.getCause() instanceof RuntimeException)
+					{
+						throw (RuntimeException)e.getCause();
+					}
+					throw new StorageException(e.getCause());
+				}
+				
+				// type validation never yields a type id, see StorageEntityType#validateEntities.
+				final Long typeMaxOid = idAnalysis.highestIdsPerType().get(Persistence.IdType.OID);
+				if(typeMaxOid != null && typeMaxOid >= maxOid)
+				{
+					maxOid = typeMaxOid;
+				}
+
+				final Long typeMaxCid = idAnalysis.highestIdsPerType().get(Persistence.IdType.CID);
+				if(typeMaxCid != null && typeMaxCid >= maxCid)
+				{
+					maxCid = typeMaxCid;
+				}
+			}
+
+			return StorageIdAnalysis.New(0L, maxOid, maxCid, occuringTypeIds);
+		}
 
 		final StorageEntityType.Default validateEntity(
 			final long length,
@@ -674,7 +764,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			{
 				return this.createEntity(
 					Binary.getEntityObjectIdRawValue(entityAddress),
-					this.getType(Binary.getEntityTypeIdRawValue(entityAddress))
+					this.getType(StorageDataCompression.entityTypeId(entityAddress))
 				);
 			}
 			catch(final Exception e)
@@ -682,7 +772,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 				throw new StorageException(
 					"Exception while creating entity ["
 					+ Binary.getEntityLengthRawValue(entityAddress) + "]["
-					+ Binary.getEntityTypeIdRawValue(entityAddress) + "]["
+					+ StorageDataCompression.entityTypeId(entityAddress) + "]["
 					+ Binary.getEntityObjectIdRawValue(entityAddress) + "]"
 					, e
 				);
@@ -694,7 +784,17 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		{
 			final StorageEntity.Default entity = this.createEntity(
 				Binary.getEntityObjectIdRawValue(entityAddress),
-				this.getType(Binary.getEntityTypeIdRawValue(entityAddress))
+				this.getType(StorageDataCompression.entityTypeId(entityAddress))
+			);
+			
+			return entity;
+		}
+
+		final StorageEntity.Default initialCreateEntity(final long objectId, final long typeId)
+		{
+			final StorageEntity.Default entity = this.createEntity(
+				objectId,
+				this.getType(typeId)
 			);
 			
 			return entity;
@@ -870,11 +970,42 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 
 			// 5.) mark entity as deleted
 			entity.setDeleted();
+			
+			// 6.) notify state outside of the storage that assumes the entity to exist
+			this.deletionHandler.handleDeletedEntity(entity.objectId());
+		}
+
+		/**
+		 * Deletes all entities still registered in the passed file, which can only be dead ones
+		 * that were collected by the garbage collection of a followed process, see {@link StorageFollower}.
+		 */
+		final void deleteFileEntities(final StorageLiveDataFile.Default file)
+		{
+			if(!file.hasContent())
+			{
+				return;
+			}
+			
+			final StorageEntityType.Default typeHead = this.typeHead;
+			for(StorageEntityType.Default type = typeHead; (type = type.next) != typeHead;)
+			{
+				for(StorageEntity.Default item, last = type.head; (item = last.typeNext) != null;)
+				{
+					if(item.typeInFile.file == file)
+					{
+						this.deleteEntity(item, type, last);
+					}
+					else
+					{
+						last = item;
+					}
+				}
+			}
 		}
 
 		private void checkForCacheClear(final StorageEntity.Default entry, final long evalTime)
 		{
-			if(this.entityCacheEvaluator.clearEntityCache(this.usedCacheSize, evalTime, entry))
+			if(this.entityCacheEvaluator.clearEntityCache(this.evaluatedCacheSize(this.entityCacheEvaluator), evalTime, entry))
 			{
 				// use ensure method for that for purpose of uniformity / simplicity
 				this.ensureNoCachedData(entry);
@@ -938,11 +1069,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 				// externalized/modularized zombie oid handling
 				if(entry == null)
 				{
-					if(!this.zombieOidHandler.handleZombieOid(oidsBuffer[oidsMarkIndex - 1]))
-					{
-						// if the handler didn't throw an exception but didn't say it's handled, either, then log it.
-						this.eventLogger.logGarbageCollectorEncounteredZombieObjectId(oidsBuffer[oidsMarkIndex - 1]);
-					}
+					this.handleZombieObjectId(oidsBuffer[oidsMarkIndex - 1]);
 					continue;
 				}
 				
@@ -981,8 +1108,85 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			return false;
 		}
 
+		final void handleZombieObjectId(final long objectId)
+		{
+			if(!this.zombieOidHandler.handleZombieOid(objectId))
+			{
+				// if the handler didn't throw an exception but didn't say it's handled, either, then log it.
+				this.eventLogger.logGarbageCollectorEncounteredZombieObjectId(objectId);
+			}
+		}
+
+		final void iterateEntityTypes(final Consumer<? super StorageEntityType.Default> procedure)
+		{
+			final StorageEntityType.Default typeHead = this.typeHead;
+			for(StorageEntityType.Default type = typeHead; (type = type.next) != typeHead;)
+			{
+				procedure.accept(type);
+			}
+		}
+
+		/**
+		 * Marks all entities black, so that none of them can be swept by the next sweep.
+		 * This is the safe fallback state after an aborted {@link StorageParallelGarbageCollector} run.
+		 */
+		final void markAllEntitiesBlack()
+		{
+			this.iterateEntityTypes(type ->
+			{
+				for(StorageEntity.Default e = type.head; (e = e.typeNext) != null;)
+				{
+					e.markBlack();
+				}
+			});
+		}
+
+		final long selectGlobalRootObjectId(final long[] channelRootObjectIds)
+		{
+			this.rootOidSelector.resetGlobal();
+			for(final long channelRootObjectId : channelRootObjectIds)
+			{
+				this.rootOidSelector.acceptGlobal(channelRootObjectId);
+			}
+			
+			return this.rootOidSelector.yieldGlobal();
+		}
+
+		/**
+		 * Updates the sweep bookkeeping after all victims of a {@link StorageParallelGarbageCollector} run
+		 * have been deleted and returns this channel's valid root object id.
+		 */
+		final long completeParallelSweep(final long sweepStart)
+		{
+			this.lastSweepStart = sweepStart;
+			this.lastSweepEnd   = System.currentTimeMillis();
+			this.sweepGeneration++;
+			
+			this.fileManager.restartFileCleanupCursor();
+			
+			return this.queryRootObjectId();
+		}
+
+		final void completeParallelGarbageCollection(
+			final long[]                             channelRootObjectIds,
+			final StorageGarbageCollectionStatistics statistics
+		)
+		{
+			this.markMonitor.completeParallelGarbageCollection(this.rootOidSelector, channelRootObjectIds);
+			this.eventLogger.logGarbageCollectorCompletedParallel(statistics);
+		}
+
+		final void updateMetrics()
+		{
+			this.metrics.updateEntityCache(this.usedCacheSize, this.oidMarkQueue.size());
+		}
+
 		private void sweep()
 		{
+			final long sweepStartNs = System.nanoTime();
+			this.metrics.registerMarkTime(this.markingNs);
+			this.markingNs = 0L;
+			
 			this.lastSweepStart = System.currentTimeMillis();
 			final StorageEntityType.Default typeHead = this.typeHead;
 
@@ -1007,6 +1211,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 
 			this.lastSweepEnd = System.currentTimeMillis();
 			this.sweepGeneration++;
+			this.metrics.registerSweepTime(System.nanoTime() - sweepStartNs);
 
 			// reset file cleanup cursor to first file in order to ensure the cleanup checks all files for the current state.
 			this.fileManager.restartFileCleanupCursor();
@@ -1016,40 +1221,6 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			this.markMonitor.completeSweep(this, this.rootOidSelector, channelRootOid);
 		}
 
-		private static final long MAX_INT_BOUND = 1L + Integer.MAX_VALUE;
-		
-		final static int validateStoragePosition(
-			final StorageEntity.Default entity       ,
-			final long                  storageOffset
-		)
-		{
-			if(storageOffset < MAX_INT_BOUND)
-			{
-				return (int)storageOffset;
-			}
-			
-			/* (06.02.2020 TM)EXCP: fix storage position limitation
-			 * This has, of course, to be removed/fixed.
-			 * The solution is to spread a single store's buffers over multiple files if needed.
-			 * However, this is not trivial to do:
-			 * A single store must be split into multiple stores,
-			 * each store must get its own transactions entry OR a kind of store continuation entry, etc.
-			 * 
-			 * This effort is not worth it with the transition of the much more advanced storage management 2.0
-			 * concept in mind. There, store chunks will be spread over multiple store files anyway and
-			 * archive files will be split according to oid range and entity length automatically.
-			 * 
-			 * For now, this is simply a technical limitation and one more good reason to implement the
-			 * improved storage concept sooner rather than later.
-			 */
-			throw new StorageException(
-				"Storage position for entity " + entity.objectId()
-				+ " exceeds the technical int value limit of " + Integer.MAX_VALUE + "."
-				+ " This happens when a single store grows too big."
-				+ " This limitation will be removed in a future version."
-			);
-		}
-
 		final void internalPutEntities(
 			final ByteBuffer                  chunk               ,
 			final long                        chunkStoragePosition,
@@ -1068,9 +1239,10 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			{
 				final StorageEntity.Default entity = this.putEntity(adr);
 				this.markEntityForChangedData(entity);
+				// storage positions are long, so a single store may make a data file exceed 2 GB.
 				entity.updateStorageInformation(
 					X.checkArrayRange(Binary.getEntityLengthRawValue(adr)),
-					validateStoragePosition(entity, storageBackset + adr)
+					storageBackset + adr
 				);
 				file.appendEntry(entity);
 			}
@@ -1081,6 +1253,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			this.usedCacheSize += cacheChange;
 		}
 
+		final long evaluatedCacheSize(final StorageEntityCacheEvaluator evaluator)
+		{
+			return evaluator.totalCacheSize(this.channelIndex, this.usedCacheSize);
+		}
+
 
 
 		///////////////////////////////////////////////////////////////////////////
@@ -1314,7 +1491,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 				return false;
 			}
 			
-			return evaluator.clearEntityCache(this.usedCacheSize, evalTime, entity);
+			return evaluator.clearEntityCache(this.evaluatedCacheSize(evaluator), evalTime, entity);
 		}
 
 		// CHECKSTYLE.OFF: FinalParameters: this method is just an outsourced scroll-helper
@@ -1350,7 +1527,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			final StorageChannel channel
 		)
 		{
-			if(!experimentalGcEnabled)
+			if(!this.isGarbageCollectionEnabled())
 			{
 				return true;
 			}
@@ -1435,7 +1612,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			final StorageChannel channel
 		)
 		{
-			if(!experimentalGcEnabled)
+			if(!this.isGarbageCollectionEnabled())
 			{
 				return true;
 			}
@@ -1493,7 +1670,10 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			}
 
 			// otherwise, mark incrementally until work or time runs out
-			if(this.incrementalMark(nanoTimeBudgetBound))
+			final long    markStartNs   = System.nanoTime();
+			final boolean markCompleted = this.incrementalMark(nanoTimeBudgetBound);
+			this.markingNs += System.nanoTime() - markStartNs;
+			if(markCompleted)
 			{
 				/* note:
 				 * if the markingOidBuffer length is too low, this return is done countless times per millisecond.
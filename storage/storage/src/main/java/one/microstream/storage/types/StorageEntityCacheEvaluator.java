@@ -20,6 +20,8 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import one.microstream.chars.VarString;
 import one.microstream.exceptions.NumberRangeException;
 
@@ -48,6 +50,24 @@ public interface StorageEntityCacheEvaluator
 		return !this.clearEntityCache(totalCacheSize, evaluationTime, entity);
 	}
 
+	/**
+	 * Determines the cache size value to be passed to the evaluation methods from the cache size of the channel
+	 * with the passed index. This is called by the evaluating channel's thread right before each evaluation.
+	 * <p>
+	 * The default implementation returns the channel's own cache size, meaning every channel is evaluated
+	 * independently. Implementations that are shared by all channels can use it to keep track of and evaluate against
+	 * the cache size of the whole storage instead.
+	 *
+	 * @param channelIndex the index of the channel whose entity is about to be evaluated.
+	 * @param channelCacheSize the current cache size in bytes of that channel.
+	 *
+	 * @return the cache size to be passed to {@link #clearEntityCache(long, long, StorageEntity)}.
+	 */
+	public default long totalCacheSize(final int channelIndex, final long channelCacheSize)
+	{
+		return channelCacheSize;
+	}
+
 
 
 	public interface Defaults
@@ -76,6 +96,29 @@ public interface StorageEntityCacheEvaluator
 			return 1;
 		}
 
+		public static long minimumCacheBudget()
+		{
+			return 1;
+		}
+
+		public static void validateFrequencyAwareParameters(
+			final long timeoutMs  ,
+			final long cacheBudget
+		)
+			throws IllegalArgumentException
+		{
+			validateParameters(timeoutMs, minimumThreshold());
+			if(cacheBudget < minimumCacheBudget())
+			{
+				throw new IllegalArgumentException(
+					"Specified cache budget of "
+					+ cacheBudget
+					+ " is lower than the minimum value "
+					+ minimumCacheBudget()+ "."
+				);
+			}
+		}
+
 		public static void validateParameters(
 			final long timeoutMs,
 			final long threshold
@@ -196,6 +239,67 @@ public interface StorageEntityCacheEvaluator
 		return new StorageEntityCacheEvaluator.Default(timeoutMs, threshold);
 	}
 
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheEvaluator.FrequencyAware} instance
+	 * using the passed value and the default timeout defined by {@link StorageEntityCacheEvaluator.Defaults}.
+	 * <p>
+	 * For explanations, see {@link StorageEntityCacheEvaluator#FrequencyAware(long, long)}.
+	 *
+	 * @param cacheBudget the total cache size in bytes of all channels combined that shall not be exceeded.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluator.FrequencyAware} instance.
+	 *
+	 * @throws IllegalArgumentException if the passed value is equal to or lower than 0.
+	 *
+	 * @see StorageEntityCacheEvaluator#FrequencyAware(long, long)
+	 */
+	public static StorageEntityCacheEvaluator.FrequencyAware FrequencyAware(final long cacheBudget)
+	{
+		return FrequencyAware(
+			Defaults.defaultTimeoutMs(),
+			cacheBudget
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheEvaluator.FrequencyAware} instance
+	 * using the passed values.
+	 * <p>
+	 * Other than the default implementation, this evaluator keeps track of the cache size of all channels
+	 * it is used by and evaluates entities against a single byte budget for the whole storage, so the instance
+	 * must be shared by all channels (which is the case when it is set in the storage configuration).
+	 * Besides the timeout, the decisive criterion is how often an entity has recently been read
+	 * (see {@link StorageEntity#accessFrequency(long)}) instead of its age and size:<br>
+	 * <ol>
+	 * <li>Cached data that has not been read for longer than the timeout is cleared.</li>
+	 * <li>Apart from that, as long as the total cache size is within the budget, nothing is cleared.</li>
+	 * <li>Beyond the budget, entities that have been read only once recently are cleared first, so that a single
+	 * scan over many entities cannot displace the frequently read working set.</li>
+	 * <li>The further the budget is exceeded, the more frequently an entity must have been read to stay cached.</li>
+	 * </ol>
+	 *
+	 * @param timeoutMs the time (in milliseconds, greater than 0) of not being read (the "age"), after which a particular
+	 *        entity's data will be cleared from the Storage's internal cache.
+	 *
+	 * @param cacheBudget the total cache size in bytes (greater than 0) of all channels combined that shall not
+	 *        be exceeded.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluator.FrequencyAware} instance.
+	 *
+	 * @throws IllegalArgumentException if any of the passed values is equal to or lower than 0.
+	 *
+	 * @see StorageEntityCacheEvaluator#FrequencyAware(long)
+	 */
+	public static StorageEntityCacheEvaluator.FrequencyAware FrequencyAware(
+		final long timeoutMs  ,
+		final long cacheBudget
+	)
+	{
+		Validation.validateFrequencyAwareParameters(timeoutMs, cacheBudget);
+
+		return new StorageEntityCacheEvaluator.FrequencyAware(timeoutMs, cacheBudget);
+	}
+
 	public final class Default implements StorageEntityCacheEvaluator
 	{
 		///////////////////////////////////////////////////////////////////////////
@@ -336,4 +440,129 @@ public interface StorageEntityCacheEvaluator
 
 	}
 
+
+	public final class FrequencyAware implements StorageEntityCacheEvaluator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		/*
+		 * Entities read at least twice recently are kept as long as the budget is only slightly exceeded.
+		 * Entities read only once (e.g. by a scan) are the first to go.
+		 */
+		private static final int MINIMUM_KEPT_FREQUENCY = 2;
+
+		private static final int MAXIMUM_KEPT_FREQUENCY = StorageEntity.Default.ACCESS_FREQUENCY_MAXIMUM;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long timeoutMs  ;
+		private final long cacheBudget;
+
+		/*
+		 * Each slot is only written by the thread of the channel with that index, the total is updated
+		 * with the difference to the last reported value, so no channel ever has to wait for another one.
+		 */
+		private final long[]     channelCacheSizes;
+		private final AtomicLong totalCacheSize   ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		FrequencyAware(final long timeoutMs, final long cacheBudget)
+		{
+			super();
+			this.timeoutMs         = timeoutMs  ;
+			this.cacheBudget       = cacheBudget;
+			this.channelCacheSizes = new long[StorageChannelCountProvider.Validation.maximumChannelCount()];
+			this.totalCacheSize    = new AtomicLong();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public long timeout()
+		{
+			return this.timeoutMs;
+		}
+
+		public long cacheBudget()
+		{
+			return this.cacheBudget;
+		}
+
+		/**
+		 * The total cache size of all channels as last reported by each of them.
+		 *
+		 * @return the approximate total cache size in bytes.
+		 */
+		public long totalCacheSize()
+		{
+			return this.totalCacheSize.get();
+		}
+
+		@Override
+		public final long totalCacheSize(final int channelIndex, final long channelCacheSize)
+		{
+			final long change = channelCacheSize - this.channelCacheSizes[channelIndex];
+			if(change == 0)
+			{
+				return this.totalCacheSize.get();
+			}
+			this.channelCacheSizes[channelIndex] = channelCacheSize;
+
+			return this.totalCacheSize.addAndGet(change);
+		}
+
+		@Override
+		public final boolean clearEntityCache(
+			final long          totalCacheSize,
+			final long          evalTime      ,
+			final StorageEntity e
+		)
+		{
+			if(evalTime - e.lastTouched() >= this.timeoutMs)
+			{
+				return true;
+			}
+
+			final long excess = totalCacheSize - this.cacheBudget;
+			if(excess <= 0)
+			{
+				return false;
+			}
+
+			// the required frequency rises linearly with the excess, up to the maximum at twice the budget.
+			final long requiredFrequency = excess >= this.cacheBudget
+				? MAXIMUM_KEPT_FREQUENCY
+				: MINIMUM_KEPT_FREQUENCY + excess * (MAXIMUM_KEPT_FREQUENCY - MINIMUM_KEPT_FREQUENCY) / this.cacheBudget
+			;
+
+			return e.accessFrequency(evalTime) < requiredFrequency;
+		}
+
+		@Override
+		public String toString()
+		{
+			return VarString.New()
+				.add(this.getClass().getName()).add(':').lf()
+				.blank().add("cacheBudget").tab().add('=').blank().add(this.cacheBudget).lf()
+				.blank().add("timeout    ").tab().add('=').blank().add(this.timeoutMs)
+				.toString()
+			;
+		}
+
+	}
+
 }
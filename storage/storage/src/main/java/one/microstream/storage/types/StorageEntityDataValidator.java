@@ -44,8 +44,8 @@ public interface StorageEntityDataValidator extends BinaryEntityRawDataAcceptor
 		}
 		
 		this.validateEntity(
-			Binary.getEntityLengthRawValue(entityStartAddress)  ,
-			Binary.getEntityTypeIdRawValue(entityStartAddress)  ,
+			Binary.getEntityLengthRawValue(entityStartAddress)   ,
+			StorageDataCompression.entityTypeId(entityStartAddress),
 			Binary.getEntityObjectIdRawValue(entityStartAddress)
 		);
 		
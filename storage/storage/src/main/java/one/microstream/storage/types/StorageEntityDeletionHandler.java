@@ -0,0 +1,69 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+/**
+ * Callback for every entity that is deleted from the storage, either by the storage's garbage collection or,
+ * for a follower, by the garbage collection of the followed process.
+ * <p>
+ * It allows state that assumes entities to exist in the storage to be kept consistent, e.g. fingerprints of
+ * the last stored binary form of entities that let storers skip storing unchanged entities.<br>
+ * It is called by the channel threads while they hold their entity cache, so implementations must be
+ * thread safe and fast.
+ */
+@FunctionalInterface
+public interface StorageEntityDeletionHandler
+{
+	public void handleDeletedEntity(long objectId);
+	
+	
+	
+	public static StorageEntityDeletionHandler NoOp()
+	{
+		return new StorageEntityDeletionHandler.NoOp();
+	}
+	
+	public final class NoOp implements StorageEntityDeletionHandler
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		NoOp()
+		{
+			super();
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final void handleDeletedEntity(final long objectId)
+		{
+			// no-op
+		}
+		
+	}
+	
+}
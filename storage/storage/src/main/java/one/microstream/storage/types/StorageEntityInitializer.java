@@ -21,15 +21,25 @@ package one.microstream.storage.types;
  */
 
 import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import one.microstream.X;
+import one.microstream.collections.BulkList;
 import one.microstream.collections.types.XGettingSequence;
 import one.microstream.memory.XMemory;
 import one.microstream.persistence.binary.types.Binary;
+import one.microstream.storage.exceptions.StorageException;
 import one.microstream.storage.exceptions.StorageExceptionConsistency;
 import one.microstream.storage.exceptions.StorageExceptionIoReading;
 import one.microstream.typing.XTypes;
@@ -38,27 +48,209 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 {
 	public D registerEntities(XGettingSequence<? extends StorageDataInventoryFile> files, long lastFileLength);
 	
+	/**
+	 * Same as {@link #registerEntities(XGettingSequence, long)}, but registers the entities of all data files
+	 * covered by the passed checkpoint from the checkpoint instead of reading the files. Only data that has been
+	 * written after the checkpoint is read from the files.
+	 * <p>
+	 * The checkpoint must have been validated to be consistent with the passed files.
+	 * 
+	 * @param files the data files to be registered.
+	 * @param lastFileLength the valid length of the last file.
+	 * @param checkpoint the validated checkpoint or {@literal null} to read all files completely.
+	 * 
+	 * @return the head file of the registered data files.
+	 */
+	public D registerEntities(
+		XGettingSequence<? extends StorageDataInventoryFile> files         ,
+		long                                                 lastFileLength,
+		StorageIndexCheckpoint                               checkpoint
+	);
+	
+	/**
+	 * Validates all registered entities and determines the highest ids occuring in them.
+	 * 
+	 * @return the analysis of the registered entities' ids.
+	 */
+	public StorageIdAnalysis validateEntities();
+	
 	
 	
 	static StorageEntityInitializer<StorageLiveDataFile.Default> New(
 		final StorageEntityCache.Default                                      entityCache    ,
 		final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator
 	)
+	{
+		return New(entityCache, dataFileCreator, 1);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityInitializer} instance that reads the data
+	 * files and validates the entities using the passed number of threads.
+	 * <p>
+	 * Registering the entities in the entity cache is always done by the calling thread, newest file first.
+	 * Reading and parsing the data files is done concurrently by up to {@code threadCount} reader threads,
+	 * each working on another file ahead of the currently registered one. Hence, up to {@code threadCount + 1}
+	 * data files are held in memory at the same time.
+	 * 
+	 * @param entityCache the entity cache to register the entities in.
+	 * @param dataFileCreator the logic to create live data files.
+	 * @param threadCount the number of threads to be used, 1 for sequential initialization.
+	 * 
+	 * @return a new {@link StorageEntityInitializer} instance.
+	 */
+	static StorageEntityInitializer<StorageLiveDataFile.Default> New(
+		final StorageEntityCache.Default                                      entityCache    ,
+		final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator,
+		final int                                                             threadCount
+	)
+	{
+		return New(entityCache, dataFileCreator, threadCount, Default.SEGMENT_MAXIMUM_LENGTH);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityInitializer} instance like
+	 * {@link #New(StorageEntityCache.Default, Function, int)}, but reading at most {@code segmentLength} bytes
+	 * of a data file into a single buffer. Longer data files are read in entity-aligned segments.
+	 * 
+	 * @param entityCache the entity cache to register the entities in.
+	 * @param dataFileCreator the logic to create live data files.
+	 * @param threadCount the number of threads to be used, 1 for sequential initialization.
+	 * @param segmentLength the maximum length of a single read buffer. Must be large enough to hold
+	 *        the largest entity.
+	 * 
+	 * @return a new {@link StorageEntityInitializer} instance.
+	 */
+	static StorageEntityInitializer<StorageLiveDataFile.Default> New(
+		final StorageEntityCache.Default                                      entityCache    ,
+		final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator,
+		final int                                                             threadCount    ,
+		final int                                                             segmentLength
+	)
 	{
 		return new StorageEntityInitializer.Default(
-			notNull(dataFileCreator),
-			notNull(entityCache)
+			notNull(dataFileCreator)                    ,
+			notNull(entityCache)                        ,
+			positive(threadCount)                       ,
+			Default.validateSegmentLength(segmentLength)
+		);
+	}
+	
+	
+	
+	public static StorageEntityInitializer.Creator Creator()
+	{
+		return Creator(1);
+	}
+	
+	/**
+	 * Creates a {@link StorageEntityInitializer.Creator} whose initializers read the data files and validate the
+	 * entities using the passed number of threads per channel.
+	 * 
+	 * @param threadCount the number of threads per channel, 1 for sequential initialization.
+	 * 
+	 * @return a new {@link StorageEntityInitializer.Creator} instance.
+	 * 
+	 * @see #New(StorageEntityCache.Default, Function, int)
+	 */
+	public static StorageEntityInitializer.Creator Creator(final int threadCount)
+	{
+		return Creator(threadCount, Default.SEGMENT_MAXIMUM_LENGTH);
+	}
+	
+	/**
+	 * Creates a {@link StorageEntityInitializer.Creator} whose initializers read the data files and validate the
+	 * entities using the passed number of threads per channel and read at most {@code segmentLength} bytes of a
+	 * data file into a single buffer.
+	 * 
+	 * @param threadCount the number of threads per channel, 1 for sequential initialization.
+	 * @param segmentLength the maximum length of a single read buffer. Must be large enough to hold
+	 *        the largest entity.
+	 * 
+	 * @return a new {@link StorageEntityInitializer.Creator} instance.
+	 * 
+	 * @see #New(StorageEntityCache.Default, Function, int, int)
+	 */
+	public static StorageEntityInitializer.Creator Creator(final int threadCount, final int segmentLength)
+	{
+		return new StorageEntityInitializer.Creator.Default(
+			positive(threadCount)                       ,
+			Default.validateSegmentLength(segmentLength)
 		);
 	}
 	
+	public interface Creator
+	{
+		public StorageEntityInitializer<StorageLiveDataFile.Default> createEntityInitializer(
+			StorageEntityCache.Default                                      entityCache    ,
+			Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator
+		);
+		
+		
+		
+		public final class Default implements StorageEntityInitializer.Creator
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			private final int threadCount  ;
+			private final int segmentLength;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			Default(final int threadCount, final int segmentLength)
+			{
+				super();
+				this.threadCount   = threadCount  ;
+				this.segmentLength = segmentLength;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			@Override
+			public StorageEntityInitializer<StorageLiveDataFile.Default> createEntityInitializer(
+				final StorageEntityCache.Default                                      entityCache    ,
+				final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator
+			)
+			{
+				return StorageEntityInitializer.New(entityCache, dataFileCreator, this.threadCount, this.segmentLength);
+			}
+			
+		}
+		
+	}
+	
 	final class Default implements StorageEntityInitializer<StorageLiveDataFile.Default>
 	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		/*
+		 * The maximum length of data file content that is read into a single buffer (technically limited to int).
+		 * Longer data files are read in entity-aligned segments.
+		 */
+		static final int SEGMENT_MAXIMUM_LENGTH = Integer.MAX_VALUE - Long.BYTES;
+		
+		
+		
 		///////////////////////////////////////////////////////////////////////////
 		// instance fields //
 		////////////////////
 
 		private final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator;
 		private final StorageEntityCache.Default                                      entityCache    ;
+		private final int                                                             threadCount    ;
+		private final int                                                             segmentLength  ;
 		
 		
 		
@@ -68,12 +260,16 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 
 		Default(
 			final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator,
-			final StorageEntityCache.Default                                      entityCache
+			final StorageEntityCache.Default                                      entityCache    ,
+			final int                                                             threadCount    ,
+			final int                                                             segmentLength
 		)
 		{
 			super();
 			this.dataFileCreator = dataFileCreator;
 			this.entityCache     = entityCache    ;
+			this.threadCount     = threadCount    ;
+			this.segmentLength   = segmentLength  ;
 		}
 		
 		
@@ -82,23 +278,87 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		// methods //
 		////////////
 		
+		static int validateSegmentLength(final int segmentLength)
+		{
+			if(segmentLength < Binary.entityHeaderLength() || segmentLength > SEGMENT_MAXIMUM_LENGTH)
+			{
+				throw new IllegalArgumentException(
+					"Segment length " + segmentLength + " is not in the range ["
+					+ Binary.entityHeaderLength() + ";" + SEGMENT_MAXIMUM_LENGTH + "]."
+				);
+			}
+			
+			return segmentLength;
+		}
+		
 		@Override
 		public final StorageLiveDataFile.Default registerEntities(
 			final XGettingSequence<? extends StorageDataInventoryFile> files ,
 			final long                                             lastFileLength
 		)
 		{
-			return registerEntities(this.dataFileCreator, this.entityCache, files.toReversed(), lastFileLength);
+			return this.registerEntities(files, lastFileLength, null);
+		}
+		
+		@Override
+		public final StorageLiveDataFile.Default registerEntities(
+			final XGettingSequence<? extends StorageDataInventoryFile> files         ,
+			final long                                                 lastFileLength,
+			final StorageIndexCheckpoint                               checkpoint
+		)
+		{
+			if(this.threadCount > 1 && files.size() > 1)
+			{
+				return registerEntitiesConcurrently(
+					this.dataFileCreator,
+					this.entityCache    ,
+					files.toReversed()  ,
+					lastFileLength      ,
+					checkpoint          ,
+					this.threadCount    ,
+					this.segmentLength
+				);
+			}
+			
+			return registerEntities(
+				this.dataFileCreator,
+				this.entityCache    ,
+				files.toReversed()  ,
+				lastFileLength      ,
+				checkpoint          ,
+				this.segmentLength
+			);
+		}
+		
+		@Override
+		public final StorageIdAnalysis validateEntities()
+		{
+			if(this.threadCount <= 1)
+			{
+				return this.entityCache.validateEntities();
+			}
+			
+			final ExecutorService executor = createExecutor(this.entityCache.channelIndex(), this.threadCount);
+			try
+			{
+				return this.entityCache.validateEntities(executor);
+			}
+			finally
+			{
+				executor.shutdownNow();
+			}
 		}
 		
 		private static StorageLiveDataFile.Default registerEntities(
 			final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> fileCreator    ,
 			final StorageEntityCache.Default                                      entityCache    ,
 			final XGettingSequence<? extends StorageDataInventoryFile>            reversedFiles  ,
-			final long                                                            lastFileLength
+			final long                                                            lastFileLength ,
+			final StorageIndexCheckpoint                                          checkpoint     ,
+			final int                                                             segmentLength
 		)
 		{
-			final ByteBuffer                               buffer   = allocateInitializationBuffer(reversedFiles);
+			final ByteBuffer                               buffer   = allocateInitializationBuffer(reversedFiles, segmentLength);
 			final Iterator<? extends StorageDataInventoryFile> iterator = reversedFiles.iterator();
 			final int[] entityOffsets = createAllFilesOffsetsArray(buffer.capacity());
 			
@@ -106,13 +366,13 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			
 			// special case handling for last/head file
 			final StorageLiveDataFile.Default headFile = setupHeadFile(fileCreator.apply(iterator.next()));
-			registerFileEntities(entityCache, initTime, headFile, lastFileLength, buffer, entityOffsets);
+			registerFileEntities(entityCache, initTime, headFile, lastFileLength, checkpoint, buffer, entityOffsets);
 			
 			// simple tail file adding iteration for all remaining (previous!) storage files
 			for(StorageLiveDataFile.Default dataFile = headFile; iterator.hasNext();)
 			{
 				dataFile = linkTailFile(dataFile, fileCreator.apply(iterator.next()));
-				registerFileEntities(entityCache, initTime, dataFile, dataFile.size(), buffer, entityOffsets);
+				registerFileEntities(entityCache, initTime, dataFile, dataFile.size(), checkpoint, buffer, entityOffsets);
 			}
 			
 			return headFile;
@@ -123,14 +383,87 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			final long                        initializationTime,
 			final StorageLiveDataFile.Default file              ,
 			final long                        fileActualLength  ,
+			final StorageIndexCheckpoint      checkpoint        ,
 			final ByteBuffer                  buffer            ,
 			final int[]                       entityOffsets
 		)
 		{
+			// data up to the checkpoint's length of the file is registered from the checkpoint instead of being read.
+			final long checkpointLength = checkpointLength(checkpoint, file, fileActualLength);
+			
+			if(fileActualLength - checkpointLength > buffer.capacity())
+			{
+				registerSegmentedFileEntities(
+					entityCache       ,
+					initializationTime,
+					file              ,
+					fileActualLength  ,
+					checkpoint        ,
+					checkpointLength  ,
+					buffer            ,
+					entityOffsets
+				);
+				return;
+			}
+			
 			// entities must be indexed first to allow reverse iteration.
-			final int                         entityCount = indexEntities(file, fileActualLength, buffer, entityOffsets);
+			final int entityCount = indexEntities(file, checkpointLength, fileActualLength, buffer, entityOffsets);
+			
+			registerIndexedEntities(
+				entityCache                                ,
+				initializationTime                         ,
+				file                                       ,
+				fileActualLength                           ,
+				checkpoint                                 ,
+				checkpointLength                           ,
+				XMemory.getDirectByteBufferAddress(buffer) ,
+				entityOffsets                              ,
+				entityCount
+			);
+		}
+		
+		final static void registerIndexedEntities(
+			final StorageEntityCache.Default  entityCache       ,
+			final long                        initializationTime,
+			final StorageLiveDataFile.Default file              ,
+			final long                        fileActualLength  ,
+			final StorageIndexCheckpoint      checkpoint        ,
+			final long                        checkpointLength  ,
+			final long                        bufferStartAddress,
+			final int[]                       entityOffsets     ,
+			final int                         entityCount
+		)
+		{
+			final long contentLength = registerBufferedEntities(
+				entityCache       ,
+				initializationTime,
+				file              ,
+				checkpointLength  ,
+				bufferStartAddress,
+				entityOffsets     ,
+				entityCount
+			);
+			
+			completeFileRegistration(entityCache, file, fileActualLength, checkpoint, checkpointLength, contentLength);
+		}
+		
+		/**
+		 * Registers the indexed entities of a buffer holding the file content starting at the passed position,
+		 * latest version first.
+		 * 
+		 * @return the total length of the registered entities.
+		 */
+		private static long registerBufferedEntities(
+			final StorageEntityCache.Default  entityCache       ,
+			final long                        initializationTime,
+			final StorageLiveDataFile.Default file              ,
+			final long                        bufferPosition    ,
+			final long                        bufferStartAddress,
+			final int[]                       entityOffsets     ,
+			final int                         entityCount
+		)
+		{
 			final StorageEntityCacheEvaluator entityCacheEvaluator = entityCache.entityCacheEvaluator;
-			final long                        bufferStartAddress   = XMemory.getDirectByteBufferAddress(buffer);
 			
 			long totalFileContentLength = 0;
 			
@@ -151,22 +484,418 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 				final long                  entityLength  = Binary.getEntityLengthRawValue(entityAddress);
 				final StorageEntity.Default entity        = entityCache.initialCreateEntity(entityAddress);
 				
-				entity.updateStorageInformation(XTypes.to_int(entityLength), entityOffsets[i]);
+				entity.updateStorageInformation(XTypes.to_int(entityLength), bufferPosition + entityOffsets[i]);
 				file.prependEntry(entity);
 				totalFileContentLength += entityLength;
 				
-				if(entityCacheEvaluator.initiallyCacheEntity(entityCache.cacheSize(), initializationTime, entity))
+				if(entityCacheEvaluator.initiallyCacheEntity(
+					entityCache.evaluatedCacheSize(entityCacheEvaluator),
+					initializationTime,
+					entity
+				))
 				{
 					entity.putCacheData(entityAddress, entityLength);
 					entityCache.modifyUsedCacheSize(entityLength);
 				}
 			}
+			
+			return totalFileContentLength;
+		}
+		
+		private static void completeFileRegistration(
+			final StorageEntityCache.Default  entityCache       ,
+			final StorageLiveDataFile.Default file              ,
+			final long                        fileActualLength  ,
+			final StorageIndexCheckpoint      checkpoint        ,
+			final long                        checkpointLength  ,
+			final long                        readContentLength
+		)
+		{
+			long totalFileContentLength = readContentLength;
+			
+			// entities preceding the read data are registered from the checkpoint, again latest version first.
+			if(checkpointLength > 0)
+			{
+				final CheckpointEntityRegisterer registerer = new CheckpointEntityRegisterer(entityCache, file);
+				checkpoint.iterateEntitiesReversed(file.number(), registerer);
+				totalFileContentLength += registerer.contentLength;
+			}
 
 			// the total length of all actually registered entities is the file's content length. The rest is gaps.
 			file.increaseContentLength(totalFileContentLength);
 			
-			// the buffer is currently limited to exactely the file size. So gapLength = limit - contentLength.
-			file.registerGapLength(buffer.limit() - totalFileContentLength);
+			// gapLength = actual file length - contentLength.
+			file.registerGapLength(fileActualLength - totalFileContentLength);
+		}
+		
+		/**
+		 * Registers the entities of a data file whose content to be read exceeds the buffer.
+		 * <p>
+		 * The file is read forwards once to determine entity-aligned segments fitting into the buffer.
+		 * Then the segments are indexed and registered in reverse order, like a file read at once, reusing the
+		 * last segment still contained in the buffer. So only files exceeding the buffer are read (almost) twice.
+		 */
+		static void registerSegmentedFileEntities(
+			final StorageEntityCache.Default  entityCache       ,
+			final long                        initializationTime,
+			final StorageLiveDataFile.Default file              ,
+			final long                        fileActualLength  ,
+			final StorageIndexCheckpoint      checkpoint        ,
+			final long                        checkpointLength  ,
+			final ByteBuffer                  buffer            ,
+			final int[]                       entityOffsets
+		)
+		{
+			final long           bufferStartAddress = XMemory.getDirectByteBufferAddress(buffer);
+			final BulkList<Long> segmentStarts      = BulkList.New();
+			
+			for(long segmentStart = checkpointLength;;)
+			{
+				segmentStarts.add(segmentStart);
+				
+				final long segmentBound = Math.min(segmentStart + buffer.capacity(), fileActualLength);
+				fillBuffer(buffer, file, segmentStart, segmentBound);
+				if(segmentBound == fileActualLength)
+				{
+					break;
+				}
+				
+				final long completeItemsLength = completeItemsLength(bufferStartAddress, buffer.limit());
+				if(completeItemsLength == 0)
+				{
+					throw new StorageExceptionConsistency(
+						"Data item at position " + segmentStart + " in " + file
+						+ " exceeds the initialization buffer length of " + buffer.capacity()
+					);
+				}
+				segmentStart += completeItemsLength;
+			}
+			
+			long contentLength = 0;
+			
+			// the last segment is still in the buffer, all preceding ones have to be read again.
+			for(long segmentBound = fileActualLength, i = segmentStarts.size(); i --> 0;)
+			{
+				final long segmentStart = segmentStarts.at(i);
+				if(segmentBound != fileActualLength)
+				{
+					fillBuffer(buffer, file, segmentStart, segmentBound);
+				}
+				
+				final int entityCount = indexBufferedEntities(bufferStartAddress, buffer.limit(), entityOffsets);
+				contentLength += registerBufferedEntities(
+					entityCache       ,
+					initializationTime,
+					file              ,
+					segmentStart      ,
+					bufferStartAddress,
+					entityOffsets     ,
+					entityCount
+				);
+				segmentBound = segmentStart;
+			}
+			
+			completeFileRegistration(entityCache, file, fileActualLength, checkpoint, checkpointLength, contentLength);
+		}
+		
+		private static long completeItemsLength(final long startAddress, final long length)
+		{
+			final long boundAddress = startAddress + length;
+			
+			long address = startAddress;
+			while(address + Long.BYTES <= boundAddress)
+			{
+				// comments are indicated by a negative length
+				final long itemLength = Math.abs(Binary.getEntityLengthRawValue(address));
+				if(itemLength == 0)
+				{
+					throw new StorageExceptionConsistency("Zero length data item.");
+				}
+				if(address + itemLength > boundAddress)
+				{
+					break;
+				}
+				address += itemLength;
+			}
+			
+			return address - startAddress;
+		}
+		
+		private static StorageLiveDataFile.Default registerEntitiesConcurrently(
+			final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> fileCreator    ,
+			final StorageEntityCache.Default                                      entityCache    ,
+			final XGettingSequence<? extends StorageDataInventoryFile>            reversedFiles  ,
+			final long                                                            lastFileLength ,
+			final StorageIndexCheckpoint                                          checkpoint     ,
+			final int                                                             threadCount    ,
+			final int                                                             segmentLength
+		)
+		{
+			final int fileCount = X.checkArrayRange(reversedFiles.size());
+			final StorageLiveDataFile.Default[] dataFiles     = new StorageLiveDataFile.Default[fileCount];
+			final long[]                        actualLengths = new long[fileCount];
+			
+			// files are created and linked upfront in the same order as sequentially, so readers only need the instances.
+			final Iterator<? extends StorageDataInventoryFile> iterator = reversedFiles.iterator();
+			dataFiles[0]     = setupHeadFile(fileCreator.apply(iterator.next()));
+			actualLengths[0] = lastFileLength;
+			for(int i = 1; i < fileCount; i++)
+			{
+				dataFiles[i]     = linkTailFile(dataFiles[i - 1], fileCreator.apply(iterator.next()));
+				actualLengths[i] = dataFiles[i].size();
+			}
+			
+			final long                            initTime = System.currentTimeMillis();
+			final ExecutorService                 executor = createExecutor(entityCache.channelIndex(), threadCount);
+			final ArrayDeque<Future<IndexedFile>> pending  = new ArrayDeque<>(threadCount);
+			
+			// files exceeding a single segment are rare, so their buffer is only allocated once one is encountered.
+			ByteBuffer segmentBuffer        = null;
+			int[]      segmentEntityOffsets = null;
+			try
+			{
+				// every reader thread reads one file ahead of the file whose entities are currently registered.
+				int nextFileIndex = 0;
+				for(; nextFileIndex < fileCount && nextFileIndex < threadCount; nextFileIndex++)
+				{
+					pending.add(submitIndexing(
+						executor                    ,
+						dataFiles[nextFileIndex]    ,
+						actualLengths[nextFileIndex],
+						checkpoint                  ,
+						segmentLength
+					));
+				}
+				
+				for(int i = 0; i < fileCount; i++)
+				{
+					final IndexedFile indexedFile = awaitIndexing(pending.poll());
+					if(nextFileIndex < fileCount)
+					{
+						pending.add(submitIndexing(
+							executor                    ,
+							dataFiles[nextFileIndex]    ,
+							actualLengths[nextFileIndex],
+							checkpoint                  ,
+							segmentLength
+						));
+						nextFileIndex++;
+					}
+					
+					if(indexedFile == null)
+					{
+						// files exceeding a single buffer are read in segments by the registering thread itself.
+						if(segmentBuffer == null)
+						{
+							segmentBuffer        = XMemory.allocateDirectNative(segmentLength);
+							segmentEntityOffsets = createAllFilesOffsetsArray(segmentLength);
+						}
+						registerSegmentedFileEntities(
+							entityCache                                                 ,
+							initTime                                                    ,
+							dataFiles[i]                                                ,
+							actualLengths[i]                                            ,
+							checkpoint                                                  ,
+							checkpointLength(checkpoint, dataFiles[i], actualLengths[i]),
+							segmentBuffer                                               ,
+							segmentEntityOffsets
+						);
+						continue;
+					}
+					
+					try
+					{
+						registerIndexedEntities(
+							entityCache                    ,
+							initTime                       ,
+							dataFiles[i]                   ,
+							actualLengths[i]               ,
+							checkpoint                     ,
+							indexedFile.checkpointLength   ,
+							indexedFile.bufferStartAddress ,
+							indexedFile.entityOffsets      ,
+							indexedFile.entityCount
+						);
+					}
+					finally
+					{
+						indexedFile.release();
+					}
+				}
+			}
+			finally
+			{
+				// in case of an exception, buffers of files that were read in vain are left to the GC.
+				executor.shutdownNow();
+				if(segmentBuffer != null)
+				{
+					XMemory.deallocateDirectByteBuffer(segmentBuffer);
+				}
+			}
+			
+			return dataFiles[0];
+		}
+		
+		private static Future<IndexedFile> submitIndexing(
+			final ExecutorService             executor        ,
+			final StorageLiveDataFile.Default file            ,
+			final long                        fileActualLength,
+			final StorageIndexCheckpoint      checkpoint      ,
+			final int                         segmentLength
+		)
+		{
+			if(fileActualLength - checkpointLength(checkpoint, file, fileActualLength) > segmentLength)
+			{
+				return CompletableFuture.completedFuture(null);
+			}
+			
+			return executor.submit(() ->
+			{
+				final long       checkpointLength = checkpointLength(checkpoint, file, fileActualLength);
+				final ByteBuffer buffer           = XMemory.allocateDirectNative(
+					Math.max(fileActualLength - checkpointLength, 1)
+				);
+				final int[]      entityOffsets    = createAllFilesOffsetsArray(buffer.capacity());
+				final int        entityCount;
+				try
+				{
+					entityCount = indexEntities(file, checkpointLength, fileActualLength, buffer, entityOffsets);
+				}
+				finally
+				{
+					// file access is bound to the reading thread, so it must be released for the channel thread.
+					file.close();
+				}
+				
+				return new IndexedFile(buffer, entityOffsets, entityCount, checkpointLength);
+			});
+		}
+		
+		private static IndexedFile awaitIndexing(final Future<IndexedFile> future)
+		{
+			try
+			{
+				return future.get();
+			}
+			catch(final InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new StorageException("Interrupted while waiting for a data file to be read.", e);
+			}
+			catch(final ExecutionException e)
+			{
+				if(e.getCause() instanceof RuntimeException)
+				{
+					throw (RuntimeException)e.getCause();
+				}
+				throw new StorageExceptionIoReading(e.getCause());
+			}
+		}
+		
+		private static ExecutorService createExecutor(final int channelIndex, final int threadCount)
+		{
+			final AtomicInteger threadNumber = new AtomicInteger();
+			
+			return Executors.newFixedThreadPool(threadCount, runnable ->
+			{
+				final Thread thread = new Thread(
+					runnable,
+					StorageEntityInitializer.class.getSimpleName() + "-" + channelIndex
+					+ "-" + threadNumber.incrementAndGet()
+				);
+				thread.setDaemon(true);
+				
+				return thread;
+			});
+		}
+		
+		static final class IndexedFile
+		{
+			final ByteBuffer buffer            ;
+			final long       bufferStartAddress;
+			final int[]      entityOffsets     ;
+			final int        entityCount       ;
+			final long       checkpointLength  ;
+			
+			IndexedFile(
+				final ByteBuffer buffer          ,
+				final int[]      entityOffsets   ,
+				final int        entityCount     ,
+				final long       checkpointLength
+			)
+			{
+				super();
+				this.buffer             = buffer                                    ;
+				this.bufferStartAddress = XMemory.getDirectByteBufferAddress(buffer);
+				this.entityOffsets      = entityOffsets                             ;
+				this.entityCount        = entityCount                               ;
+				this.checkpointLength   = checkpointLength                          ;
+			}
+			
+			final void release()
+			{
+				XMemory.deallocateDirectByteBuffer(this.buffer);
+			}
+			
+		}
+		
+		private static long checkpointLength(
+			final StorageIndexCheckpoint      checkpoint      ,
+			final StorageLiveDataFile.Default file            ,
+			final long                        fileActualLength
+		)
+		{
+			if(checkpoint == null || file.number() > checkpoint.headFileNumber())
+			{
+				// file created after the checkpoint has been written.
+				return 0;
+			}
+			if(file.number() == checkpoint.headFileNumber())
+			{
+				// the checkpoint's head file may have been appended to after the checkpoint has been written.
+				return checkpoint.headFileLength();
+			}
+			
+			// older files can only have been deleted, but never have been changed after the checkpoint.
+			return fileActualLength;
+		}
+		
+		static final class CheckpointEntityRegisterer implements StorageIndexCheckpoint.EntityAcceptor
+		{
+			final StorageEntityCache.Default  entityCache  ;
+			final StorageLiveDataFile.Default file         ;
+			      long                        contentLength;
+			
+			CheckpointEntityRegisterer(
+				final StorageEntityCache.Default  entityCache,
+				final StorageLiveDataFile.Default file
+			)
+			{
+				super();
+				this.entityCache = entityCache;
+				this.file        = file       ;
+			}
+
+			@Override
+			public final void accept(
+				final long objectId       ,
+				final long typeId         ,
+				final long storagePosition,
+				final int  length
+			)
+			{
+				// same as for read entities: only the latest version of every entity is registered.
+				if(this.entityCache.getEntry(objectId) != null)
+				{
+					return;
+				}
+				
+				final StorageEntity.Default entity = this.entityCache.initialCreateEntity(objectId, typeId);
+				entity.updateStorageInformation(length, storagePosition);
+				this.file.prependEntry(entity);
+				this.contentLength += length;
+			}
+			
 		}
 				
 		/**
@@ -178,17 +907,26 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		 */
 		private static int indexEntities(
 			final StorageLiveDataFile.Default file            ,
+			final long                        startPosition   ,
 			final long                        fileActualLength,
 			final ByteBuffer                  buffer          ,
 			final int[]                       entityOffsets
 		)
 		{
-			int lastEntityIndex = -1;
+			fillBuffer(buffer, file, startPosition, fileActualLength);
 			
-			fillBuffer(buffer, file, fileActualLength);
+			return indexBufferedEntities(XMemory.getDirectByteBufferAddress(buffer), buffer.limit(), entityOffsets);
+		}
+		
+		private static int indexBufferedEntities(
+			final long  bufferStartAddress,
+			final long  bufferLength      ,
+			final int[] entityOffsets
+		)
+		{
+			int lastEntityIndex = -1;
 			
-			final long bufferStartAddress = XMemory.getDirectByteBufferAddress(buffer);
-			final long bufferBoundAddress = bufferStartAddress + buffer.limit();
+			final long bufferBoundAddress = bufferStartAddress + bufferLength;
 			
 			long currentItemLength;
 			
@@ -255,13 +993,16 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			return new int[largestFileLength / Binary.entityHeaderLength()];
 		}
 		
-		private static ByteBuffer allocateInitializationBuffer(final Iterable<? extends StorageDataInventoryFile> files)
+		private static ByteBuffer allocateInitializationBuffer(
+			final Iterable<? extends StorageDataInventoryFile> files        ,
+			final int                                          segmentLength
+		)
 		{
-			final int largestFileSize = determineLargestFileSize(files);
+			final int largestFileSize = determineLargestFileSize(files, segmentLength);
 			
 			// anything below the system's "default" buffer size (a "page", usually 4096) doesn't pay off.
 			final ByteBuffer buffer = XMemory.allocateDirectNative(
-				Math.max(largestFileSize, XMemory.defaultBufferSize())
+				Math.max(largestFileSize, Math.min(XMemory.defaultBufferSize(), segmentLength))
 			);
 			
 			return buffer;
@@ -270,6 +1011,7 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		private static void fillBuffer(
 			final ByteBuffer                  buffer          ,
 			final StorageLiveDataFile.Default file            ,
+			final long                        startPosition   ,
 			final long                        fileActualLength
 		)
 		{
@@ -277,9 +1019,9 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			{
 				buffer.clear();
 				// the reason for the stupid limit is actually a single clumsy toArray() somewhere in NIO.
-				buffer.limit(X.checkArrayRange(fileActualLength));
+				buffer.limit(X.checkArrayRange(fileActualLength - startPosition));
 				
-				file.readBytes(buffer, 0, fileActualLength);
+				file.readBytes(buffer, startPosition, fileActualLength - startPosition);
 			}
 			catch(final Exception e)
 			{
@@ -287,40 +1029,20 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			}
 		}
 		
-		private static int determineLargestFileSize(final Iterable<? extends StorageDataInventoryFile> files)
+		private static int determineLargestFileSize(
+			final Iterable<? extends StorageDataInventoryFile> files        ,
+			final int                                          segmentLength
+		)
 		{
-			int largestFileSize = -1;
+			long largestFileSize = -1;
 			
 			for(final StorageDataInventoryFile file : files)
 			{
-				final long fileLength = file.size();
-				if(fileLength > Integer.MAX_VALUE)
-				{
-					/* (29.05.2018 TM)NOTE:
-					 * In case someone gets here after suffering this exception:
-					 * Yes, the file could be read incrementally in chunks, but while this would prevent some
-					 * problems with the JDK IO buffer limitation to int, it cannot prevent all of them.
-					 * Consider a single entity, probabaly a giant collection, whose binary form (8 bytes per
-					 * element) exceeds the int limit by itself.
-					 * The most reasonable strategy is:
-					 * For files that should be in the range of 1-100 MB, anyway, assume int to be "infinite".
-					 * Blame problems on users who chose too high a file size and on JDK devs who implemented
-					 * the short-sighted and completely unnecessary int limit.
-					 * And wait for a proper solution, of course. Maybe a self-built tailored IO via JNI.
-					 */
-					throw new StorageExceptionIoReading(
-						"Storage file size exceeds Java technical IO limitations: " + file.identifier()
-					);
-				}
-				
-				if(fileLength > largestFileSize)
-				{
-					// cast safety is guaranteed by the validation logic above.
-					largestFileSize = (int)fileLength;
-				}
+				largestFileSize = Math.max(largestFileSize, file.size());
 			}
 			
-			return largestFileSize;
+			// larger files are read in segments, see #registerSegmentedFileEntities
+			return (int)Math.min(largestFileSize, segmentLength);
 		}
 		
 	}
@@ -61,6 +61,18 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 	);
 
 	public boolean isMarkingComplete();
+	
+	/**
+	 * Brings the monitor into the state of a completed garbage collection after all channels have
+	 * been collected by a {@link StorageParallelGarbageCollector}, discarding all incremental progress.
+	 * 
+	 * @param rootObjectIdSelector the calling channel's selector to determine the global root object id.
+	 * @param channelRootObjectIds the valid root object id of every channel after the sweep.
+	 */
+	public void completeParallelGarbageCollection(
+		StorageRootOidSelector rootObjectIdSelector,
+		long[]                 channelRootObjectIds
+	);
 
 	public StorageReferenceMarker provideReferenceMarker(StorageEntityCache<?> channel);
 
@@ -538,6 +550,36 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 			}
 		}
 
+		@Override
+		public final synchronized void completeParallelGarbageCollection(
+			final StorageRootOidSelector rootObjectIdSelector,
+			final long[]                 channelRootObjectIds
+		)
+		{
+			/*
+			 * All channels are halted while being collected in parallel, so any incremental marking or sweeping
+			 * progress is obsolete. It is discarded and the state is set to the one of a completed cold phase,
+			 * including the enqueued root oid for the next marking to start with once a store resets the completion.
+			 */
+			this.initializeMarkQueues();
+			this.synchResetReferenceMarkers();
+			this.pendingMarksCount = 0;
+			this.initializeSweepingState();
+			System.arraycopy(channelRootObjectIds, 0, this.channelRootOids, 0, this.channelRootOids.length);
+
+			final long now = System.currentTimeMillis();
+			this.lastSweepEnd = now;
+			this.sweepGeneration++;
+			
+			this.gcHotPhaseComplete   = this.gcColdPhaseComplete  = true;
+			this.lastGcHotCompletion  = this.lastGcColdCompletion = now;
+			this.gcHotGeneration++;
+			this.gcColdGeneration++;
+			this.eventLogger.logGarbageCollectorCompleted(this.gcColdGeneration, this.lastGcColdCompletion);
+			
+			this.determineAndEnqueueRootOid(rootObjectIdSelector);
+		}
+
 		final synchronized void resetChannelRootIds()
 		{
 			// no difference to reinitializing
@@ -242,6 +242,11 @@ public interface StorageEntityType<E extends StorageEntity>
 			this.typeHandler.iterateReferences(entity.cacheAddress(), iterator);
 		}
 
+		final void iterateReferenceIds(final long entityAddress, final PersistenceObjectIdAcceptor iterator)
+		{
+			this.typeHandler.iterateReferences(entityAddress, iterator);
+		}
+
 		@Override
 		public StorageIdAnalysis validateEntities()
 		{
@@ -84,6 +84,26 @@ public interface StorageEventLogger
 		// no-op by default
 	}
 	
+	public default void logGarbageCollectorCompletedParallel(final StorageGarbageCollectionStatistics statistics)
+	{
+		// no-op by default
+	}
+	
+	public default void logFollowerUpdateFailed(final Throwable t)
+	{
+		// no-op by default
+	}
+	
+	public default void logFollowerLoadRetried(final Throwable t)
+	{
+		// no-op by default
+	}
+	
+	public default void logConcurrentLoadFallback(final Throwable t)
+	{
+		// no-op by default
+	}
+	
 	
 	/**
 	 * Creates a NoOp StorageEventLogger that does really nothing.
@@ -208,6 +228,12 @@ public interface StorageEventLogger
 			this.log(toChannelIdentifier(channel) + " encountered disrupting exception " + t);
 			t.printStackTrace();
 		}
+		
+		@Override
+		public void logFollowerUpdateFailed(final Throwable t)
+		{
+			this.log("StorageFollower update failed and is retried: " + t);
+		}
 	}
 	
 	
@@ -304,6 +330,24 @@ public interface StorageEventLogger
 			this.log("Storage-GC completed #" + gcColdGeneration + " @ " + lastGcColdCompletion);
 		}
 		
+		@Override
+		public void logGarbageCollectorCompletedParallel(final StorageGarbageCollectionStatistics statistics)
+		{
+			this.log(statistics.toString());
+		}
+		
+		@Override
+		public void logFollowerLoadRetried(final Throwable t)
+		{
+			this.log("StorageFollower load failed reading and is retried after the next update: " + t);
+		}
+		
+		@Override
+		public void logConcurrentLoadFallback(final Throwable t)
+		{
+			this.log("Concurrent load failed, falling back to loading via the channels: " + t);
+		}
+		
 	}
 	
 }
@@ -380,19 +380,19 @@ public interface StorageFile
 			}
 		}
 				
-		public final synchronized void truncate(final long newLength)
+		public synchronized void truncate(final long newLength)
 		{
 			this.ensureWritable().truncate(newLength);
 		}
 		
 		@Override
-		public final synchronized boolean delete()
+		public synchronized boolean delete()
 		{
 			return this.ensureWritable().delete();
 		}
 		
 		@Override
-		public final synchronized void moveTo(final AWritableFile target)
+		public synchronized void moveTo(final AWritableFile target)
 		{
 			this.ensureWritable().moveTo(target);
 		}
@@ -441,6 +441,11 @@ public interface StorageFile
 			{
 				if(this.writeAccess == null || this.writeAccess.isRetired())
 				{
+					// a file opened for reading before (e.g. by the initialization) would never be released otherwise.
+					if(this.readAccess != null)
+					{
+						this.readAccess.release();
+					}
 					this.writeAccess = this.file().useWriting();
 					this.readAccess = this.writeAccess;
 				}
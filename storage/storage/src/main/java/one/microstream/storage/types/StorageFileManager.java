@@ -31,21 +31,28 @@ import java.util.function.Consumer;
 import one.microstream.X;
 import one.microstream.afs.types.AFS;
 import one.microstream.afs.types.AFile;
+import one.microstream.afs.types.AReadableFile;
+import one.microstream.afs.types.AWritableFile;
 import one.microstream.chars.VarString;
 import one.microstream.collections.BulkList;
+import one.microstream.collections.EqHashEnum;
 import one.microstream.collections.EqHashTable;
 import one.microstream.collections.XSort;
 import one.microstream.collections.types.XGettingSequence;
 import one.microstream.exceptions.MultiCauseException;
+import one.microstream.math.XMath;
 import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.MemoryRangeReader;
+import one.microstream.persistence.types.PersistenceObjectIdAcceptor;
 import one.microstream.storage.exceptions.StorageException;
 import one.microstream.storage.exceptions.StorageExceptionConsistency;
+import one.microstream.storage.exceptions.StorageExceptionInitialization;
 import one.microstream.storage.exceptions.StorageExceptionIoReading;
 import one.microstream.storage.exceptions.StorageExceptionIoWriting;
 import one.microstream.storage.exceptions.StorageExceptionIoWritingChunk;
 import one.microstream.storage.types.StorageRawFileStatistics.FileStatistics;
 import one.microstream.storage.types.StorageTransactionsAnalysis.EntryAggregator;
-import one.microstream.typing.XTypes;
 import one.microstream.util.BufferSizeProvider;
 
 
@@ -97,11 +104,49 @@ public interface StorageFileManager extends StorageChannelResetablePart
 	public boolean issuedFileCleanupCheck(long nanoTimeBudgetBound);
 
 	public void exportData(StorageLiveFileProvider fileProvider);
+	
+	/**
+	 * Registers the channel's transactions file and all data files as used by the passed {@link StorageFileUser}
+	 * and captures their current lengths.
+	 * 
+	 * @param fileUser the user keeping the captured files from being deleted until the snapshot is released.
+	 * @param includeEntities whether the live entities of every data file shall be captured as well.
+	 * 
+	 * @return the channel's part of a {@link StorageSnapshot}.
+	 */
+	public StorageSnapshot.ChannelSnapshot captureSnapshot(StorageFileUser fileUser, boolean includeEntities);
 
 	public StorageRawFileStatistics.ChannelStatistics createRawFileStatistics();
 
 	// this is not "reset" in terms of "set to initial state", more like a "go back to the start of the chain".
 	public void restartFileCleanupCursor();
+	
+	/**
+	 * Writes the channel's index checkpoint file if index checkpoints are enabled and there is no uncommitted data.
+	 * 
+	 * @see StorageIndexCheckpointSetup
+	 */
+	public void writeIndexCheckpoint();
+	
+	/**
+	 * Starts or continues writing the channel's index checkpoint file if the checkpoint interval has elapsed
+	 * and data has been stored since the last checkpoint.
+	 * 
+	 * @param nanoTimeBudgetBound the {@link System#nanoTime()} value up to which writing may continue.
+	 * 
+	 * @return whether the check was completed.
+	 */
+	public boolean indexCheckpointCheck(long nanoTimeBudgetBound);
+	
+	/**
+	 * Rolls the channel's transactions file if it exceeds the maximum file size and is not used by other parts
+	 * like a pending backup, i.e. replaces it with a compacted one that only describes the current state.
+	 * 
+	 * @return whether the check was completed.
+	 * 
+	 * @see StorageTransactionsFileRollingSetup
+	 */
+	public boolean transactionsFileRollingCheck();
 
 
 
@@ -111,11 +156,11 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		// constants //
 		//////////////
 
-		// the only reason for this limit is to have an int instead of a long for the item's file position.
-		static final int MAX_FILE_LENGTH = Integer.MAX_VALUE;
-
 		// (22.05.2015 TM)TODO: Debug Flag to disable file cleanup for testing
 		private static final boolean DEBUG_ENABLE_FILE_CLEANUP = true;
+		
+		// maximum length of followed data read at once, unless a single entity is larger.
+		private static final long FOLLOWER_CHUNK_LENGTH = 16 * 1024 * 1024;
 
 
 
@@ -153,6 +198,14 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		private final StorageWriteController               writeController              ;
 		private final StorageFileWriter                    writer                       ;
 		private final StorageBackupHandler                 backupHandler                ;
+		private final StorageDataFileMapping               dataFileMapping              ;
+		private final StorageIndexCheckpointSetup          indexCheckpointSetup         ;
+		private final StorageTransactionsFileRollingSetup  transactionsFileRollingSetup ;
+		private final StorageFollowerSetup                 followerSetup                ;
+		private final StorageEntityInitializer.Creator     entityInitializerCreator     ;
+		private final StorageDataFileCompactionSetup       compactionSetup              ;
+		private final StorageDataCompression               dataCompression              ;
+		private final StorageChannelMetrics.Default        metrics                      ;
 		
 		// to avoid permanent lambda instantiation
 		private final Consumer<? super StorageLiveDataFile.Default> deleter        = this::deleteFile       ;
@@ -201,6 +254,11 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		// cleared by clearStandardByteBuffer() / reset().
 		private final ByteBuffer standardByteBuffer;
 		
+		// cleared by clearFollowerState() / reset(). Only used in follower mode, see StorageFollower.
+		private final BulkList<FollowedEntry>               followerEntries  = BulkList.New();
+		private final BulkList<FollowedChunk>               followerChunks   = BulkList.New();
+		private final BulkList<StorageLiveDataFile.Default> followerNewFiles = BulkList.New();
+		
 		
 		// state 3.0: mutable fields. Must be cleared on reset.
 		
@@ -210,12 +268,36 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		// cleared and nulled by clearRegisteredFiles() / reset()
 		private StorageLiveDataFile.Default fileCleanupCursor;
 
+		// cleared and nulled by clearCompressedChunks() / reset()
+		private ByteBuffer[] compressedChunks;
+
+		// cleared and nulled by clearDecompressionBuffer() / reset(). Reused for the decompressed copies of entities.
+		private ByteBuffer decompressionBuffer;
+
 		// cleared by clearUncommittedDataLength() / reset()
 		private long uncommittedDataLength;
 
 		// cleared in reset() directly, but kind of irrelevant.
 		private int pendingFileDeletes;
 		
+		// cleared in reset() directly.
+		private long lastStoreTimestamp, indexCheckpointStoreTimestamp, indexCheckpointTime;
+		
+		// cleared and nulled by clearIndexCheckpointWriter() / reset(). Writes a checkpoint across housekeeping cycles.
+		private StorageIndexCheckpoint.Writer indexCheckpointWriter;
+		
+		// cleared in reset() directly. Size from which on rolling is retried after a failed attempt.
+		private long transactionsFileRollingRetrySize;
+		
+		// cleared by clearFollowerState() / reset(). Read position and last read entry of the followed file.
+		private long followerPosition, followerEntryPosition, followerEntryTimestamp;
+		
+		// cleared by clearFollowerState() / reset(). Head file and latest store of the read entries.
+		private long followerHeadFileNumber, followerStoreTimestamp;
+		
+		// cleared by clearFollowerState() / reset(). Number of read entries the prepared data covers.
+		private int followerPreparedCount;
+		
 		
 		// state 3.1: variable length content
 
@@ -238,7 +320,15 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			final StorageWriteController               writeController              ,
 			final StorageFileWriter                    writer                       ,
 			final BufferSizeProvider                   standardBufferSizeProvider   ,
-			final StorageBackupHandler                 backupHandler
+			final StorageBackupHandler                 backupHandler                ,
+			final StorageDataFileMapping               dataFileMapping              ,
+			final StorageIndexCheckpointSetup          indexCheckpointSetup         ,
+			final StorageTransactionsFileRollingSetup  transactionsFileRollingSetup ,
+			final StorageFollowerSetup                 followerSetup                ,
+			final StorageEntityInitializer.Creator     entityInitializerCreator     ,
+			final StorageDataFileCompactionSetup       compactionSetup              ,
+			final StorageDataCompression               dataCompression              ,
+			final StorageChannelMetrics.Default        metrics
 		)
 		{
 			super();
@@ -251,6 +341,14 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			this.writeController               =     notNull(writeController)              ;
 			this.writer                        =     notNull(writer)                       ;
 			this.backupHandler                 =     mayNull(backupHandler)                ;
+			this.dataFileMapping               =     notNull(dataFileMapping)              ;
+			this.indexCheckpointSetup          =     notNull(indexCheckpointSetup)         ;
+			this.transactionsFileRollingSetup  =     notNull(transactionsFileRollingSetup) ;
+			this.followerSetup                 =     notNull(followerSetup)                ;
+			this.entityInitializerCreator      =     notNull(entityInitializerCreator)     ;
+			this.compactionSetup               =     notNull(compactionSetup)              ;
+			this.dataCompression               =     notNull(dataCompression)              ;
+			this.metrics                       =     notNull(metrics)                      ;
 			
 			this.standardByteBuffer = XMemory.allocateDirectNative(
 				standardBufferSizeProvider.provideBufferSize()
@@ -263,10 +361,39 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		// methods //
 		////////////
 		
+		final boolean isIndexCheckpointIntervalEnabled()
+		{
+			return this.indexCheckpointSetup.isEnabled()
+				&& this.indexCheckpointSetup.checkpointIntervalMs() > 0
+				&& !this.isFollower()
+			;
+		}
+		
+		final boolean isFollower()
+		{
+			return this.followerSetup.isEnabled();
+		}
+		
+		final boolean isTransactionsFileRollingEnabled()
+		{
+			return this.transactionsFileRollingSetup.isEnabled();
+		}
+		
+		final boolean hasTransactionsFile()
+		{
+			return this.fileTransactions != null;
+		}
+		
 		final boolean isFileCleanupEnabled()
 		{
 			return this.writeController.isFileCleanupEnabled();
 		}
+		
+		final boolean isHousekeepingFileCleanupEnabled()
+		{
+			// background compaction replaces the housekeeping file cleanup, see StorageDataFileCompactor.
+			return this.isFileCleanupEnabled() && !this.compactionSetup.isEnabled();
+		}
 
 		final <L extends Consumer<StorageEntity.Default>> L iterateEntities(final L logic)
 		{
@@ -329,6 +456,11 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			StorageLiveDataFile.Default file = headFile;
 			do
 			{
+				// dissolved files pending deletion have already been released by this instance.
+				if(!file.isUsedBy(this))
+				{
+					continue;
+				}
 				file.unregisterUsageClosing(this, null);
 			}
 			while((file = file.next) != headFile);
@@ -405,7 +537,7 @@ public interface StorageFileManager extends StorageChannelResetablePart
 				current.typeInFile      = headFile.typeInFile(current.typeInFile.type);
 								
 				// update position to the one in the target file (old length plus current copy length)
-				current.storagePosition = XTypes.to_int(targetFileOldTotalLength + copyLength);
+				current.storagePosition = targetFileOldTotalLength + copyLength;
 
 				// advance to next entity and add current entity's length to the total copy length
 				copyLength += current.length;
@@ -612,6 +744,7 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			}
 			
 			this.uncommittedDataLength = writeCount;
+			this.metrics.registerBytesWritten(writeCount);
 			
 			this.writeTransactionsEntryStore(this.headFile, oldTotalLength, writeCount, timestamp, newTotalLength);
 //			DEBUGStorage.println(this.channelIndex + " wrote " + this.uncommittedDataLength + " bytes");
@@ -649,6 +782,124 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		{
 			this.uncommittedDataLength = 0;
 		}
+
+		/**
+		 * Returns the passed chunks with the records of all suitable entities compressed,
+		 * see {@link StorageDataCompression}. Chunks without such entities are returned as they are.
+		 * The returned chunks are valid until {@link #clearCompressedChunks()} is called at the end of the store.
+		 *
+		 * @param dataBuffers the chunks to be stored.
+		 *
+		 * @return the chunks to be written and registered instead of the passed ones.
+		 */
+		final ByteBuffer[] compressChunks(final ByteBuffer[] dataBuffers)
+		{
+			if(!this.dataCompression.isEnabled())
+			{
+				return dataBuffers;
+			}
+
+			ByteBuffer[] chunks = dataBuffers;
+			for(int i = 0; i < dataBuffers.length; i++)
+			{
+				final ByteBuffer compressedChunk = this.compressChunk(dataBuffers[i]);
+				if(compressedChunk == null)
+				{
+					continue;
+				}
+				if(chunks == dataBuffers)
+				{
+					chunks = dataBuffers.clone();
+					this.compressedChunks = new ByteBuffer[dataBuffers.length];
+				}
+				chunks[i] = this.compressedChunks[i] = compressedChunk;
+			}
+
+			return chunks;
+		}
+
+		private ByteBuffer compressChunk(final ByteBuffer chunk)
+		{
+			final long chunkStartAddress = XMemory.getDirectByteBufferAddress(chunk);
+			final long chunkBoundAddress = chunkStartAddress + chunk.limit();
+
+			// checking first avoids copying chunks without any compressible entity, e.g. of types with references.
+			long adr = chunkStartAddress;
+			while(adr < chunkBoundAddress && this.lookupCompressibleType(adr) == null)
+			{
+				adr += Binary.getEntityLengthRawValue(adr);
+			}
+			if(adr == chunkBoundAddress)
+			{
+				return null;
+			}
+
+			// compressed records are never longer than the uncompressed ones, so the chunk's length always suffices.
+			final ByteBuffer compressedChunk    = XMemory.allocateDirectNative(chunk.limit());
+			final long       targetStartAddress = XMemory.getDirectByteBufferAddress(compressedChunk);
+			final long       uncompressedLength = adr - chunkStartAddress;
+			XMemory.copyRange(chunkStartAddress, targetStartAddress, uncompressedLength);
+
+			long targetAddress = targetStartAddress + uncompressedLength;
+			for(long length; adr < chunkBoundAddress; adr += length)
+			{
+				length = Binary.getEntityLengthRawValue(adr);
+
+				final StorageEntityTypeHandler type = this.lookupCompressibleType(adr);
+				final long compressedLength = type != null
+					? this.dataCompression.compressEntity(adr, type.minimumLength(), targetAddress)
+					: 0
+				;
+				if(compressedLength != 0)
+				{
+					targetAddress += compressedLength;
+				}
+				else
+				{
+					XMemory.copyRange(adr, targetAddress, length);
+					targetAddress += length;
+				}
+			}
+			compressedChunk.limit(X.checkArrayRange(targetAddress - targetStartAddress));
+
+			return compressedChunk;
+		}
+
+		private StorageEntityTypeHandler lookupCompressibleType(final long entityAddress)
+		{
+			if(Binary.getEntityLengthRawValue(entityAddress) < this.dataCompression.minimumEntityLength())
+			{
+				return null;
+			}
+
+			// the dictionary instead of the entity cache, as the store is not synchronized with concurrent loading.
+			final StorageEntityTypeHandler type = this.entityCache.typeDictionary().lookupTypeHandler(
+				Binary.getEntityTypeIdRawValue(entityAddress)
+			);
+
+			// the storage must never interpret compressed records, so only variable length data without references.
+			return type != null && !type.hasPersistedReferences() && type.hasPersistedVariableLength()
+				? type
+				: null
+			;
+		}
+
+		final void clearCompressedChunks()
+		{
+			if(this.compressedChunks == null)
+			{
+				return;
+			}
+
+			for(final ByteBuffer compressedChunk : this.compressedChunks)
+			{
+				if(compressedChunk != null)
+				{
+					XMemory.deallocateDirectByteBuffer(compressedChunk);
+				}
+			}
+			this.compressedChunks = null;
+		}
 		
 		final void loadData(
 			final StorageLiveDataFile.Default dataFile   ,
@@ -658,6 +909,20 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		)
 		{
 //			DEBUGStorage.println(this.channelIndex + " loading entity " + entity);
+			this.metrics.registerBytesRead(length);
+			if(this.dataFileMapping.isMappedReadingEnabled())
+			{
+				// single copy straight from the mapped file content into the cache.
+				if(dataFile.processMappedContent(
+					entity.storagePosition,
+					length,
+					address -> this.putLiveEntityData(entity, address, length, cacheChange)
+				))
+				{
+					return;
+				}
+			}
+			
 			final ByteBuffer dataBuffer = this.buffer(X.checkArrayRange(length));
 			try
 			{
@@ -679,6 +944,183 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			}
 		}
 
+		final void iterateStoredReferenceIds(
+			final StorageLiveDataFile.Default dataFile,
+			final StorageEntity.Default       entity  ,
+			final PersistenceObjectIdAcceptor iterator
+		)
+		{
+			final StorageEntityType.Default type   = entity.typeInFile.type;
+			final long                      length = entity.length;
+			
+			this.metrics.registerBytesRead(length);
+			if(this.dataFileMapping.isMappedReadingEnabled())
+			{
+				if(dataFile.processMappedContent(
+					entity.storagePosition,
+					length,
+					address -> type.iterateReferenceIds(address, iterator)
+				))
+				{
+					return;
+				}
+			}
+			
+			final ByteBuffer dataBuffer = this.buffer(X.checkArrayRange(length));
+			try
+			{
+				dataFile.readBytes(dataBuffer, entity.storagePosition);
+				type.iterateReferenceIds(XMemory.getDirectByteBufferAddress(dataBuffer), iterator);
+			}
+			catch(final StorageExceptionIoReading e)
+			{
+				throw e;
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoReading(e);
+			}
+			finally
+			{
+				this.clearBuffer(dataBuffer);
+			}
+		}
+
+		final void registerEntityCacheAccess(final boolean hit)
+		{
+			this.metrics.registerEntityCacheAccess(hit);
+		}
+		
+		final void updateMetrics()
+		{
+			long fileCount = 0, totalLength = 0, dataLength = 0;
+			
+			final StorageLiveDataFile.Default head = this.headFile;
+			StorageLiveDataFile.Default file = head;
+			do
+			{
+				file = file.next;
+				fileCount++;
+				totalLength += file.totalLength();
+				dataLength  += file.dataLength();
+			}
+			while(file != head);
+			
+			this.metrics.updateFiles(fileCount, totalLength, dataLength);
+			
+			if(this.backupHandler != null)
+			{
+				this.metrics.updateBackupLag(this.backupHandler.backupLag(this.channelIndex()));
+			}
+		}
+
+		/**
+		 * Passes the decompressed copy of the passed compressed entity record to the passed collector.
+		 * Only called while copying cached entity data, i.e. by the channel's thread or under the channel's
+		 * entity lock, so the decompression buffer can be reused for all but the largest entities.
+		 */
+		final void copyDecompressedEntityData(
+			final long              entityAddress      ,
+			final MemoryRangeReader entityDataCollector
+		)
+		{
+			final long length = StorageDataCompression.decompressedEntityLength(entityAddress);
+			if(length > this.standardByteBuffer.capacity())
+			{
+				// oversized entities get a one-time buffer instead of pinning that much memory for the channel.
+				final long address = XMemory.allocate(length);
+				try
+				{
+					this.dataCompression.decompressEntity(entityAddress, address);
+					entityDataCollector.readMemory(address, length);
+				}
+				finally
+				{
+					XMemory.free(address);
+				}
+				return;
+			}
+
+			final long address = XMemory.getDirectByteBufferAddress(this.decompressionBuffer((int)length));
+			this.dataCompression.decompressEntity(entityAddress, address);
+			entityDataCollector.readMemory(address, length);
+		}
+
+		private ByteBuffer decompressionBuffer(final int length)
+		{
+			if(this.decompressionBuffer == null || length > this.decompressionBuffer.capacity())
+			{
+				this.clearDecompressionBuffer();
+				this.decompressionBuffer = XMemory.allocateDirectNative(
+					Math.min(XMath.pow2BoundCapped(length), this.standardByteBuffer.capacity())
+				);
+			}
+
+			return this.decompressionBuffer;
+		}
+
+		final void clearDecompressionBuffer()
+		{
+			if(this.decompressionBuffer == null)
+			{
+				return;
+			}
+
+			XMemory.deallocateDirectByteBuffer(this.decompressionBuffer);
+			this.decompressionBuffer = null;
+		}
+
+		final long exportEntityData(
+			final StorageLiveDataFile.Default dataFile  ,
+			final StorageEntity.Default       entity    ,
+			final AWritableFile               targetFile
+		)
+		{
+			// only the records of types without references can be compressed, see StorageDataCompression.
+			if(entity.typeInFile.type.hasReferences())
+			{
+				return dataFile.copyTo(targetFile, entity.storagePosition, entity.length);
+			}
+
+			final ByteBuffer dataBuffer = this.buffer(X.checkArrayRange(entity.length));
+			try
+			{
+				dataFile.readBytes(dataBuffer, entity.storagePosition);
+				final long address = XMemory.getDirectByteBufferAddress(dataBuffer);
+				if(!StorageDataCompression.isCompressedEntity(address))
+				{
+					dataBuffer.flip();
+					return targetFile.writeBytes(dataBuffer);
+				}
+
+				// exported entity data is always uncompressed, e.g. to be converted or imported.
+				final ByteBuffer entityBuffer = XMemory.allocateDirectNative(
+					StorageDataCompression.decompressedEntityLength(address)
+				);
+				try
+				{
+					this.dataCompression.decompressEntity(address, XMemory.getDirectByteBufferAddress(entityBuffer));
+					return targetFile.writeBytes(entityBuffer);
+				}
+				finally
+				{
+					XMemory.deallocateDirectByteBuffer(entityBuffer);
+				}
+			}
+			catch(final StorageException e)
+			{
+				throw e;
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoReading(e);
+			}
+			finally
+			{
+				this.clearBuffer(dataBuffer);
+			}
+		}
+
 		private void putLiveEntityData(
 			final StorageEntity.Default entity     ,
 			final long                         address    ,
@@ -699,11 +1141,17 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			}
 
 			final StorageTransactionsAnalysis      transactionsAnalysis = this.readTransactionsFile();
+			final long                             maximumFileNumber    = this.maximumInventoryFileNumber(transactionsAnalysis);
 			final EqHashTable<Long, StorageDataInventoryFile> dataFiles = EqHashTable.New();
 			this.fileProvider.collectDataFiles(
 				StorageDataInventoryFile::New,
 				f ->
-					dataFiles.add(f.number(), f),
+				{
+					if(f.number() <= maximumFileNumber)
+					{
+						dataFiles.add(f.number(), f);
+					}
+				},
 				this.channelIndex()
 			);
 			dataFiles.keys().sort(XSort::compare);
@@ -711,9 +1159,37 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			return StorageInventory.New(this.channelIndex(), dataFiles, transactionsAnalysis);
 		}
 
+		private long maximumInventoryFileNumber(final StorageTransactionsAnalysis transactionsAnalysis)
+		{
+			if(!this.isFollower() || transactionsAnalysis == null || transactionsAnalysis.isEmpty())
+			{
+				return Long.MAX_VALUE;
+			}
+			
+			// files created by the followed process after its transactions file has been read are followed later on.
+			long maximumFileNumber = -1;
+			for(final Long fileNumber : transactionsAnalysis.transactionsFileEntries().keys())
+			{
+				maximumFileNumber = Math.max(maximumFileNumber, fileNumber);
+			}
+			
+			return maximumFileNumber;
+		}
+
 		final StorageTransactionsAnalysis readTransactionsFile()
 		{
-			final StorageLiveTransactionsFile file = this.createTransactionsFile();
+			final StorageLiveTransactionsFile file;
+			if(this.isFollower())
+			{
+				// a follower may neither complete the followed process's rolling nor create any file.
+				file = StorageLiveTransactionsFile.New(this.provideFollowedTransactionsFile(), this.channelIndex());
+			}
+			else
+			{
+				// must happen before creating the transactions file, as that ensures the file to exist.
+				this.completeTransactionsFileRolling();
+				file = this.createTransactionsFile();
+			}
 
 			if(!file.exists())
 			{
@@ -842,7 +1318,16 @@ public interface StorageFileManager extends StorageChannelResetablePart
 				this.channelIndex,
 				fileNumber
 			);
-			missingEmptyFile.ensureExists();
+			if(!this.isFollower())
+			{
+				missingEmptyFile.ensureExists();
+			}
+			else if(!missingEmptyFile.exists())
+			{
+				// a follower never creates files, the missing empty file is simply not registered.
+				return;
+			}
+			
 			final StorageDataInventoryFile supplementedDataFile = StorageDataInventoryFile.New(
 				missingEmptyFile, this.channelIndex, fileNumber
 			);
@@ -878,6 +1363,12 @@ public interface StorageFileManager extends StorageChannelResetablePart
 				isEmpty = effectiveStorageInventory.dataFiles().isEmpty();
 
 				final StorageIdAnalysis idAnalysis;
+				if(isEmpty && this.isFollower())
+				{
+					throw new StorageExceptionInitialization(
+						this.channelIndex() + " has no data files to be followed"
+					);
+				}
 				if(isEmpty)
 				{
 					// initialize if there are no files at all (create first file, ensure transactions file)
@@ -998,14 +1489,40 @@ public interface StorageFileManager extends StorageChannelResetablePart
 
 			// register items (gaps and entities, with latest version of each entity replacing all previous)
 			final StorageEntityInitializer<StorageLiveDataFile.Default> initializer =
-				StorageEntityInitializer.New(this.entityCache, f ->
+				this.entityInitializerCreator.createEntityInitializer(this.entityCache, f ->
 					StorageLiveDataFile.New(this, f)
 				)
 			;
-			this.headFile = initializer.registerEntities(files, lastFileLength);
+			final StorageIndexCheckpoint checkpoint = this.readIndexCheckpoint(
+				storageInventory        ,
+				consistentStoreTimestamp,
+				lastFileLength
+			);
+			try
+			{
+				this.headFile = initializer.registerEntities(files, lastFileLength, checkpoint);
+			}
+			finally
+			{
+				if(checkpoint != null)
+				{
+					checkpoint.release();
+				}
+			}
+			
+			this.lastStoreTimestamp            = consistentStoreTimestamp;
+			this.indexCheckpointStoreTimestamp = checkpoint == null ? -1 : checkpoint.storeTimestamp();
+			this.indexCheckpointTime           = System.currentTimeMillis();
 
 			// validate entities (only the latest versions) before potential transaction file derivation
-			final StorageIdAnalysis idAnalysis = this.entityCache.validateEntities();
+			final StorageIdAnalysis idAnalysis = initializer.validateEntities();
+			
+			if(this.isFollower())
+			{
+				// a follower neither writes nor truncates anything, the followed process does that.
+				this.initializeFollowerState(storageInventory);
+				return idAnalysis;
+			}
 
 			// ensure transactions file before handling last file as truncation needs to write in it
 			this.ensureTransactionsFile(taskTimestamp, storageInventory, unregisteredEmptyLastFileNumber);
@@ -1019,24 +1536,130 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			return idAnalysis;
 		}
 
-		private long determineLastFileLength(
+		private StorageIndexCheckpoint readIndexCheckpoint(
+			final StorageInventory storageInventory        ,
 			final long             consistentStoreTimestamp,
-			final StorageInventory storageInventory
+			final long             lastFileLength
 		)
 		{
-			final StorageTransactionsAnalysis tFileAnalysis = storageInventory.transactionsFileAnalysis();
-
-			if(tFileAnalysis == null || tFileAnalysis.isEmpty())
+			if(!this.indexCheckpointSetup.isEnabled())
 			{
-				/*
-				 * if no transactions file was present, it must be assumed that the last file is consistent
-				 * (e.g. user manually deleted the transactions file in a consistent database)
-				 */
-				return storageInventory.dataFiles().values().last().size();
+				return null;
 			}
-			else if(tFileAnalysis.headFileLatestTimestamp() == consistentStoreTimestamp)
+			
+			final AFile                  file = this.fileProvider.provideIndexCheckpointFile(this.channelIndex());
+			final StorageIndexCheckpoint checkpoint;
+			try
 			{
-				return tFileAnalysis.headFileLatestLength();
+				// a follower does not write anything, the followed process completes its checkpoint itself.
+				if(!this.isFollower())
+				{
+					StorageIndexCheckpoint.Logic.completeWriting(
+						file,
+						this.fileProvider.provideIndexCheckpointTemporaryFile(this.channelIndex())
+					);
+				}
+				checkpoint = StorageIndexCheckpoint.Logic.read(file);
+			}
+			catch(final StorageExceptionIoReading e)
+			{
+				// an unreadable checkpoint is no problem, the data files are simply read completely.
+				return null;
+			}
+			
+			if(checkpoint == null)
+			{
+				return null;
+			}
+			if(this.isValidIndexCheckpoint(checkpoint, storageInventory, consistentStoreTimestamp, lastFileLength))
+			{
+				return checkpoint;
+			}
+			
+			checkpoint.release();
+			
+			return null;
+		}
+		
+		private boolean isValidIndexCheckpoint(
+			final StorageIndexCheckpoint checkpoint              ,
+			final StorageInventory       storageInventory        ,
+			final long                   consistentStoreTimestamp,
+			final long                   lastFileLength
+		)
+		{
+			final StorageTransactionsAnalysis tFileAnalysis = storageInventory.transactionsFileAnalysis();
+			
+			// without transactions entries, neither the checkpoint's store nor deleted files can be validated.
+			if(checkpoint.channelIndex() != this.channelIndex()
+				|| tFileAnalysis == null
+				|| tFileAnalysis.isEmpty()
+				|| checkpoint.storeTimestamp() > consistentStoreTimestamp
+			)
+			{
+				return false;
+			}
+			
+			final XGettingSequence<StorageDataInventoryFile> files          = storageInventory.dataFiles().values();
+			final StorageDataInventoryFile                   lastFile       = files.last();
+			final long                                       headFileNumber = checkpoint.headFileNumber();
+			if(lastFile.number() < headFileNumber)
+			{
+				return false;
+			}
+			
+			for(final StorageDataInventoryFile file : files)
+			{
+				if(file.number() > headFileNumber)
+				{
+					// files created after the checkpoint are read completely, anyway.
+					break;
+				}
+				
+				final long checkpointLength = checkpoint.fileLength(file.number());
+				if(checkpointLength < 0)
+				{
+					// a file unknown to the checkpoint must have been deleted before the checkpoint was written.
+					final StorageTransactionEntry entry = tFileAnalysis.transactionsFileEntries().get(file.number());
+					if(entry == null || !entry.isDeleted())
+					{
+						return false;
+					}
+					continue;
+				}
+				
+				// the checkpoint's head file may have grown since, all older files must be unchanged.
+				final long availableLength = file == lastFile ? lastFileLength : file.size();
+				if(file.number() == headFileNumber
+					? availableLength < checkpointLength
+					: availableLength != checkpointLength
+				)
+				{
+					return false;
+				}
+			}
+			
+			return true;
+		}
+
+		private long determineLastFileLength(
+			final long             consistentStoreTimestamp,
+			final StorageInventory storageInventory
+		)
+		{
+			final StorageTransactionsAnalysis tFileAnalysis = storageInventory.transactionsFileAnalysis();
+
+			if(tFileAnalysis == null || tFileAnalysis.isEmpty())
+			{
+				/*
+				 * if no transactions file was present, it must be assumed that the last file is consistent
+				 * (e.g. user manually deleted the transactions file in a consistent database)
+				 */
+				return storageInventory.dataFiles().values().last().size();
+			}
+			else if(tFileAnalysis.headFileLatestTimestamp() == consistentStoreTimestamp)
+			{
+				return tFileAnalysis.headFileLatestLength();
 			}
 			else if(tFileAnalysis.headFileLastConsistentStoreTimestamp() == consistentStoreTimestamp)
 			{
@@ -1166,6 +1789,8 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			final long                headFileNewTotalLength
 		)
 		{
+			this.lastStoreTimestamp = timestamp;
+			
 			this.entryBufferStore.clear();
 			StorageTransactionsAnalysis.Logic.setEntryStore(
 				this.entryBufferStoreAddress,
@@ -1203,106 +1828,831 @@ public interface StorageFileManager extends StorageChannelResetablePart
 				sourcefileOffset
 			);
 			
-			this.writer.writeTransactionEntryTransfer(
-				this.fileTransactions,
-				this.entryBufferWrapTransfer,
-				sourceFile,
-				sourcefileOffset,
-				copyLength
-			);
-//			DEBUGStorage.println(this.channelIndex + " written transfer entry");
+			this.writer.writeTransactionEntryTransfer(
+				this.fileTransactions,
+				this.entryBufferWrapTransfer,
+				sourceFile,
+				sourcefileOffset,
+				copyLength
+			);
+//			DEBUGStorage.println(this.channelIndex + " written transfer entry");
+		}
+
+		private void writeTransactionsEntryFileDeletion(
+			final StorageLiveDataFile.Default dataFile ,
+			final long                        timestamp
+		)
+		{
+			this.entryBufferFileDeletion.clear();
+			StorageTransactionsAnalysis.Logic.setEntryFileDeletion(
+				this.entryBufferFileDeletionAddress,
+				dataFile.totalLength()             ,
+				timestamp                          ,
+				dataFile.number()
+			);
+			this.writer.writeTransactionEntryDelete(this.fileTransactions, this.entryBufferWrapFileDeletion, dataFile);
+		}
+
+		private void writeTransactionsEntryFileTruncation(
+			final StorageLiveDataFile.Default lastFile ,
+			final long                        timestamp,
+			final long                        newLength
+		)
+		{
+			this.entryBufferFileTruncation.clear();
+			StorageTransactionsAnalysis.Logic.setEntryFileTruncation(
+				this.entryBufferFileTruncationAddress,
+				newLength                            ,
+				timestamp                            ,
+				lastFile.number()                    ,
+				lastFile.size()
+			);
+			this.writer.writeTransactionEntryTruncate(this.fileTransactions, this.entryBufferWrapFileTruncation, lastFile, newLength);
+		}
+
+		private void setTransactionsFile(final StorageLiveTransactionsFile transactionsFile)
+		{
+			this.fileTransactions = transactionsFile;
+			
+			transactionsFile.registerUsage(this);
+		}
+		
+		final void clearStandardByteBuffer()
+		{
+			this.standardByteBuffer.clear();
+		}
+
+		@Override
+		public final void reset()
+		{
+			/* Note:
+			 * (see field declarations)
+             * 1.0) all final fields don't have to (can't) be resetted. Obviously.
+             * 1.1) entryBuffers don't have to be resetted since they get filled anew for every write.
+			 */
+			
+			// 2.0) final references to mutable instances
+			this.clearStandardByteBuffer();
+			
+			// 3.X) mutable fields and variable length content
+			this.clearUncommittedDataLength();
+			this.clearCompressedChunks();
+			this.clearDecompressionBuffer();
+			this.clearFollowerState();
+			this.clearIndexCheckpointWriter();
+			this.clearRegisteredFiles();
+			
+			// at this point, it is either 0 already or it won't matter since everything has been cleared.
+			this.pendingFileDeletes = 0;
+			
+			this.lastStoreTimestamp               = 0;
+			this.indexCheckpointStoreTimestamp    = 0;
+			this.indexCheckpointTime              = 0;
+			this.transactionsFileRollingRetrySize = 0;
+		}
+		
+		@Override
+		public final void writeIndexCheckpoint()
+		{
+			final StorageIndexCheckpoint.Writer writer = this.indexCheckpointWriter;
+			if(writer != null && writer.storeTimestamp() != this.lastStoreTimestamp)
+			{
+				// a checkpoint covering the latest store replaces the outdated one being written.
+				this.clearIndexCheckpointWriter();
+			}
+			
+			this.writeIndexCheckpoint(Long.MAX_VALUE);
+		}
+		
+		@Override
+		public final boolean indexCheckpointCheck(final long nanoTimeBudgetBound)
+		{
+			if(this.indexCheckpointWriter == null
+				&& (this.lastStoreTimestamp == this.indexCheckpointStoreTimestamp
+				|| System.currentTimeMillis() - this.indexCheckpointTime < this.indexCheckpointSetup.checkpointIntervalMs())
+			)
+			{
+				return true;
+			}
+			
+			return this.writeIndexCheckpoint(nanoTimeBudgetBound);
+		}
+		
+		private boolean writeIndexCheckpoint(final long nanoTimeBudgetBound)
+		{
+			if(!this.indexCheckpointSetup.isEnabled()
+				|| this.isFollower()
+				|| this.headFile == null
+				|| this.uncommittedDataLength != 0
+			)
+			{
+				return true;
+			}
+			
+			if(this.indexCheckpointWriter == null)
+			{
+				// set before writing to not retry a failing write in every housekeeping cycle.
+				this.indexCheckpointTime = System.currentTimeMillis();
+				
+				this.indexCheckpointWriter = new StorageIndexCheckpoint.Writer(
+					this.fileProvider.provideIndexCheckpointFile(this.channelIndex())         ,
+					this.fileProvider.provideIndexCheckpointTemporaryFile(this.channelIndex()),
+					this.channelIndex()                                                       ,
+					this.lastStoreTimestamp                                                   ,
+					this.headFile
+				);
+			}
+			
+			final StorageIndexCheckpoint.Writer writer = this.indexCheckpointWriter;
+			final boolean                       completed;
+			try
+			{
+				completed = writer.write(nanoTimeBudgetBound);
+			}
+			catch(final RuntimeException e)
+			{
+				// the writer has discarded its incomplete checkpoint itself.
+				this.indexCheckpointWriter = null;
+				throw e;
+			}
+			if(!completed)
+			{
+				return false;
+			}
+			
+			this.indexCheckpointWriter         = null;
+			this.indexCheckpointStoreTimestamp = writer.storeTimestamp();
+			
+			return true;
+		}
+		
+		private void clearIndexCheckpointWriter()
+		{
+			if(this.indexCheckpointWriter != null)
+			{
+				this.indexCheckpointWriter.abort();
+				this.indexCheckpointWriter = null;
+			}
+		}
+		
+		@Override
+		public final boolean transactionsFileRollingCheck()
+		{
+			final StorageLiveTransactionsFile transactionsFile = this.fileTransactions;
+			if(transactionsFile == null || !this.writeController.isFileDeletionEnabled())
+			{
+				return true;
+			}
+			
+			final long size = transactionsFile.size();
+			if(size <= this.transactionsFileRollingSetup.maximumFileSize()
+				|| size <= this.transactionsFileRollingRetrySize
+				|| this.isUsedByOthers(transactionsFile)
+			)
+			{
+				return true;
+			}
+			
+			// set before rolling to not retry a failing rolling in every housekeeping cycle.
+			this.transactionsFileRollingRetrySize = size + this.transactionsFileRollingSetup.maximumFileSize();
+			this.rollTransactionsFile(transactionsFile);
+			this.transactionsFileRollingRetrySize = 0;
+			
+			return true;
+		}
+		
+		private boolean isUsedByOthers(final StorageLiveTransactionsFile transactionsFile)
+		{
+			/*
+			 * Other users (i.e. the backup) only register themselves from within the channel's thread, while
+			 * the file gets written, so the usage cannot increase concurrently.
+			 */
+			transactionsFile.unregisterUsage(this);
+			final boolean hasOtherUsers = transactionsFile.hasUsers();
+			transactionsFile.registerUsage(this);
+			
+			return hasOtherUsers;
+		}
+		
+		private void rollTransactionsFile(final StorageLiveTransactionsFile transactionsFile)
+		{
+			final StorageTransactionsAnalysis analysis = transactionsFile
+				.processBy(new EntryAggregator(this.channelIndex()))
+				.yield(transactionsFile)
+			;
+			if(analysis.isEmpty())
+			{
+				return;
+			}
+			
+			final AFile      rollingFile = this.fileProvider.provideTransactionsRollingFile(this.channelIndex());
+			final ByteBuffer entries     = StorageTransactionsAnalysis.Logic.createCompactedEntries(
+				analysis,
+				// a deleted file that still exists (e.g. pending deletion) requires its entries on startup.
+				entry -> this.fileProvider.provideDataFile(this.channelIndex(), entry.fileNumber()).exists(),
+				this.timestampProvider.currentNanoTimestamp()
+			);
+			try
+			{
+				AFS.executeWriting(rollingFile, wf ->
+				{
+					wf.ensureExists();
+					wf.truncate(0);
+					wf.writeBytes(entries);
+				});
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(entries);
+			}
+			
+			final StorageLiveTransactionsFile rolledFile = StorageLiveTransactionsFile.New(rollingFile, this.channelIndex());
+			try
+			{
+				final StorageTransactionsAnalysis rolledAnalysis = rolledFile
+					.processBy(new EntryAggregator(this.channelIndex()))
+					.yield(rolledFile)
+				;
+				if(!StorageTransactionsAnalysis.Logic.isCompactionOf(rolledAnalysis, analysis))
+				{
+					throw new StorageExceptionConsistency(
+						this.channelIndex() + " Rolled transactions file is inconsistent with " + transactionsFile
+					);
+				}
+			}
+			catch(final Exception e)
+			{
+				rolledFile.delete();
+				StorageClosableFile.close(rolledFile, e);
+				throw e;
+			}
+			rolledFile.close();
+			
+			/*
+			 * From here on, the rolling is completed on startup if it gets interrupted:
+			 * the rolled file is complete and replaces the transactions file as soon as that is removed.
+			 */
+			this.fileTransactions = null;
+			transactionsFile.unregisterUsageClosing(this, file ->
+				StorageFileWriter.deleteFile(file, this.writeController, this.fileProvider)
+			);
+			this.completeTransactionsFileRolling();
+			this.setTransactionsFile(this.createTransactionsFile());
+		}
+		
+		private void completeTransactionsFileRolling()
+		{
+			final AFile rollingFile = this.fileProvider.provideTransactionsRollingFile(this.channelIndex());
+			if(!rollingFile.exists())
+			{
+				return;
+			}
+			
+			final AFile transactionsFile = this.fileProvider.provideTransactionsFile(this.channelIndex());
+			if(transactionsFile.exists())
+			{
+				// rolling was interrupted before the transactions file was removed, so it is still valid.
+				AFS.executeWriting(rollingFile, AWritableFile::delete);
+				return;
+			}
+			
+			// rolling was interrupted after the transactions file was removed, so the rolled file replaces it.
+			AFS.executeWriting(rollingFile, rf ->
+				AFS.executeWriting(transactionsFile, tf ->
+					rf.moveTo(tf)
+				)
+			);
+		}
+
+		final void handleLastFile(
+			final StorageLiveDataFile.Default lastFile      ,
+			final long                        lastFileLength
+		)
+		{
+			if(lastFileLength != lastFile.size())
+			{
+//				XDebug.debugln(
+//					this.channelIndex()
+//					+ " last file initialization truncating "
+//					+ lastFile.file().getName()
+//					+ "(length " + lastFile.file().length()
+//					+ ") at " + lastFileLength
+//				);
+				
+//				DEBUGStorage.println(this.channelIndex + " truncating last file to " + lastFileLength + " " + lastFile);
+				// reaching here means in any case that the file has to be truncated and its header must be updated
+
+				final long timestamp = this.timestampProvider.currentNanoTimestamp();
+				
+				// write truncation entry (BEFORE the actual truncate)
+				this.writeTransactionsEntryFileTruncation(lastFile, timestamp, lastFileLength);
+
+				// (20.06.2014 TM)TODO: truncator function to give a chance to evaluate / rescue the doomed data
+				this.writer.truncate(lastFile, lastFileLength, this.fileProvider);
+			}
+		}
+		
+		private AFile provideFollowedTransactionsFile()
+		{
+			final AFile transactionsFile = this.fileProvider.provideTransactionsFile(this.channelIndex());
+			if(transactionsFile.exists())
+			{
+				return transactionsFile;
+			}
+			
+			// the followed process is in the middle of rolling its transactions file, the rolled one is valid.
+			return this.fileProvider.provideTransactionsRollingFile(this.channelIndex());
+		}
+		
+		private void initializeFollowerState(final StorageInventory storageInventory)
+		{
+			final StorageTransactionsAnalysis transactionsAnalysis = storageInventory.transactionsFileAnalysis();
+			if(transactionsAnalysis != null)
+			{
+				// the followed transactions file is read anew for every update, see #followerReadTransactions.
+				transactionsAnalysis.transactionsFile().close();
+			}
+			
+			// the first update reads all entries again, skipping everything that is already registered.
+			this.clearFollowerState();
+		}
+		
+		final void clearFollowerState()
+		{
+			this.followerDiscardPreparedEntries();
+			this.followerEntries.clear();
+			
+			this.followerPosition       = 0;
+			this.followerEntryPosition  = -1;
+			this.followerEntryTimestamp = 0;
+			this.followerHeadFileNumber = -1;
+			this.followerStoreTimestamp = 0;
+		}
+		
+		/**
+		 * Reads the complete entries appended to the followed transactions file since the last call.
+		 * Does not change any state used by the channel's task processing, so no locking is required.
+		 * 
+		 * @return the timestamp of the latest store entry read so far.
+		 */
+		final long followerReadTransactions()
+		{
+			final AFile file = this.provideFollowedTransactionsFile();
+			if(!file.exists())
+			{
+				// the rolled transactions file is just being moved into place, so the next update will read it.
+				return this.followerStoreTimestamp;
+			}
+			
+			final AReadableFile rFile = file.useReading();
+			try
+			{
+				this.followerReadTransactions(rFile);
+			}
+			finally
+			{
+				// the followed process must be able to replace the file when rolling it.
+				rFile.close();
+				rFile.release();
+			}
+			
+			return this.followerStoreTimestamp;
+		}
+		
+		private void followerReadTransactions(final AReadableFile file)
+		{
+			final long size = file.size();
+			if(!this.isFollowedTransactionsFile(file, size))
+			{
+				// the transactions file has been rolled. Entries of already registered states are skipped again.
+				this.followerEntries.clear();
+				this.followerPosition       = 0;
+				this.followerEntryPosition  = -1;
+				this.followerHeadFileNumber = -1;
+			}
+			
+			final ByteBuffer buffer  = XMemory.allocateDirectNativeDefault();
+			final long       address = XMemory.getDirectByteBufferAddress(buffer);
+			try
+			{
+				while(this.followerPosition < size)
+				{
+					buffer.clear().limit(X.checkArrayRange(Math.min(buffer.capacity(), size - this.followerPosition)));
+					final long readCount = file.readBytes(buffer, this.followerPosition);
+					final long progress  = this.readFollowedEntries(address, readCount);
+					if(progress == 0)
+					{
+						// an incomplete entry at the end is currently being written and read again next time.
+						break;
+					}
+					this.followerPosition += progress;
+				}
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+		
+		private boolean isFollowedTransactionsFile(final AReadableFile file, final long size)
+		{
+			if(size < this.followerPosition)
+			{
+				return false;
+			}
+			if(this.followerEntryPosition < 0)
+			{
+				return true;
+			}
+			
+			// a rolled file can have any size, so the last read entry must still be at its position.
+			final ByteBuffer buffer = XMemory.allocateDirectNative(StorageTransactionsAnalysis.Logic.LENGTH_STORE);
+			try
+			{
+				if(file.readBytes(buffer, this.followerEntryPosition) != buffer.capacity())
+				{
+					return false;
+				}
+				
+				final long address = XMemory.getDirectByteBufferAddress(buffer);
+				return StorageTransactionsAnalysis.Logic.getEntryLength(address) > 0
+					&& StorageTransactionsAnalysis.Logic.getEntryTimestamp(address) == this.followerEntryTimestamp
+				;
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+		
+		private long readFollowedEntries(final long address, final long length)
+		{
+			long offset = 0;
+			while(offset < length)
+			{
+				final int entryLength = StorageTransactionsAnalysis.Logic.getEntryLength(address + offset);
+				if(entryLength == 0)
+				{
+					throw new StorageExceptionConsistency(
+						this.channelIndex() + " Zero length transactions entry at " + (this.followerPosition + offset)
+					);
+				}
+				if(offset + Math.abs(entryLength) > length)
+				{
+					break;
+				}
+				if(entryLength > 0)
+				{
+					// negative lengths are comments or gaps and are skipped.
+					this.readFollowedEntry(address + offset, this.followerPosition + offset);
+				}
+				offset += Math.abs(entryLength);
+			}
+			
+			return offset;
+		}
+		
+		private void readFollowedEntry(final long address, final long position)
+		{
+			final byte type      = StorageTransactionsAnalysis.Logic.getEntryType(address);
+			final long timestamp = StorageTransactionsAnalysis.Logic.getEntryTimestamp(address);
+			switch(type)
+			{
+				case StorageTransactionsAnalysis.Logic.TYPE_FILE_CREATION:
+				{
+					this.followerHeadFileNumber = StorageTransactionsAnalysis.Logic.getFileNumber(address);
+					this.addFollowedEntry(type, this.followerHeadFileNumber, address, timestamp);
+					break;
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_STORE:
+				{
+					this.followerStoreTimestamp = Math.max(this.followerStoreTimestamp, timestamp);
+					this.addFollowedEntry(type, this.followerHeadFileNumber, address, timestamp);
+					break;
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_TRANSFER:
+				{
+					this.addFollowedEntry(type, this.followerHeadFileNumber, address, timestamp);
+					break;
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_FILE_DELETION:
+				{
+					this.addFollowedEntry(type, StorageTransactionsAnalysis.Logic.getFileNumber(address), address, timestamp);
+					break;
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_FILE_TRUNCATION:
+				{
+					// truncations only ever remove uncommitted data, which is never followed in the first place.
+					break;
+				}
+				default:
+				{
+					throw new StorageExceptionConsistency(
+						this.channelIndex() + " Unknown transactions entry type " + type + " at " + position
+					);
+				}
+			}
+			
+			this.followerEntryPosition  = position ;
+			this.followerEntryTimestamp = timestamp;
+		}
+		
+		private void addFollowedEntry(final byte type, final long fileNumber, final long address, final long timestamp)
+		{
+			this.followerEntries.add(new FollowedEntry(
+				type,
+				fileNumber,
+				StorageTransactionsAnalysis.Logic.getFileLength(address),
+				timestamp
+			));
+		}
+		
+		/**
+		 * Reads the data of all read entries up to the first store entry newer than the passed timestamp
+		 * in preparation for {@link #followerApplyPreparedEntries()}.
+		 * Does not change any state used by the channel's task processing, so no locking is required.
+		 * 
+		 * @param storeTimestampLimit the latest store timestamp that is completed in all channels.
+		 * @param unknownTypeIds collects the ids of types that the read data refers to but that are not known yet.
+		 * 
+		 * @return whether there are prepared entries to be applied.
+		 */
+		final boolean followerPrepareEntries(final long storeTimestampLimit, final EqHashEnum<Long> unknownTypeIds)
+		{
+			this.followerDiscardPreparedEntries();
+			
+			int count = 0;
+			final EqHashEnum<Long> deletedFileNumbers = EqHashEnum.New();
+			for(final FollowedEntry entry : this.followerEntries)
+			{
+				if(entry.type == StorageTransactionsAnalysis.Logic.TYPE_STORE && entry.timestamp > storeTimestampLimit)
+				{
+					break;
+				}
+				count++;
+				
+				if(entry.type == StorageTransactionsAnalysis.Logic.TYPE_FILE_DELETION)
+				{
+					deletedFileNumbers.add(entry.fileNumber);
+				}
+			}
+			
+			for(int i = 0; i < count; i++)
+			{
+				final FollowedEntry entry = this.followerEntries.at(i);
+				
+				/*
+				 * Deleting is done when applying, after all entities have been transferred out of the file.
+				 * The data of files deleted by the same update may already be gone, but it is not needed anyway:
+				 * the live entities have been transferred to newer files and are registered from there.
+				 */
+				if(entry.type == StorageTransactionsAnalysis.Logic.TYPE_FILE_DELETION
+					|| deletedFileNumbers.contains(entry.fileNumber)
+				)
+				{
+					continue;
+				}
+				
+				final StorageLiveDataFile.Default file = this.provideFollowedFile(entry);
+				if(file != null)
+				{
+					this.prepareFollowedData(file, entry.fileLength, unknownTypeIds);
+				}
+			}
+			this.followerPreparedCount = count;
+			
+			return count > 0;
+		}
+		
+		private StorageLiveDataFile.Default provideFollowedFile(final FollowedEntry entry)
+		{
+			final StorageLiveDataFile.Default file = this.lookupFollowedFile(entry.fileNumber);
+			if(file != null
+				|| entry.type != StorageTransactionsAnalysis.Logic.TYPE_FILE_CREATION
+				|| entry.fileNumber <= this.lastFollowedFileNumber()
+			)
+			{
+				// unknown files older than the newest one have already been deleted. Their data is irrelevant.
+				return file;
+			}
+			
+			final StorageLiveDataFile.Default newFile = this.createLiveDataFile(
+				this.fileProvider.provideDataFile(this.channelIndex(), entry.fileNumber),
+				this.channelIndex(),
+				entry.fileNumber
+			);
+			this.followerNewFiles.add(newFile);
+			
+			return newFile;
+		}
+		
+		private long lastFollowedFileNumber()
+		{
+			return this.followerNewFiles.isEmpty()
+				? this.headFile.number()
+				: this.followerNewFiles.last().number()
+			;
+		}
+		
+		private StorageLiveDataFile.Default lookupFollowedFile(final long fileNumber)
+		{
+			for(final StorageLiveDataFile.Default file : this.followerNewFiles)
+			{
+				if(file.number() == fileNumber)
+				{
+					return file;
+				}
+			}
+			
+			// newest files first, as nearly all entries refer to the head file.
+			StorageLiveDataFile.Default file = this.headFile;
+			do
+			{
+				if(file.number() == fileNumber)
+				{
+					return file;
+				}
+			}
+			while((file = file.prev) != this.headFile);
+			
+			return null;
 		}
-
-		private void writeTransactionsEntryFileDeletion(
-			final StorageLiveDataFile.Default dataFile ,
-			final long                        timestamp
-		)
+		
+		private long followedFileLength(final StorageLiveDataFile.Default file)
 		{
-			this.entryBufferFileDeletion.clear();
-			StorageTransactionsAnalysis.Logic.setEntryFileDeletion(
-				this.entryBufferFileDeletionAddress,
-				dataFile.totalLength()             ,
-				timestamp                          ,
-				dataFile.number()
-			);
-			this.writer.writeTransactionEntryDelete(this.fileTransactions, this.entryBufferWrapFileDeletion, dataFile);
+			long length = file.totalLength();
+			for(final FollowedChunk chunk : this.followerChunks)
+			{
+				if(chunk.file == file)
+				{
+					length += chunk.data.limit();
+				}
+			}
+			
+			return length;
 		}
-
-		private void writeTransactionsEntryFileTruncation(
-			final StorageLiveDataFile.Default lastFile ,
-			final long                        timestamp,
-			final long                        newLength
+		
+		private void prepareFollowedData(
+			final StorageLiveDataFile.Default file          ,
+			final long                        fileLength    ,
+			final EqHashEnum<Long>              unknownTypeIds
 		)
 		{
-			this.entryBufferFileTruncation.clear();
-			StorageTransactionsAnalysis.Logic.setEntryFileTruncation(
-				this.entryBufferFileTruncationAddress,
-				newLength                            ,
-				timestamp                            ,
-				lastFile.number()                    ,
-				lastFile.size()
-			);
-			this.writer.writeTransactionEntryTruncate(this.fileTransactions, this.entryBufferWrapFileTruncation, lastFile, newLength);
+			for(long position = this.followedFileLength(file); position < fileLength;)
+			{
+				position += this.prepareFollowedChunk(
+					file,
+					position,
+					Math.min(fileLength - position, FOLLOWER_CHUNK_LENGTH),
+					unknownTypeIds
+				);
+			}
 		}
-
-		private void setTransactionsFile(final StorageLiveTransactionsFile transactionsFile)
+		
+		private long prepareFollowedChunk(
+			final StorageLiveDataFile.Default file          ,
+			final long                        position      ,
+			final long                        maximumLength ,
+			final EqHashEnum<Long>              unknownTypeIds
+		)
 		{
-			this.fileTransactions = transactionsFile;
+			final ByteBuffer buffer = XMemory.allocateDirectNative(maximumLength);
+			if(file.readBytes(buffer, position, maximumLength) != maximumLength)
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+				throw new StorageExceptionConsistency(
+					this.channelIndex() + " Followed data file " + file.number() + " is shorter than "
+					+ (position + maximumLength)
+				);
+			}
 			
-			transactionsFile.registerUsage(this);
+			// only complete entities are prepared, the remaining ones are handled by the next chunk.
+			final long address = XMemory.getDirectByteBufferAddress(buffer);
+			long length = 0;
+			while(maximumLength - length >= Binary.entityHeaderLength())
+			{
+				final long entityLength = Binary.getEntityLengthRawValue(address + length);
+				if(entityLength < Binary.entityHeaderLength())
+				{
+					XMemory.deallocateDirectByteBuffer(buffer);
+					throw new StorageExceptionConsistency(
+						this.channelIndex() + " Invalid entity length " + entityLength + " in followed data file "
+						+ file.number() + " at " + (position + length)
+					);
+				}
+				if(length + entityLength > maximumLength)
+				{
+					if(length == 0)
+					{
+						// a single entity larger than the standard chunk length gets its own chunk.
+						XMemory.deallocateDirectByteBuffer(buffer);
+						return this.prepareFollowedChunk(file, position, entityLength, unknownTypeIds);
+					}
+					break;
+				}
+				
+				final long typeId = StorageDataCompression.entityTypeId(address + length);
+				if(this.entityCache.typeDictionary().lookupTypeHandler(typeId) == null)
+				{
+					unknownTypeIds.add(typeId);
+				}
+				length += entityLength;
+			}
+			
+			if(length == 0)
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+				throw new StorageExceptionConsistency(
+					this.channelIndex() + " Incomplete entity in followed data file " + file.number()
+					+ " at " + position
+				);
+			}
+			
+			buffer.limit(X.checkArrayRange(length));
+			this.followerChunks.add(new FollowedChunk(file, position, buffer));
+			
+			return length;
 		}
 		
-		final void clearStandardByteBuffer()
+		/**
+		 * Discards all data prepared by {@link #followerPrepareEntries(long, EqHashEnum)}, e.g. because of unknown types.
+		 * The read entries are kept to be prepared again.
+		 */
+		final void followerDiscardPreparedEntries()
 		{
-			this.standardByteBuffer.clear();
+			for(final FollowedChunk chunk : this.followerChunks)
+			{
+				XMemory.deallocateDirectByteBuffer(chunk.data);
+			}
+			this.followerChunks.clear();
+			
+			for(final StorageLiveDataFile.Default newFile : this.followerNewFiles)
+			{
+				newFile.unregisterUsageClosing(this, null);
+			}
+			this.followerNewFiles.clear();
+			
+			this.followerPreparedCount = 0;
 		}
-
-		@Override
-		public final void reset()
+		
+		/**
+		 * Registers the data prepared by {@link #followerPrepareEntries(long, EqHashEnum)} the same way as
+		 * a store by this process would, deletes all followed deleted files and their entities
+		 * and removes the prepared entries. Must be called under the channel's entity lock.
+		 */
+		final void followerApplyPreparedEntries() throws InterruptedException
 		{
-			/* Note:
-			 * (see field declarations)
-             * 1.0) all final fields don't have to (can't) be resetted. Obviously.
-             * 1.1) entryBuffers don't have to be resetted since they get filled anew for every write.
-			 */
+			// new files are created in ascending order and the newest one becomes the head file.
+			for(final StorageLiveDataFile.Default newFile : this.followerNewFiles)
+			{
+				this.registerStorageHeadFile(newFile);
+			}
+			this.followerNewFiles.clear();
 			
-			// 2.0) final references to mutable instances
-			this.clearStandardByteBuffer();
+			if(!this.followerChunks.isEmpty())
+			{
+				this.entityCache.registerPendingStoreUpdate();
+				for(final FollowedChunk chunk : this.followerChunks)
+				{
+					this.entityCache.postStorePutEntities(
+						new ByteBuffer[]{chunk.data},
+						new long[]{chunk.position},
+						chunk.file
+					);
+					chunk.file.increaseContentLength(chunk.data.limit());
+				}
+			}
 			
-			// 3.X) mutable fields and variable length content
-			this.clearUncommittedDataLength();
-			this.clearRegisteredFiles();
+			// deleted files can only contain dead entities, the live ones have been transferred out before.
+			for(int i = 0; i < this.followerPreparedCount; i++)
+			{
+				final FollowedEntry entry = this.followerEntries.at(i);
+				if(entry.type == StorageTransactionsAnalysis.Logic.TYPE_FILE_DELETION)
+				{
+					this.deleteFollowedFile(entry.fileNumber);
+				}
+			}
 			
-			// at this point, it is either 0 already or it won't matter since everything has been cleared.
-			this.pendingFileDeletes = 0;
+			this.followerEntries.removeRange(0, this.followerPreparedCount);
+			this.followerDiscardPreparedEntries();
 		}
-
-		final void handleLastFile(
-			final StorageLiveDataFile.Default lastFile      ,
-			final long                        lastFileLength
-		)
+		
+		private void deleteFollowedFile(final long fileNumber)
 		{
-			if(lastFileLength != lastFile.size())
+			final StorageLiveDataFile.Default file = this.lookupFollowedFile(fileNumber);
+			if(file == null || file == this.headFile)
 			{
-//				XDebug.debugln(
-//					this.channelIndex()
-//					+ " last file initialization truncating "
-//					+ lastFile.file().getName()
-//					+ "(length " + lastFile.file().length()
-//					+ ") at " + lastFileLength
-//				);
-				
-//				DEBUGStorage.println(this.channelIndex + " truncating last file to " + lastFileLength + " " + lastFile);
-				// reaching here means in any case that the file has to be truncated and its header must be updated
-
-				final long timestamp = this.timestampProvider.currentNanoTimestamp();
-				
-				// write truncation entry (BEFORE the actual truncate)
-				this.writeTransactionsEntryFileTruncation(lastFile, timestamp, lastFileLength);
-
-				// (20.06.2014 TM)TODO: truncator function to give a chance to evaluate / rescue the doomed data
-				this.writer.truncate(lastFile, lastFileLength, this.fileProvider);
+				// already deleted, e.g. before this process has been started. The head file is never deleted.
+				return;
+			}
+			
+			this.entityCache.deleteFileEntities(file);
+			if(this.fileCleanupCursor == file)
+			{
+				this.fileCleanupCursor = file.next;
 			}
+			file.detach();
+			file.unregisterUsageClosing(this, null);
 		}
 		
 		@Override
@@ -1322,6 +2672,89 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			});
 		}
 		
+		@Override
+		public StorageSnapshot.ChannelSnapshot captureSnapshot(
+			final StorageFileUser fileUser       ,
+			final boolean         includeEntities
+		)
+		{
+			if(this.isFollower())
+			{
+				// a follower's files are deleted by the followed process, so they cannot be kept for a snapshot.
+				throw new StorageException("Snapshots cannot be captured by a follower.");
+			}
+			
+			final BulkList<StorageLiveDataFile> dataFiles = BulkList.New();
+			this.iterateStorageFiles(dataFiles);
+			
+			final StorageLiveDataFile[] files   = dataFiles.toArray(StorageLiveDataFile.class);
+			final long[]                lengths = new long[files.length];
+			
+			// called in the channel thread between two tasks, so all lengths belong to completely processed stores.
+			this.fileTransactions.registerUsage(fileUser);
+			for(int i = 0; i < files.length; i++)
+			{
+				files[i].registerUsage(fileUser);
+				lengths[i] = files[i].totalLength();
+				
+				/* Other threads reading the captured data must use the channel's access to the file.
+				 * Opening it themselves would make the file unwritable for the channel.
+				 */
+				((StorageLiveDataFile.Default)files[i]).ensureWritable();
+			}
+			
+			return StorageSnapshot.ChannelSnapshot(
+				this.channelIndex()         ,
+				fileUser                    ,
+				this.fileTransactions       ,
+				this.fileTransactions.size(),
+				files                       ,
+				lengths                     ,
+				includeEntities
+					? captureEntities(files)
+					: null
+			);
+		}
+		
+		private static StorageSnapshot.CapturedEntities[] captureEntities(final StorageLiveDataFile[] files)
+		{
+			final StorageSnapshot.CapturedEntities[] capturedEntities =
+				new StorageSnapshot.CapturedEntities[files.length]
+			;
+			for(int i = 0; i < files.length; i++)
+			{
+				capturedEntities[i] = captureEntities((StorageLiveDataFile.Default)files[i]);
+			}
+			
+			return capturedEntities;
+		}
+		
+		private static StorageSnapshot.CapturedEntities captureEntities(final StorageLiveDataFile.Default file)
+		{
+			int entityCount = 0;
+			for(StorageEntity.Default e = file.head.fileNext; e != file.tail; e = e.fileNext)
+			{
+				entityCount++;
+			}
+			
+			final long[] objectIds = new long[entityCount];
+			final long[] typeIds   = new long[entityCount];
+			final long[] positions = new long[entityCount];
+			final int[]  lengths   = new int[entityCount];
+			
+			// a file's entity chain is always in the order of the entities' positions.
+			int i = 0;
+			for(StorageEntity.Default e = file.head.fileNext; e != file.tail; e = e.fileNext, i++)
+			{
+				objectIds[i] = e.objectId();
+				typeIds  [i] = e.typeId();
+				positions[i] = e.storagePosition;
+				lengths  [i] = e.length;
+			}
+			
+			return StorageSnapshot.CapturedEntities(objectIds, typeIds, positions, lengths);
+		}
+		
 		private static FileStatistics createFileStatistics(final StorageLiveDataFile.Default file)
 		{
 			return FileStatistics.New(
@@ -1448,7 +2881,12 @@ public interface StorageFileManager extends StorageChannelResetablePart
 						continue;
 					}
 				}
-				else if(fileDissolver.needsDissolving(this.fileCleanupCursor))
+				/*
+				 * A file no longer used by this instance has already been dissolved and is only kept for others
+				 * (e.g. the backup or a snapshot) until it can be deleted. Dissolving it again would release its
+				 * usage twice.
+				 */
+				else if(this.fileCleanupCursor.isUsedBy(this) && fileDissolver.needsDissolving(this.fileCleanupCursor))
 				{
 					if(this.fileCleanupCursor == this.headFile)
 					{
@@ -1528,6 +2966,112 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			return false;
 		}
 
+		/**
+		 * Transfers the live entities of the data file that needs dissolving most urgently (the one with the lowest
+		 * fill ratio) to the head file until at least the passed length has been transferred or the file is dissolved
+		 * completely. Files pending deletion are deleted first if possible.
+		 * <p>
+		 * Must only be called under the channel's entity lock and while no store is in progress.
+		 * 
+		 * @param maximumLength the length after which no further entity chain is transferred.
+		 * 
+		 * @return the number of transferred bytes or -1 if no data file needs compaction.
+		 */
+		final long compactionStep(final long maximumLength)
+		{
+			if(this.headFile == null || this.importHelper != null || !this.isFileCleanupEnabled())
+			{
+				// not initialized, reset or importing, nothing to do for the time being.
+				return -1;
+			}
+			
+			if(this.pendingFileDeletes > 0)
+			{
+				this.deleteUnusedPendingFiles();
+			}
+			
+			final StorageLiveDataFile.Default file = this.selectCompactionFile();
+			if(file == null)
+			{
+				return -1;
+			}
+			
+			if(file == this.headFile)
+			{
+				this.createNextStorageFile();
+			}
+			this.checkForNewFile();
+			
+			long transferredLength = 0;
+			while(file.hasContent() && transferredLength < maximumLength)
+			{
+				final long oldDataLength = file.dataLength();
+				this.transferOneChainToHeadFile(file);
+				transferredLength += oldDataLength - file.dataLength();
+			}
+			
+			if(!file.hasContent())
+			{
+				// the regular cleanup cursor must not remain on a removed file
+				if(this.fileCleanupCursor == file)
+				{
+					this.fileCleanupCursor = file.next;
+				}
+				
+				if(!file.unregisterUsageClosingData(this, this.deleter))
+				{
+					this.pendingFileDeletes++;
+				}
+			}
+			
+			// a dissolved empty file is progress, too, even if nothing had to be transferred.
+			return Math.max(transferredLength, 1);
+		}
+		
+		private StorageLiveDataFile.Default selectCompactionFile()
+		{
+			StorageLiveDataFile.Default selected = null;
+			
+			final StorageLiveDataFile.Default head = this.headFile;
+			StorageLiveDataFile.Default file = head;
+			do
+			{
+				file = file.next;
+				
+				// files no longer used by this instance are dissolved already and only kept for their other users
+				if(!file.isUsedBy(this) || !this.dataFileEvaluator.needsDissolving(file))
+				{
+					continue;
+				}
+				if(selected == null || file.dataFillRatio() < selected.dataFillRatio())
+				{
+					selected = file;
+				}
+			}
+			while(file != head);
+			
+			return selected;
+		}
+		
+		private void deleteUnusedPendingFiles()
+		{
+			StorageLiveDataFile.Default file = this.headFile.next;
+			while(file != this.headFile && this.pendingFileDeletes > 0)
+			{
+				// must be queried before a deletion detaches the file
+				final StorageLiveDataFile.Default next = file.next;
+				if(!file.hasUsers())
+				{
+					if(this.fileCleanupCursor == file)
+					{
+						this.fileCleanupCursor = next;
+					}
+					file.executeIfUnsuedData(this.pendingDeleter);
+				}
+				file = next;
+			}
+		}
+
 		private void deleteFile(final StorageLiveDataFile.Default file)
 		{
 //			DEBUGStorage.println(this.channelIndex + " deleting " + file);
@@ -1611,6 +3155,9 @@ public interface StorageFileManager extends StorageChannelResetablePart
 
 		final void prepareImport()
 		{
+			// importing writes data files just like storing does, e.g. not in follower mode.
+			this.writeController.validateIsStoringEnabled();
+			
 			this.importHelper = new ImportHelper(this.headFile);
 			try
 			{
@@ -1626,7 +3173,7 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		public void copyData(final StorageImportSourceFile importFile)
 		{
 //			DEBUGStorage.println(this.channelIndex + " processing import source file " + importFile);
-			importFile.iterateBatches(this.importHelper.setFile(importFile));
+			importFile.iterateBatches(this.importHelper.setFile(importFile.dataFile()));
 		}
 
 		public void commitImport(final long taskTimestamp)
@@ -1640,14 +3187,13 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			final long oldTotalLength = this.headFile.totalLength();
 			      long loopFileLength = oldTotalLength;
 
-			// (05.01.2015 TM)TODO: batch copying must ensure that entity position limit of 2 GB is not exceeded
 			for(final StorageChannelImportBatch batch : this.importHelper.importBatches)
 			{
 				// register each entity in the batch (possibly just one)
 				for(StorageChannelImportEntity entity = batch.first(); entity != null; entity = entity.next())
 				{
 					final StorageEntity.Default actual = entityCache.putEntity(entity.objectId(), entity.type());
-					actual.updateStorageInformation(entity.length(), X.checkArrayRange(loopFileLength));
+					actual.updateStorageInformation(entity.length(), loopFileLength);
 					headFile.appendEntry(actual);
 					loopFileLength += entity.length();
 				}
@@ -1720,6 +3266,40 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			this.writer.delete(file, this.writeController, this.fileProvider);
 		}
 
+		static final class FollowedEntry
+		{
+			final byte type      ;
+			final long fileNumber;
+			final long fileLength;
+			final long timestamp ;
+			
+			FollowedEntry(final byte type, final long fileNumber, final long fileLength, final long timestamp)
+			{
+				super();
+				this.type       = type      ;
+				this.fileNumber = fileNumber;
+				this.fileLength = fileLength;
+				this.timestamp  = timestamp ;
+			}
+			
+		}
+		
+		static final class FollowedChunk
+		{
+			final StorageLiveDataFile.Default file    ;
+			final long                        position;
+			final ByteBuffer                  data    ;
+			
+			FollowedChunk(final StorageLiveDataFile.Default file, final long position, final ByteBuffer data)
+			{
+				super();
+				this.file     = file    ;
+				this.position = position;
+				this.data     = data    ;
+			}
+			
+		}
+
 		final class ImportHelper implements Consumer<StorageChannelImportBatch>
 		{
 			final StorageLiveDataFile.Default         preImportHeadFile;
@@ -92,6 +92,26 @@ public interface StorageFileNameProvider
 			return "sft"; // "storage file transactions"
 		}
 		
+		public static String defaultTransactionsRollingFileSuffix()
+		{
+			return "sftr"; // "storage file transactions rolling"
+		}
+		
+		public static String defaultIndexCheckpointFilePrefix()
+		{
+			return "index_";
+		}
+		
+		public static String defaultIndexCheckpointFileSuffix()
+		{
+			return "sfi"; // "storage file index"
+		}
+		
+		public static String defaultIndexCheckpointTemporaryFileSuffix()
+		{
+			return "sfit"; // "storage file index temporary"
+		}
+		
 		public static String defaultRescuedFileSuffix()
 		{
 			return "bak"; // "backup" - although admittedly, that might be a bit confusing with the BackupFile concept.
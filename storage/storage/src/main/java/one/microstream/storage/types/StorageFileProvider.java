@@ -514,6 +514,36 @@ public interface StorageFileProvider extends PersistenceTypeDictionaryIoHandler.
 			return file;
 		}
 
+		public AFile provideTransactionsRollingFile(final int channelIndex)
+		{
+			final ADirectory channelDirectory = this.provideChannelDirectory(channelIndex);
+			final String     fileName         = this.fileNameProvider.provideTransactionsFileName(channelIndex);
+			final String     fileType         = StorageFileNameProvider.Defaults.defaultTransactionsRollingFileSuffix();
+			final AFile      file             = channelDirectory.ensureFile(fileName, fileType);
+			
+			return file;
+		}
+
+		public AFile provideIndexCheckpointFile(final int channelIndex)
+		{
+			final ADirectory channelDirectory = this.provideChannelDirectory(channelIndex);
+			final String     fileName         = StorageFileNameProvider.Defaults.defaultIndexCheckpointFilePrefix() + channelIndex;
+			final String     fileType         = StorageFileNameProvider.Defaults.defaultIndexCheckpointFileSuffix();
+			final AFile      file             = channelDirectory.ensureFile(fileName, fileType);
+			
+			return file;
+		}
+
+		public AFile provideIndexCheckpointTemporaryFile(final int channelIndex)
+		{
+			final ADirectory channelDirectory = this.provideChannelDirectory(channelIndex);
+			final String     fileName         = StorageFileNameProvider.Defaults.defaultIndexCheckpointFilePrefix() + channelIndex;
+			final String     fileType         = StorageFileNameProvider.Defaults.defaultIndexCheckpointTemporaryFileSuffix();
+			final AFile      file             = channelDirectory.ensureFile(fileName, fileType);
+			
+			return file;
+		}
+
 		public AFile provideLockFile()
 		{
 			final AFile file = this.baseDirectory.ensureFile(this.fileNameProvider.lockFileName());
@@ -0,0 +1,592 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.X.notNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import one.microstream.afs.types.AFile;
+import one.microstream.collections.EqHashEnum;
+import one.microstream.collections.types.XGettingEnum;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceIdSet;
+import one.microstream.storage.exceptions.StorageException;
+import one.microstream.storage.exceptions.StorageExceptionIoReading;
+
+/**
+ * Follows the storage files written by another process on its own thread, see {@link StorageFollowerSetup}.
+ * <p>
+ * Every update reads the new transactions entries of all channels and the data they refer to without holding
+ * any lock. Only stores that are completed in all channels are followed. The read data is then applied by a
+ * {@link StorageRequestTaskFollowerUpdate} the same way as a store of this process would be. Data of types
+ * that are not known yet is deferred until {@link StorageTypeDictionaryUpdater} has made them known.
+ * <p>
+ * The followed process deletes data files after it has transferred their live entities to newer files, but the
+ * follower only learns about that with its next update. Loads of entities in such a file fail until then and are
+ * retried after the next update, see
+ * {@link #LoadRetrying(StorageRequestAcceptor, StorageFollower, StorageEventLogger)}.
+ */
+public interface StorageFollower extends Runnable
+{
+	public StorageFollower start();
+
+	public StorageFollower stop();
+
+	public boolean isRunning();
+
+	/**
+	 * Requests an update right away and waits until an update that has been started after the call is completed,
+	 * no matter if it succeeded or not.
+	 * 
+	 * @return whether such an update has been completed, {@code false} if the follower has been stopped.
+	 * 
+	 * @throws InterruptedException if the waiting thread has been interrupted.
+	 */
+	public boolean awaitUpdate() throws InterruptedException;
+
+
+
+	public static StorageFollower New(
+		final StorageChannel[]             channels             ,
+		final StorageTaskBroker            taskBroker           ,
+		final StorageFollowerSetup         setup                ,
+		final StorageTypeDictionaryUpdater typeDictionaryUpdater,
+		final StorageOperationController   operationController  ,
+		final StorageEventLogger           eventLogger
+	)
+	{
+		return new StorageFollower.Default(
+			notNull(channels)             ,
+			notNull(taskBroker)           ,
+			notNull(setup)                ,
+			notNull(typeDictionaryUpdater),
+			notNull(operationController)  ,
+			notNull(eventLogger)
+		);
+	}
+
+	/**
+	 * Wraps the passed {@link StorageRequestAcceptor} to retry loads that failed reading a data file, which can
+	 * happen if the followed process has deleted the file in the meantime. Every retry waits for the next update
+	 * of the passed follower. All other requests are passed through as they are.
+	 * 
+	 * @param acceptor the {@link StorageRequestAcceptor} to be wrapped.
+	 * @param follower the {@link StorageFollower} following the files the acceptor loads from.
+	 * @param eventLogger the {@link StorageEventLogger} to report retried loads to.
+	 * 
+	 * @return a new load retrying {@link StorageRequestAcceptor}.
+	 */
+	public static StorageRequestAcceptor LoadRetrying(
+		final StorageRequestAcceptor acceptor   ,
+		final StorageFollower        follower   ,
+		final StorageEventLogger     eventLogger
+	)
+	{
+		return new StorageFollower.LoadRetryingRequestAcceptor(
+			notNull(acceptor)   ,
+			notNull(follower)   ,
+			notNull(eventLogger)
+		);
+	}
+
+	public final class Default implements StorageFollower
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		// consecutive failed updates retried right away before waiting for the next update interval again.
+		private static final int MAXIMUM_IMMEDIATE_RETRIES = 3;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageChannel[]             channels             ;
+		private final StorageTaskBroker            taskBroker           ;
+		private final StorageFollowerSetup         setup                ;
+		private final StorageTypeDictionaryUpdater typeDictionaryUpdater;
+		private final StorageOperationController   operationController  ;
+		private final StorageEventLogger           eventLogger          ;
+		private final EqHashEnum<Long>               unknownTypeIds       ;
+
+		private boolean isRunning;
+		
+		// guarded by this instance. Count of completed updates and if an update is in progress or requested.
+		private long    updateCount      ;
+		private boolean isUpdating       ;
+		private boolean isUpdateRequested;
+		
+		// only accessed by the follower thread.
+		private int failedUpdateCount;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final StorageChannel[]             channels             ,
+			final StorageTaskBroker            taskBroker           ,
+			final StorageFollowerSetup         setup                ,
+			final StorageTypeDictionaryUpdater typeDictionaryUpdater,
+			final StorageOperationController   operationController  ,
+			final StorageEventLogger           eventLogger
+		)
+		{
+			super();
+			this.channels              = channels             ;
+			this.taskBroker            = taskBroker           ;
+			this.setup                 = setup                ;
+			this.typeDictionaryUpdater = typeDictionaryUpdater;
+			this.operationController   = operationController  ;
+			this.eventLogger           = eventLogger          ;
+			this.unknownTypeIds        = EqHashEnum.New()       ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final synchronized boolean isRunning()
+		{
+			return this.isRunning;
+		}
+
+		@Override
+		public final synchronized StorageFollower.Default start()
+		{
+			this.isRunning = true;
+			return this;
+		}
+
+		@Override
+		public final synchronized StorageFollower.Default stop()
+		{
+			this.isRunning = false;
+
+			// wake up a waiting follower and threads awaiting an update immediately
+			this.notifyAll();
+			return this;
+		}
+		
+		@Override
+		public final synchronized boolean awaitUpdate() throws InterruptedException
+		{
+			// an update in progress may have read the followed files before the calling thread's reason to wait.
+			final long awaitedUpdateCount = this.updateCount + (this.isUpdating ? 2 : 1);
+			
+			this.isUpdateRequested = true;
+			this.notifyAll();
+			while(this.isRunning && this.updateCount < awaitedUpdateCount)
+			{
+				this.wait();
+			}
+			
+			return this.updateCount >= awaitedUpdateCount;
+		}
+		
+		private synchronized void beginUpdate()
+		{
+			this.isUpdating        = true;
+			this.isUpdateRequested = false;
+		}
+		
+		private synchronized void completeUpdate()
+		{
+			this.isUpdating = false;
+			this.updateCount++;
+			this.notifyAll();
+		}
+
+		private synchronized boolean checkIsRunning()
+		{
+			return this.isRunning && this.operationController.checkProcessingEnabled();
+		}
+
+		@Override
+		public final void run()
+		{
+			try
+			{
+				while(this.checkIsRunning())
+				{
+					final boolean updateAgain;
+					this.beginUpdate();
+					try
+					{
+						updateAgain = this.update();
+					}
+					finally
+					{
+						this.completeUpdate();
+					}
+					
+					if(!updateAgain)
+					{
+						this.waitWhileRunning(TimeUnit.MILLISECONDS.toNanos(this.setup.updateIntervalMs()));
+					}
+				}
+			}
+			catch(final InterruptedException e)
+			{
+				// interrupting a follower thread means to stop it, nothing more.
+			}
+			catch(final Exception e)
+			{
+				this.operationController.registerDisruption(e);
+				throw e;
+			}
+			finally
+			{
+				// threads awaiting an update must not wait for a terminated follower.
+				this.stop();
+			}
+		}
+
+		/**
+		 * @return whether to update again right away, e.g. because the unknown types have become known.
+		 */
+		private boolean update() throws InterruptedException
+		{
+			final boolean hasPreparedEntries;
+			try
+			{
+				hasPreparedEntries = this.prepareUpdate();
+			}
+			catch(final RuntimeException e)
+			{
+				/*
+				 * Reading can fail because of the followed process, e.g. a file that has been deleted after its
+				 * entries have been read. Nothing has been applied yet, so the next update simply tries again.
+				 * Retrying right away reads the file's deletion, too, instead of even more entries later on.
+				 */
+				this.discardPreparedEntries();
+				this.eventLogger.logFollowerUpdateFailed(e);
+				return ++this.failedUpdateCount <= MAXIMUM_IMMEDIATE_RETRIES;
+			}
+			this.failedUpdateCount = 0;
+			
+			if(!this.unknownTypeIds.isEmpty())
+			{
+				this.discardPreparedEntries();
+				if(this.typeDictionaryUpdater.updateTypeDictionary())
+				{
+					return true;
+				}
+				this.eventLogger.logFollowerUpdateFailed(new StorageException(
+					"Followed data refers to unknown type ids " + this.unknownTypeIds
+				));
+				return false;
+			}
+			
+			if(hasPreparedEntries)
+			{
+				// applying failures leave the channels in an undefined state and hence disrupt the storage.
+				this.taskBroker.issueFollowerUpdate().waitOnCompletion();
+			}
+			
+			return false;
+		}
+
+		private boolean prepareUpdate()
+		{
+			// only stores that are completed in all channels may be followed.
+			long storeTimestampLimit = Long.MAX_VALUE;
+			for(final StorageChannel channel : this.channels)
+			{
+				storeTimestampLimit = Math.min(storeTimestampLimit, channel.readFollowedTransactions());
+			}
+			
+			this.unknownTypeIds.clear();
+			boolean hasPreparedEntries = false;
+			for(final StorageChannel channel : this.channels)
+			{
+				hasPreparedEntries |= channel.prepareFollowedEntries(storeTimestampLimit, this.unknownTypeIds);
+			}
+			
+			return hasPreparedEntries;
+		}
+
+		private void discardPreparedEntries()
+		{
+			for(final StorageChannel channel : this.channels)
+			{
+				channel.discardFollowedEntries();
+			}
+		}
+
+		private synchronized void waitWhileRunning(final long nanoTime) throws InterruptedException
+		{
+			final long bound = System.nanoTime() + nanoTime;
+			for(
+				long remaining = nanoTime;
+				remaining > 0 && this.isRunning && !this.isUpdateRequested;
+				remaining = bound - System.nanoTime()
+			)
+			{
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			}
+		}
+
+	}
+
+
+
+	public final class LoadRetryingRequestAcceptor implements StorageRequestAcceptor
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		// more retries would only be necessary if the follower's updates themselves keep failing.
+		private static final int MAXIMUM_LOAD_RETRIES = 3;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageRequestAcceptor acceptor   ;
+		private final StorageFollower        follower   ;
+		private final StorageEventLogger     eventLogger;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		LoadRetryingRequestAcceptor(
+			final StorageRequestAcceptor acceptor   ,
+			final StorageFollower        follower   ,
+			final StorageEventLogger     eventLogger
+		)
+		{
+			super();
+			this.acceptor    = acceptor   ;
+			this.follower    = follower   ;
+			this.eventLogger = eventLogger;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// declared methods //
+		/////////////////////
+		
+		private static boolean isReadingFailure(final Throwable t)
+		{
+			for(Throwable cause = t; cause != null; cause = cause.getCause())
+			{
+				if(cause instanceof StorageExceptionIoReading)
+				{
+					return true;
+				}
+			}
+			
+			return false;
+		}
+		
+		private boolean retry(final RuntimeException e, final int retryCount) throws InterruptedException
+		{
+			if(retryCount >= MAXIMUM_LOAD_RETRIES || !isReadingFailure(e))
+			{
+				return false;
+			}
+			
+			this.eventLogger.logFollowerLoadRetried(e);
+			
+			return this.follower.awaitUpdate();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final Binary queryByObjectIds(final PersistenceIdSet[] loadOids) throws InterruptedException
+		{
+			for(int retryCount = 0;; retryCount++)
+			{
+				try
+				{
+					return this.acceptor.queryByObjectIds(loadOids);
+				}
+				catch(final RuntimeException e)
+				{
+					if(!this.retry(e, retryCount))
+					{
+						throw e;
+					}
+				}
+			}
+		}
+
+		@Override
+		public final Binary queryByTypeIds(final PersistenceIdSet loadTids) throws InterruptedException
+		{
+			for(int retryCount = 0;; retryCount++)
+			{
+				try
+				{
+					return this.acceptor.queryByTypeIds(loadTids);
+				}
+				catch(final RuntimeException e)
+				{
+					if(!this.retry(e, retryCount))
+					{
+						throw e;
+					}
+				}
+			}
+		}
+
+		@Override
+		public final Binary recallRoots() throws InterruptedException
+		{
+			for(int retryCount = 0;; retryCount++)
+			{
+				try
+				{
+					return this.acceptor.recallRoots();
+				}
+				catch(final RuntimeException e)
+				{
+					if(!this.retry(e, retryCount))
+					{
+						throw e;
+					}
+				}
+			}
+		}
+
+		@Override
+		public final void storeData(final Binary data) throws InterruptedException
+		{
+			this.acceptor.storeData(data);
+		}
+
+		@Override
+		public final CompletableFuture<Void> storeDataAsync(final Binary data) throws InterruptedException
+		{
+			return this.acceptor.storeDataAsync(data);
+		}
+
+		@Override
+		public final boolean issueGarbageCollection(final long nanoTimeBudget) throws InterruptedException
+		{
+			return this.acceptor.issueGarbageCollection(nanoTimeBudget);
+		}
+
+		@Override
+		public final StorageGarbageCollectionStatistics issueParallelGarbageCollection(final int workerCount)
+			throws InterruptedException
+		{
+			return this.acceptor.issueParallelGarbageCollection(workerCount);
+		}
+
+		@Override
+		public final boolean issueFileCheck(final long nanoTimeBudget) throws InterruptedException
+		{
+			return this.acceptor.issueFileCheck(nanoTimeBudget);
+		}
+
+		@Override
+		public final boolean issueCacheCheck(
+			final long                        nanoTimeBudget ,
+			final StorageEntityCacheEvaluator entityEvaluator
+		)
+			throws InterruptedException
+		{
+			return this.acceptor.issueCacheCheck(nanoTimeBudget, entityEvaluator);
+		}
+
+		@Override
+		public final StorageEntityTypeExportStatistics exportTypes(
+			final StorageEntityTypeExportFileProvider         exportFileProvider,
+			final Predicate<? super StorageEntityTypeHandler> isExportType
+		)
+			throws InterruptedException
+		{
+			return this.acceptor.exportTypes(exportFileProvider, isExportType);
+		}
+
+		@Override
+		public final void exportChannels(
+			final StorageLiveFileProvider fileProvider            ,
+			final boolean                 performGarbageCollection
+		)
+			throws InterruptedException
+		{
+			this.acceptor.exportChannels(fileProvider, performGarbageCollection);
+		}
+
+		@Override
+		public final void importFiles(final XGettingEnum<AFile> importFiles) throws InterruptedException
+		{
+			this.acceptor.importFiles(importFiles);
+		}
+
+		@Override
+		public final StorageRawFileStatistics createStatistics() throws InterruptedException
+		{
+			return this.acceptor.createStatistics();
+		}
+
+		@Override
+		public final void importSnapshot(final StorageSnapshot snapshot) throws InterruptedException
+		{
+			this.acceptor.importSnapshot(snapshot);
+		}
+
+		@Override
+		public final void importAppendedData(
+			final StorageSnapshot     snapshot    ,
+			final StorageFileProvider fileProvider
+		)
+			throws InterruptedException
+		{
+			this.acceptor.importAppendedData(snapshot, fileProvider);
+		}
+
+		@Override
+		public final StorageSnapshot captureSnapshot(final boolean includeEntities) throws InterruptedException
+		{
+			return this.acceptor.captureSnapshot(includeEntities);
+		}
+
+	}
+
+}
@@ -0,0 +1,140 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.positive;
+
+/**
+ * Defines if a storage runs as a read-only follower of a storage directory that is written by another process.
+ * <p>
+ * A follower neither obtains the lock file nor writes anything (no stores, no file cleanup, no backup,
+ * no index checkpoints, no rolling). It initializes from the existing files like any storage and then,
+ * every update interval, reads the entries appended to the channels' transactions files in the meantime and
+ * applies the referenced data to its entity caches, see {@link StorageFollower}. Only stores that have been
+ * completed in all channels are applied, so the followed state is always consistent.
+ * New types stored by the writing process are registered via the {@link StorageTypeDictionaryUpdater}.
+ * <p>
+ * <b>Note that this only updates the storage layer. Instances already loaded by the application are never
+ * invalidated or updated</b>, they keep the state they had when they were loaded, even if the followed process
+ * has changed or deleted them in the meantime. Loading an object id that is still registered for a loaded instance
+ * yields that instance as it is. The current state is only loaded for instances that are no longer registered,
+ * e.g. after a lazy reference has been cleared and its former instance has been garbage collected.
+ */
+public interface StorageFollowerSetup
+{
+	public boolean isEnabled();
+
+	/**
+	 * @return the interval in milliseconds in which the followed files are checked for new entries.
+	 */
+	public long updateIntervalMs();
+
+
+
+	public interface Defaults
+	{
+		/**
+		 * @return the default update interval of 1 second.
+		 */
+		public static long defaultUpdateIntervalMs()
+		{
+			return 1000;
+		}
+	}
+
+
+
+	public static StorageFollowerSetup Disabled()
+	{
+		return new StorageFollowerSetup.Default(false, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageFollowerSetup} instance
+	 * using the default update interval.
+	 *
+	 * @return a new {@link StorageFollowerSetup} instance.
+	 *
+	 * @see Defaults#defaultUpdateIntervalMs()
+	 */
+	public static StorageFollowerSetup New()
+	{
+		return New(Defaults.defaultUpdateIntervalMs());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageFollowerSetup} instance.
+	 *
+	 * @param updateIntervalMs the interval in milliseconds in which the followed files are checked for new entries.
+	 *
+	 * @return a new {@link StorageFollowerSetup} instance.
+	 */
+	public static StorageFollowerSetup New(final long updateIntervalMs)
+	{
+		return new StorageFollowerSetup.Default(
+			true,
+			positive(updateIntervalMs)
+		);
+	}
+
+	public final class Default implements StorageFollowerSetup
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final boolean enabled         ;
+		private final long    updateIntervalMs;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final boolean enabled, final long updateIntervalMs)
+		{
+			super();
+			this.enabled          = enabled         ;
+			this.updateIntervalMs = updateIntervalMs;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final boolean isEnabled()
+		{
+			return this.enabled;
+		}
+
+		@Override
+		public final long updateIntervalMs()
+		{
+			return this.updateIntervalMs;
+		}
+
+	}
+
+}
@@ -22,6 +22,7 @@ package one.microstream.storage.types;
 
 import java.nio.ByteOrder;
 
+import one.microstream.afs.types.WriteController;
 import one.microstream.exceptions.MissingFoundationPartException;
 import one.microstream.persistence.binary.types.BinaryEntityRawDataIterator;
 import one.microstream.persistence.types.Persistence;
@@ -346,6 +347,22 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 	 */
 	public StorageGCZombieOidHandler getGCZombieOidHandler();
 	
+	/**
+	 * Returns the currently set {@link StorageEntityDeletionHandler} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * executon of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * <p>
+	 * By default, deleted entities are not reported anywhere, see {@link StorageEntityDeletionHandler#NoOp()}.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageEntityDeletionHandler getEntityDeletionHandler();
+	
 	/**
 	 * Returns the currently set {@link StorageRootOidSelector.Provider} instance.
 	 * <p>
@@ -388,6 +405,148 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 	 */
 	public StorageEntityMarkMonitor.Creator getEntityMarkMonitorCreator();
 	
+	/**
+	 * Returns the currently set {@link StorageDataFileMapping} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * executon of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * <p>
+	 * By default, data files are read via their channels, see {@link StorageDataFileMapping#Disabled()}.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageDataFileMapping getDataFileMapping();
+	
+	/**
+	 * Returns the currently set {@link StorageIndexCheckpointSetup} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * executon of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * <p>
+	 * By default, no index checkpoints are written, see {@link StorageIndexCheckpointSetup#Disabled()}.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageIndexCheckpointSetup getIndexCheckpointSetup();
+	
+	/**
+	 * Returns the currently set {@link StorageTransactionsFileRollingSetup} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * executon of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * <p>
+	 * By default, transactions files are not rolled, see {@link StorageTransactionsFileRollingSetup#Disabled()}.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageTransactionsFileRollingSetup getTransactionsFileRollingSetup();
+	
+	/**
+	 * Returns the currently set {@link StorageFollowerSetup} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * executon of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * <p>
+	 * By default, the storage is not a follower but exclusively owns and writes its files,
+	 * see {@link StorageFollowerSetup#Disabled()}.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageFollowerSetup getFollowerSetup();
+	
+	/**
+	 * Returns the currently set {@link StorageTypeDictionaryUpdater} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * executon of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageTypeDictionaryUpdater getTypeDictionaryUpdater();
+	
+	/**
+	 * Returns the currently set {@link StorageEntityInitializer.Creator} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * executon of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * <p>
+	 * By default, every channel reads its data files sequentially, see {@link StorageEntityInitializer#Creator()}.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageEntityInitializer.Creator getEntityInitializerCreator();
+	
+	/**
+	 * Returns the currently set {@link StorageDataFileCompactionSetup} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * executon of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * <p>
+	 * By default, data files are compacted by the channels' housekeeping,
+	 * see {@link StorageDataFileCompactionSetup#Disabled()}.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageDataFileCompactionSetup getDataFileCompactionSetup();
+	
+	/**
+	 * Returns the currently set {@link StorageDataCompression} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * executon of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * <p>
+	 * By default, written entity data is not compressed, see {@link StorageDataCompression#Disabled()}.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageDataCompression getDataCompression();
+	
+	/**
+	 * Returns the currently set {@link StorageMetrics} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * executon of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageMetrics getMetrics();
+	
 	/**
 	 * Returns the currently set {@link StorageDataFileValidator.Creator} instance.
 	 * <p>
@@ -550,6 +709,9 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 	
 	/**
 	 * Sets the {@link StorageTaskBroker.Creator} instance to be used for the assembly.
+	 * <p>
+	 * Use {@link StorageTaskBroker#CreatorGroupCommitting()} to group concurrent stores into one commit.
+	 * Note that the stores of a group then succeed or fail together.
 	 * 
 	 * @param taskBrokerCreator the instance to be used.
 	 * 
@@ -692,6 +854,15 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 	 */
 	public F setGCZombieOidHandler(StorageGCZombieOidHandler gCZombieOidHandler);
 	
+	/**
+	 * Sets the {@link StorageEntityDeletionHandler} instance to be used for the assembly.
+	 * 
+	 * @param entityDeletionHandler the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setEntityDeletionHandler(StorageEntityDeletionHandler entityDeletionHandler);
+	
 	/**
 	 * Sets the {@link StorageRootOidSelector.Provider} instance to be used for the assembly.
 	 * 
@@ -719,6 +890,113 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 	 */
 	public F setEntityMarkMonitorCreator(StorageEntityMarkMonitor.Creator entityMarkMonitorCreator);
 	
+	/**
+	 * Sets the {@link StorageDataFileMapping} instance to be used for the assembly.
+	 * <p>
+	 * Use {@link StorageDataFileMapping#Enabled()} to read entity data from memory-mapped data files.
+	 * 
+	 * @param dataFileMapping the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setDataFileMapping(StorageDataFileMapping dataFileMapping);
+	
+	/**
+	 * Sets the {@link StorageIndexCheckpointSetup} instance to be used for the assembly.
+	 * <p>
+	 * Use {@link StorageIndexCheckpointSetup#New(long)} to let every channel persist its entity index
+	 * and use it on startup instead of reading all data files.
+	 * 
+	 * @param indexCheckpointSetup the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setIndexCheckpointSetup(StorageIndexCheckpointSetup indexCheckpointSetup);
+	
+	/**
+	 * Sets the {@link StorageTransactionsFileRollingSetup} instance to be used for the assembly.
+	 * <p>
+	 * Use {@link StorageTransactionsFileRollingSetup#New()} to roll the transactions files when they exceed
+	 * the default maximum file size.
+	 * 
+	 * @param transactionsFileRollingSetup the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setTransactionsFileRollingSetup(StorageTransactionsFileRollingSetup transactionsFileRollingSetup);
+	
+	/**
+	 * Sets the {@link StorageFollowerSetup} instance to be used for the assembly.
+	 * <p>
+	 * Use {@link StorageFollowerSetup#New()} to open the storage read-only and follow the changes
+	 * written by another process, see {@link StorageFollower}. Note that instances already loaded by
+	 * the application are not updated, see {@link StorageFollowerSetup}.
+	 * 
+	 * @param followerSetup the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setFollowerSetup(StorageFollowerSetup followerSetup);
+	
+	/**
+	 * Sets the {@link StorageTypeDictionaryUpdater} instance to be used for the assembly.
+	 * <p>
+	 * It is only used in follower mode, to make types known that have been added by the followed process.
+	 * 
+	 * @param typeDictionaryUpdater the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setTypeDictionaryUpdater(StorageTypeDictionaryUpdater typeDictionaryUpdater);
+	
+	/**
+	 * Sets the {@link StorageEntityInitializer.Creator} instance to be used for the assembly.
+	 * <p>
+	 * Use {@link StorageEntityInitializer#Creator(int)} to let every channel read its data files
+	 * with multiple threads on startup.
+	 * 
+	 * @param entityInitializerCreator the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setEntityInitializerCreator(StorageEntityInitializer.Creator entityInitializerCreator);
+	
+	/**
+	 * Sets the {@link StorageDataFileCompactionSetup} instance to be used for the assembly.
+	 * <p>
+	 * Use {@link StorageDataFileCompactionSetup#New(int, long)} to compact data files on dedicated threads
+	 * with a limited throughput instead of during the channels' housekeeping.
+	 * 
+	 * @param dataFileCompactionSetup the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setDataFileCompactionSetup(StorageDataFileCompactionSetup dataFileCompactionSetup);
+	
+	/**
+	 * Sets the {@link StorageDataCompression} instance to be used for the assembly.
+	 * <p>
+	 * Use {@link StorageDataCompression#New()} to compress the data of large entities without references,
+	 * e.g. strings and primitive arrays, when writing it into the data files.
+	 * 
+	 * @param dataCompression the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setDataCompression(StorageDataCompression dataCompression);
+	
+	/**
+	 * Sets the {@link StorageMetrics} instance to be used for the assembly.
+	 * <p>
+	 * Setting a shared instance allows to access the channels' metrics before the storage has been created,
+	 * e.g. to register them as MXBeans via {@link StorageMetrics#registerMXBeans(String)}.
+	 * 
+	 * @param metrics the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setMetrics(StorageMetrics metrics);
+	
 	/**
 	 * Sets the {@link StorageDataFileValidator.Creator} instance to be used for the assembly.
 	 * 
@@ -848,9 +1126,19 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 		private StorageObjectIdRangeEvaluator         objectIdRangeEvaluator       ;
 		private StorageFileWriter.Provider            writerProvider               ;
 		private StorageGCZombieOidHandler             gCZombieOidHandler           ;
+		private StorageEntityDeletionHandler          entityDeletionHandler        ;
 		private StorageRootOidSelector.Provider       rootOidSelectorProvider      ;
 		private StorageObjectIdMarkQueue.Creator      oidMarkQueueCreator          ;
 		private StorageEntityMarkMonitor.Creator      entityMarkMonitorCreator     ;
+		private StorageDataFileMapping                dataFileMapping              ;
+		private StorageIndexCheckpointSetup           indexCheckpointSetup         ;
+		private StorageTransactionsFileRollingSetup   transactionsFileRollingSetup ;
+		private StorageFollowerSetup                  followerSetup                ;
+		private StorageTypeDictionaryUpdater          typeDictionaryUpdater        ;
+		private StorageEntityInitializer.Creator      entityInitializerCreator     ;
+		private StorageDataFileCompactionSetup        dataFileCompactionSetup      ;
+		private StorageDataCompression                dataCompression              ;
+		private StorageMetrics                        metrics                      ;
 		private StorageDataFileValidator.Creator      dataFileValidatorCreator     ;
 		private BinaryEntityRawDataIterator.Provider  entityDataIteratorProvider   ;
 		private StorageEntityDataValidator.Creator    entityDataValidatorCreator   ;
@@ -892,6 +1180,11 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 			return new StorageGCZombieOidHandler.Default();
 		}
 
+		protected StorageEntityDeletionHandler ensureEntityDeletionHandler()
+		{
+			return StorageEntityDeletionHandler.NoOp();
+		}
+
 		protected StorageConfiguration ensureConfiguration()
 		{
 			return Storage.Configuration();
@@ -1026,6 +1319,51 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 			return StorageEntityMarkMonitor.Creator();
 		}
 
+		protected StorageDataFileMapping ensureDataFileMapping()
+		{
+			return StorageDataFileMapping.Disabled();
+		}
+
+		protected StorageIndexCheckpointSetup ensureIndexCheckpointSetup()
+		{
+			return StorageIndexCheckpointSetup.Disabled();
+		}
+
+		protected StorageTransactionsFileRollingSetup ensureTransactionsFileRollingSetup()
+		{
+			return StorageTransactionsFileRollingSetup.Disabled();
+		}
+
+		protected StorageFollowerSetup ensureFollowerSetup()
+		{
+			return StorageFollowerSetup.Disabled();
+		}
+
+		protected StorageTypeDictionaryUpdater ensureTypeDictionaryUpdater()
+		{
+			return StorageTypeDictionaryUpdater.NoOp();
+		}
+
+		protected StorageEntityInitializer.Creator ensureEntityInitializerCreator()
+		{
+			return StorageEntityInitializer.Creator();
+		}
+
+		protected StorageDataFileCompactionSetup ensureDataFileCompactionSetup()
+		{
+			return StorageDataFileCompactionSetup.Disabled();
+		}
+
+		protected StorageDataCompression ensureDataCompression()
+		{
+			return StorageDataCompression.Disabled();
+		}
+
+		protected StorageMetrics ensureMetrics()
+		{
+			return StorageMetrics.New();
+		}
+
 		protected StorageDataFileValidator.Creator ensureDataFileValidatorCreator()
 		{
 			return StorageDataFileValidator.Creator(
@@ -1082,6 +1420,12 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 		
 		protected StorageWriteController ensureWriteController()
 		{
+			if(this.getFollowerSetup().isEnabled())
+			{
+				// a follower must never write anything, the followed process owns the files.
+				return StorageWriteController.Wrap(WriteController.Disabled());
+			}
+			
 			return StorageWriteController.Wrap(
 				this.getConfiguration().fileProvider().fileSystem()
 			);
@@ -1304,6 +1648,16 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 			return this.gCZombieOidHandler;
 		}
 
+		@Override
+		public StorageEntityDeletionHandler getEntityDeletionHandler()
+		{
+			if(this.entityDeletionHandler == null)
+			{
+				this.entityDeletionHandler = this.dispatch(this.ensureEntityDeletionHandler());
+			}
+			return this.entityDeletionHandler;
+		}
+
 		@Override
 		public StorageRootOidSelector.Provider getRootOidSelectorProvider()
 		{
@@ -1334,6 +1688,96 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 			return this.entityMarkMonitorCreator;
 		}
 		
+		@Override
+		public StorageDataFileMapping getDataFileMapping()
+		{
+			if(this.dataFileMapping == null)
+			{
+				this.dataFileMapping = this.dispatch(this.ensureDataFileMapping());
+			}
+			return this.dataFileMapping;
+		}
+		
+		@Override
+		public StorageIndexCheckpointSetup getIndexCheckpointSetup()
+		{
+			if(this.indexCheckpointSetup == null)
+			{
+				this.indexCheckpointSetup = this.dispatch(this.ensureIndexCheckpointSetup());
+			}
+			return this.indexCheckpointSetup;
+		}
+		
+		@Override
+		public StorageTransactionsFileRollingSetup getTransactionsFileRollingSetup()
+		{
+			if(this.transactionsFileRollingSetup == null)
+			{
+				this.transactionsFileRollingSetup = this.dispatch(this.ensureTransactionsFileRollingSetup());
+			}
+			return this.transactionsFileRollingSetup;
+		}
+		
+		@Override
+		public StorageFollowerSetup getFollowerSetup()
+		{
+			if(this.followerSetup == null)
+			{
+				this.followerSetup = this.dispatch(this.ensureFollowerSetup());
+			}
+			return this.followerSetup;
+		}
+		
+		@Override
+		public StorageTypeDictionaryUpdater getTypeDictionaryUpdater()
+		{
+			if(this.typeDictionaryUpdater == null)
+			{
+				this.typeDictionaryUpdater = this.dispatch(this.ensureTypeDictionaryUpdater());
+			}
+			return this.typeDictionaryUpdater;
+		}
+		
+		@Override
+		public StorageEntityInitializer.Creator getEntityInitializerCreator()
+		{
+			if(this.entityInitializerCreator == null)
+			{
+				this.entityInitializerCreator = this.dispatch(this.ensureEntityInitializerCreator());
+			}
+			return this.entityInitializerCreator;
+		}
+		
+		@Override
+		public StorageDataFileCompactionSetup getDataFileCompactionSetup()
+		{
+			if(this.dataFileCompactionSetup == null)
+			{
+				this.dataFileCompactionSetup = this.dispatch(this.ensureDataFileCompactionSetup());
+			}
+			return this.dataFileCompactionSetup;
+		}
+		
+		@Override
+		public StorageDataCompression getDataCompression()
+		{
+			if(this.dataCompression == null)
+			{
+				this.dataCompression = this.dispatch(this.ensureDataCompression());
+			}
+			return this.dataCompression;
+		}
+		
+		@Override
+		public StorageMetrics getMetrics()
+		{
+			if(this.metrics == null)
+			{
+				this.metrics = this.dispatch(this.ensureMetrics());
+			}
+			return this.metrics;
+		}
+		
 		@Override
 		public StorageDataFileValidator.Creator getDataFileValidatorCreator()
 		{
@@ -1600,6 +2044,13 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 			return this.$();
 		}
 
+		@Override
+		public F setEntityDeletionHandler(final StorageEntityDeletionHandler entityDeletionHandler)
+		{
+			this.entityDeletionHandler = entityDeletionHandler;
+			return this.$();
+		}
+
 		@Override
 		public F setRootOidSelectorProvider(
 			final StorageRootOidSelector.Provider rootOidSelectorProvider
@@ -1626,6 +2077,83 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 			return this.$();
 		}
 		
+		@Override
+		public F setDataFileMapping(
+			final StorageDataFileMapping dataFileMapping
+		)
+		{
+			this.dataFileMapping = dataFileMapping;
+			return this.$();
+		}
+		
+		@Override
+		public F setIndexCheckpointSetup(
+			final StorageIndexCheckpointSetup indexCheckpointSetup
+		)
+		{
+			this.indexCheckpointSetup = indexCheckpointSetup;
+			return this.$();
+		}
+		
+		@Override
+		public F setTransactionsFileRollingSetup(
+			final StorageTransactionsFileRollingSetup transactionsFileRollingSetup
+		)
+		{
+			this.transactionsFileRollingSetup = transactionsFileRollingSetup;
+			return this.$();
+		}
+		
+		@Override
+		public F setFollowerSetup(final StorageFollowerSetup followerSetup)
+		{
+			this.followerSetup = followerSetup;
+			return this.$();
+		}
+		
+		@Override
+		public F setTypeDictionaryUpdater(final StorageTypeDictionaryUpdater typeDictionaryUpdater)
+		{
+			this.typeDictionaryUpdater = typeDictionaryUpdater;
+			return this.$();
+		}
+		
+		@Override
+		public F setEntityInitializerCreator(
+			final StorageEntityInitializer.Creator entityInitializerCreator
+		)
+		{
+			this.entityInitializerCreator = entityInitializerCreator;
+			return this.$();
+		}
+		
+		@Override
+		public F setDataFileCompactionSetup(
+			final StorageDataFileCompactionSetup dataFileCompactionSetup
+		)
+		{
+			this.dataFileCompactionSetup = dataFileCompactionSetup;
+			return this.$();
+		}
+		
+		@Override
+		public F setDataCompression(
+			final StorageDataCompression dataCompression
+		)
+		{
+			this.dataCompression = dataCompression;
+			return this.$();
+		}
+		
+		@Override
+		public F setMetrics(
+			final StorageMetrics metrics
+		)
+		{
+			this.metrics = metrics;
+			return this.$();
+		}
+		
 		@Override
 		public F setDataFileValidatorCreator(
 			final StorageDataFileValidator.Creator dataFileValidatorCreator
@@ -1760,9 +2288,19 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 				this.getTimestampProvider()            ,
 				this.getObjectIdRangeEvaluator()       ,
 				this.getGCZombieOidHandler()           ,
+				this.getEntityDeletionHandler()        ,
 				this.getRootOidSelectorProvider()      ,
 				this.getOidMarkQueueCreator()          ,
 				this.getEntityMarkMonitorCreator()     ,
+				this.getDataFileMapping()              ,
+				this.getIndexCheckpointSetup()         ,
+				this.getTransactionsFileRollingSetup() ,
+				this.getFollowerSetup()                ,
+				this.getTypeDictionaryUpdater()        ,
+				this.getEntityInitializerCreator()     ,
+				this.getDataFileCompactionSetup()      ,
+				this.getDataCompression()              ,
+				this.getMetrics()                      ,
 				this.isByteOrderMismatch()             ,
 				this.getLockFileSetup()                ,
 				this.getLockFileManagerCreator()       ,
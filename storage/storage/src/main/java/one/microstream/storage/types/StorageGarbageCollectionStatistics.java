@@ -0,0 +1,190 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import one.microstream.chars.VarString;
+
+/**
+ * Phase timings and entity counts of a completed {@link StorageParallelGarbageCollector} run.
+ */
+public interface StorageGarbageCollectionStatistics
+{
+	public int workerCount();
+	
+	public long resetNanoTime();
+	
+	public long markNanoTime();
+	
+	public long sweepNanoTime();
+	
+	public long totalNanoTime();
+	
+	/**
+	 * @return the number of marked entities that had no cached data and were read from their storage file.
+	 */
+	public long readEntityCount();
+	
+	public long survivingEntityCount();
+	
+	public long deletedEntityCount();
+	
+	
+	
+	public static StorageGarbageCollectionStatistics New(
+		final int  workerCount         ,
+		final long resetNanoTime       ,
+		final long markNanoTime        ,
+		final long sweepNanoTime       ,
+		final long totalNanoTime       ,
+		final long readEntityCount     ,
+		final long survivingEntityCount,
+		final long deletedEntityCount
+	)
+	{
+		return new StorageGarbageCollectionStatistics.Default(
+			workerCount         ,
+			resetNanoTime       ,
+			markNanoTime        ,
+			sweepNanoTime       ,
+			totalNanoTime       ,
+			readEntityCount     ,
+			survivingEntityCount,
+			deletedEntityCount
+		);
+	}
+	
+	public final class Default implements StorageGarbageCollectionStatistics
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final int  workerCount         ;
+		private final long resetNanoTime       ;
+		private final long markNanoTime        ;
+		private final long sweepNanoTime       ;
+		private final long totalNanoTime       ;
+		private final long readEntityCount     ;
+		private final long survivingEntityCount;
+		private final long deletedEntityCount  ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(
+			final int  workerCount         ,
+			final long resetNanoTime       ,
+			final long markNanoTime        ,
+			final long sweepNanoTime       ,
+			final long totalNanoTime       ,
+			final long readEntityCount     ,
+			final long survivingEntityCount,
+			final long deletedEntityCount
+		)
+		{
+			super();
+			this.workerCount          = workerCount         ;
+			this.resetNanoTime        = resetNanoTime       ;
+			this.markNanoTime         = markNanoTime        ;
+			this.sweepNanoTime        = sweepNanoTime       ;
+			this.totalNanoTime        = totalNanoTime       ;
+			this.readEntityCount      = readEntityCount     ;
+			this.survivingEntityCount = survivingEntityCount;
+			this.deletedEntityCount   = deletedEntityCount  ;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final int workerCount()
+		{
+			return this.workerCount;
+		}
+		
+		@Override
+		public final long resetNanoTime()
+		{
+			return this.resetNanoTime;
+		}
+		
+		@Override
+		public final long markNanoTime()
+		{
+			return this.markNanoTime;
+		}
+		
+		@Override
+		public final long sweepNanoTime()
+		{
+			return this.sweepNanoTime;
+		}
+		
+		@Override
+		public final long totalNanoTime()
+		{
+			return this.totalNanoTime;
+		}
+		
+		@Override
+		public final long readEntityCount()
+		{
+			return this.readEntityCount;
+		}
+		
+		@Override
+		public final long survivingEntityCount()
+		{
+			return this.survivingEntityCount;
+		}
+		
+		@Override
+		public final long deletedEntityCount()
+		{
+			return this.deletedEntityCount;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return VarString.New()
+				.add("Parallel storage GC with ").add(this.workerCount).add(" workers: ")
+				.add("reset ").add(this.resetNanoTime / 1_000_000).add(" ms, ")
+				.add("mark ").add(this.markNanoTime / 1_000_000).add(" ms, ")
+				.add("sweep ").add(this.sweepNanoTime / 1_000_000).add(" ms, ")
+				.add("total ").add(this.totalNanoTime / 1_000_000).add(" ms. ")
+				.add(this.survivingEntityCount).add(" surviving, ")
+				.add(this.deletedEntityCount).add(" deleted, ")
+				.add(this.readEntityCount).add(" read from file.")
+				.toString()
+			;
+		}
+		
+	}
+	
+}
@@ -49,6 +49,70 @@ public interface StorageHousekeepingController
 	 */
 	public long fileCheckTimeBudgetNs();
 
+	/**
+	 * Determines the general housekeeping time budget for the next interval of the channel with the passed load.
+	 * The default implementation ignores the load and returns {@link #housekeepingTimeBudgetNs()}.
+	 *
+	 * @param load the load of the channel during its last completed housekeeping interval.
+	 *
+	 * @return The general housekeeping time budget for the next interval in nanoseconds.
+	 */
+	public default long housekeepingTimeBudgetNs(final StorageHousekeepingLoad load)
+	{
+		return this.housekeepingTimeBudgetNs();
+	}
+
+	/**
+	 * The default implementation ignores the load and returns {@link #garbageCollectionTimeBudgetNs()}.
+	 *
+	 * @param load the current load of the calling channel.
+	 *
+	 * @return The garbage collection housekeeping time budget in nanoseconds.
+	 */
+	public default long garbageCollectionTimeBudgetNs(final StorageHousekeepingLoad load)
+	{
+		return this.garbageCollectionTimeBudgetNs();
+	}
+
+	/**
+	 * The default implementation ignores the load and returns {@link #liveCheckTimeBudgetNs()}.
+	 *
+	 * @param load the current load of the calling channel.
+	 *
+	 * @return The live/cache check housekeeping time budget in nanoseconds.
+	 */
+	public default long liveCheckTimeBudgetNs(final StorageHousekeepingLoad load)
+	{
+		return this.liveCheckTimeBudgetNs();
+	}
+
+	/**
+	 * The default implementation ignores the load and returns {@link #fileCheckTimeBudgetNs()}.
+	 *
+	 * @param load the current load of the calling channel.
+	 *
+	 * @return The file cleanup housekeeping time budget in nanoseconds.
+	 */
+	public default long fileCheckTimeBudgetNs(final StorageHousekeepingLoad load)
+	{
+		return this.fileCheckTimeBudgetNs();
+	}
+
+	/**
+	 * Determines whether the storage-level garbage collection is executed at all, be it as part of the
+	 * housekeeping or explicitly issued. Storage-level garbage collection is still experimental, hence the
+	 * default implementation returns {@code false}.
+	 * <p>
+	 * This replaces the global switch {@link StorageEntityCache.Default#setGarbageCollectionEnabled(boolean)}
+	 * by a setting per storage. The global switch still enables the garbage collection for all storages.
+	 *
+	 * @return whether the storage-level garbage collection is enabled.
+	 */
+	public default boolean isGarbageCollectionEnabled()
+	{
+		return false;
+	}
+
 	
 	
 	public interface Validation
@@ -88,6 +152,58 @@ public interface StorageHousekeepingController
 				);
 			}
 		}
+		
+		public static void validateAdaptiveParameters(
+			final long housekeepingIntervalMs  ,
+			final long minimumTimeBudgetNs     ,
+			final long maximumTimeBudgetNs
+		)
+			throws IllegalArgumentException
+		{
+			validateParameters(housekeepingIntervalMs, minimumTimeBudgetNs);
+			if(maximumTimeBudgetNs < minimumTimeBudgetNs)
+			{
+				throw new IllegalArgumentException(
+					"Specified maximum housekeeping nanosecond time budget of "
+					+ maximumTimeBudgetNs
+					+ " is lower than the specified minimum value "
+					+ minimumTimeBudgetNs + "."
+				);
+			}
+			if(maximumTimeBudgetNs > Storage.millisecondsToNanoseconds(housekeepingIntervalMs))
+			{
+				throw new IllegalArgumentException(
+					"Specified maximum housekeeping nanosecond time budget of "
+					+ maximumTimeBudgetNs
+					+ " exceeds the housekeeping interval of "
+					+ housekeepingIntervalMs + " ms."
+				);
+			}
+		}
+		
+		public static void validatePressureParameters(
+			final double garbageRatioThreshold   ,
+			final long   entityCacheSizeThreshold
+		)
+			throws IllegalArgumentException
+		{
+			if(!(garbageRatioThreshold > 0.0 && garbageRatioThreshold <= 1.0))
+			{
+				throw new IllegalArgumentException(
+					"Specified garbage ratio threshold of "
+					+ garbageRatioThreshold
+					+ " is not in the range ]0.0;1.0]."
+				);
+			}
+			if(entityCacheSizeThreshold <= 0)
+			{
+				throw new IllegalArgumentException(
+					"Specified entity cache size threshold of "
+					+ entityCacheSizeThreshold
+					+ " is not greater than 0."
+				);
+			}
+		}
 	}
 
 	/**
@@ -108,7 +224,8 @@ public interface StorageHousekeepingController
 		 */
 		return new StorageHousekeepingController.Default(
 			Defaults.defaultHousekeepingIntervalMs(),
-			Defaults.defaultHousekeepingTimeBudgetNs()
+			Defaults.defaultHousekeepingTimeBudgetNs(),
+			false
 		);
 	}
 	
@@ -148,12 +265,198 @@ public interface StorageHousekeepingController
 		final long housekeepingIntervalMs  ,
 		final long housekeepingTimeBudgetNs
 	)
+	{
+		return New(housekeepingIntervalMs, housekeepingTimeBudgetNs, false);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageHousekeepingController} instance
+	 * using the passed values.
+	 * For a detailed explanation of the first two values see {@link #New(long, long)}.
+	 * 
+	 * @param housekeepingIntervalMs the interval in milliseconds that the storage threads shall
+	 *        execute their various housekeeping actions. Must be greater than zero.
+	 * 
+	 * @param housekeepingTimeBudgetNs the time budget in nanoseconds that each storage thread will use to perform
+	 *        a housekeeping action. Must not be negative.
+	 * 
+	 * @param garbageCollectionEnabled whether the experimental storage-level garbage collection shall be executed,
+	 *        see {@link #isGarbageCollectionEnabled()}.
+	 * 
+	 * @return a new {@link StorageHousekeepingController} instance.
+	 * 
+	 * @see StorageHousekeepingController#New(long, long)
+	 */
+	public static StorageHousekeepingController New(
+		final long    housekeepingIntervalMs  ,
+		final long    housekeepingTimeBudgetNs,
+		final boolean garbageCollectionEnabled
+	)
 	{
 		Validation.validateParameters(housekeepingIntervalMs, housekeepingTimeBudgetNs);
 		
 		return new StorageHousekeepingController.Default(
 			housekeepingIntervalMs  ,
-			housekeepingTimeBudgetNs
+			housekeepingTimeBudgetNs,
+			garbageCollectionEnabled
+		);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageHousekeepingController.Adaptive} instance
+	 * using default values defined by {@link StorageHousekeepingController.Defaults}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageHousekeepingController#Adaptive(long, long, long)}.
+	 * 
+	 * @return a new {@link StorageHousekeepingController.Adaptive} instance.
+	 * 
+	 * @see StorageHousekeepingController#Adaptive(long, long, long)
+	 * @see Storage#HousekeepingControllerAdaptive()
+	 */
+	public static StorageHousekeepingController.Adaptive Adaptive()
+	{
+		return Adaptive(
+			Defaults.defaultHousekeepingIntervalMs(),
+			Defaults.defaultAdaptiveMinimumTimeBudgetNs(),
+			Defaults.defaultAdaptiveMaximumTimeBudgetNs()
+		);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageHousekeepingController.Adaptive} instance
+	 * using the passed values.
+	 * <p>
+	 * Other than the default implementation, this controller does not grant a fixed time budget per interval,
+	 * but adapts it for every channel and interval to the load the channel experienced during its last interval:
+	 * <ol>
+	 * <li>The more time the channel spent processing tasks (loading, storing, etc.), the closer the budget
+	 * gets to the minimum, so housekeeping yields to the actual work under heavy load.</li>
+	 * <li>The more idle the channel was, the closer the budget gets to the maximum, so idle time is used to
+	 * catch up on housekeeping.</li>
+	 * <li>The further the housekeeping tasks fall behind (repeatedly not completing in their budget), the more
+	 * the budget is raised regardless of the load, so housekeeping can never be starved completely.</li>
+	 * <li>The same applies to the pressure of the channel's storage state: the more of its data files is
+	 * garbage and the larger its entity cache, the more the budget is raised.</li>
+	 * <li>Among the tasks, the one furthest behind or under the highest pressure gets the largest share of the
+	 * budget. Garbage in the data files raises the file cleanup's priority, the entity cache size the cache
+	 * check's. A task that is caught up only gets a minimum share as long as another one is behind.</li>
+	 * </ol>
+	 * The pressure thresholds are defined by {@link StorageHousekeepingController.Defaults}, see
+	 * {@link #Adaptive(long, long, long, boolean, double, long)} to specify them.
+	 * 
+	 * @param housekeepingIntervalMs the interval in milliseconds that the storage threads shall
+	 *        execute their various housekeeping actions. Must be greater than zero.
+	 * 
+	 * @param minimumTimeBudgetNs the time budget in nanoseconds that each storage thread will at least be granted
+	 *        per interval, even under full load. Must not be negative.
+	 * 
+	 * @param maximumTimeBudgetNs the time budget in nanoseconds that each storage thread will at most be granted
+	 *        per interval. Must not be lower than the minimum and not exceed the interval.
+	 * 
+	 * @return a new {@link StorageHousekeepingController.Adaptive} instance.
+	 * 
+	 * @throws IllegalArgumentException if any of the passed values is invalid.
+	 * 
+	 * @see StorageHousekeepingController#Adaptive()
+	 * @see Storage#HousekeepingControllerAdaptive(long, long, long)
+	 */
+	public static StorageHousekeepingController.Adaptive Adaptive(
+		final long housekeepingIntervalMs,
+		final long minimumTimeBudgetNs   ,
+		final long maximumTimeBudgetNs
+	)
+	{
+		return Adaptive(housekeepingIntervalMs, minimumTimeBudgetNs, maximumTimeBudgetNs, false);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageHousekeepingController.Adaptive} instance
+	 * using the passed values.
+	 * For a detailed explanation of the first three values see {@link #Adaptive(long, long, long)}.
+	 * 
+	 * @param housekeepingIntervalMs the interval in milliseconds that the storage threads shall
+	 *        execute their various housekeeping actions. Must be greater than zero.
+	 * 
+	 * @param minimumTimeBudgetNs the time budget in nanoseconds that each storage thread will at least be granted
+	 *        per interval, even under full load. Must not be negative.
+	 * 
+	 * @param maximumTimeBudgetNs the time budget in nanoseconds that each storage thread will at most be granted
+	 *        per interval. Must not be lower than the minimum and not exceed the interval.
+	 * 
+	 * @param garbageCollectionEnabled whether the experimental storage-level garbage collection shall be executed,
+	 *        see {@link #isGarbageCollectionEnabled()}.
+	 * 
+	 * @return a new {@link StorageHousekeepingController.Adaptive} instance.
+	 * 
+	 * @throws IllegalArgumentException if any of the passed values is invalid.
+	 * 
+	 * @see StorageHousekeepingController#Adaptive(long, long, long)
+	 */
+	public static StorageHousekeepingController.Adaptive Adaptive(
+		final long    housekeepingIntervalMs  ,
+		final long    minimumTimeBudgetNs     ,
+		final long    maximumTimeBudgetNs     ,
+		final boolean garbageCollectionEnabled
+	)
+	{
+		return Adaptive(
+			housekeepingIntervalMs                            ,
+			minimumTimeBudgetNs                               ,
+			maximumTimeBudgetNs                               ,
+			garbageCollectionEnabled                          ,
+			Defaults.defaultAdaptiveGarbageRatioThreshold()   ,
+			Defaults.defaultAdaptiveEntityCacheSizeThreshold()
+		);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageHousekeepingController.Adaptive} instance
+	 * using the passed values.
+	 * For a detailed explanation of the first four values see {@link #Adaptive(long, long, long, boolean)}.
+	 * 
+	 * @param housekeepingIntervalMs the interval in milliseconds that the storage threads shall
+	 *        execute their various housekeeping actions. Must be greater than zero.
+	 * 
+	 * @param minimumTimeBudgetNs the time budget in nanoseconds that each storage thread will at least be granted
+	 *        per interval, even under full load. Must not be negative.
+	 * 
+	 * @param maximumTimeBudgetNs the time budget in nanoseconds that each storage thread will at most be granted
+	 *        per interval. Must not be lower than the minimum and not exceed the interval.
+	 * 
+	 * @param garbageCollectionEnabled whether the experimental storage-level garbage collection shall be executed,
+	 *        see {@link #isGarbageCollectionEnabled()}.
+	 * 
+	 * @param garbageRatioThreshold the ratio (value in ]0.0;1.0]) of a channel's data files occupied by gaps at
+	 *        which the maximum budget is granted even under full load.
+	 * 
+	 * @param entityCacheSizeThreshold the entity cache size in bytes of a channel at which the maximum budget is
+	 *        granted even under full load. Must be greater than zero.
+	 * 
+	 * @return a new {@link StorageHousekeepingController.Adaptive} instance.
+	 * 
+	 * @throws IllegalArgumentException if any of the passed values is invalid.
+	 * 
+	 * @see StorageHousekeepingController#Adaptive(long, long, long, boolean)
+	 */
+	public static StorageHousekeepingController.Adaptive Adaptive(
+		final long    housekeepingIntervalMs  ,
+		final long    minimumTimeBudgetNs     ,
+		final long    maximumTimeBudgetNs     ,
+		final boolean garbageCollectionEnabled,
+		final double  garbageRatioThreshold   ,
+		final long    entityCacheSizeThreshold
+	)
+	{
+		Validation.validateAdaptiveParameters(housekeepingIntervalMs, minimumTimeBudgetNs, maximumTimeBudgetNs);
+		Validation.validatePressureParameters(garbageRatioThreshold, entityCacheSizeThreshold);
+		
+		return new StorageHousekeepingController.Adaptive(
+			housekeepingIntervalMs  ,
+			minimumTimeBudgetNs     ,
+			maximumTimeBudgetNs     ,
+			garbageCollectionEnabled,
+			garbageRatioThreshold   ,
+			entityCacheSizeThreshold
 		);
 	}
 	
@@ -168,6 +471,27 @@ public interface StorageHousekeepingController
 		{
 			return 10_000_000; // ns
 		}
+		
+		public static long defaultAdaptiveMinimumTimeBudgetNs()
+		{
+			return 1_000_000; // ns
+		}
+		
+		public static long defaultAdaptiveMaximumTimeBudgetNs()
+		{
+			return 100_000_000; // ns
+		}
+		
+		public static double defaultAdaptiveGarbageRatioThreshold()
+		{
+			// files with a garbage ratio above that are dissolved by the default data file evaluator.
+			return 0.25;
+		}
+		
+		public static long defaultAdaptiveEntityCacheSizeThreshold()
+		{
+			return 1_000_000_000; // byte
+		}
 	}
 
 
@@ -177,7 +501,8 @@ public interface StorageHousekeepingController
 		// instance fields //
 		////////////////////
 
-		private final long intervalMs, nanoTimeBudget;
+		private final long    intervalMs, nanoTimeBudget;
+		private final boolean garbageCollectionEnabled;
 
 
 
@@ -185,11 +510,12 @@ public interface StorageHousekeepingController
 		// constructors //
 		/////////////////
 
-		Default(final long intervalMs, final long nanoTimeBudget)
+		Default(final long intervalMs, final long nanoTimeBudget, final boolean garbageCollectionEnabled)
 		{
 			super();
-			this.intervalMs     = intervalMs    ;
-			this.nanoTimeBudget = nanoTimeBudget;
+			this.intervalMs               = intervalMs              ;
+			this.nanoTimeBudget           = nanoTimeBudget          ;
+			this.garbageCollectionEnabled = garbageCollectionEnabled;
 		}
 
 
@@ -231,13 +557,251 @@ public interface StorageHousekeepingController
 			return this.housekeepingTimeBudgetNs();
 		}
 
+		@Override
+		public final boolean isGarbageCollectionEnabled()
+		{
+			return this.garbageCollectionEnabled;
+		}
+
 		@Override
 		public String toString()
 		{
 			return VarString.New()
 				.add(this.getClass().getName()).add(':').lf()
 				.blank().add("house keeping interval"        ).tab().add('=').blank().add(this.intervalMs).lf()
-				.blank().add("house keeping nano time budget").tab().add('=').blank().add(this.nanoTimeBudget)
+				.blank().add("house keeping nano time budget").tab().add('=').blank().add(this.nanoTimeBudget).lf()
+				.blank().add("garbage collection enabled"    ).tab().add('=').blank().add(this.garbageCollectionEnabled)
+				.toString()
+			;
+		}
+
+	}
+
+
+	public final class Adaptive implements StorageHousekeepingController
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		/*
+		 * Number of consecutively incomplete executions at which a task is considered to be as far behind
+		 * as it can get, granting the maximum budget even under full load.
+		 */
+		private static final int BACKLOG_SATURATION = 10;
+
+		/*
+		 * Share of the general budget a task that is neither behind nor under pressure is granted while another
+		 * one is. Enough to stay caught up, but the bulk of the time is left to the tasks that need it.
+		 */
+		static final double MINIMUM_TASK_SHARE = 0.1;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long    intervalMs, minimumTimeBudgetNs, maximumTimeBudgetNs;
+		private final boolean garbageCollectionEnabled;
+		private final double  garbageRatioThreshold   ;
+		private final long    entityCacheSizeThreshold;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Adaptive(
+			final long    intervalMs              ,
+			final long    minimumTimeBudgetNs     ,
+			final long    maximumTimeBudgetNs     ,
+			final boolean garbageCollectionEnabled,
+			final double  garbageRatioThreshold   ,
+			final long    entityCacheSizeThreshold
+		)
+		{
+			super();
+			this.intervalMs               = intervalMs              ;
+			this.minimumTimeBudgetNs      = minimumTimeBudgetNs     ;
+			this.maximumTimeBudgetNs      = maximumTimeBudgetNs     ;
+			this.garbageCollectionEnabled = garbageCollectionEnabled;
+			this.garbageRatioThreshold    = garbageRatioThreshold   ;
+			this.entityCacheSizeThreshold = entityCacheSizeThreshold;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public final long minimumTimeBudgetNs()
+		{
+			return this.minimumTimeBudgetNs;
+		}
+
+		public final long maximumTimeBudgetNs()
+		{
+			return this.maximumTimeBudgetNs;
+		}
+
+		public final double garbageRatioThreshold()
+		{
+			return this.garbageRatioThreshold;
+		}
+
+		public final long entityCacheSizeThreshold()
+		{
+			return this.entityCacheSizeThreshold;
+		}
+
+		@Override
+		public final long housekeepingIntervalMs()
+		{
+			return this.intervalMs;
+		}
+
+		@Override
+		public final boolean isGarbageCollectionEnabled()
+		{
+			return this.garbageCollectionEnabled;
+		}
+
+		/**
+		 * Without a known load, the maximum budget is the only meaningful general value.
+		 */
+		@Override
+		public final long housekeepingTimeBudgetNs()
+		{
+			return this.maximumTimeBudgetNs;
+		}
+
+		@Override
+		public final long garbageCollectionTimeBudgetNs()
+		{
+			return this.housekeepingTimeBudgetNs();
+		}
+
+		@Override
+		public final long liveCheckTimeBudgetNs()
+		{
+			return this.housekeepingTimeBudgetNs();
+		}
+
+		@Override
+		public final long fileCheckTimeBudgetNs()
+		{
+			return this.housekeepingTimeBudgetNs();
+		}
+
+		@Override
+		public final long housekeepingTimeBudgetNs(final StorageHousekeepingLoad load)
+		{
+			/*
+			 * The idle share of the last interval is granted completely, the busy share only as far as the
+			 * housekeeping is behind or the storage state is under pressure. Without either, full load means
+			 * the minimum budget.
+			 */
+			final double idleness = 1.0 - load.busyRatio();
+			final double pressure = Math.max(
+				backlogPressure(load.maximumBacklog()),
+				Math.max(this.garbagePressure(load), this.entityCachePressure(load))
+			);
+			final double share = idleness + pressure * (1.0 - idleness);
+
+			return this.minimumTimeBudgetNs
+				+ (long)((this.maximumTimeBudgetNs - this.minimumTimeBudgetNs) * share)
+			;
+		}
+
+		@Override
+		public final long garbageCollectionTimeBudgetNs(final StorageHousekeepingLoad load)
+		{
+			return this.taskTimeBudgetNs(load, this.garbageCollectionPriority(load));
+		}
+
+		@Override
+		public final long liveCheckTimeBudgetNs(final StorageHousekeepingLoad load)
+		{
+			return this.taskTimeBudgetNs(load, this.liveCheckPriority(load));
+		}
+
+		@Override
+		public final long fileCheckTimeBudgetNs(final StorageHousekeepingLoad load)
+		{
+			return this.taskTimeBudgetNs(load, this.fileCheckPriority(load));
+		}
+
+		private static double backlogPressure(final int backlog)
+		{
+			return Math.min(1.0, (double)backlog / BACKLOG_SATURATION);
+		}
+
+		private double garbagePressure(final StorageHousekeepingLoad load)
+		{
+			return Math.min(1.0, load.garbageRatio() / this.garbageRatioThreshold);
+		}
+
+		private double entityCachePressure(final StorageHousekeepingLoad load)
+		{
+			return Math.min(1.0, (double)load.entityCacheSize() / this.entityCacheSizeThreshold);
+		}
+
+		/*
+		 * The unreachable entities cannot be known before marking, so only falling behind raises the priority.
+		 */
+		private double garbageCollectionPriority(final StorageHousekeepingLoad load)
+		{
+			return backlogPressure(load.garbageCollectionBacklog());
+		}
+
+		private double liveCheckPriority(final StorageHousekeepingLoad load)
+		{
+			return Math.max(backlogPressure(load.liveCheckBacklog()), this.entityCachePressure(load));
+		}
+
+		private double fileCheckPriority(final StorageHousekeepingLoad load)
+		{
+			return Math.max(backlogPressure(load.fileCheckBacklog()), this.garbagePressure(load));
+		}
+
+		private long taskTimeBudgetNs(final StorageHousekeepingLoad load, final double taskPriority)
+		{
+			final long   generalBudgetNs = this.housekeepingTimeBudgetNs(load);
+			final double totalPriority   = this.garbageCollectionPriority(load)
+				+ this.liveCheckPriority(load)
+				+ this.fileCheckPriority(load)
+			;
+
+			// if no task is behind or under pressure, every one may use the whole budget and completes quickly.
+			if(totalPriority == 0.0)
+			{
+				return generalBudgetNs;
+			}
+
+			/*
+			 * Otherwise, every task gets a minimum share and the rest is shared in relation to the priorities,
+			 * so the task furthest behind gets the most time while a caught-up task only keeps up.
+			 * The task budgets are upper bounds of the general budget remaining when a task is executed.
+			 */
+			return (long)(generalBudgetNs
+				* (MINIMUM_TASK_SHARE + (1.0 - MINIMUM_TASK_SHARE) * taskPriority / totalPriority)
+			);
+		}
+
+		@Override
+		public String toString()
+		{
+			return VarString.New()
+				.add(this.getClass().getName()).add(':').lf()
+				.blank().add("house keeping interval"           ).tab().add('=').blank().add(this.intervalMs).lf()
+				.blank().add("house keeping minimum time budget").tab().add('=').blank().add(this.minimumTimeBudgetNs).lf()
+				.blank().add("house keeping maximum time budget").tab().add('=').blank().add(this.maximumTimeBudgetNs).lf()
+				.blank().add("garbage collection enabled"       ).tab().add('=').blank().add(this.garbageCollectionEnabled).lf()
+				.blank().add("garbage ratio threshold"          ).tab().add('=').blank().add(this.garbageRatioThreshold).lf()
+				.blank().add("entity cache size threshold"      ).tab().add('=').blank().add(this.entityCacheSizeThreshold)
 				.toString()
 			;
 		}
@@ -0,0 +1,294 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.chars.VarString;
+
+/**
+ * The load situation of a single storage channel as observed during its last completed housekeeping interval.
+ * Passed to the {@link StorageHousekeepingController} to allow it to adapt the housekeeping time budgets.
+ *
+ * @see StorageHousekeepingController#housekeepingTimeBudgetNs(StorageHousekeepingLoad)
+ */
+public interface StorageHousekeepingLoad
+{
+	/**
+	 * @return The index of the channel this load belongs to.
+	 */
+	public int channelIndex();
+
+	/**
+	 * @return The actual length of the last completed housekeeping interval in nanoseconds or 0 if there
+	 *         has been no completed interval, yet.
+	 */
+	public long intervalNs();
+
+	/**
+	 * @return The time in nanoseconds the channel spent processing tasks during the last completed interval.
+	 */
+	public long taskProcessingNs();
+
+	/**
+	 * @return The number of consecutive garbage collection housekeeping executions that used up their time budget
+	 *         without completing.
+	 */
+	public int garbageCollectionBacklog();
+
+	/**
+	 * @return The number of consecutive entity cache check housekeeping executions that used up their time budget
+	 *         without completing.
+	 */
+	public int liveCheckBacklog();
+
+	/**
+	 * @return The number of consecutive file cleanup housekeeping executions that used up their time budget
+	 *         without completing.
+	 */
+	public int fileCheckBacklog();
+
+	/**
+	 * @return The ratio (from 0.0 to 1.0) of the channel's total data file length that is occupied by gaps,
+	 *         as of the start of the current interval. This is the garbage the file cleanup has to get rid of.
+	 */
+	public double garbageRatio();
+
+	/**
+	 * @return The size in bytes of the channel's entity cache as of the start of the current interval.
+	 */
+	public long entityCacheSize();
+
+	/**
+	 * @return The ratio (from 0.0 to 1.0) of the last completed interval the channel spent processing tasks.
+	 */
+	public default double busyRatio()
+	{
+		final long intervalNs = this.intervalNs();
+
+		return intervalNs <= 0
+			? 0.0
+			: Math.min(1.0, (double)this.taskProcessingNs() / intervalNs)
+		;
+	}
+
+	/**
+	 * @return The highest of all task backlogs.
+	 */
+	public default int maximumBacklog()
+	{
+		return Math.max(this.garbageCollectionBacklog(), Math.max(this.liveCheckBacklog(), this.fileCheckBacklog()));
+	}
+
+	/**
+	 * @return The sum of all task backlogs.
+	 */
+	public default int totalBacklog()
+	{
+		return this.garbageCollectionBacklog() + this.liveCheckBacklog() + this.fileCheckBacklog();
+	}
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageHousekeepingLoad.Default} instance
+	 * for the channel with the passed index.
+	 *
+	 * @param channelIndex the index of the channel that records the load.
+	 *
+	 * @return a new {@link StorageHousekeepingLoad.Default} instance.
+	 */
+	public static StorageHousekeepingLoad.Default New(final int channelIndex)
+	{
+		return new StorageHousekeepingLoad.Default(channelIndex);
+	}
+
+	/**
+	 * Mutable implementation that is only ever updated and read by the channel's own thread.
+	 */
+	public final class Default implements StorageHousekeepingLoad
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int channelIndex;
+
+		private boolean intervalStarted        ;
+		private long    intervalStartNs        ;
+		private long    currentTaskProcessingNs;
+
+		private long intervalNs      ;
+		private long taskProcessingNs;
+
+		private int garbageCollectionBacklog;
+		private int liveCheckBacklog        ;
+		private int fileCheckBacklog        ;
+
+		private double garbageRatio   ;
+		private long   entityCacheSize;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final int channelIndex)
+		{
+			super();
+			this.channelIndex = channelIndex;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final int channelIndex()
+		{
+			return this.channelIndex;
+		}
+
+		@Override
+		public final long intervalNs()
+		{
+			return this.intervalNs;
+		}
+
+		@Override
+		public final long taskProcessingNs()
+		{
+			return this.taskProcessingNs;
+		}
+
+		@Override
+		public final int garbageCollectionBacklog()
+		{
+			return this.garbageCollectionBacklog;
+		}
+
+		@Override
+		public final int liveCheckBacklog()
+		{
+			return this.liveCheckBacklog;
+		}
+
+		@Override
+		public final int fileCheckBacklog()
+		{
+			return this.fileCheckBacklog;
+		}
+
+		@Override
+		public final double garbageRatio()
+		{
+			return this.garbageRatio;
+		}
+
+		@Override
+		public final long entityCacheSize()
+		{
+			return this.entityCacheSize;
+		}
+
+		public final void registerTaskProcessing(final long durationNs)
+		{
+			this.currentTaskProcessingNs += durationNs;
+		}
+
+		/**
+		 * Completes the current interval and starts the next one at the passed time.
+		 *
+		 * @param currentNanoTime the current {@link System#nanoTime()}.
+		 */
+		public final void startInterval(final long currentNanoTime)
+		{
+			if(this.intervalStarted)
+			{
+				this.intervalNs       = currentNanoTime - this.intervalStartNs;
+				this.taskProcessingNs = this.currentTaskProcessingNs;
+			}
+			this.intervalStarted         = true;
+			this.intervalStartNs         = currentNanoTime;
+			this.currentTaskProcessingNs = 0;
+		}
+
+		/**
+		 * Updates the storage state the channel had at the start of the current interval.
+		 *
+		 * @param garbageRatio the ratio of the channel's total data file length occupied by gaps.
+		 * @param entityCacheSize the size in bytes of the channel's entity cache.
+		 */
+		public final void updateStorageState(final double garbageRatio, final long entityCacheSize)
+		{
+			this.garbageRatio    = garbageRatio   ;
+			this.entityCacheSize = entityCacheSize;
+		}
+
+		public final void updateGarbageCollectionBacklog(final boolean isBehind)
+		{
+			this.garbageCollectionBacklog = updateBacklog(this.garbageCollectionBacklog, isBehind);
+		}
+
+		public final void updateLiveCheckBacklog(final boolean isBehind)
+		{
+			this.liveCheckBacklog = updateBacklog(this.liveCheckBacklog, isBehind);
+		}
+
+		public final void updateFileCheckBacklog(final boolean isBehind)
+		{
+			this.fileCheckBacklog = updateBacklog(this.fileCheckBacklog, isBehind);
+		}
+
+		private static int updateBacklog(final int backlog, final boolean isBehind)
+		{
+			if(!isBehind)
+			{
+				return 0;
+			}
+
+			return backlog == Integer.MAX_VALUE
+				? backlog
+				: backlog + 1
+			;
+		}
+
+		@Override
+		public String toString()
+		{
+			return VarString.New()
+				.add(this.getClass().getName()).add(':').lf()
+				.blank().add("channel index             ").tab().add('=').blank().add(this.channelIndex).lf()
+				.blank().add("interval ns               ").tab().add('=').blank().add(this.intervalNs).lf()
+				.blank().add("task processing ns        ").tab().add('=').blank().add(this.taskProcessingNs).lf()
+				.blank().add("garbage collection backlog").tab().add('=').blank().add(this.garbageCollectionBacklog).lf()
+				.blank().add("live check backlog        ").tab().add('=').blank().add(this.liveCheckBacklog).lf()
+				.blank().add("file check backlog        ").tab().add('=').blank().add(this.fileCheckBacklog).lf()
+				.blank().add("garbage ratio             ").tab().add('=').blank().add(this.garbageRatio).lf()
+				.blank().add("entity cache size         ").tab().add('=').blank().add(this.entityCacheSize)
+				.toString()
+			;
+		}
+
+	}
+
+}
@@ -0,0 +1,193 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import one.microstream.afs.types.AFile;
+import one.microstream.collections.BulkList;
+import one.microstream.collections.types.XGettingEnum;
+import one.microstream.collections.types.XGettingSequence;
+import one.microstream.storage.exceptions.StorageException;
+
+
+/**
+ * A sequence of data to be imported into a storage. Every source of an import is read by a reader thread of its
+ * own, all sources in parallel, while every channel copies its share of the read entities in parallel as well.
+ * Hence, all versions of an entity must be contained in the same source, in the order they have been stored in.
+ */
+@FunctionalInterface
+public interface StorageImportSource
+{
+	public void read(StorageImportSource.Reader reader);
+	
+	
+	
+	public interface Reader
+	{
+		/**
+		 * Reads all entities of the passed file in the storage data file format.
+		 * 
+		 * @param file the file to be read.
+		 */
+		public void readFile(AFile file);
+		
+		/**
+		 * Reads all entities in the passed range of the passed file in the storage data file format.
+		 * The range must start at an entity or gap.
+		 * 
+		 * @param file the file to be read.
+		 * @param position the position of the range to be read.
+		 * @param length the length of the range to be read.
+		 */
+		public void readFile(AFile file, long position, long length);
+		
+		/**
+		 * Reads the passed captured entities of the passed live data file of another storage. Reading only uses
+		 * the captured information, the entities' data is copied from the live file by the importing channels.
+		 * 
+		 * @param file the live data file of another storage containing the entities.
+		 * @param entities the captured live entities of the file.
+		 */
+		public void readEntities(StorageLiveDataFile file, StorageSnapshot.CapturedEntities entities);
+	}
+	
+	
+	
+	public static StorageImportSource Files(final XGettingEnum<AFile> files)
+	{
+		notNull(files);
+		
+		return reader ->
+		{
+			for(final AFile file : files)
+			{
+				reader.readFile(file);
+			}
+		};
+	}
+	
+	/**
+	 * Creates an import source per channel of the passed {@link StorageSnapshot}, reading the captured live
+	 * entities of the channel's data files.
+	 * The snapshot must have been captured including entities and must not be released before the import is
+	 * complete.
+	 * 
+	 * @param snapshot the snapshot of another storage.
+	 * 
+	 * @return the import sources.
+	 */
+	public static XGettingSequence<StorageImportSource> Snapshot(final StorageSnapshot snapshot)
+	{
+		final BulkList<StorageImportSource> sources = BulkList.New(snapshot.channelCount());
+		for(int i = 0; i < snapshot.channelCount(); i++)
+		{
+			final StorageSnapshot.ChannelSnapshot channelSnapshot = snapshot.channel(i);
+			if(!channelSnapshot.hasEntities())
+			{
+				throw new StorageException("Snapshot of channel " + i + " has been captured without entities.");
+			}
+			if(channelSnapshot.isReleased())
+			{
+				throw new StorageException("Snapshot of channel " + i + " has already been released.");
+			}
+			
+			sources.add(reader ->
+			{
+				for(int f = 0; f < channelSnapshot.dataFileCount(); f++)
+				{
+					reader.readEntities(channelSnapshot.dataFile(f), channelSnapshot.dataFileEntities(f));
+				}
+			});
+		}
+		
+		return sources;
+	}
+	
+	/**
+	 * Creates an import source per channel of the passed {@link StorageSnapshot}, reading all data appended
+	 * to the snapshot's storage after capturing the snapshot: the rest of every captured data file after its
+	 * captured length and all data files created afterwards.<br>
+	 * The snapshot's storage must have been shut down, so that its data files do not change anymore.
+	 * 
+	 * @param snapshot the snapshot of the storage whose appended data shall be imported.
+	 * @param fileProvider the file provider of the snapshot's storage.
+	 * 
+	 * @return the import sources.
+	 */
+	public static XGettingSequence<StorageImportSource> AppendedData(
+		final StorageSnapshot     snapshot    ,
+		final StorageFileProvider fileProvider
+	)
+	{
+		notNull(fileProvider);
+		
+		final BulkList<StorageImportSource> sources = BulkList.New(snapshot.channelCount());
+		for(int i = 0; i < snapshot.channelCount(); i++)
+		{
+			final StorageSnapshot.ChannelSnapshot channelSnapshot = snapshot.channel(i);
+			
+			sources.add(reader ->
+				readAppendedData(reader, channelSnapshot, fileProvider)
+			);
+		}
+		
+		return sources;
+	}
+	
+	static void readAppendedData(
+		final StorageImportSource.Reader      reader         ,
+		final StorageSnapshot.ChannelSnapshot channelSnapshot,
+		final StorageFileProvider             fileProvider
+	)
+	{
+		final BulkList<StorageDataInventoryFile> files = fileProvider.collectDataFiles(
+			StorageDataInventoryFile::New,
+			BulkList.New(),
+			channelSnapshot.channelIndex()
+		);
+		files.sort(StorageDataFile::orderByNumber);
+		
+		final long highestCapturedNumber = channelSnapshot.highestDataFileNumber();
+		for(final StorageDataInventoryFile file : files)
+		{
+			final long capturedLength = channelSnapshot.capturedLength(file.number());
+			if(capturedLength >= 0)
+			{
+				final long appendedLength = file.file().size() - capturedLength;
+				if(appendedLength > 0)
+				{
+					reader.readFile(file.file(), capturedLength, appendedLength);
+				}
+			}
+			else if(file.number() > highestCapturedNumber)
+			{
+				reader.readFile(file.file());
+			}
+			
+			/* Uncaptured files with lower numbers were already dissolved when capturing the snapshot.
+			 * Captured files deleted meanwhile have been dissolved after capturing, which appended their
+			 * live entities to later files.
+			 */
+		}
+	}
+	
+}
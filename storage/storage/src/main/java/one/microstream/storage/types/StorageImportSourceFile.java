@@ -26,5 +26,13 @@ import java.util.function.Consumer;
 public interface StorageImportSourceFile extends StorageClosableFile
 {
 	public void iterateBatches(Consumer<? super StorageChannelImportBatch> iterator);
+	
+	/**
+	 * @return the file to copy the batches' data from, which is this file itself by default.
+	 */
+	public default StorageFile dataFile()
+	{
+		return this;
+	}
 
 }
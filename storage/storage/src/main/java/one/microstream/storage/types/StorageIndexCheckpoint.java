@@ -0,0 +1,781 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import one.microstream.X;
+import one.microstream.afs.types.AFS;
+import one.microstream.afs.types.AFile;
+import one.microstream.afs.types.AReadableFile;
+import one.microstream.afs.types.AWritableFile;
+import one.microstream.memory.XMemory;
+import one.microstream.storage.exceptions.StorageExceptionIoReading;
+import one.microstream.storage.exceptions.StorageExceptionIoWriting;
+
+/**
+ * A channel's entity registration state (objectId, typeId, file, position and length of every entity) as it was
+ * written to the channel's index checkpoint file at a certain point in time.
+ * <p>
+ * On initialization, a valid checkpoint replaces reading the data files it covers: only data that was appended
+ * after the checkpoint has been written has to be read and registered. Everything else is registered from
+ * the checkpoint.
+ *
+ * @see StorageIndexCheckpointSetup
+ */
+public interface StorageIndexCheckpoint
+{
+	public int channelIndex();
+
+	/**
+	 * @return the timestamp of the latest store that was contained in the data files when the checkpoint was written.
+	 */
+	public long storeTimestamp();
+
+	/**
+	 * @return the number of the head file at the time the checkpoint was written.
+	 */
+	public long headFileNumber();
+
+	/**
+	 * @return the length of the head file at the time the checkpoint was written.
+	 */
+	public long headFileLength();
+
+	/**
+	 * @param fileNumber the number of the data file.
+	 *
+	 * @return the length of the data file at the time the checkpoint was written or -1 if it is not contained.
+	 */
+	public long fileLength(long fileNumber);
+
+	/**
+	 * Iterates the entities of the passed data file in reverse storage order.
+	 * The entities are read from the checkpoint file in chunks, so this method must not be called concurrently.
+	 *
+	 * @param fileNumber the number of the data file.
+	 * @param acceptor the logic to be executed for every entity.
+	 */
+	public void iterateEntitiesReversed(long fileNumber, EntityAcceptor acceptor);
+
+	/**
+	 * Frees the memory occupied by the checkpoint data.
+	 */
+	public void release();
+
+
+
+	@FunctionalInterface
+	public interface EntityAcceptor
+	{
+		public void accept(long objectId, long typeId, long storagePosition, int length);
+	}
+
+
+
+	public final class Logic
+	{
+		/*
+		 * Format (little endian byte order):
+		 * Header  : [8B magic][8B channel index][8B store timestamp]
+		 * Entities: entityCount * [8B objectId][8B typeId][8B position][4B length][4B unused] (grouped by file, storage order)
+		 * Files   : fileCount   * [8B file number][8B file length][8B entity count]  (ascending file number)
+		 * Footer  : [8B file count][8B entity count][8B magic]
+		 *
+		 * The entities precede the file table, so a checkpoint can be written in a single pass over the entities.
+		 * The footer allows to recognize a checkpoint whose writing has been aborted.
+		 */
+
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		/**
+		 * The value ("MSIDXCP3") both the header and the footer of a complete checkpoint file start or end with.
+		 */
+		public static final long MAGIC = 0x4D53_4944_5843_5033L;
+
+		static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+		static final int
+			HEADER_OFFSET_MAGIC           =  0,
+			HEADER_OFFSET_CHANNEL_INDEX   =  8,
+			HEADER_OFFSET_STORE_TIMESTAMP = 16,
+			HEADER_LENGTH                 = 24
+		;
+
+		static final int
+			FILE_OFFSET_NUMBER       =  0,
+			FILE_OFFSET_LENGTH       =  8,
+			FILE_OFFSET_ENTITY_COUNT = 16,
+			FILE_RECORD_LENGTH       = 24
+		;
+
+		static final int
+			ENTITY_OFFSET_OBJECT_ID = 0,
+			ENTITY_OFFSET_TYPE_ID   = 8,
+			ENTITY_OFFSET_POSITION  = 16,
+			ENTITY_OFFSET_LENGTH    = 24,
+			ENTITY_RECORD_LENGTH    = 32
+		;
+
+		static final int
+			FOOTER_OFFSET_FILE_COUNT   =  0,
+			FOOTER_OFFSET_ENTITY_COUNT =  8,
+			FOOTER_OFFSET_MAGIC        = 16,
+			FOOTER_LENGTH              = 24
+		;
+
+		// a multiple of all record lengths, so that chunks always contain whole records.
+		static final int BUFFER_SIZE = 96 * 1024 * 8;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+
+		static ByteBuffer allocateBuffer()
+		{
+			return XMemory.allocateDirectNative(BUFFER_SIZE).order(BYTE_ORDER);
+		}
+
+		/**
+		 * Completes the writing of a checkpoint that was interrupted while replacing the previous checkpoint file
+		 * with the written temporary file or discards the temporary file of an incomplete checkpoint.
+		 *
+		 * @param file the checkpoint file.
+		 * @param temporaryFile the temporary file a new checkpoint is written to.
+		 */
+		public static void completeWriting(final AFile file, final AFile temporaryFile)
+		{
+			if(!temporaryFile.exists())
+			{
+				return;
+			}
+
+			if(file.exists())
+			{
+				// writing was interrupted before the previous checkpoint was removed, so it is still valid.
+				AFS.executeWriting(temporaryFile, AWritableFile::delete);
+				return;
+			}
+
+			// writing was interrupted after the previous checkpoint was removed, so the written one replaces it.
+			AFS.executeWriting(temporaryFile, tf ->
+				AFS.executeWriting(file, f ->
+					tf.moveTo(f)
+				)
+			);
+		}
+
+		/**
+		 * Reads the header and the file table of the passed checkpoint file. The entities are read
+		 * chunk-wise when they are iterated.
+		 *
+		 * @param file the checkpoint file to be read.
+		 *
+		 * @return the read checkpoint or {@literal null} if there is no complete checkpoint.
+		 */
+		public static StorageIndexCheckpoint read(final AFile file)
+		{
+			if(!file.exists())
+			{
+				return null;
+			}
+
+			final long size = file.size();
+			if(size < HEADER_LENGTH + FOOTER_LENGTH)
+			{
+				return null;
+			}
+
+			final ByteBuffer buffer = allocateBuffer();
+			try
+			{
+				final StorageIndexCheckpoint checkpoint = AFS.apply(file, rf ->
+					parse(file, rf, size, buffer)
+				);
+				if(checkpoint == null)
+				{
+					XMemory.deallocateDirectByteBuffer(buffer);
+				}
+
+				return checkpoint;
+			}
+			catch(final Exception e)
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+				throw new StorageExceptionIoReading(e);
+			}
+		}
+
+		static void readChunk(
+			final AReadableFile file    ,
+			final ByteBuffer    buffer  ,
+			final long          position,
+			final int           length
+		)
+		{
+			buffer.clear();
+			file.readBytes(buffer, position, length);
+		}
+
+		private static StorageIndexCheckpoint parse(
+			final AFile         file      ,
+			final AReadableFile readable  ,
+			final long          size      ,
+			final ByteBuffer    buffer
+		)
+		{
+			readChunk(readable, buffer, size - FOOTER_LENGTH, FOOTER_LENGTH);
+			final long fileCount   = buffer.getLong(FOOTER_OFFSET_FILE_COUNT  );
+			final long entityCount = buffer.getLong(FOOTER_OFFSET_ENTITY_COUNT);
+			if(buffer.getLong(FOOTER_OFFSET_MAGIC) != MAGIC)
+			{
+				return null;
+			}
+
+			readChunk(readable, buffer, 0, HEADER_LENGTH);
+			final long channelIndex   = buffer.getLong(HEADER_OFFSET_CHANNEL_INDEX  );
+			final long storeTimestamp = buffer.getLong(HEADER_OFFSET_STORE_TIMESTAMP);
+			if(buffer.getLong(HEADER_OFFSET_MAGIC) != MAGIC)
+			{
+				return null;
+			}
+
+			// the counts are checked against the size individually first to prevent overflows.
+			final long contentLength = size - HEADER_LENGTH - FOOTER_LENGTH;
+			if(fileCount <= 0 || fileCount > contentLength / FILE_RECORD_LENGTH
+			|| entityCount < 0 || entityCount > contentLength / ENTITY_RECORD_LENGTH
+			|| fileCount * FILE_RECORD_LENGTH + entityCount * ENTITY_RECORD_LENGTH != contentLength)
+			{
+				return null;
+			}
+
+			final int    count              = X.checkArrayRange(fileCount);
+			final long[] fileNumbers        = new long[count];
+			final long[] fileLengths        = new long[count];
+			final long[] fileEntityCounts   = new long[count];
+			final long[] fileEntitiesStarts = new long[count];
+
+			final long filesStart      = HEADER_LENGTH + entityCount * ENTITY_RECORD_LENGTH;
+			final int  recordsPerChunk = BUFFER_SIZE / FILE_RECORD_LENGTH;
+			long entitiesStart   = HEADER_LENGTH;
+			long countedEntities = 0;
+			for(int i = 0; i < count; i++)
+			{
+				final int offset = i % recordsPerChunk * FILE_RECORD_LENGTH;
+				if(offset == 0)
+				{
+					final int chunkRecords = Math.min(recordsPerChunk, count - i);
+					readChunk(readable, buffer, filesStart + (long)i * FILE_RECORD_LENGTH, chunkRecords * FILE_RECORD_LENGTH);
+				}
+				fileNumbers       [i] = buffer.getLong(offset + FILE_OFFSET_NUMBER      );
+				fileLengths       [i] = buffer.getLong(offset + FILE_OFFSET_LENGTH      );
+				fileEntityCounts  [i] = buffer.getLong(offset + FILE_OFFSET_ENTITY_COUNT);
+				fileEntitiesStarts[i] = entitiesStart;
+
+				if(i > 0 && fileNumbers[i] <= fileNumbers[i - 1]
+				|| fileEntityCounts[i] < 0 || fileEntityCounts[i] > entityCount - countedEntities)
+				{
+					return null;
+				}
+				entitiesStart   += fileEntityCounts[i] * ENTITY_RECORD_LENGTH;
+				countedEntities += fileEntityCounts[i];
+			}
+			if(countedEntities != entityCount)
+			{
+				return null;
+			}
+
+			return new StorageIndexCheckpoint.Default(
+				file              ,
+				buffer            ,
+				(int)channelIndex ,
+				storeTimestamp    ,
+				fileNumbers       ,
+				fileLengths       ,
+				fileEntityCounts  ,
+				fileEntitiesStarts
+			);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		/**
+		 * Dummy constructor to prevent instantiation of this static-only utility class.
+		 *
+		 * @throws UnsupportedOperationException when called
+		 */
+		private Logic()
+		{
+			// static only
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+
+
+	/**
+	 * Writes a checkpoint of the entity registration state of a channel incrementally, so that the writing can
+	 * be split up into several housekeeping cycles.
+	 * <p>
+	 * The checkpoint represents the state at its creation: it covers the data files up to their length at that
+	 * time. Entities that are stored or moved meanwhile are appended behind that length, so they are read from
+	 * the data files on startup, replacing their versions contained in the checkpoint. Entities deleted meanwhile
+	 * are not contained in the checkpoint, which is no problem as they are not reachable from the latest data.
+	 * <p>
+	 * The checkpoint is written to a temporary file that only replaces the checkpoint file once it is complete.
+	 */
+	public final class Writer
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final AFile                         file          ;
+		private final AFile                         temporaryFile ;
+		private final long                          storeTimestamp;
+		private final StorageLiveDataFile.Default[] dataFiles     ;
+		private final long[]                        fileLengths   ;
+		private final long[]                        entityCounts  ;
+
+		private AWritableFile output;
+		private ByteBuffer    buffer;
+
+		// the file whose entities are written and the last written entity of it along with its position.
+		private int                   fileIndex     ;
+		private StorageEntity.Default cursor        ;
+		private long                  cursorPosition;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		/**
+		 * Starts writing a checkpoint of all data files chained to the passed head file.
+		 * Must only be called while there is no uncommitted data.
+		 *
+		 * @param file the checkpoint file to be replaced once the checkpoint is complete.
+		 * @param temporaryFile the file the checkpoint is written to.
+		 * @param channelIndex the index of the writing channel.
+		 * @param storeTimestamp the timestamp of the latest store contained in the data files.
+		 * @param headFile the current head file of the channel.
+		 */
+		Writer(
+			final AFile                       file          ,
+			final AFile                       temporaryFile ,
+			final int                         channelIndex  ,
+			final long                        storeTimestamp,
+			final StorageLiveDataFile.Default headFile
+		)
+		{
+			super();
+			this.file           = file          ;
+			this.temporaryFile  = temporaryFile ;
+			this.storeTimestamp = storeTimestamp;
+
+			int fileCount = 0;
+			StorageLiveDataFile.Default dataFile = headFile;
+			do
+			{
+				dataFile = dataFile.next;
+				fileCount++;
+			}
+			while(dataFile != headFile);
+
+			// the head file's next file is the oldest one, so the files are collected in ascending order.
+			this.dataFiles    = new StorageLiveDataFile.Default[fileCount];
+			this.fileLengths  = new long[fileCount];
+			this.entityCounts = new long[fileCount];
+			for(int i = 0; i < fileCount; i++)
+			{
+				dataFile = dataFile.next;
+				this.dataFiles  [i] = dataFile;
+				this.fileLengths[i] = dataFile.totalLength();
+			}
+
+			this.buffer = Logic.allocateBuffer();
+			try
+			{
+				this.output = temporaryFile.useWriting(this);
+				this.output.ensureExists();
+				this.output.truncate(0);
+			}
+			catch(final RuntimeException e)
+			{
+				this.abort();
+				throw new StorageExceptionIoWriting(e);
+			}
+
+			this.buffer.putLong(Logic.HEADER_OFFSET_MAGIC          , Logic.MAGIC   );
+			this.buffer.putLong(Logic.HEADER_OFFSET_CHANNEL_INDEX  , channelIndex  );
+			this.buffer.putLong(Logic.HEADER_OFFSET_STORE_TIMESTAMP, storeTimestamp);
+			this.buffer.position(Logic.HEADER_LENGTH);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		/**
+		 * @return the timestamp of the latest store covered by the checkpoint.
+		 */
+		public final long storeTimestamp()
+		{
+			return this.storeTimestamp;
+		}
+
+		/**
+		 * Continues writing the checkpoint until it is complete or the time budget is used up.
+		 * Must only be called while there is no uncommitted data.
+		 *
+		 * @param nanoTimeBudgetBound the {@link System#nanoTime()} value up to which writing may continue.
+		 *
+		 * @return whether the checkpoint has been completely written and replaced the checkpoint file.
+		 */
+		public final boolean write(final long nanoTimeBudgetBound)
+		{
+			try
+			{
+				for(; this.fileIndex < this.dataFiles.length; this.fileIndex++, this.cursor = null)
+				{
+					if(!this.writeEntities(nanoTimeBudgetBound))
+					{
+						return false;
+					}
+				}
+				this.complete();
+
+				return true;
+			}
+			catch(final StorageExceptionIoWriting e)
+			{
+				this.abort();
+				throw e;
+			}
+			catch(final RuntimeException e)
+			{
+				this.abort();
+				throw new StorageExceptionIoWriting(e);
+			}
+		}
+
+		private boolean writeEntities(final long nanoTimeBudgetBound)
+		{
+			final StorageLiveDataFile.Default dataFile = this.dataFiles  [this.fileIndex];
+			final long                        length   = this.fileLengths[this.fileIndex];
+
+			for(StorageEntity.Default e = this.resumeEntity(dataFile); e != dataFile.tail; e = e.fileNext)
+			{
+				// entities are in storage order, so all following ones have been stored after the checkpoint's creation.
+				if(e.storagePosition >= length)
+				{
+					break;
+				}
+
+				final int record = this.ensure(Logic.ENTITY_RECORD_LENGTH);
+				this.buffer.putLong(record + Logic.ENTITY_OFFSET_OBJECT_ID, e.objectId()            );
+				this.buffer.putLong(record + Logic.ENTITY_OFFSET_TYPE_ID  , e.typeInFile.type.typeId);
+				this.buffer.putLong(record + Logic.ENTITY_OFFSET_POSITION , e.storagePosition       );
+				this.buffer.putInt (record + Logic.ENTITY_OFFSET_LENGTH   , e.length                );
+				this.buffer.putInt (record + Logic.ENTITY_OFFSET_LENGTH + Integer.BYTES, 0          );
+				this.entityCounts[this.fileIndex]++;
+
+				this.cursor         = e;
+				this.cursorPosition = e.storagePosition;
+
+				// checked after writing to guarantee progress.
+				if(System.nanoTime() >= nanoTimeBudgetBound && e.fileNext != dataFile.tail)
+				{
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		private StorageEntity.Default resumeEntity(final StorageLiveDataFile.Default dataFile)
+		{
+			final StorageEntity.Default cursor = this.cursor;
+			if(cursor == null)
+			{
+				return dataFile.head.fileNext;
+			}
+			if(!cursor.isDeleted() && cursor.typeInFile.file == dataFile && cursor.storagePosition == this.cursorPosition)
+			{
+				return cursor.fileNext;
+			}
+
+			// the cursor has been deleted or moved meanwhile, so the entities following its position are searched.
+			StorageEntity.Default e = dataFile.head.fileNext;
+			while(e != dataFile.tail && e.storagePosition <= this.cursorPosition)
+			{
+				e = e.fileNext;
+			}
+
+			return e;
+		}
+
+		private int ensure(final int length)
+		{
+			if(this.buffer.remaining() < length)
+			{
+				this.flush();
+			}
+
+			final int position = this.buffer.position();
+			this.buffer.position(position + length);
+
+			return position;
+		}
+
+		private void flush()
+		{
+			this.buffer.flip();
+			while(this.buffer.hasRemaining())
+			{
+				this.output.writeBytes(this.buffer);
+			}
+			this.buffer.clear();
+		}
+
+		private void complete()
+		{
+			long entityCount = 0;
+			for(int i = 0; i < this.dataFiles.length; i++)
+			{
+				final int record = this.ensure(Logic.FILE_RECORD_LENGTH);
+				this.buffer.putLong(record + Logic.FILE_OFFSET_NUMBER      , this.dataFiles[i].number());
+				this.buffer.putLong(record + Logic.FILE_OFFSET_LENGTH      , this.fileLengths[i]        );
+				this.buffer.putLong(record + Logic.FILE_OFFSET_ENTITY_COUNT, this.entityCounts[i]       );
+				entityCount += this.entityCounts[i];
+			}
+
+			final int footer = this.ensure(Logic.FOOTER_LENGTH);
+			this.buffer.putLong(footer + Logic.FOOTER_OFFSET_FILE_COUNT  , this.dataFiles.length);
+			this.buffer.putLong(footer + Logic.FOOTER_OFFSET_ENTITY_COUNT, entityCount          );
+			this.buffer.putLong(footer + Logic.FOOTER_OFFSET_MAGIC       , Logic.MAGIC          );
+
+			// the AFS writes are forced to the storage medium, so the temporary file is complete before it is moved.
+			this.flush();
+			this.releaseResources();
+
+			// moving does not replace the target, see Logic#completeWriting for the recovery in between.
+			AFS.executeWriting(this.file, f ->
+			{
+				f.delete();
+				AFS.executeWriting(this.temporaryFile, tf ->
+					tf.moveTo(f)
+				);
+			});
+		}
+
+		/**
+		 * Discards the incompletely written checkpoint.
+		 */
+		public final void abort()
+		{
+			this.releaseResources();
+			if(this.temporaryFile.exists())
+			{
+				AFS.executeWriting(this.temporaryFile, AWritableFile::delete);
+			}
+		}
+
+		private void releaseResources()
+		{
+			if(this.output != null)
+			{
+				this.output.release();
+				this.output = null;
+			}
+			if(this.buffer != null)
+			{
+				XMemory.deallocateDirectByteBuffer(this.buffer);
+				this.buffer = null;
+			}
+		}
+
+	}
+
+
+
+	public final class Default implements StorageIndexCheckpoint
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final AFile  file              ;
+		private final int    channelIndex      ;
+		private final long   storeTimestamp    ;
+		private final long[] fileNumbers       ;
+		private final long[] fileLengths       ;
+		private final long[] fileEntityCounts  ;
+		private final long[] fileEntitiesStarts;
+
+		private ByteBuffer buffer;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final AFile      file              ,
+			final ByteBuffer buffer            ,
+			final int        channelIndex      ,
+			final long       storeTimestamp    ,
+			final long[]     fileNumbers       ,
+			final long[]     fileLengths       ,
+			final long[]     fileEntityCounts  ,
+			final long[]     fileEntitiesStarts
+		)
+		{
+			super();
+			this.file               = file              ;
+			this.buffer             = buffer            ;
+			this.channelIndex       = channelIndex      ;
+			this.storeTimestamp     = storeTimestamp    ;
+			this.fileNumbers        = fileNumbers       ;
+			this.fileLengths        = fileLengths       ;
+			this.fileEntityCounts   = fileEntityCounts  ;
+			this.fileEntitiesStarts = fileEntitiesStarts;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final int channelIndex()
+		{
+			return this.channelIndex;
+		}
+
+		@Override
+		public final long storeTimestamp()
+		{
+			return this.storeTimestamp;
+		}
+
+		@Override
+		public final long headFileNumber()
+		{
+			return this.fileNumbers[this.fileNumbers.length - 1];
+		}
+
+		@Override
+		public final long headFileLength()
+		{
+			return this.fileLengths[this.fileLengths.length - 1];
+		}
+
+		@Override
+		public final long fileLength(final long fileNumber)
+		{
+			final int index = Arrays.binarySearch(this.fileNumbers, fileNumber);
+
+			return index < 0 ? -1 : this.fileLengths[index];
+		}
+
+		@Override
+		public final void iterateEntitiesReversed(final long fileNumber, final EntityAcceptor acceptor)
+		{
+			final int index = Arrays.binarySearch(this.fileNumbers, fileNumber);
+			if(index < 0 || this.fileEntityCounts[index] == 0)
+			{
+				return;
+			}
+
+			final long start = this.fileEntitiesStarts[index];
+			final long end   = start + this.fileEntityCounts[index] * Logic.ENTITY_RECORD_LENGTH;
+			try
+			{
+				AFS.execute(this.file, rf ->
+					this.iterateEntitiesReversed(rf, start, end, acceptor)
+				);
+			}
+			catch(final RuntimeException e)
+			{
+				throw new StorageExceptionIoReading(e);
+			}
+		}
+
+		private void iterateEntitiesReversed(
+			final AReadableFile  file    ,
+			final long           start   ,
+			final long           end     ,
+			final EntityAcceptor acceptor
+		)
+		{
+			final ByteBuffer buffer = this.buffer;
+			for(long chunkEnd = end; chunkEnd > start;)
+			{
+				final long chunkStart = Math.max(start, chunkEnd - Logic.BUFFER_SIZE);
+				final int  length     = (int)(chunkEnd - chunkStart);
+				Logic.readChunk(file, buffer, chunkStart, length);
+
+				for(int record = length; record > 0;)
+				{
+					record -= Logic.ENTITY_RECORD_LENGTH;
+					acceptor.accept(
+						buffer.getLong(record + Logic.ENTITY_OFFSET_OBJECT_ID),
+						buffer.getLong(record + Logic.ENTITY_OFFSET_TYPE_ID  ),
+						buffer.getLong(record + Logic.ENTITY_OFFSET_POSITION ),
+						buffer.getInt (record + Logic.ENTITY_OFFSET_LENGTH   )
+					);
+				}
+				chunkEnd = chunkStart;
+			}
+		}
+
+		@Override
+		public final void release()
+		{
+			if(this.buffer == null)
+			{
+				return;
+			}
+
+			XMemory.deallocateDirectByteBuffer(this.buffer);
+			this.buffer = null;
+		}
+
+	}
+
+}
@@ -0,0 +1,119 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.notNegative;
+
+/**
+ * Defines if and when every channel writes an index checkpoint file (see {@link StorageIndexCheckpoint}).
+ * <p>
+ * If enabled, a checkpoint is always written on shutdown. Additionally, if a checkpoint interval is defined,
+ * a checkpoint is written during housekeeping if new data has been stored since the last checkpoint and the interval
+ * has elapsed. Such a checkpoint is written incrementally within the housekeeping's file check time budget.
+ */
+public interface StorageIndexCheckpointSetup
+{
+	public boolean isEnabled();
+
+	/**
+	 * @return the minimum time in milliseconds between two checkpoints written during housekeeping
+	 * or 0 if checkpoints are only written on shutdown.
+	 */
+	public long checkpointIntervalMs();
+
+
+
+	public static StorageIndexCheckpointSetup Disabled()
+	{
+		return new StorageIndexCheckpointSetup.Default(false, 0);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageIndexCheckpointSetup} instance
+	 * that only writes checkpoints on shutdown.
+	 *
+	 * @return a new {@link StorageIndexCheckpointSetup} instance.
+	 */
+	public static StorageIndexCheckpointSetup New()
+	{
+		return New(0);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageIndexCheckpointSetup} instance
+	 * that writes checkpoints on shutdown and during housekeeping.
+	 *
+	 * @param checkpointIntervalMs the minimum time in milliseconds between two checkpoints written during
+	 *        housekeeping or 0 to only write checkpoints on shutdown.
+	 *
+	 * @return a new {@link StorageIndexCheckpointSetup} instance.
+	 */
+	public static StorageIndexCheckpointSetup New(final long checkpointIntervalMs)
+	{
+		return new StorageIndexCheckpointSetup.Default(
+			true,
+			notNegative(checkpointIntervalMs)
+		);
+	}
+
+	public final class Default implements StorageIndexCheckpointSetup
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final boolean enabled             ;
+		private final long    checkpointIntervalMs;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final boolean enabled, final long checkpointIntervalMs)
+		{
+			super();
+			this.enabled              = enabled             ;
+			this.checkpointIntervalMs = checkpointIntervalMs;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final boolean isEnabled()
+		{
+			return this.enabled;
+		}
+
+		@Override
+		public final long checkpointIntervalMs()
+		{
+			return this.checkpointIntervalMs;
+		}
+
+	}
+
+}
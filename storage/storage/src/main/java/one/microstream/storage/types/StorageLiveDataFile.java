@@ -23,11 +23,22 @@ package one.microstream.storage.types;
 import static one.microstream.X.notNull;
 import static one.microstream.math.XMath.notNegative;
 
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
 import java.util.function.Consumer;
 
+import one.microstream.afs.nio.types.NioFileWrapper;
 import one.microstream.afs.types.AFile;
+import one.microstream.afs.types.AReadableFile;
+import one.microstream.afs.types.AWritableFile;
+import one.microstream.functional._longProcedure;
 import one.microstream.math.XMath;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.types.MemoryRangeReader;
+import one.microstream.persistence.types.PersistenceObjectIdAcceptor;
 import one.microstream.storage.exceptions.StorageExceptionConsistency;
+import one.microstream.storage.exceptions.StorageExceptionIoReading;
 
 public interface StorageLiveDataFile
 extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCreatableFile
@@ -79,6 +90,11 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 
 		private static final int INITIAL_TYPE_IN_FILE_ARRAY_LENGTH = 8;
 		
+		// files are mapped in segments of 64 MB, so a growing file only ever requires its last segment to be remapped.
+		private static final int  MAPPING_SEGMENT_SHIFT = 26;
+		private static final long MAPPING_SEGMENT_SIZE  = 1L << MAPPING_SEGMENT_SHIFT;
+		private static final long MAPPING_SEGMENT_MASK  = MAPPING_SEGMENT_SIZE - 1;
+		
 		
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -96,6 +112,9 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 		
 		private long fileTotalLength;
 		private long fileDataLength ;
+		
+		// read-only mappings of the committed file content's segments, only used for mapped reading.
+		private MappedByteBuffer[] mappedSegments;
 
 		StorageLiveDataFile.Default next, prev;
 
@@ -292,6 +311,160 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 			return true;
 		}
 
+		/**
+		 * Executes the passed logic with the memory address of the passed range of committed file content in a
+		 * read-only mapping of the file, mapping the range's segment of the file if it is not mapped (far enough) yet.
+		 * The logic is executed while holding this file's lock, so the mapping can neither be released
+		 * nor replaced while it is being accessed.
+		 * 
+		 * @param position the start position of the range in the file.
+		 * @param length the length of the range.
+		 * @param logic the logic to be executed with the range's address.
+		 * 
+		 * @return whether the logic has been executed, {@code false} if the range cannot be mapped.
+		 */
+		final synchronized boolean processMappedContent(
+			final long           position,
+			final long           length  ,
+			final _longProcedure logic
+		)
+		{
+			final long offset = position & MAPPING_SEGMENT_MASK;
+			if(offset + length > MAPPING_SEGMENT_SIZE)
+			{
+				// ranges spanning two segments are rare enough to just be read in the default way.
+				return false;
+			}
+			
+			final MappedByteBuffer segment = this.ensureMappedSegment(
+				(int)(position >>> MAPPING_SEGMENT_SHIFT),
+				offset + length
+			);
+			if(segment == null)
+			{
+				return false;
+			}
+			
+			logic.accept(XMemory.getDirectByteBufferAddress(segment) + offset);
+			
+			return true;
+		}
+		
+		private MappedByteBuffer ensureMappedSegment(final int index, final long requiredLength)
+		{
+			if(this.mappedSegments == null || index >= this.mappedSegments.length)
+			{
+				this.mappedSegments = this.mappedSegments == null
+					? new MappedByteBuffer[index + 1]
+					: Arrays.copyOf(this.mappedSegments, index + 1)
+				;
+			}
+			
+			final MappedByteBuffer segment = this.mappedSegments[index];
+			if(segment != null && segment.capacity() >= requiredLength)
+			{
+				return segment;
+			}
+			
+			return this.mapSegment(index, requiredLength);
+		}
+		
+		private MappedByteBuffer mapSegment(final int index, final long requiredLength)
+		{
+			/*
+			 * Only committed content may be mapped: mapping beyond the actual file size would enlarge the file
+			 * and uncommitted content may still be truncated. A segment covers as much committed content as possible,
+			 * so subsequent reads of the same segment need no remapping.
+			 */
+			final long segmentStart  = (long)index << MAPPING_SEGMENT_SHIFT;
+			final long segmentLength = Math.min(this.fileTotalLength - segmentStart, MAPPING_SEGMENT_SIZE);
+			if(requiredLength > segmentLength)
+			{
+				return null;
+			}
+			
+			final AReadableFile access = this.ensureReadable();
+			if(!(access instanceof NioFileWrapper))
+			{
+				return null;
+			}
+			
+			if(this.mappedSegments[index] != null)
+			{
+				// if the buffer cannot be deallocated explicitely, the mapping is released by the GC.
+				XMemory.deallocateDirectByteBuffer(this.mappedSegments[index]);
+				this.mappedSegments[index] = null;
+			}
+			try
+			{
+				final FileChannel channel = ((NioFileWrapper)access).ensureOpenChannel();
+				return this.mappedSegments[index] = channel.map(
+					FileChannel.MapMode.READ_ONLY,
+					segmentStart                 ,
+					segmentLength
+				);
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoReading(e);
+			}
+		}
+		
+		private void unmap()
+		{
+			if(this.mappedSegments == null)
+			{
+				return;
+			}
+			
+			for(final MappedByteBuffer segment : this.mappedSegments)
+			{
+				if(segment != null)
+				{
+					// if the buffer cannot be deallocated explicitely, the mapping is released by the GC.
+					XMemory.deallocateDirectByteBuffer(segment);
+				}
+			}
+			this.mappedSegments = null;
+		}
+		
+		@Override
+		public synchronized boolean close()
+		{
+			this.unmap();
+			
+			return super.close();
+		}
+		
+		/*
+		 * A truncated, deleted or moved file must not be accessed via mappings of its former content.
+		 * Dropping them here makes the next mapped read map the file's then committed content again.
+		 */
+		
+		@Override
+		public synchronized void truncate(final long newLength)
+		{
+			this.unmap();
+			
+			super.truncate(newLength);
+		}
+		
+		@Override
+		public synchronized boolean delete()
+		{
+			this.unmap();
+			
+			return super.delete();
+		}
+		
+		@Override
+		public synchronized void moveTo(final AWritableFile target)
+		{
+			this.unmap();
+			
+			super.moveTo(target);
+		}
+
 		@Override
 		public final double dataFillRatio()
 		{
@@ -375,6 +548,32 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 		{
 			this.parent.loadData(this, entity, length, cacheChange);
 		}
+
+		public final void copyDecompressedEntityData(
+			final long              entityAddress      ,
+			final MemoryRangeReader entityDataCollector
+		)
+		{
+			this.parent.copyDecompressedEntityData(entityAddress, entityDataCollector);
+		}
+
+		public final long exportEntityData(final StorageEntity.Default entity, final AWritableFile targetFile)
+		{
+			return this.parent.exportEntityData(this, entity, targetFile);
+		}
+
+		public final void registerEntityCacheAccess(final boolean hit)
+		{
+			this.parent.registerEntityCacheAccess(hit);
+		}
+
+		public final void iterateStoredReferenceIds(
+			final StorageEntity.Default       entity  ,
+			final PersistenceObjectIdAcceptor iterator
+		)
+		{
+			this.parent.iterateStoredReferenceIds(this, entity, iterator);
+		}
 		
 		@Override
 		public boolean isHeadFile()
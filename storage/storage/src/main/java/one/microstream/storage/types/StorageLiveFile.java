@@ -30,6 +30,8 @@ public interface StorageLiveFile<S extends StorageLiveFile<S>> extends StorageCl
 {
 	public boolean hasUsers();
 	
+	public boolean isUsedBy(StorageFileUser fileUser);
+	
 	public boolean executeIfUnsued(Consumer<? super S> action);
 	
 	public boolean registerUsage(StorageFileUser fileUser);
@@ -111,6 +113,21 @@ public interface StorageLiveFile<S extends StorageLiveFile<S>> extends StorageCl
 			return this.usagesSize != 0;
 		}
 		
+		@Override
+		public final synchronized boolean isUsedBy(final StorageFileUser fileUser)
+		{
+			// usages NPE prevented by usagesSize == 0.
+			for(int i = 0; i < this.usagesSize; i++)
+			{
+				if(this.usages[i].user == fileUser)
+				{
+					return true;
+				}
+			}
+			
+			return false;
+		}
+		
 		@Override
 		public final synchronized boolean executeIfUnsued(
 			final Consumer<? super S> action
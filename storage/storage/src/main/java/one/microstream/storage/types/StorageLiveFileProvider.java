@@ -41,6 +41,12 @@ public interface StorageLiveFileProvider extends StorageFileProvider
 
 	public AFile provideTransactionsFile(int channelIndex);
 	
+	public AFile provideTransactionsRollingFile(int channelIndex);
+	
+	public AFile provideIndexCheckpointFile(int channelIndex);
+	
+	public AFile provideIndexCheckpointTemporaryFile(int channelIndex);
+	
 	public AFile provideLockFile();
 	
 	
@@ -0,0 +1,220 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.positive;
+
+/**
+ * Synchronization point between loads that are executed concurrently to the channels' task processing
+ * (see {@link StorageConcurrentLoader}) and the entity cache updates of stores.
+ * <p>
+ * Every channel applies a store's new entity data to its entity cache on its own, but a concurrent load spans all
+ * channels. To never let a load see the store applied in some channels but not yet in others (which would yield
+ * references to objectIds that cannot be found), every channel closes the gate for the store before updating its
+ * entity cache. A closed gate lets no new loads in and waits for all loads already in progress to complete.
+ * The gate is opened again after all channels have completed the store.
+ * <p>
+ * Writing and committing the store's data is not affected by the gate, so loads are only delayed by the
+ * comparatively short entity cache update phase, not by the file IO of a commit.
+ */
+public interface StorageLoadGate
+{
+	public void enterLoad() throws InterruptedException;
+
+	public void exitLoad();
+
+	/**
+	 * Called by every channel before it updates its entity cache for the store identified by the passed
+	 * timestamp. Calling it more than once per channel and store is allowed.
+	 *
+	 * @param storeTimestamp the timestamp of the store task.
+	 */
+	public void closeForStoreUpdate(long storeTimestamp);
+
+	/**
+	 * Called by every channel exactly once per store, no matter if the store was successful or not.
+	 *
+	 * @param storeTimestamp the timestamp of the store task.
+	 */
+	public void completeStoreUpdate(long storeTimestamp);
+
+
+
+	public static StorageLoadGate New(final int channelCount)
+	{
+		return new StorageLoadGate.Default(
+			positive(channelCount)
+		);
+	}
+
+	public static StorageLoadGate NoOp()
+	{
+		return new StorageLoadGate.NoOp();
+	}
+
+	public final class Default implements StorageLoadGate
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int     channelCount      ;
+
+		private       long    storeTimestamp    ;
+		private       int     remainingChannels ;
+		private       boolean closed            ;
+		private       int     activeLoads       ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final int channelCount)
+		{
+			super();
+			this.channelCount = channelCount;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final synchronized void enterLoad() throws InterruptedException
+		{
+			while(this.closed)
+			{
+				this.wait();
+			}
+			this.activeLoads++;
+		}
+
+		@Override
+		public final synchronized void exitLoad()
+		{
+			if(--this.activeLoads == 0)
+			{
+				this.notifyAll();
+			}
+		}
+
+		private void ensureStore(final long storeTimestamp)
+		{
+			/*
+			 * All channels complete a store before any of them can get to the update of the next one,
+			 * so a different timestamp always means that a new store begins.
+			 */
+			if(this.storeTimestamp != storeTimestamp)
+			{
+				this.storeTimestamp    = storeTimestamp   ;
+				this.remainingChannels = this.channelCount;
+			}
+		}
+
+		@Override
+		public final synchronized void closeForStoreUpdate(final long storeTimestamp)
+		{
+			this.ensureStore(storeTimestamp);
+			this.closed = true;
+
+			// the channel thread may not be aborted here, so interruption is only passed on after waiting.
+			boolean interrupted = false;
+			while(this.activeLoads > 0)
+			{
+				try
+				{
+					this.wait();
+				}
+				catch(final InterruptedException e)
+				{
+					interrupted = true;
+				}
+			}
+			if(interrupted)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@Override
+		public final synchronized void completeStoreUpdate(final long storeTimestamp)
+		{
+			this.ensureStore(storeTimestamp);
+			if(--this.remainingChannels == 0)
+			{
+				this.closed = false;
+				this.notifyAll();
+			}
+		}
+
+	}
+
+	/**
+	 * Used if loads are only processed by the channels themselves, meaning there is nothing to synchronize.
+	 */
+	public final class NoOp implements StorageLoadGate
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		NoOp()
+		{
+			super();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final void enterLoad()
+		{
+			// no-op
+		}
+
+		@Override
+		public final void exitLoad()
+		{
+			// no-op
+		}
+
+		@Override
+		public final void closeForStoreUpdate(final long storeTimestamp)
+		{
+			// no-op
+		}
+
+		@Override
+		public final void completeStoreUpdate(final long storeTimestamp)
+		{
+			// no-op
+		}
+
+	}
+
+}
@@ -63,6 +63,14 @@ public interface StorageManager extends StorageController, StorageConnection, Da
 	 * @return thr current {@link StorageTypeDictionary}.
 	 */
 	public StorageTypeDictionary typeDictionary();
+	
+	/**
+	 * Returns the {@link StorageMetrics} of the storage represented by this {@link StorageManager} instance.
+	 * Reading them is cheap and does not interfere with the storage's operation.
+	 * 
+	 * @return the storage's metrics.
+	 */
+	public StorageMetrics metrics();
 
 	/**
 	 * {@inheritDoc}
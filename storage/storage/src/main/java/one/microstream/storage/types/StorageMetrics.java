@@ -0,0 +1,221 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import one.microstream.storage.exceptions.StorageException;
+
+/**
+ * Access to the {@link StorageChannelMetrics} of all channels of a storage, both as a Java API and
+ * as MXBeans (see {@link #registerMXBeans(String)}).
+ * <p>
+ * The instance is set in the {@link StorageFoundation} and outlives restarts of the storage:
+ * every start provides a fresh set of channel metrics, which replace registered MXBeans under the same names.
+ *
+ * @see StorageFoundation#setMetrics(StorageMetrics)
+ */
+public interface StorageMetrics
+{
+	public int channelCount();
+
+	public StorageChannelMetrics channel(int channelIndex);
+
+	/**
+	 * Registers a {@link StorageChannelMetricsMXBean} for every channel at the platform MBean server
+	 * under the name {@code one.microstream.storage:type=StorageChannelMetrics,storage=<storageName>,channel=<i>}.
+	 *
+	 * @param storageName the name identifying the storage among others in the same process.
+	 *
+	 * @return this instance.
+	 */
+	public StorageMetrics registerMXBeans(String storageName);
+
+	public void unregisterMXBeans();
+
+	/**
+	 * Creates fresh metrics for the passed number of channels, called when the storage creates its channels.
+	 *
+	 * @param channelCount the number of channels of the starting storage.
+	 *
+	 * @return the metrics of all channels.
+	 */
+	public StorageChannelMetrics.Default[] initializeChannels(int channelCount);
+
+
+
+	public static StorageMetrics New()
+	{
+		return new StorageMetrics.Default();
+	}
+
+	public final class Default implements StorageMetrics
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		static final String OBJECT_NAME_DOMAIN = "one.microstream.storage";
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private StorageChannelMetrics.Default[] channels = new StorageChannelMetrics.Default[0];
+
+		private String registeredStorageName;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default()
+		{
+			super();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		static ObjectName objectName(final String storageName, final int channelIndex)
+		{
+			try
+			{
+				return new ObjectName(
+					OBJECT_NAME_DOMAIN
+					+ ":type=StorageChannelMetrics"
+					+ ",storage=" + ObjectName.quote(storageName)
+					+ ",channel=" + channelIndex
+				);
+			}
+			catch(final Exception e)
+			{
+				throw new StorageException("Invalid storage name for metrics MXBeans: " + storageName, e);
+			}
+		}
+
+		@Override
+		public final synchronized int channelCount()
+		{
+			return this.channels.length;
+		}
+
+		@Override
+		public final synchronized StorageChannelMetrics channel(final int channelIndex)
+		{
+			return this.channels[channelIndex];
+		}
+
+		@Override
+		public final synchronized StorageChannelMetrics.Default[] initializeChannels(final int channelCount)
+		{
+			final StorageChannelMetrics.Default[] channels = new StorageChannelMetrics.Default[channelCount];
+			for(int i = 0; i < channels.length; i++)
+			{
+				channels[i] = StorageChannelMetrics.New(i);
+			}
+
+			final String storageName = this.registeredStorageName;
+			if(storageName != null)
+			{
+				this.unregisterMXBeans();
+				this.channels = channels;
+				this.registerMXBeans(storageName);
+			}
+			else
+			{
+				this.channels = channels;
+			}
+
+			return channels.clone();
+		}
+
+		@Override
+		public final synchronized StorageMetrics registerMXBeans(final String storageName)
+		{
+			if(this.registeredStorageName != null)
+			{
+				this.unregisterMXBeans();
+			}
+
+			final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			for(final StorageChannelMetrics.Default channel : this.channels)
+			{
+				final ObjectName name = objectName(storageName, channel.channelIndex());
+				try
+				{
+					if(server.isRegistered(name))
+					{
+						server.unregisterMBean(name);
+					}
+					server.registerMBean(channel, name);
+				}
+				catch(final Exception e)
+				{
+					throw new StorageException("Error registering storage metrics MXBean " + name, e);
+				}
+			}
+			this.registeredStorageName = storageName;
+
+			return this;
+		}
+
+		@Override
+		public final synchronized void unregisterMXBeans()
+		{
+			final String storageName = this.registeredStorageName;
+			if(storageName == null)
+			{
+				return;
+			}
+
+			final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			for(final StorageChannelMetrics.Default channel : this.channels)
+			{
+				final ObjectName name = objectName(storageName, channel.channelIndex());
+				try
+				{
+					if(server.isRegistered(name))
+					{
+						server.unregisterMBean(name);
+					}
+				}
+				catch(final Exception e)
+				{
+					throw new StorageException("Error unregistering storage metrics MXBean " + name, e);
+				}
+			}
+			this.registeredStorageName = null;
+		}
+
+	}
+
+}
@@ -0,0 +1,269 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lightweight histogram of non-negative long values (typically durations in nanoseconds) for storage metrics.
+ * <p>
+ * Like a HDR histogram, values are counted in logarithmic buckets that are linearly subdivided, so recording
+ * is a constant time operation without any allocation and the relative error of the reported percentiles
+ * is bounded (12.5%) over the whole value range.
+ *
+ * @see StorageChannelMetrics
+ */
+public interface StorageMetricsHistogram
+{
+	/**
+	 * Counts the passed value. Negative values are counted as 0.
+	 *
+	 * @param value the value to be counted.
+	 */
+	public void record(long value);
+
+	/**
+	 * @return a consistent copy of the current state for evaluation.
+	 */
+	public StorageMetricsHistogram.Snapshot snapshot();
+
+
+
+	public static StorageMetricsHistogram New()
+	{
+		return new StorageMetricsHistogram.Default();
+	}
+
+	public final class Default implements StorageMetricsHistogram
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		// 2^3 linear sub buckets per power of two means a maximum relative error of 1/8.
+		static final int SUB_BUCKET_BITS  = 3;
+		static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+		static final int SUB_BUCKET_MASK  = SUB_BUCKET_COUNT - 1;
+		static final int BUCKET_COUNT     = (Long.SIZE - SUB_BUCKET_BITS) << SUB_BUCKET_BITS;
+
+		static int bucketIndex(final long value)
+		{
+			if(value < SUB_BUCKET_COUNT)
+			{
+				// small values (including negative ones, counted as 0) are counted exactly.
+				return value <= 0 ? 0 : (int)value;
+			}
+
+			final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+			final int shift    = exponent - SUB_BUCKET_BITS;
+
+			return (shift + 1 << SUB_BUCKET_BITS) + (int)(value >>> shift & SUB_BUCKET_MASK);
+		}
+
+		static long bucketHighestValue(final int index)
+		{
+			if(index < SUB_BUCKET_COUNT)
+			{
+				return index;
+			}
+
+			final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+
+			return (SUB_BUCKET_COUNT + (index & SUB_BUCKET_MASK) + 1L << shift) - 1;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+		private final LongAdder       sum     = new LongAdder()                  ;
+		private final LongAccumulator maximum = new LongAccumulator(Math::max, 0);
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default()
+		{
+			super();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final void record(final long value)
+		{
+			this.buckets.incrementAndGet(bucketIndex(value));
+			if(value > 0)
+			{
+				this.sum.add(value);
+				this.maximum.accumulate(value);
+			}
+		}
+
+		@Override
+		public final StorageMetricsHistogram.Snapshot snapshot()
+		{
+			final long[] counts = new long[BUCKET_COUNT];
+			long count = 0;
+			for(int i = 0; i < counts.length; i++)
+			{
+				count += counts[i] = this.buckets.get(i);
+			}
+
+			return new StorageMetricsHistogram.Snapshot(counts, count, this.sum.sum(), this.maximum.get());
+		}
+
+	}
+
+	/**
+	 * An immutable copy of a {@link StorageMetricsHistogram}'s state.
+	 * <p>
+	 * Uses bean-style getters so that it can be exposed as open data by {@link StorageChannelMetricsMXBean}.
+	 */
+	public final class Snapshot
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long[] counts ;
+		private final long   count  ;
+		private final long   sum    ;
+		private final long   maximum;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Snapshot(final long[] counts, final long count, final long sum, final long maximum)
+		{
+			super();
+			this.counts  = counts ;
+			this.count   = count  ;
+			this.sum     = sum    ;
+			this.maximum = maximum;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public long getCount()
+		{
+			return this.count;
+		}
+
+		public long getSum()
+		{
+			return this.sum;
+		}
+
+		public long getMaximum()
+		{
+			return this.maximum;
+		}
+
+		public double getMean()
+		{
+			return this.count == 0
+				? 0.0
+				: (double)this.sum / this.count
+			;
+		}
+
+		public long getMedian()
+		{
+			return this.percentile(50.0);
+		}
+
+		public long getPercentile90()
+		{
+			return this.percentile(90.0);
+		}
+
+		public long getPercentile99()
+		{
+			return this.percentile(99.0);
+		}
+
+		public long getPercentile999()
+		{
+			return this.percentile(99.9);
+		}
+
+		/**
+		 * Returns the highest value that is equivalent to the value at the passed percentile within the
+		 * histogram's precision, but never more than the maximum recorded value.
+		 *
+		 * @param percentile the percentile from 0.0 to 100.0.
+		 *
+		 * @return the value at the passed percentile or 0 if no value has been recorded.
+		 */
+		public long percentile(final double percentile)
+		{
+			if(this.count == 0)
+			{
+				return 0;
+			}
+
+			final long rank = Math.max(1, (long)Math.ceil(Math.min(100.0, percentile) / 100.0 * this.count));
+			long seen = 0;
+			for(int i = 0; i < this.counts.length; i++)
+			{
+				if((seen += this.counts[i]) >= rank)
+				{
+					return Math.min(Default.bucketHighestValue(i), this.maximum);
+				}
+			}
+
+			return this.maximum;
+		}
+
+		@Override
+		public String toString()
+		{
+			return "count=" + this.count
+				+ ", mean=" + (long)this.getMean()
+				+ ", p50=" + this.getMedian()
+				+ ", p99=" + this.getPercentile99()
+				+ ", max=" + this.maximum
+			;
+		}
+
+	}
+
+}
@@ -0,0 +1,768 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.math.XMath.positive;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import one.microstream.collections.BulkList;
+import one.microstream.persistence.types.PersistenceObjectIdAcceptor;
+import one.microstream.reference.Swizzling;
+import one.microstream.storage.exceptions.StorageExceptionGarbageCollector;
+
+
+/**
+ * Stop-the-world garbage collector that marks and sweeps the entities of all channels at once, using a
+ * dedicated pool of worker threads whose size is independent of the channel count.
+ * <p>
+ * Marking is done by a {@link ForkJoinPool}: every worker pushes the references it encounters onto its own
+ * lock-free deque and idle workers steal from the others, so the graph traversal is balanced over all workers.
+ * Entities without cached data are handed to their owning channel, which reads their references straight from
+ * the storage file. No entity is loaded, touched or evicted during marking, so the cache stays untouched.
+ * <p>
+ * Sweeping scans all entity type chains in parallel. Only the deletion of the unreachable entities is left
+ * to the channel threads, as it modifies channel-local structures.
+ */
+public interface StorageParallelGarbageCollector
+{
+	/**
+	 * Participates in the collection with the passed channel's entity cache. Must be called by every channel
+	 * thread and returns once the passed channel's part of the collection is done.
+	 * 
+	 * @param entityCache the calling channel's entity cache.
+	 * 
+	 * @throws InterruptedException if the calling thread was interrupted while waiting for the other channels.
+	 */
+	public void collectGarbage(StorageEntityCache.Default entityCache) throws InterruptedException;
+	
+	/**
+	 * @return the statistics of the completed collection or {@code null} if no collection has been performed,
+	 *         either because storage garbage collection is disabled or there is no root entity.
+	 */
+	public StorageGarbageCollectionStatistics statistics();
+	
+	
+	
+	public static StorageParallelGarbageCollector New(final int channelCount, final int workerCount)
+	{
+		return new StorageParallelGarbageCollector.Default(
+			positive(channelCount),
+			positive(workerCount)
+		);
+	}
+	
+	public interface Defaults
+	{
+		public static int defaultWorkerCount()
+		{
+			return Runtime.getRuntime().availableProcessors();
+		}
+		
+		/**
+		 * The amount of object ids or entities a worker collects before handing them off as a new unit of work.
+		 * 
+		 * @return the mark batch length.
+		 */
+		public static int markBatchLength()
+		{
+			return 256;
+		}
+	}
+	
+	
+	
+	public final class Default implements StorageParallelGarbageCollector
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		static final int
+			PHASE_ARRIVING = 0,
+			PHASE_ARRIVED  = 1,
+			PHASE_MARKING  = 2,
+			PHASE_DELETING = 3,
+			PHASE_COMPLETE = 4
+		;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final int                          channelCount     ;
+		private final int                          channelHash      ;
+		private final int                          workerCount      ;
+		private final int                          markBatchLength  ;
+		private final StorageEntityCache.Default[] entityCaches     ;
+		private final ChannelWork[]                channelWorks     ;
+		private final long[]                       channelRootOids  ;
+		private final AtomicLong                   pendingMarkWork  ;
+		private final LongAdder                    readEntities     ;
+		private final LongAdder                    survivingEntities;
+		private final LongAdder                    deletedEntities  ;
+		
+		private          ForkJoinPool                       workers         ;
+		private          StorageEntityType.Default[]        types           ;
+		private          int                                phase           ;
+		private          int                                arrivedChannels ;
+		private          int                                departedChannels;
+		private volatile Throwable                          problem         ;
+		private          long                               startTime       ;
+		private          long                               resetTime       ;
+		private          long                               markTime        ;
+		private          long                               sweepStartTime  ;
+		private          long                               sweepStartMs    ;
+		private          StorageGarbageCollectionStatistics statistics      ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(final int channelCount, final int workerCount)
+		{
+			super();
+			this.channelCount      = channelCount;
+			this.channelHash       = channelCount - 1;
+			this.workerCount       = workerCount;
+			this.markBatchLength   = Defaults.markBatchLength();
+			this.entityCaches      = new StorageEntityCache.Default[channelCount];
+			this.channelWorks      = new ChannelWork[channelCount];
+			this.channelRootOids   = new long[channelCount];
+			this.pendingMarkWork   = new AtomicLong();
+			this.readEntities      = new LongAdder();
+			this.survivingEntities = new LongAdder();
+			this.deletedEntities   = new LongAdder();
+			
+			for(int i = 0; i < channelCount; i++)
+			{
+				this.channelWorks[i] = new ChannelWork();
+			}
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final synchronized StorageGarbageCollectionStatistics statistics()
+		{
+			return this.statistics;
+		}
+		
+		@Override
+		public final void collectGarbage(final StorageEntityCache.Default entityCache) throws InterruptedException
+		{
+			if(!entityCache.isGarbageCollectionEnabled())
+			{
+				return;
+			}
+			
+			final int channelIndex = entityCache.channelIndex();
+			try
+			{
+				// every channel determines its root oid by itself before anything gets changed.
+				this.arrive(entityCache, entityCache.queryRootObjectId());
+				if(channelIndex == 0)
+				{
+					this.startMarking(entityCache);
+				}
+				if(this.awaitPhase(PHASE_MARKING) == PHASE_COMPLETE)
+				{
+					return;
+				}
+				
+				this.readReferences(channelIndex);
+				if(channelIndex == 0)
+				{
+					this.sweep();
+				}
+				this.awaitPhase(PHASE_DELETING);
+				
+				this.deleteUnreachableEntities(entityCache);
+				this.depart(channelIndex, entityCache.completeParallelSweep(this.sweepStartMs));
+				if(channelIndex == 0)
+				{
+					this.complete(entityCache);
+				}
+				
+				// no channel may leave early, an abort until completion must still reach all of them.
+				this.awaitPhase(PHASE_COMPLETE);
+			}
+			catch(final Throwable t)
+			{
+				/*
+				 * The gc state of the entities is inconsistent now and an incremental sweep could delete
+				 * reachable entities. So no worker may change anything anymore and all of this channel's
+				 * entities are marked black, making the next sweep a no-op for them.
+				 */
+				this.abort(t);
+				this.terminateWorkers();
+				entityCache.markAllEntitiesBlack();
+				throw t;
+			}
+		}
+		
+		private synchronized void arrive(
+			final StorageEntityCache.Default entityCache,
+			final long                       rootOid
+		)
+		{
+			this.entityCaches[entityCache.channelIndex()]    = entityCache;
+			this.channelRootOids[entityCache.channelIndex()] = rootOid;
+			if(++this.arrivedChannels == this.channelCount)
+			{
+				this.startTime = System.nanoTime();
+				this.advance(PHASE_ARRIVED);
+			}
+		}
+		
+		private synchronized void depart(final int channelIndex, final long rootOid)
+		{
+			this.channelRootOids[channelIndex] = rootOid;
+			if(++this.departedChannels == this.channelCount)
+			{
+				this.notifyAll();
+			}
+		}
+		
+		private synchronized void advance(final int phase)
+		{
+			this.phase = phase;
+			this.notifyAll();
+		}
+		
+		private synchronized int awaitPhase(final int phase) throws InterruptedException
+		{
+			while(this.phase < phase)
+			{
+				this.checkForProblem();
+				this.wait();
+			}
+			this.checkForProblem();
+			
+			return this.phase;
+		}
+		
+		private void checkForProblem()
+		{
+			final Throwable problem = this.problem;
+			if(problem != null)
+			{
+				throw new StorageExceptionGarbageCollector("Parallel garbage collection aborted.", problem);
+			}
+		}
+		
+		private synchronized void abort(final Throwable problem)
+		{
+			if(this.problem == null)
+			{
+				this.problem = problem;
+			}
+			this.notifyAll();
+		}
+		
+		private void terminateWorkers()
+		{
+			final ForkJoinPool workers;
+			synchronized(this)
+			{
+				if((workers = this.workers) == null)
+				{
+					return;
+				}
+			}
+			workers.shutdownNow();
+			
+			// running workers finish their current entity, so waiting for them is short and must not be skipped.
+			boolean interrupted = false;
+			while(!workers.isTerminated())
+			{
+				try
+				{
+					workers.awaitTermination(1, TimeUnit.SECONDS);
+				}
+				catch(final InterruptedException e)
+				{
+					interrupted = true;
+				}
+			}
+			if(interrupted)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+		
+		private void startMarking(final StorageEntityCache.Default entityCache) throws InterruptedException
+		{
+			this.awaitPhase(PHASE_ARRIVED);
+			
+			final long rootOid = entityCache.selectGlobalRootObjectId(this.channelRootOids);
+			if(rootOid == Swizzling.nullId())
+			{
+				// without any root, everything would be deleted. That is never the intention of a full gc.
+				this.advance(PHASE_COMPLETE);
+				return;
+			}
+			
+			final BulkList<StorageEntityType.Default> types = BulkList.New();
+			for(final StorageEntityCache.Default cache : this.entityCaches)
+			{
+				cache.iterateEntityTypes(types::add);
+			}
+			this.types = types.toArray(StorageEntityType.Default.class);
+			
+			synchronized(this)
+			{
+				this.workers = new ForkJoinPool(this.workerCount);
+			}
+			this.processTypes(Default::resetEntities);
+			this.resetTime = System.nanoTime() - this.startTime;
+			
+			this.pendingMarkWork.set(1);
+			this.workers.execute(new MarkTask(this, new long[]{rootOid}, 1));
+			this.advance(PHASE_MARKING);
+		}
+		
+		private void processTypes(final Consumer<StorageEntityType.Default> logic)
+		{
+			if(this.types.length > 0)
+			{
+				this.workers.invoke(new TypesTask(this.types, 0, this.types.length, logic));
+			}
+			this.checkForProblem();
+		}
+		
+		static void resetEntities(final StorageEntityType.Default type)
+		{
+			for(StorageEntity.Default e = type.head; (e = e.typeNext) != null;)
+			{
+				e.markWhite();
+			}
+		}
+		
+		final void mark(final long[] oids, final int oidCount)
+		{
+			final StorageEntityCache.Default[] entityCaches = this.entityCaches;
+			final ReferenceBatch               references   = new ReferenceBatch(this, true);
+			final EntityBatch[]                reads        = new EntityBatch[this.channelCount];
+			
+			try
+			{
+				for(int i = 0; i < oidCount; i++)
+				{
+					if(this.problem != null)
+					{
+						return;
+					}
+					
+					final StorageEntityCache.Default entityCache = entityCaches[(int)(oids[i] & this.channelHash)];
+					final StorageEntity.Default      entity      = entityCache.getEntry(oids[i]);
+					if(entity == null)
+					{
+						entityCache.handleZombieObjectId(oids[i]);
+						continue;
+					}
+					if(entity.isGcBlack())
+					{
+						continue;
+					}
+					if(!entity.hasReferences())
+					{
+						entity.markBlack();
+						continue;
+					}
+					if(!entity.isLive())
+					{
+						// reading from the storage file is the owning channel's business
+						this.deferRead(reads, entityCache.channelIndex(), entity);
+						continue;
+					}
+					
+					// a redundant iteration by a concurrent worker is harmless, the black check above limits it.
+					entity.markBlack();
+					entity.iterateCachedReferenceIds(references);
+				}
+				
+				references.flush();
+				for(int c = 0; c < reads.length; c++)
+				{
+					if(reads[c] != null)
+					{
+						this.enqueueRead(c, reads[c]);
+					}
+				}
+			}
+			catch(final Throwable t)
+			{
+				this.abort(t);
+			}
+			finally
+			{
+				this.completeMarkWork();
+			}
+		}
+		
+		private void deferRead(final EntityBatch[] reads, final int channelIndex, final StorageEntity.Default entity)
+		{
+			if(reads[channelIndex] == null)
+			{
+				reads[channelIndex] = new EntityBatch(this.markBatchLength);
+			}
+			if(reads[channelIndex].add(entity) == this.markBatchLength)
+			{
+				this.enqueueRead(channelIndex, reads[channelIndex]);
+				reads[channelIndex] = null;
+			}
+		}
+		
+		private void enqueueRead(final int channelIndex, final EntityBatch entities)
+		{
+			this.pendingMarkWork.incrementAndGet();
+			synchronized(this)
+			{
+				this.channelWorks[channelIndex].reads.add(entities);
+				this.notifyAll();
+			}
+		}
+		
+		final void submitMarkWork(final long[] oids, final int oidCount, final boolean isWorker)
+		{
+			this.pendingMarkWork.incrementAndGet();
+			final MarkTask task = new MarkTask(this, oids, oidCount);
+			if(isWorker)
+			{
+				// pushed onto the current worker's own deque, from where idle workers can steal it.
+				task.fork();
+			}
+			else
+			{
+				this.workers.execute(task);
+			}
+		}
+		
+		private void completeMarkWork()
+		{
+			if(this.pendingMarkWork.decrementAndGet() == 0)
+			{
+				synchronized(this)
+				{
+					this.notifyAll();
+				}
+			}
+		}
+		
+		private synchronized EntityBatch nextRead(final int channelIndex) throws InterruptedException
+		{
+			final BulkList<EntityBatch> reads = this.channelWorks[channelIndex].reads;
+			while(true)
+			{
+				this.checkForProblem();
+				if(!reads.isEmpty())
+				{
+					return reads.pop();
+				}
+				if(this.pendingMarkWork.get() == 0)
+				{
+					return null;
+				}
+				this.wait();
+			}
+		}
+		
+		private void readReferences(final int channelIndex) throws InterruptedException
+		{
+			for(EntityBatch entities; (entities = this.nextRead(channelIndex)) != null;)
+			{
+				try
+				{
+					final ReferenceBatch references = new ReferenceBatch(this, false);
+					for(int i = 0; i < entities.size; i++)
+					{
+						final StorageEntity.Default entity = entities.entities[i];
+						if(entity.isGcBlack())
+						{
+							continue;
+						}
+						entity.markBlack();
+						entity.iterateStoredReferenceIds(references);
+						this.readEntities.increment();
+					}
+					references.flush();
+				}
+				finally
+				{
+					this.completeMarkWork();
+				}
+			}
+		}
+		
+		private void sweep()
+		{
+			this.markTime       = System.nanoTime() - this.startTime - this.resetTime;
+			this.sweepStartTime = System.nanoTime();
+			this.sweepStartMs   = System.currentTimeMillis();
+			
+			this.processTypes(this::collectUnreachableEntities);
+			this.advance(PHASE_DELETING);
+		}
+		
+		final void collectUnreachableEntities(final StorageEntityType.Default type)
+		{
+			final BulkList<StorageEntity.Default> victims = BulkList.New();
+			
+			long surviving = 0;
+			StorageEntity.Default last = type.head;
+			for(StorageEntity.Default item = last.typeNext; item != null; item = item.typeNext)
+			{
+				if(item.isGcMarked())
+				{
+					(last = item).markWhite();
+					surviving++;
+				}
+				else
+				{
+					// the last surviving entity is the one to be relinked when the victim gets deleted.
+					victims.add(last);
+					victims.add(item);
+				}
+			}
+			this.survivingEntities.add(surviving);
+			
+			if(victims.isEmpty())
+			{
+				return;
+			}
+			
+			final ChannelWork channelWork = this.channelWorks[type.channelIndex];
+			synchronized(channelWork)
+			{
+				channelWork.victims.add(new Victims(type, victims.toArray(StorageEntity.Default.class)));
+			}
+		}
+		
+		private void deleteUnreachableEntities(final StorageEntityCache.Default entityCache)
+		{
+			final ChannelWork channelWork = this.channelWorks[entityCache.channelIndex()];
+			synchronized(channelWork)
+			{
+				for(final Victims victims : channelWork.victims)
+				{
+					// victims are in type chain order, so their recorded predecessors are always still valid.
+					for(int i = 0; i < victims.entities.length; i += 2)
+					{
+						entityCache.deleteEntity(victims.entities[i + 1], victims.type, victims.entities[i]);
+					}
+					this.deletedEntities.add(victims.entities.length / 2);
+				}
+				channelWork.victims.clear();
+			}
+		}
+		
+		private void complete(final StorageEntityCache.Default entityCache) throws InterruptedException
+		{
+			synchronized(this)
+			{
+				while(this.departedChannels < this.channelCount)
+				{
+					this.checkForProblem();
+					this.wait();
+				}
+				this.checkForProblem();
+			}
+			
+			final long now = System.nanoTime();
+			final StorageGarbageCollectionStatistics statistics = StorageGarbageCollectionStatistics.New(
+				this.workerCount                  ,
+				this.resetTime                    ,
+				this.markTime                     ,
+				now - this.sweepStartTime         ,
+				now - this.startTime              ,
+				this.readEntities.sum()           ,
+				this.survivingEntities.sum()      ,
+				this.deletedEntities.sum()
+			);
+			entityCache.completeParallelGarbageCollection(this.channelRootOids, statistics);
+			this.workers.shutdown();
+			
+			synchronized(this)
+			{
+				this.statistics = statistics;
+			}
+			this.advance(PHASE_COMPLETE);
+		}
+		
+		
+		
+		static final class ChannelWork
+		{
+			final BulkList<EntityBatch> reads   = BulkList.New();
+			final BulkList<Victims>     victims = BulkList.New();
+		}
+		
+		static final class Victims
+		{
+			// pairs of the last surviving entity and an unreachable entity following it
+			final StorageEntityType.Default type    ;
+			final StorageEntity.Default[]   entities;
+			
+			Victims(final StorageEntityType.Default type, final StorageEntity.Default[] entities)
+			{
+				super();
+				this.type     = type    ;
+				this.entities = entities;
+			}
+		}
+		
+		static final class EntityBatch
+		{
+			final StorageEntity.Default[] entities;
+			      int                     size    ;
+			
+			EntityBatch(final int capacity)
+			{
+				super();
+				this.entities = new StorageEntity.Default[capacity];
+			}
+			
+			final int add(final StorageEntity.Default entity)
+			{
+				this.entities[this.size] = entity;
+				return ++this.size;
+			}
+		}
+		
+		static final class ReferenceBatch implements PersistenceObjectIdAcceptor
+		{
+			final StorageParallelGarbageCollector.Default collector;
+			final boolean                                 isWorker ;
+			      long[]                                  oids     ;
+			      int                                     size     ;
+			
+			ReferenceBatch(final StorageParallelGarbageCollector.Default collector, final boolean isWorker)
+			{
+				super();
+				this.collector = collector;
+				this.isWorker  = isWorker ;
+				this.oids      = new long[collector.markBatchLength];
+			}
+			
+			@Override
+			public final void acceptObjectId(final long objectId)
+			{
+				if(objectId == Swizzling.nullId())
+				{
+					return;
+				}
+				
+				this.oids[this.size] = objectId;
+				if(++this.size == this.oids.length)
+				{
+					this.flush();
+				}
+			}
+			
+			final void flush()
+			{
+				if(this.size == 0)
+				{
+					return;
+				}
+				this.collector.submitMarkWork(this.oids, this.size, this.isWorker);
+				this.oids = new long[this.oids.length];
+				this.size = 0;
+			}
+		}
+		
+		static final class MarkTask extends RecursiveAction
+		{
+			final StorageParallelGarbageCollector.Default collector;
+			final long[]                                  oids     ;
+			final int                                     oidCount ;
+			
+			MarkTask(final StorageParallelGarbageCollector.Default collector, final long[] oids, final int oidCount)
+			{
+				super();
+				this.collector = collector;
+				this.oids      = oids     ;
+				this.oidCount  = oidCount ;
+			}
+			
+			@Override
+			protected final void compute()
+			{
+				this.collector.mark(this.oids, this.oidCount);
+			}
+		}
+		
+		static final class TypesTask extends RecursiveAction
+		{
+			final StorageEntityType.Default[]         types;
+			final int                                 from ;
+			final int                                 bound;
+			final Consumer<StorageEntityType.Default> logic;
+			
+			TypesTask(
+				final StorageEntityType.Default[]         types,
+				final int                                 from ,
+				final int                                 bound,
+				final Consumer<StorageEntityType.Default> logic
+			)
+			{
+				super();
+				this.types = types;
+				this.from  = from ;
+				this.bound = bound;
+				this.logic = logic;
+			}
+			
+			@Override
+			protected final void compute()
+			{
+				if(this.bound - this.from == 1)
+				{
+					this.logic.accept(this.types[this.from]);
+					return;
+				}
+				
+				final int middle = this.from + this.bound >>> 1;
+				invokeAll(
+					new TypesTask(this.types, this.from, middle, this.logic),
+					new TypesTask(this.types, middle, this.bound, this.logic)
+				);
+			}
+		}
+		
+	}
+	
+}
@@ -20,14 +20,17 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 
 import one.microstream.afs.types.AFile;
 import one.microstream.collections.types.XGettingEnum;
 import one.microstream.persistence.binary.types.Binary;
 import one.microstream.persistence.types.PersistenceIdSet;
+import one.microstream.storage.exceptions.StorageExceptionConsistency;
 import one.microstream.storage.exceptions.StorageExceptionRequest;
 
 
@@ -37,6 +40,21 @@ public interface StorageRequestAcceptor
 
 	public void storeData(Binary data) throws StorageExceptionRequest, InterruptedException;
 
+	/**
+	 * Enqueues the passed data to be stored like {@link #storeData(Binary)}, but returns right away instead of
+	 * waiting for the storing to be completed. The passed data may not be modified until the returned
+	 * {@link CompletableFuture} is completed.
+	 *
+	 * @param data the data to be stored.
+	 *
+	 * @return a {@link CompletableFuture} that is completed when the data has been stored or completed
+	 *         exceptionally if the storing failed.
+	 *
+	 * @throws StorageExceptionRequest if the data could not be enqueued.
+	 * @throws InterruptedException if the calling thread was interrupted while enqueueing.
+	 */
+	public CompletableFuture<Void> storeDataAsync(Binary data) throws StorageExceptionRequest, InterruptedException;
+
 	// querying //
 
 	public Binary queryByObjectIds(PersistenceIdSet[] loadOids) throws StorageExceptionRequest, InterruptedException;
@@ -72,6 +90,9 @@ public interface StorageRequestAcceptor
 
 	public boolean issueGarbageCollection(long nanoTimeBudget) throws InterruptedException;
 
+	public StorageGarbageCollectionStatistics issueParallelGarbageCollection(int workerCount)
+		throws InterruptedException;
+
 	public boolean issueFileCheck(long nanoTimeBudget) throws InterruptedException;
 
 	public boolean issueCacheCheck(long nanoTimeBudget, StorageEntityCacheEvaluator entityEvaluator)
@@ -101,14 +122,104 @@ public interface StorageRequestAcceptor
 
 	public StorageRawFileStatistics createStatistics() throws InterruptedException;
 
+	/**
+	 * Imports the live entities captured by the passed {@link StorageSnapshot} of another storage,
+	 * see {@link StorageImportSource#Snapshot(StorageSnapshot)}.
+	 * 
+	 * @param snapshot the snapshot captured including entities.
+	 * 
+	 * @throws InterruptedException if the waiting thread has been interrupted.
+	 */
+	public void importSnapshot(StorageSnapshot snapshot) throws InterruptedException;
+
+	/**
+	 * Imports the data appended to another, meanwhile shut down storage after capturing the passed
+	 * {@link StorageSnapshot}, see {@link StorageImportSource#AppendedData(StorageSnapshot, StorageFileProvider)}.
+	 * 
+	 * @param snapshot the snapshot of the other storage.
+	 * @param fileProvider the file provider of the other storage.
+	 * 
+	 * @throws InterruptedException if the waiting thread has been interrupted.
+	 */
+	public void importAppendedData(StorageSnapshot snapshot, StorageFileProvider fileProvider)
+		throws InterruptedException;
+
+	/**
+	 * Captures a {@link StorageSnapshot} of all channels. The files of the returned snapshot are kept until it
+	 * is released.
+	 * 
+	 * @return the captured snapshot.
+	 * 
+	 * @throws InterruptedException if the waiting thread has been interrupted.
+	 */
+	public default StorageSnapshot captureSnapshot() throws InterruptedException
+	{
+		return this.captureSnapshot(false);
+	}
+
+	/**
+	 * Captures a {@link StorageSnapshot} of all channels. The files of the returned snapshot are kept until it
+	 * is released.
+	 * 
+	 * @param includeEntities whether the live entities of every data file shall be captured as well,
+	 *        see {@link StorageSnapshot.CapturedEntities}.
+	 * 
+	 * @return the captured snapshot.
+	 * 
+	 * @throws InterruptedException if the waiting thread has been interrupted.
+	 */
+	public StorageSnapshot captureSnapshot(boolean includeEntities) throws InterruptedException;
+
 
 
+	public static StorageRequestAcceptor.Creator Creator()
+	{
+		return new StorageRequestAcceptor.Creator.Default();
+	}
+	
+	/**
+	 * Creates a {@link StorageRequestAcceptor.Creator} whose acceptors execute load requests by object ids
+	 * and type ids directly in the requesting thread, concurrently to stores and other tasks,
+	 * instead of enqueuing them into the channels' task chain.
+	 * 
+	 * @return a new concurrently loading {@link StorageRequestAcceptor.Creator}.
+	 * 
+	 * @see StorageConcurrentLoader
+	 */
+	public static StorageRequestAcceptor.Creator CreatorConcurrentLoading()
+	{
+		return new StorageRequestAcceptor.Creator.ConcurrentLoading();
+	}
+	
 	public interface Creator
 	{
 		public StorageRequestAcceptor createRequestAcceptor(
 			StorageDataChunkValidator dataChunkValidator,
 			StorageTaskBroker         taskBroker
 		);
+		
+		public default StorageRequestAcceptor createRequestAcceptor(
+			final StorageDataChunkValidator dataChunkValidator,
+			final StorageTaskBroker         taskBroker        ,
+			final StorageConcurrentLoader   concurrentLoader  ,
+			final StorageEventLogger        eventLogger
+		)
+		{
+			return this.createRequestAcceptor(dataChunkValidator, taskBroker);
+		}
+		
+		/**
+		 * Defines if the created acceptors execute loads via a {@link StorageConcurrentLoader}.
+		 * If so, the storage system sets up its channels accordingly and calls
+		 * {@link #createRequestAcceptor(StorageDataChunkValidator, StorageTaskBroker, StorageConcurrentLoader,
+		 * StorageEventLogger)}.
+		 * 
+		 * @return whether concurrent loading is used.
+		 */
+		public default boolean isConcurrentLoading()
+		{
+			return false;
+		}
 
 
 		public final class Default implements Creator
@@ -123,6 +234,37 @@ public interface StorageRequestAcceptor
 			}
 
 		}
+		
+		public final class ConcurrentLoading implements Creator
+		{
+			@Override
+			public StorageRequestAcceptor createRequestAcceptor(
+				final StorageDataChunkValidator dataChunkValidator,
+				final StorageTaskBroker         taskBroker
+			)
+			{
+				// without a concurrent loader, loads can only be processed via the task chain.
+				return new StorageRequestAcceptor.Default(dataChunkValidator, taskBroker);
+			}
+			
+			@Override
+			public StorageRequestAcceptor createRequestAcceptor(
+				final StorageDataChunkValidator dataChunkValidator,
+				final StorageTaskBroker         taskBroker        ,
+				final StorageConcurrentLoader   concurrentLoader  ,
+				final StorageEventLogger        eventLogger
+			)
+			{
+				return new StorageRequestAcceptor.Default(dataChunkValidator, taskBroker, concurrentLoader, eventLogger);
+			}
+			
+			@Override
+			public boolean isConcurrentLoading()
+			{
+				return true;
+			}
+
+		}
 
 	}
 
@@ -136,6 +278,8 @@ public interface StorageRequestAcceptor
 
 		private final StorageTaskBroker         taskBroker           ;
 		private final StorageDataChunkValidator prevalidatorDataChunk;
+		private final StorageConcurrentLoader   concurrentLoader     ; // may be null
+		private final StorageEventLogger        eventLogger          ;
 
 
 
@@ -147,10 +291,22 @@ public interface StorageRequestAcceptor
 			final StorageDataChunkValidator dataChunkValidator,
 			final StorageTaskBroker         taskBroker
 		)
+		{
+			this(dataChunkValidator, taskBroker, null, StorageEventLogger.NoOp());
+		}
+		
+		public Default(
+			final StorageDataChunkValidator dataChunkValidator,
+			final StorageTaskBroker         taskBroker        ,
+			final StorageConcurrentLoader   concurrentLoader  ,
+			final StorageEventLogger        eventLogger
+		)
 		{
 			super();
 			this.prevalidatorDataChunk = notNull(dataChunkValidator);
 			this.taskBroker            = notNull(taskBroker)        ;
+			this.concurrentLoader      = mayNull(concurrentLoader)  ;
+			this.eventLogger           = notNull(eventLogger)       ;
 		}
 
 
@@ -177,6 +333,17 @@ public interface StorageRequestAcceptor
 			waitOnTask(this.taskBroker.enqueueStoreTask(data));
 		}
 
+		@Override
+		public final CompletableFuture<Void> storeDataAsync(final Binary data) throws InterruptedException
+		{
+			// note: enabled accepting tasks has to be checked prior to calling this method (external concern)
+
+			// prevalidate on the caller site before creating and enqueing a task (may be no-op)
+			this.prevalidatorDataChunk.validateDataChunk(data);
+
+			return this.taskBroker.enqueueStoreTask(data).completion();
+		}
+
 		@Override
 		public final Binary queryByObjectIds(final PersistenceIdSet[] loadOids) throws InterruptedException
 		{
@@ -186,12 +353,32 @@ public interface StorageRequestAcceptor
 
 			// create and enqueue new chunk entry for task broker
 //			return this.enqueueAndWaitOnTask(this.taskCreator.createLoadTask(loadOids)).result();
+			if(this.concurrentLoader != null)
+			{
+				try
+				{
+					return this.concurrentLoader.loadByOids(loadOids);
+				}
+				catch(final StorageExceptionConsistency e)
+				{
+					/*
+					 * An objectId can already be known to the application while the store containing its entity
+					 * is still in progress. Loading it via the task chain guarantees all preceding stores to be
+					 * processed first. If the entity really is missing, the task will fail just the same.
+					 */
+					this.eventLogger.logConcurrentLoadFallback(e);
+				}
+			}
 			return waitOnTask(this.taskBroker.enqueueLoadTaskByOids(loadOids)).result();
 		}
 
 		@Override
 		public Binary queryByTypeIds(final PersistenceIdSet loadTids) throws StorageExceptionRequest, InterruptedException
 		{
+			if(this.concurrentLoader != null)
+			{
+				return this.concurrentLoader.loadByTids(loadTids);
+			}
 			return waitOnTask(this.taskBroker.enqueueLoadTaskByTids(loadTids)).result();
 		}
 
@@ -207,6 +394,13 @@ public interface StorageRequestAcceptor
 			return waitOnTask(this.taskBroker.issueGarbageCollection(nanoTimeBudget)).result();
 		}
 
+		@Override
+		public StorageGarbageCollectionStatistics issueParallelGarbageCollection(final int workerCount)
+			throws InterruptedException
+		{
+			return waitOnTask(this.taskBroker.issueParallelGarbageCollection(workerCount)).result();
+		}
+
 		@Override
 		public boolean issueCacheCheck(
 			final long                        nanoTimeBudget,
@@ -250,12 +444,36 @@ public interface StorageRequestAcceptor
 			return waitOnTask(this.taskBroker.enqueueCreateRawFileStatisticsTask()).result();
 		}
 
+		@Override
+		public StorageSnapshot captureSnapshot(final boolean includeEntities) throws InterruptedException
+		{
+			return waitOnTask(this.taskBroker.enqueueCaptureSnapshotTask(includeEntities)).result();
+		}
+
 		@Override
 		public void importFiles(final XGettingEnum<AFile> importFiles) throws InterruptedException
 		{
 			waitOnTask(this.taskBroker.enqueueImportFromFilesTask(importFiles));
 		}
 
+		@Override
+		public void importSnapshot(final StorageSnapshot snapshot) throws InterruptedException
+		{
+			waitOnTask(this.taskBroker.enqueueImportFromSourcesTask(StorageImportSource.Snapshot(snapshot)));
+		}
+
+		@Override
+		public void importAppendedData(
+			final StorageSnapshot     snapshot    ,
+			final StorageFileProvider fileProvider
+		)
+			throws InterruptedException
+		{
+			waitOnTask(this.taskBroker.enqueueImportFromSourcesTask(
+				StorageImportSource.AppendedData(snapshot, fileProvider)
+			));
+		}
+
 	}
 
 }
@@ -0,0 +1,106 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+public interface StorageRequestTaskCaptureSnapshot extends StorageRequestTask
+{
+	public StorageSnapshot result();
+
+
+
+	public final class Default
+	extends StorageChannelSynchronizingTask.AbstractCompletingTask<StorageSnapshot.ChannelSnapshot>
+	implements StorageRequestTaskCaptureSnapshot, StorageFileUser
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageSnapshot.ChannelSnapshot[] channelResults ;
+		private final boolean                           includeEntities;
+
+		private StorageSnapshot result;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long    timestamp      ,
+			final int     channelCount   ,
+			final boolean includeEntities
+		)
+		{
+			super(timestamp, channelCount);
+			this.channelResults  = new StorageSnapshot.ChannelSnapshot[channelCount];
+			this.includeEntities = includeEntities;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final StorageSnapshot.ChannelSnapshot internalProcessBy(final StorageChannel channel)
+		{
+			// the task instance is the user of the captured files, a snapshot is captured only once per task.
+			return channel.captureSnapshot(this, this.includeEntities);
+		}
+
+		@Override
+		protected synchronized void succeed(
+			final StorageChannel                  channel,
+			final StorageSnapshot.ChannelSnapshot result
+		)
+		{
+			this.channelResults[channel.channelIndex()] = result;
+		}
+
+		@Override
+		protected void fail(
+			final StorageChannel                  channel,
+			final StorageSnapshot.ChannelSnapshot result
+		)
+		{
+			// an incomplete snapshot is useless, so the files captured by successful channels are released again.
+			if(result != null)
+			{
+				result.release();
+			}
+		}
+
+		@Override
+		public synchronized StorageSnapshot result()
+		{
+			if(this.result == null)
+			{
+				this.result = StorageSnapshot.New(this.channelResults);
+			}
+			return this.result;
+		}
+
+	}
+	
+}
@@ -24,8 +24,10 @@ import static one.microstream.X.notNull;
 
 import java.util.function.Predicate;
 
+import one.microstream.X;
 import one.microstream.afs.types.AFile;
 import one.microstream.collections.types.XGettingEnum;
+import one.microstream.collections.types.XGettingSequence;
 import one.microstream.persistence.binary.types.Binary;
 import one.microstream.persistence.types.PersistenceIdSet;
 
@@ -65,6 +67,8 @@ public interface StorageRequestTaskCreator
 
 	public StorageRequestTaskCreateStatistics createCreateRawFileStatisticsTask(int channelCount);
 
+	public StorageRequestTaskCaptureSnapshot createCaptureSnapshotTask(int channelCount, boolean includeEntities);
+
 	public StorageRequestTaskFileCheck createFullFileCheckTask(
 		int  channelCount  ,
 		long nanoTimeBudget
@@ -76,6 +80,13 @@ public interface StorageRequestTaskCreator
 		StorageEntityCacheEvaluator entityEvaluator
 	);
 
+	public StorageRequestTaskParallelGarbageCollection createParallelGarbageCollectionTask(
+		int channelCount,
+		int workerCount
+	);
+
+	public StorageRequestTaskFollowerUpdate createFollowerUpdateTask(int channelCount);
+
 	public StorageRequestTaskImportData createImportFromFilesTask(
 		int                           channelCount          ,
 		StorageDataFileEvaluator      fileEvaluator         ,
@@ -83,6 +94,13 @@ public interface StorageRequestTaskCreator
 		XGettingEnum<AFile>           importFiles
 	);
 
+	public StorageRequestTaskImportData createImportFromSourcesTask(
+		int                                             channelCount          ,
+		StorageDataFileEvaluator                        fileEvaluator         ,
+		StorageObjectIdRangeEvaluator                   objectIdRangeEvaluator,
+		XGettingSequence<? extends StorageImportSource> importSources
+	);
+
 	public StorageChannelTaskShutdown createShutdownTask(
 		int                        channelCount       ,
 		StorageOperationController operationController
@@ -216,6 +234,19 @@ public interface StorageRequestTaskCreator
 			);
 		}
 
+		@Override
+		public StorageRequestTaskCaptureSnapshot createCaptureSnapshotTask(
+			final int     channelCount   ,
+			final boolean includeEntities
+		)
+		{
+			return new StorageRequestTaskCaptureSnapshot.Default(
+				this.timestampProvider.currentNanoTimestamp(),
+				channelCount,
+				includeEntities
+			);
+		}
+
 		@Override
 		public StorageRequestTaskFileCheck createFullFileCheckTask(
 			final int  channelCount       ,
@@ -244,6 +275,28 @@ public interface StorageRequestTaskCreator
 			);
 		}
 
+		@Override
+		public StorageRequestTaskParallelGarbageCollection createParallelGarbageCollectionTask(
+			final int channelCount,
+			final int workerCount
+		)
+		{
+			return new StorageRequestTaskParallelGarbageCollection.Default(
+				this.timestampProvider.currentNanoTimestamp(),
+				channelCount,
+				workerCount
+			);
+		}
+
+		@Override
+		public StorageRequestTaskFollowerUpdate createFollowerUpdateTask(final int channelCount)
+		{
+			return new StorageRequestTaskFollowerUpdate.Default(
+				this.timestampProvider.currentNanoTimestamp(),
+				channelCount
+			);
+		}
+
 		@Override
 		public StorageRequestTaskImportData createImportFromFilesTask(
 			final int                           channelCount          ,
@@ -251,12 +304,28 @@ public interface StorageRequestTaskCreator
 			final StorageObjectIdRangeEvaluator objectIdRangeEvaluator,
 			final XGettingEnum<AFile>           importFiles
 		)
+		{
+			return this.createImportFromSourcesTask(
+				channelCount,
+				fileEvaluator,
+				objectIdRangeEvaluator,
+				X.ConstList(StorageImportSource.Files(importFiles))
+			);
+		}
+
+		@Override
+		public StorageRequestTaskImportData createImportFromSourcesTask(
+			final int                                             channelCount          ,
+			final StorageDataFileEvaluator                        fileEvaluator         ,
+			final StorageObjectIdRangeEvaluator                   objectIdRangeEvaluator,
+			final XGettingSequence<? extends StorageImportSource> importSources
+		)
 		{
 			return new StorageRequestTaskImportData.Default(
 				this.timestampProvider.currentNanoTimestamp(),
 				channelCount,
 				objectIdRangeEvaluator,
-				importFiles
+				importSources
 			);
 		}
 
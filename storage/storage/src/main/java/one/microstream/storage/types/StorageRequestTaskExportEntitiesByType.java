@@ -287,6 +287,8 @@ public interface StorageRequestTaskExportEntitiesByType extends StorageRequestTa
 		{
 			if(!this.file.isOpen())
 			{
+				// never opened or already cleaned up, but the usage of an existing, unopened file must be released.
+				this.file.release();
 				return;
 			}
 			
@@ -0,0 +1,67 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.storage.exceptions.StorageException;
+
+/**
+ * Applies the entries prepared by a {@link StorageFollower} in all channels, ordered like any other task,
+ * so that loads either see the whole update in all channels or nothing of it.
+ */
+public interface StorageRequestTaskFollowerUpdate extends StorageRequestTask
+{
+	public final class Default
+	extends StorageChannelSynchronizingTask.AbstractCompletingTask<Void>
+	implements StorageRequestTaskFollowerUpdate
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final long timestamp, final int channelCount)
+		{
+			super(timestamp, channelCount);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final Void internalProcessBy(final StorageChannel channel)
+		{
+			try
+			{
+				channel.applyFollowedEntries(this.timestamp());
+			}
+			catch(final InterruptedException e)
+			{
+				throw new StorageException(e);
+			}
+			
+			return null;
+		}
+
+	}
+
+}
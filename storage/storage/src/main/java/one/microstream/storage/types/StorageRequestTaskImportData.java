@@ -27,7 +27,7 @@ import one.microstream.X;
 import one.microstream.afs.types.AFS;
 import one.microstream.afs.types.AFile;
 import one.microstream.collections.XArrays;
-import one.microstream.collections.types.XGettingEnum;
+import one.microstream.collections.types.XGettingSequence;
 import one.microstream.concurrency.XThreads;
 import one.microstream.persistence.binary.types.Binary;
 import one.microstream.storage.exceptions.StorageException;
@@ -56,19 +56,21 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 		// instance fields //
 		////////////////////
 
-		private final XGettingEnum<AFile>           importFiles           ;
-		private final StorageEntityCache.Default[]  entityCaches          ;
-		private final StorageObjectIdRangeEvaluator objectIdRangeEvaluator;
+		private final XGettingSequence<? extends StorageImportSource> importSources         ;
+		private final StorageEntityCache.Default[]                    entityCaches          ;
+		private final StorageObjectIdRangeEvaluator                   objectIdRangeEvaluator;
 		
-		// adding point for the reader
+		// adding point for the readers, also the lock for publishing source file slices and completing readers
 		private final SourceFileSlice[] sourceFileHeads;
 		
 		// starting point for the channels to process
 		private final SourceFileSlice[] sourceFileTails;
 
-		private AtomicBoolean    complete  = new AtomicBoolean();
-		private volatile long    maxObjectId; //TODO Check, why it is not assigned?
-		private          Thread  readThread ;
+		private AtomicBoolean             complete  = new AtomicBoolean();
+		private volatile long             maxObjectId;
+		private volatile RuntimeException readProblem;
+		private          boolean          readersStarted;
+		private          int              activeReaderCount;
 
 
 
@@ -77,15 +79,15 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 		/////////////////
 
 		Default(
-			final long                          timestamp             ,
-			final int                           channelCount          ,
-			final StorageObjectIdRangeEvaluator objectIdRangeEvaluator,
-			final XGettingEnum<AFile>           importFiles
+			final long                                            timestamp             ,
+			final int                                             channelCount          ,
+			final StorageObjectIdRangeEvaluator                   objectIdRangeEvaluator,
+			final XGettingSequence<? extends StorageImportSource> importSources
 		)
 		{
 			// every channel has to store at least a chunk header, so progress count is always equal to channel count
 			super(timestamp, channelCount);
-			this.importFiles            = importFiles;
+			this.importSources          = importSources;
 			this.objectIdRangeEvaluator = objectIdRangeEvaluator;
 			this.entityCaches           = new StorageEntityCache.Default[channelCount];
 			this.sourceFileTails        = createSourceFileSlices(channelCount);
@@ -103,7 +105,7 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 			final SourceFileSlice[] sourceFileTails = new SourceFileSlice[channelCount];
 			for(int i = 0; i < channelCount; i++)
 			{
-				sourceFileTails[i] = new SourceFileSlice(i, null, null);
+				sourceFileTails[i] = new SourceFileSlice(i, null, null, null);
 			}
 			
 			return sourceFileTails;
@@ -121,45 +123,70 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 			return false;
 		}
 
-		private synchronized void ensureReaderThread()
+		private synchronized void ensureReaderThreads()
 		{
-			if(this.readThread != null || this.entityCacheCollectionNotComplete())
+			if(this.readersStarted || this.entityCacheCollectionNotComplete())
 			{
 				return;
 			}
-			this.readThread = XThreads.start(this::readFiles);
+			this.readersStarted = true;
+			
+			if(this.importSources.isEmpty())
+			{
+				this.complete.set(true);
+				return;
+			}
+			
+			this.activeReaderCount = X.checkArrayRange(this.importSources.size());
+			for(final StorageImportSource importSource : this.importSources)
+			{
+				final Runnable reader = () ->
+					this.read(importSource)
+				;
+				XThreads.start(reader);
+			}
 		}
 
-		final void readFiles()
+		final void read(final StorageImportSource importSource)
 		{
 			final ItemReader itemReader = new ItemReader(this.entityCaches, this.sourceFileHeads);
-			
-			final StorageDataFileItemIterator iterator = StorageDataFileItemIterator.New(
-				StorageDataFileItemIterator.BufferProvider.New(),
-				itemReader
-			);
-
-			for(final AFile file : this.importFiles)
+			try
 			{
-//				DEBUGStorage.println("Reader reading source file " + file);
-				try
+				importSource.read(itemReader);
+			}
+			catch(final RuntimeException e)
+			{
+				// the channels fail the task when they find no more source files, instead of waiting forever.
+				this.readProblem = e;
+			}
+			finally
+			{
+				this.completeReader(itemReader.maxObjectId);
+			}
+		}
+		
+		private void completeReader(final long readerMaxObjectId)
+		{
+			synchronized(this.sourceFileHeads)
+			{
+				if(readerMaxObjectId > this.maxObjectId)
 				{
-					itemReader.setSourceFile(file);
-					AFS.execute(file, rf -> iterator.iterateStoredItems(rf));
-					itemReader.completeCurrentSourceFile();
+					this.maxObjectId = readerMaxObjectId;
 				}
-				catch(final Exception e)
+				
+				// the max object id must be set before completion is signaled
+				// since the channels evaluate it after their completion
+				if(--this.activeReaderCount == 0)
 				{
-					throw new StorageExceptionImportFailed("Exception while reading import file " + file, e);
+//					DEBUGStorage.println("* completed reading source files");
+					this.complete.set(true);
 				}
 			}
-//			DEBUGStorage.println("* completed reading source files");
-			this.complete.set(true);
 		}
 
 		
 		
-		static final class ItemReader implements ItemProcessor
+		static final class ItemReader implements ItemProcessor, StorageImportSource.Reader
 		{
 			///////////////////////////////////////////////////////////////////////////
 			// instance fields //
@@ -169,7 +196,10 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 			private final SourceFileSlice[]            sourceFileHeads          ;
 			private final ChannelItem[]                channelItems             ;
 			private final int                          channelHash              ;
+			private       StorageDataFileItemIterator  iterator                 ;
 			private       AFile                        file                     ;
+			private       StorageFile                  dataFile                 ;
+			private       long                         maxBatchLength           ;
 			private       int                          currentBatchChannel      ;
 			private       long                         currentSourceFilePosition;
 			private       long                         maxObjectId              ;
@@ -196,6 +226,86 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 				);
 			}
 			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			private StorageDataFileItemIterator iterator()
+			{
+				if(this.iterator == null)
+				{
+					this.iterator = StorageDataFileItemIterator.New(
+						StorageDataFileItemIterator.BufferProvider.New(),
+						this
+					);
+				}
+				
+				return this.iterator;
+			}
+			
+			@Override
+			public void readFile(final AFile file)
+			{
+//				DEBUGStorage.println("Reader reading source file " + file);
+				try
+				{
+					this.setSourceFile(file, null, 0, Long.MAX_VALUE);
+					AFS.execute(file, rf -> this.iterator().iterateStoredItems(rf));
+					this.completeCurrentSourceFile();
+				}
+				catch(final Exception e)
+				{
+					throw new StorageExceptionImportFailed("Exception while reading import file " + file, e);
+				}
+			}
+			
+			@Override
+			public void readFile(final AFile file, final long position, final long length)
+			{
+				try
+				{
+					this.setSourceFile(file, null, position, Long.MAX_VALUE);
+					AFS.execute(file, rf -> this.iterator().iterateStoredItems(rf, position, length));
+					this.completeCurrentSourceFile();
+				}
+				catch(final Exception e)
+				{
+					throw new StorageExceptionImportFailed(
+						"Exception while reading import file " + file + " @" + position + " [" + length + "]", e
+					);
+				}
+			}
+			
+			@Override
+			public void readEntities(
+				final StorageLiveDataFile              file    ,
+				final StorageSnapshot.CapturedEntities entities
+			)
+			{
+				try
+				{
+					// the live file is used by its storage meanwhile, so the copying must be done in chunks.
+					this.setSourceFile(file.file(), file, 0, StorageSnapshot.ChannelSnapshot.COPY_CHUNK_LENGTH);
+					for(int i = 0; i < entities.entityCount(); i++)
+					{
+						// only the live entities are imported, so a batch is interrupted by any garbage in between
+						if(entities.position(i) != this.currentSourceFilePosition)
+						{
+							this.currentSourceFilePosition = entities.position(i);
+							this.currentBatchChannel = -1;
+						}
+						this.readEntity(entities.length(i), entities.objectId(i), entities.typeId(i));
+					}
+					this.completeCurrentSourceFile();
+				}
+				catch(final Exception e)
+				{
+					throw new StorageExceptionImportFailed("Exception while reading live file " + file.file(), e);
+				}
+			}
+			
 			@Override
 			public boolean accept(final long address, final long availableItemLength)
 			{
@@ -223,22 +333,32 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 					return false;
 				}
 
-				final int intLength = X.checkArrayRange(length);
+				this.readEntity(
+					X.checkArrayRange(length),
+					Binary.getEntityObjectIdRawValue(address),
+					StorageDataCompression.entityTypeId(address)
+				);
 
+				return true;
+			}
+			
+			private void readEntity(final int length, final long objectId, final long typeId)
+			{
 				// read and validate entity head information
-				final long                      objectId     = Binary.getEntityObjectIdRawValue(address);
 				final int                       channelIndex = (int)objectId & this.channelHash;
 				final StorageEntityType.Default type         = this.entityCaches[channelIndex].validateEntity(
-					intLength,
-					Binary.getEntityTypeIdRawValue(address),
+					length,
+					typeId,
 					objectId
 				);
 
 				// register entity accordingly (either new batch required or current batch can be enlarged)
-				if(channelIndex != this.currentBatchChannel)
+				if(channelIndex != this.currentBatchChannel
+				|| this.channelItems[channelIndex].tailBatch.batchLength + length > this.maxBatchLength
+				)
 				{
 					this.currentBatchChannel = channelIndex;
-					this.startNewBatch(intLength, objectId, type);
+					this.startNewBatch(length, objectId, type);
 				}
 				else
 				{
@@ -246,7 +366,7 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 //						"Reader ADD batch Entity @" + this.currentSourceFilePosition
 //						+ " [" + length + "] (" + this.currentBatchChannel + ") " + objectId
 //					);
-					this.addToCurrentBatch(intLength, objectId, type);
+					this.addToCurrentBatch(length, objectId, type);
 				}
 
 				if(objectId >= this.maxObjectId)
@@ -255,9 +375,7 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 				}
 
 				// keep track of current source file position to offset the batch correctly
-				this.currentSourceFilePosition += intLength;
-
-				return true;
+				this.currentSourceFilePosition += length;
 			}
 
 			private void startNewBatch(
@@ -299,32 +417,49 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 				item.tailBatch.batchLength += length;
 			}
 
-			final void setSourceFile(final AFile file)
+			final void setSourceFile(
+				final AFile       file          ,
+				final StorageFile dataFile      ,
+				final long        startPosition ,
+				final long        maxBatchLength
+			)
 			{
 				// next source file is set up
-				this.currentBatchChannel       =   -1; // invalid value to guarantee change on first entity.
-				this.currentSourceFilePosition =    0; // source file starts at 0, of course.
-				this.file                      = file;
+				this.currentBatchChannel       =            -1; // invalid value to guarantee change on first entity.
+				this.currentSourceFilePosition = startPosition;
+				this.file                      =          file;
+				this.dataFile                  =      dataFile;
+				this.maxBatchLength            = maxBatchLength;
 			}
 
 			final void completeCurrentSourceFile()
 			{
 				final SourceFileSlice[]  sourceFileHeads = this.sourceFileHeads;
 				final ChannelItem[]      channelItems    = this.channelItems   ;
-				for(int i = 0; i < sourceFileHeads.length; i++)
+				
+				// the readers of all import sources publish their slices to the same channels.
+				synchronized(sourceFileHeads)
 				{
-					final SourceFileSlice oldSourceFileHead = sourceFileHeads[i];
-					final ChannelItem     currentItem       = channelItems[i];
+					for(int i = 0; i < sourceFileHeads.length; i++)
+					{
+						final SourceFileSlice oldSourceFileHead = sourceFileHeads[i];
+						final ChannelItem     currentItem       = channelItems[i];
+						if(currentItem.headBatch.batchNext == null)
+						{
+							// nothing to import for the channel from the current source file
+							continue;
+						}
 
-					sourceFileHeads[i] = sourceFileHeads[i].next =
-						new SourceFileSlice(i, this.file, currentItem.headBatch.batchNext)
-					;
-					currentItem.resetChains();
+						sourceFileHeads[i] = sourceFileHeads[i].next =
+							new SourceFileSlice(i, this.file, this.dataFile, currentItem.headBatch.batchNext)
+						;
+						currentItem.resetChains();
 
-					// notify storage thread that a new source file is ready for processing
-					synchronized(oldSourceFileHead)
-					{
-						oldSourceFileHead.notifyAll();
+						// notify storage thread that a new source file is ready for processing
+						synchronized(oldSourceFileHead)
+						{
+							oldSourceFileHead.notifyAll();
+						}
 					}
 				}
 			}
@@ -344,10 +479,10 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 			}
 
 			/*
-			 * the last thread to enter this method starts a single reader thread,
+			 * the last thread to enter this method starts a reader thread per import source,
 			 * all other threads return here right away
 			 */
-			this.ensureReaderThread();
+			this.ensureReaderThreads();
 
 			// the tail array is always initialized with an empty dummy source file which serves as an entry point.
 			SourceFileSlice currentSourceFile = this.sourceFileTails[channel.channelIndex()];
@@ -366,6 +501,13 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 						{
 							if(this.complete.get())
 							{
+								if(this.readProblem != null)
+								{
+									throw new StorageExceptionImportFailed(
+										"Reading the import data failed.",
+										this.readProblem
+									);
+								}
 //								DEBUGStorage.println(channel.channelIndex() + " done importing.");
 								// there will be no more next source file, so abort (task is complete)
 								break importLoop;
@@ -490,6 +632,7 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 		// instance fields //
 		////////////////////
 		
+		final StorageFile     dataFile    ;
 		final ImportBatch     headBatch   ;
 		      SourceFileSlice next        ;
 		      
@@ -502,10 +645,12 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 		SourceFileSlice(
 			final int         channelIndex,
 			final AFile       file        ,
+			final StorageFile dataFile    ,
 			final ImportBatch headBatch
 		)
 		{
 			super(file, channelIndex);
+			this.dataFile  = dataFile ;
 			this.headBatch = headBatch;
 		}
 		
@@ -515,6 +660,16 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 		// methods //
 		////////////
 
+		@Override
+		public final StorageFile dataFile()
+		{
+			// a live file of another storage is used directly instead of opening its file a second time.
+			return this.dataFile != null
+				? this.dataFile
+				: this
+			;
+		}
+
 		@Override
 		public final void iterateBatches(final Consumer<? super StorageChannelImportBatch> iterator)
 		{
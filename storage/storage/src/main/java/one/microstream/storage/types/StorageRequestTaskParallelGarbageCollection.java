@@ -0,0 +1,90 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.storage.exceptions.StorageException;
+
+public interface StorageRequestTaskParallelGarbageCollection extends StorageRequestTask
+{
+	/**
+	 * @return the statistics of the performed collection or {@code null} if none has been performed.
+	 */
+	public StorageGarbageCollectionStatistics result();
+
+
+
+	public final class Default
+	extends StorageChannelSynchronizingTask.AbstractCompletingTask<Void>
+	implements StorageRequestTaskParallelGarbageCollection
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageParallelGarbageCollector collector;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long timestamp   ,
+			final int  channelCount,
+			final int  workerCount
+		)
+		{
+			super(timestamp, channelCount);
+			this.collector = StorageParallelGarbageCollector.New(channelCount, workerCount);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final Void internalProcessBy(final StorageChannel channel)
+		{
+			try
+			{
+				channel.issuedParallelGarbageCollection(this.collector);
+			}
+			catch(final InterruptedException e)
+			{
+				// being interrupted aborts the collection for all channels, the collector cares for consistency.
+				throw new StorageException(e);
+			}
+			
+			return null;
+		}
+
+		@Override
+		public final StorageGarbageCollectionStatistics result()
+		{
+			return this.collector.statistics();
+		}
+
+	}
+
+}
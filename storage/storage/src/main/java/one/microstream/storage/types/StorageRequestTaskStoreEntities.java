@@ -21,15 +21,64 @@ package one.microstream.storage.types;
  */
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 
 import one.microstream.chars.VarString;
+import one.microstream.collections.XArrays;
 import one.microstream.meta.XDebug;
 import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.Chunk;
+import one.microstream.persistence.binary.types.ChunksWrapper;
+import one.microstream.storage.exceptions.StorageException;
 import one.microstream.typing.KeyValue;
 import one.microstream.util.UtilStackTrace;
 
 public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 {
+	/**
+	 * Attaches the passed data to this task, so that it gets stored in the same chunk and transaction entry
+	 * per channel as this task's own data. This is only possible as long as no channel has started processing
+	 * this task and if the total length of all grouped data does not exceed the passed maximum length.
+	 * All grouped data shares the task's outcome, meaning it is either stored completely or not at all.
+	 *
+	 * @param data the data to be stored along with this task's data.
+	 * @param maximumTotalLength the maximum total length in bytes of all data grouped in this task.
+	 *
+	 * @return whether the data has been attached to this task.
+	 */
+	public boolean group(Binary data, long maximumTotalLength);
+
+	/**
+	 * Delays the processing of this task by up to the passed time to give other stores the chance to be
+	 * grouped into it via {@link #group(Binary, long)}.
+	 *
+	 * @param windowNs the time in nanoseconds to wait for other stores, measured from now on.
+	 */
+	public void openGroup(long windowNs);
+
+	/**
+	 * Returns a {@link CompletableFuture} that is completed when the task is completed, i.e. when all channels
+	 * have either committed and updated their entity cache or rolled back their part of the store. In the latter
+	 * case, it is completed exceptionally with the same exception that {@link #waitOnCompletion()} would throw.
+	 * <p>
+	 * The future is completed directly by the storage channel thread that finishes the task. Dependent actions
+	 * that might block or take long have to be registered asynchronously, otherwise they hold up the storage.
+	 *
+	 * @return the future representing this task's completion.
+	 */
+	public CompletableFuture<Void> completion();
+
+	public static long totalLength(final Binary data)
+	{
+		long totalLength = 0;
+		for(int i = 0; i < data.channelCount(); i++)
+		{
+			totalLength += data.channelChunk(i).totalLength();
+		}
+
+		return totalLength;
+	}
+
 	
 	/* (11.08.2018 TM)TODO:
 	 * The overly complex "KeyValue<ByteBuffer[], long[]>" construct could be replaced by a simple Long containing
@@ -51,7 +100,14 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 		// instance fields //
 		////////////////////
 
-		private final Binary data;
+		private final Binary   data       ;
+		private       Binary[] groupedData; // data of other stores grouped into this task, null if none.
+		private       long     totalLength; // only determined when required for grouping.
+		private       boolean  isSealed   ; // set as soon as the first channel starts processing the task.
+		private       long     groupBound ; // System#nanoTime bound until which grouping is waited for, 0 if none.
+
+		private final CompletableFuture<Void> completion                ;
+		private       int                     remainingForPostCompletion;
 
 
 
@@ -63,7 +119,10 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 		{
 			// every channel has to store at least a chunk header, so progress count is always equal to channel count
 			super(timestamp, data.channelCount());
-			this.data = data;
+			this.data                       = data                   ;
+			this.totalLength                = -1                     ;
+			this.completion                 = new CompletableFuture<>();
+			this.remainingForPostCompletion = data.channelCount()    ;
 		}
 
 
@@ -72,11 +131,106 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 		// methods //
 		////////////
 
+		@Override
+		public final synchronized boolean group(final Binary data, final long maximumTotalLength)
+		{
+			if(this.isSealed)
+			{
+				return false;
+			}
+			if(this.totalLength < 0)
+			{
+				this.totalLength = StorageRequestTaskStoreEntities.totalLength(this.data);
+			}
+
+			final long dataLength = StorageRequestTaskStoreEntities.totalLength(data);
+			if(this.totalLength + dataLength > maximumTotalLength)
+			{
+				return false;
+			}
+
+			this.groupedData = this.groupedData == null
+				? new Binary[]{data}
+				: XArrays.add(this.groupedData, data)
+			;
+			this.totalLength += dataLength;
+
+			return true;
+		}
+
+		@Override
+		public final synchronized void openGroup(final long windowNs)
+		{
+			this.groupBound = System.nanoTime() + windowNs;
+		}
+
+		@Override
+		public final CompletableFuture<Void> completion()
+		{
+			return this.completion;
+		}
+
+		@Override
+		protected final void completed()
+		{
+			// a successful store is only reported after every channel's post-completion, see below.
+			final StorageException problem = this.createProblemException();
+			if(problem != null)
+			{
+				this.completion.completeExceptionally(problem);
+			}
+		}
+
+		private synchronized boolean isLastPostCompletion()
+		{
+			return --this.remainingForPostCompletion == 0;
+		}
+
+		private void awaitGroup() throws InterruptedException
+		{
+			// the first processing channel waits for the group window to pass, the others just find it sealed.
+			long remainingNs;
+			while(!this.isSealed && this.groupBound != 0 && (remainingNs = this.groupBound - System.nanoTime()) > 0)
+			{
+				this.wait(remainingNs / 1_000_000, (int)(remainingNs % 1_000_000));
+			}
+		}
+
+		private synchronized Chunk sealChannelChunk(final int channelIndex)
+		{
+			try
+			{
+				this.awaitGroup();
+			}
+			catch(final InterruptedException e)
+			{
+				// interruption ends the waiting, the store itself is processed as usual and the state is kept.
+				Thread.currentThread().interrupt();
+			}
+
+			// once any channel has started storing, no more data may be grouped into this task.
+			this.isSealed = true;
+
+			final Binary chunk = this.data.channelChunk(channelIndex);
+			if(this.groupedData == null)
+			{
+				return chunk;
+			}
+
+			ByteBuffer[] buffers = chunk.buffers();
+			for(final Binary groupedData : this.groupedData)
+			{
+				buffers = XArrays.add(buffers, groupedData.channelChunk(channelIndex).buffers());
+			}
+
+			return ChunksWrapper.New(buffers);
+		}
+
 		@Override
 		protected final KeyValue<ByteBuffer[], long[]> internalProcessBy(final StorageChannel channel)
 		{
 //			this.DEBUG_Print(channel);
-			return channel.storeEntities(this.timestamp(), this.data.channelChunk(channel.channelIndex()));
+			return channel.storeEntities(this.timestamp(), this.sealChannelChunk(channel.channelIndex()));
 		}
 		
 		public final void DEBUG_Print(final StorageChannel channel)
@@ -140,7 +294,18 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 			 * The task itself has already been reported as successful and the thread that issued
 			 * and waited for the task already continued working.
 			 */
-			channel.postStoreUpdateEntityCache(result.key(), result.value());
+			try
+			{
+				channel.postStoreUpdateEntityCache(result.key(), result.value());
+			}
+			finally
+			{
+				// the data has been stored in any case, so the store is reported as successful.
+				if(this.isLastPostCompletion())
+				{
+					this.completion.complete(null);
+				}
+			}
 		}
 
 		@Override
@@ -0,0 +1,503 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.mayNull;
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.notNegative;
+
+import one.microstream.afs.types.AFS;
+import one.microstream.afs.types.AFile;
+import one.microstream.afs.types.AWritableFile;
+import one.microstream.storage.exceptions.StorageException;
+
+/**
+ * The data and transactions files of all channels of a storage, captured at one consistent point in the
+ * processing of tasks, together with their lengths at that point.
+ * <p>
+ * Capturing a snapshot only takes as long as registering its files in every channel, see
+ * {@link StorageConnection#exportSnapshot(StorageLiveFileProvider, one.microstream.persistence.types.PersistenceTypeDictionaryExporter)}.
+ * While a snapshot is not released, its files are not deleted and the transactions files are not rolled,
+ * everything else continues as usual: data appended to the captured files after capturing is simply not part of
+ * the snapshot and entities transferred out of a captured file by file dissolving remain in the file.
+ * <p>
+ * Optionally, a snapshot also captures which entities are live in which part of its data files, see
+ * {@link CapturedEntities}. This allows importing only the live entities into another storage, see
+ * {@link StorageConnection#importSnapshot(StorageSnapshot)}.
+ */
+public interface StorageSnapshot
+{
+	public int channelCount();
+	
+	public ChannelSnapshot channel(int channelIndex);
+	
+	/**
+	 * @return the number of bytes of all captured files.
+	 */
+	public long totalLength();
+	
+	/**
+	 * Copies the captured part of every captured file to the file provided by the passed file provider.
+	 * Existing target files are overwritten. May be called by any thread, the storage continues working meanwhile.
+	 * 
+	 * @param fileProvider the provider of the target files.
+	 */
+	public void exportTo(StorageLiveFileProvider fileProvider);
+	
+	/**
+	 * Releases all captured files, so that the storage can delete them again if required. Idempotent.
+	 */
+	public void release();
+	
+	
+	
+	public static StorageSnapshot New(final ChannelSnapshot[] channelSnapshots)
+	{
+		return new StorageSnapshot.Default(
+			notNull(channelSnapshots)
+		);
+	}
+	
+	public final class Default implements StorageSnapshot
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final ChannelSnapshot[] channelSnapshots;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(final ChannelSnapshot[] channelSnapshots)
+		{
+			super();
+			this.channelSnapshots = channelSnapshots;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final int channelCount()
+		{
+			return this.channelSnapshots.length;
+		}
+		
+		@Override
+		public final ChannelSnapshot channel(final int channelIndex)
+		{
+			return this.channelSnapshots[channelIndex];
+		}
+		
+		@Override
+		public final long totalLength()
+		{
+			long totalLength = 0;
+			for(final ChannelSnapshot channelSnapshot : this.channelSnapshots)
+			{
+				totalLength += channelSnapshot.totalLength();
+			}
+			
+			return totalLength;
+		}
+		
+		@Override
+		public final void exportTo(final StorageLiveFileProvider fileProvider)
+		{
+			for(final ChannelSnapshot channelSnapshot : this.channelSnapshots)
+			{
+				channelSnapshot.exportTo(fileProvider);
+			}
+		}
+		
+		@Override
+		public final void release()
+		{
+			for(final ChannelSnapshot channelSnapshot : this.channelSnapshots)
+			{
+				channelSnapshot.release();
+			}
+		}
+		
+	}
+	
+	
+	
+	public static ChannelSnapshot ChannelSnapshot(
+		final int                         channelIndex          ,
+		final StorageFileUser             fileUser              ,
+		final StorageLiveTransactionsFile transactionsFile      ,
+		final long                        transactionsFileLength,
+		final StorageLiveDataFile[]       dataFiles             ,
+		final long[]                      dataFileLengths       ,
+		final CapturedEntities[]          dataFileEntities
+	)
+	{
+		return new ChannelSnapshot(
+			notNegative(channelIndex)          ,
+			notNull(fileUser)                  ,
+			notNull(transactionsFile)          ,
+			notNegative(transactionsFileLength),
+			notNull(dataFiles)                 ,
+			notNull(dataFileLengths)           ,
+			mayNull(dataFileEntities)
+		);
+	}
+	
+	/**
+	 * The captured files of a single channel. The files must have been registered as used by the passed
+	 * {@link StorageFileUser} by the capturing channel.
+	 */
+	public final class ChannelSnapshot implements StorageHashChannelPart
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		// copying in chunks keeps the lock on the live files short, the channel may need them meanwhile.
+		static final long COPY_CHUNK_LENGTH = 16 * 1024 * 1024;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final int                         channelIndex          ;
+		private final StorageFileUser             fileUser              ;
+		private final StorageLiveTransactionsFile transactionsFile      ;
+		private final long                        transactionsFileLength;
+		private final StorageLiveDataFile[]       dataFiles             ;
+		private final long[]                      dataFileLengths       ;
+		private final CapturedEntities[]          dataFileEntities      ;
+		
+		private boolean released;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		ChannelSnapshot(
+			final int                         channelIndex          ,
+			final StorageFileUser             fileUser              ,
+			final StorageLiveTransactionsFile transactionsFile      ,
+			final long                        transactionsFileLength,
+			final StorageLiveDataFile[]       dataFiles             ,
+			final long[]                      dataFileLengths       ,
+			final CapturedEntities[]          dataFileEntities
+		)
+		{
+			super();
+			this.channelIndex           = channelIndex          ;
+			this.fileUser               = fileUser              ;
+			this.transactionsFile       = transactionsFile      ;
+			this.transactionsFileLength = transactionsFileLength;
+			this.dataFiles              = dataFiles             ;
+			this.dataFileLengths        = dataFileLengths       ;
+			this.dataFileEntities       = dataFileEntities      ;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final int channelIndex()
+		{
+			return this.channelIndex;
+		}
+		
+		public final int dataFileCount()
+		{
+			return this.dataFiles.length;
+		}
+		
+		public final StorageLiveDataFile dataFile(final int index)
+		{
+			return this.dataFiles[index];
+		}
+		
+		public final long dataFileLength(final int index)
+		{
+			return this.dataFileLengths[index];
+		}
+		
+		public final boolean hasEntities()
+		{
+			return this.dataFileEntities != null;
+		}
+		
+		/**
+		 * @param index the index of the captured data file.
+		 * 
+		 * @return the live entities of the captured data file or {@literal null} if entities have not been captured.
+		 */
+		public final CapturedEntities dataFileEntities(final int index)
+		{
+			return this.dataFileEntities == null
+				? null
+				: this.dataFileEntities[index]
+			;
+		}
+		
+		/**
+		 * @param fileNumber the number of a data file of the channel.
+		 * 
+		 * @return the captured length of the data file with the passed number or -1 if it has not been captured.
+		 */
+		public final long capturedLength(final long fileNumber)
+		{
+			for(int i = 0; i < this.dataFiles.length; i++)
+			{
+				if(this.dataFiles[i].number() == fileNumber)
+				{
+					return this.dataFileLengths[i];
+				}
+			}
+			
+			return -1;
+		}
+		
+		/**
+		 * @return the highest number of all captured data files.
+		 */
+		public final long highestDataFileNumber()
+		{
+			long highestNumber = -1;
+			for(final StorageLiveDataFile dataFile : this.dataFiles)
+			{
+				if(dataFile.number() > highestNumber)
+				{
+					highestNumber = dataFile.number();
+				}
+			}
+			
+			return highestNumber;
+		}
+		
+		public final synchronized boolean isReleased()
+		{
+			return this.released;
+		}
+		
+		public final long totalLength()
+		{
+			long totalLength = this.transactionsFileLength;
+			for(final long dataFileLength : this.dataFileLengths)
+			{
+				totalLength += dataFileLength;
+			}
+			
+			return totalLength;
+		}
+		
+		public final synchronized void exportTo(final StorageLiveFileProvider fileProvider)
+		{
+			if(this.released)
+			{
+				throw new StorageException("Snapshot of channel " + this.channelIndex + " has already been released.");
+			}
+			
+			for(int i = 0; i < this.dataFiles.length; i++)
+			{
+				copy(
+					this.dataFiles[i],
+					this.dataFileLengths[i],
+					fileProvider.provideDataFile(this.channelIndex, this.dataFiles[i].number())
+				);
+			}
+			
+			// the transactions file last, so that an incomplete export can be detected by its absence.
+			copy(
+				this.transactionsFile,
+				this.transactionsFileLength,
+				fileProvider.provideTransactionsFile(this.channelIndex)
+			);
+		}
+		
+		private static void copy(
+			final StorageLiveChannelFile<?> sourceFile,
+			final long                      length    ,
+			final AFile                     targetFile
+		)
+		{
+			AFS.executeWriting(targetFile, wf ->
+				copy(sourceFile, length, wf)
+			);
+		}
+		
+		private static void copy(
+			final StorageLiveChannelFile<?> sourceFile,
+			final long                      length    ,
+			final AWritableFile             target
+		)
+		{
+			target.ensureExists();
+			if(target.size() != 0)
+			{
+				target.truncate(0);
+			}
+			
+			for(long copied = 0; copied < length;)
+			{
+				final long transferred = sourceFile.copyTo(
+					target,
+					copied,
+					Math.min(length - copied, COPY_CHUNK_LENGTH)
+				);
+				if(transferred <= 0)
+				{
+					throw new StorageException(
+						"No progress copying " + (length - copied) + " bytes at position " + copied
+						+ " of " + sourceFile.identifier()
+					);
+				}
+				copied += transferred;
+			}
+		}
+		
+		public final synchronized void release()
+		{
+			if(this.released)
+			{
+				return;
+			}
+			this.released = true;
+			
+			/* Files no longer used by anyone else are closed. Data files among them have been dissolved meanwhile,
+			 * their deletion is pending and done by the channel's file cleanup.
+			 */
+			this.transactionsFile.unregisterUsageClosing(this.fileUser, null);
+			for(final StorageLiveDataFile dataFile : this.dataFiles)
+			{
+				dataFile.unregisterUsageClosing(this.fileUser, null);
+			}
+		}
+		
+	}
+	
+	
+	
+	public static CapturedEntities CapturedEntities(
+		final long[] objectIds,
+		final long[] typeIds  ,
+		final long[] positions,
+		final int[]  lengths
+	)
+	{
+		if(typeIds.length != objectIds.length
+		|| positions.length != objectIds.length
+		|| lengths.length != objectIds.length
+		)
+		{
+			throw new IllegalArgumentException("Inconsistent entity array lengths.");
+		}
+		
+		return new CapturedEntities(
+			objectIds,
+			typeIds  ,
+			positions,
+			lengths
+		);
+	}
+	
+	/**
+	 * The object id, type id, position and length of every live entity in the captured part of a data file,
+	 * in the order of their positions. All other bytes of the captured part are garbage.
+	 * <p>
+	 * Note that these are 28 bytes of heap memory per entity, for as long as the snapshot is referenced.
+	 */
+	public final class CapturedEntities
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		final long[] objectIds;
+		final long[] typeIds  ;
+		final long[] positions;
+		final int[]  lengths  ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		CapturedEntities(
+			final long[] objectIds,
+			final long[] typeIds  ,
+			final long[] positions,
+			final int[]  lengths
+		)
+		{
+			super();
+			this.objectIds = objectIds;
+			this.typeIds   = typeIds  ;
+			this.positions = positions;
+			this.lengths   = lengths  ;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		public final int entityCount()
+		{
+			return this.objectIds.length;
+		}
+		
+		public final long objectId(final int index)
+		{
+			return this.objectIds[index];
+		}
+		
+		public final long typeId(final int index)
+		{
+			return this.typeIds[index];
+		}
+		
+		public final long position(final int index)
+		{
+			return this.positions[index];
+		}
+		
+		public final int length(final int index)
+		{
+			return this.lengths[index];
+		}
+		
+	}
+	
+}
@@ -66,6 +66,8 @@ public interface StorageSystem extends StorageController
 	public boolean shutdown();
 
 	public StorageObjectIdRangeEvaluator objectIdRangeEvaluator();
+
+	public StorageMetrics metrics();
 		
 
 
@@ -98,9 +100,19 @@ public interface StorageSystem extends StorageController
 		private final StorageTimestampProvider             timestampProvider             ;
 		private final StorageObjectIdRangeEvaluator        objectIdRangeEvaluator        ;
 		private final StorageGCZombieOidHandler            zombieOidHandler              ;
+		private final StorageEntityDeletionHandler         entityDeletionHandler         ;
 		private final StorageRootOidSelector.Provider      rootOidSelectorProvider       ;
 		private final StorageObjectIdMarkQueue.Creator     oidMarkQueueCreator           ;
 		private final StorageEntityMarkMonitor.Creator     entityMarkMonitorCreator      ;
+		private final StorageDataFileMapping               dataFileMapping               ;
+		private final StorageIndexCheckpointSetup          indexCheckpointSetup          ;
+		private final StorageTransactionsFileRollingSetup  transactionsFileRollingSetup  ;
+		private final StorageFollowerSetup                 followerSetup                 ;
+		private final StorageTypeDictionaryUpdater         typeDictionaryUpdater         ;
+		private final StorageEntityInitializer.Creator     entityInitializerCreator      ;
+		private final StorageDataFileCompactionSetup       compactionSetup               ;
+		private final StorageDataCompression               dataCompression               ;
+		private final StorageMetrics                       metrics                       ;
 		private final StorageDataFileValidator.Creator     backupDataFileValidatorCreator;
 		private final StorageBackupSetup                   backupSetup                   ;
 		private final StorageLockFileSetup                 lockFileSetup                 ;
@@ -120,11 +132,19 @@ public interface StorageSystem extends StorageController
 		private final    ChannelKeeper[]      channelKeepers;
 		
 		private          StorageBackupHandler backupHandler;
-		private          Thread               backupThread ;
+		private          Thread[]             backupThreads;
 		
 		private          Thread               lockFileManagerThread;
 		
+		private          StorageDataFileCompactor[] compactors       ;
+		private          Thread[]                   compactorThreads ;
+		
+		private          StorageFollower      follower      ;
+		private          Thread               followerThread;
+		
 		private          StorageIdAnalysis    initializationIdAnalysis;
+		
+		private          StorageLoadGate      loadGate;
 
 
 
@@ -151,9 +171,19 @@ public interface StorageSystem extends StorageController
 			final StorageTimestampProvider             timestampProvider             ,
 			final StorageObjectIdRangeEvaluator        objectIdRangeEvaluator        ,
 			final StorageGCZombieOidHandler            zombieOidHandler              ,
+			final StorageEntityDeletionHandler         entityDeletionHandler         ,
 			final StorageRootOidSelector.Provider      rootOidSelectorProvider       ,
 			final StorageObjectIdMarkQueue.Creator     oidMarkQueueCreator           ,
 			final StorageEntityMarkMonitor.Creator     entityMarkMonitorCreator      ,
+			final StorageDataFileMapping               dataFileMapping               ,
+			final StorageIndexCheckpointSetup          indexCheckpointSetup          ,
+			final StorageTransactionsFileRollingSetup  transactionsFileRollingSetup  ,
+			final StorageFollowerSetup                 followerSetup                 ,
+			final StorageTypeDictionaryUpdater         typeDictionaryUpdater         ,
+			final StorageEntityInitializer.Creator     entityInitializerCreator      ,
+			final StorageDataFileCompactionSetup       compactionSetup               ,
+			final StorageDataCompression               dataCompression               ,
+			final StorageMetrics                       metrics                       ,
 			final boolean                              switchByteOrder               ,
 			final StorageLockFileSetup                 lockFileSetup                 ,
 			final StorageLockFileManager.Creator       lockFileManagerCreator        ,
@@ -191,9 +221,19 @@ public interface StorageSystem extends StorageController
 			this.writeController                = notNull(writeController)                     ;
 			this.writerProvider                 = notNull(writerProvider)                      ;
 			this.zombieOidHandler               = notNull(zombieOidHandler)                    ;
+			this.entityDeletionHandler          = notNull(entityDeletionHandler)               ;
 			this.rootOidSelectorProvider        = notNull(rootOidSelectorProvider)             ;
 			this.oidMarkQueueCreator            = notNull(oidMarkQueueCreator)                 ;
 			this.entityMarkMonitorCreator       = notNull(entityMarkMonitorCreator)            ;
+			this.dataFileMapping                = notNull(dataFileMapping)                     ;
+			this.indexCheckpointSetup           = notNull(indexCheckpointSetup)                ;
+			this.transactionsFileRollingSetup   = notNull(transactionsFileRollingSetup)        ;
+			this.followerSetup                  = notNull(followerSetup)                       ;
+			this.typeDictionaryUpdater          = notNull(typeDictionaryUpdater)               ;
+			this.entityInitializerCreator       = notNull(entityInitializerCreator)            ;
+			this.compactionSetup                = notNull(compactionSetup)                     ;
+			this.dataCompression                = notNull(dataCompression)                     ;
+			this.metrics                        = notNull(metrics)                             ;
 			this.exceptionHandler               = notNull(exceptionHandler)                    ;
 			this.lockFileSetup                  = mayNull(lockFileSetup)                       ;
 			this.lockFileManagerCreator         = notNull(lockFileManagerCreator)              ;
@@ -321,9 +361,23 @@ public interface StorageSystem extends StorageController
 			return initializingTask.idAnalysis();
 		}
 		
+		private boolean isFollower()
+		{
+			return this.followerSetup.isEnabled();
+		}
+		
+		private boolean isConcurrentEntityAccess()
+		{
+			// only concurrent loads and compactor threads access the channels' entities besides the channels.
+			return this.requestAcceptorCreator.isConcurrentLoading()
+				|| this.compactionSetup.isEnabled() && !this.isFollower()
+			;
+		}
+		
 		private StorageBackupHandler provideBackupHandler()
 		{
-			if(this.backupHandler == null && this.backupSetup != null)
+			// a follower does not write anything, so there is nothing to back up. The followed process does that.
+			if(this.backupHandler == null && this.backupSetup != null && !this.isFollower())
 			{
 //				final StorageDataFileValidator validator = this.backupDataFileValidatorCreator
 //					.createDataFileValidator(this.typeDictionary)
@@ -356,9 +410,16 @@ public interface StorageSystem extends StorageController
 			// set backup handling state to being running
 			backupHandler.start();
 			
-			// setup a backup thread and start it.
-			this.backupThread = this.threadProvider.provideBackupThread(backupHandler);
-			this.backupThread.start();
+			// setup the backup threads and start them. They share the handler and its queue.
+			this.backupThreads = new Thread[backupHandler.threadCount()];
+			for(int t = 0; t < this.backupThreads.length; t++)
+			{
+				this.backupThreads[t] = this.threadProvider.provideBackupThread(backupHandler, t);
+			}
+			for(final Thread thread : this.backupThreads)
+			{
+				thread.start();
+			}
 		}
 		
 		private void initializeLockFileManager()
@@ -368,6 +429,11 @@ public interface StorageSystem extends StorageController
 				// no setup or no interval means lock file is not desired
 				return;
 			}
+			if(this.isFollower())
+			{
+				// the lock file is owned by the followed process. A follower never writes, so it needs no lock.
+				return;
+			}
 			
 			final StorageLockFileManager lockFileManager = this.lockFileManagerCreator.createLockFileManager(
 				this.lockFileSetup,
@@ -382,6 +448,66 @@ public interface StorageSystem extends StorageController
 			// can't start before the operation controller isn't in proper running state...
 		}
 		
+		private void startCompactorThreads()
+		{
+			if(!this.compactionSetup.isEnabled() || this.isFollower())
+			{
+				return;
+			}
+			
+			// every compactor takes care of every n-th channel and gets its share of the total throughput.
+			final int threadCount = Math.min(this.compactionSetup.threadCount(), this.channelCount());
+			
+			this.compactors       = new StorageDataFileCompactor[threadCount];
+			this.compactorThreads = new Thread[threadCount];
+			for(int t = 0; t < threadCount; t++)
+			{
+				final StorageChannel[] channels = new StorageChannel[(this.channelCount() - t - 1) / threadCount + 1];
+				for(int i = 0; i < channels.length; i++)
+				{
+					channels[i] = this.channelKeepers[t + i * threadCount].channel;
+				}
+				
+				this.compactors[t] = StorageDataFileCompactor.New(
+					channels,
+					Math.max(this.compactionSetup.bytesPerSecond() / threadCount, 1),
+					this.compactionSetup.idleIntervalMs(),
+					this.operationController
+				).start();
+				this.compactorThreads[t] = this.threadProvider.provideDataFileCompactorThread(this.compactors[t], t);
+			}
+			
+			for(final Thread thread : this.compactorThreads)
+			{
+				thread.start();
+			}
+		}
+		
+		private void startFollowerThread()
+		{
+			if(!this.isFollower())
+			{
+				return;
+			}
+			
+			final StorageChannel[] channels = new StorageChannel[this.channelCount()];
+			for(int i = 0; i < channels.length; i++)
+			{
+				channels[i] = this.channelKeepers[i].channel;
+			}
+			
+			this.follower = StorageFollower.New(
+				channels                  ,
+				this.taskbroker           ,
+				this.followerSetup        ,
+				this.typeDictionaryUpdater,
+				this.operationController  ,
+				this.eventLogger
+			).start();
+			this.followerThread = this.threadProvider.provideFollowerThread(this.follower);
+			this.followerThread.start();
+		}
+		
 		private void startLockFileManagerThread()
 		{
 			if(this.lockFileManagerThread == null)
@@ -430,6 +556,12 @@ public interface StorageSystem extends StorageController
 			 * Also check if some of the folders are empty.
 			 * Give analysis result to configurable callback handler (exception by default).
 			 */
+			// concurrent loads require the channels to synchronize their entity cache updates with them.
+			this.loadGate = this.requestAcceptorCreator.isConcurrentLoading()
+				? StorageLoadGate.New(this.channelCount())
+				: StorageLoadGate.NoOp()
+			;
+			
 			final StorageChannel[] channels = this.channelCreator.createChannels(
 				this.channelCount()                        ,
 				this.initialDataFileNumberProvider         ,
@@ -446,11 +578,22 @@ public interface StorageSystem extends StorageController
 				this.writeController                       ,
 				effectiveWriterProvider                    ,
 				this.zombieOidHandler                      ,
+				this.entityDeletionHandler                 ,
 				this.rootOidSelectorProvider               ,
 				this.oidMarkQueueCreator                   ,
 				this.entityMarkMonitorCreator              ,
 				this.provideBackupHandler()                ,
+				this.dataFileMapping                       ,
+				this.indexCheckpointSetup                  ,
+				this.transactionsFileRollingSetup          ,
+				this.followerSetup                         ,
+				this.entityInitializerCreator              ,
+				this.compactionSetup                       ,
+				this.dataCompression                       ,
+				this.metrics                               ,
 				this.eventLogger                           ,
+				this.loadGate                              ,
+				this.isConcurrentEntityAccess()            ,
 				this.switchByteOrder                       ,
 				this.rootTypeIdProvider.provideRootTypeId()
 			);
@@ -464,7 +607,7 @@ public interface StorageSystem extends StorageController
 		
 		private StorageFileWriter.Provider dispatchWriterProvider()
 		{
-			if(this.backupSetup == null)
+			if(this.backupSetup == null || this.isFollower())
 			{
 				return this.writerProvider;
 			}
@@ -506,6 +649,8 @@ public interface StorageSystem extends StorageController
 			
 			// optional
 			this.startBackupThread();
+			this.startCompactorThreads();
+			this.startFollowerThread();
 		}
 
 		private void internalShutdown() throws InterruptedException
@@ -518,6 +663,12 @@ public interface StorageSystem extends StorageController
 				return;
 			}
 			
+			// following issues tasks to the channels, so it must be finished before the channels shut down.
+			this.shutdownFollower();
+			
+			// compaction writes to the channels' files, so it must be finished before the channels shut down.
+			this.shutdownCompactors();
+			
 			//the backup handler must shutdown first as it depends on the operationController
 			this.shutdownBackup();
 			
@@ -526,10 +677,12 @@ public interface StorageSystem extends StorageController
 			
 			synchronized(task)
 			{
-				// (07.07.2016 TM)FIXME: OGS-23: shutdown doesn't wait for the shutdown to be completed.
 				task.waitOnCompletion();
 			}
 			this.taskbroker = null;
+			
+			// the channels release their files only after the shutdown task, right before their threads terminate.
+			this.awaitChannelTermination();
 
 			/* (07.03.2019 TM)FIXME: Shutdown must wait for ongoing activities.
 			 * Such as a StorageBackupHandler thread with a non-empty item queue.
@@ -658,17 +811,55 @@ public interface StorageSystem extends StorageController
 			return this.objectIdRangeEvaluator;
 		}
 
+		@Override
+		public final StorageMetrics metrics()
+		{
+			return this.metrics;
+		}
+
 		@Override
 		public final StorageRequestAcceptor createRequestAcceptor()
 		{
 			this.ensureRunning();
-
+			
+			final StorageRequestAcceptor acceptor = this.createRequestAcceptorForCreator();
+			
+			// a follower's loads can fail reading files the followed process has deleted in the meantime.
+			return this.follower != null
+				? StorageFollower.LoadRetrying(acceptor, this.follower, this.eventLogger)
+				: acceptor
+			;
+		}
+		
+		private StorageRequestAcceptor createRequestAcceptorForCreator()
+		{
+			if(!this.requestAcceptorCreator.isConcurrentLoading())
+			{
+				return this.requestAcceptorCreator.createRequestAcceptor(
+					this.dataChunkValidatorProvider.provideDataChunkValidator(this.typeDictionary),
+					this.taskbroker
+				);
+			}
+			
 			return this.requestAcceptorCreator.createRequestAcceptor(
 				this.dataChunkValidatorProvider.provideDataChunkValidator(this.typeDictionary),
-				this.taskbroker
+				this.taskbroker,
+				this.createConcurrentLoader(),
+				this.eventLogger
 			);
 		}
 		
+		private StorageConcurrentLoader createConcurrentLoader()
+		{
+			final StorageChannel[] channels = new StorageChannel[this.channelCount()];
+			for(int i = 0; i < channels.length; i++)
+			{
+				channels[i] = this.channelKeepers[i].channel;
+			}
+			
+			return StorageConcurrentLoader.New(channels, this.loadGate);
+		}
+		
 		@Override
 		public void killStorage(final Throwable cause)
 		{
@@ -687,15 +878,80 @@ public interface StorageSystem extends StorageController
 			{
 				this.backupHandler.setRunning(false);
 			}
+			
+			final StorageDataFileCompactor[] compactors = this.compactors;
+			if(compactors != null)
+			{
+				for(final StorageDataFileCompactor compactor : compactors)
+				{
+					compactor.stop();
+				}
+			}
+			
+			final StorageFollower follower = this.follower;
+			if(follower != null)
+			{
+				follower.stop();
+			}
+		}
+		
+		
+		private void awaitChannelTermination() throws InterruptedException
+		{
+			for(final ChannelKeeper keeper : this.channelKeepers)
+			{
+				// a channel shutting down the storage itself cannot wait for its own termination.
+				if(keeper.channelThread != Thread.currentThread())
+				{
+					keeper.channelThread.join();
+				}
+			}
+		}
+		
+		private void shutdownFollower() throws InterruptedException
+		{
+			if(this.follower == null)
+			{
+				return;
+			}
+			
+			this.follower.stop();
+			this.followerThread.join();
+			this.follower       = null;
+			this.followerThread = null;
 		}
 		
+		private void shutdownCompactors() throws InterruptedException
+		{
+			if(this.compactors == null)
+			{
+				return;
+			}
+			
+			for(final StorageDataFileCompactor compactor : this.compactors)
+			{
+				compactor.stop();
+			}
+			for(final Thread thread : this.compactorThreads)
+			{
+				thread.join();
+			}
+			this.compactors       = null;
+			this.compactorThreads = null;
+		}
 		
 		private void shutdownBackup() throws InterruptedException
 		{
 			if(this.backupHandler != null)
 			{
 				this.backupHandler.stop();
-				this.backupThread.join();
+				if(this.backupThreads != null)
+				{
+					for(final Thread thread : this.backupThreads)
+					{
+						thread.join();
+					}
+				}
 			}
 		}
 
@@ -44,6 +44,11 @@ public interface StorageTask
 
 	public long timestamp();
 
+	/**
+	 * @return the {@link System#nanoTime()} at which the task was created, used to measure its waiting time.
+	 */
+	public long creationNanoTime();
+
 
 
 	public abstract class Abstract implements StorageTask
@@ -56,6 +61,8 @@ public interface StorageTask
 
 		private final long timestamp;
 
+		private final long creationNanoTime;
+
 
 
 		///////////////////////////////////////////////////////////////////////////
@@ -65,7 +72,8 @@ public interface StorageTask
 		public Abstract(final long timestamp)
 		{
 			super();
-			this.timestamp = timestamp;
+			this.timestamp        = timestamp        ;
+			this.creationNanoTime = System.nanoTime();
 		}
 
 
@@ -115,6 +123,12 @@ public interface StorageTask
 			return this.timestamp;
 		}
 
+		@Override
+		public final long creationNanoTime()
+		{
+			return this.creationNanoTime;
+		}
+
 	}
 
 	public final class DummyTask extends StorageTask.Abstract
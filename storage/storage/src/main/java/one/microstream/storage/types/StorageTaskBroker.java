@@ -21,11 +21,14 @@ package one.microstream.storage.types;
  */
 
 import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.notNegative;
+import static one.microstream.math.XMath.positive;
 
 import java.util.function.Predicate;
 
 import one.microstream.afs.types.AFile;
 import one.microstream.collections.types.XGettingEnum;
+import one.microstream.collections.types.XGettingSequence;
 import one.microstream.persistence.binary.types.Binary;
 import one.microstream.persistence.types.PersistenceIdSet;
 import one.microstream.storage.exceptions.StorageException;
@@ -73,9 +76,17 @@ public interface StorageTaskBroker
 	public StorageRequestTask enqueueImportFromFilesTask(XGettingEnum<AFile> importFiles)
 		throws InterruptedException;
 
+	public StorageRequestTask enqueueImportFromSourcesTask(
+		XGettingSequence<? extends StorageImportSource> importSources
+	)
+		throws InterruptedException;
+
 	public StorageRequestTaskCreateStatistics enqueueCreateRawFileStatisticsTask()
 		throws InterruptedException;
 
+	public StorageRequestTaskCaptureSnapshot enqueueCaptureSnapshotTask(boolean includeEntities)
+		throws InterruptedException;
+
 	public StorageChannelTaskInitialize issueChannelInitialization(
 		StorageOperationController operationController
 	)
@@ -87,6 +98,12 @@ public interface StorageTaskBroker
 	public StorageRequestTaskGarbageCollection issueGarbageCollection(long nanoTimeBudget)
 		throws InterruptedException;
 
+	public StorageRequestTaskParallelGarbageCollection issueParallelGarbageCollection(int workerCount)
+		throws InterruptedException;
+
+	public StorageRequestTaskFollowerUpdate issueFollowerUpdate()
+		throws InterruptedException;
+
 	public StorageRequestTaskFileCheck issueFileCheck(long nanoTimeBudget)
 		throws InterruptedException;
 
@@ -98,6 +115,100 @@ public interface StorageTaskBroker
 
 
 
+	public interface Defaults
+	{
+		/**
+		 * The default maximum total length in bytes of the data of all stores grouped into one store task
+		 * if group commit is enabled.
+		 *
+		 * @return the default maximum group commit length.
+		 */
+		public static long defaultGroupCommitMaximumLength()
+		{
+			// 16 MB: large enough to absorb lots of small commits, small enough to not hog the channels.
+			return 16_000_000;
+		}
+
+		/**
+		 * The default time in nanoseconds a store task waits for further stores to be grouped into it
+		 * before it gets processed, if group commit is enabled and another store is still in progress.
+		 *
+		 * @return the default group commit window.
+		 */
+		public static long defaultGroupCommitWindowNs()
+		{
+			// 1 ms: in the order of a single small store, so the added latency stays negligible.
+			return 1_000_000;
+		}
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageTaskBroker.Creator} instance that creates
+	 * task brokers enqueuing every store as a task of its own.
+	 *
+	 * @return a new {@link StorageTaskBroker.Creator} instance.
+	 */
+	public static StorageTaskBroker.Creator Creator()
+	{
+		return new StorageTaskBroker.Creator.Default();
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageTaskBroker.Creator} instance that creates
+	 * task brokers with group commit enabled using the default values defined by
+	 * {@link StorageTaskBroker.Defaults}.
+	 *
+	 * @return a new {@link StorageTaskBroker.Creator} instance.
+	 *
+	 * @see #CreatorGroupCommitting(long, long) for how grouped stores succeed or fail as a whole.
+	 */
+	public static StorageTaskBroker.Creator CreatorGroupCommitting()
+	{
+		return CreatorGroupCommitting(
+			Defaults.defaultGroupCommitMaximumLength(),
+			Defaults.defaultGroupCommitWindowNs()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageTaskBroker.Creator} instance that creates
+	 * task brokers with group commit enabled.
+	 * <p>
+	 * With group commit, the data of a store is attached to the last enqueued store task instead of
+	 * enqueuing a new task as long as that task is still waiting to be processed, e.g. because the channels
+	 * are still busy with the previous store. If a store task is enqueued while another store is still in
+	 * progress, its processing is additionally delayed by up to the passed window to give concurrent stores
+	 * the chance to join it. A store without any concurrent storing is never delayed.
+	 * All grouped stores are written in one chunk and one transactions file entry per channel.
+	 * This reduces the per-commit overhead when many threads store small changes concurrently.
+	 * <p>
+	 * <b>Note that a group succeeds or fails as a whole.</b> Every caller is reported the outcome of the whole
+	 * group: if writing the group fails, e.g. because of an IO error, none of the grouped stores is committed and
+	 * every caller's store fails with the same exception, even if the failure was caused by the data of another
+	 * caller's store. Callers that need to retry a failed store must hence expect failures caused by other stores.
+	 * Data that can be validated before it is enqueued is still validated per store and only fails that store.
+	 *
+	 * @param groupCommitMaximumLength the maximum total length in bytes (greater than 0) of the data of all stores
+	 *        grouped into one task. Larger stores are always enqueued as a task of their own.
+	 *
+	 * @param groupCommitWindowNs the time in nanoseconds (0 or greater) a store task waits for concurrent stores
+	 *        to join it.
+	 *
+	 * @return a new {@link StorageTaskBroker.Creator} instance.
+	 */
+	public static StorageTaskBroker.Creator CreatorGroupCommitting(
+		final long groupCommitMaximumLength,
+		final long groupCommitWindowNs
+	)
+	{
+		return new StorageTaskBroker.Creator.Default(
+			positive(groupCommitMaximumLength),
+			notNegative(groupCommitWindowNs)
+		);
+	}
+
+
+
 	public final class Default implements StorageTaskBroker
 	{
 		///////////////////////////////////////////////////////////////////////////
@@ -110,8 +221,13 @@ public interface StorageTaskBroker
 		private final StorageObjectIdRangeEvaluator objectIdRangeEvaluator;
 		private final StorageRequestTaskCreator     taskCreator           ;
 		private final int                           channelCount          ;
+		private final long                          groupCommitMaxLength  ; // 0 if group commit is disabled
+		private final long                          groupCommitWindowNs   ;
 
 		private volatile StorageTask currentHead;
+		
+		// tasks enqueued after the shutdown task would never be processed, leaving their issuers waiting forever.
+		private boolean shutdownIssued;
 
 
 
@@ -126,6 +242,19 @@ public interface StorageTaskBroker
 			final StorageObjectIdRangeEvaluator objectIdRangeEvaluator,
 			final int                           channelCount
 		)
+		{
+			this(taskCreator, operationController, fileEvaluator, objectIdRangeEvaluator, channelCount, 0, 0);
+		}
+
+		Default(
+			final StorageRequestTaskCreator     taskCreator           ,
+			final StorageOperationController    operationController   ,
+			final StorageDataFileEvaluator      fileEvaluator         ,
+			final StorageObjectIdRangeEvaluator objectIdRangeEvaluator,
+			final int                           channelCount          ,
+			final long                          groupCommitMaxLength  ,
+			final long                          groupCommitWindowNs
+		)
 		{
 			super();
 			this.taskCreator            = notNull(taskCreator);
@@ -133,6 +262,8 @@ public interface StorageTaskBroker
 			this.fileEvaluator          = notNull(fileEvaluator);
 			this.objectIdRangeEvaluator = notNull(objectIdRangeEvaluator);
 			this.channelCount           =         channelCount;
+			this.groupCommitMaxLength   = notNegative(groupCommitMaxLength);
+			this.groupCommitWindowNs    = notNegative(groupCommitWindowNs);
 			this.currentHead            = new StorageTask.DummyTask();
 		}
 
@@ -207,7 +338,7 @@ public interface StorageTaskBroker
 			 * prevents application threads from waiting forever for a storage
 			 * that is already shutdown due to an error (e.g. IO-location not reachable).
 			 */
-			if(!this.operationController.checkProcessingEnabled())
+			if(this.shutdownIssued || !this.operationController.checkProcessingEnabled())
 			{
 				throw new StorageExceptionNotRunning("Storage is shut down.");
 			}
@@ -247,6 +378,28 @@ public interface StorageTaskBroker
 			return gcTask;
 		}
 
+		@Override
+		public final synchronized StorageRequestTaskParallelGarbageCollection issueParallelGarbageCollection(
+			final int workerCount
+		)
+			throws InterruptedException
+		{
+			final StorageRequestTaskParallelGarbageCollection task =
+				this.taskCreator.createParallelGarbageCollectionTask(this.channelCount, workerCount)
+			;
+			this.enqueueTaskAndNotifyAll(task);
+			return task;
+		}
+
+		@Override
+		public final synchronized StorageRequestTaskFollowerUpdate issueFollowerUpdate()
+			throws InterruptedException
+		{
+			final StorageRequestTaskFollowerUpdate task = this.taskCreator.createFollowerUpdateTask(this.channelCount);
+			this.enqueueTaskAndNotifyAll(task);
+			return task;
+		}
+
 		@Override
 		public final synchronized StorageRequestTaskCacheCheck issueCacheCheck(
 			final long                        nanoTimeBudget ,
@@ -331,6 +484,23 @@ public interface StorageTaskBroker
 			return task;
 		}
 
+		@Override
+		public StorageRequestTask enqueueImportFromSourcesTask(
+			final XGettingSequence<? extends StorageImportSource> importSources
+		)
+			throws InterruptedException
+		{
+			// always use the internal evaluator to match live operation
+			final StorageRequestTaskImportData task = this.taskCreator.createImportFromSourcesTask(
+				this.channelCount          ,
+				this.fileEvaluator         ,
+				this.objectIdRangeEvaluator,
+				importSources
+			);
+			this.enqueueTaskAndNotifyAll(task);
+			return task;
+		}
+
 		@Override
 		public StorageRequestTaskCreateStatistics enqueueCreateRawFileStatisticsTask() throws InterruptedException
 		{
@@ -341,6 +511,20 @@ public interface StorageTaskBroker
 			return task;
 		}
 
+		@Override
+		public final synchronized StorageRequestTaskCaptureSnapshot enqueueCaptureSnapshotTask(
+			final boolean includeEntities
+		)
+			throws InterruptedException
+		{
+			final StorageRequestTaskCaptureSnapshot task = this.taskCreator.createCaptureSnapshotTask(
+				this.channelCount,
+				includeEntities
+			);
+			this.enqueueTaskAndNotifyAll(task);
+			return task;
+		}
+
 
 		@Override
 		public final synchronized StorageRequestTaskExportEntitiesByType enqueueExportTypesTask(
@@ -382,14 +566,60 @@ public interface StorageTaskBroker
 			}
 		}
 
+		private StorageRequestTaskStoreEntities groupStore(final Binary data)
+		{
+			if(this.groupCommitMaxLength == 0 || !this.operationController.checkProcessingEnabled())
+			{
+				return null;
+			}
+
+			/*
+			 * Only the last enqueued task may be joined, so that the order of all tasks is preserved.
+			 * If it is a store task that no channel has started to process yet, the data is simply attached to it.
+			 */
+			final StorageTask currentHead = this.currentHead;
+			if(currentHead instanceof StorageRequestTaskStoreEntities
+				&& ((StorageRequestTaskStoreEntities)currentHead).group(data, this.groupCommitMaxLength)
+			)
+			{
+				return (StorageRequestTaskStoreEntities)currentHead;
+			}
+
+			return null;
+		}
+
+		private void openStoreGroup(final StorageRequestTaskStoreEntities task)
+		{
+			/*
+			 * Only wait for other stores to join if there is concurrent storing at all, i.e. if the previous
+			 * task is a store that is still in progress. This keeps single-threaded storing free of any delay.
+			 */
+			if(this.groupCommitWindowNs == 0
+				|| !(this.currentHead instanceof StorageRequestTaskStoreEntities)
+				|| this.currentHead.isComplete()
+			)
+			{
+				return;
+			}
+
+			task.openGroup(this.groupCommitWindowNs);
+		}
+
 		@Override
 		public final synchronized StorageRequestTaskStoreEntities enqueueStoreTask(final Binary data)
 			throws InterruptedException
 		{
 			this.validateChannelCount(data.channelCount());
 			
+			final StorageRequestTaskStoreEntities groupTask = this.groupStore(data);
+			if(groupTask != null)
+			{
+				return groupTask;
+			}
+			
 			// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
 			final StorageRequestTaskStoreEntities task = this.taskCreator.createSaveTask(data);
+			this.openStoreGroup(task);
 			
 //			((StorageRequestTaskSaveEntities.Default)task).DEBUG_Print(null);
 			
@@ -471,6 +701,7 @@ public interface StorageTaskBroker
 			);
 			// special case: cannot wait on the task before the channel threads are started
 			this.enqueueTaskAndNotifyAll(task);
+			this.shutdownIssued = true;
 			return task;
 		}
 
@@ -487,10 +718,36 @@ public interface StorageTaskBroker
 
 		public final class Default implements Creator
 		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final long groupCommitMaxLength;
+			private final long groupCommitWindowNs ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
 			public Default()
+			{
+				this(0, 0);
+			}
+
+			Default(final long groupCommitMaxLength, final long groupCommitWindowNs)
 			{
 				super();
+				this.groupCommitMaxLength = groupCommitMaxLength;
+				this.groupCommitWindowNs  = groupCommitWindowNs ;
 			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
 			
 			@Override
 			public StorageTaskBroker createTaskBroker(
@@ -503,7 +760,9 @@ public interface StorageTaskBroker
 					storageSystem.operationController(),
 					storageSystem.configuration().dataFileEvaluator(),
 					storageSystem.objectIdRangeEvaluator(),
-					storageSystem.channelCountProvider().getChannelCount()
+					storageSystem.channelCountProvider().getChannelCount(),
+					this.groupCommitMaxLength,
+					this.groupCommitWindowNs
 				);
 			}
 
@@ -25,6 +25,59 @@ import static one.microstream.X.notNull;
 public interface StorageThreadProvider
 extends StorageChannelThreadProvider, StorageBackupThreadProvider, StorageLockFileManagerThreadProvider
 {
+	/**
+	 * Provides a newly created, yet unstarted {@link Thread} instance wrapping the passed
+	 * {@link StorageDataFileCompactor} instance, see {@link StorageDataFileCompactionSetup}.
+	 *
+	 * @param compactor the compactor to be run by the thread.
+	 * @param compactorIndex the index of the compactor, starting at 0.
+	 *
+	 * @return a {@link Thread} instance to be used as a data file compacting worker thread.
+	 */
+	public default Thread provideDataFileCompactorThread(
+		final StorageDataFileCompactor compactor     ,
+		final int                      compactorIndex
+	)
+	{
+		return new Thread(compactor, StorageDataFileCompactor.class.getSimpleName() + "-" + compactorIndex);
+	}
+	
+	/**
+	 * Provides a newly created, yet unstarted {@link Thread} instance wrapping the passed
+	 * {@link StorageBackupHandler} instance as one of the {@link StorageBackupHandler#threadCount()} backup threads.
+	 * The first backup thread is the one provided by {@link #provideBackupThread(StorageBackupHandler)}.
+	 *
+	 * @param backupHandler the backup handler to be run by the thread.
+	 * @param threadIndex the index of the backup thread, starting at 0.
+	 *
+	 * @return a {@link Thread} instance to be used as a storage backup worker thread.
+	 */
+	public default Thread provideBackupThread(
+		final StorageBackupHandler backupHandler,
+		final int                  threadIndex
+	)
+	{
+		return threadIndex == 0
+			? this.provideBackupThread(backupHandler)
+			: new Thread(backupHandler, StorageBackupHandler.class.getSimpleName() + "-" + threadIndex)
+		;
+	}
+	
+	/**
+	 * Provides a newly created, yet unstarted {@link Thread} instance wrapping the passed
+	 * {@link StorageFollower} instance, see {@link StorageFollowerSetup}.
+	 *
+	 * @param follower the follower to be run by the thread.
+	 *
+	 * @return a {@link Thread} instance to be used as the follower thread.
+	 */
+	public default Thread provideFollowerThread(final StorageFollower follower)
+	{
+		return new Thread(follower, StorageFollower.class.getSimpleName());
+	}
+	
+	
+	
 	public static StorageThreadProvider New(
 		final StorageChannelThreadProvider         channelThreadProvider        ,
 		final StorageBackupThreadProvider          backupThreadProvider         ,
@@ -109,6 +162,25 @@ extends StorageChannelThreadProvider, StorageBackupThreadProvider, StorageLockFi
 			);
 		}
 		
+		@Override
+		public final Thread provideBackupThread(
+			final StorageBackupHandler backupHandler,
+			final int                  threadIndex
+		)
+		{
+			if(threadIndex == 0)
+			{
+				return this.provideBackupThread(backupHandler);
+			}
+			
+			final String threadName = StorageBackupHandler.class.getSimpleName() + "-" + threadIndex;
+			
+			return new Thread(
+				backupHandler,
+				this.threadNameProvider.provideThreadName(this, threadName)
+			);
+		}
+		
 		@Override
 		public final Thread provideLockFileManagerThread(final StorageLockFileManager lockFileManager)
 		{
@@ -118,6 +190,29 @@ extends StorageChannelThreadProvider, StorageBackupThreadProvider, StorageLockFi
 			);
 		}
 
+		@Override
+		public final Thread provideDataFileCompactorThread(
+			final StorageDataFileCompactor compactor     ,
+			final int                      compactorIndex
+		)
+		{
+			final String threadName = StorageDataFileCompactor.class.getSimpleName() + "-" + compactorIndex;
+			
+			return new Thread(
+				compactor,
+				this.threadNameProvider.provideThreadName(this, threadName)
+			);
+		}
+
+		@Override
+		public final Thread provideFollowerThread(final StorageFollower follower)
+		{
+			return new Thread(
+				follower,
+				this.threadNameProvider.provideThreadName(this, StorageFollower.class.getSimpleName())
+			);
+		}
+
 		@Override
 		public final Thread provideChannelThread(
 			final StorageChannel            storageChannel    ,
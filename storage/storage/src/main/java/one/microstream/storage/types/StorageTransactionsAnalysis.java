@@ -26,11 +26,13 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.function.Predicate;
 
 import one.microstream.afs.types.AFS;
 import one.microstream.afs.types.AFile;
 import one.microstream.afs.types.AReadableFile;
 import one.microstream.chars.VarString;
+import one.microstream.collections.BulkList;
 import one.microstream.collections.ConstList;
 import one.microstream.collections.EqHashTable;
 import one.microstream.collections.types.XGettingSequence;
@@ -399,6 +401,185 @@ public interface StorageTransactionsAnalysis
 			}
 		}
 
+		/**
+		 * Creates the entries of a compacted transactions file that is equivalent to the passed analysis,
+		 * meaning parsing them yields the same head file state and the same entries for all files,
+		 * except for deleted files that are not selected to be retained.
+		 * <p>
+		 * The store state of the head file is reproduced with at most two store entries, all other
+		 * files are described by a single file creation entry (plus a deletion entry for retained deleted files).
+		 * Timestamps of file creations and deletions are ignored by the analysis and get the passed timestamp.
+		 *
+		 * @param analysis the analysis of the transactions file to be compacted. May not be empty.
+		 * @param deletedFileRetainer selects the deleted files to be retained, typically because they still exist.
+		 * @param timestamp the timestamp for the file creation and deletion entries.
+		 *
+		 * @return a buffer containing the entries of the compacted transactions file.
+		 */
+		public static ByteBuffer createCompactedEntries(
+			final StorageTransactionsAnalysis                analysis           ,
+			final Predicate<? super StorageTransactionEntry> deletedFileRetainer,
+			final long                                       timestamp
+		)
+		{
+			final XGettingSequence<? extends StorageTransactionEntry> entries = analysis.transactionsFileEntries().values();
+			final StorageTransactionEntry                             head    = entries.last();
+
+			final BulkList<StorageTransactionEntry> files        = BulkList.New(entries.size());
+			final BulkList<StorageTransactionEntry> deletedFiles = BulkList.New();
+			for(final StorageTransactionEntry entry : entries)
+			{
+				if(entry == head)
+				{
+					continue;
+				}
+				if(entry.isDeleted())
+				{
+					if(!deletedFileRetainer.test(entry))
+					{
+						continue;
+					}
+					deletedFiles.add(entry);
+				}
+				files.add(entry);
+			}
+
+			final long    consistentTimestamp = analysis.headFileLastConsistentStoreTimestamp();
+			final long    consistentLength    = analysis.headFileLastConsistentStoreLength()   ;
+			final long    latestTimestamp     = analysis.headFileLatestTimestamp()             ;
+			final long    latestLength        = analysis.headFileLatestLength()                ;
+			final boolean isSingleState       = consistentTimestamp == latestTimestamp         ;
+			final int     storeCount          = isSingleState
+				? latestTimestamp     == 0 ? 0 : 1
+				: consistentTimestamp == 0 ? 1 : 2
+			;
+
+			final ByteBuffer buffer = XMemory.allocateDirectNative(
+				  (files.size() + 1)  * LENGTH_FILE_CREATION
+				+ storeCount          * LENGTH_STORE
+				+ deletedFiles.size() * LENGTH_FILE_DELETION
+			);
+			long address = XMemory.getDirectByteBufferAddress(buffer);
+
+			long lastFileLength = 0;
+			for(final StorageTransactionEntry file : files)
+			{
+				address = appendEntryFileCreation(address, file.length(), timestamp, file.fileNumber());
+				lastFileLength = file.length();
+			}
+
+			if(isSingleState)
+			{
+				// file creation entries adopt the latest store timestamp, so it must precede the head file's creation.
+				if(latestTimestamp != 0)
+				{
+					address = appendEntryStore(address, lastFileLength, latestTimestamp);
+				}
+				address = appendEntryFileCreation(address, latestLength, timestamp, head.fileNumber());
+			}
+			else
+			{
+				address = appendEntryFileCreation(address, consistentLength, timestamp, head.fileNumber());
+				if(consistentTimestamp != 0)
+				{
+					address = appendEntryStore(address, consistentLength, consistentTimestamp);
+				}
+				address = appendEntryStore(address, latestLength, latestTimestamp);
+			}
+
+			// deletion entries require the deleted file to be completed by a subsequent file creation entry.
+			for(final StorageTransactionEntry file : deletedFiles)
+			{
+				address = appendEntryFileDeletion(address, file.length(), timestamp, file.fileNumber());
+			}
+
+			return buffer;
+		}
+
+		private static long appendEntryFileCreation(
+			final long address   ,
+			final long fileLength,
+			final long timestamp ,
+			final long fileNumber
+		)
+		{
+			initializeEntryFileCreation(address);
+			setEntryFileCreation(address, fileLength, timestamp, fileNumber);
+			return address + LENGTH_FILE_CREATION;
+		}
+
+		private static long appendEntryStore(final long address, final long fileLength, final long timestamp)
+		{
+			initializeEntryStore(address);
+			setEntryStore(address, fileLength, timestamp);
+			return address + LENGTH_STORE;
+		}
+
+		private static long appendEntryFileDeletion(
+			final long address   ,
+			final long fileLength,
+			final long timestamp ,
+			final long fileNumber
+		)
+		{
+			initializeEntryFileDeletion(address);
+			setEntryFileDeletion(address, fileLength, timestamp, fileNumber);
+			return address + LENGTH_FILE_DELETION;
+		}
+
+		/**
+		 * Checks if the passed compacted analysis describes the same state as the passed original one,
+		 * with only entries of deleted files being allowed to be missing.
+		 *
+		 * @param compacted the analysis of a compacted transactions file.
+		 * @param original the analysis of the transactions file it was compacted from.
+		 *
+		 * @return whether the compacted analysis is equivalent to the original one.
+		 */
+		public static boolean isCompactionOf(
+			final StorageTransactionsAnalysis compacted,
+			final StorageTransactionsAnalysis original
+		)
+		{
+			if(compacted.headFileLastConsistentStoreTimestamp() != original.headFileLastConsistentStoreTimestamp()
+				|| compacted.headFileLastConsistentStoreLength() != original.headFileLastConsistentStoreLength()
+				|| compacted.headFileLatestTimestamp()           != original.headFileLatestTimestamp()
+				|| compacted.headFileLatestLength()              != original.headFileLatestLength()
+			)
+			{
+				return false;
+			}
+
+			final XGettingTable<Long, ? extends StorageTransactionEntry> compactedEntries = compacted.transactionsFileEntries();
+			for(final StorageTransactionEntry entry : original.transactionsFileEntries().values())
+			{
+				final StorageTransactionEntry compactedEntry = compactedEntries.get(entry.fileNumber());
+				if(compactedEntry == null)
+				{
+					if(!entry.isDeleted())
+					{
+						return false;
+					}
+					continue;
+				}
+				if(compactedEntry.length() != entry.length() || compactedEntry.isDeleted() != entry.isDeleted())
+				{
+					return false;
+				}
+			}
+
+			// every compacted entry must have an original one, as entries can only have been left out.
+			for(final StorageTransactionEntry entry : compactedEntries.values())
+			{
+				if(original.transactionsFileEntries().get(entry.fileNumber()) == null)
+				{
+					return false;
+				}
+			}
+
+			return true;
+		}
+
 		public static VarString parseFile(final AFile file)
 		{
 			return parseFile(file, VarString.New());
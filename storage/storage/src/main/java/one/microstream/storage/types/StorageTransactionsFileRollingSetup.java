@@ -0,0 +1,137 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.math.XMath.positive;
+
+/**
+ * Defines if and when every channel rolls its transactions file.
+ * <p>
+ * If enabled, a channel's transactions file is replaced during housekeeping as soon as it exceeds the
+ * maximum file size: a compacted transactions file is written that only describes the current data files,
+ * their lengths and the latest store state of the head file, which is all the startup needs. The replaced
+ * transactions file is deleted (or moved to the deletion directory, if one is configured).
+ * <p>
+ * This keeps the transactions file parsing on startup proportional to the recent activity instead of
+ * the age of the storage. Note that rolling is not split up to fit into the housekeeping time budget and that
+ * it is postponed as long as the transactions file is still used by other parts, e.g. a pending backup.
+ */
+public interface StorageTransactionsFileRollingSetup
+{
+	public boolean isEnabled();
+
+	/**
+	 * @return the size in bytes a transactions file has to exceed to be rolled.
+	 */
+	public long maximumFileSize();
+
+
+
+	public interface Defaults
+	{
+		/**
+		 * @return the default maximum transactions file size of 16 MiB.
+		 */
+		public static long defaultMaximumFileSize()
+		{
+			return 16 * 1024 * 1024;
+		}
+	}
+
+
+
+	public static StorageTransactionsFileRollingSetup Disabled()
+	{
+		return new StorageTransactionsFileRollingSetup.Default(false, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageTransactionsFileRollingSetup} instance
+	 * using the default maximum file size.
+	 *
+	 * @return a new {@link StorageTransactionsFileRollingSetup} instance.
+	 *
+	 * @see Defaults#defaultMaximumFileSize()
+	 */
+	public static StorageTransactionsFileRollingSetup New()
+	{
+		return New(Defaults.defaultMaximumFileSize());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageTransactionsFileRollingSetup} instance.
+	 *
+	 * @param maximumFileSize the size in bytes a transactions file has to exceed to be rolled.
+	 *
+	 * @return a new {@link StorageTransactionsFileRollingSetup} instance.
+	 */
+	public static StorageTransactionsFileRollingSetup New(final long maximumFileSize)
+	{
+		return new StorageTransactionsFileRollingSetup.Default(
+			true,
+			positive(maximumFileSize)
+		);
+	}
+
+	public final class Default implements StorageTransactionsFileRollingSetup
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final boolean enabled        ;
+		private final long    maximumFileSize;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final boolean enabled, final long maximumFileSize)
+		{
+			super();
+			this.enabled         = enabled        ;
+			this.maximumFileSize = maximumFileSize;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final boolean isEnabled()
+		{
+			return this.enabled;
+		}
+
+		@Override
+		public final long maximumFileSize()
+		{
+			return this.maximumFileSize;
+		}
+
+	}
+
+}
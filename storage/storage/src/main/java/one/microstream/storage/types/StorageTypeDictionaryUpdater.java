@@ -0,0 +1,64 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+/**
+ * Updates the {@link StorageTypeDictionary} with type definitions that have been added to the persistent
+ * type dictionary by another process after it has been loaded. Required by a follower (see {@link StorageFollowerSetup})
+ * to process data of types that are newly stored by the writing process.
+ * <p>
+ * The storage layer alone cannot update the type dictionary, as that requires the persistence layer's type
+ * dictionary parsing and type handler creation. Hence, the default implementation does nothing.
+ */
+@FunctionalInterface
+public interface StorageTypeDictionaryUpdater
+{
+	/**
+	 * Registers all type definitions of the persistent type dictionary that are not yet known.
+	 * 
+	 * @return whether new type definitions have been registered.
+	 */
+	public boolean updateTypeDictionary();
+	
+	
+	
+	public static StorageTypeDictionaryUpdater NoOp()
+	{
+		return new StorageTypeDictionaryUpdater.NoOp();
+	}
+	
+	public final class NoOp implements StorageTypeDictionaryUpdater
+	{
+		NoOp()
+		{
+			super();
+		}
+		
+		@Override
+		public final boolean updateTypeDictionary()
+		{
+			// no-op by default
+			return false;
+		}
+		
+	}
+	
+}
@@ -23,6 +23,7 @@ module microstream.storage
 	exports one.microstream.storage.types;
 	exports one.microstream.storage.exceptions;
 	
+	requires java.management;
 	requires microstream.afs;
 	requires microstream.afs.nio;
 	requires microstream.base;